@@ -11,11 +11,31 @@
  */
 package jhelp.util.cache;
 
-import java.util.HashMap;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import jhelp.util.debug.Debug;
+import jhelp.util.list.ConcurrentLimitedWeightHashMap;
+import jhelp.util.list.HeavyObject;
+import jhelp.util.thread.ThreadManager;
+import jhelp.util.thread.ThreadedSimpleTask;
 
 /**
  * Manage a only RAM cache<br>
+ * The cache is thread safe. It keeps the created elements until one of its bounds is reached (Number of elements or
+ * total weight, see {@link CacheElement#weight(Object)}), then least recently used elements are removed. Removed
+ * elements are created again on next get.<br>
+ * Elements can expire some time after their creation or their last access, and can be refreshed in background (With
+ * {@link ThreadManager}) some time after their creation: during refresh the old value is still given.<br>
+ * Created elements are kept in a {@link ConcurrentLimitedWeightHashMap}, so same rules apply: if several threads miss
+ * the same key in same time, the element is created only once, others threads wait the result. Reads don't lock and
+ * recently used order is approximate under heavy contention.<br>
+ * An element created while its key is added again or removed is not kept <br>
  * <br>
  * Last modification : 13 avr. 2010<br>
  * Version 0.0.0<br>
@@ -26,45 +46,352 @@ import java.util.Set;
  */
 public class Cache<ELEMENT>
 {
-    /** The cache itself */
-    private HashMap<String, CacheElement<ELEMENT>> cache;
+    /**
+     * Cache entry : created element and its description
+     *
+     * @author JHelp
+     * @param <ELEMENT>
+     *           Element type
+     */
+    static final class Entry<ELEMENT>
+            implements HeavyObject
+    {
+        /** Last access time */
+        volatile long               accessTime;
+        /** Describe how the element was created */
+        final CacheElement<ELEMENT> cacheElement;
+        /** Created element */
+        final ELEMENT               element;
+        /** Element key */
+        final String                key;
+        /** Indicates if a background refresh is scheduled */
+        final AtomicBoolean         refreshing;
+        /** Element weight */
+        final long                  weight;
+        /** Creation time */
+        final long                  writeTime;
+
+        /**
+         * Create a new instance of Entry
+         *
+         * @param key
+         *           Element key
+         * @param cacheElement
+         *           Describe how the element was created
+         * @param element
+         *           Created element
+         */
+        Entry(final String key, final CacheElement<ELEMENT> cacheElement, final ELEMENT element)
+        {
+            this.key = key;
+            this.cacheElement = cacheElement;
+            this.element = element;
+            this.weight = Math.max(1L, cacheElement.weight(element));
+            this.writeTime = System.currentTimeMillis();
+            this.accessTime = this.writeTime;
+            this.refreshing = new AtomicBoolean(false);
+        }
+
+        /**
+         * Element weight <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return Element weight
+         * @see jhelp.util.list.HeavyObject#getWeight()
+         */
+        @Override
+        public long getWeight()
+        {
+            return this.weight;
+        }
+    }
+
+    /** Default maximum number of created elements kept in memory */
+    public static final int                                              DEFAULT_MAXIMUM_SIZE = 1024;
+    /** Elements descriptions, by key */
+    private final ConcurrentHashMap<String, CacheElement<ELEMENT>>       cache;
+    /** Created elements, limited in number and weight */
+    private final ConcurrentLimitedWeightHashMap<String, Entry<ELEMENT>> elements;
+    /** Time in milliseconds an element stay valid after its last access (0 for ever) */
+    private volatile long                                                expireAfterAccess;
+    /** Time in milliseconds an element stay valid after its creation (0 for ever) */
+    private volatile long                                                expireAfterWrite;
+    /** Number of get that found a valid element */
+    private final LongAdder                                              hitCount;
+    /** Number of failed creation */
+    private final LongAdder                                              loadFailureCount;
+    /** Number of successful creation */
+    private final LongAdder                                              loadSuccessCount;
+    /** Maximum number of created elements */
+    private final int                                                    maximumSize;
+    /** Maximum total weight of created elements */
+    private final long                                                   maximumWeight;
+    /** Number of get that had to create the element */
+    private final LongAdder                                              missCount;
+    /** Time in milliseconds after creation an element is refreshed in background (0 for never) */
+    private volatile long                                                refreshAfterWrite;
+    /** Task that refresh an element */
+    private final ThreadedSimpleTask<Entry<ELEMENT>>                     refreshTask;
+    /** Time spent to create elements in nanoseconds */
+    private final LongAdder                                              totalLoadTime;
 
     /**
-     * Constructs Cache
+     * Constructs Cache limited to {@link #DEFAULT_MAXIMUM_SIZE} elements
      */
     public Cache()
     {
-        this.cache = new HashMap<String, CacheElement<ELEMENT>>();
+        this(Cache.DEFAULT_MAXIMUM_SIZE, Long.MAX_VALUE);
     }
 
     /**
-     * Destroy the cache (Never use it after that)
+     * Constructs Cache
+     *
+     * @param maximumSize
+     *           Maximum number of created elements kept in memory
      */
-    public void destroy()
+    public Cache(final int maximumSize)
     {
-        this.clear();
+        this(maximumSize, Long.MAX_VALUE);
+    }
 
-        this.cache = null;
+    /**
+     * Constructs Cache
+     *
+     * @param maximumSize
+     *           Maximum number of created elements kept in memory
+     * @param maximumWeight
+     *           Maximum total weight of created elements kept in memory
+     */
+    public Cache(final int maximumSize, final long maximumWeight)
+    {
+        if (maximumSize <= 0)
+        {
+            throw new IllegalArgumentException("maximumSize must be > 0 not " + maximumSize);
+        }
+
+        if (maximumWeight <= 0)
+        {
+            throw new IllegalArgumentException("maximumWeight must be > 0 not " + maximumWeight);
+        }
+
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+        this.cache = new ConcurrentHashMap<String, CacheElement<ELEMENT>>();
+        this.elements = new ConcurrentLimitedWeightHashMap<String, Entry<ELEMENT>>(maximumWeight, maximumSize,
+                new BiConsumer<String, Entry<ELEMENT>>()
+                {
+                    @Override
+                    public void accept(final String key, final Entry<ELEMENT> entry)
+                    {
+                        // Removed, evicted or replaced
+                        entry.cacheElement.clearElement(entry.element);
+                    }
+                });
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.loadSuccessCount = new LongAdder();
+        this.loadFailureCount = new LongAdder();
+        this.totalLoadTime = new LongAdder();
+        this.refreshTask = new ThreadedSimpleTask<Entry<ELEMENT>>()
+        {
+            @Override
+            protected void doSimpleAction(final Entry<ELEMENT> entry)
+            {
+                Cache.this.refresh(entry);
+            }
+        };
     }
 
     /**
-     * Clear the cache
+     * Create an element and measure the creation
+     *
+     * @param key
+     *           Element key
+     * @param cacheElement
+     *           Describe how create the element
+     * @return Created entry or {@code null} if creation failed
      */
-    public void clear()
+    private Entry<ELEMENT> create(final String key, final CacheElement<ELEMENT> cacheElement)
     {
-        CacheElement<ELEMENT> cacheElement;
+        final long    start = System.nanoTime();
+        final ELEMENT element;
 
-        for (final String key : this.cache.keySet())
+        try
+        {
+            element = cacheElement.createElement();
+        }
+        catch (final RuntimeException exception)
+        {
+            this.totalLoadTime.add(System.nanoTime() - start);
+            this.loadFailureCount.increment();
+            throw exception;
+        }
+
+        this.totalLoadTime.add(System.nanoTime() - start);
+
+        if (element == null)
+        {
+            this.loadFailureCount.increment();
+            return null;
+        }
+
+        this.loadSuccessCount.increment();
+        return new Entry<ELEMENT>(key, cacheElement, element);
+    }
+
+    /**
+     * Indicates if an entry element is expired
+     *
+     * @param entry
+     *           Entry to test
+     * @param now
+     *           Current time
+     * @return {@code true} if expired
+     */
+    private boolean expired(final Entry<ELEMENT> entry, final long now)
+    {
+        final long expireAfterWrite = this.expireAfterWrite;
+
+        if ((expireAfterWrite > 0) && ((now - entry.writeTime) >= expireAfterWrite))
         {
-            cacheElement = this.cache.get(key);
+            return true;
+        }
+
+        final long expireAfterAccess = this.expireAfterAccess;
+        return (expireAfterAccess > 0) && ((now - entry.accessTime) >= expireAfterAccess);
+    }
 
-            if (cacheElement != null)
+    /**
+     * Obtain an element, create it if need
+     *
+     * @param key
+     *           Element key
+     * @param cacheElement
+     *           Describe how create the element
+     * @return The element or {@code null} if creation failed
+     */
+    private ELEMENT obtain(final String key, final CacheElement<ELEMENT> cacheElement)
+    {
+        final long           now   = System.currentTimeMillis();
+        final Entry<ELEMENT> entry = this.elements.get(key);
+
+        if (entry != null)
+        {
+            if (!this.expired(entry, now))
             {
-                cacheElement.clear();
+                this.hitCount.increment();
+                entry.accessTime = now;
+
+                final long refreshAfterWrite = this.refreshAfterWrite;
+
+                if ((refreshAfterWrite > 0) && ((now - entry.writeTime) >= refreshAfterWrite)
+                        && (entry.refreshing.compareAndSet(false, true)))
+                {
+                    ThreadManager.THREAD_MANAGER.doThread(this.refreshTask, entry);
+                }
+
+                return entry.element;
             }
+
+            // Only this entry : an other thread may have already created a new one
+            this.elements.remove(key, entry);
         }
 
-        this.cache.clear();
+        this.missCount.increment();
+        final Entry<ELEMENT> created = this.elements.load(key, new Supplier<Entry<ELEMENT>>()
+        {
+            @Override
+            public Entry<ELEMENT> get()
+            {
+                return Cache.this.create(key, cacheElement);
+            }
+        }, this.stillValid(key, cacheElement));
+
+        if (created == null)
+        {
+            return null;
+        }
+
+        return created.element;
+    }
+
+    /**
+     * Refresh an entry element in background.<br>
+     * If creation fails, the previous element is kept
+     *
+     * @param entry
+     *           Entry to refresh
+     */
+    private void refresh(final Entry<ELEMENT> entry)
+    {
+        try
+        {
+            if (this.elements.get(entry.key) != entry)
+            {
+                // Already removed or replaced
+                return;
+            }
+
+            final Entry<ELEMENT> refreshed = this.create(entry.key, entry.cacheElement);
+
+            if ((refreshed != null)
+                    && (!this.elements.put(entry.key, refreshed, this.stillValid(entry.key, entry.cacheElement))))
+            {
+                // Element added again or removed while refreshing : refreshed element is obsolete
+                refreshed.cacheElement.clearElement(refreshed.element);
+            }
+        }
+        catch (final RuntimeException exception)
+        {
+            Debug.printException(exception, "Failed to refresh ", entry.key);
+        }
+        finally
+        {
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Create the test, checked under the elements map lock, that indicates if an element created from a description is
+     * still valid
+     *
+     * @param key
+     *           Element key
+     * @param cacheElement
+     *           Description used for create the element
+     * @return The test
+     */
+    private BooleanSupplier stillValid(final String key, final CacheElement<ELEMENT> cacheElement)
+    {
+        return new BooleanSupplier()
+        {
+            @Override
+            public boolean getAsBoolean()
+            {
+                return Cache.this.cache.get(key) == cacheElement;
+            }
+        };
+    }
+
+    /**
+     * Destroy the cache (Never use it after that)
+     */
+    public void destroy()
+    {
+        this.clear();
+    }
+
+    /**
+     * Clear the cache
+     */
+    public void clear()
+    {
+        for (final String key : this.cache.keySet())
+        {
+            this.remove(key);
+        }
     }
 
     /**
@@ -78,9 +405,26 @@ public class Cache<ELEMENT>
      */
     public ELEMENT get(final String key, final CacheElement<ELEMENT> cacheElement)
     {
-        final ELEMENT element = this.get(key);
+        if (key == null)
+        {
+            throw new NullPointerException("key MUST NOT be null");
+        }
 
-        if (element != null)
+        if (cacheElement == null)
+        {
+            throw new NullPointerException("cacheElement MUST NOT be null");
+        }
+
+        CacheElement<ELEMENT> actual = this.cache.putIfAbsent(key, cacheElement);
+
+        if (actual == null)
+        {
+            actual = cacheElement;
+        }
+
+        final ELEMENT element = this.obtain(key, actual);
+
+        if ((element != null) || (actual.equals(cacheElement)))
         {
             return element;
         }
@@ -91,7 +435,8 @@ public class Cache<ELEMENT>
     }
 
     /**
-     * Add element inside the cache
+     * Add element inside the cache.<br>
+     * The element is created on first get
      *
      * @param key
      *           Key associate
@@ -110,12 +455,16 @@ public class Cache<ELEMENT>
             throw new NullPointerException("element MUST NOT be null");
         }
 
-        final CacheElement<ELEMENT> previous = this.cache.put(key, element);
+        final CacheElement<ELEMENT> actual = this.cache.get(key);
 
-        if ((previous != null) && (!previous.equals(element)))
+        if ((actual != null) && (actual.equals(element)))
         {
-            previous.clear();
+            return;
         }
+
+        // Remove after replace : a creation in progress with the previous description will not be stored
+        this.cache.put(key, element);
+        this.elements.remove(key);
     }
 
     /**
@@ -136,12 +485,82 @@ public class Cache<ELEMENT>
 
         if (cacheElement != null)
         {
-            return cacheElement.getElement();
+            return this.obtain(key, cacheElement);
         }
 
         return null;
     }
 
+    /**
+     * Time in milliseconds an element stay valid after its last access (0 for ever)
+     *
+     * @return Time in milliseconds an element stay valid after its last access
+     */
+    public long getExpireAfterAccess()
+    {
+        return this.expireAfterAccess;
+    }
+
+    /**
+     * Time in milliseconds an element stay valid after its creation (0 for ever)
+     *
+     * @return Time in milliseconds an element stay valid after its creation
+     */
+    public long getExpireAfterWrite()
+    {
+        return this.expireAfterWrite;
+    }
+
+    /**
+     * Maximum number of created elements kept in memory
+     *
+     * @return Maximum number of created elements kept in memory
+     */
+    public int getMaximumSize()
+    {
+        return this.maximumSize;
+    }
+
+    /**
+     * Maximum total weight of created elements kept in memory
+     *
+     * @return Maximum total weight of created elements kept in memory
+     */
+    public long getMaximumWeight()
+    {
+        return this.maximumWeight;
+    }
+
+    /**
+     * Time in milliseconds after creation an element is refreshed in background (0 for never)
+     *
+     * @return Time in milliseconds after creation an element is refreshed in background
+     */
+    public long getRefreshAfterWrite()
+    {
+        return this.refreshAfterWrite;
+    }
+
+    /**
+     * Number of created elements actually in memory
+     *
+     * @return Number of created elements actually in memory
+     */
+    public int getSize()
+    {
+        return this.elements.getSize();
+    }
+
+    /**
+     * Total weight of created elements actually in memory
+     *
+     * @return Total weight of created elements actually in memory
+     */
+    public long getWeight()
+    {
+        return this.elements.getWeight();
+    }
+
     /**
      * List of keys in cache
      *
@@ -152,6 +571,17 @@ public class Cache<ELEMENT>
         return this.cache.keySet();
     }
 
+    /**
+     * Actual cache statistics
+     *
+     * @return Actual cache statistics
+     */
+    public CacheStatistics obtainStatistics()
+    {
+        return new CacheStatistics(this.hitCount.sum(), this.missCount.sum(), this.loadSuccessCount.sum(),
+                this.loadFailureCount.sum(), this.totalLoadTime.sum(), this.elements.getEvictionCount());
+    }
+
     /**
      * Remove an element from cache
      *
@@ -165,12 +595,42 @@ public class Cache<ELEMENT>
             throw new NullPointerException("key MUST NOT be null");
         }
 
-        final CacheElement<ELEMENT> cacheElement = this.cache.get(key);
+        this.cache.remove(key);
+        this.elements.remove(key);
+    }
 
-        if (cacheElement != null)
-        {
-            cacheElement.clear();
-            this.cache.remove(key);
-        }
+    /**
+     * Change time an element stay valid after its last access
+     *
+     * @param expireAfterAccess
+     *           Time in milliseconds (0 or negative for ever)
+     */
+    public void setExpireAfterAccess(final long expireAfterAccess)
+    {
+        this.expireAfterAccess = Math.max(0L, expireAfterAccess);
+    }
+
+    /**
+     * Change time an element stay valid after its creation
+     *
+     * @param expireAfterWrite
+     *           Time in milliseconds (0 or negative for ever)
+     */
+    public void setExpireAfterWrite(final long expireAfterWrite)
+    {
+        this.expireAfterWrite = Math.max(0L, expireAfterWrite);
+    }
+
+    /**
+     * Change time after creation an element is refreshed in background.<br>
+     * Refresh happen on first get after this time, the get return immediately the old element, and the new one is
+     * created by {@link ThreadManager}
+     *
+     * @param refreshAfterWrite
+     *           Time in milliseconds (0 or negative for never)
+     */
+    public void setRefreshAfterWrite(final long refreshAfterWrite)
+    {
+        this.refreshAfterWrite = Math.max(0L, refreshAfterWrite);
     }
 }
\ No newline at end of file
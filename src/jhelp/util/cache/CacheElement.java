@@ -15,7 +15,9 @@ import java.lang.ref.SoftReference;
 
 /**
  * Element of a {@link Cache}<br>
- * It describes how create an element <br>
+ * It describes how create an element.<br>
+ * Used alone, {@link #getElement()} keeps the element in a soft reference. Inside a {@link Cache}, the cache keeps the
+ * created elements and decide when remove them <br>
  * <br>
  * Last modification : 13 avr. 2010<br>
  * Version 0.0.0<br>
@@ -102,4 +104,17 @@ public abstract class CacheElement<ELEMENT>
      * @return Created element
      */
     protected abstract ELEMENT createElement();
+
+    /**
+     * Weight of a created element, used by {@link Cache} limited in weight.<br>
+     * By default, each element weights 1
+     *
+     * @param element
+     *           Element to measure
+     * @return Element weight
+     */
+    protected long weight(final ELEMENT element)
+    {
+        return 1L;
+    }
 }
\ No newline at end of file
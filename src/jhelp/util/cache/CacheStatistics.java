@@ -0,0 +1,172 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not responsible about any
+ * damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ *
+ * @author JHelp
+ */
+package jhelp.util.cache;
+
+/**
+ * Snapshot of {@link Cache} statistics.<br>
+ * Values are taken at the time {@link Cache#obtainStatistics()} is called, they don't change after
+ *
+ * @author JHelp
+ */
+public final class CacheStatistics
+{
+    /** Number of elements removed to respect cache bounds */
+    private final long evictionCount;
+    /** Number of get that found a valid element */
+    private final long hitCount;
+    /** Number of element creation that failed (Returned {@code null} or threw an exception) */
+    private final long loadFailureCount;
+    /** Number of element successfully created */
+    private final long loadSuccessCount;
+    /** Number of get that had to create the element */
+    private final long missCount;
+    /** Total time spent to create elements in nanoseconds */
+    private final long totalLoadTime;
+
+    /**
+     * Create a new instance of CacheStatistics
+     *
+     * @param hitCount
+     *           Number of get that found a valid element
+     * @param missCount
+     *           Number of get that had to create the element
+     * @param loadSuccessCount
+     *           Number of element successfully created
+     * @param loadFailureCount
+     *           Number of element creation that failed
+     * @param totalLoadTime
+     *           Total time spent to create elements in nanoseconds
+     * @param evictionCount
+     *           Number of elements removed to respect cache bounds
+     */
+    CacheStatistics(final long hitCount, final long missCount, final long loadSuccessCount,
+                    final long loadFailureCount, final long totalLoadTime, final long evictionCount)
+    {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Average time to create an element in nanoseconds
+     *
+     * @return Average time to create an element in nanoseconds
+     */
+    public double getAverageLoadTime()
+    {
+        final long loadCount = this.loadSuccessCount + this.loadFailureCount;
+
+        if (loadCount == 0)
+        {
+            return 0;
+        }
+
+        return (double) this.totalLoadTime / (double) loadCount;
+    }
+
+    /**
+     * Number of elements removed to respect cache bounds
+     *
+     * @return Number of elements removed to respect cache bounds
+     */
+    public long getEvictionCount()
+    {
+        return this.evictionCount;
+    }
+
+    /**
+     * Number of get that found a valid element
+     *
+     * @return Number of get that found a valid element
+     */
+    public long getHitCount()
+    {
+        return this.hitCount;
+    }
+
+    /**
+     * Ratio of get that found a valid element, in [0, 1]
+     *
+     * @return Hit rate
+     */
+    public double getHitRate()
+    {
+        final long requestCount = this.hitCount + this.missCount;
+
+        if (requestCount == 0)
+        {
+            return 0;
+        }
+
+        return (double) this.hitCount / (double) requestCount;
+    }
+
+    /**
+     * Number of element creation that failed (Returned {@code null} or threw an exception)
+     *
+     * @return Number of element creation that failed
+     */
+    public long getLoadFailureCount()
+    {
+        return this.loadFailureCount;
+    }
+
+    /**
+     * Number of element successfully created
+     *
+     * @return Number of element successfully created
+     */
+    public long getLoadSuccessCount()
+    {
+        return this.loadSuccessCount;
+    }
+
+    /**
+     * Number of get that had to create the element
+     *
+     * @return Number of get that had to create the element
+     */
+    public long getMissCount()
+    {
+        return this.missCount;
+    }
+
+    /**
+     * Total time spent to create elements in nanoseconds
+     *
+     * @return Total time spent to create elements in nanoseconds
+     */
+    public long getTotalLoadTime()
+    {
+        return this.totalLoadTime;
+    }
+
+    /**
+     * String representation <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return String representation
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "CacheStatistics{hit=" + this.hitCount + ", miss=" + this.missCount + ", loadSuccess="
+                + this.loadSuccessCount + ", loadFailure=" + this.loadFailureCount + ", totalLoadTime="
+                + this.totalLoadTime + "ns, eviction=" + this.evictionCount + "}";
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ * 
+ * @author JHelp
+ */
+package jhelp.util.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import jhelp.util.list.ConcurrentLimitedSizeHashMap;
+
+/**
+ * Thread safe cache with elements number is limited in memory.<br>
+ * Reads don't lock. If several threads miss the same key in same time, the element is created only once.<br>
+ * An element created while its key is put again or removed is not kept, so get never returns an obsolete element after
+ * a put or remove returned
+ * 
+ * @author JHelp
+ * @param <TYPE>
+ *           Element type
+ */
+public class ConcurrentCacheLimitedSize<TYPE>
+{
+   /** The cache */
+   private final ConcurrentHashMap<String, CacheElement<TYPE>> cache;
+   /** Stored computed element (Limited in size) */
+   private final ConcurrentLimitedSizeHashMap<String, TYPE>    limitedSizeMap;
+
+   /**
+    * Create a new instance of ConcurrentCacheLimitedSize
+    * 
+    * @param limit
+    *           Maximum number of computed elements in memory
+    */
+   public ConcurrentCacheLimitedSize(final int limit)
+   {
+      this(new ConcurrentLimitedSizeHashMap<String, TYPE>(limit));
+   }
+
+   /**
+    * Create a new instance of ConcurrentCacheLimitedSize
+    * 
+    * @param limitedSizeMap
+    *           Map to use
+    */
+   public ConcurrentCacheLimitedSize(final ConcurrentLimitedSizeHashMap<String, TYPE> limitedSizeMap)
+   {
+      if(limitedSizeMap == null)
+      {
+         throw new NullPointerException("limitedSizeMap MUST NOT be null");
+      }
+
+      this.cache = new ConcurrentHashMap<String, CacheElement<TYPE>>();
+      this.limitedSizeMap = limitedSizeMap;
+   }
+
+   /**
+    * Get cache element
+    * 
+    * @param key
+    *           Element key
+    * @return Element value (May be recreated) or {@code null} if no element in the cache
+    */
+   public TYPE get(final String key)
+   {
+      final TYPE value = this.limitedSizeMap.get(key);
+
+      if(value != null)
+      {
+         return value;
+      }
+
+      final CacheElement<TYPE> elementCreator = this.cache.get(key);
+
+      if(elementCreator == null)
+      {
+         return null;
+      }
+
+      return this.limitedSizeMap.get(key, new Supplier<TYPE>()
+      {
+         @Override
+         public TYPE get()
+         {
+            return elementCreator.getElement();
+         }
+      }, new BooleanSupplier()
+      {
+         @Override
+         public boolean getAsBoolean()
+         {
+            // Element replaced while creating : created value is obsolete
+            return ConcurrentCacheLimitedSize.this.cache.get(key) == elementCreator;
+         }
+      });
+   }
+
+   /**
+    * Get cache element, or create it if not exists
+    * 
+    * @param key
+    *           Element key
+    * @param elementCreatorDefault
+    *           Creator to use if element not already inside the cache
+    * @return The asked element
+    */
+   public TYPE get(final String key, final CacheElement<TYPE> elementCreatorDefault)
+   {
+      if(elementCreatorDefault == null)
+      {
+         throw new NullPointerException("elementCreatorDefault MUST NOT be null");
+      }
+
+      this.cache.putIfAbsent(key, elementCreatorDefault);
+      return this.get(key);
+   }
+
+   /**
+    * Map that stores computed elements, to read its statistics
+    * 
+    * @return Map that stores computed elements
+    */
+   public ConcurrentLimitedSizeHashMap<String, TYPE> getLimitedSizeMap()
+   {
+      return this.limitedSizeMap;
+   }
+
+   /**
+    * Add/modify an element.<br>
+    * The element will be created at first get
+    * 
+    * @param key
+    *           Key
+    * @param elementCreator
+    *           Describe how create the element
+    */
+   public void put(final String key, final CacheElement<TYPE> elementCreator)
+   {
+      if(key == null)
+      {
+         throw new NullPointerException("key MUST NOT be null");
+      }
+
+      if(elementCreator == null)
+      {
+         throw new NullPointerException("elementCreator MUST NOT be null");
+      }
+
+      // Remove after replace : a creation in progress with the previous creator will not be stored, see get
+      this.cache.put(key, elementCreator);
+      this.limitedSizeMap.remove(key);
+   }
+
+   /**
+    * Remove an element
+    * 
+    * @param key
+    *           Key of element to remove
+    */
+   public void remove(final String key)
+   {
+      this.cache.remove(key);
+      this.limitedSizeMap.remove(key);
+   }
+}
@@ -0,0 +1,174 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ * 
+ * @author JHelp
+ */
+package jhelp.util.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import jhelp.util.list.ConcurrentLimitedWeightHashMap;
+import jhelp.util.list.HeavyObject;
+import jhelp.util.list.HeavyObjectCreator;
+
+/**
+ * Thread safe cache with elements weight is limited in memory.<br>
+ * Reads don't lock. If several threads miss the same key in same time,
+ * {@link HeavyObjectCreator#createHeavyObject()} is called only once.<br>
+ * An element created while its key is put again or removed is not kept, so get never returns an obsolete element after
+ * a put or remove returned
+ * 
+ * @author JHelp
+ * @param <TYPE>
+ *           Element type
+ */
+public class ConcurrentCacheLimitedWeight<TYPE extends HeavyObject>
+{
+   /** The cache */
+   private final ConcurrentHashMap<String, HeavyObjectCreator<TYPE>> cache;
+   /** Stored computed element (Limited in weight) */
+   private final ConcurrentLimitedWeightHashMap<String, TYPE>        limitedWeightMap;
+
+   /**
+    * Create a new instance of ConcurrentCacheLimitedWeight
+    * 
+    * @param maximumWeight
+    *           Maximum weight of computed elements in memory
+    */
+   public ConcurrentCacheLimitedWeight(final long maximumWeight)
+   {
+      this(new ConcurrentLimitedWeightHashMap<String, TYPE>(maximumWeight));
+   }
+
+   /**
+    * Create a new instance of ConcurrentCacheLimitedWeight
+    * 
+    * @param limitedWeightMap
+    *           Map to use
+    */
+   public ConcurrentCacheLimitedWeight(final ConcurrentLimitedWeightHashMap<String, TYPE> limitedWeightMap)
+   {
+      if(limitedWeightMap == null)
+      {
+         throw new NullPointerException("limitedWeightMap MUST NOT be null");
+      }
+
+      this.cache = new ConcurrentHashMap<String, HeavyObjectCreator<TYPE>>();
+      this.limitedWeightMap = limitedWeightMap;
+   }
+
+   /**
+    * Get cache element
+    * 
+    * @param key
+    *           Element key
+    * @return Element value (May be recreated) or {@code null} if no element in the cache or element too heavy
+    */
+   public TYPE get(final String key)
+   {
+      final TYPE heavy = this.limitedWeightMap.get(key);
+
+      if(heavy != null)
+      {
+         return heavy;
+      }
+
+      final HeavyObjectCreator<TYPE> creator = this.cache.get(key);
+
+      if(creator == null)
+      {
+         return null;
+      }
+
+      return this.limitedWeightMap.get(key, creator, new BooleanSupplier()
+      {
+         @Override
+         public boolean getAsBoolean()
+         {
+            // Element replaced while creating : created value is obsolete
+            return ConcurrentCacheLimitedWeight.this.cache.get(key) == creator;
+         }
+      });
+   }
+
+   /**
+    * Get cache element, or create it if not exists
+    * 
+    * @param key
+    *           Element key
+    * @param creatorDefault
+    *           Creator to use if element not already inside the cache
+    * @return The asked element or {@code null} if element too heavy
+    */
+   public TYPE get(final String key, final HeavyObjectCreator<TYPE> creatorDefault)
+   {
+      if(creatorDefault == null)
+      {
+         throw new NullPointerException("creatorDefault MUST NOT be null");
+      }
+
+      this.cache.putIfAbsent(key, creatorDefault);
+      return this.get(key);
+   }
+
+   /**
+    * Map that stores computed elements, to read its statistics
+    * 
+    * @return Map that stores computed elements
+    */
+   public ConcurrentLimitedWeightHashMap<String, TYPE> getLimitedWeightMap()
+   {
+      return this.limitedWeightMap;
+   }
+
+   /**
+    * Add/modify an element.<br>
+    * The element will be created at first get
+    * 
+    * @param key
+    *           Key
+    * @param creator
+    *           Describe how create the element
+    * @return {@code true} if put succeed, {@code false} if element too heavy
+    */
+   public boolean put(final String key, final HeavyObjectCreator<TYPE> creator)
+   {
+      if(key == null)
+      {
+         throw new NullPointerException("key MUST NOT be null");
+      }
+
+      if(creator == null)
+      {
+         throw new NullPointerException("creator MUST NOT be null");
+      }
+
+      if(creator.getFutureWeight() > this.limitedWeightMap.getMaximumWeight())
+      {
+         return false;
+      }
+
+      // Remove after replace : a creation in progress with the previous creator will not be stored, see get
+      this.cache.put(key, creator);
+      this.limitedWeightMap.remove(key);
+      return true;
+   }
+
+   /**
+    * Remove an element
+    * 
+    * @param key
+    *           Key of element to remove
+    */
+   public void remove(final String key)
+   {
+      this.cache.remove(key);
+      this.limitedWeightMap.remove(key);
+   }
+}
@@ -33,8 +33,8 @@ import jhelp.util.text.UtilText;
  */
 public final class JHelpRichText
 {
-    /** Images cache */
-    private final Cache<JHelpImage> CACHE_IMAGES = new Cache<JHelpImage>();
+    /** Images cache : at most 256 images and 16 MB of pixels */
+    private final Cache<JHelpImage> CACHE_IMAGES = new Cache<JHelpImage>(256, 16L * 1024L * 1024L);
     /** Resources set */
     private final Resources           resources;
     /** Registered associations */
@@ -282,18 +282,8 @@ public final class JHelpRichText
      */
     private JHelpImage obtainImage(final String resource, final int size)
     {
-        final String key = size + ':' + resource;
-
-        JHelpImage image = this.CACHE_IMAGES.get(key);
-
-        if (image == null)
-        {
-            final CacheImageElement cacheImageElement = new CacheImageElement(this.resources, resource, size);
-            this.CACHE_IMAGES.add(key, cacheImageElement);
-            image = this.CACHE_IMAGES.get(key);
-        }
-
-        return image;
+        final String key = size + ":" + resource;
+        return this.CACHE_IMAGES.get(key, new CacheImageElement(this.resources, resource, size));
     }
 
     /**
@@ -435,6 +425,23 @@ public final class JHelpRichText
                 return null;
             }
         }
+
+        /**
+         * Image weight : its number of bytes in memory <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @param element
+         *           Image to measure
+         * @return Image weight
+         * @see jhelp.util.cache.CacheElement#weight(java.lang.Object)
+         */
+        @Override
+        protected long weight(final JHelpImage element)
+        {
+            return 4L * element.getWidth() * element.getHeight();
+        }
     }
 
     /**
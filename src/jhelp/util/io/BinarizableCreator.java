@@ -0,0 +1,19 @@
+package jhelp.util.io;
+
+/**
+ * Creator of empty {@link Binarizable} instances, used by {@link BinarizableFactory} to avoid reflection each time a
+ * {@link Binarizable} is read
+ *
+ * @param <B> {@link Binarizable} type
+ * @author JHelp
+ */
+public interface BinarizableCreator<B extends Binarizable>
+{
+    /**
+     * Create a new empty instance, ready to be filled by {@link Binarizable#parseBinary(ByteArray)}
+     *
+     * @return Created instance
+     * @throws Exception If creation failed
+     */
+    public B createBinarizable() throws Exception;
+}
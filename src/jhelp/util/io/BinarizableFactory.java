@@ -0,0 +1,324 @@
+package jhelp.util.io;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jhelp.util.reflection.Reflector;
+
+/**
+ * Cache of {@link BinarizableCreator} per class and of class per name.<br>
+ * Used by {@link ByteArray} and {@link UtilIO} when they read {@link Binarizable}, so reflection is done only once per
+ * class.<br>
+ * By default, the creator calls directly the public empty constructor (See {@link Binarizable}). If the class don't
+ * have one, it falls back to {@link Reflector#newInstance(Class)}. A hand written creator can be given with
+ * {@link #register(Class, BinarizableCreator)}
+ *
+ * @author JHelp
+ */
+public final class BinarizableFactory
+{
+    /**
+     * Classes already resolved, by name
+     */
+    private static final ConcurrentHashMap<String, Class<?>>                CLASSES  =
+            new ConcurrentHashMap<String, Class<?>>();
+    /**
+     * Creators, by class
+     */
+    private static final ConcurrentHashMap<Class<?>, BinarizableCreator<?>> CREATORS =
+            new ConcurrentHashMap<Class<?>, BinarizableCreator<?>>();
+
+    /**
+     * Creator that calls a constructor method handle
+     *
+     * @param <B> {@link Binarizable} type
+     * @author JHelp
+     */
+    static class MethodHandleCreator<B extends Binarizable>
+            implements BinarizableCreator<B>
+    {
+        /**
+         * Empty constructor handle
+         */
+        private final MethodHandle constructor;
+
+        /**
+         * Create a new instance of MethodHandleCreator
+         *
+         * @param constructor Empty constructor handle
+         */
+        MethodHandleCreator(final MethodHandle constructor)
+        {
+            this.constructor = constructor.asType(MethodType.methodType(Binarizable.class));
+        }
+
+        /**
+         * Create a new empty instance <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return Created instance
+         * @throws Exception If creation failed
+         * @see jhelp.util.io.BinarizableCreator#createBinarizable()
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public B createBinarizable() throws Exception
+        {
+            try
+            {
+                return (B) this.constructor.invokeExact();
+            }
+            catch (final Exception | Error exception)
+            {
+                throw exception;
+            }
+            catch (final Throwable throwable)
+            {
+                throw new Exception("Failed to create instance", throwable);
+            }
+        }
+    }
+
+    /**
+     * Creator that use {@link Reflector#newInstance(Class)}
+     *
+     * @param <B> {@link Binarizable} type
+     * @author JHelp
+     */
+    static class ReflectorCreator<B extends Binarizable>
+            implements BinarizableCreator<B>
+    {
+        /**
+         * Class to create
+         */
+        private final Class<B> clas;
+
+        /**
+         * Create a new instance of ReflectorCreator
+         *
+         * @param clas Class to create
+         */
+        ReflectorCreator(final Class<B> clas)
+        {
+            this.clas = clas;
+        }
+
+        /**
+         * Create a new empty instance <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return Created instance
+         * @throws Exception If creation failed
+         * @see jhelp.util.io.BinarizableCreator#createBinarizable()
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public B createBinarizable() throws Exception
+        {
+            final B binarizable = (B) Reflector.newInstance(this.clas);
+
+            if (binarizable == null)
+            {
+                throw new InstantiationException("Can't create instance of " + this.clas.getName());
+            }
+
+            return binarizable;
+        }
+    }
+
+    /**
+     * To avoid instance
+     */
+    private BinarizableFactory()
+    {
+    }
+
+    /**
+     * Build the default creator for a class
+     *
+     * @param <B>  {@link Binarizable} type
+     * @param clas Class to create
+     * @return Creator
+     */
+    @SuppressWarnings("unchecked")
+    static <B extends Binarizable> BinarizableCreator<B> buildCreator(final Class<B> clas)
+    {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodHandle         constructor;
+
+        try
+        {
+            constructor = lookup.findConstructor(clas, MethodType.methodType(void.class));
+        }
+        catch (final NoSuchMethodException | IllegalAccessException exception)
+        {
+            return new ReflectorCreator<B>(clas);
+        }
+
+        if (!BinarizableFactory.isVisible(clas))
+        {
+            // The generated creator would live in this class loader and fail to link on first call
+            return new MethodHandleCreator<B>(constructor);
+        }
+
+        try
+        {
+            // Creator implemented as "ClassName::new", same speed as a direct call
+            final CallSite callSite = LambdaMetafactory.metafactory(lookup, "createBinarizable",
+                                                                    MethodType.methodType(BinarizableCreator.class),
+                                                                    MethodType.methodType(Binarizable.class),
+                                                                    constructor,
+                                                                    MethodType.methodType(clas));
+            return (BinarizableCreator<B>) callSite.getTarget()
+                                                   .invoke();
+        }
+        catch (final Throwable throwable)
+        {
+            return new MethodHandleCreator<B>(constructor);
+        }
+    }
+
+    /**
+     * Indicates if a class can be resolved, by its name, from the class loader of this factory.<br>
+     * Classes loaded by a child or plugin class loader are not visible
+     *
+     * @param clas Class to test
+     * @return {@code true} if the class is visible
+     */
+    static boolean isVisible(final Class<?> clas)
+    {
+        final ClassLoader classLoader = BinarizableFactory.class.getClassLoader();
+
+        if ((clas.getClassLoader() == classLoader) || (clas.getClassLoader() == null))
+        {
+            return true;
+        }
+
+        try
+        {
+            return Class.forName(clas.getName(), false, classLoader) == clas;
+        }
+        catch (final ClassNotFoundException | LinkageError exception)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Create a new empty instance of a {@link Binarizable}
+     *
+     * @param <B>  {@link Binarizable} type
+     * @param clas Class to create
+     * @return Created instance
+     * @throws Exception If creation failed
+     */
+    public static <B extends Binarizable> B create(final Class<B> clas) throws Exception
+    {
+        return BinarizableFactory.obtainCreator(clas)
+                                 .createBinarizable();
+    }
+
+    /**
+     * Create a new empty instance of a {@link Binarizable}
+     *
+     * @param <B>       {@link Binarizable} type
+     * @param className Class name to create
+     * @return Created instance
+     * @throws Exception If the class not exists or creation failed
+     */
+    @SuppressWarnings("unchecked")
+    public static <B extends Binarizable> B create(final String className) throws Exception
+    {
+        return BinarizableFactory.create((Class<B>) BinarizableFactory.obtainClass(className));
+    }
+
+    /**
+     * Obtain a class by its name.<br>
+     * The result is cached
+     *
+     * @param className Class name
+     * @return The class
+     * @throws ClassNotFoundException If the class not exists
+     */
+    public static Class<?> obtainClass(final String className) throws ClassNotFoundException
+    {
+        if (className == null)
+        {
+            throw new NullPointerException("className MUST NOT be null");
+        }
+
+        Class<?> clas = BinarizableFactory.CLASSES.get(className);
+
+        if (clas == null)
+        {
+            clas = Class.forName(className);
+            BinarizableFactory.CLASSES.put(className, clas);
+        }
+
+        return clas;
+    }
+
+    /**
+     * Obtain the creator for a class.<br>
+     * The creator is computed on first call and cached
+     *
+     * @param <B>  {@link Binarizable} type
+     * @param clas Class to create
+     * @return Class creator
+     */
+    @SuppressWarnings("unchecked")
+    public static <B extends Binarizable> BinarizableCreator<B> obtainCreator(final Class<B> clas)
+    {
+        if (clas == null)
+        {
+            throw new NullPointerException("clas MUST NOT be null");
+        }
+
+        BinarizableCreator<B> creator = (BinarizableCreator<B>) BinarizableFactory.CREATORS.get(clas);
+
+        if (creator == null)
+        {
+            creator = BinarizableFactory.buildCreator(clas);
+            final BinarizableCreator<B> previous = (BinarizableCreator<B>) BinarizableFactory.CREATORS.putIfAbsent(clas,
+                                                                                                                  creator);
+
+            if (previous != null)
+            {
+                creator = previous;
+            }
+        }
+
+        return creator;
+    }
+
+    /**
+     * Register a specific creator for a class.<br>
+     * It replaces the default one
+     *
+     * @param <B>     {@link Binarizable} type
+     * @param clas    Class to create
+     * @param creator Creator to use
+     */
+    public static <B extends Binarizable> void register(final Class<B> clas, final BinarizableCreator<B> creator)
+    {
+        if (clas == null)
+        {
+            throw new NullPointerException("clas MUST NOT be null");
+        }
+
+        if (creator == null)
+        {
+            throw new NullPointerException("creator MUST NOT be null");
+        }
+
+        BinarizableFactory.CREATORS.put(clas, creator);
+    }
+}
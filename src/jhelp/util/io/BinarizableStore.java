@@ -0,0 +1,1038 @@
+package jhelp.util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import jhelp.util.debug.Debug;
+import jhelp.util.debug.DebugLevel;
+import jhelp.util.thread.ThreadManager;
+import jhelp.util.thread.ThreadedVerySimpleTask;
+
+/**
+ * Store of {@link Binarizable} records, associated to a long key.<br>
+ * Records are appended to a log cut in segments, each segment is a memory mapped file of the store directory. An index
+ * in memory associate each key to its last record, so update a record just append it, and read a record read it
+ * directly from the mapping.<br>
+ * Each record have a CRC, at opening the log is replayed to rebuild the index and stops at the first corrupted record
+ * (Crash in middle of a write).<br>
+ * Superseded and removed records stay in the log until {@link #compact()} (or {@link #compactInBackground()}) rewrite
+ * the segments that have too much dead records. A remove record stays alive while it can hide an older record of its
+ * key, that is until its key is put again or its segment becomes the oldest one.<br>
+ * Record format : [payload length (int)][CRC (int)][key (long)][type (byte)][payload]. The CRC covers key, type and
+ * payload.<br>
+ * All methods are thread safe
+ *
+ * @author JHelp
+ */
+public class BinarizableStore
+{
+    /**
+     * Default segment size
+     */
+    public static final  int    DEFAULT_SEGMENT_SIZE = 64 * UtilIO.MEGA_BYTES;
+    /**
+     * Segment file extension
+     */
+    private static final String EXTENSION            = ".segment";
+    /**
+     * Record header size
+     */
+    private static final int    HEADER_SIZE          = 17;
+    /**
+     * Proportion of live bytes under which a segment is compacted
+     */
+    private static final double LIVE_RATIO           = 0.5;
+    /**
+     * Record type : add/replace a record
+     */
+    private static final byte   TYPE_PUT             = 1;
+    /**
+     * Record type : remove a record
+     */
+    private static final byte   TYPE_REMOVE          = 2;
+
+    /**
+     * Segment of the log
+     *
+     * @author JHelp
+     */
+    static class Segment
+    {
+        /**
+         * Mapping of the segment file
+         */
+        final MappedByteBuffer buffer;
+        /**
+         * Segment file channel
+         */
+        final FileChannel      fileChannel;
+        /**
+         * Segment file
+         */
+        final File             file;
+        /**
+         * Segment number
+         */
+        final int              number;
+        /**
+         * Number of bytes of records still referenced by the index, remove records included
+         */
+        long liveBytes;
+        /**
+         * Number of bytes of remove records still referenced by the index
+         */
+        long tombstoneBytes;
+        /**
+         * End of written records
+         */
+        int  writePosition;
+
+        /**
+         * Create a new instance of Segment
+         *
+         * @param file   Segment file
+         * @param number Segment number
+         * @param size   Minimum segment size
+         * @throws IOException If file can't be open or mapped
+         */
+        Segment(final File file, final int number, final int size) throws IOException
+        {
+            this.file = file;
+            this.number = number;
+            final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+
+            if (randomAccessFile.length() < size)
+            {
+                randomAccessFile.setLength(size);
+            }
+
+            this.fileChannel = randomAccessFile.getChannel();
+            this.buffer = this.fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, this.fileChannel.size());
+            this.liveBytes = 0;
+            this.tombstoneBytes = 0;
+            this.writePosition = 0;
+        }
+
+        /**
+         * Compute the CRC of a record
+         *
+         * @param position Record position
+         * @param length   Payload length
+         * @return Computed CRC
+         */
+        int computeCRC(final int position, final int length)
+        {
+            final ByteBuffer covered = this.buffer.duplicate();
+            covered.limit(position + BinarizableStore.HEADER_SIZE + length);
+            covered.position(position + 8);
+            final CRC32 crc32 = new CRC32();
+            crc32.update(covered);
+            return (int) crc32.getValue();
+        }
+
+        /**
+         * Release the segment
+         */
+        void close()
+        {
+            try
+            {
+                this.fileChannel.close();
+            }
+            catch (final IOException exception)
+            {
+                Debug.printException(exception, "Failed to close segment ", this.file.getAbsolutePath());
+            }
+        }
+
+        /**
+         * Read only view on a record payload
+         *
+         * @param position Record position
+         * @return Payload view
+         */
+        ByteBuffer payload(final int position)
+        {
+            final ByteBuffer payload = this.buffer.duplicate();
+            payload.limit(position + BinarizableStore.HEADER_SIZE + this.buffer.getInt(position));
+            payload.position(position + BinarizableStore.HEADER_SIZE);
+            return payload.slice()
+                          .asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * Index long key to long location, open addressing with linear probing, no boxing
+     *
+     * @author JHelp
+     */
+    static class LongIndex
+    {
+        /**
+         * Value of empty cell
+         */
+        static final long EMPTY = -1L;
+        /**
+         * Keys
+         */
+        private long[] keys;
+        /**
+         * Number of stored keys
+         */
+        private int    size;
+        /**
+         * Values, {@link #EMPTY} for free cells
+         */
+        private long[] values;
+
+        /**
+         * Create a new instance of LongIndex
+         */
+        LongIndex()
+        {
+            this.keys = new long[1024];
+            this.values = new long[1024];
+            Arrays.fill(this.values, LongIndex.EMPTY);
+            this.size = 0;
+        }
+
+        /**
+         * Cell where start the search of a key
+         *
+         * @param key  Key
+         * @param mask Table mask
+         * @return Start cell
+         */
+        private static int hash(final long key, final int mask)
+        {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 32;
+            return (int) hash & mask;
+        }
+
+        /**
+         * Cell of a key or free cell where it should be
+         *
+         * @param key Key
+         * @return Cell
+         */
+        private int cell(final long key)
+        {
+            final int mask = this.keys.length - 1;
+            int       cell = LongIndex.hash(key, mask);
+
+            while (this.values[cell] != LongIndex.EMPTY && this.keys[cell] != key)
+            {
+                cell = (cell + 1) & mask;
+            }
+
+            return cell;
+        }
+
+        /**
+         * Obtain a key value
+         *
+         * @param key Key
+         * @return Value or {@link #EMPTY} if key not stored
+         */
+        long get(final long key)
+        {
+            return this.values[this.cell(key)];
+        }
+
+        /**
+         * Associate a value to a key
+         *
+         * @param key   Key
+         * @param value Value (Must be positive)
+         * @return Previous value or {@link #EMPTY} if the key was not stored
+         */
+        long put(final long key, final long value)
+        {
+            final int  cell     = this.cell(key);
+            final long previous = this.values[cell];
+            this.keys[cell] = key;
+            this.values[cell] = value;
+
+            if (previous == LongIndex.EMPTY)
+            {
+                this.size++;
+
+                if (this.size > (this.keys.length >> 1) + (this.keys.length >> 2))
+                {
+                    this.rehash();
+                }
+            }
+
+            return previous;
+        }
+
+        /**
+         * Double the table size
+         */
+        private void rehash()
+        {
+            final long[] oldKeys   = this.keys;
+            final long[] oldValues = this.values;
+            this.keys = new long[oldKeys.length << 1];
+            this.values = new long[oldKeys.length << 1];
+            Arrays.fill(this.values, LongIndex.EMPTY);
+            int cell;
+
+            for (int index = oldKeys.length - 1; index >= 0; index--)
+            {
+                if (oldValues[index] != LongIndex.EMPTY)
+                {
+                    cell = this.cell(oldKeys[index]);
+                    this.keys[cell] = oldKeys[index];
+                    this.values[cell] = oldValues[index];
+                }
+            }
+        }
+
+        /**
+         * Remove a key
+         *
+         * @param key Key to remove
+         * @return Removed value or {@link #EMPTY} if the key was not stored
+         */
+        long remove(final long key)
+        {
+            final int mask     = this.keys.length - 1;
+            int       cell     = this.cell(key);
+            final long previous = this.values[cell];
+
+            if (previous == LongIndex.EMPTY)
+            {
+                return LongIndex.EMPTY;
+            }
+
+            this.size--;
+            // Shift back following cells, so no tombstone is need
+            int  next = (cell + 1) & mask;
+            int  home;
+
+            while (this.values[next] != LongIndex.EMPTY)
+            {
+                home = LongIndex.hash(this.keys[next], mask);
+
+                if (((next - home) & mask) >= ((next - cell) & mask))
+                {
+                    this.keys[cell] = this.keys[next];
+                    this.values[cell] = this.values[next];
+                    cell = next;
+                }
+
+                next = (next + 1) & mask;
+            }
+
+            this.values[cell] = LongIndex.EMPTY;
+            return previous;
+        }
+
+        /**
+         * Number of stored keys
+         *
+         * @return Number of stored keys
+         */
+        int size()
+        {
+            return this.size;
+        }
+    }
+
+    /**
+     * Task that compact the store
+     */
+    private final ThreadedVerySimpleTask   compactTask = new ThreadedVerySimpleTask()
+    {
+        /**
+         * Compact the store <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @see jhelp.util.thread.ThreadedVerySimpleTask#doVerySimpleAction()
+         */
+        @Override
+        protected void doVerySimpleAction()
+        {
+            try
+            {
+                BinarizableStore.this.compact();
+            }
+            catch (final IOException exception)
+            {
+                Debug.printException(exception, "Compaction failed");
+            }
+        }
+    };
+    /**
+     * Lock that keeps one compaction at a time
+     */
+    private final Object                   compactLock = new Object();
+    /**
+     * Store directory
+     */
+    private final File                     directory;
+    /**
+     * Key index
+     */
+    private final LongIndex                index;
+    /**
+     * Segment size
+     */
+    private final int                      segmentSize;
+    /**
+     * Segments, by number
+     */
+    private final TreeMap<Integer, Segment> segments;
+    /**
+     * Key to location of the remove record that hide older records of the key
+     */
+    private final LongIndex                tombstones;
+    /**
+     * Segment where records are appended
+     */
+    private       Segment                  active;
+    /**
+     * Indicates if the store is closed
+     */
+    private       boolean                  closed;
+
+    /**
+     * Create a new instance of BinarizableStore with default segment size.<br>
+     * If the directory already contains a store, it is open and its log replayed
+     *
+     * @param directory Store directory
+     * @throws IOException If directory can't be created or segments can't be mapped
+     */
+    public BinarizableStore(final File directory) throws IOException
+    {
+        this(directory, BinarizableStore.DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Create a new instance of BinarizableStore.<br>
+     * If the directory already contains a store, it is open and its log replayed
+     *
+     * @param directory   Store directory
+     * @param segmentSize Segment size. It is also the maximum size of a record
+     * @throws IOException If directory can't be created or segments can't be mapped
+     */
+    public BinarizableStore(final File directory, final int segmentSize) throws IOException
+    {
+        if (directory == null)
+        {
+            throw new NullPointerException("directory MUST NOT be null");
+        }
+
+        if (segmentSize < UtilIO.KILO_BYTES)
+        {
+            throw new IllegalArgumentException("segmentSize MUST be at least " + UtilIO.KILO_BYTES);
+        }
+
+        if (!UtilIO.createDirectory(directory))
+        {
+            throw new IOException("Can't create directory " + directory.getAbsolutePath());
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segments = new TreeMap<Integer, Segment>();
+        this.index = new LongIndex();
+        this.tombstones = new LongIndex();
+        this.closed = false;
+
+        final File[]        files   = directory.listFiles();
+        final List<Integer> numbers = new ArrayList<Integer>();
+
+        if (files != null)
+        {
+            String name;
+
+            for (final File file : files)
+            {
+                name = file.getName();
+
+                if (name.endsWith(BinarizableStore.EXTENSION))
+                {
+                    try
+                    {
+                        numbers.add(Integer.parseInt(
+                                name.substring(0, name.length() - BinarizableStore.EXTENSION.length())));
+                    }
+                    catch (final NumberFormatException exception)
+                    {
+                        Debug.printException(exception, "Not a segment : ", file.getAbsolutePath());
+                    }
+                }
+            }
+        }
+
+        Collections.sort(numbers);
+        Segment segment;
+
+        for (final int number : numbers)
+        {
+            segment = new Segment(this.segmentFile(number), number, 0);
+            this.segments.put(number, segment);
+            this.replay(segment);
+            this.active = segment;
+        }
+
+        if (this.active == null)
+        {
+            this.active = this.createSegment(0);
+        }
+    }
+
+    /**
+     * Encode a location
+     *
+     * @param segment  Segment number
+     * @param position Position in segment
+     * @return Location
+     */
+    private static long location(final int segment, final int position)
+    {
+        return ((long) segment << 32) | (position & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Append a record in the active segment
+     *
+     * @param key     Record key
+     * @param type    Record type
+     * @param payload Record payload
+     * @return Record location
+     * @throws IOException If a new segment can't be created
+     */
+    private long append(final long key, final byte type, final ByteBuffer payload) throws IOException
+    {
+        final int length     = payload.remaining();
+        final int recordSize = BinarizableStore.HEADER_SIZE + length;
+
+        if (recordSize > this.segmentSize)
+        {
+            throw new IllegalArgumentException(
+                    "Record of " + recordSize + " bytes is bigger than segment size " + this.segmentSize);
+        }
+
+        if (this.active.writePosition + recordSize > this.active.buffer.capacity())
+        {
+            this.active = this.createSegment(this.active.number + 1);
+        }
+
+        final int              position = this.active.writePosition;
+        final MappedByteBuffer buffer   = this.active.buffer;
+        buffer.putInt(position, length);
+        buffer.putLong(position + 8, key);
+        buffer.put(position + 16, type);
+        final ByteBuffer destination = buffer.duplicate();
+        destination.position(position + BinarizableStore.HEADER_SIZE);
+        destination.put(payload);
+        buffer.putInt(position + 4, this.active.computeCRC(position, length));
+        this.active.writePosition += recordSize;
+        return BinarizableStore.location(this.active.number, position);
+    }
+
+    /**
+     * Check store is open
+     */
+    private void checkOpen()
+    {
+        if (this.closed)
+        {
+            throw new IllegalStateException("Store is closed");
+        }
+    }
+
+    /**
+     * Compact a segment : live records are copied to active segment, then the segment is deleted.<br>
+     * The segment is no more written, so it is read without the store lock. The lock is taken only to move each live
+     * record, so reads and writes continue during compaction
+     *
+     * @param segment Segment to compact
+     * @return {@code true} if the segment is compacted, {@code false} if the store was closed in the middle
+     * @throws IOException If a new segment can't be created
+     */
+    private boolean compact(final Segment segment) throws IOException
+    {
+        final MappedByteBuffer buffer = segment.buffer;
+        final boolean          oldest;
+        final int              firstTarget;
+
+        synchronized (this)
+        {
+            if (this.closed)
+            {
+                return false;
+            }
+
+            oldest = segment.number == this.segments.firstKey();
+            // Copies go to the active segment and the following ones created while copying
+            firstTarget = this.active.number;
+        }
+
+        int position = 0;
+        int length;
+
+        while (position < segment.writePosition)
+        {
+            length = buffer.getInt(position);
+
+            if (!this.move(segment, position, buffer.getLong(position + 8), buffer.get(position + 16), oldest))
+            {
+                return false;
+            }
+
+            position += BinarizableStore.HEADER_SIZE + length;
+        }
+
+        final List<Segment> targets = new ArrayList<Segment>();
+        Segment             target;
+
+        synchronized (this)
+        {
+            if (this.closed)
+            {
+                return false;
+            }
+
+            for (int number = firstTarget; number <= this.active.number; number++)
+            {
+                target = this.segments.get(number);
+
+                if (target != null)
+                {
+                    targets.add(target);
+                }
+            }
+        }
+
+        // Copies must be on the disk before the source disappears, else a crash loses the records
+        for (final Segment copy : targets)
+        {
+            copy.buffer.force();
+        }
+
+        synchronized (this)
+        {
+            if (this.closed)
+            {
+                return false;
+            }
+
+            // Nothing points to the segment anymore
+            this.segments.remove(segment.number);
+        }
+
+        segment.close();
+
+        if (!segment.file.delete())
+        {
+            segment.file.deleteOnExit();
+        }
+
+        return true;
+    }
+
+    /**
+     * Create a new segment
+     *
+     * @param number Segment number
+     * @return Created segment
+     * @throws IOException If segment file can't be created or mapped
+     */
+    private Segment createSegment(final int number) throws IOException
+    {
+        final Segment segment = new Segment(this.segmentFile(number), number, this.segmentSize);
+        this.segments.put(number, segment);
+        return segment;
+    }
+
+    /**
+     * Move a record of a compacted segment to the active segment, if the record is still live
+     *
+     * @param segment  Compacted segment
+     * @param position Record position
+     * @param key      Record key
+     * @param type     Record type
+     * @param oldest   Indicates if compacted segment is the oldest one, in that case remove records are dropped
+     * @return {@code false} if the store is closed
+     * @throws IOException If a new segment can't be created
+     */
+    private synchronized boolean move(final Segment segment, final int position, final long key, final byte type,
+                                      final boolean oldest) throws IOException
+    {
+        if (this.closed)
+        {
+            return false;
+        }
+
+        final long source = BinarizableStore.location(segment.number, position);
+        final int  size   = BinarizableStore.HEADER_SIZE + segment.buffer.getInt(position);
+
+        if (type == BinarizableStore.TYPE_PUT)
+        {
+            if (this.index.get(key) == source)
+            {
+                this.index.put(key, this.append(key, BinarizableStore.TYPE_PUT, segment.payload(position)));
+                this.active.liveBytes += size;
+            }
+        }
+        else if (this.tombstones.get(key) == source)
+        {
+            if (oldest)
+            {
+                // No older segment can have a record for this key
+                this.tombstones.remove(key);
+            }
+            else
+            {
+                this.tombstones.put(key, this.append(key, BinarizableStore.TYPE_REMOVE, segment.payload(position)));
+                this.active.liveBytes += size;
+                this.active.tombstoneBytes += size;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Segment where lies a location
+     *
+     * @param location Location
+     * @return Segment
+     */
+    private Segment segment(final long location)
+    {
+        return this.segments.get((int) (location >>> 32));
+    }
+
+    /**
+     * Forget a record, update the live bytes of its segment
+     *
+     * @param location Record location
+     */
+    private void release(final long location)
+    {
+        if (location == LongIndex.EMPTY)
+        {
+            return;
+        }
+
+        final Segment segment = this.segment(location);
+        final int     size    = BinarizableStore.HEADER_SIZE + segment.buffer.getInt((int) location);
+        segment.liveBytes -= size;
+
+        if (segment.buffer.get((int) location + 16) == BinarizableStore.TYPE_REMOVE)
+        {
+            segment.tombstoneBytes -= size;
+        }
+    }
+
+    /**
+     * Replay a segment log to fill the index.<br>
+     * Stops at first empty or corrupted record
+     *
+     * @param segment Segment to replay
+     */
+    private void replay(final Segment segment)
+    {
+        final MappedByteBuffer buffer   = segment.buffer;
+        final int              capacity = buffer.capacity();
+        int                    position = 0;
+        int                    length;
+        long                   key;
+        byte                   type;
+        long                   location;
+
+        while (position + BinarizableStore.HEADER_SIZE <= capacity)
+        {
+            length = buffer.getInt(position);
+            type = buffer.get(position + 16);
+
+            if ((type != BinarizableStore.TYPE_PUT && type != BinarizableStore.TYPE_REMOVE) || length < 0
+                || position + BinarizableStore.HEADER_SIZE + length > capacity
+                || buffer.getInt(position + 4) != segment.computeCRC(position, length))
+            {
+                break;
+            }
+
+            key = buffer.getLong(position + 8);
+            location = BinarizableStore.location(segment.number, position);
+            segment.liveBytes += BinarizableStore.HEADER_SIZE + length;
+
+            if (type == BinarizableStore.TYPE_PUT)
+            {
+                this.release(this.index.put(key, location));
+                this.release(this.tombstones.remove(key));
+            }
+            else
+            {
+                segment.tombstoneBytes += BinarizableStore.HEADER_SIZE + length;
+                this.release(this.index.remove(key));
+                this.release(this.tombstones.put(key, location));
+            }
+
+            position += BinarizableStore.HEADER_SIZE + length;
+        }
+
+        segment.writePosition = position;
+
+        if (position + BinarizableStore.HEADER_SIZE <= capacity && buffer.get(position + 16) != 0)
+        {
+            // Partial write of a crash : clean the tail
+            Debug.println(DebugLevel.WARNING, "Corrupted record in ", segment.file.getAbsolutePath(), " at ",
+                          position, ", tail ignored");
+
+            for (int clean = position; clean < capacity; clean++)
+            {
+                buffer.put(clean, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * File of a segment
+     *
+     * @param number Segment number
+     * @return Segment file
+     */
+    private File segmentFile(final int number)
+    {
+        return new File(this.directory, String.format("%08d", number) + BinarizableStore.EXTENSION);
+    }
+
+    /**
+     * Close the store.<br>
+     * Data are flushed to disk
+     */
+    public synchronized void close()
+    {
+        if (this.closed)
+        {
+            return;
+        }
+
+        this.flush();
+        this.closed = true;
+
+        for (final Segment segment : this.segments.values())
+        {
+            segment.close();
+        }
+
+        this.segments.clear();
+    }
+
+    /**
+     * Rewrite segments that have too much superseded or removed records.<br>
+     * Live records are copied at the end of the log and the segment files are deleted.<br>
+     * Remove records of the oldest segment are dead, since no older record can be hidden.<br>
+     * The store stay usable during compaction, only one compaction runs at a time
+     *
+     * @return Number of compacted segments
+     * @throws IOException If a new segment can't be created
+     */
+    public int compact() throws IOException
+    {
+        synchronized (this.compactLock)
+        {
+            final List<Segment> candidates = new ArrayList<Segment>();
+
+            synchronized (this)
+            {
+                this.checkOpen();
+                final Segment oldest = this.segments.firstEntry()
+                                                    .getValue();
+                long          liveBytes;
+
+                for (final Segment segment : this.segments.values())
+                {
+                    liveBytes = segment.liveBytes;
+
+                    if (segment == oldest)
+                    {
+                        liveBytes -= segment.tombstoneBytes;
+                    }
+
+                    if (segment != this.active && liveBytes < segment.writePosition * BinarizableStore.LIVE_RATIO)
+                    {
+                        candidates.add(segment);
+                    }
+                }
+            }
+
+            int compacted = 0;
+
+            for (final Segment segment : candidates)
+            {
+                if (!this.compact(segment))
+                {
+                    break;
+                }
+
+                compacted++;
+            }
+
+            return compacted;
+        }
+    }
+
+    /**
+     * Launch {@link #compact()} in separate thread
+     */
+    public void compactInBackground()
+    {
+        ThreadManager.THREAD_MANAGER.doThread(this.compactTask, null);
+    }
+
+    /**
+     * Indicates if a key have a record
+     *
+     * @param key Key to test
+     * @return {@code true} if the key have a record
+     */
+    public synchronized boolean contains(final long key)
+    {
+        this.checkOpen();
+        return this.index.get(key) != LongIndex.EMPTY;
+    }
+
+    /**
+     * Force write of changes to the disk
+     */
+    public synchronized void flush()
+    {
+        if (this.closed)
+        {
+            return;
+        }
+
+        for (final Segment segment : this.segments.values())
+        {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * Read a record
+     *
+     * @param <B>  {@link Binarizable} type
+     * @param key  Record key
+     * @param clas {@link Binarizable} class
+     * @return Read record or {@code null} if the key have no record
+     * @throws Exception If the record is not a valid instance of the class
+     */
+    public <B extends Binarizable> B get(final long key, final Class<B> clas) throws Exception
+    {
+        final ByteBuffer payload = this.getPayload(key);
+
+        if (payload == null)
+        {
+            return null;
+        }
+
+        final ByteArray byteArray = new ByteArray();
+        byteArray.write(payload);
+        final B binarizable = BinarizableFactory.create(clas);
+        binarizable.parseBinary(byteArray);
+        return binarizable;
+    }
+
+    /**
+     * Read only view on a record serialized data, directly on the mapped file, no copy is done.<br>
+     * The view stay valid even if the record is updated or compacted later
+     *
+     * @param key Record key
+     * @return Record serialized data or {@code null} if the key have no record
+     */
+    public synchronized ByteBuffer getPayload(final long key)
+    {
+        this.checkOpen();
+        final long location = this.index.get(key);
+
+        if (location == LongIndex.EMPTY)
+        {
+            return null;
+        }
+
+        return this.segment(location)
+                   .payload((int) location);
+    }
+
+    /**
+     * Add or replace a record
+     *
+     * @param key         Record key
+     * @param binarizable Record
+     * @throws IOException If a new segment can't be created
+     */
+    public void put(final long key, final Binarizable binarizable) throws IOException
+    {
+        if (binarizable == null)
+        {
+            throw new NullPointerException("binarizable MUST NOT be null");
+        }
+
+        final ByteArray byteArray = new ByteArray();
+        binarizable.serializeBinary(byteArray);
+
+        synchronized (this)
+        {
+            this.checkOpen();
+            final long location = this.append(key, BinarizableStore.TYPE_PUT, byteArray.toByteBuffer());
+            this.release(this.index.put(key, location));
+            // The new record hides older ones by itself
+            this.release(this.tombstones.remove(key));
+            this.active.liveBytes += BinarizableStore.HEADER_SIZE + byteArray.getSize();
+        }
+    }
+
+    /**
+     * Remove a record
+     *
+     * @param key Record key
+     * @return {@code true} if the key had a record
+     * @throws IOException If a new segment can't be created
+     */
+    public synchronized boolean remove(final long key) throws IOException
+    {
+        this.checkOpen();
+
+        if (this.index.get(key) == LongIndex.EMPTY)
+        {
+            return false;
+        }
+
+        final long location = this.append(key, BinarizableStore.TYPE_REMOVE, ByteBuffer.allocate(0));
+        this.release(this.index.remove(key));
+        this.release(this.tombstones.put(key, location));
+        this.active.liveBytes += BinarizableStore.HEADER_SIZE;
+        this.active.tombstoneBytes += BinarizableStore.HEADER_SIZE;
+        return true;
+    }
+
+    /**
+     * Number of records
+     *
+     * @return Number of records
+     */
+    public synchronized int size()
+    {
+        return this.index.size();
+    }
+}
@@ -14,11 +14,17 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.Channel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 
 import jhelp.util.math.UtilMath;
-import jhelp.util.reflection.Reflector;
 import jhelp.util.text.UtilText;
 
 /**
@@ -28,6 +34,22 @@ import jhelp.util.text.UtilText;
  */
 public class ByteArray
 {
+    /**
+     * Header byte of the fixed width format, see {@link #writeHeader()}
+     */
+    public static final  int HEADER_FIXED   = 0xB0;
+    /**
+     * Header byte of the compact format, see {@link #writeHeader()}
+     */
+    public static final  int HEADER_COMPACT = 0xB1;
+    /**
+     * Marker of integer/long array stored as is in compact format
+     */
+    private static final int ARRAY_PLAIN    = 0;
+    /**
+     * Marker of sorted integer/long array stored as differences in compact format
+     */
+    private static final int ARRAY_DELTA    = 1;
     /**
      * Internal input stream for read the stream
      */
@@ -40,6 +62,10 @@ public class ByteArray
      * Byte array
      */
     private       byte[]               array;
+    /**
+     * Indicates if compact format is used
+     */
+    private       boolean              compact;
     /**
      * Read index
      */
@@ -48,22 +74,179 @@ public class ByteArray
      * Actual mark
      */
     private       int                  mark;
+    /**
+     * Field names read, see {@link SchemaBinarizable}
+     */
+    private       FieldDictionary      readDictionary;
     /**
      * Actual size
      */
     private       int                  size;
+    /**
+     * Field names written, see {@link SchemaBinarizable}
+     */
+    private       FieldDictionary      writeDictionary;
 
     /**
-     * Create a new instance of ByteArray
+     * Create a new instance of ByteArray in fixed width format
      */
     public ByteArray()
     {
+        this(false);
+    }
+
+    /**
+     * Create a new instance of ByteArray.<br>
+     * In compact format, integers, longs and all length prefixes are written as
+     * <a href="https://en.wikipedia.org/wiki/LEB128">LEB128</a> variable length integers with zigzag encoding for signed
+     * values, and sorted integer/long arrays are stored as differences. Floats, doubles, shorts and chars keep their fixed
+     * size.<br>
+     * Data written in one format must be read in the same format. Use {@link #writeHeader()} and {@link #readHeader()}
+     * to let the reader discover the format
+     *
+     * @param compact Indicates if compact format is used
+     */
+    public ByteArray(final boolean compact)
+    {
+        this.compact = compact;
         this.array = new byte[4096];
         this.size = 0;
         this.internalInputStream = new InternalInputStream();
         this.internalOutputStream = new InternalOutputStream();
     }
 
+    /**
+     * Create a new instance of ByteArray filled with the content of a file channel.<br>
+     * The channel content, from its current position to its end, is read directly inside the array, without
+     * intermediate buffer. The channel position is moved to the end of the read content.<br>
+     * A ByteArray is backed by a Java array, so the content can't be bigger than 2 GB
+     *
+     * @param fileChannel File channel to read
+     * @throws IOException If the channel can't be read or is bigger than 2 GB
+     */
+    public ByteArray(final FileChannel fileChannel) throws IOException
+    {
+        final long length = fileChannel.size() - fileChannel.position();
+
+        if (length > Integer.MAX_VALUE - 16)
+        {
+            throw new IOException("File channel too big for a ByteArray : " + length + " bytes");
+        }
+
+        this.array = new byte[Math.max(16, (int) length)];
+        this.size = 0;
+        this.internalInputStream = new InternalInputStream();
+        this.internalOutputStream = new InternalOutputStream();
+
+        final ByteBuffer byteBuffer = ByteBuffer.wrap(this.array, 0, (int) Math.max(0, length));
+
+        while (byteBuffer.hasRemaining())
+        {
+            if (fileChannel.read(byteBuffer) < 0)
+            {
+                // File truncated while reading
+                break;
+            }
+        }
+
+        this.size = byteBuffer.position();
+    }
+
+    /**
+     * Refuse non blocking channels.<br>
+     * Channel methods loop until all is transferred : on a non blocking channel that transfers nothing they would spin
+     * forever
+     *
+     * @param channel Channel to check
+     * @throws IllegalArgumentException If channel is in non blocking mode
+     */
+    private static void checkBlocking(final Channel channel)
+    {
+        if ((channel instanceof SelectableChannel) && (!((SelectableChannel) channel).isBlocking()))
+        {
+            throw new IllegalArgumentException("Non blocking channels are not supported");
+        }
+    }
+
+    /**
+     * Write the not read part of several byte arrays in one gathering operation.<br>
+     * Each byte array is consumed, as if its content was read.<br>
+     * Channel must be blocking
+     *
+     * @param channel    Channel where write
+     * @param byteArrays Byte arrays to write
+     * @return Number of written bytes
+     * @throws IOException              On writing issue
+     * @throws IllegalArgumentException If channel is a {@link SelectableChannel} in non blocking mode
+     */
+    public static long writeTo(final GatheringByteChannel channel, final ByteArray... byteArrays) throws IOException
+    {
+        ByteArray.checkBlocking(channel);
+        final int          length  = byteArrays.length;
+        final ByteBuffer[] buffers = new ByteBuffer[length];
+        long               left    = 0;
+
+        for (int i = 0; i < length; i++)
+        {
+            buffers[i] = byteArrays[i].remainingBuffer();
+            left += buffers[i].remaining();
+        }
+
+        long total = 0;
+
+        while (total < left)
+        {
+            total += channel.write(buffers);
+        }
+
+        for (int i = 0; i < length; i++)
+        {
+            byteArrays[i].index = byteArrays[i].size;
+        }
+
+        return total;
+    }
+
+    /**
+     * Wrap the not read part of the array, without copy
+     *
+     * @return Buffer on not read part
+     */
+    private ByteBuffer remainingBuffer()
+    {
+        return ByteBuffer.wrap(this.array, this.index, this.size - this.index);
+    }
+
+    /**
+     * Field names already read, see {@link SchemaBinarizable}
+     *
+     * @return Field names already read
+     */
+    FieldDictionary readDictionary()
+    {
+        if (this.readDictionary == null)
+        {
+            this.readDictionary = new FieldDictionary();
+        }
+
+        return this.readDictionary;
+    }
+
+    /**
+     * Field names already written, see {@link SchemaBinarizable}
+     *
+     * @return Field names already written
+     */
+    FieldDictionary writeDictionary()
+    {
+        if (this.writeDictionary == null)
+        {
+            this.writeDictionary = new FieldDictionary();
+        }
+
+        return this.writeDictionary;
+    }
+
     /**
      * Mark current read position
      */
@@ -98,6 +281,16 @@ public class ByteArray
     {
         this.index = 0;
         this.size = 0;
+
+        if (this.readDictionary != null)
+        {
+            this.readDictionary.reset();
+        }
+
+        if (this.writeDictionary != null)
+        {
+            this.writeDictionary.reset();
+        }
     }
 
     /**
@@ -240,10 +433,161 @@ public class ByteArray
      * @return Integer read
      */
     public int readInteger()
+    {
+        if (this.compact)
+        {
+            return this.readVarInteger();
+        }
+
+        return this.readFixedInteger();
+    }
+
+    /**
+     * Read an integer stored on 4 bytes, big endian
+     *
+     * @return Integer read
+     */
+    private int readFixedInteger()
     {
         return (this.read() << 24) | (this.read() << 16) | (this.read() << 8) | this.read();
     }
 
+    /**
+     * Read a signed variable length integer, whatever the format is.<br>
+     * See {@link #writeVarInteger(int)}
+     *
+     * @return Integer read
+     */
+    public int readVarInteger()
+    {
+        final int value = this.readUnsignedVarInteger();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read an unsigned variable length integer, whatever the format is.<br>
+     * See {@link #writeUnsignedVarInteger(int)}
+     *
+     * @return Integer read or -1 if no more to read
+     */
+    public int readUnsignedVarInteger()
+    {
+        int value = 0;
+        int shift = 0;
+        int b;
+
+        do
+        {
+            b = this.read();
+
+            if (b < 0)
+            {
+                return -1;
+            }
+
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        }
+        while ((b & 0x80) != 0 && shift < 35);
+
+        return value;
+    }
+
+    /**
+     * Read a signed variable length long, whatever the format is.<br>
+     * See {@link #writeVarLong(long)}
+     *
+     * @return Long read
+     */
+    public long readVarLong()
+    {
+        final long value = this.readUnsignedVarLong();
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
+    /**
+     * Read an unsigned variable length long, whatever the format is.<br>
+     * See {@link #writeUnsignedVarLong(long)}
+     *
+     * @return Long read or -1 if no more to read
+     */
+    public long readUnsignedVarLong()
+    {
+        long value = 0;
+        int  shift = 0;
+        int  b;
+
+        do
+        {
+            b = this.read();
+
+            if (b < 0)
+            {
+                return -1;
+            }
+
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }
+        while ((b & 0x80) != 0 && shift < 70);
+
+        return value;
+    }
+
+    /**
+     * Indicates if compact format is used
+     *
+     * @return {@code true} if compact format is used
+     */
+    public boolean isCompact()
+    {
+        return this.compact;
+    }
+
+    /**
+     * Change the format used for next reads and writes.<br>
+     * Should be called only on empty array or at a position where the data format change
+     *
+     * @param compact Indicates if compact format is used
+     */
+    public void setCompact(final boolean compact)
+    {
+        this.compact = compact;
+    }
+
+    /**
+     * Write the header byte that describes the actual format.<br>
+     * See {@link #readHeader()}
+     */
+    public void writeHeader()
+    {
+        this.write(this.compact
+                   ? ByteArray.HEADER_COMPACT
+                   : ByteArray.HEADER_FIXED);
+    }
+
+    /**
+     * Read a header byte written by {@link #writeHeader()} and switch to the format it describes
+     *
+     * @throws IllegalStateException If the header is missing or describes an unknown format
+     */
+    public void readHeader()
+    {
+        final int header = this.read();
+
+        switch (header)
+        {
+            case ByteArray.HEADER_FIXED:
+                this.compact = false;
+                break;
+            case ByteArray.HEADER_COMPACT:
+                this.compact = true;
+                break;
+            default:
+                throw new IllegalStateException("Unknown ByteArray format header : " + header);
+        }
+    }
+
     /**
      * Read one byte
      *
@@ -279,11 +623,12 @@ public class ByteArray
         }
 
         @SuppressWarnings("unchecked")
-        final B[] array = (B[]) Array.newInstance(clas, length);
+        final B[]                   array   = (B[]) Array.newInstance(clas, length);
+        final BinarizableCreator<B> creator = BinarizableFactory.obtainCreator(clas);
 
         for (int i = 0; i < length; i++)
         {
-            array[i] = this.readBinarizable(clas);
+            array[i] = this.readBinarizable(creator);
         }
 
         return array;
@@ -302,16 +647,30 @@ public class ByteArray
      *            If the actual read data in the byte array doesn't represents the {@link Binarizable} asked
      */
     public <B extends Binarizable> B readBinarizable(final Class<B> clas) throws Exception
+    {
+        return this.readBinarizable(BinarizableFactory.obtainCreator(clas));
+    }
+
+    /***
+     * Read a {@link Binarizable} from the byte array, instance is created by the given creator.<br>
+     * See {@link #writeBinarizable(Binarizable)} for write a {@link Binarizable}
+     *
+     * @param <B>
+     *           Type of {@link Binarizable}
+     * @param creator
+     *           Creator of empty {@link Binarizable}
+     * @return The read {@link Binarizable}
+     * @throws Exception
+     *            If the actual read data in the byte array doesn't represents the {@link Binarizable} asked
+     */
+    public <B extends Binarizable> B readBinarizable(final BinarizableCreator<B> creator) throws Exception
     {
         if (this.read() == 0)
         {
             return null;
         }
 
-        @SuppressWarnings("unchecked")
-        final B binarizable = (B) Reflector.newInstance(clas);
-
-        assert binarizable != null;
+        final B binarizable = creator.createBinarizable();
         binarizable.parseBinary(this);
 
         return binarizable;
@@ -472,7 +831,7 @@ public class ByteArray
      */
     public double readDouble()
     {
-        return Double.longBitsToDouble(this.readLong());
+        return Double.longBitsToDouble(this.readFixedLong());
     }
 
     /**
@@ -482,6 +841,21 @@ public class ByteArray
      * @return Long read
      */
     public long readLong()
+    {
+        if (this.compact)
+        {
+            return this.readVarLong();
+        }
+
+        return this.readFixedLong();
+    }
+
+    /**
+     * Read a long stored on 8 bytes, big endian
+     *
+     * @return Long read
+     */
+    private long readFixedLong()
     {
         return ((long) this.read() << 56L) | ((long) this.read() << 48L) | ((long) this.read() << 40L) | ((long) this
                 .read() << 32L)
@@ -577,7 +951,7 @@ public class ByteArray
      */
     public float readFloat()
     {
-        return Float.intBitsToFloat(this.readInteger());
+        return Float.intBitsToFloat(this.readFixedInteger());
     }
 
     /**
@@ -586,6 +960,11 @@ public class ByteArray
     public void readFromStart()
     {
         this.index = 0;
+
+        if (this.readDictionary != null)
+        {
+            this.readDictionary.reset();
+        }
     }
 
     /**
@@ -605,9 +984,33 @@ public class ByteArray
 
         final int[] array = new int[length];
 
+        if (this.compact)
+        {
+            if (length > 0 && this.read() == ByteArray.ARRAY_DELTA)
+            {
+                long value = this.readVarInteger();
+                array[0] = (int) value;
+
+                for (int i = 1; i < length; i++)
+                {
+                    value += this.readUnsignedVarLong();
+                    array[i] = (int) value;
+                }
+
+                return array;
+            }
+
+            for (int i = 0; i < length; i++)
+            {
+                array[i] = this.readVarInteger();
+            }
+
+            return array;
+        }
+
         for (int i = 0; i < length; i++)
         {
-            array[i] = this.readInteger();
+            array[i] = this.readFixedInteger();
         }
 
         return array;
@@ -630,6 +1033,18 @@ public class ByteArray
 
         final long[] array = new long[length];
 
+        if (this.compact && length > 0 && this.read() == ByteArray.ARRAY_DELTA)
+        {
+            array[0] = this.readVarLong();
+
+            for (int i = 1; i < length; i++)
+            {
+                array[i] = array[i - 1] + this.readUnsignedVarLong();
+            }
+
+            return array;
+        }
+
         for (int i = 0; i < length; i++)
         {
             array[i] = this.readLong();
@@ -730,6 +1145,141 @@ public class ByteArray
         return result;
     }
 
+    /**
+     * Read only view on the array content, without copy.<br>
+     * The view stay valid until next write in the byte array
+     *
+     * @return Read only view on the array content
+     */
+    public ByteBuffer toByteBuffer()
+    {
+        return ByteBuffer.wrap(this.array, 0, this.size)
+                         .asReadOnlyBuffer();
+    }
+
+    /**
+     * Read all the channel content (until end of stream is reached) directly inside the array.<br>
+     * Channel must be blocking
+     *
+     * @param channel Channel to read
+     * @return Number of read bytes
+     * @throws IOException              On reading issue
+     * @throws IllegalArgumentException If channel is a {@link SelectableChannel} in non blocking mode
+     */
+    public long readFrom(final ReadableByteChannel channel) throws IOException
+    {
+        ByteArray.checkBlocking(channel);
+        long total = 0;
+        int  read;
+
+        do
+        {
+            this.expand(UtilIO.KILO_BYTES);
+            read = channel.read(ByteBuffer.wrap(this.array, this.size, this.array.length - this.size));
+
+            if (read > 0)
+            {
+                this.size += read;
+                total += read;
+            }
+        }
+        while (read >= 0);
+
+        return total;
+    }
+
+    /**
+     * Read a number of bytes from a channel directly inside the array.<br>
+     * It stops before if end of stream is reached. Channel must be blocking
+     *
+     * @param channel Channel to read
+     * @param length  Number of bytes to read
+     * @return Number of read bytes
+     * @throws IOException              On reading issue
+     * @throws IllegalArgumentException If channel is a {@link SelectableChannel} in non blocking mode
+     */
+    public int readFrom(final ReadableByteChannel channel, final int length) throws IOException
+    {
+        ByteArray.checkBlocking(channel);
+        this.expand(length);
+        final ByteBuffer byteBuffer = ByteBuffer.wrap(this.array, this.size, length);
+        int              read       = 0;
+
+        while (byteBuffer.hasRemaining() && read >= 0)
+        {
+            read = channel.read(byteBuffer);
+        }
+
+        final int total = byteBuffer.position() - this.size;
+        this.size += total;
+        return total;
+    }
+
+    /**
+     * Write the not read part of the array to a channel.<br>
+     * The content is consumed, as if it was read. Channel must be blocking
+     *
+     * @param channel Channel where write
+     * @return Number of written bytes
+     * @throws IOException              On writing issue
+     * @throws IllegalArgumentException If channel is a {@link SelectableChannel} in non blocking mode
+     */
+    public int writeTo(final WritableByteChannel channel) throws IOException
+    {
+        ByteArray.checkBlocking(channel);
+        final ByteBuffer byteBuffer = this.remainingBuffer();
+        final int        total      = byteBuffer.remaining();
+
+        while (byteBuffer.hasRemaining())
+        {
+            channel.write(byteBuffer);
+        }
+
+        this.index = this.size;
+        return total;
+    }
+
+    /**
+     * Write the not read part of the array to a stream, without intermediate buffer.<br>
+     * The content is consumed, as if it was read
+     *
+     * @param outputStream Stream where write
+     * @return Number of written bytes
+     * @throws IOException On writing issue
+     */
+    public int writeTo(final OutputStream outputStream) throws IOException
+    {
+        final int total = this.size - this.index;
+
+        if (total > 0)
+        {
+            outputStream.write(this.array, this.index, total);
+        }
+
+        this.index = this.size;
+        return total;
+    }
+
+    /**
+     * Write the remaining content of a buffer.<br>
+     * The buffer position is moved to its limit
+     *
+     * @param byteBuffer Buffer to write
+     */
+    public void write(final ByteBuffer byteBuffer)
+    {
+        final int length = byteBuffer.remaining();
+
+        if (length < 1)
+        {
+            return;
+        }
+
+        this.expand(length);
+        byteBuffer.get(this.array, this.size, length);
+        this.size += length;
+    }
+
     /**
      * Write a big decimal in the array
      *
@@ -833,11 +1383,8 @@ public class ByteArray
             return null;
         }
 
-        final String name = this.readString();
-        @SuppressWarnings("unchecked")
-        final B binarizable = (B) Reflector.newInstance(name);
-
-        assert binarizable != null;
+        final String name        = this.readString();
+        final B      binarizable = BinarizableFactory.create(name);
         binarizable.parseBinary(this);
 
         return binarizable;
@@ -967,7 +1514,7 @@ public class ByteArray
     {
         if (bools == null)
         {
-            this.write(-1);
+            this.writeInteger(-1);
 
             return;
         }
@@ -1018,6 +1565,22 @@ public class ByteArray
      * @param intValue Integer to write
      */
     public void writeInteger(final int intValue)
+    {
+        if (this.compact)
+        {
+            this.writeVarInteger(intValue);
+            return;
+        }
+
+        this.writeFixedInteger(intValue);
+    }
+
+    /**
+     * Write an integer on 4 bytes, big endian
+     *
+     * @param intValue Integer to write
+     */
+    private void writeFixedInteger(final int intValue)
     {
         this.write((intValue >> 24) & 0xFF);
         this.write((intValue >> 16) & 0xFF);
@@ -1025,6 +1588,66 @@ public class ByteArray
         this.write(intValue & 0xFF);
     }
 
+    /**
+     * Write a signed integer as variable length integer (zigzag encoding), whatever the format is.<br>
+     * Small absolute values take less bytes. See {@link #readVarInteger()}
+     *
+     * @param intValue Integer to write
+     */
+    public void writeVarInteger(final int intValue)
+    {
+        this.writeUnsignedVarInteger((intValue << 1) ^ (intValue >> 31));
+    }
+
+    /**
+     * Write an unsigned integer as variable length integer, whatever the format is.<br>
+     * Each byte carry 7 bits, values under 128 take one byte. See {@link #readUnsignedVarInteger()}
+     *
+     * @param intValue Integer to write
+     */
+    public void writeUnsignedVarInteger(int intValue)
+    {
+        this.expand(5);
+
+        while ((intValue & ~0x7F) != 0)
+        {
+            this.array[this.size++] = (byte) ((intValue & 0x7F) | 0x80);
+            intValue >>>= 7;
+        }
+
+        this.array[this.size++] = (byte) intValue;
+    }
+
+    /**
+     * Write a signed long as variable length integer (zigzag encoding), whatever the format is.<br>
+     * See {@link #readVarLong()}
+     *
+     * @param longValue Long to write
+     */
+    public void writeVarLong(final long longValue)
+    {
+        this.writeUnsignedVarLong((longValue << 1) ^ (longValue >> 63));
+    }
+
+    /**
+     * Write an unsigned long as variable length integer, whatever the format is.<br>
+     * See {@link #readUnsignedVarLong()}
+     *
+     * @param longValue Long to write
+     */
+    public void writeUnsignedVarLong(long longValue)
+    {
+        this.expand(10);
+
+        while ((longValue & ~0x7FL) != 0)
+        {
+            this.array[this.size++] = (byte) ((longValue & 0x7F) | 0x80);
+            longValue >>>= 7;
+        }
+
+        this.array[this.size++] = (byte) longValue;
+    }
+
     /**
      * write a byte.<br>
      * See {@link #readByte()}
@@ -1139,7 +1762,7 @@ public class ByteArray
      */
     public void writeDouble(final double doubleValue)
     {
-        this.writeLong(Double.doubleToLongBits(doubleValue));
+        this.writeFixedLong(Double.doubleToLongBits(doubleValue));
     }
 
     /**
@@ -1221,7 +1844,7 @@ public class ByteArray
      */
     public void writeFloat(final float floatValue)
     {
-        this.writeInteger(Float.floatToIntBits(floatValue));
+        this.writeFixedInteger(Float.floatToIntBits(floatValue));
     }
 
     /**
@@ -1264,6 +1887,31 @@ public class ByteArray
         final int length = array.length;
         this.writeInteger(length);
 
+        if (this.compact && length > 0)
+        {
+            boolean sorted = true;
+
+            for (int i = 1; i < length && sorted; i++)
+            {
+                sorted = array[i - 1] <= array[i];
+            }
+
+            if (sorted)
+            {
+                this.write(ByteArray.ARRAY_DELTA);
+                this.writeVarInteger(array[0]);
+
+                for (int i = 1; i < length; i++)
+                {
+                    this.writeUnsignedVarLong((long) array[i] - (long) array[i - 1]);
+                }
+
+                return;
+            }
+
+            this.write(ByteArray.ARRAY_PLAIN);
+        }
+
         for (int integer : array)
         {
             this.writeInteger(integer);
@@ -1290,6 +1938,22 @@ public class ByteArray
      * @param longValue Long to write
      */
     public void writeLong(final long longValue)
+    {
+        if (this.compact)
+        {
+            this.writeVarLong(longValue);
+            return;
+        }
+
+        this.writeFixedLong(longValue);
+    }
+
+    /**
+     * Write a long on 8 bytes, big endian
+     *
+     * @param longValue Long to write
+     */
+    private void writeFixedLong(final long longValue)
     {
         this.write((int) ((longValue >> 56) & 0xFF));
         this.write((int) ((longValue >> 48) & 0xFF));
@@ -1318,6 +1982,32 @@ public class ByteArray
         final int length = array.length;
         this.writeInteger(length);
 
+        if (this.compact && length > 0)
+        {
+            boolean sorted = true;
+
+            // Sorted and differences fit in a long
+            for (int i = 1; i < length && sorted; i++)
+            {
+                sorted = array[i - 1] <= array[i] && array[i] - array[i - 1] >= 0;
+            }
+
+            if (sorted)
+            {
+                this.write(ByteArray.ARRAY_DELTA);
+                this.writeVarLong(array[0]);
+
+                for (int i = 1; i < length; i++)
+                {
+                    this.writeUnsignedVarLong(array[i] - array[i - 1]);
+                }
+
+                return;
+            }
+
+            this.write(ByteArray.ARRAY_PLAIN);
+        }
+
         for (long integer : array)
         {
             this.writeLong(integer);
@@ -0,0 +1,40 @@
+package jhelp.util.io;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Listener of {@link FileCopier} copy progress.<br>
+ * Methods are called from copy threads, so they can be called in parallel. They <b>MUST NOT</b> wait for an other copy
+ * or delete of the same {@link FileCopier}
+ *
+ * @author JHelp
+ */
+public interface CopyListener
+{
+    /**
+     * Called when copy of a file failed
+     *
+     * @param source      Source file
+     * @param destination Destination file
+     * @param exception   Copy issue
+     */
+    public void copyFailed(File source, File destination, IOException exception);
+
+    /**
+     * Called when a file is copied
+     *
+     * @param source      Source file
+     * @param destination Destination file
+     * @param size        Number of copied bytes
+     */
+    public void fileCopied(File source, File destination, long size);
+
+    /**
+     * Called when a file is skipped because destination is already up to date
+     *
+     * @param source      Source file
+     * @param destination Destination file
+     */
+    public void fileSkipped(File source, File destination);
+}
@@ -0,0 +1,52 @@
+package jhelp.util.io;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Create named daemon threads, so pools of {@link FileCopier}, {@link FileHasher} and {@link TeeOutputStream} don't
+ * prevent the virtual machine to exit
+ *
+ * @author JHelp
+ */
+class DaemonThreadFactory
+        implements ThreadFactory
+{
+    /**
+     * Thread number
+     */
+    private final AtomicInteger number;
+    /**
+     * Threads name prefix
+     */
+    private final String        prefix;
+
+    /**
+     * Create a new instance of DaemonThreadFactory
+     *
+     * @param prefix Threads name prefix
+     */
+    DaemonThreadFactory(final String prefix)
+    {
+        this.prefix = prefix;
+        this.number = new AtomicInteger();
+    }
+
+    /**
+     * Create a daemon thread <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param runnable Thread action
+     * @return Created thread
+     * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+     */
+    @Override
+    public Thread newThread(final Runnable runnable)
+    {
+        final Thread thread = new Thread(runnable, this.prefix + "-" + this.number.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,172 @@
+package jhelp.util.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary of field names used by {@link SchemaBinarizable}.<br>
+ * Names are interned once for the whole application, each one receive a small identifier. Each {@link ByteArray} carry
+ * two dictionaries (one for write, one for read) that associate those identifiers to the identifiers used inside the
+ * stream, so a field name is written only the first time it appears in the stream
+ *
+ * @author JHelp
+ */
+final class FieldDictionary
+{
+    /**
+     * Application identifiers, by name
+     */
+    private static final ConcurrentHashMap<String, Integer> IDENTIFIERS = new ConcurrentHashMap<String, Integer>();
+    /**
+     * Names, by application identifier
+     */
+    private static final ArrayList<String>                  NAMES       = new ArrayList<String>();
+    /**
+     * Stream keys, by stream identifier
+     */
+    private int[] keys;
+    /**
+     * Stream identifiers + 1 (0 means not defined yet), by stream key
+     */
+    private int[] streamIdentifiers;
+    /**
+     * Number of stream identifiers
+     */
+    private int   size;
+
+    /**
+     * Create a new instance of FieldDictionary
+     */
+    FieldDictionary()
+    {
+        this.keys = new int[16];
+        this.streamIdentifiers = new int[64];
+        this.size = 0;
+    }
+
+    /**
+     * Obtain the application identifier of a name, the name is interned if need
+     *
+     * @param name Field name
+     * @return Application identifier
+     */
+    static int intern(final String name)
+    {
+        final Integer identifier = FieldDictionary.IDENTIFIERS.get(name);
+
+        if (identifier != null)
+        {
+            return identifier;
+        }
+
+        synchronized (FieldDictionary.NAMES)
+        {
+            Integer created = FieldDictionary.IDENTIFIERS.get(name);
+
+            if (created == null)
+            {
+                created = FieldDictionary.NAMES.size();
+                FieldDictionary.NAMES.add(name);
+                FieldDictionary.IDENTIFIERS.put(name, created);
+            }
+
+            return created;
+        }
+    }
+
+    /**
+     * Obtain a name from its application identifier
+     *
+     * @param identifier Application identifier
+     * @return Field name
+     */
+    static String name(final int identifier)
+    {
+        synchronized (FieldDictionary.NAMES)
+        {
+            return FieldDictionary.NAMES.get(identifier);
+        }
+    }
+
+    /**
+     * Define a new stream identifier for a key.<br>
+     * Used on write side
+     *
+     * @param key Stream key
+     * @return Created stream identifier
+     */
+    int define(final int key)
+    {
+        final int streamIdentifier = this.size;
+        this.define(streamIdentifier, key);
+        return streamIdentifier;
+    }
+
+    /**
+     * Associate a stream identifier to a key.<br>
+     * Used on read side
+     *
+     * @param streamIdentifier Stream identifier
+     * @param key              Stream key
+     */
+    void define(final int streamIdentifier, final int key)
+    {
+        if (streamIdentifier >= this.keys.length)
+        {
+            this.keys = Arrays.copyOf(this.keys, Math.max(streamIdentifier + 1, this.keys.length << 1));
+        }
+
+        if (key >= this.streamIdentifiers.length)
+        {
+            this.streamIdentifiers = Arrays.copyOf(this.streamIdentifiers,
+                                                   Math.max(key + 1, this.streamIdentifiers.length << 1));
+        }
+
+        this.keys[streamIdentifier] = key;
+        this.streamIdentifiers[key] = streamIdentifier + 1;
+        this.size = Math.max(this.size, streamIdentifier + 1);
+    }
+
+    /**
+     * Obtain the key associated to a stream identifier
+     *
+     * @param streamIdentifier Stream identifier
+     * @return Stream key
+     * @throws IllegalStateException If the stream identifier is not defined
+     */
+    int key(final int streamIdentifier)
+    {
+        if (streamIdentifier < 0 || streamIdentifier >= this.size)
+        {
+            throw new IllegalStateException("Stream field identifier not defined : " + streamIdentifier);
+        }
+
+        return this.keys[streamIdentifier];
+    }
+
+    /**
+     * Clear the dictionary
+     */
+    void reset()
+    {
+        Arrays.fill(this.streamIdentifiers, 0);
+        this.size = 0;
+    }
+
+    /**
+     * Obtain the stream identifier of a key
+     *
+     * @param key Stream key
+     * @return Stream identifier or -1 if not defined
+     */
+    int streamIdentifier(final int key)
+    {
+        if (key >= this.streamIdentifiers.length)
+        {
+            return -1;
+        }
+
+        return this.streamIdentifiers[key] - 1;
+    }
+}
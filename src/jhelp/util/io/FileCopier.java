@@ -0,0 +1,762 @@
+package jhelp.util.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jhelp.util.debug.Debug;
+import jhelp.util.list.Pair;
+
+/**
+ * Copy and delete files trees in parallel.<br>
+ * The walk of directories and the files copies are done by a bounded pool of threads. Files are copied with
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, so the system can copy without
+ * passing data through Java memory. Last modification times are preserved.<br>
+ * Errors are treated file per file : a file that can't be copied don't stop the copy of others.<br>
+ * Virtual links inside copied directories are ignored, as {@link UtilIO#copy(File, File)} does
+ *
+ * @author JHelp
+ */
+public final class FileCopier
+{
+    /**
+     * Copier shared by {@link UtilIO}
+     */
+    public static final  FileCopier FILE_COPIER = new FileCopier(Math.max(4, 2 * Runtime.getRuntime()
+                                                                                        .availableProcessors()));
+    /**
+     * Number of files treated by one task
+     */
+    private static final int        BATCH_SIZE  = 64;
+
+    /**
+     * Follow one copy or delete
+     *
+     * @author JHelp
+     */
+    private static class Operation
+    {
+        /**
+         * Listener to alert, may be {@code null}
+         */
+        final CopyListener                                copyListener;
+        /**
+         * Directories treated, with their source modification time
+         */
+        final ConcurrentLinkedQueue<Pair<Path, FileTime>> directories;
+        /**
+         * Number of failed files
+         */
+        final AtomicInteger                               failed;
+        /**
+         * Number of copied/deleted files
+         */
+        final AtomicInteger                               done;
+        /**
+         * Indicates if up to date files are skipped
+         */
+        final boolean                                     incremental;
+        /**
+         * Number of tasks not finished
+         */
+        private int         pending;
+        /**
+         * First issue
+         */
+        private IOException firstException;
+
+        /**
+         * Create a new instance of Operation
+         *
+         * @param incremental  Indicates if up to date files are skipped
+         * @param copyListener Listener to alert, may be {@code null}
+         */
+        Operation(final boolean incremental, final CopyListener copyListener)
+        {
+            this.incremental = incremental;
+            this.copyListener = copyListener;
+            this.directories = new ConcurrentLinkedQueue<Pair<Path, FileTime>>();
+            this.failed = new AtomicInteger();
+            this.done = new AtomicInteger();
+            this.pending = 0;
+        }
+
+        /**
+         * Wait all tasks are finished
+         */
+        synchronized void await()
+        {
+            while (this.pending > 0)
+            {
+                try
+                {
+                    this.wait();
+                }
+                catch (final InterruptedException ignored)
+                {
+                    //Continue to wait, tasks are still running
+                }
+            }
+        }
+
+        /**
+         * Report a failure
+         *
+         * @param source      Source file, {@code null} if unknown
+         * @param destination Destination file, {@code null} for delete
+         * @param exception   Issue
+         */
+        void fail(final Path source, final Path destination, final IOException exception)
+        {
+            this.failed.incrementAndGet();
+
+            synchronized (this)
+            {
+                if (this.firstException == null)
+                {
+                    this.firstException = exception;
+                }
+            }
+
+            if (this.copyListener != null && source != null)
+            {
+                this.copyListener.copyFailed(source.toFile(), destination == null
+                                                              ? null
+                                                              : destination.toFile(), exception);
+            }
+        }
+
+        /**
+         * First issue
+         *
+         * @return First issue or {@code null} if no issue
+         */
+        synchronized IOException firstException()
+        {
+            return this.firstException;
+        }
+
+        /**
+         * Signal a task end
+         */
+        synchronized void finish()
+        {
+            this.pending--;
+
+            if (this.pending == 0)
+            {
+                this.notifyAll();
+            }
+        }
+
+        /**
+         * Signal a task start
+         */
+        synchronized void start()
+        {
+            this.pending++;
+        }
+    }
+
+    /**
+     * Sort directories, deepest first
+     */
+    private static final Comparator<Pair<Path, FileTime>> DEEPEST_FIRST = new Comparator<Pair<Path, FileTime>>()
+    {
+        /**
+         * Compare two directories depth <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @param directory1 First directory
+         * @param directory2 Second directory
+         * @return Comparison result
+         * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+         */
+        @Override
+        public int compare(final Pair<Path, FileTime> directory1, final Pair<Path, FileTime> directory2)
+        {
+            return directory2.element1.getNameCount() - directory1.element1.getNameCount();
+        }
+    };
+
+    /**
+     * Threads pool
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * Create a new instance of FileCopier
+     *
+     * @param numberOfThreads Number of threads used for copy and delete
+     */
+    public FileCopier(final int numberOfThreads)
+    {
+        if (numberOfThreads < 1)
+        {
+            throw new IllegalArgumentException("numberOfThreads MUST be at least 1, not " + numberOfThreads);
+        }
+
+        this.executorService = Executors.newFixedThreadPool(numberOfThreads, new DaemonThreadFactory("FileCopier"));
+    }
+
+    /**
+     * Read attributes of a path without following links
+     *
+     * @param path Path to read
+     * @return Attributes or {@code null} if path not exists
+     */
+    private static BasicFileAttributes attributes(final Path path)
+    {
+        try
+        {
+            return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        }
+        catch (final IOException exception)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Copy one file content with channels transfer
+     *
+     * @param source      Source file
+     * @param destination Destination file, created or truncated
+     * @return Number of copied bytes
+     * @throws IOException On copy issue
+     */
+    static long transfer(final Path source, final Path destination) throws IOException
+    {
+        FileChannel sourceChannel      = null;
+        FileChannel destinationChannel = null;
+
+        try
+        {
+            sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+            destinationChannel = FileChannel.open(destination, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                                                  StandardOpenOption.TRUNCATE_EXISTING);
+            final long size     = sourceChannel.size();
+            long       position = 0;
+
+            while (position < size)
+            {
+                position += sourceChannel.transferTo(position, size - position, destinationChannel);
+            }
+
+            return size;
+        }
+        finally
+        {
+            if (destinationChannel != null)
+            {
+                try
+                {
+                    destinationChannel.close();
+                }
+                catch (final Exception ignored)
+                {
+                }
+            }
+
+            if (sourceChannel != null)
+            {
+                try
+                {
+                    sourceChannel.close();
+                }
+                catch (final Exception ignored)
+                {
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy one file
+     *
+     * @param source      Source file
+     * @param attributes  Source attributes
+     * @param destination Destination file
+     * @param operation   Current operation
+     */
+    private void copyFile(final Path source, final BasicFileAttributes attributes, final Path destination,
+                          final Operation operation)
+    {
+        try
+        {
+            if (operation.incremental)
+            {
+                final BasicFileAttributes destinationAttributes = FileCopier.attributes(destination);
+
+                if (destinationAttributes != null && destinationAttributes.isRegularFile()
+                    && destinationAttributes.size() == attributes.size()
+                    && destinationAttributes.lastModifiedTime()
+                                            .equals(attributes.lastModifiedTime()))
+                {
+                    if (operation.copyListener != null)
+                    {
+                        operation.copyListener.fileSkipped(source.toFile(), destination.toFile());
+                    }
+
+                    return;
+                }
+            }
+
+            final long size = FileCopier.transfer(source, destination);
+            Files.setLastModifiedTime(destination, attributes.lastModifiedTime());
+            operation.done.incrementAndGet();
+
+            if (operation.copyListener != null)
+            {
+                operation.copyListener.fileCopied(source.toFile(), destination.toFile(), size);
+            }
+        }
+        catch (final IOException exception)
+        {
+            Debug.printException(exception, "Failed to copy ", source, " to ", destination);
+            operation.fail(source, destination, exception);
+        }
+    }
+
+    /**
+     * Copy a directory content, sub-directories are copied by other tasks
+     *
+     * @param source      Source directory
+     * @param destination Destination directory
+     * @param operation   Current operation
+     */
+    private void copyDirectory(final Path source, final Path destination, final Operation operation)
+    {
+        if (!UtilIO.createDirectory(destination.toFile()))
+        {
+            operation.fail(source, destination,
+                           new IOException("Can't create directory " + destination.toAbsolutePath()));
+            return;
+        }
+
+        List<Pair<Path, BasicFileAttributes>> batch = new ArrayList<Pair<Path, BasicFileAttributes>>();
+
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(source))
+        {
+            BasicFileAttributes attributes;
+
+            for (final Path child : directoryStream)
+            {
+                attributes = FileCopier.attributes(child);
+
+                if (attributes == null || attributes.isSymbolicLink())
+                {
+                    continue;
+                }
+
+                if (attributes.isDirectory())
+                {
+                    this.submitCopyDirectory(child, destination.resolve(child.getFileName()), attributes, operation);
+                }
+                else
+                {
+                    batch.add(new Pair<Path, BasicFileAttributes>(child, attributes));
+
+                    if (batch.size() >= FileCopier.BATCH_SIZE)
+                    {
+                        this.submitCopyFiles(batch, destination, operation);
+                        batch = new ArrayList<Pair<Path, BasicFileAttributes>>();
+                    }
+                }
+            }
+        }
+        catch (final IOException exception)
+        {
+            Debug.printException(exception, "Failed to list ", source);
+            operation.fail(source, destination, exception);
+        }
+
+        for (final Pair<Path, BasicFileAttributes> file : batch)
+        {
+            this.copyFile(file.element1, file.element2, destination.resolve(file.element1.getFileName()), operation);
+        }
+    }
+
+    /**
+     * Delete a directory content files, sub-directories are treated by other tasks
+     *
+     * @param directory Directory to empty
+     * @param operation Current operation
+     */
+    private void deleteDirectory(final Path directory, final Operation operation)
+    {
+        List<Path> batch = new ArrayList<Path>();
+
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory))
+        {
+            BasicFileAttributes attributes;
+
+            for (final Path child : directoryStream)
+            {
+                attributes = FileCopier.attributes(child);
+
+                if (attributes == null)
+                {
+                    continue;
+                }
+
+                if (attributes.isDirectory())
+                {
+                    this.submitDeleteDirectory(child, operation);
+                }
+                else
+                {
+                    batch.add(child);
+
+                    if (batch.size() >= FileCopier.BATCH_SIZE)
+                    {
+                        this.submitDeleteFiles(batch, operation);
+                        batch = new ArrayList<Path>();
+                    }
+                }
+            }
+        }
+        catch (final IOException exception)
+        {
+            Debug.printException(exception, "Failed to list ", directory);
+            operation.fail(directory, null, exception);
+        }
+
+        for (final Path file : batch)
+        {
+            FileCopier.deleteFile(file, operation);
+        }
+    }
+
+    /**
+     * Delete a file or an empty directory.<br>
+     * If deletion failed, it will be tried again when the virtual machine exits
+     *
+     * @param path      File to delete
+     * @param operation Current operation
+     */
+    private static void deleteFile(final Path path, final Operation operation)
+    {
+        try
+        {
+            Files.delete(path);
+            operation.done.incrementAndGet();
+        }
+        catch (final IOException exception)
+        {
+            try
+            {
+                path.toFile()
+                    .deleteOnExit();
+            }
+            catch (final Exception exception2)
+            {
+                Debug.printException(exception2, "Failed to delete on exit : ", path);
+                operation.fail(path, null, exception);
+            }
+        }
+    }
+
+    /**
+     * Launch a task, that signal its end to the operation
+     *
+     * @param runnable  Task
+     * @param operation Operation
+     */
+    private void submit(final Runnable runnable, final Operation operation)
+    {
+        operation.start();
+        this.executorService.execute(new Runnable()
+        {
+            /**
+             * Do the task and signal its end <br>
+             * <br>
+             * <b>Parent documentation:</b><br>
+             * {@inheritDoc}
+             *
+             * @see java.lang.Runnable#run()
+             */
+            @Override
+            public void run()
+            {
+                try
+                {
+                    runnable.run();
+                }
+                catch (final RuntimeException exception)
+                {
+                    Debug.printException(exception, "Task failed");
+                    operation.fail(null, null, new IOException(exception));
+                }
+                finally
+                {
+                    operation.finish();
+                }
+            }
+        });
+    }
+
+    /**
+     * Launch the copy of a directory
+     *
+     * @param source      Source directory
+     * @param destination Destination directory
+     * @param attributes  Source directory attributes
+     * @param operation   Current operation
+     */
+    private void submitCopyDirectory(final Path source, final Path destination, final BasicFileAttributes attributes,
+                                     final Operation operation)
+    {
+        operation.directories.add(new Pair<Path, FileTime>(destination, attributes.lastModifiedTime()));
+        this.submit(new Runnable()
+        {
+            /**
+             * Copy the directory <br>
+             * <br>
+             * <b>Parent documentation:</b><br>
+             * {@inheritDoc}
+             *
+             * @see java.lang.Runnable#run()
+             */
+            @Override
+            public void run()
+            {
+                FileCopier.this.copyDirectory(source, destination, operation);
+            }
+        }, operation);
+    }
+
+    /**
+     * Launch the copy of files
+     *
+     * @param files       Files to copy with their attributes
+     * @param destination Destination directory
+     * @param operation   Current operation
+     */
+    private void submitCopyFiles(final List<Pair<Path, BasicFileAttributes>> files, final Path destination,
+                                 final Operation operation)
+    {
+        this.submit(new Runnable()
+        {
+            /**
+             * Copy the files <br>
+             * <br>
+             * <b>Parent documentation:</b><br>
+             * {@inheritDoc}
+             *
+             * @see java.lang.Runnable#run()
+             */
+            @Override
+            public void run()
+            {
+                for (final Pair<Path, BasicFileAttributes> file : files)
+                {
+                    FileCopier.this.copyFile(file.element1, file.element2,
+                                             destination.resolve(file.element1.getFileName()), operation);
+                }
+            }
+        }, operation);
+    }
+
+    /**
+     * Launch the delete of a directory content
+     *
+     * @param directory Directory to delete
+     * @param operation Current operation
+     */
+    private void submitDeleteDirectory(final Path directory, final Operation operation)
+    {
+        operation.directories.add(new Pair<Path, FileTime>(directory, null));
+        this.submit(new Runnable()
+        {
+            /**
+             * Delete directory content <br>
+             * <br>
+             * <b>Parent documentation:</b><br>
+             * {@inheritDoc}
+             *
+             * @see java.lang.Runnable#run()
+             */
+            @Override
+            public void run()
+            {
+                FileCopier.this.deleteDirectory(directory, operation);
+            }
+        }, operation);
+    }
+
+    /**
+     * Launch the delete of files
+     *
+     * @param files     Files to delete
+     * @param operation Current operation
+     */
+    private void submitDeleteFiles(final List<Path> files, final Operation operation)
+    {
+        this.submit(new Runnable()
+        {
+            /**
+             * Delete the files <br>
+             * <br>
+             * <b>Parent documentation:</b><br>
+             * {@inheritDoc}
+             *
+             * @see java.lang.Runnable#run()
+             */
+            @Override
+            public void run()
+            {
+                for (final Path file : files)
+                {
+                    FileCopier.deleteFile(file, operation);
+                }
+            }
+        }, operation);
+    }
+
+    /**
+     * Copy a file or directory. If directory, all content and sub-directory are copied.<br>
+     * Method returns when all copies are finished
+     *
+     * @param source       File or directory source
+     * @param destination  File or directory destination
+     * @param incremental  Indicates if files that already exists in destination with same size and last modification
+     *                     time are skipped
+     * @param copyListener Listener of copy progress, may be {@code null}
+     * @return Number of copied files
+     * @throws FileNotFoundException If source doesn't exist or can't be read
+     * @throws IOException           If at least one file can't be copied, other files are copied anyway
+     */
+    public int copy(final File source, final File destination, final boolean incremental,
+                    final CopyListener copyListener) throws IOException
+    {
+        if (source == null)
+        {
+            throw new NullPointerException("source MUST NOT be null");
+        }
+
+        if (destination == null)
+        {
+            throw new NullPointerException("destination MUST NOT be null");
+        }
+
+        final Path                sourcePath = source.toPath();
+        final BasicFileAttributes attributes = FileCopier.attributes(sourcePath);
+
+        if (attributes == null)
+        {
+            throw new FileNotFoundException("Source " + source.getAbsolutePath() + " doesn't exist or can't be read");
+        }
+
+        if (UtilIO.isVirtualLink(source))
+        {
+            return 0;
+        }
+
+        final Path      destinationPath = destination.toPath();
+        final Operation operation       = new Operation(incremental, copyListener);
+
+        if (attributes.isDirectory())
+        {
+            this.submitCopyDirectory(sourcePath, destinationPath, attributes, operation);
+            operation.await();
+            final List<Pair<Path, FileTime>> directories = new ArrayList<Pair<Path, FileTime>>(operation.directories);
+            Collections.sort(directories, FileCopier.DEEPEST_FIRST);
+
+            for (final Pair<Path, FileTime> directory : directories)
+            {
+                try
+                {
+                    Files.setLastModifiedTime(directory.element1, directory.element2);
+                }
+                catch (final IOException exception)
+                {
+                    Debug.printException(exception, "Failed to set time of ", directory.element1);
+                }
+            }
+        }
+        else
+        {
+            if (!UtilIO.createDirectory(destination.getAbsoluteFile()
+                                                   .getParentFile()))
+            {
+                throw new IOException("Can't create the directory of " + destination.getAbsolutePath());
+            }
+
+            this.copyFile(sourcePath, attributes, destinationPath, operation);
+        }
+
+        final IOException exception = operation.firstException();
+
+        if (exception != null)
+        {
+            throw new IOException(operation.failed.get() + " file(s) failed to copy, first issue : "
+                                  + exception.getMessage(), exception);
+        }
+
+        return operation.done.get();
+    }
+
+    /**
+     * Delete a file or a directory.<br>
+     * If it is a directory, its children are deleted in parallel first. Links are deleted, not followed.<br>
+     * Method returns when all deletion are finished
+     *
+     * @param file File/directory to delete
+     * @return {@code true} if succeed. {@code false} if failed, may be some deletion have happen
+     */
+    public boolean delete(final File file)
+    {
+        if (file == null)
+        {
+            return true;
+        }
+
+        final Path                path       = file.toPath();
+        final BasicFileAttributes attributes = FileCopier.attributes(path);
+
+        if (attributes == null)
+        {
+            return true;
+        }
+
+        final Operation operation = new Operation(false, null);
+
+        if (attributes.isDirectory())
+        {
+            this.submitDeleteDirectory(path, operation);
+            operation.await();
+            final List<Pair<Path, FileTime>> directories = new ArrayList<Pair<Path, FileTime>>(operation.directories);
+            Collections.sort(directories, FileCopier.DEEPEST_FIRST);
+
+            for (final Pair<Path, FileTime> directory : directories)
+            {
+                FileCopier.deleteFile(directory.element1, operation);
+            }
+        }
+        else
+        {
+            FileCopier.deleteFile(path, operation);
+        }
+
+        return operation.failed.get() == 0;
+    }
+}
@@ -0,0 +1,597 @@
+package jhelp.util.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jhelp.util.debug.Debug;
+
+/**
+ * Compute MD5 and SHA of files.<br>
+ * Files are read by large blocks with a buffer reused by each thread, several files can be hashed in parallel with
+ * {@link #compute(Collection, Algorithm)}, the number of threads bound the number of files read at the same time.<br>
+ * A hasher can have a persistent cache : digests are associated to the file path, size, last modification time and
+ * file key (Inode on Unix systems), so a file not modified since last hash is never read again. The cache is loaded at
+ * creation and saved by {@link #saveCache()}
+ *
+ * @author JHelp
+ */
+public final class FileHasher
+{
+    /**
+     * Digest to compute
+     *
+     * @author JHelp
+     */
+    public enum Algorithm
+    {
+        /**
+         * MD5 in hexadecimal
+         */
+        MD5(true, false),
+        /**
+         * MD5 and SHA in hexadecimal separated by '_', can be used as unique ID
+         */
+        MD5_SHA_ID(true, true),
+        /**
+         * SHA in hexadecimal
+         */
+        SHA(false, true);
+        /**
+         * Indicates if MD5 is need
+         */
+        final boolean md5;
+        /**
+         * Indicates if SHA is need
+         */
+        final boolean sha;
+
+        /**
+         * Create a new instance of Algorithm
+         *
+         * @param md5 Indicates if MD5 is need
+         * @param sha Indicates if SHA is need
+         */
+        Algorithm(final boolean md5, final boolean sha)
+        {
+            this.md5 = md5;
+            this.sha = sha;
+        }
+    }
+
+    /**
+     * Digests known for a file state
+     *
+     * @author JHelp
+     */
+    static class Entry
+    {
+        /**
+         * File key (Inode on Unix systems), may be {@code null}
+         */
+        final String fileKey;
+        /**
+         * Last modification time
+         */
+        final long   modified;
+        /**
+         * File size
+         */
+        final long   size;
+        /**
+         * MD5, {@code null} if not computed
+         */
+        String md5;
+        /**
+         * SHA, {@code null} if not computed
+         */
+        String sha;
+
+        /**
+         * Create a new instance of Entry
+         *
+         * @param size     File size
+         * @param modified Last modification time
+         * @param fileKey  File key, may be {@code null}
+         */
+        Entry(final long size, final long modified, final String fileKey)
+        {
+            this.size = size;
+            this.modified = modified;
+            this.fileKey = fileKey;
+        }
+
+        /**
+         * Indicates if entry describes a file state
+         *
+         * @param size     File size
+         * @param modified Last modification time
+         * @param fileKey  File key, may be {@code null}
+         * @return {@code true} if the file is in same state
+         */
+        boolean matches(final long size, final long modified, final String fileKey)
+        {
+            if (this.size != size || this.modified != modified)
+            {
+                return false;
+            }
+
+            if (this.fileKey == null)
+            {
+                return fileKey == null;
+            }
+
+            return this.fileKey.equals(fileKey);
+        }
+    }
+
+    /**
+     * Hasher without cache used by {@link UtilIO}
+     */
+    public static final  FileHasher FILE_HASHER = new FileHasher(Math.max(2, Runtime.getRuntime()
+                                                                                    .availableProcessors()), null);
+    /**
+     * Cache file format version
+     */
+    private static final int        VERSION     = 1;
+    /**
+     * Read buffer size
+     */
+    private static final int        READ_SIZE   = UtilIO.MEGA_BYTES;
+    /**
+     * Read buffer of each thread
+     */
+    private static final ThreadLocal<ByteBuffer> BUFFER = new ThreadLocal<ByteBuffer>()
+    {
+        /**
+         * Create thread buffer <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return Created buffer
+         * @see java.lang.ThreadLocal#initialValue()
+         */
+        @Override
+        protected ByteBuffer initialValue()
+        {
+            return ByteBuffer.allocate(FileHasher.READ_SIZE);
+        }
+    };
+
+    /**
+     * Digests cache, {@code null} if no cache
+     */
+    private final ConcurrentHashMap<String, Entry> cache;
+    /**
+     * Cache file, {@code null} if no cache
+     */
+    private final File                             cacheFile;
+    /**
+     * Threads pool
+     */
+    private final ExecutorService                  executorService;
+
+    /**
+     * Create a new instance of FileHasher
+     *
+     * @param numberOfThreads Maximum number of files hashed at the same time
+     * @param cacheFile       File where digest cache is stored. {@code null} for no cache
+     */
+    public FileHasher(final int numberOfThreads, final File cacheFile)
+    {
+        if (numberOfThreads < 1)
+        {
+            throw new IllegalArgumentException("numberOfThreads MUST be at least 1, not " + numberOfThreads);
+        }
+
+        this.executorService = Executors.newFixedThreadPool(numberOfThreads, new DaemonThreadFactory("FileHasher"));
+        this.cacheFile = cacheFile;
+
+        if (cacheFile == null)
+        {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = new ConcurrentHashMap<String, Entry>();
+
+        if (cacheFile.exists())
+        {
+            try
+            {
+                this.loadCache();
+            }
+            catch (final Exception exception)
+            {
+                Debug.printException(exception, "Failed to load digest cache, cache is ignored : ",
+                                     cacheFile.getAbsolutePath());
+                this.cache.clear();
+            }
+        }
+    }
+
+    /**
+     * Convert digest to hexadecimal
+     *
+     * @param digest Digest
+     * @return Hexadecimal representation
+     */
+    private static String hexadecimal(final byte[] digest)
+    {
+        final StringBuilder stringBuilder = new StringBuilder(digest.length << 1);
+        int                 read;
+
+        for (final byte b : digest)
+        {
+            read = b & 0xFF;
+            stringBuilder.append(Integer.toHexString((read >> 4) & 0xF));
+            stringBuilder.append(Integer.toHexString(read & 0xF));
+        }
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Read a file and compute its digests
+     *
+     * @param file  File to read
+     * @param entry Entry to complete
+     * @param md5   Indicates if MD5 is need
+     * @param sha   Indicates if SHA is need
+     * @throws NoSuchAlgorithmException If system not support MD5 or SHA
+     * @throws IOException              On reading issue
+     */
+    private static void read(final File file, final Entry entry, final boolean md5, final boolean sha)
+            throws NoSuchAlgorithmException, IOException
+    {
+        final MessageDigest md5Digest = md5
+                                        ? MessageDigest.getInstance("MD5")
+                                        : null;
+        final MessageDigest shaDigest = sha
+                                        ? MessageDigest.getInstance("SHA")
+                                        : null;
+        final ByteBuffer    buffer    = FileHasher.BUFFER.get();
+        final byte[]        array     = buffer.array();
+
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            buffer.clear();
+
+            while (fileChannel.read(buffer) >= 0)
+            {
+                if (buffer.position() > 0)
+                {
+                    if (md5Digest != null)
+                    {
+                        md5Digest.update(array, 0, buffer.position());
+                    }
+
+                    if (shaDigest != null)
+                    {
+                        shaDigest.update(array, 0, buffer.position());
+                    }
+                }
+
+                buffer.clear();
+            }
+        }
+
+        if (md5Digest != null)
+        {
+            entry.md5 = FileHasher.hexadecimal(md5Digest.digest());
+        }
+
+        if (shaDigest != null)
+        {
+            entry.sha = FileHasher.hexadecimal(shaDigest.digest());
+        }
+    }
+
+    /**
+     * Load cache from its file
+     *
+     * @throws IOException On reading issue
+     */
+    private void loadCache() throws IOException
+    {
+        final ByteArray byteArray;
+
+        try (FileChannel fileChannel = FileChannel.open(this.cacheFile.toPath(), StandardOpenOption.READ))
+        {
+            byteArray = new ByteArray(fileChannel);
+        }
+
+        final int version = byteArray.readInteger();
+
+        if (version != FileHasher.VERSION)
+        {
+            throw new IOException("Unknown digest cache version " + version);
+        }
+
+        final int count = byteArray.readInteger();
+        String    path;
+        Entry     entry;
+
+        for (int index = 0; index < count; index++)
+        {
+            path = byteArray.readString();
+            entry = new Entry(byteArray.readLong(), byteArray.readLong(), byteArray.readString());
+            entry.md5 = byteArray.readString();
+            entry.sha = byteArray.readString();
+            this.cache.put(path, entry);
+        }
+    }
+
+    /**
+     * Number of files in cache
+     *
+     * @return Number of files in cache
+     */
+    public int cacheSize()
+    {
+        if (this.cache == null)
+        {
+            return 0;
+        }
+
+        return this.cache.size();
+    }
+
+    /**
+     * Compute a file digest
+     *
+     * @param file      File to hash
+     * @param algorithm Digest to compute
+     * @return Digest in hexadecimal or {@code null} if file not exists, is not a file or is a virtual link
+     * @throws NoSuchAlgorithmException If system not support MD5 or SHA
+     * @throws IOException              On reading issue
+     */
+    public String compute(final File file, final Algorithm algorithm) throws NoSuchAlgorithmException, IOException
+    {
+        if (file == null)
+        {
+            throw new NullPointerException("file MUST NOT be null");
+        }
+
+        if (algorithm == null)
+        {
+            throw new NullPointerException("algorithm MUST NOT be null");
+        }
+
+        if ((!file.exists()) || (!file.isFile()) || (UtilIO.isVirtualLink(file)))
+        {
+            return null;
+        }
+
+        final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        final long                size       = attributes.size();
+        final long                modified   = attributes.lastModifiedTime()
+                                                         .toMillis();
+        final Object              key        = attributes.fileKey();
+        final String              fileKey    = key == null
+                                               ? null
+                                               : key.toString();
+        final String              path       = file.getAbsolutePath();
+        Entry                     entry      = null;
+
+        if (this.cache != null)
+        {
+            entry = this.cache.get(path);
+
+            if (entry != null && !entry.matches(size, modified, fileKey))
+            {
+                entry = null;
+            }
+        }
+
+        final Entry computed = new Entry(size, modified, fileKey);
+
+        if (entry != null)
+        {
+            computed.md5 = entry.md5;
+            computed.sha = entry.sha;
+        }
+
+        final boolean md5 = algorithm.md5 && computed.md5 == null;
+        final boolean sha = algorithm.sha && computed.sha == null;
+
+        if (md5 || sha)
+        {
+            FileHasher.read(file, computed, md5, sha);
+
+            if (this.cache != null)
+            {
+                this.cache.put(path, computed);
+            }
+        }
+
+        switch (algorithm)
+        {
+            case MD5:
+                return computed.md5;
+            case SHA:
+                return computed.sha;
+            default:
+                return computed.md5 + "_" + computed.sha;
+        }
+    }
+
+    /**
+     * Compute digest of several files in parallel
+     *
+     * @param files     Files to hash
+     * @param algorithm Digest to compute
+     * @return Digest of each file, in files order. Digest is {@code null} for files that not exists, are not files or
+     * are virtual links
+     * @throws NoSuchAlgorithmException If system not support MD5 or SHA
+     * @throws IOException              If at least one file can't be read, other files are hashed anyway
+     */
+    public Map<File, String> compute(final Collection<File> files, final Algorithm algorithm)
+            throws NoSuchAlgorithmException, IOException
+    {
+        if (files == null)
+        {
+            throw new NullPointerException("files MUST NOT be null");
+        }
+
+        if (algorithm == null)
+        {
+            throw new NullPointerException("algorithm MUST NOT be null");
+        }
+
+        final List<Future<String>> futures = new ArrayList<Future<String>>(files.size());
+
+        for (final File file : files)
+        {
+            futures.add(this.executorService.submit(new Callable<String>()
+            {
+                /**
+                 * Compute file digest <br>
+                 * <br>
+                 * <b>Parent documentation:</b><br>
+                 * {@inheritDoc}
+                 *
+                 * @return File digest
+                 * @throws Exception On reading issue
+                 * @see java.util.concurrent.Callable#call()
+                 */
+                @Override
+                public String call() throws Exception
+                {
+                    return FileHasher.this.compute(file, algorithm);
+                }
+            }));
+        }
+
+        final Map<File, String> digests   = new LinkedHashMap<File, String>();
+        Exception               exception = null;
+        int                     index     = 0;
+
+        for (final File file : files)
+        {
+            try
+            {
+                digests.put(file, futures.get(index)
+                                         .get());
+            }
+            catch (final ExecutionException executionException)
+            {
+                final Throwable cause = executionException.getCause();
+                final Exception issue = cause instanceof Exception
+                                        ? (Exception) cause
+                                        : new IOException(cause);
+                Debug.printException(issue, "Failed to hash ", file.getAbsolutePath());
+
+                if (exception == null)
+                {
+                    exception = issue;
+                }
+
+                digests.put(file, null);
+            }
+            catch (final InterruptedException interruptedException)
+            {
+                throw new IOException("Interrupted while hashing", interruptedException);
+            }
+
+            index++;
+        }
+
+        if (exception instanceof NoSuchAlgorithmException)
+        {
+            throw (NoSuchAlgorithmException) exception;
+        }
+
+        if (exception != null)
+        {
+            throw new IOException("Some files can't be hashed, first issue : " + exception.getMessage(), exception);
+        }
+
+        return digests;
+    }
+
+    /**
+     * Remove from cache the files that no longer exists
+     */
+    public void purgeCache()
+    {
+        if (this.cache == null)
+        {
+            return;
+        }
+
+        for (final String path : this.cache.keySet())
+        {
+            if (!new File(path).isFile())
+            {
+                this.cache.remove(path);
+            }
+        }
+    }
+
+    /**
+     * Save the cache in its file.<br>
+     * The file is replaced only when the new version is completely written
+     *
+     * @throws IOException On writing issue
+     */
+    public void saveCache() throws IOException
+    {
+        if (this.cache == null)
+        {
+            return;
+        }
+
+        final List<Map.Entry<String, Entry>> entries = new ArrayList<Map.Entry<String, Entry>>(this.cache.entrySet());
+        final ByteArray                      byteArray = new ByteArray();
+        byteArray.writeInteger(FileHasher.VERSION);
+        byteArray.writeInteger(entries.size());
+        Entry entry;
+
+        for (final Map.Entry<String, Entry> element : entries)
+        {
+            entry = element.getValue();
+            byteArray.writeString(element.getKey());
+            byteArray.writeLong(entry.size);
+            byteArray.writeLong(entry.modified);
+            byteArray.writeString(entry.fileKey);
+            byteArray.writeString(entry.md5);
+            byteArray.writeString(entry.sha);
+        }
+
+        if (!UtilIO.createDirectory(this.cacheFile.getAbsoluteFile()
+                                                  .getParentFile()))
+        {
+            throw new IOException("Can't create directory of " + this.cacheFile.getAbsolutePath());
+        }
+
+        final File temporary = new File(this.cacheFile.getAbsolutePath() + ".tmp");
+
+        try (FileOutputStream fileOutputStream = new FileOutputStream(temporary))
+        {
+            byteArray.writeTo(fileOutputStream);
+        }
+
+        Files.move(temporary.toPath(), this.cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
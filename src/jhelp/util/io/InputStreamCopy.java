@@ -13,6 +13,8 @@ import java.io.OutputStream;
 
 /**
  * Input stream that write what it reads in output stream at same time<br>
+ * The copy goes through a {@link TeeOutputStream}, so a slow output stream don't slow the reading (See
+ * {@link TeeOverflowPolicy} for what happen when the copy is too late)<br>
  * <br>
  * Last modification : 15 sept. 2010<br>
  * Version 0.0.0<br>
@@ -29,18 +31,48 @@ public class InputStreamCopy
     /**
      * Stream where write
      */
-    private OutputStream outputStream;
+    private TeeOutputStream outputStream;
 
     /**
-     * Constructs InputStreamCopy
+     * Constructs InputStreamCopy.<br>
+     * Copy use {@link TeeOutputStream#DEFAULT_CAPACITY} buffer with {@link TeeOverflowPolicy#BLOCK} policy
      *
      * @param inputStream  Stream to read
      * @param outputStream Stream where copy
      */
     public InputStreamCopy(final InputStream inputStream, final OutputStream outputStream)
     {
+        this(inputStream, outputStream, TeeOutputStream.DEFAULT_CAPACITY, TeeOverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Constructs InputStreamCopy
+     *
+     * @param inputStream  Stream to read
+     * @param outputStream Stream where copy
+     * @param capacity     Copy buffer capacity in bytes
+     * @param policy       What to do when copy buffer is full
+     */
+    public InputStreamCopy(final InputStream inputStream, final OutputStream outputStream, final int capacity,
+                           final TeeOverflowPolicy policy)
+    {
+        if (inputStream == null)
+        {
+            throw new NullPointerException("inputStream MUST NOT be null");
+        }
+
         this.inputStream = inputStream;
-        this.outputStream = outputStream;
+        this.outputStream = new TeeOutputStream(outputStream, capacity, policy);
+    }
+
+    /**
+     * The copy stream, to follow its lag and drops
+     *
+     * @return The copy stream
+     */
+    public TeeOutputStream getCopy()
+    {
+        return this.outputStream;
     }
 
     /**
@@ -58,7 +90,6 @@ public class InputStreamCopy
         if (read >= 0)
         {
             this.outputStream.write(read);
-            this.outputStream.flush();
         }
 
         return read;
@@ -80,7 +111,6 @@ public class InputStreamCopy
         if (read >= 0)
         {
             this.outputStream.write(b, 0, read);
-            this.outputStream.flush();
         }
 
         return read;
@@ -104,7 +134,6 @@ public class InputStreamCopy
         if (read >= 0)
         {
             this.outputStream.write(b, off, read);
-            this.outputStream.flush();
         }
 
         return read;
@@ -121,24 +150,28 @@ public class InputStreamCopy
     @Override
     public long skip(long n) throws IOException
     {
-        int  read  = 0;
-        long count = 0;
+        if (n <= 0)
+        {
+            return 0;
+        }
+
+        final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        int          read   = 0;
+        long         count  = 0;
 
         while ((n > 0) && (read >= 0))
         {
-            read = this.inputStream.read();
+            read = this.inputStream.read(buffer, 0, (int) Math.min(n, buffer.length));
 
-            if (read >= 0)
+            if (read > 0)
             {
-                this.outputStream.write(read);
+                this.outputStream.write(buffer, 0, read);
 
-                n--;
-                count++;
+                n -= read;
+                count += read;
             }
         }
 
-        this.outputStream.flush();
-
         return count;
     }
 
@@ -176,7 +209,9 @@ public class InputStreamCopy
     }
 
     /**
-     * Close the streams
+     * Close the streams.<br>
+     * Wait the copy finished before closing the output stream.<br>
+     * The output stream is closed even if closing the input stream fails
      *
      * @throws IOException On closing issue
      * @see java.io.InputStream#close()
@@ -184,12 +219,16 @@ public class InputStreamCopy
     @Override
     public void close() throws IOException
     {
-        this.outputStream.flush();
-        this.outputStream.close();
-        this.outputStream = null;
-
-        this.inputStream.close();
-        this.inputStream = null;
+        try
+        {
+            this.inputStream.close();
+        }
+        finally
+        {
+            this.inputStream = null;
+            this.outputStream.close();
+            this.outputStream = null;
+        }
     }
 
     /**
@@ -4,7 +4,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 
 /**
- * Output stream that write into two streams in same time
+ * Output stream that write into two streams in same time.<br>
+ * The copy goes through a {@link TeeOutputStream}, so a slow copy stream don't slow the normal destination (See
+ * {@link TeeOverflowPolicy} for what happen when the copy is too late)
  *
  * @author JHelp
  */
@@ -14,19 +16,34 @@ public class OutputStreamCopy
     /**
      * Output stream where copy whats write
      */
-    private final OutputStream copy;
+    private final TeeOutputStream copy;
     /**
      * Normal destination
      */
     private final OutputStream destination;
 
     /**
-     * Create a new instance of OutputStreamCopy
+     * Create a new instance of OutputStreamCopy.<br>
+     * Copy use {@link TeeOutputStream#DEFAULT_CAPACITY} buffer with {@link TeeOverflowPolicy#BLOCK} policy
      *
      * @param destination Normal destination
      * @param copy        Output stream where copy whats write
      */
     public OutputStreamCopy(final OutputStream destination, final OutputStream copy)
+    {
+        this(destination, copy, TeeOutputStream.DEFAULT_CAPACITY, TeeOverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Create a new instance of OutputStreamCopy
+     *
+     * @param destination Normal destination
+     * @param copy        Output stream where copy whats write
+     * @param capacity    Copy buffer capacity in bytes
+     * @param policy      What to do when copy buffer is full
+     */
+    public OutputStreamCopy(final OutputStream destination, final OutputStream copy, final int capacity,
+                            final TeeOverflowPolicy policy)
     {
         if (destination == null)
         {
@@ -39,7 +56,17 @@ public class OutputStreamCopy
         }
 
         this.destination = destination;
-        this.copy = copy;
+        this.copy = new TeeOutputStream(copy, capacity, policy);
+    }
+
+    /**
+     * The copy stream, to follow its lag and drops
+     *
+     * @return The copy stream
+     */
+    public TeeOutputStream getCopy()
+    {
+        return this.copy;
     }
 
     /**
@@ -96,7 +123,7 @@ public class OutputStreamCopy
     }
 
     /**
-     * Flush the streams <br>
+     * Flush the normal destination, the copy is flushed as soon as it caught up <br>
      * <br>
      * <b>Parent documentation:</b><br>
      * {@inheritDoc}
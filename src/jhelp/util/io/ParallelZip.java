@@ -0,0 +1,1113 @@
+package jhelp.util.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import jhelp.util.list.Pair;
+
+/**
+ * Zip and unzip using several threads.<br>
+ * For zip, files are cut in chunks compressed in parallel, each chunk is an independent deflate block sequence that use
+ * the end of previous chunk as dictionary, so chunks can be concatenated in one valid deflate stream. Compressed chunks
+ * are written in order, so the result is a standard ZIP stream (ZIP64 extensions are used only when sizes need
+ * them).<br>
+ * Files that compression don't reduce are stored.<br>
+ * For unzip, entries are located with the central directory and extracted in parallel
+ *
+ * @author JHelp
+ */
+public final class ParallelZip
+{
+    /**
+     * Result of one chunk treatment
+     *
+     * @author JHelp
+     */
+    static class ChunkResult
+    {
+        /**
+         * Compressed data (or raw data if chunk is stored), {@code null} for multiple chunks stored entries
+         */
+        byte[]  data;
+        /**
+         * Chunk CRC
+         */
+        long    crc;
+        /**
+         * Chunk uncompressed size
+         */
+        long    size;
+        /**
+         * Indicates if data are stored (not compressed)
+         */
+        boolean stored;
+    }
+
+    /**
+     * Entry to zip
+     *
+     * @author JHelp
+     */
+    static class Entry
+    {
+        /**
+         * Number of chunks
+         */
+        final int    chunkCount;
+        /**
+         * File to zip
+         */
+        final File   file;
+        /**
+         * Last modification time in DOS format
+         */
+        final long   dosTime;
+        /**
+         * Entry name in UTF-8
+         */
+        final byte[] name;
+        /**
+         * File size
+         */
+        final long   size;
+        /**
+         * Compressed size
+         */
+        long    compressedSize;
+        /**
+         * Entry CRC
+         */
+        long    crc;
+        /**
+         * Entry flags
+         */
+        int     flags;
+        /**
+         * Local header offset
+         */
+        long    offset;
+        /**
+         * Indicates if entry is stored (not compressed)
+         */
+        boolean stored;
+
+        /**
+         * Create a new instance of Entry
+         *
+         * @param file File to zip
+         * @param name Entry name
+         */
+        Entry(final File file, final String name)
+        {
+            this.file = file;
+            this.name = name.getBytes(ParallelZip.UTF8);
+            this.size = file.length();
+            this.dosTime = ParallelZip.dosTime(file.lastModified());
+            this.chunkCount = (int) Math.max(1, (this.size + ParallelZip.CHUNK_SIZE - 1) / ParallelZip.CHUNK_SIZE);
+            this.flags = ParallelZip.FLAG_UTF8;
+        }
+    }
+
+    /**
+     * Output stream that count written bytes
+     *
+     * @author JHelp
+     */
+    static class CountOutputStream
+            extends OutputStream
+    {
+        /**
+         * Stream where write
+         */
+        private final OutputStream outputStream;
+        /**
+         * Number of written bytes
+         */
+        long count;
+
+        /**
+         * Create a new instance of CountOutputStream
+         *
+         * @param outputStream Stream where write
+         */
+        CountOutputStream(final OutputStream outputStream)
+        {
+            this.outputStream = outputStream;
+            this.count = 0;
+        }
+
+        /**
+         * Flush the stream <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @throws IOException On flush issue
+         * @see java.io.OutputStream#flush()
+         */
+        @Override
+        public void flush() throws IOException
+        {
+            this.outputStream.flush();
+        }
+
+        /**
+         * Write a part of array <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @param b   Array to write
+         * @param off Offset where start read the array
+         * @param len Number of bytes to write
+         * @throws IOException On writing issue
+         * @see java.io.OutputStream#write(byte[], int, int)
+         */
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException
+        {
+            this.outputStream.write(b, off, len);
+            this.count += len;
+        }
+
+        /**
+         * Write one byte <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @param b Byte to write
+         * @throws IOException On writing issue
+         * @see java.io.OutputStream#write(int)
+         */
+        @Override
+        public void write(final int b) throws IOException
+        {
+            this.outputStream.write(b);
+            this.count++;
+        }
+    }
+
+    /**
+     * Zipper used by {@link UtilIO}
+     */
+    public static final  ParallelZip PARALLEL_ZIP       = new ParallelZip(Runtime.getRuntime()
+                                                                                 .availableProcessors());
+    /**
+     * Size of chunks compressed in parallel
+     */
+    static final         int         CHUNK_SIZE         = UtilIO.MEGA_BYTES;
+    /**
+     * Deflate dictionary size
+     */
+    private static final int         DICTIONARY_SIZE    = 32 * UtilIO.KILO_BYTES;
+    /**
+     * Flag : sizes and CRC are in data descriptor after data
+     */
+    private static final int         FLAG_DESCRIPTOR    = 0x0008;
+    /**
+     * Flag : names are in UTF-8
+     */
+    private static final int         FLAG_UTF8          = 0x0800;
+    /**
+     * Compression method : deflate
+     */
+    private static final int         METHOD_DEFLATED    = 8;
+    /**
+     * Compression method : store
+     */
+    private static final int         METHOD_STORED      = 0;
+    /**
+     * Part of a file compressed to decide if it is compressed or stored
+     */
+    private static final int         SAMPLE_SIZE        = 64 * UtilIO.KILO_BYTES;
+    /**
+     * A file is stored if compression don't reduce the size under this ratio
+     */
+    private static final double      STORE_RATIO        = 0.95;
+    /**
+     * Names charset
+     */
+    static final         Charset     UTF8               = Charset.forName("UTF-8");
+    /**
+     * Version need to extract : standard
+     */
+    private static final int         VERSION            = 20;
+    /**
+     * Version need to extract : ZIP64
+     */
+    private static final int         VERSION_ZIP64      = 45;
+    /**
+     * Value that indicates real value is in ZIP64 extension
+     */
+    private static final long        ZIP64_MAGIC        = 0xFFFFFFFFL;
+    /**
+     * Value that indicates entries count is in ZIP64 extension
+     */
+    private static final int         ZIP64_MAGIC_COUNT  = 0xFFFF;
+    /**
+     * Threads pool
+     */
+    private final ExecutorService executorService;
+    /**
+     * Maximum of chunks in memory at the same time
+     */
+    private final int             maximumChunks;
+
+    /**
+     * Create a new instance of ParallelZip
+     *
+     * @param numberOfThreads Number of threads used to compress/extract
+     */
+    public ParallelZip(final int numberOfThreads)
+    {
+        if (numberOfThreads < 1)
+        {
+            throw new IllegalArgumentException("numberOfThreads MUST be at least 1, not " + numberOfThreads);
+        }
+
+        this.executorService = Executors.newFixedThreadPool(numberOfThreads, new DaemonThreadFactory("ParallelZip"));
+        this.maximumChunks = numberOfThreads << 2;
+    }
+
+    /**
+     * Combine two CRC32 : compute CRC of concatenation of two blocks, knowing CRC of each block
+     *
+     * @param crc1    First block CRC
+     * @param crc2    Second block CRC
+     * @param length2 Second block length
+     * @return Concatenation CRC
+     */
+    static long combineCRC(long crc1, final long crc2, long length2)
+    {
+        if (length2 <= 0)
+        {
+            return crc1;
+        }
+
+        final long[] even = new long[32];
+        final long[] odd  = new long[32];
+        // Operator for one zero bit
+        odd[0] = 0xEDB88320L;
+        long row = 1;
+
+        for (int n = 1; n < 32; n++)
+        {
+            odd[n] = row;
+            row <<= 1;
+        }
+
+        // Operators for two then four zero bits
+        ParallelZip.square(even, odd);
+        ParallelZip.square(odd, even);
+
+        do
+        {
+            ParallelZip.square(even, odd);
+
+            if ((length2 & 1) != 0)
+            {
+                crc1 = ParallelZip.times(even, crc1);
+            }
+
+            length2 >>= 1;
+
+            if (length2 == 0)
+            {
+                break;
+            }
+
+            ParallelZip.square(odd, even);
+
+            if ((length2 & 1) != 0)
+            {
+                crc1 = ParallelZip.times(odd, crc1);
+            }
+
+            length2 >>= 1;
+        }
+        while (length2 != 0);
+
+        return crc1 ^ crc2;
+    }
+
+    /**
+     * Compress data
+     *
+     * @param level      Compression level
+     * @param dictionary Dictionary to use, {@code null} for no dictionary
+     * @param data       Data to compress
+     * @param length     Number of bytes to compress
+     * @param last       Indicates if it is the last chunk of an entry
+     * @return Compressed data
+     */
+    private static byte[] deflate(final int level, final byte[] dictionary, final byte[] data, final int length,
+                                  final boolean last)
+    {
+        final Deflater              deflater              = new Deflater(level, true);
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(Math.max(64, length >> 1));
+        final byte[]                buffer                = new byte[64 * UtilIO.KILO_BYTES];
+        int                         count;
+
+        try
+        {
+            if (dictionary != null)
+            {
+                deflater.setDictionary(dictionary);
+            }
+
+            deflater.setInput(data, 0, length);
+
+            if (last)
+            {
+                deflater.finish();
+
+                while (!deflater.finished())
+                {
+                    count = deflater.deflate(buffer);
+                    byteArrayOutputStream.write(buffer, 0, count);
+                }
+            }
+            else
+            {
+                // Sync flush ends the chunk on a byte boundary without closing the deflate stream
+                do
+                {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    byteArrayOutputStream.write(buffer, 0, count);
+                }
+                while (count == buffer.length);
+            }
+        }
+        finally
+        {
+            deflater.end();
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Convert time to DOS format
+     *
+     * @param time Time in milliseconds
+     * @return DOS time : date in high 16 bits, time in low 16 bits
+     */
+    static long dosTime(final long time)
+    {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        final int year = calendar.get(Calendar.YEAR);
+
+        if (year < 1980)
+        {
+            return (1 << 21) | (1 << 16);
+        }
+
+        return ((long) (year - 1980) << 25) | ((calendar.get(Calendar.MONTH) + 1) << 21)
+               | (calendar.get(Calendar.DAY_OF_MONTH) << 16) | (calendar.get(Calendar.HOUR_OF_DAY) << 11)
+               | (calendar.get(Calendar.MINUTE) << 5) | (calendar.get(Calendar.SECOND) >> 1);
+    }
+
+    /**
+     * Read a part of file
+     *
+     * @param file     File to read
+     * @param position Where start read
+     * @param length   Number of bytes to read
+     * @return Read bytes
+     * @throws IOException On reading issue
+     */
+    private static byte[] read(final File file, final long position, final int length) throws IOException
+    {
+        final byte[]     data   = new byte[length];
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            while (buffer.hasRemaining())
+            {
+                if (fileChannel.read(buffer, position + buffer.position()) < 0)
+                {
+                    throw new IOException("File " + file.getAbsolutePath() + " shrinks during zip");
+                }
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * Square a GF(2) matrix
+     *
+     * @param square Matrix where write result
+     * @param matrix Matrix to square
+     */
+    private static void square(final long[] square, final long[] matrix)
+    {
+        for (int n = 0; n < 32; n++)
+        {
+            square[n] = ParallelZip.times(matrix, matrix[n]);
+        }
+    }
+
+    /**
+     * Multiply a GF(2) matrix by a vector
+     *
+     * @param matrix Matrix
+     * @param vector Vector
+     * @return Result vector
+     */
+    private static long times(final long[] matrix, long vector)
+    {
+        long sum   = 0;
+        int  index = 0;
+
+        while (vector != 0)
+        {
+            if ((vector & 1) != 0)
+            {
+                sum ^= matrix[index];
+            }
+
+            vector >>>= 1;
+            index++;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Write the central directory and its end
+     *
+     * @param entries      Zipped entries
+     * @param outputStream Stream where write
+     * @throws IOException On writing issue
+     */
+    private static void writeCentralDirectory(final List<Entry> entries, final CountOutputStream outputStream)
+            throws IOException
+    {
+        final long start = outputStream.count;
+        ByteBuffer buffer;
+        boolean    zip64Size;
+        boolean    zip64Compressed;
+        boolean    zip64Offset;
+        int        extraLength;
+
+        for (final Entry entry : entries)
+        {
+            zip64Size = entry.size >= ParallelZip.ZIP64_MAGIC;
+            zip64Compressed = entry.compressedSize >= ParallelZip.ZIP64_MAGIC;
+            zip64Offset = entry.offset >= ParallelZip.ZIP64_MAGIC;
+            extraLength = (zip64Size
+                           ? 8
+                           : 0) + (zip64Compressed
+                                   ? 8
+                                   : 0) + (zip64Offset
+                                           ? 8
+                                           : 0);
+
+            if (extraLength > 0)
+            {
+                extraLength += 4;
+            }
+
+            buffer = ByteBuffer.allocate(46 + entry.name.length + extraLength)
+                               .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0x02014b50);
+            buffer.putShort((short) (extraLength > 0
+                                     ? ParallelZip.VERSION_ZIP64
+                                     : ParallelZip.VERSION));
+            buffer.putShort((short) (extraLength > 0
+                                     ? ParallelZip.VERSION_ZIP64
+                                     : ParallelZip.VERSION));
+            buffer.putShort((short) entry.flags);
+            buffer.putShort((short) (entry.stored
+                                     ? ParallelZip.METHOD_STORED
+                                     : ParallelZip.METHOD_DEFLATED));
+            buffer.putInt((int) entry.dosTime);
+            buffer.putInt((int) entry.crc);
+            buffer.putInt((int) (zip64Compressed
+                                 ? ParallelZip.ZIP64_MAGIC
+                                 : entry.compressedSize));
+            buffer.putInt((int) (zip64Size
+                                 ? ParallelZip.ZIP64_MAGIC
+                                 : entry.size));
+            buffer.putShort((short) entry.name.length);
+            buffer.putShort((short) extraLength);
+            // Comment length, disk, internal and external attributes
+            buffer.putShort((short) 0);
+            buffer.putShort((short) 0);
+            buffer.putShort((short) 0);
+            buffer.putInt(0);
+            buffer.putInt((int) (zip64Offset
+                                 ? ParallelZip.ZIP64_MAGIC
+                                 : entry.offset));
+            buffer.put(entry.name);
+
+            if (extraLength > 0)
+            {
+                buffer.putShort((short) 0x0001);
+                buffer.putShort((short) (extraLength - 4));
+
+                if (zip64Size)
+                {
+                    buffer.putLong(entry.size);
+                }
+
+                if (zip64Compressed)
+                {
+                    buffer.putLong(entry.compressedSize);
+                }
+
+                if (zip64Offset)
+                {
+                    buffer.putLong(entry.offset);
+                }
+            }
+
+            outputStream.write(buffer.array());
+        }
+
+        final long    end   = outputStream.count;
+        final long    size  = end - start;
+        final boolean zip64 = entries.size() >= ParallelZip.ZIP64_MAGIC_COUNT || start >= ParallelZip.ZIP64_MAGIC
+                              || size >= ParallelZip.ZIP64_MAGIC;
+
+        if (zip64)
+        {
+            buffer = ByteBuffer.allocate(56 + 20)
+                               .order(ByteOrder.LITTLE_ENDIAN);
+            // ZIP64 end of central directory record
+            buffer.putInt(0x06064b50);
+            buffer.putLong(44);
+            buffer.putShort((short) ParallelZip.VERSION_ZIP64);
+            buffer.putShort((short) ParallelZip.VERSION_ZIP64);
+            buffer.putInt(0);
+            buffer.putInt(0);
+            buffer.putLong(entries.size());
+            buffer.putLong(entries.size());
+            buffer.putLong(size);
+            buffer.putLong(start);
+            // ZIP64 end of central directory locator
+            buffer.putInt(0x07064b50);
+            buffer.putInt(0);
+            buffer.putLong(end);
+            buffer.putInt(1);
+            outputStream.write(buffer.array());
+        }
+
+        buffer = ByteBuffer.allocate(22)
+                           .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x06054b50);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) Math.min(entries.size(), ParallelZip.ZIP64_MAGIC_COUNT));
+        buffer.putShort((short) Math.min(entries.size(), ParallelZip.ZIP64_MAGIC_COUNT));
+        buffer.putInt((int) Math.min(size, ParallelZip.ZIP64_MAGIC));
+        buffer.putInt((int) Math.min(start, ParallelZip.ZIP64_MAGIC));
+        buffer.putShort((short) 0);
+        outputStream.write(buffer.array());
+    }
+
+    /**
+     * Write the data descriptor of an entry
+     *
+     * @param entry        Entry
+     * @param outputStream Stream where write
+     * @throws IOException On writing issue
+     */
+    private static void writeDescriptor(final Entry entry, final OutputStream outputStream) throws IOException
+    {
+        // Readers use 8 bytes sizes only if a size not fit in 4 bytes
+        final boolean    zip64  = entry.size > ParallelZip.ZIP64_MAGIC || entry.compressedSize > ParallelZip.ZIP64_MAGIC;
+        final ByteBuffer buffer = ByteBuffer.allocate(zip64
+                                                      ? 24
+                                                      : 16)
+                                            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x08074b50);
+        buffer.putInt((int) entry.crc);
+
+        if (zip64)
+        {
+            buffer.putLong(entry.compressedSize);
+            buffer.putLong(entry.size);
+        }
+        else
+        {
+            buffer.putInt((int) entry.compressedSize);
+            buffer.putInt((int) entry.size);
+        }
+
+        outputStream.write(buffer.array());
+    }
+
+    /**
+     * Write an entry local header
+     *
+     * @param entry        Entry
+     * @param outputStream Stream where write
+     * @throws IOException On writing issue
+     */
+    private static void writeLocalHeader(final Entry entry, final CountOutputStream outputStream) throws IOException
+    {
+        entry.offset = outputStream.count;
+        final boolean descriptor  = (entry.flags & ParallelZip.FLAG_DESCRIPTOR) != 0;
+        final boolean zip64       = !descriptor && (entry.size >= ParallelZip.ZIP64_MAGIC
+                                                    || entry.compressedSize >= ParallelZip.ZIP64_MAGIC);
+        final int     extraLength = zip64
+                                    ? 20
+                                    : 0;
+        final ByteBuffer buffer = ByteBuffer.allocate(30 + entry.name.length + extraLength)
+                                            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x04034b50);
+        buffer.putShort((short) (zip64
+                                 ? ParallelZip.VERSION_ZIP64
+                                 : ParallelZip.VERSION));
+        buffer.putShort((short) entry.flags);
+        buffer.putShort((short) (entry.stored
+                                 ? ParallelZip.METHOD_STORED
+                                 : ParallelZip.METHOD_DEFLATED));
+        buffer.putInt((int) entry.dosTime);
+
+        if (descriptor)
+        {
+            buffer.putInt(0);
+            buffer.putInt(0);
+            buffer.putInt(0);
+        }
+        else
+        {
+            buffer.putInt((int) entry.crc);
+            buffer.putInt((int) (zip64
+                                 ? ParallelZip.ZIP64_MAGIC
+                                 : entry.compressedSize));
+            buffer.putInt((int) (zip64
+                                 ? ParallelZip.ZIP64_MAGIC
+                                 : entry.size));
+        }
+
+        buffer.putShort((short) entry.name.length);
+        buffer.putShort((short) extraLength);
+        buffer.put(entry.name);
+
+        if (zip64)
+        {
+            buffer.putShort((short) 0x0001);
+            buffer.putShort((short) 16);
+            buffer.putLong(entry.size);
+            buffer.putLong(entry.compressedSize);
+        }
+
+        outputStream.write(buffer.array());
+    }
+
+    /**
+     * Collect files to zip
+     *
+     * @param source                 File/directory to zip
+     * @param onlyContentIfDirectory Indicates to zip only directory content (not the directory itself) if the given
+     *                               file is a directory.
+     * @return Entries to zip
+     */
+    private static List<Entry> collect(final File source, final boolean onlyContentIfDirectory)
+    {
+        final List<Entry>               entries = new ArrayList<Entry>();
+        Pair<String, File>              pair    = new Pair<String, File>(source.getName(), source);
+        final Stack<Pair<String, File>> stack   = new Stack<Pair<String, File>>();
+        stack.push(pair);
+        boolean ignore = (source.isDirectory()) && (onlyContentIfDirectory);
+
+        while (!stack.isEmpty())
+        {
+            pair = stack.pop();
+
+            if (!UtilIO.isVirtualLink(pair.element2))
+            {
+                if (pair.element2.isDirectory())
+                {
+                    final File[] content = pair.element2.listFiles();
+
+                    if (content != null)
+                    {
+                        for (final File child : content)
+                        {
+                            stack.push(new Pair<String, File>(ignore
+                                                              ? child.getName()
+                                                              : pair.element1 + "/" + child.getName(), child));
+                        }
+                    }
+                }
+                else if (!ignore)
+                {
+                    entries.add(new Entry(pair.element2, pair.element1));
+                }
+            }
+
+            ignore = false;
+        }
+
+        return entries;
+    }
+
+    /**
+     * Decide if an entry with several chunks is stored, by compressing its first bytes
+     *
+     * @param entry Entry to test
+     * @param level Compression level
+     * @return {@code true} if entry should be stored
+     * @throws IOException On reading issue
+     */
+    private static boolean shouldStore(final Entry entry, final int level) throws IOException
+    {
+        final byte[] sample = ParallelZip.read(entry.file, 0, ParallelZip.SAMPLE_SIZE);
+        return ParallelZip.deflate(level, null, sample, sample.length, true).length
+               >= sample.length * ParallelZip.STORE_RATIO;
+    }
+
+    /**
+     * Create the task that treat a chunk
+     *
+     * @param entry Entry
+     * @param index Chunk index
+     * @param level Compression level
+     * @return Created task
+     */
+    private static Callable<ChunkResult> chunkTask(final Entry entry, final int index, final int level)
+    {
+        return new Callable<ChunkResult>()
+        {
+            /**
+             * Read, check and compress the chunk <br>
+             * <br>
+             * <b>Parent documentation:</b><br>
+             * {@inheritDoc}
+             *
+             * @return Chunk result
+             * @throws Exception On reading issue
+             * @see java.util.concurrent.Callable#call()
+             */
+            @Override
+            public ChunkResult call() throws Exception
+            {
+                final long        position = (long) index * ParallelZip.CHUNK_SIZE;
+                final int         length   = (int) Math.min(ParallelZip.CHUNK_SIZE, entry.size - position);
+                final boolean     last     = index == entry.chunkCount - 1;
+                final ChunkResult result   = new ChunkResult();
+                final byte[]      data     = ParallelZip.read(entry.file, position, length);
+                final CRC32       crc32    = new CRC32();
+                crc32.update(data);
+                result.crc = crc32.getValue();
+                result.size = length;
+
+                if (entry.chunkCount == 1)
+                {
+                    if (length > 0 && level != Deflater.NO_COMPRESSION)
+                    {
+                        result.data = ParallelZip.deflate(level, null, data, length, true);
+                    }
+
+                    if (result.data == null || result.data.length >= length * ParallelZip.STORE_RATIO)
+                    {
+                        result.data = data;
+                        result.stored = true;
+                    }
+
+                    return result;
+                }
+
+                result.stored = entry.stored;
+
+                if (!entry.stored)
+                {
+                    byte[] dictionary = null;
+
+                    if (index > 0)
+                    {
+                        dictionary = ParallelZip.read(entry.file, position - ParallelZip.DICTIONARY_SIZE,
+                                                      ParallelZip.DICTIONARY_SIZE);
+                    }
+
+                    result.data = ParallelZip.deflate(level, dictionary, data, length, last);
+                }
+
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Extract zip file inside a directory, entries are extracted in parallel
+     *
+     * @param zip                  Zip file
+     * @param directoryDestination Directory where unzip
+     * @throws IOException On extracting issue
+     */
+    public void unzip(final File zip, final File directoryDestination) throws IOException
+    {
+        final String               root    = directoryDestination.getCanonicalPath() + File.separator;
+        final List<Future<Object>> futures = new ArrayList<Future<Object>>();
+
+        try (ZipFile zipFile = new ZipFile(zip))
+        {
+            final Enumeration<? extends ZipEntry> enumeration = zipFile.entries();
+            ZipEntry                              zipEntry;
+            File                                  destination;
+
+            while (enumeration.hasMoreElements())
+            {
+                zipEntry = enumeration.nextElement();
+                destination = UtilIO.obtainFile(directoryDestination, zipEntry.getName());
+
+                if (!(destination.getCanonicalPath() + File.separator).startsWith(root))
+                {
+                    throw new IOException("Entry " + zipEntry.getName() + " is outside destination directory");
+                }
+
+                // Directories are created here, so threads never create same directory at same time
+                if (zipEntry.isDirectory())
+                {
+                    if (!UtilIO.createDirectory(destination))
+                    {
+                        throw new IOException("Can't create the directory " + destination.getAbsolutePath());
+                    }
+
+                    continue;
+                }
+
+                if (!UtilIO.createFile(destination))
+                {
+                    throw new IOException("Can't create the file " + destination.getAbsolutePath());
+                }
+
+                final ZipEntry entry = zipEntry;
+                final File     file  = destination;
+                futures.add(this.executorService.submit(new Callable<Object>()
+                {
+                    /**
+                     * Extract the entry <br>
+                     * <br>
+                     * <b>Parent documentation:</b><br>
+                     * {@inheritDoc}
+                     *
+                     * @return {@code null}
+                     * @throws Exception On extracting issue
+                     * @see java.util.concurrent.Callable#call()
+                     */
+                    @Override
+                    public Object call() throws Exception
+                    {
+                        try (InputStream inputStream = zipFile.getInputStream(entry))
+                        {
+                            UtilIO.write(inputStream, file);
+                        }
+
+                        return null;
+                    }
+                }));
+            }
+
+            this.waitAll(futures);
+        }
+        finally
+        {
+            for (final Future<Object> future : futures)
+            {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Wait all tasks finished
+     *
+     * @param futures Tasks to wait
+     * @throws IOException If one task failed
+     */
+    private void waitAll(final List<Future<Object>> futures) throws IOException
+    {
+        IOException exception = null;
+
+        for (final Future<Object> future : futures)
+        {
+            try
+            {
+                future.get();
+            }
+            catch (final Exception issue)
+            {
+                if (exception == null)
+                {
+                    exception = issue instanceof ExecutionException && issue.getCause() instanceof IOException
+                                ? (IOException) issue.getCause()
+                                : new IOException("Extraction failed", issue);
+                }
+            }
+        }
+
+        if (exception != null)
+        {
+            throw exception;
+        }
+    }
+
+    /**
+     * Zip a file or directory inside a stream.<br>
+     * Only files are zipped, empty directories are not kept
+     *
+     * @param source                 File/directory to zip
+     * @param outputStreamZip        Where write the zip
+     * @param onlyContentIfDirectory Indicates to zip only directory content (not the directory itself) if the given
+     *                               file is a directory.
+     * @param level                  Compression level : {@link Deflater#NO_COMPRESSION} to
+     *                               {@link Deflater#BEST_COMPRESSION} or {@link Deflater#DEFAULT_COMPRESSION}
+     * @throws IOException On zipping issue
+     */
+    public void zip(final File source, final OutputStream outputStreamZip, final boolean onlyContentIfDirectory,
+                    final int level) throws IOException
+    {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+        {
+            throw new IllegalArgumentException("Invalid compression level " + level);
+        }
+
+        final List<Entry>                                  entries      = ParallelZip.collect(source,
+                                                                                                  onlyContentIfDirectory);
+        final CountOutputStream                            outputStream = new CountOutputStream(outputStreamZip);
+        final ArrayDeque<Pair<Entry, Future<ChunkResult>>> window       =
+                new ArrayDeque<Pair<Entry, Future<ChunkResult>>>();
+        int                                                entryIndex   = 0;
+        int                                                chunkIndex   = 0;
+        int                                                consumed     = 0;
+        Entry                                              entry;
+        Pair<Entry, Future<ChunkResult>>                   slot;
+        ChunkResult                                        result;
+
+        try
+        {
+            while (true)
+            {
+                // Launch chunks compression, in entries order, while window is not full
+                while (window.size() < this.maximumChunks && entryIndex < entries.size())
+                {
+                    entry = entries.get(entryIndex);
+
+                    if (chunkIndex == 0 && entry.chunkCount > 1)
+                    {
+                        entry.stored = level == Deflater.NO_COMPRESSION || ParallelZip.shouldStore(entry, level);
+                    }
+
+                    window.add(new Pair<Entry, Future<ChunkResult>>(entry, this.executorService.submit(
+                            ParallelZip.chunkTask(entry, chunkIndex, level))));
+                    chunkIndex++;
+
+                    if (chunkIndex >= entry.chunkCount)
+                    {
+                        entryIndex++;
+                        chunkIndex = 0;
+                    }
+                }
+
+                if (window.isEmpty())
+                {
+                    break;
+                }
+
+                slot = window.poll();
+                entry = slot.element1;
+                result = slot.element2.get();
+
+                if (entry.chunkCount == 1)
+                {
+                    entry.stored = result.stored;
+                    entry.crc = result.crc;
+                    entry.compressedSize = result.data.length;
+                    ParallelZip.writeLocalHeader(entry, outputStream);
+                    outputStream.write(result.data);
+                    continue;
+                }
+
+                entry.crc = consumed == 0
+                            ? result.crc
+                            : ParallelZip.combineCRC(entry.crc, result.crc, result.size);
+
+                if (!entry.stored)
+                {
+                    if (consumed == 0)
+                    {
+                        entry.flags |= ParallelZip.FLAG_DESCRIPTOR;
+                        ParallelZip.writeLocalHeader(entry, outputStream);
+                    }
+
+                    outputStream.write(result.data);
+                    entry.compressedSize += result.data.length;
+                }
+
+                consumed++;
+
+                if (consumed == entry.chunkCount)
+                {
+                    consumed = 0;
+
+                    if (entry.stored)
+                    {
+                        // Stored entries need the CRC before data : data is read again now CRC is known
+                        entry.compressedSize = entry.size;
+                        ParallelZip.writeLocalHeader(entry, outputStream);
+                        UtilIO.write(entry.file, outputStream);
+                    }
+                    else
+                    {
+                        ParallelZip.writeDescriptor(entry, outputStream);
+                    }
+                }
+            }
+
+            ParallelZip.writeCentralDirectory(entries, outputStream);
+            outputStream.flush();
+        }
+        catch (final ExecutionException exception)
+        {
+            if (exception.getCause() instanceof IOException)
+            {
+                throw (IOException) exception.getCause();
+            }
+
+            throw new IOException("Zip failed", exception.getCause());
+        }
+        catch (final InterruptedException exception)
+        {
+            throw new IOException("Zip interrupted", exception);
+        }
+        finally
+        {
+            for (final Pair<Entry, Future<ChunkResult>> remaining : window)
+            {
+                remaining.element2.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,3019 @@
+package jhelp.util.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import jhelp.util.io.HashmapedBinarizable.Type;
+import jhelp.util.text.UtilText;
+
+/**
+ * Same usage as {@link HashmapedBinarizable} (same methods, same {@link #convert(String, Object, Type, Type)} hook for
+ * type migration), with a more compact storage.<br>
+ * In memory, values live in typed slots: primitives are stored as raw bits in a long array, so no boxing and no element
+ * object per field. Field names are interned once for the whole application and replaced by small identifiers.<br>
+ * In the stream, each field is written as a pair (identifier, value). The name and type of a field are written only the
+ * first time the field appears in a {@link ByteArray}, next records written in the same {@link ByteArray} only refer
+ * to it. So records written in a same {@link ByteArray} must be read in the same order, from the same start.<br>
+ * Because of this stream dictionary, records are decodable only in write order : a record can't be read alone, skipped
+ * or read from the middle of a {@link ByteArray}, since it may refer to fields defined by previous records.<br>
+ * It can read data written by {@link HashmapedBinarizable}, to migrate persisted records.<br>
+ * Like {@link Binarizable} any extension of this class MUST have a default empty constructor
+ *
+ * @author JHelp
+ */
+public abstract class SchemaBinarizable
+        implements Binarizable
+{
+    /**
+     * Marker written at start of a record, can't be confused with {@link HashmapedBinarizable} format, that starts with
+     * a name length or -1
+     */
+    private static final int    MARKER       = -2;
+    /**
+     * Initial number of slots
+     */
+    private static final int    INITIAL_SIZE = 8;
+    /**
+     * All types
+     */
+    private static final Type[] TYPES        = Type.values();
+    /**
+     * Elements application identifiers
+     */
+    private int[]    identifiers;
+    /**
+     * Elements values when not primitive. {@code null} until a not primitive value is stored
+     */
+    private Object[] objects;
+    /**
+     * Elements primitive values, as raw bits
+     */
+    private long[]   primitives;
+    /**
+     * Number of elements
+     */
+    private int      size;
+    /**
+     * Elements types
+     */
+    private Type[]   types;
+
+    /**
+     * Create a new instance of SchemaBinarizable
+     */
+    public SchemaBinarizable()
+    {
+        this.identifiers = new int[SchemaBinarizable.INITIAL_SIZE];
+        this.types = new Type[SchemaBinarizable.INITIAL_SIZE];
+        this.primitives = new long[SchemaBinarizable.INITIAL_SIZE];
+        this.size = 0;
+        this.initializeFields();
+    }
+
+    /**
+     * Obtain application identifier of a name
+     *
+     * @param name Element name
+     * @return Application identifier
+     */
+    private static int identifier(final String name)
+    {
+        if (name == null)
+        {
+            throw new NullPointerException("name MUST NOT be null");
+        }
+
+        return FieldDictionary.intern(name);
+    }
+
+    /**
+     * Add an element slot
+     *
+     * @param identifier Element application identifier
+     * @return Slot index
+     */
+    private int add(final int identifier)
+    {
+        if (this.size >= this.identifiers.length)
+        {
+            final int length = this.size << 1;
+            this.identifiers = Arrays.copyOf(this.identifiers, length);
+            this.types = Arrays.copyOf(this.types, length);
+            this.primitives = Arrays.copyOf(this.primitives, length);
+
+            if (this.objects != null)
+            {
+                this.objects = Arrays.copyOf(this.objects, length);
+            }
+        }
+
+        this.identifiers[this.size] = identifier;
+        return this.size++;
+    }
+
+    /**
+     * Check if an element have the desired type. If its not the case, an exception is throw
+     *
+     * @param index Element slot index
+     * @param type  Desired type
+     * @throws IllegalArgumentException If the type didn't match
+     */
+    private void checkType(final int index, final Type type)
+    {
+        if (this.types[index] != type)
+        {
+            throw new IllegalArgumentException("The type of the element is " + this.types[index] + " not " + type);
+        }
+    }
+
+    /**
+     * Slot index of an element
+     *
+     * @param identifier Element application identifier
+     * @return Slot index or -1 if not exists
+     */
+    private int indexOf(final int identifier)
+    {
+        for (int index = this.size - 1; index >= 0; index--)
+        {
+            if (this.identifiers[index] == identifier)
+            {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Change an element slot with a not primitive value
+     *
+     * @param index Slot index
+     * @param type  Element type
+     * @param value Element value
+     */
+    private void setObject(final int index, final Type type, final Object value)
+    {
+        if (this.objects == null)
+        {
+            this.objects = new Object[this.identifiers.length];
+        }
+
+        this.types[index] = type;
+        this.primitives[index] = 0L;
+        this.objects[index] = value;
+    }
+
+    /**
+     * Change an element slot with a primitive value
+     *
+     * @param index Slot index
+     * @param type  Element type
+     * @param bits  Value raw bits
+     */
+    private void setPrimitive(final int index, final Type type, final long bits)
+    {
+        this.types[index] = type;
+        this.primitives[index] = bits;
+
+        if (this.objects != null)
+        {
+            this.objects[index] = null;
+        }
+    }
+
+    /**
+     * Element value as object, primitives are boxed.<br>
+     * Used when {@link #convert(String, Object, Type, Type)} is called
+     *
+     * @param index Slot index
+     * @return Element value
+     */
+    private Object value(final int index)
+    {
+        final long bits = this.primitives[index];
+
+        switch (this.types[index])
+        {
+            case BOOLEAN:
+                return bits != 0L;
+            case BYTE:
+                return (byte) bits;
+            case CHAR:
+                return (char) bits;
+            case DOUBLE:
+                return Double.longBitsToDouble(bits);
+            case FLOAT:
+                return Float.intBitsToFloat((int) bits);
+            case INT:
+                return (int) bits;
+            case LONG:
+                return bits;
+            case SHORT:
+                return (short) bits;
+            default:
+                return this.objects[index];
+        }
+    }
+
+    /**
+     * Called when an element is force get and the type doesn't corresponds.<br>
+     * Here have to convert the element of type to an other one.<br>
+     * If the convertion is not allowed or impossible, just return {@code null}
+     *
+     * @param name      Name of the element to convert
+     * @param value     Actual element value
+     * @param actual    Actual element type
+     * @param toConvert Desired type
+     * @return Converted value or {@code null} if convertion not allowed or impossible
+     */
+    protected abstract Object convert(String name, Object value, Type actual, Type toConvert);
+
+    /**
+     * Called at initialization, useful to initialize some element by default
+     */
+    protected abstract void initializeFields();
+
+    /**
+     * Force get a {@link Binarizable} value. If the value is not a {@link Binarizable} {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a {@link Binarizable} and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final Binarizable forceGet(final String name, final Binarizable defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.BINARIZABLE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.BINARIZABLE)
+        {
+            return (Binarizable) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.BINARIZABLE);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.BINARIZABLE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.BINARIZABLE, newValue);
+        return (Binarizable) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final Binarizable value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.BINARIZABLE, value);
+    }
+
+    /**
+     * Obtain a {@link Binarizable} element. If the element is not a {@link Binarizable} an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a {@link Binarizable}
+     */
+    protected final Binarizable get(final String name, final Binarizable defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.BINARIZABLE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.BINARIZABLE);
+
+        return (Binarizable) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final Binarizable value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.BINARIZABLE);
+        }
+
+        this.setObject(index, Type.BINARIZABLE, value);
+    }
+
+    /**
+     * Force get a {@link Binarizable Binarizable[]} value. If the value is not a {@link Binarizable Binarizable[]} {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a {@link Binarizable Binarizable[]} and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final Binarizable[] forceGet(final String name, final Binarizable[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_BINARIZABLE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.ARRAY_OF_BINARIZABLE)
+        {
+            return (Binarizable[]) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.ARRAY_OF_BINARIZABLE);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.ARRAY_OF_BINARIZABLE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.ARRAY_OF_BINARIZABLE, newValue);
+        return (Binarizable[]) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final Binarizable[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_BINARIZABLE, value);
+    }
+
+    /**
+     * Obtain a {@link Binarizable Binarizable[]} element. If the element is not a {@link Binarizable Binarizable[]} an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a {@link Binarizable Binarizable[]}
+     */
+    protected final Binarizable[] get(final String name, final Binarizable[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_BINARIZABLE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.ARRAY_OF_BINARIZABLE);
+
+        return (Binarizable[]) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final Binarizable[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.ARRAY_OF_BINARIZABLE);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_BINARIZABLE, value);
+    }
+
+    /**
+     * Force get a boolean value. If the value is not a boolean {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a boolean and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final boolean forceGet(final String name, final boolean defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.BOOLEAN, (defaultValue ? 1L : 0L));
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.BOOLEAN)
+        {
+            return this.primitives[index] != 0L;
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.BOOLEAN);
+
+        if (newValue == null)
+        {
+            this.setPrimitive(index, Type.BOOLEAN, (defaultValue ? 1L : 0L));
+
+            return defaultValue;
+        }
+
+        final boolean value = (Boolean) newValue;
+        this.setPrimitive(index, Type.BOOLEAN, (value ? 1L : 0L));
+        return value;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final boolean value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setPrimitive(index, Type.BOOLEAN, (value ? 1L : 0L));
+    }
+
+    /**
+     * Obtain a boolean element. If the element is not a boolean an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a boolean
+     */
+    protected final boolean get(final String name, final boolean defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.BOOLEAN, (defaultValue ? 1L : 0L));
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.BOOLEAN);
+
+        return this.primitives[index] != 0L;
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final boolean value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.BOOLEAN);
+        }
+
+        this.setPrimitive(index, Type.BOOLEAN, (value ? 1L : 0L));
+    }
+
+    /**
+     * Force get a boolean[] value. If the value is not a boolean[] {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a boolean[] and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final boolean[] forceGet(final String name, final boolean[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_BOOLEAN, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.ARRAY_OF_BOOLEAN)
+        {
+            return (boolean[]) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.ARRAY_OF_BOOLEAN);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.ARRAY_OF_BOOLEAN, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.ARRAY_OF_BOOLEAN, newValue);
+        return (boolean[]) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final boolean[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_BOOLEAN, value);
+    }
+
+    /**
+     * Obtain a boolean[] element. If the element is not a boolean[] an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a boolean[]
+     */
+    protected final boolean[] get(final String name, final boolean[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_BOOLEAN, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.ARRAY_OF_BOOLEAN);
+
+        return (boolean[]) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final boolean[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.ARRAY_OF_BOOLEAN);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_BOOLEAN, value);
+    }
+
+    /**
+     * Force get a byte value. If the value is not a byte {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a byte and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final byte forceGet(final String name, final byte defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.BYTE, defaultValue);
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.BYTE)
+        {
+            return (byte) this.primitives[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.BYTE);
+
+        if (newValue == null)
+        {
+            this.setPrimitive(index, Type.BYTE, defaultValue);
+
+            return defaultValue;
+        }
+
+        final byte value = (Byte) newValue;
+        this.setPrimitive(index, Type.BYTE, value);
+        return value;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final byte value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setPrimitive(index, Type.BYTE, value);
+    }
+
+    /**
+     * Obtain a byte element. If the element is not a byte an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a byte
+     */
+    protected final byte get(final String name, final byte defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.BYTE, defaultValue);
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.BYTE);
+
+        return (byte) this.primitives[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final byte value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.BYTE);
+        }
+
+        this.setPrimitive(index, Type.BYTE, value);
+    }
+
+    /**
+     * Force get a byte[] value. If the value is not a byte[] {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a byte[] and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final byte[] forceGet(final String name, final byte[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_BYTE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.ARRAY_OF_BYTE)
+        {
+            return (byte[]) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.ARRAY_OF_BYTE);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.ARRAY_OF_BYTE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.ARRAY_OF_BYTE, newValue);
+        return (byte[]) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final byte[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_BYTE, value);
+    }
+
+    /**
+     * Obtain a byte[] element. If the element is not a byte[] an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a byte[]
+     */
+    protected final byte[] get(final String name, final byte[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_BYTE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.ARRAY_OF_BYTE);
+
+        return (byte[]) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final byte[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.ARRAY_OF_BYTE);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_BYTE, value);
+    }
+
+    /**
+     * Force get a char value. If the value is not a char {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a char and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final char forceGet(final String name, final char defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.CHAR, defaultValue);
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.CHAR)
+        {
+            return (char) this.primitives[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.CHAR);
+
+        if (newValue == null)
+        {
+            this.setPrimitive(index, Type.CHAR, defaultValue);
+
+            return defaultValue;
+        }
+
+        final char value = (Character) newValue;
+        this.setPrimitive(index, Type.CHAR, value);
+        return value;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final char value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setPrimitive(index, Type.CHAR, value);
+    }
+
+    /**
+     * Obtain a char element. If the element is not a char an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a char
+     */
+    protected final char get(final String name, final char defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.CHAR, defaultValue);
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.CHAR);
+
+        return (char) this.primitives[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final char value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.CHAR);
+        }
+
+        this.setPrimitive(index, Type.CHAR, value);
+    }
+
+    /**
+     * Force get a char[] value. If the value is not a char[] {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a char[] and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final char[] forceGet(final String name, final char[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_CHAR, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.ARRAY_OF_CHAR)
+        {
+            return (char[]) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.ARRAY_OF_CHAR);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.ARRAY_OF_CHAR, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.ARRAY_OF_CHAR, newValue);
+        return (char[]) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final char[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_CHAR, value);
+    }
+
+    /**
+     * Obtain a char[] element. If the element is not a char[] an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a char[]
+     */
+    protected final char[] get(final String name, final char[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_CHAR, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.ARRAY_OF_CHAR);
+
+        return (char[]) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final char[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.ARRAY_OF_CHAR);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_CHAR, value);
+    }
+
+    /**
+     * Force get a double value. If the value is not a double {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a double and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final double forceGet(final String name, final double defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.DOUBLE, Double.doubleToRawLongBits(defaultValue));
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.DOUBLE)
+        {
+            return Double.longBitsToDouble(this.primitives[index]);
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.DOUBLE);
+
+        if (newValue == null)
+        {
+            this.setPrimitive(index, Type.DOUBLE, Double.doubleToRawLongBits(defaultValue));
+
+            return defaultValue;
+        }
+
+        final double value = (Double) newValue;
+        this.setPrimitive(index, Type.DOUBLE, Double.doubleToRawLongBits(value));
+        return value;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final double value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setPrimitive(index, Type.DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Obtain a double element. If the element is not a double an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a double
+     */
+    protected final double get(final String name, final double defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.DOUBLE, Double.doubleToRawLongBits(defaultValue));
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.DOUBLE);
+
+        return Double.longBitsToDouble(this.primitives[index]);
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final double value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.DOUBLE);
+        }
+
+        this.setPrimitive(index, Type.DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Force get a double[] value. If the value is not a double[] {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a double[] and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final double[] forceGet(final String name, final double[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_DOUBLE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.ARRAY_OF_DOUBLE)
+        {
+            return (double[]) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.ARRAY_OF_DOUBLE);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.ARRAY_OF_DOUBLE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.ARRAY_OF_DOUBLE, newValue);
+        return (double[]) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final double[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_DOUBLE, value);
+    }
+
+    /**
+     * Obtain a double[] element. If the element is not a double[] an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a double[]
+     */
+    protected final double[] get(final String name, final double[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_DOUBLE, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.ARRAY_OF_DOUBLE);
+
+        return (double[]) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final double[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.ARRAY_OF_DOUBLE);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_DOUBLE, value);
+    }
+
+    /**
+     * Force get a float value. If the value is not a float {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a float and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final float forceGet(final String name, final float defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.FLOAT, Float.floatToRawIntBits(defaultValue));
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.FLOAT)
+        {
+            return Float.intBitsToFloat((int) this.primitives[index]);
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.FLOAT);
+
+        if (newValue == null)
+        {
+            this.setPrimitive(index, Type.FLOAT, Float.floatToRawIntBits(defaultValue));
+
+            return defaultValue;
+        }
+
+        final float value = (Float) newValue;
+        this.setPrimitive(index, Type.FLOAT, Float.floatToRawIntBits(value));
+        return value;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final float value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setPrimitive(index, Type.FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    /**
+     * Obtain a float element. If the element is not a float an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a float
+     */
+    protected final float get(final String name, final float defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.FLOAT, Float.floatToRawIntBits(defaultValue));
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.FLOAT);
+
+        return Float.intBitsToFloat((int) this.primitives[index]);
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final float value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.FLOAT);
+        }
+
+        this.setPrimitive(index, Type.FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    /**
+     * Force get a float[] value. If the value is not a float[] {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a float[] and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final float[] forceGet(final String name, final float[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_FLOAT, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.ARRAY_OF_FLOAT)
+        {
+            return (float[]) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.ARRAY_OF_FLOAT);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.ARRAY_OF_FLOAT, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.ARRAY_OF_FLOAT, newValue);
+        return (float[]) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final float[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_FLOAT, value);
+    }
+
+    /**
+     * Obtain a float[] element. If the element is not a float[] an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a float[]
+     */
+    protected final float[] get(final String name, final float[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_FLOAT, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.ARRAY_OF_FLOAT);
+
+        return (float[]) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final float[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.ARRAY_OF_FLOAT);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_FLOAT, value);
+    }
+
+    /**
+     * Force get a int value. If the value is not a int {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a int and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final int forceGet(final String name, final int defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.INT, defaultValue);
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.INT)
+        {
+            return (int) this.primitives[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.INT);
+
+        if (newValue == null)
+        {
+            this.setPrimitive(index, Type.INT, defaultValue);
+
+            return defaultValue;
+        }
+
+        final int value = (Integer) newValue;
+        this.setPrimitive(index, Type.INT, value);
+        return value;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final int value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setPrimitive(index, Type.INT, value);
+    }
+
+    /**
+     * Obtain a int element. If the element is not a int an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a int
+     */
+    protected final int get(final String name, final int defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.INT, defaultValue);
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.INT);
+
+        return (int) this.primitives[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final int value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.INT);
+        }
+
+        this.setPrimitive(index, Type.INT, value);
+    }
+
+    /**
+     * Force get a int[] value. If the value is not a int[] {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a int[] and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final int[] forceGet(final String name, final int[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_INT, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.ARRAY_OF_INT)
+        {
+            return (int[]) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.ARRAY_OF_INT);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.ARRAY_OF_INT, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.ARRAY_OF_INT, newValue);
+        return (int[]) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final int[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_INT, value);
+    }
+
+    /**
+     * Obtain a int[] element. If the element is not a int[] an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a int[]
+     */
+    protected final int[] get(final String name, final int[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_INT, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.ARRAY_OF_INT);
+
+        return (int[]) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final int[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.ARRAY_OF_INT);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_INT, value);
+    }
+
+    /**
+     * Force get a long value. If the value is not a long {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a long and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final long forceGet(final String name, final long defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.LONG, defaultValue);
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.LONG)
+        {
+            return this.primitives[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.LONG);
+
+        if (newValue == null)
+        {
+            this.setPrimitive(index, Type.LONG, defaultValue);
+
+            return defaultValue;
+        }
+
+        final long value = (Long) newValue;
+        this.setPrimitive(index, Type.LONG, value);
+        return value;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final long value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setPrimitive(index, Type.LONG, value);
+    }
+
+    /**
+     * Obtain a long element. If the element is not a long an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a long
+     */
+    protected final long get(final String name, final long defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.LONG, defaultValue);
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.LONG);
+
+        return this.primitives[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final long value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.LONG);
+        }
+
+        this.setPrimitive(index, Type.LONG, value);
+    }
+
+    /**
+     * Force get a long[] value. If the value is not a long[] {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a long[] and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final long[] forceGet(final String name, final long[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_LONG, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.ARRAY_OF_LONG)
+        {
+            return (long[]) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.ARRAY_OF_LONG);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.ARRAY_OF_LONG, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.ARRAY_OF_LONG, newValue);
+        return (long[]) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final long[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_LONG, value);
+    }
+
+    /**
+     * Obtain a long[] element. If the element is not a long[] an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a long[]
+     */
+    protected final long[] get(final String name, final long[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_LONG, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.ARRAY_OF_LONG);
+
+        return (long[]) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final long[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.ARRAY_OF_LONG);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_LONG, value);
+    }
+
+    /**
+     * Force get a short value. If the value is not a short {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a short and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final short forceGet(final String name, final short defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.SHORT, defaultValue);
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.SHORT)
+        {
+            return (short) this.primitives[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.SHORT);
+
+        if (newValue == null)
+        {
+            this.setPrimitive(index, Type.SHORT, defaultValue);
+
+            return defaultValue;
+        }
+
+        final short value = (Short) newValue;
+        this.setPrimitive(index, Type.SHORT, value);
+        return value;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final short value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setPrimitive(index, Type.SHORT, value);
+    }
+
+    /**
+     * Obtain a short element. If the element is not a short an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a short
+     */
+    protected final short get(final String name, final short defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            this.setPrimitive(this.add(identifier), Type.SHORT, defaultValue);
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.SHORT);
+
+        return (short) this.primitives[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final short value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        int       index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.SHORT);
+        }
+
+        this.setPrimitive(index, Type.SHORT, value);
+    }
+
+    /**
+     * Force get a short[] value. If the value is not a short[] {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a short[] and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final short[] forceGet(final String name, final short[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_SHORT, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.ARRAY_OF_SHORT)
+        {
+            return (short[]) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.ARRAY_OF_SHORT);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.ARRAY_OF_SHORT, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.ARRAY_OF_SHORT, newValue);
+        return (short[]) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final short[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_SHORT, value);
+    }
+
+    /**
+     * Obtain a short[] element. If the element is not a short[] an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a short[]
+     */
+    protected final short[] get(final String name, final short[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_SHORT, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.ARRAY_OF_SHORT);
+
+        return (short[]) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final short[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.ARRAY_OF_SHORT);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_SHORT, value);
+    }
+
+    /**
+     * Force get a String value. If the value is not a String {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a String and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final String forceGet(final String name, final String defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.STRING, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.STRING)
+        {
+            return (String) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.STRING);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.STRING, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.STRING, newValue);
+        return (String) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final String value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.STRING, value);
+    }
+
+    /**
+     * Obtain a String element. If the element is not a String an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a String
+     */
+    protected final String get(final String name, final String defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.STRING, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.STRING);
+
+        return (String) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final String value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.STRING);
+        }
+
+        this.setObject(index, Type.STRING, value);
+    }
+
+    /**
+     * Force get a String[] value. If the value is not a String[] {@link #convert(String, Object, Type, Type)} is called to try
+     * to convert it
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if the element doesn't exist or if the type is not a String[] and the convertion
+     *                     is not allowed or impossible
+     * @return Element value
+     */
+    protected final String[] forceGet(final String name, final String[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_STRING, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        if (this.types[index] == Type.ARRAY_OF_STRING)
+        {
+            return (String[]) this.objects[index];
+        }
+
+        final Object newValue = this.convert(name, this.value(index), this.types[index], Type.ARRAY_OF_STRING);
+
+        if (newValue == null)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(index, Type.ARRAY_OF_STRING, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.setObject(index, Type.ARRAY_OF_STRING, newValue);
+        return (String[]) newValue;
+    }
+
+    /**
+     * Store/modify an element. The type is forced, that is to say it is override
+     *
+     * @param name  Element name
+     * @param value Element value
+     */
+    protected final void forcePut(final String name, final String[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_STRING, value);
+    }
+
+    /**
+     * Obtain a String[] element. If the element is not a String[] an exception is throw
+     *
+     * @param name         Element name
+     * @param defaultValue Value to return if element does'nt exist
+     * @return Element value
+     * @throws IllegalArgumentException If the element is not a String[]
+     */
+    protected final String[] get(final String name, final String[] defaultValue)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+        final int index      = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            if (defaultValue != null)
+            {
+                this.setObject(this.add(identifier), Type.ARRAY_OF_STRING, defaultValue);
+            }
+
+            return defaultValue;
+        }
+
+        this.checkType(index, Type.ARRAY_OF_STRING);
+
+        return (String[]) this.objects[index];
+    }
+
+    /**
+     * Change/define an element value. If the element already exists and the type is different, an exception is throw
+     *
+     * @param name  Element name
+     * @param value Element value
+     * @throws IllegalArgumentException If exists with an other type
+     */
+    protected final void put(final String name, final String[] value)
+    {
+        final int identifier = SchemaBinarizable.identifier(name);
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        int index = this.indexOf(identifier);
+
+        if (index < 0)
+        {
+            index = this.add(identifier);
+        }
+        else
+        {
+            this.checkType(index, Type.ARRAY_OF_STRING);
+        }
+
+        this.setObject(index, Type.ARRAY_OF_STRING, value);
+    }
+
+    /**
+     * Obtain an element type. If the element not exists, {@code null} is return
+     *
+     * @param name Element name
+     * @return Element type or {@code null} if not exists
+     */
+    protected final Type getType(final String name)
+    {
+        final int index = this.indexOf(SchemaBinarizable.identifier(name));
+
+        if (index < 0)
+        {
+            return null;
+        }
+
+        return this.types[index];
+    }
+
+    /**
+     * Remove an element
+     *
+     * @param name Element name
+     */
+    protected final void remove(final String name)
+    {
+        final int index = this.indexOf(SchemaBinarizable.identifier(name));
+
+        if (index < 0)
+        {
+            return;
+        }
+
+        this.size--;
+        this.identifiers[index] = this.identifiers[this.size];
+        this.types[index] = this.types[this.size];
+        this.primitives[index] = this.primitives[this.size];
+        this.types[this.size] = null;
+
+        if (this.objects != null)
+        {
+            this.objects[index] = this.objects[this.size];
+            this.objects[this.size] = null;
+        }
+    }
+
+    /**
+     * Parse the byte array to initialize elements values <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param byteArray Byte array to parse
+     * @throws IllegalArgumentException If the stream is corrupted. In that case the object is left empty
+     * @see jhelp.util.io.Binarizable#parseBinary(jhelp.util.io.ByteArray)
+     */
+    @Override
+    public final void parseBinary(final ByteArray byteArray)
+    {
+        this.clearElements();
+
+        try
+        {
+            final int first = byteArray.readInteger();
+
+            if (first != SchemaBinarizable.MARKER)
+            {
+                this.parseHashmapedBinarizable(byteArray, first);
+                return;
+            }
+
+            final FieldDictionary dictionary = byteArray.readDictionary();
+            final int             count      = byteArray.readUnsignedVarInteger();
+            int                   streamIdentifier;
+            int                   key;
+
+            for (int element = 0; element < count; element++)
+            {
+                streamIdentifier = byteArray.readUnsignedVarInteger();
+
+                if ((streamIdentifier & 1) == 1)
+                {
+                    final int identifier = FieldDictionary.intern(byteArray.readString());
+                    key = (identifier * SchemaBinarizable.TYPES.length) + SchemaBinarizable.readTypeOrdinal(byteArray);
+                    dictionary.define(streamIdentifier >>> 1, key);
+                }
+                else
+                {
+                    key = dictionary.key(streamIdentifier >>> 1);
+                }
+
+                this.readValue(byteArray, this.add(key / SchemaBinarizable.TYPES.length),
+                               SchemaBinarizable.TYPES[key % SchemaBinarizable.TYPES.length]);
+            }
+        }
+        catch (final Exception exception)
+        {
+            // Never expose a half filled object
+            this.clearElements();
+            throw new IllegalArgumentException("Corrupted binary stream", exception);
+        }
+    }
+
+    /**
+     * Remove all elements
+     */
+    private void clearElements()
+    {
+        if (this.objects != null)
+        {
+            Arrays.fill(this.objects, null);
+        }
+
+        Arrays.fill(this.types, null);
+        this.size = 0;
+    }
+
+    /**
+     * Parse data written by {@link HashmapedBinarizable}
+     *
+     * @param byteArray  Byte array to parse
+     * @param nameLength First name length
+     * @throws Exception If data are not valid
+     */
+    @SuppressWarnings("unchecked")
+    private void parseHashmapedBinarizable(final ByteArray byteArray, int nameLength) throws Exception
+    {
+        byte[] utf8;
+        Type   type;
+        int    index;
+
+        while (nameLength >= 0)
+        {
+            utf8 = new byte[nameLength];
+            byteArray.read(utf8);
+            type = byteArray.readEnum(Type.class);
+
+            if (type == null)
+            {
+                return;
+            }
+
+            index = this.add(FieldDictionary.intern(UtilText.readUTF8(utf8, 0, nameLength)));
+
+            if (type == Type.BINARIZABLE)
+            {
+                // HashmapedBinarizable writes a single binarizable as an array of one element
+                final Class<? extends Binarizable> clas = (Class<? extends Binarizable>) BinarizableFactory.obtainClass(
+                        byteArray.readString());
+                this.setObject(index, type, byteArray.readBinarizableArray(clas)[0]);
+            }
+            else
+            {
+                this.readValue(byteArray, index, type);
+            }
+
+            nameLength = byteArray.readInteger();
+        }
+    }
+
+    /**
+     * Read a field type ordinal and check it is a known type
+     *
+     * @param byteArray Byte array to read
+     * @return Type ordinal
+     * @throws IOException If the byte is not a known type, stream is corrupted
+     */
+    static int readTypeOrdinal(final ByteArray byteArray) throws IOException
+    {
+        final int ordinal = byteArray.read();
+
+        if ((ordinal < 0) || (ordinal >= SchemaBinarizable.TYPES.length))
+        {
+            throw new IOException("Invalid field type " + ordinal + ", stream is corrupted");
+        }
+
+        return ordinal;
+    }
+
+    /**
+     * Read an element value and store it in a slot
+     *
+     * @param byteArray Byte array to read
+     * @param index     Slot index
+     * @param type      Element type
+     * @throws Exception If data are not valid
+     */
+    @SuppressWarnings("unchecked")
+    private void readValue(final ByteArray byteArray, final int index, final Type type) throws Exception
+    {
+        Class<? extends Binarizable> clas;
+
+        switch (type)
+        {
+            case ARRAY_OF_BINARIZABLE:
+                clas = (Class<? extends Binarizable>) BinarizableFactory.obtainClass(byteArray.readString());
+                this.setObject(index, type, byteArray.readBinarizableArray(clas));
+                break;
+            case ARRAY_OF_BOOLEAN:
+                this.setObject(index, type, byteArray.readBooleanArray());
+                break;
+            case ARRAY_OF_BYTE:
+                this.setObject(index, type, byteArray.readByteArray());
+                break;
+            case ARRAY_OF_CHAR:
+                this.setObject(index, type, byteArray.readCharArray());
+                break;
+            case ARRAY_OF_DOUBLE:
+                this.setObject(index, type, byteArray.readDoubleArray());
+                break;
+            case ARRAY_OF_FLOAT:
+                this.setObject(index, type, byteArray.readFloatArray());
+                break;
+            case ARRAY_OF_INT:
+                this.setObject(index, type, byteArray.readIntegerArray());
+                break;
+            case ARRAY_OF_LONG:
+                this.setObject(index, type, byteArray.readLongArray());
+                break;
+            case ARRAY_OF_SHORT:
+                this.setObject(index, type, byteArray.readShortArray());
+                break;
+            case ARRAY_OF_STRING:
+                this.setObject(index, type, byteArray.readStringArray());
+                break;
+            case BINARIZABLE:
+                clas = (Class<? extends Binarizable>) BinarizableFactory.obtainClass(byteArray.readString());
+                this.setObject(index, type, byteArray.readBinarizable(clas));
+                break;
+            case BOOLEAN:
+                this.setPrimitive(index, type, byteArray.readBoolean()
+                                               ? 1L
+                                               : 0L);
+                break;
+            case BYTE:
+                this.setPrimitive(index, type, byteArray.readByte());
+                break;
+            case CHAR:
+                this.setPrimitive(index, type, byteArray.readChar());
+                break;
+            case DOUBLE:
+                this.setPrimitive(index, type, Double.doubleToRawLongBits(byteArray.readDouble()));
+                break;
+            case FLOAT:
+                this.setPrimitive(index, type, Float.floatToRawIntBits(byteArray.readFloat()));
+                break;
+            case INT:
+                this.setPrimitive(index, type, byteArray.readInteger());
+                break;
+            case LONG:
+                this.setPrimitive(index, type, byteArray.readLong());
+                break;
+            case SHORT:
+                this.setPrimitive(index, type, byteArray.readShort());
+                break;
+            case STRING:
+                this.setObject(index, type, byteArray.readString());
+                break;
+        }
+    }
+
+    /**
+     * Serialize elements inside a byte array <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param byteArray Byte array where write
+     * @see jhelp.util.io.Binarizable#serializeBinary(jhelp.util.io.ByteArray)
+     */
+    @Override
+    public final void serializeBinary(final ByteArray byteArray)
+    {
+        final FieldDictionary dictionary = byteArray.writeDictionary();
+        byteArray.writeInteger(SchemaBinarizable.MARKER);
+        byteArray.writeUnsignedVarInteger(this.size);
+        Type type;
+        int  key;
+        int  streamIdentifier;
+
+        for (int index = 0; index < this.size; index++)
+        {
+            type = this.types[index];
+            key = (this.identifiers[index] * SchemaBinarizable.TYPES.length) + type.ordinal();
+            streamIdentifier = dictionary.streamIdentifier(key);
+
+            if (streamIdentifier < 0)
+            {
+                // First time the field appears in the stream : define it
+                streamIdentifier = dictionary.define(key);
+                byteArray.writeUnsignedVarInteger((streamIdentifier << 1) | 1);
+                byteArray.writeString(FieldDictionary.name(this.identifiers[index]));
+                byteArray.write(type.ordinal());
+            }
+            else
+            {
+                byteArray.writeUnsignedVarInteger(streamIdentifier << 1);
+            }
+
+            this.writeValue(byteArray, index, type);
+        }
+    }
+
+    /**
+     * Write an element value
+     *
+     * @param byteArray Byte array where write
+     * @param index     Slot index
+     * @param type      Element type
+     */
+    private void writeValue(final ByteArray byteArray, final int index, final Type type)
+    {
+        final long bits = this.primitives[index];
+
+        switch (type)
+        {
+            case ARRAY_OF_BINARIZABLE:
+                byteArray.writeString(this.objects[index].getClass()
+                                                         .getComponentType()
+                                                         .getName());
+                byteArray.writeBinarizableArray((Binarizable[]) this.objects[index]);
+                break;
+            case ARRAY_OF_BOOLEAN:
+                byteArray.writeBooleanArray((boolean[]) this.objects[index]);
+                break;
+            case ARRAY_OF_BYTE:
+                byteArray.writeByteArray((byte[]) this.objects[index]);
+                break;
+            case ARRAY_OF_CHAR:
+                byteArray.writeCharArray((char[]) this.objects[index]);
+                break;
+            case ARRAY_OF_DOUBLE:
+                byteArray.writeDoubleArray((double[]) this.objects[index]);
+                break;
+            case ARRAY_OF_FLOAT:
+                byteArray.writeFloatArray((float[]) this.objects[index]);
+                break;
+            case ARRAY_OF_INT:
+                byteArray.writeIntegerArray((int[]) this.objects[index]);
+                break;
+            case ARRAY_OF_LONG:
+                byteArray.writeLongArray((long[]) this.objects[index]);
+                break;
+            case ARRAY_OF_SHORT:
+                byteArray.writeShortArray((short[]) this.objects[index]);
+                break;
+            case ARRAY_OF_STRING:
+                byteArray.writeStringArray((String[]) this.objects[index]);
+                break;
+            case BINARIZABLE:
+                byteArray.writeString(this.objects[index].getClass()
+                                                         .getName());
+                byteArray.writeBinarizable((Binarizable) this.objects[index]);
+                break;
+            case BOOLEAN:
+                byteArray.writeBoolean(bits != 0L);
+                break;
+            case BYTE:
+                byteArray.writeByte((byte) bits);
+                break;
+            case CHAR:
+                byteArray.writeChar((char) bits);
+                break;
+            case DOUBLE:
+                byteArray.writeDouble(Double.longBitsToDouble(bits));
+                break;
+            case FLOAT:
+                byteArray.writeFloat(Float.intBitsToFloat((int) bits));
+                break;
+            case INT:
+                byteArray.writeInteger((int) bits);
+                break;
+            case LONG:
+                byteArray.writeLong(bits);
+                break;
+            case SHORT:
+                byteArray.writeShort((short) bits);
+                break;
+            case STRING:
+                byteArray.writeString((String) this.objects[index]);
+                break;
+        }
+    }
+}
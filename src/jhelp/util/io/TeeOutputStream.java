@@ -0,0 +1,748 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not
+ * responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that
+ * avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ *
+ * @author JHelp
+ */
+package jhelp.util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jhelp.util.debug.Debug;
+import jhelp.util.debug.DebugLevel;
+
+/**
+ * Stream that copies what is written to a mirror stream asynchronously.<br>
+ * Written bytes go in a bounded ring buffer, a background thread drains the buffer to the mirror. The mirror is flushed
+ * only when the background thread caught up, so flushes are batched. So a slow mirror don't slow the writer, until the
+ * buffer is full : then the {@link TeeOverflowPolicy} decides what happen.<br>
+ * If the mirror fails, the error is kept (See {@link #getMirrorException()}) and next bytes are dropped, the writer is
+ * never alerted.<br>
+ * {@link #flush()} doesn't wait the mirror, use {@link #drain()} for that. {@link #close()} waits the mirror received
+ * every accepted bytes, then closes it.<br>
+ * Metrics : {@link #getLag()}, {@link #getDroppedBytes()}, {@link #getSpilledBytes()}, {@link #getWrittenBytes()}
+ *
+ * @author JHelp
+ */
+public class TeeOutputStream
+        extends OutputStream
+{
+    /**
+     * Default buffer capacity
+     */
+    public static final  int             DEFAULT_CAPACITY = 64 * 1024;
+    /**
+     * Size of chunks written to mirror
+     */
+    private static final int             CHUNK_SIZE       = 8192;
+    /**
+     * Threads that drain buffers
+     */
+    private static final ExecutorService DRAINERS         = Executors.newCachedThreadPool(
+            new DaemonThreadFactory("TeeOutputStream"));
+
+    /**
+     * Bytes accepted : put in buffer or in spill file
+     */
+    private       long              acceptedBytes;
+    /**
+     * Indicates if stream is closed
+     */
+    private       boolean           closed;
+    /**
+     * Bytes dropped
+     */
+    private       long              droppedBytes;
+    /**
+     * Bytes written to mirror and flushed
+     */
+    private       long              flushedBytes;
+    /**
+     * Number of bytes taken by the drainer but not written yet
+     */
+    private       int               inFlight;
+    /**
+     * Lock for synchronization
+     */
+    private final Object            lock;
+    /**
+     * Mirror stream
+     */
+    private final OutputStream      mirror;
+    /**
+     * First error of mirror
+     */
+    private       IOException       mirrorException;
+    /**
+     * Overflow policy
+     */
+    private final TeeOverflowPolicy policy;
+    /**
+     * Bytes taken from buffer or spill file by the drainer (written or dropped because mirror failed)
+     */
+    private       long              processedBytes;
+    /**
+     * Ring buffer
+     */
+    private final byte[]            ring;
+    /**
+     * Index of first byte in ring buffer
+     */
+    private       int               ringHead;
+    /**
+     * Number of bytes in ring buffer
+     */
+    private       int               ringSize;
+    /**
+     * Spill file access, {@code null} if not created yet
+     */
+    private       RandomAccessFile  spill;
+    /**
+     * Spill file, {@code null} if not created yet
+     */
+    private       File              spillFile;
+    /**
+     * Spill file read position
+     */
+    private       long              spillRead;
+    /**
+     * Bytes that went through spill file
+     */
+    private       long              spilledBytes;
+    /**
+     * Spill file write position
+     */
+    private       long              spillWrite;
+    /**
+     * Indicates if drainer finished (mirror closed)
+     */
+    private       boolean           terminated;
+    /**
+     * Bytes written to mirror
+     */
+    private       long              writtenBytes;
+
+    /**
+     * Create a new instance of TeeOutputStream with {@link #DEFAULT_CAPACITY} and {@link TeeOverflowPolicy#BLOCK}
+     *
+     * @param mirror Mirror stream
+     */
+    public TeeOutputStream(final OutputStream mirror)
+    {
+        this(mirror, TeeOutputStream.DEFAULT_CAPACITY, TeeOverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Create a new instance of TeeOutputStream
+     *
+     * @param mirror   Mirror stream
+     * @param capacity Buffer capacity in bytes
+     * @param policy   What to do when buffer is full
+     */
+    public TeeOutputStream(final OutputStream mirror, final int capacity, final TeeOverflowPolicy policy)
+    {
+        if (mirror == null)
+        {
+            throw new NullPointerException("mirror MUST NOT be null");
+        }
+
+        if (policy == null)
+        {
+            throw new NullPointerException("policy MUST NOT be null");
+        }
+
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("capacity MUST be at least 1, not " + capacity);
+        }
+
+        this.mirror = mirror;
+        this.policy = policy;
+        this.ring = new byte[capacity];
+        this.lock = new Object();
+        TeeOutputStream.DRAINERS.execute(new Runnable()
+        {
+            /**
+             * Drain the buffer <br>
+             * <br>
+             * <b>Parent documentation:</b><br>
+             * {@inheritDoc}
+             *
+             * @see java.lang.Runnable#run()
+             */
+            @Override
+            public void run()
+            {
+                TeeOutputStream.this.drainLoop();
+            }
+        });
+    }
+
+    /**
+     * Put bytes in ring buffer. Must be called with lock and enough room
+     *
+     * @param b   Bytes
+     * @param off Offset of first byte
+     * @param len Number of bytes
+     */
+    private void putInRing(final byte[] b, final int off, final int len)
+    {
+        final int capacity = this.ring.length;
+        final int tail     = (this.ringHead + this.ringSize) % capacity;
+        final int first    = Math.min(len, capacity - tail);
+        System.arraycopy(b, off, this.ring, tail, first);
+
+        if (first < len)
+        {
+            System.arraycopy(b, off + first, this.ring, 0, len - first);
+        }
+
+        this.ringSize += len;
+        this.acceptedBytes += len;
+        this.lock.notifyAll();
+    }
+
+    /**
+     * Take bytes from ring buffer. Must be called with lock
+     *
+     * @param chunk Array where copy bytes
+     * @return Number of bytes taken
+     */
+    private int takeFromRing(final byte[] chunk)
+    {
+        final int length = Math.min(Math.min(this.ringSize, chunk.length), this.ring.length - this.ringHead);
+        System.arraycopy(this.ring, this.ringHead, chunk, 0, length);
+        this.ringHead = (this.ringHead + length) % this.ring.length;
+        this.ringSize -= length;
+        this.lock.notifyAll();
+        return length;
+    }
+
+    /**
+     * Put bytes in spill file. Must be called with lock
+     *
+     * @param b   Bytes
+     * @param off Offset of first byte
+     * @param len Number of bytes
+     */
+    private void putInSpill(final byte[] b, final int off, final int len)
+    {
+        try
+        {
+            if (this.spill == null)
+            {
+                this.spillFile = File.createTempFile("tee", ".spill");
+                this.spillFile.deleteOnExit();
+                this.spill = new RandomAccessFile(this.spillFile, "rw");
+            }
+
+            this.spill.seek(this.spillWrite);
+            this.spill.write(b, off, len);
+            this.spillWrite += len;
+            this.spilledBytes += len;
+            this.acceptedBytes += len;
+            this.lock.notifyAll();
+        }
+        catch (final IOException exception)
+        {
+            Debug.printException(exception, "Failed to spill ", len, " bytes, they are dropped");
+            this.droppedBytes += len;
+        }
+    }
+
+    /**
+     * Take bytes from spill file. Must be called with lock
+     *
+     * @param chunk Array where copy bytes
+     * @return Number of bytes taken
+     */
+    private int takeFromSpill(final byte[] chunk)
+    {
+        final int length = (int) Math.min(chunk.length, this.spillWrite - this.spillRead);
+
+        try
+        {
+            this.spill.seek(this.spillRead);
+            this.spill.readFully(chunk, 0, length);
+        }
+        catch (final IOException exception)
+        {
+            Debug.printException(exception, "Failed to read spill file, ", length, " bytes dropped");
+            this.droppedBytes += length;
+            this.processedBytes += length;
+            this.spillRead += length;
+            return 0;
+        }
+        finally
+        {
+            this.lock.notifyAll();
+        }
+
+        this.spillRead += length;
+
+        if (this.spillRead == this.spillWrite)
+        {
+            // Spill file empty : reuse it from start
+            this.spillRead = 0;
+            this.spillWrite = 0;
+        }
+
+        return length;
+    }
+
+    /**
+     * Indicates if nothing wait to be written to mirror. Must be called with lock
+     *
+     * @return {@code true} if nothing wait
+     */
+    private boolean isEmpty()
+    {
+        return this.ringSize == 0 && this.spillWrite == this.spillRead;
+    }
+
+    /**
+     * Background loop that writes buffer to mirror
+     */
+    private void drainLoop()
+    {
+        final byte[] chunk = new byte[TeeOutputStream.CHUNK_SIZE];
+        int          length;
+        boolean      flush;
+        boolean      failed;
+
+        while (true)
+        {
+            synchronized (this.lock)
+            {
+                while (this.isEmpty() && !this.closed)
+                {
+                    try
+                    {
+                        this.lock.wait();
+                    }
+                    catch (final InterruptedException exception)
+                    {
+                        // Continue to wait, only close stops the drainer
+                    }
+                }
+
+                if (this.isEmpty())
+                {
+                    // Closed and everything written
+                    break;
+                }
+
+                length = this.ringSize > 0
+                         ? this.takeFromRing(chunk)
+                         : this.takeFromSpill(chunk);
+                this.inFlight = length;
+                failed = this.mirrorException != null;
+            }
+
+            if (!failed && length > 0)
+            {
+                try
+                {
+                    this.mirror.write(chunk, 0, length);
+                }
+                catch (final IOException exception)
+                {
+                    Debug.printException(exception, "Mirror failed, next bytes will be dropped");
+                    failed = true;
+
+                    synchronized (this.lock)
+                    {
+                        this.mirrorException = exception;
+                    }
+                }
+            }
+
+            synchronized (this.lock)
+            {
+                this.inFlight = 0;
+                this.processedBytes += length;
+
+                if (failed)
+                {
+                    this.droppedBytes += length;
+                }
+                else
+                {
+                    this.writtenBytes += length;
+                }
+
+                // Flush only when caught up, so flushes are batched
+                flush = !failed && this.isEmpty();
+                this.lock.notifyAll();
+            }
+
+            if (flush)
+            {
+                this.flushMirror();
+            }
+        }
+
+        this.flushMirror();
+
+        try
+        {
+            this.mirror.close();
+        }
+        catch (final IOException exception)
+        {
+            Debug.printException(exception, "Failed to close mirror");
+        }
+
+        synchronized (this.lock)
+        {
+            if (this.spill != null)
+            {
+                try
+                {
+                    this.spill.close();
+                }
+                catch (final IOException exception)
+                {
+                    Debug.printException(exception, "Failed to close spill file");
+                }
+
+                if (!this.spillFile.delete())
+                {
+                    Debug.println(DebugLevel.WARNING, "Failed to delete spill file ", this.spillFile.getAbsolutePath());
+                }
+            }
+
+            this.terminated = true;
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Flush the mirror and update flushed bytes count
+     */
+    private void flushMirror()
+    {
+        final long processed;
+
+        synchronized (this.lock)
+        {
+            if (this.mirrorException != null)
+            {
+                return;
+            }
+
+            processed = this.processedBytes;
+        }
+
+        try
+        {
+            this.mirror.flush();
+        }
+        catch (final IOException exception)
+        {
+            Debug.printException(exception, "Mirror flush failed, next bytes will be dropped");
+
+            synchronized (this.lock)
+            {
+                this.mirrorException = exception;
+                this.lock.notifyAll();
+            }
+
+            return;
+        }
+
+        synchronized (this.lock)
+        {
+            this.flushedBytes = processed;
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Close the stream : wait the mirror received every accepted bytes, then close the mirror <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @throws IOException If interrupted while waiting the mirror
+     * @see java.io.OutputStream#close()
+     */
+    @Override
+    public void close() throws IOException
+    {
+        synchronized (this.lock)
+        {
+            this.closed = true;
+            this.lock.notifyAll();
+
+            while (!this.terminated)
+            {
+                try
+                {
+                    this.lock.wait();
+                }
+                catch (final InterruptedException exception)
+                {
+                    throw new IOException("Interrupted while waiting the mirror", exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait until every accepted bytes are written to mirror and mirror flushed (or mirror failed)
+     *
+     * @throws IOException If interrupted while waiting
+     */
+    public void drain() throws IOException
+    {
+        synchronized (this.lock)
+        {
+            while (!this.terminated && this.mirrorException == null
+                   && (!this.isEmpty() || this.inFlight > 0 || this.flushedBytes < this.acceptedBytes))
+            {
+                try
+                {
+                    this.lock.wait();
+                }
+                catch (final InterruptedException exception)
+                {
+                    throw new IOException("Interrupted while waiting the mirror", exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flush the stream.<br>
+     * It don't wait the mirror : the mirror is flushed as soon as the background thread caught up. Use {@link #drain()}
+     * to wait the mirror <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @see java.io.OutputStream#flush()
+     */
+    @Override
+    public void flush()
+    {
+        synchronized (this.lock)
+        {
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Number of bytes dropped, because buffer was full with {@link TeeOverflowPolicy#DROP} policy or because mirror
+     * failed
+     *
+     * @return Number of bytes dropped
+     */
+    public long getDroppedBytes()
+    {
+        synchronized (this.lock)
+        {
+            return this.droppedBytes;
+        }
+    }
+
+    /**
+     * Lag : number of bytes accepted but not written to mirror yet
+     *
+     * @return Number of bytes waiting
+     */
+    public long getLag()
+    {
+        synchronized (this.lock)
+        {
+            return this.ringSize + (this.spillWrite - this.spillRead) + this.inFlight;
+        }
+    }
+
+    /**
+     * First error of mirror
+     *
+     * @return First error of mirror or {@code null} if mirror never failed
+     */
+    public IOException getMirrorException()
+    {
+        synchronized (this.lock)
+        {
+            return this.mirrorException;
+        }
+    }
+
+    /**
+     * Overflow policy
+     *
+     * @return Overflow policy
+     */
+    public TeeOverflowPolicy getPolicy()
+    {
+        return this.policy;
+    }
+
+    /**
+     * Number of bytes that went through spill file with {@link TeeOverflowPolicy#SPILL} policy
+     *
+     * @return Number of bytes spilled
+     */
+    public long getSpilledBytes()
+    {
+        synchronized (this.lock)
+        {
+            return this.spilledBytes;
+        }
+    }
+
+    /**
+     * Number of bytes written to mirror
+     *
+     * @return Number of bytes written to mirror
+     */
+    public long getWrittenBytes()
+    {
+        synchronized (this.lock)
+        {
+            return this.writtenBytes;
+        }
+    }
+
+    /**
+     * Write bytes, they will be written to mirror later <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param b   Bytes to write
+     * @param off Offset of first byte
+     * @param len Number of bytes
+     * @throws IOException If stream is closed or if interrupted while waiting room with
+     *                     {@link TeeOverflowPolicy#BLOCK} policy
+     * @see java.io.OutputStream#write(byte[], int, int)
+     */
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException
+    {
+        if ((off < 0) || (len < 0) || (off + len > b.length))
+        {
+            throw new IndexOutOfBoundsException("off=" + off + " len=" + len + " b.length=" + b.length);
+        }
+
+        synchronized (this.lock)
+        {
+            if (this.closed)
+            {
+                throw new IOException("Stream is closed");
+            }
+
+            if (this.mirrorException != null)
+            {
+                this.droppedBytes += len;
+                return;
+            }
+
+            final int capacity = this.ring.length;
+
+            switch (this.policy)
+            {
+                case BLOCK:
+                    int size;
+
+                    while (len > 0)
+                    {
+                        while (this.ringSize == capacity && this.mirrorException == null)
+                        {
+                            try
+                            {
+                                this.lock.wait();
+                            }
+                            catch (final InterruptedException exception)
+                            {
+                                throw new IOException("Interrupted while waiting room", exception);
+                            }
+                        }
+
+                        if (this.mirrorException != null)
+                        {
+                            this.droppedBytes += len;
+                            return;
+                        }
+
+                        size = Math.min(len, capacity - this.ringSize);
+                        this.putInRing(b, off, size);
+                        off += size;
+                        len -= size;
+                    }
+
+                    break;
+                case DROP:
+                    if (len > capacity - this.ringSize)
+                    {
+                        this.droppedBytes += len;
+                    }
+                    else
+                    {
+                        this.putInRing(b, off, len);
+                    }
+
+                    break;
+                case SPILL:
+                    // Once spilling started, everything goes in spill file until drained, to keep order
+                    if (this.spillWrite > this.spillRead || len > capacity - this.ringSize)
+                    {
+                        this.putInSpill(b, off, len);
+                    }
+                    else
+                    {
+                        this.putInRing(b, off, len);
+                    }
+
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Write one byte, it will be written to mirror later <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param b Byte to write
+     * @throws IOException If stream is closed or if interrupted while waiting room with
+     *                     {@link TeeOverflowPolicy#BLOCK} policy
+     * @see java.io.OutputStream#write(int)
+     */
+    @Override
+    public void write(final int b) throws IOException
+    {
+        synchronized (this.lock)
+        {
+            // Fast path : room in ring buffer and no spilled bytes waiting before this one
+            if (!this.closed && this.mirrorException == null && this.ringSize < this.ring.length
+                && this.spillWrite <= this.spillRead)
+            {
+                this.ring[(this.ringHead + this.ringSize) % this.ring.length] = (byte) b;
+                this.ringSize++;
+                this.acceptedBytes++;
+                this.lock.notifyAll();
+                return;
+            }
+        }
+
+        // Closed, failed, full or spilling : rare cases follow the general rules
+        this.write(new byte[]{(byte) b}, 0, 1);
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not
+ * responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that
+ * avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ *
+ * @author JHelp
+ */
+package jhelp.util.io;
+
+/**
+ * What a {@link TeeOutputStream} does when its buffer is full because the mirror is slower than the writer
+ *
+ * @author JHelp
+ */
+public enum TeeOverflowPolicy
+{
+    /**
+     * Writer waits until room is available. Nothing is lost, but a slow mirror ends up slowing the writer
+     */
+    BLOCK,
+    /**
+     * Writes that don't fit in buffer are dropped entirely (never cut) and counted. Writer never waits
+     */
+    DROP,
+    /**
+     * Writes that don't fit in buffer go to a temporary file, drained after the buffer. Nothing is lost and writer
+     * only waits for local disk
+     */
+    SPILL
+}
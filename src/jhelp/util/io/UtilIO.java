@@ -28,19 +28,19 @@ import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.URL;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Enumeration;
-import java.util.Stack;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 
 import jhelp.util.debug.Debug;
-import jhelp.util.io.base64.Base64InputStream;
+import jhelp.util.io.base64.Base64Common;
 import jhelp.util.io.base64.Base64OutputStream;
-import jhelp.util.list.Pair;
+import jhelp.util.io.base64.Base64Variant;
 import jhelp.util.text.StringCutter;
 import jhelp.util.text.UtilText;
 
@@ -263,7 +263,8 @@ public final class UtilIO
     }
 
     /**
-     * Compute MD5 of a file
+     * Compute MD5 of a file<br>
+     * File is read by {@link FileHasher#FILE_HASHER}
      *
      * @param file File to compute its MD5
      * @return Computed MD5
@@ -272,33 +273,7 @@ public final class UtilIO
      */
     public static String computeMD5(final File file) throws NoSuchAlgorithmException, IOException
     {
-        if ((!file.exists()) || (!file.isFile()) || (UtilIO.isVirtualLink(file)))
-        {
-            return null;
-        }
-
-        FileInputStream fileInputStream = null;
-
-        try
-        {
-            fileInputStream = new FileInputStream(file);
-
-            return UtilIO.computeMD5(fileInputStream);
-        }
-        finally
-        {
-            if (fileInputStream != null)
-            {
-                try
-                {
-                    fileInputStream.close();
-                }
-                catch (final Exception ignored)
-                {
-                    //Nothing to do
-                }
-            }
-        }
+        return FileHasher.FILE_HASHER.compute(file, FileHasher.Algorithm.MD5);
     }
 
     /**
@@ -331,7 +306,8 @@ public final class UtilIO
     }
 
     /**
-     * Compute MD5 and SHA for a file, can be us as unique ID
+     * Compute MD5 and SHA for a file, can be us as unique ID<br>
+     * File is read by {@link FileHasher#FILE_HASHER}
      *
      * @param file File to read
      * @return MD5, SHA pair unique ID of the file
@@ -340,33 +316,7 @@ public final class UtilIO
      */
     public static String computeMD5_SHA_ID(final File file) throws NoSuchAlgorithmException, IOException
     {
-        if ((!file.exists()) || (!file.isFile()) || (UtilIO.isVirtualLink(file)))
-        {
-            return null;
-        }
-
-        FileInputStream fileInputStream = null;
-
-        try
-        {
-            fileInputStream = new FileInputStream(file);
-
-            return UtilIO.computeMD5_SHA_ID(fileInputStream);
-        }
-        finally
-        {
-            if (fileInputStream != null)
-            {
-                try
-                {
-                    fileInputStream.close();
-                }
-                catch (final Exception ignored)
-                {
-                    //Nothing to do
-                }
-            }
-        }
+        return FileHasher.FILE_HASHER.compute(file, FileHasher.Algorithm.MD5_SHA_ID);
     }
 
     /**
@@ -472,7 +422,8 @@ public final class UtilIO
     }
 
     /**
-     * Compute SHA for a file
+     * Compute SHA for a file<br>
+     * File is read by {@link FileHasher#FILE_HASHER}
      *
      * @param file File to read
      * @return SHA of the file
@@ -481,33 +432,7 @@ public final class UtilIO
      */
     public static String computeSHA(final File file) throws NoSuchAlgorithmException, IOException
     {
-        if ((!file.exists()) || (!file.isFile()) || (UtilIO.isVirtualLink(file)))
-        {
-            return null;
-        }
-
-        FileInputStream fileInputStream = null;
-
-        try
-        {
-            fileInputStream = new FileInputStream(file);
-
-            return UtilIO.computeSHA(fileInputStream);
-        }
-        finally
-        {
-            if (fileInputStream != null)
-            {
-                try
-                {
-                    fileInputStream.close();
-                }
-                catch (final Exception ignored)
-                {
-                    //Nothing to do
-                }
-            }
-        }
+        return FileHasher.FILE_HASHER.compute(file, FileHasher.Algorithm.SHA);
     }
 
     /**
@@ -548,7 +473,8 @@ public final class UtilIO
     }
 
     /**
-     * Copy a file or directory. If directory, all content and sub-directory are copied
+     * Copy a file or directory. If directory, all content and sub-directory are copied.<br>
+     * Copy is done in parallel by {@link FileCopier#FILE_COPIER}
      *
      * @param source      File or directory source
      * @param destination File or directory destination
@@ -556,36 +482,25 @@ public final class UtilIO
      */
     public static void copy(final File source, final File destination) throws IOException
     {
-        final Stack<Pair<File, File>> stack = new Stack<Pair<File, File>>();
-        Pair<File, File>              pair;
-
-        stack.push(new Pair<File, File>(source, destination));
-
-        while (!stack.isEmpty())
-        {
-            pair = stack.pop();
-
-            if (!UtilIO.isVirtualLink(pair.element1))
-            {
-                if (!pair.element1.isDirectory())
-                {
-                    UtilIO.write(pair.element1, pair.element2);
-                }
-                else
-                {
-                    UtilIO.createDirectory(pair.element2);
-                    final File[] content = pair.element1.listFiles();
+        FileCopier.FILE_COPIER.copy(source, destination, false, null);
+    }
 
-                    if (content != null)
-                    {
-                        for (final File file : content)
-                        {
-                            stack.push(new Pair<File, File>(file, new File(pair.element2, file.getName())));
-                        }
-                    }
-                }
-            }
-        }
+    /**
+     * Copy a file or directory. If directory, all content and sub-directory are copied.<br>
+     * Copy is done in parallel by {@link FileCopier#FILE_COPIER}
+     *
+     * @param source       File or directory source
+     * @param destination  File or directory destination
+     * @param incremental  Indicates if files that already exists in destination with same size and last modification
+     *                     time are skipped
+     * @param copyListener Listener of copy progress, may be {@code null}
+     * @return Number of copied files
+     * @throws IOException If at least one file can't be copied, other files are copied anyway
+     */
+    public static int copy(final File source, final File destination, final boolean incremental,
+                           final CopyListener copyListener) throws IOException
+    {
+        return FileCopier.FILE_COPIER.copy(source, destination, incremental, copyListener);
     }
 
     /**
@@ -699,60 +614,14 @@ public final class UtilIO
 
     /**
      * Delete a file or a directory.<br>
-     * If it is a directory, its delete all children first
+     * If it is a directory, its delete all children first, in parallel by {@link FileCopier#FILE_COPIER}
      *
      * @param file File/directory to delete
      * @return {@code true} if succeed. {@code false} if failed, may be some deletion have happen
      */
     public static boolean delete(final File file)
     {
-        if ((file == null) || (!file.exists()))
-        {
-            return true;
-        }
-
-        if ((!UtilIO.isVirtualLink(file)) && (file.isDirectory()))
-        {
-            final File[] content = file.listFiles();
-
-            if (content != null)
-            {
-                for (final File child : content)
-                {
-                    if (!UtilIO.delete(child))
-                    {
-                        return false;
-                    }
-                }
-            }
-        }
-
-        try
-        {
-            if (file.delete())
-            {
-                return true;
-            }
-        }
-        catch (final Exception exception)
-        {
-            Debug.printException(exception, "Failed to delete : ", file.getAbsolutePath());
-
-            return false;
-        }
-
-        try
-        {
-            file.deleteOnExit();
-        }
-        catch (final Exception exception)
-        {
-            Debug.printException(exception, "Failed to delete on exit : ", file.getAbsolutePath());
-
-            return false;
-        }
-
-        return true;
+        return FileCopier.FILE_COPIER.delete(file);
     }
 
     /**
@@ -796,13 +665,22 @@ public final class UtilIO
      *
      * @param base64       Base 64 string
      * @param outputStream Stream where write
-     * @throws IOException On writing issue
+     * @throws IOException On writing issue or if base64 is not a valid base 64
      */
     public static void fromBase64(final String base64, final OutputStream outputStream) throws IOException
     {
-        final StringInputStream stringInputStream = new StringInputStream(base64);
-        final Base64InputStream base64InputStream = new Base64InputStream(stringInputStream);
-        UtilIO.write(base64InputStream, outputStream);
+        final byte[] symbols = base64.getBytes(StandardCharsets.ISO_8859_1);
+        final byte[] decoded = new byte[Base64Common.maxDecodedLength(symbols.length)];
+
+        try
+        {
+            final int length = Base64Common.decode(symbols, 0, symbols.length, decoded, 0, Base64Variant.STANDARD);
+            outputStream.write(decoded, 0, length);
+        }
+        catch (final IllegalArgumentException exception)
+        {
+            throw new IOException(exception.getMessage(), exception);
+        }
     }
 
     /**
@@ -1212,7 +1090,7 @@ public final class UtilIO
             }
 
             @SuppressWarnings("unchecked")
-            final Class<B> clas = (Class<B>) Class.forName(name);
+            final Class<B> clas = (Class<B>) BinarizableFactory.obtainClass(name);
 
             return UtilIO.readBinarizable(clas, inputStream);
         }
@@ -1552,11 +1430,13 @@ public final class UtilIO
         final StringOutputStream stringOutputStream = new StringOutputStream();
         final Base64OutputStream base64OutputStream = new Base64OutputStream(stringOutputStream);
         UtilIO.write(inputStream, base64OutputStream);
+        base64OutputStream.finish();
         return stringOutputStream.getString();
     }
 
     /**
-     * Unzip a file inside a directory
+     * Unzip a file inside a directory.<br>
+     * Entries are extracted in parallel by {@link ParallelZip#PARALLEL_ZIP}
      *
      * @param directoryDestination Directory where unzip
      * @param zip                  Zip file
@@ -1564,28 +1444,7 @@ public final class UtilIO
      */
     public static void unzip(final File directoryDestination, final File zip) throws IOException
     {
-        FileInputStream fileInputStream = null;
-
-        try
-        {
-            fileInputStream = new FileInputStream(zip);
-
-            UtilIO.unzip(directoryDestination, fileInputStream);
-        }
-        finally
-        {
-            if (fileInputStream != null)
-            {
-                try
-                {
-                    fileInputStream.close();
-                }
-                catch (final Exception ignored)
-                {
-                    //Nothing to do
-                }
-            }
-        }
+        ParallelZip.PARALLEL_ZIP.unzip(zip, directoryDestination);
     }
 
     /**
@@ -1640,54 +1499,12 @@ public final class UtilIO
      */
     public static void write(final File fileSource, final File fileDestination) throws IOException
     {
-        FileInputStream  fileInputStream  = null;
-        FileOutputStream fileOutputStream = null;
-
         if (!UtilIO.createFile(fileDestination))
         {
             throw new IOException("Can't create the file " + fileDestination.getAbsolutePath());
         }
 
-        try
-        {
-            fileInputStream = new FileInputStream(fileSource);
-            fileOutputStream = new FileOutputStream(fileDestination);
-
-            UtilIO.write(fileInputStream, fileOutputStream);
-        }
-        finally
-        {
-            if (fileOutputStream != null)
-            {
-                try
-                {
-                    fileOutputStream.flush();
-                }
-                catch (final Exception ignored)
-                {
-                    //Nothing to do
-                }
-
-                try
-                {
-                    fileOutputStream.close();
-                }
-                catch (final Exception ignored)
-                {
-                }
-            }
-
-            if (fileInputStream != null)
-            {
-                try
-                {
-                    fileInputStream.close();
-                }
-                catch (final Exception ignored)
-                {
-                }
-            }
-        }
+        FileCopier.transfer(fileSource.toPath(), fileDestination.toPath());
     }
 
     /**
@@ -1799,7 +1616,7 @@ public final class UtilIO
 
         byteArray.writeBinarizable(binarizable);
 
-        UtilIO.write(byteArray.getInputStream(), outputStream);
+        byteArray.writeTo(outputStream);
     }
 
     /**
@@ -2014,7 +1831,8 @@ public final class UtilIO
     }
 
     /**
-     * Zip a file or directory inside a stream
+     * Zip a file or directory inside a stream.<br>
+     * Files are compressed in parallel by {@link ParallelZip#PARALLEL_ZIP}
      *
      * @param source                 File/directory to zip
      * @param outputStreamZip        Where write the zip
@@ -2025,64 +1843,8 @@ public final class UtilIO
     public static void zip(final File source, final OutputStream outputStreamZip, final boolean onlyContentIfDirectory)
             throws IOException
     {
-        ZipEntry              zipEntry;
-        final ZipOutputStream zipOutputStream = new ZipOutputStream(outputStreamZip);
         // For the best compression
-        zipOutputStream.setLevel(9);
-
-        Pair<String, File>              pair  = new Pair<String, File>(source.getName(), source);
-        final Stack<Pair<String, File>> stack = new Stack<Pair<String, File>>();
-
-        stack.push(pair);
-        boolean ignore = (source.isDirectory()) && (onlyContentIfDirectory);
-
-        while (!stack.isEmpty())
-        {
-            pair = stack.pop();
-
-            if (!UtilIO.isVirtualLink(pair.element2))
-            {
-                if (pair.element2.isDirectory())
-                {
-                    final File[] content = pair.element2.listFiles();
-
-                    if (content != null)
-                    {
-                        if (!ignore)
-                        {
-                            for (final File child : content)
-                            {
-                                stack.push(new Pair<String, File>(pair.element1 + "/" + child.getName(), child));
-                            }
-                        }
-                        else
-                        {
-                            for (final File child : content)
-                            {
-                                stack.push(new Pair<String, File>(child.getName(), child));
-                            }
-                        }
-                    }
-                }
-                else if (!ignore)
-                {
-                    zipEntry = new ZipEntry(pair.element1);
-                    // For the best compression
-                    zipEntry.setMethod(ZipEntry.DEFLATED);
-
-                    zipOutputStream.putNextEntry(zipEntry);
-
-                    UtilIO.write(pair.element2, zipOutputStream);
-
-                    zipOutputStream.closeEntry();
-                }
-            }
-
-            ignore = false;
-        }
-
-        zipOutputStream.finish();
-        zipOutputStream.flush();
+        ParallelZip.PARALLEL_ZIP.zip(source, outputStreamZip, onlyContentIfDirectory, Deflater.BEST_COMPRESSION);
     }
 
     /**
@@ -5,168 +5,675 @@
  * You can use, modify, the code as your need for any usage. But you can't do any action that avoid me or other person use,
  * modify this code. The code is free for usage and modification, you can't change that fact.<br>
  * <br>
- * 
+ *
  * @author JHelp
  */
 package jhelp.util.io.base64;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import jhelp.util.debug.Debug;
-import jhelp.util.io.ByteArray;
-import jhelp.util.io.UtilIO;
 
 /**
- * Common operation/constants in Base64
- * 
+ * Common operation/constants in Base64.<br>
+ * Encoding/decoding work on whole arrays : groups of 3 bytes &lt;-&gt; 4 symbols are converted with lookup tables
+ * (See {@link Base64Variant}), 4 groups at a time
+ *
  * @author JHelp
  */
 public final class Base64Common
 {
    /** Complement for ending */
-   public static final int COMPLEMENT = '=' & 0xFF;
+   public static final int COMPLEMENT     = '=' & 0xFF;
+   /** Line separator for lined variants */
+   static final byte[]     LINE_SEPARATOR = {'\r', '\n'};
 
    /**
-    * Transform a base 64 representation to a byte array.<br>
-    * {@link #toBase64(byte[])} to revert the operation
-    * 
-    * @param base64
-    *           Base 64 representation
-    * @return Byte array
+    * Create the exception that reports the first invalid symbol
+    *
+    * @param source
+    *           Symbols
+    * @param offset
+    *           Offset where start search
+    * @param length
+    *           Number of symbols to search in
+    * @param decodeTable
+    *           Decode table
+    * @return Exception to throw
     */
-   public static byte[] fromBase64(final String base64)
+   private static IllegalArgumentException invalidSymbol(final byte[] source, final int offset, final int length,
+         final byte[] decodeTable)
    {
-      try
+      for(int index = offset, end = offset + length; index < end; index++)
       {
-         final ByteArrayInputStream stringInputStream = new ByteArrayInputStream(base64.getBytes("UTF-8"));
-         final Base64InputStream base64InputStream = new Base64InputStream(stringInputStream);
-         final ByteArray byteArray = new ByteArray();
+         if(decodeTable[source[index] & 0xFF] < 0)
+         {
+            return new IllegalArgumentException("Unexpected symbol inside the Base 64 : 0x"
+                  + Integer.toHexString(source[index] & 0xFF) + " at " + index);
+         }
+      }
+
+      return new IllegalArgumentException("Invalid Base 64");
+   }
+
+   /**
+    * Decode complete groups of 4 symbols
+    *
+    * @param source
+    *           Symbols
+    * @param offset
+    *           Offset of first symbol
+    * @param groups
+    *           Number of groups to decode
+    * @param destination
+    *           Array where write decoded bytes, must have room for 3 bytes per group
+    * @param destinationOffset
+    *           Offset where start write
+    * @param decodeTable
+    *           Decode table
+    * @throws IllegalArgumentException
+    *            If a symbol is not in alphabet
+    */
+   static void decodeGroups(final byte[] source, int offset, int groups, final byte[] destination,
+         int destinationOffset, final byte[] decodeTable)
+   {
+      int bits0, bits1, bits2, bits3;
 
-         final byte[] temp = new byte[UtilIO.BUFFER_SIZE];
-         int read = base64InputStream.read(temp);
+      while(groups >= 4)
+      {
+         bits0 = (decodeTable[source[offset] & 0xFF] << 18) | (decodeTable[source[offset + 1] & 0xFF] << 12)
+               | (decodeTable[source[offset + 2] & 0xFF] << 6) | decodeTable[source[offset + 3] & 0xFF];
+         bits1 = (decodeTable[source[offset + 4] & 0xFF] << 18) | (decodeTable[source[offset + 5] & 0xFF] << 12)
+               | (decodeTable[source[offset + 6] & 0xFF] << 6) | decodeTable[source[offset + 7] & 0xFF];
+         bits2 = (decodeTable[source[offset + 8] & 0xFF] << 18) | (decodeTable[source[offset + 9] & 0xFF] << 12)
+               | (decodeTable[source[offset + 10] & 0xFF] << 6) | decodeTable[source[offset + 11] & 0xFF];
+         bits3 = (decodeTable[source[offset + 12] & 0xFF] << 18) | (decodeTable[source[offset + 13] & 0xFF] << 12)
+               | (decodeTable[source[offset + 14] & 0xFF] << 6) | decodeTable[source[offset + 15] & 0xFF];
 
-         while(read >= 0)
+         // Invalid symbols are -1 in table, so the result is negative
+         if((bits0 | bits1 | bits2 | bits3) < 0)
          {
-            byteArray.write(temp, 0, read);
+            throw Base64Common.invalidSymbol(source, offset, 16, decodeTable);
+         }
+
+         destination[destinationOffset] = (byte) (bits0 >> 16);
+         destination[destinationOffset + 1] = (byte) (bits0 >> 8);
+         destination[destinationOffset + 2] = (byte) bits0;
+         destination[destinationOffset + 3] = (byte) (bits1 >> 16);
+         destination[destinationOffset + 4] = (byte) (bits1 >> 8);
+         destination[destinationOffset + 5] = (byte) bits1;
+         destination[destinationOffset + 6] = (byte) (bits2 >> 16);
+         destination[destinationOffset + 7] = (byte) (bits2 >> 8);
+         destination[destinationOffset + 8] = (byte) bits2;
+         destination[destinationOffset + 9] = (byte) (bits3 >> 16);
+         destination[destinationOffset + 10] = (byte) (bits3 >> 8);
+         destination[destinationOffset + 11] = (byte) bits3;
+         offset += 16;
+         destinationOffset += 12;
+         groups -= 4;
+      }
+
+      while(groups > 0)
+      {
+         bits0 = (decodeTable[source[offset] & 0xFF] << 18) | (decodeTable[source[offset + 1] & 0xFF] << 12)
+               | (decodeTable[source[offset + 2] & 0xFF] << 6) | decodeTable[source[offset + 3] & 0xFF];
 
-            read = base64InputStream.read(temp);
+         if(bits0 < 0)
+         {
+            throw Base64Common.invalidSymbol(source, offset, 4, decodeTable);
          }
 
-         base64InputStream.close();
+         destination[destinationOffset] = (byte) (bits0 >> 16);
+         destination[destinationOffset + 1] = (byte) (bits0 >> 8);
+         destination[destinationOffset + 2] = (byte) bits0;
+         offset += 4;
+         destinationOffset += 3;
+         groups--;
+      }
+   }
 
-         return byteArray.toArray();
+   /**
+    * Decode the last incomplete group
+    *
+    * @param source
+    *           Symbols
+    * @param offset
+    *           Offset of first symbol
+    * @param count
+    *           Number of symbols : 0, 2 or 3
+    * @param destination
+    *           Array where write decoded bytes
+    * @param destinationOffset
+    *           Offset where start write
+    * @param decodeTable
+    *           Decode table
+    * @return Number of written bytes
+    * @throws IllegalArgumentException
+    *            If a symbol is not in alphabet or if there only one symbol
+    */
+   static int decodeTail(final byte[] source, final int offset, final int count, final byte[] destination,
+         final int destinationOffset, final byte[] decodeTable)
+   {
+      switch(count)
+      {
+         case 0:
+            return 0;
+         case 2:
+         {
+            final int bits = (decodeTable[source[offset] & 0xFF] << 18)
+                  | (decodeTable[source[offset + 1] & 0xFF] << 12);
+
+            if(bits < 0)
+            {
+               throw Base64Common.invalidSymbol(source, offset, 2, decodeTable);
+            }
+
+            destination[destinationOffset] = (byte) (bits >> 16);
+            return 1;
+         }
+         case 3:
+         {
+            final int bits = (decodeTable[source[offset] & 0xFF] << 18)
+                  | (decodeTable[source[offset + 1] & 0xFF] << 12) | (decodeTable[source[offset + 2] & 0xFF] << 6);
+
+            if(bits < 0)
+            {
+               throw Base64Common.invalidSymbol(source, offset, 3, decodeTable);
+            }
+
+            destination[destinationOffset] = (byte) (bits >> 16);
+            destination[destinationOffset + 1] = (byte) (bits >> 8);
+            return 2;
+         }
+         default:
+            throw new IllegalArgumentException("Truncated Base 64, last group have only one symbol");
       }
-      catch(final Exception exception)
+   }
+
+   /**
+    * Encode complete groups of 3 bytes
+    *
+    * @param source
+    *           Bytes to encode
+    * @param offset
+    *           Offset of first byte
+    * @param groups
+    *           Number of groups to encode
+    * @param destination
+    *           Array where write symbols, must have room for 4 symbols per group
+    * @param destinationOffset
+    *           Offset where start write
+    * @param alphabet
+    *           Alphabet to use
+    */
+   static void encodeGroups(final byte[] source, int offset, int groups, final byte[] destination,
+         int destinationOffset, final byte[] alphabet)
+   {
+      int bits0, bits1, bits2, bits3;
+
+      while(groups >= 4)
       {
-         Debug.printException(exception, "Issue while read base 64");
+         bits0 = ((source[offset] & 0xFF) << 16) | ((source[offset + 1] & 0xFF) << 8) | (source[offset + 2] & 0xFF);
+         bits1 = ((source[offset + 3] & 0xFF) << 16) | ((source[offset + 4] & 0xFF) << 8)
+               | (source[offset + 5] & 0xFF);
+         bits2 = ((source[offset + 6] & 0xFF) << 16) | ((source[offset + 7] & 0xFF) << 8)
+               | (source[offset + 8] & 0xFF);
+         bits3 = ((source[offset + 9] & 0xFF) << 16) | ((source[offset + 10] & 0xFF) << 8)
+               | (source[offset + 11] & 0xFF);
+         destination[destinationOffset] = alphabet[bits0 >>> 18];
+         destination[destinationOffset + 1] = alphabet[(bits0 >>> 12) & 0x3F];
+         destination[destinationOffset + 2] = alphabet[(bits0 >>> 6) & 0x3F];
+         destination[destinationOffset + 3] = alphabet[bits0 & 0x3F];
+         destination[destinationOffset + 4] = alphabet[bits1 >>> 18];
+         destination[destinationOffset + 5] = alphabet[(bits1 >>> 12) & 0x3F];
+         destination[destinationOffset + 6] = alphabet[(bits1 >>> 6) & 0x3F];
+         destination[destinationOffset + 7] = alphabet[bits1 & 0x3F];
+         destination[destinationOffset + 8] = alphabet[bits2 >>> 18];
+         destination[destinationOffset + 9] = alphabet[(bits2 >>> 12) & 0x3F];
+         destination[destinationOffset + 10] = alphabet[(bits2 >>> 6) & 0x3F];
+         destination[destinationOffset + 11] = alphabet[bits2 & 0x3F];
+         destination[destinationOffset + 12] = alphabet[bits3 >>> 18];
+         destination[destinationOffset + 13] = alphabet[(bits3 >>> 12) & 0x3F];
+         destination[destinationOffset + 14] = alphabet[(bits3 >>> 6) & 0x3F];
+         destination[destinationOffset + 15] = alphabet[bits3 & 0x3F];
+         offset += 12;
+         destinationOffset += 16;
+         groups -= 4;
+      }
 
-         return null;
+      while(groups > 0)
+      {
+         bits0 = ((source[offset] & 0xFF) << 16) | ((source[offset + 1] & 0xFF) << 8) | (source[offset + 2] & 0xFF);
+         destination[destinationOffset] = alphabet[bits0 >>> 18];
+         destination[destinationOffset + 1] = alphabet[(bits0 >>> 12) & 0x3F];
+         destination[destinationOffset + 2] = alphabet[(bits0 >>> 6) & 0x3F];
+         destination[destinationOffset + 3] = alphabet[bits0 & 0x3F];
+         offset += 3;
+         destinationOffset += 4;
+         groups--;
       }
    }
 
    /**
-    * Index of a symbol
-    * 
-    * @param symbol
-    *           Symbol search
-    * @return Symbol index
+    * Encode the last incomplete group
+    *
+    * @param source
+    *           Bytes to encode
+    * @param offset
+    *           Offset of first byte
+    * @param count
+    *           Number of bytes : 0, 1 or 2
+    * @param destination
+    *           Array where write symbols
+    * @param destinationOffset
+    *           Offset where start write
+    * @param variant
+    *           Variant to use
+    * @return Number of written symbols
     */
-   public static int getIndex(final int symbol)
+   static int encodeTail(final byte[] source, final int offset, final int count, final byte[] destination,
+         final int destinationOffset, final Base64Variant variant)
    {
-      final char c = (char) symbol;
+      if(count == 0)
+      {
+         return 0;
+      }
+
+      final byte[] alphabet = variant.alphabet;
+      int bits = (source[offset] & 0xFF) << 16;
 
-      if((c >= 'A') && (c <= 'Z'))
+      if(count == 2)
       {
-         return c - 'A';
+         bits |= (source[offset + 1] & 0xFF) << 8;
       }
 
-      if((c >= 'a') && (c <= 'z'))
+      destination[destinationOffset] = alphabet[bits >>> 18];
+      destination[destinationOffset + 1] = alphabet[(bits >>> 12) & 0x3F];
+
+      if(count == 2)
       {
-         return (c - 'a') + 26;
+         destination[destinationOffset + 2] = alphabet[(bits >>> 6) & 0x3F];
+
+         if(variant.padding)
+         {
+            destination[destinationOffset + 3] = (byte) Base64Common.COMPLEMENT;
+            return 4;
+         }
+
+         return 3;
       }
 
-      if((c >= '0') && (c <= '9'))
+      if(variant.padding)
       {
-         return (c - '0') + 52;
+         destination[destinationOffset + 2] = (byte) Base64Common.COMPLEMENT;
+         destination[destinationOffset + 3] = (byte) Base64Common.COMPLEMENT;
+         return 4;
       }
 
-      if(c == '+')
+      return 2;
+   }
+
+   /**
+    * Encode bytes without line split
+    *
+    * @param source
+    *           Bytes to encode
+    * @param offset
+    *           Offset of first byte
+    * @param length
+    *           Number of bytes
+    * @param destination
+    *           Array where write symbols
+    * @param destinationOffset
+    *           Offset where start write
+    * @param variant
+    *           Variant to use
+    * @return Number of written symbols
+    */
+   private static int encodeLine(final byte[] source, final int offset, final int length, final byte[] destination,
+         final int destinationOffset, final Base64Variant variant)
+   {
+      final int groups = length / 3;
+      Base64Common.encodeGroups(source, offset, groups, destination, destinationOffset, variant.alphabet);
+      return (groups << 2)
+            + Base64Common.encodeTail(source, offset + (groups * 3), length - (groups * 3), destination,
+                  destinationOffset + (groups << 2), variant);
+   }
+
+   /**
+    * Decode symbols.<br>
+    * For {@link Base64Variant#MIME}, characters outside the alphabet are ignored. Padding is optional for all variants
+    *
+    * @param source
+    *           Symbols
+    * @param offset
+    *           Offset of first symbol
+    * @param length
+    *           Number of symbols
+    * @param destination
+    *           Array where write decoded bytes. Must have at least {@link #maxDecodedLength(int)} free bytes
+    * @param destinationOffset
+    *           Offset where start write
+    * @param variant
+    *           Variant to use
+    * @return Number of written bytes
+    * @throws IllegalArgumentException
+    *            If symbols are not a valid Base 64
+    */
+   public static int decode(byte[] source, int offset, int length, final byte[] destination,
+         final int destinationOffset, final Base64Variant variant)
+   {
+      final byte[] decodeTable = variant.decodeTable;
+
+      if(variant.isLined())
       {
-         return 62;
+         final byte[] filtered = new byte[length];
+         int count = 0;
+         byte symbol;
+
+         for(int index = offset, end = offset + length; index < end; index++)
+         {
+            symbol = source[index];
+
+            if(decodeTable[symbol & 0xFF] >= 0 || symbol == Base64Common.COMPLEMENT)
+            {
+               filtered[count++] = symbol;
+            }
+         }
+
+         source = filtered;
+         offset = 0;
+         length = count;
       }
 
-      if(c == '/')
+      int padding = 0;
+
+      while(length > 0 && padding < 2 && source[(offset + length) - 1] == Base64Common.COMPLEMENT)
       {
-         return 63;
+         length--;
+         padding++;
       }
 
-      return -1;
+      final int groups = length >> 2;
+      Base64Common.decodeGroups(source, offset, groups, destination, destinationOffset, decodeTable);
+      return (groups * 3)
+            + Base64Common.decodeTail(source, offset + (groups << 2), length & 3, destination,
+                  destinationOffset + (groups * 3), decodeTable);
    }
 
    /**
-    * Obtain a symbol
-    * 
-    * @param index
-    *           Symbol index
-    * @return The symbol
+    * Decode symbols from a buffer to an other one.<br>
+    * Source is consumed from its position to its limit, decoded bytes are put at destination position
+    *
+    * @param source
+    *           Symbols
+    * @param destination
+    *           Buffer where put decoded bytes
+    * @param variant
+    *           Variant to use
+    * @throws IllegalArgumentException
+    *            If symbols are not a valid Base 64
+    * @throws BufferOverflowException
+    *            If not enough room in destination
     */
-   public static int getSymbol(final int index)
+   public static void decode(final ByteBuffer source, final ByteBuffer destination, final Base64Variant variant)
    {
-      if((index >= 0) && (index < 26))
+      final int length = source.remaining();
+
+      if(source.hasArray() && destination.hasArray()
+            && destination.remaining() >= Base64Common.maxDecodedLength(length))
       {
-         return ('A' + index) & 0xFF;
+         final int written = Base64Common.decode(source.array(), source.arrayOffset() + source.position(), length,
+               destination.array(), destination.arrayOffset() + destination.position(), variant);
+         source.position(source.limit());
+         destination.position(destination.position() + written);
+         return;
       }
 
-      if((index >= 26) && (index < 52))
+      final byte[] symbols = new byte[length];
+      source.get(symbols);
+      final byte[] decoded = new byte[Base64Common.maxDecodedLength(length)];
+      final int written = Base64Common.decode(symbols, 0, length, decoded, 0, variant);
+
+      if(written > destination.remaining())
       {
-         return (('a' + index) - 26) & 0xFF;
+         throw new BufferOverflowException();
       }
 
-      if((index >= 52) && (index < 62))
+      destination.put(decoded, 0, written);
+   }
+
+   /**
+    * Encode bytes.<br>
+    * For {@link Base64Variant#MIME}, lines are separated by CR LF, there no separator after the last line
+    *
+    * @param source
+    *           Bytes to encode
+    * @param offset
+    *           Offset of first byte
+    * @param length
+    *           Number of bytes
+    * @param destination
+    *           Array where write symbols. Must have at least {@link #encodedLength(int, Base64Variant)} free bytes
+    * @param destinationOffset
+    *           Offset where start write
+    * @param variant
+    *           Variant to use
+    * @return Number of written symbols
+    */
+   public static int encode(final byte[] source, final int offset, final int length, final byte[] destination,
+         final int destinationOffset, final Base64Variant variant)
+   {
+      if(!variant.isLined())
       {
-         return (('0' + index) - 52) & 0xFF;
+         return Base64Common.encodeLine(source, offset, length, destination, destinationOffset, variant);
       }
 
-      if(index == 62)
+      final int lineBytes = (variant.lineLength >> 2) * 3;
+      int position = destinationOffset;
+      int size;
+
+      for(int index = 0; index < length; index += lineBytes)
       {
-         return '+' & 0xFF;
+         if(index > 0)
+         {
+            destination[position++] = Base64Common.LINE_SEPARATOR[0];
+            destination[position++] = Base64Common.LINE_SEPARATOR[1];
+         }
+
+         size = Math.min(lineBytes, length - index);
+         position += Base64Common.encodeLine(source, offset + index, size, destination, position, variant);
       }
 
-      if(index == 63)
+      return position - destinationOffset;
+   }
+
+   /**
+    * Encode bytes from a buffer to an other one.<br>
+    * Source is consumed from its position to its limit, symbols are put at destination position
+    *
+    * @param source
+    *           Bytes to encode
+    * @param destination
+    *           Buffer where put symbols
+    * @param variant
+    *           Variant to use
+    * @throws BufferOverflowException
+    *            If not enough room in destination
+    */
+   public static void encode(final ByteBuffer source, final ByteBuffer destination, final Base64Variant variant)
+   {
+      final int length = source.remaining();
+      final int encodedLength = Base64Common.encodedLength(length, variant);
+
+      if(destination.remaining() < encodedLength)
       {
-         return '/' & 0xFF;
+         throw new BufferOverflowException();
       }
 
-      return (byte) 0xFF;
+      if(source.hasArray() && destination.hasArray())
+      {
+         Base64Common.encode(source.array(), source.arrayOffset() + source.position(), length, destination.array(),
+               destination.arrayOffset() + destination.position(), variant);
+         source.position(source.limit());
+         destination.position(destination.position() + encodedLength);
+         return;
+      }
+
+      final byte[] bytes = new byte[length];
+      source.get(bytes);
+      final byte[] symbols = new byte[encodedLength];
+      Base64Common.encode(bytes, 0, length, symbols, 0, variant);
+      destination.put(symbols);
    }
 
    /**
-    * Convert a byte array to its base64 representation.<br>
-    * {@link #fromBase64(String)} to revert the operation
-    * 
-    * @param array
-    *           Array to convert
-    * @return Base 64 representation
+    * Compute the number of symbols for encode bytes
+    *
+    * @param length
+    *           Number of bytes
+    * @param variant
+    *           Variant to use
+    * @return Number of symbols (Line separators included)
+    * @throws IllegalArgumentException
+    *            If result is too big for an array
     */
-   public static String toBase64(final byte[] array)
+   public static int encodedLength(final int length, final Base64Variant variant)
    {
-      try
+      long symbols = variant.padding
+            ? ((length + 2L) / 3L) << 2
+            : ((length * 4L) + 2L) / 3L;
+
+      if(variant.isLined() && symbols > 0)
+      {
+         symbols += ((symbols - 1) / variant.lineLength) * Base64Common.LINE_SEPARATOR.length;
+      }
+
+      if(symbols > Integer.MAX_VALUE)
       {
-         final ByteArrayOutputStream stringOutputStream = new ByteArrayOutputStream();
-         final Base64OutputStream base64OutputStream = new Base64OutputStream(stringOutputStream);
+         throw new IllegalArgumentException("Too many bytes to encode : " + length);
+      }
 
-         base64OutputStream.write(array);
-         base64OutputStream.flush();
-         base64OutputStream.close();
+      return (int) symbols;
+   }
 
-         return new String(stringOutputStream.toByteArray(), "UTF-8");
+   /**
+    * Transform a base 64 representation to a byte array.<br>
+    * {@link #toBase64(byte[])} to revert the operation
+    *
+    * @param base64
+    *           Base 64 representation
+    * @return Byte array or {@code null} if base64 is not valid
+    */
+   public static byte[] fromBase64(final String base64)
+   {
+      return Base64Common.fromBase64(base64, Base64Variant.STANDARD);
+   }
+
+   /**
+    * Transform a base 64 representation to a byte array.<br>
+    * {@link #toBase64(byte[], Base64Variant)} to revert the operation
+    *
+    * @param base64
+    *           Base 64 representation
+    * @param variant
+    *           Variant to use
+    * @return Byte array or {@code null} if base64 is not valid
+    */
+   public static byte[] fromBase64(final String base64, final Base64Variant variant)
+   {
+      try
+      {
+         // Characters outside ISO-8859-1 become '?', so are reported as invalid
+         final byte[] symbols = base64.getBytes(StandardCharsets.ISO_8859_1);
+         final byte[] decoded = new byte[Base64Common.maxDecodedLength(symbols.length)];
+         final int length = Base64Common.decode(symbols, 0, symbols.length, decoded, 0, variant);
+         return Arrays.copyOf(decoded, length);
       }
       catch(final Exception exception)
       {
-         Debug.printException(exception, "Issue while convert to base 64");
+         Debug.printException(exception, "Issue while read base 64");
 
          return null;
       }
    }
-}
\ No newline at end of file
+
+   /**
+    * Index of a symbol
+    *
+    * @param symbol
+    *           Symbol search
+    * @return Symbol index
+    */
+   public static int getIndex(final int symbol)
+   {
+      if((symbol < 0) || (symbol > 0xFF))
+      {
+         return -1;
+      }
+
+      return Base64Variant.STANDARD.decodeTable[symbol];
+   }
+
+   /**
+    * Obtain a symbol
+    *
+    * @param index
+    *           Symbol index
+    * @return The symbol
+    */
+   public static int getSymbol(final int index)
+   {
+      if((index >= 0) && (index < 64))
+      {
+         return Base64Variant.STANDARD.alphabet[index] & 0xFF;
+      }
+
+      return (byte) 0xFF;
+   }
+
+   /**
+    * Maximum number of bytes decoded from symbols
+    *
+    * @param length
+    *           Number of symbols
+    * @return Maximum number of decoded bytes
+    */
+   public static int maxDecodedLength(final int length)
+   {
+      return ((length >> 2) * 3) + 2;
+   }
+
+   /**
+    * Convert a byte array to its base64 representation.<br>
+    * {@link #fromBase64(String)} to revert the operation
+    *
+    * @param array
+    *           Array to convert
+    * @return Base 64 representation
+    */
+   public static String toBase64(final byte[] array)
+   {
+      return Base64Common.toBase64(array, Base64Variant.STANDARD);
+   }
+
+   /**
+    * Convert a byte array to its base64 representation.<br>
+    * {@link #fromBase64(String, Base64Variant)} to revert the operation
+    *
+    * @param array
+    *           Array to convert
+    * @param variant
+    *           Variant to use
+    * @return Base 64 representation
+    */
+   public static String toBase64(final byte[] array, final Base64Variant variant)
+   {
+      final byte[] symbols = new byte[Base64Common.encodedLength(array.length, variant)];
+      Base64Common.encode(array, 0, array.length, symbols, 0, variant);
+      return new String(symbols, StandardCharsets.ISO_8859_1);
+   }
+}
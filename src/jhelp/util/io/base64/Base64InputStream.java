@@ -14,43 +14,147 @@ import java.io.IOException;
 import java.io.InputStream;
 
 /**
- * Read a base 64 stream
+ * Read a base 64 stream.<br>
+ * Symbols are read by blocks and decoded with {@link Base64Common}. Reading stops at the first = or at the end of the
+ * stream to read
  * 
  * @author JHelp
  */
 public class Base64InputStream
       extends InputStream
 {
-   /** First step */
-   private static final int STEP_1   = 1;
-   /** Second step */
-   private static final int STEP_2   = 2;
-   /** Third step */
-   private static final int STEP_3   = 3;
-   /** Final step */
-   private static final int STEP_END = -1;
+   /** Number of symbols read at once */
+   private static final int    BLOCK_SIZE = 4 * 1024;
+   /** Decoded bytes */
+   private final byte[]        decoded;
+   /** Number of decoded bytes */
+   private int                 decodedCount;
+   /** Index of next decoded byte to return */
+   private int                 decodedIndex;
+   /** Indicates if the end of Base 64 is reached */
+   private boolean             end;
    /** Stream to read */
-   private InputStream      inputStream;
-   /** Previous value */
-   private int              previous;
-   /** Current step */
-   private int              step;
+   private InputStream         inputStream;
+   /** Symbols read, not decoded yet */
+   private final byte[]        symbols;
+   /** Number of symbols not decoded yet */
+   private int                 symbolsCount;
+   /** Variant used */
+   private final Base64Variant variant;
 
    /**
-    * Create a new instance of Base64InputStream
+    * Create a new instance of Base64InputStream with {@link Base64Variant#STANDARD} variant
     * 
     * @param inputStream
     *           Stream to read
     */
    public Base64InputStream(final InputStream inputStream)
+   {
+      this(inputStream, Base64Variant.STANDARD);
+   }
+
+   /**
+    * Create a new instance of Base64InputStream
+    * 
+    * @param inputStream
+    *           Stream to read
+    * @param variant
+    *           Variant to use
+    */
+   public Base64InputStream(final InputStream inputStream, final Base64Variant variant)
    {
       if(inputStream == null)
       {
          throw new NullPointerException("inputStream MUST NOT be null");
       }
 
+      if(variant == null)
+      {
+         throw new NullPointerException("variant MUST NOT be null");
+      }
+
       this.inputStream = inputStream;
-      this.step = Base64InputStream.STEP_1;
+      this.variant = variant;
+      this.symbols = new byte[Base64InputStream.BLOCK_SIZE];
+      this.decoded = new byte[Base64Common.maxDecodedLength(Base64InputStream.BLOCK_SIZE)];
+   }
+
+   /**
+    * Read and decode the next block of symbols
+    * 
+    * @return {@code true} if some bytes are available. {@code false} means end of stream
+    * @throws IOException
+    *            On reading issue or if stream is not a valid Base 64
+    */
+   private boolean fill() throws IOException
+   {
+      final byte[] decodeTable = this.variant.decodeTable;
+      int read, count, groups, rest;
+
+      while(this.decodedIndex >= this.decodedCount)
+      {
+         if(this.end)
+         {
+            return false;
+         }
+
+         read = this.inputStream.read(this.symbols, this.symbolsCount, this.symbols.length - this.symbolsCount);
+
+         if(read < 0)
+         {
+            this.end = true;
+            read = 0;
+         }
+
+         count = this.symbolsCount;
+
+         for(int index = this.symbolsCount, limit = this.symbolsCount + read; index < limit; index++)
+         {
+            if(this.symbols[index] == Base64Common.COMPLEMENT)
+            {
+               this.end = true;
+               break;
+            }
+
+            if(this.variant.isLined() && decodeTable[this.symbols[index] & 0xFF] < 0)
+            {
+               // Line separators and other characters outside alphabet are ignored
+               continue;
+            }
+
+            this.symbols[count++] = this.symbols[index];
+         }
+
+         groups = count >> 2;
+         rest = count & 3;
+
+         try
+         {
+            Base64Common.decodeGroups(this.symbols, 0, groups, this.decoded, 0, decodeTable);
+            this.decodedCount = groups * 3;
+            this.decodedIndex = 0;
+
+            if(this.end)
+            {
+               this.decodedCount += Base64Common.decodeTail(this.symbols, groups << 2, rest, this.decoded,
+                     this.decodedCount, decodeTable);
+               rest = 0;
+            }
+         }
+         catch(final IllegalArgumentException exception)
+         {
+            throw new IOException(exception.getMessage(), exception);
+         }
+
+         if(rest > 0)
+         {
+            System.arraycopy(this.symbols, groups << 2, this.symbols, 0, rest);
+         }
+
+         this.symbolsCount = rest;
+      }
+
+      return true;
    }
 
    /**
@@ -69,7 +173,14 @@ public class Base64InputStream
    @Override
    public int available() throws IOException
    {
-      return this.inputStream.available();
+      final int buffered = this.decodedCount - this.decodedIndex;
+
+      if(this.end)
+      {
+         return buffered;
+      }
+
+      return buffered + (((this.symbolsCount + this.inputStream.available()) >> 2) * 3);
    }
 
    /**
@@ -134,101 +245,66 @@ public class Base64InputStream
    @Override
    public int read() throws IOException
    {
-      int read, index, actual;
-
-      switch(this.step)
+      if(!this.fill())
       {
-         case STEP_1:
-            this.step = Base64InputStream.STEP_2;
-
-            read = this.inputStream.read();
-
-            if((read < 0) || (read == Base64Common.COMPLEMENT))
-            {
-               this.step = Base64InputStream.STEP_END;
-
-               return -1;
-            }
-
-            index = Base64Common.getIndex(read);
-
-            if(index < 0)
-            {
-               throw new IOException("Unexpected symbol inside the Base 64 stream : 0x" + Integer.toHexString(read));
-            }
-
-            actual = index << 2;
-
-            read = this.inputStream.read();
-
-            if((read < 0) || (read == Base64Common.COMPLEMENT))
-            {
-               this.step = Base64InputStream.STEP_END;
-
-               return actual;
-            }
-
-            index = Base64Common.getIndex(read);
-
-            if(index < 0)
-            {
-               throw new IOException("Unexpected symbol inside the Base 64 stream : 0x" + Integer.toHexString(read));
-            }
-
-            this.previous = index & 0x0F;
-
-            return actual | ((index >> 4) & 0x03);
-         case STEP_2:
-            this.step = Base64InputStream.STEP_3;
-
-            actual = this.previous << 4;
-
-            read = this.inputStream.read();
-
-            if((read < 0) || (read == Base64Common.COMPLEMENT))
-            {
-               this.step = Base64InputStream.STEP_END;
-
-               return actual;
-            }
-
-            index = Base64Common.getIndex(read);
-
-            if(index < 0)
-            {
-               throw new IOException("Unexpected symbol inside the Base 64 stream : 0x" + Integer.toHexString(read));
-            }
-
-            this.previous = index & 0x03;
-
-            return actual | ((index >> 2) & 0x0F);
-         case STEP_3:
-            this.step = Base64InputStream.STEP_1;
+         return -1;
+      }
 
-            actual = this.previous << 6;
+      return this.decoded[this.decodedIndex++] & 0xFF;
+   }
 
-            read = this.inputStream.read();
+   /**
+    * Read some bytes <br>
+    * <br>
+    * <b>Parent documentation:</b><br>
+    * {@inheritDoc}
+    * 
+    * @param b
+    *           Array where write read bytes
+    * @param off
+    *           Offset where start write
+    * @param len
+    *           Maximum number of bytes to read
+    * @return Number of read bytes or -1 if end of stream reached
+    * @throws IOException
+    *            On reading issue
+    * @see java.io.InputStream#read(byte[], int, int)
+    */
+   @Override
+   public int read(final byte[] b, final int off, final int len) throws IOException
+   {
+      if((off < 0) || (len < 0) || (off + len > b.length))
+      {
+         throw new IndexOutOfBoundsException("off=" + off + " len=" + len + " b.length=" + b.length);
+      }
 
-            if((read < 0) || (read == Base64Common.COMPLEMENT))
-            {
-               this.step = Base64InputStream.STEP_END;
+      if(len == 0)
+      {
+         return 0;
+      }
 
-               return actual;
-            }
+      int total = 0;
+      int size;
 
-            index = Base64Common.getIndex(read);
+      while(total < len && this.fill())
+      {
+         size = Math.min(len - total, this.decodedCount - this.decodedIndex);
+         System.arraycopy(this.decoded, this.decodedIndex, b, off + total, size);
+         this.decodedIndex += size;
+         total += size;
 
-            if(index < 0)
-            {
-               throw new IOException("Unexpected symbol inside the Base 64 stream : 0x" + Integer.toHexString(read));
-            }
+         if(!this.end && this.inputStream.available() <= 0)
+         {
+            break;
+         }
+      }
 
-            return actual | (index & 0x1F);
-         case STEP_END:
-            return -1;
+      if(total == 0)
+      {
+         return -1;
       }
 
-      return -1;
+      return total;
    }
 
    /**
@@ -262,22 +338,17 @@ public class Base64InputStream
    @Override
    public long skip(long n) throws IOException
    {
-      int read;
       long skip = 0;
+      int size;
 
-      while(n > 0)
+      while(n > 0 && this.fill())
       {
-         read = this.read();
-
-         if(read < 0)
-         {
-            break;
-         }
-
-         skip++;
-         n--;
+         size = (int) Math.min(n, this.decodedCount - this.decodedIndex);
+         this.decodedIndex += size;
+         skip += size;
+         n -= size;
       }
 
       return skip;
    }
-}
\ No newline at end of file
+}
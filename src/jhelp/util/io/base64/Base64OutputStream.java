@@ -16,41 +16,159 @@ import java.io.OutputStream;
 import jhelp.util.debug.Debug;
 
 /**
- * Stream for write in Base 64
+ * Stream for write in Base 64.<br>
+ * Written bytes are buffered and encoded by blocks with {@link Base64Common}. The last incomplete group is written
+ * (with padding) by {@link #finish()} or {@link #close()}
  * 
  * @author JHelp
  */
 public class Base64OutputStream
       extends OutputStream
 {
-   /** First step */
-   private static final int STEP_1 = 1;
-   /** Second step */
-   private static final int STEP_2 = 2;
-   /** Third step */
-   private static final int STEP_3 = 3;
+   /** Number of bytes encoded at once */
+   private static final int    BLOCK_SIZE = 3 * 1024;
+   /** Indicates if stream is finished */
+   private boolean             finished;
+   /** Bytes waiting to be encoded */
+   private final byte[]        input;
+   /** Number of bytes waiting to be encoded */
+   private int                 inputCount;
+   /** Current line length, for lined variants */
+   private int                 lineColumn;
+   /** Lined symbols, for lined variants */
+   private final byte[]        lined;
    /** Stream where write */
-   private OutputStream     outputStream;
-   /** Previous value */
-   private int              previous;
-   /** current step */
-   private int              step;
+   private OutputStream        outputStream;
+   /** Encoded symbols */
+   private final byte[]        symbols;
+   /** Variant used */
+   private final Base64Variant variant;
 
    /**
-    * Create a new instance of Base64OutputStream
+    * Create a new instance of Base64OutputStream with {@link Base64Variant#STANDARD} variant
     * 
     * @param outputStream
     *           Stream where write
     */
    public Base64OutputStream(final OutputStream outputStream)
+   {
+      this(outputStream, Base64Variant.STANDARD);
+   }
+
+   /**
+    * Create a new instance of Base64OutputStream
+    * 
+    * @param outputStream
+    *           Stream where write
+    * @param variant
+    *           Variant to use
+    */
+   public Base64OutputStream(final OutputStream outputStream, final Base64Variant variant)
    {
       if(outputStream == null)
       {
          throw new NullPointerException("outputStream MUST NOT be null");
       }
 
+      if(variant == null)
+      {
+         throw new NullPointerException("variant MUST NOT be null");
+      }
+
       this.outputStream = outputStream;
-      this.step = Base64OutputStream.STEP_1;
+      this.variant = variant;
+      this.input = new byte[Base64OutputStream.BLOCK_SIZE];
+      this.symbols = new byte[(Base64OutputStream.BLOCK_SIZE / 3) << 2];
+
+      if(variant.isLined())
+      {
+         this.lined = new byte[this.symbols.length
+               + ((this.symbols.length / variant.lineLength) + 1) * Base64Common.LINE_SEPARATOR.length];
+      }
+      else
+      {
+         this.lined = null;
+      }
+   }
+
+   /**
+    * Encode the complete groups waiting
+    * 
+    * @throws IOException
+    *            On writing issue
+    */
+   private void encodeBlock() throws IOException
+   {
+      final int groups = this.inputCount / 3;
+
+      if(groups == 0)
+      {
+         return;
+      }
+
+      Base64Common.encodeGroups(this.input, 0, groups, this.symbols, 0, this.variant.alphabet);
+      this.writeSymbols(groups << 2);
+      final int used = groups * 3;
+      this.inputCount -= used;
+
+      if(this.inputCount > 0)
+      {
+         System.arraycopy(this.input, used, this.input, 0, this.inputCount);
+      }
+   }
+
+   /**
+    * Check that stream can be written
+    * 
+    * @throws IOException
+    *            If stream is finished or closed
+    */
+   private void checkWritable() throws IOException
+   {
+      if(this.finished)
+      {
+         throw new IOException("Base 64 stream is finished");
+      }
+   }
+
+   /**
+    * Write encoded symbols, add line separators for lined variants
+    * 
+    * @param count
+    *           Number of symbols to write
+    * @throws IOException
+    *            On writing issue
+    */
+   private void writeSymbols(final int count) throws IOException
+   {
+      if(!this.variant.isLined())
+      {
+         this.outputStream.write(this.symbols, 0, count);
+         return;
+      }
+
+      final int lineLength = this.variant.lineLength;
+      int read = 0;
+      int write = 0;
+      int size;
+
+      while(read < count)
+      {
+         if(this.lineColumn == lineLength)
+         {
+            this.lined[write++] = Base64Common.LINE_SEPARATOR[0];
+            this.lined[write++] = Base64Common.LINE_SEPARATOR[1];
+            this.lineColumn = 0;
+         }
+
+         size = Math.min(lineLength - this.lineColumn, count - read);
+         System.arraycopy(this.symbols, read, this.lined, write, size);
+         read += size;
+         write += size;
+         this.lineColumn += size;
+      }
+
+      this.outputStream.write(this.lined, 0, write);
    }
 
    /**
@@ -66,19 +184,18 @@ public class Base64OutputStream
    @Override
    public void close() throws IOException
    {
+      if(this.outputStream == null)
+      {
+         return;
+      }
+
       IOException ioException = null;
 
       try
       {
-         switch(this.step)
+         if(!this.finished)
          {
-            case STEP_2:
-               this.outputStream.write(Base64Common.COMPLEMENT);
-               // No break
-            case STEP_3:
-               this.outputStream.write(Base64Common.COMPLEMENT);
-               this.outputStream.write(Base64Common.COMPLEMENT);
-            break;
+            this.finish();
          }
 
          this.outputStream.flush();
@@ -119,6 +236,7 @@ public class Base64OutputStream
       }
 
       this.outputStream = null;
+      this.finished = true;
 
       if(ioException != null)
       {
@@ -127,7 +245,30 @@ public class Base64OutputStream
    }
 
    /**
-    * Flush the stream <br>
+    * Write the waiting bytes with the need = without closing the stream where write.<br>
+    * Nothing can be written after
+    * 
+    * @throws IOException
+    *            On writing issue
+    */
+   public void finish() throws IOException
+   {
+      this.checkWritable();
+      this.encodeBlock();
+      final int count = Base64Common.encodeTail(this.input, 0, this.inputCount, this.symbols, 0, this.variant);
+      this.inputCount = 0;
+
+      if(count > 0)
+      {
+         this.writeSymbols(count);
+      }
+
+      this.finished = true;
+   }
+
+   /**
+    * Flush the stream.<br>
+    * Complete groups of 3 bytes are encoded, the last incomplete group wait more bytes or {@link #finish()}<br>
     * <br>
     * <b>Parent documentation:</b><br>
     * {@inheritDoc}
@@ -139,47 +280,78 @@ public class Base64OutputStream
    @Override
    public void flush() throws IOException
    {
+      if(!this.finished)
+      {
+         this.encodeBlock();
+      }
+
       this.outputStream.flush();
    }
 
    /**
-    * Write one byte <br>
+    * Write bytes <br>
     * <br>
     * <b>Parent documentation:</b><br>
     * {@inheritDoc}
     * 
     * @param b
-    *           Byte to write
+    *           Bytes to write
+    * @param off
+    *           Offset of first byte
+    * @param len
+    *           Number of bytes
     * @throws IOException
     *            On writing issue
-    * @see java.io.OutputStream#write(int)
+    * @see java.io.OutputStream#write(byte[], int, int)
     */
    @Override
-   public void write(final int b) throws IOException
+   public void write(final byte[] b, int off, int len) throws IOException
    {
-      switch(this.step)
-      {
-         case STEP_1:
-            this.outputStream.write(Base64Common.getSymbol((b >> 2) & 0x1F));
+      this.checkWritable();
 
-            this.previous = b & 0x03;
+      if((off < 0) || (len < 0) || (off + len > b.length))
+      {
+         throw new IndexOutOfBoundsException("off=" + off + " len=" + len + " b.length=" + b.length);
+      }
 
-            this.step = Base64OutputStream.STEP_2;
-         break;
-         case STEP_2:
-            this.outputStream.write(Base64Common.getSymbol((this.previous << 4) | ((b >> 4) & 0x0F)));
+      int size;
 
-            this.previous = b & 0x0F;
+      while(len > 0)
+      {
+         size = Math.min(len, Base64OutputStream.BLOCK_SIZE - this.inputCount);
+         System.arraycopy(b, off, this.input, this.inputCount, size);
+         this.inputCount += size;
+         off += size;
+         len -= size;
 
-            this.step = Base64OutputStream.STEP_3;
-         break;
-         case STEP_3:
-            this.outputStream.write(Base64Common.getSymbol((this.previous << 2) | ((b >> 6) & 0x03)));
+         if(this.inputCount == Base64OutputStream.BLOCK_SIZE)
+         {
+            this.encodeBlock();
+         }
+      }
+   }
 
-            this.outputStream.write(Base64Common.getSymbol(b & 0x1F));
+   /**
+    * Write one byte <br>
+    * <br>
+    * <b>Parent documentation:</b><br>
+    * {@inheritDoc}
+    * 
+    * @param b
+    *           Byte to write
+    * @throws IOException
+    *            On writing issue
+    * @see java.io.OutputStream#write(int)
+    */
+   @Override
+   public void write(final int b) throws IOException
+   {
+      this.checkWritable();
+      this.input[this.inputCount++] = (byte) b;
 
-            this.step = Base64OutputStream.STEP_1;
-         break;
+      if(this.inputCount == Base64OutputStream.BLOCK_SIZE)
+      {
+         this.encodeBlock();
       }
    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ *
+ * @author JHelp
+ */
+package jhelp.util.io.base64;
+
+/**
+ * Base 64 variants (RFC 4648 and RFC 2045)
+ *
+ * @author JHelp
+ */
+public enum Base64Variant
+{
+   /** Standard alphabet (+ and /) with = padding */
+   STANDARD('+', '/', true, 0),
+   /** URL and file name safe alphabet (- and _) without padding. Decoding accepts padding */
+   URL_SAFE('-', '_', false, 0),
+   /**
+    * MIME : standard alphabet with = padding, lines of 76 characters separated by CR LF. Decoding ignores characters
+    * outside the alphabet
+    */
+   MIME('+', '/', true, 76);
+
+   /** Symbol of each 6 bits value */
+   final byte[]   alphabet;
+   /** 6 bits value of each symbol, -1 for characters outside the alphabet */
+   final byte[]   decodeTable;
+   /** Maximum number of characters per line, 0 for no lines */
+   final int      lineLength;
+   /** Indicates if encoded text is padded with = */
+   final boolean  padding;
+
+   /**
+    * Create a new instance of Base64Variant
+    *
+    * @param symbol62
+    *           Symbol of value 62
+    * @param symbol63
+    *           Symbol of value 63
+    * @param padding
+    *           Indicates if encoded text is padded with =
+    * @param lineLength
+    *           Maximum number of characters per line, 0 for no lines
+    */
+   Base64Variant(final char symbol62, final char symbol63, final boolean padding, final int lineLength)
+   {
+      this.padding = padding;
+      this.lineLength = lineLength;
+      this.alphabet = new byte[64];
+      this.decodeTable = new byte[256];
+
+      for(int index = 0; index < 26; index++)
+      {
+         this.alphabet[index] = (byte) ('A' + index);
+         this.alphabet[index + 26] = (byte) ('a' + index);
+      }
+
+      for(int index = 0; index < 10; index++)
+      {
+         this.alphabet[index + 52] = (byte) ('0' + index);
+      }
+
+      this.alphabet[62] = (byte) symbol62;
+      this.alphabet[63] = (byte) symbol63;
+
+      for(int index = 0; index < 256; index++)
+      {
+         this.decodeTable[index] = -1;
+      }
+
+      for(int index = 0; index < 64; index++)
+      {
+         this.decodeTable[this.alphabet[index] & 0xFF] = (byte) index;
+      }
+   }
+
+   /**
+    * Indicates if encoded text is split in lines
+    *
+    * @return {@code true} if encoded text is split in lines
+    */
+   public boolean isLined()
+   {
+      return this.lineLength > 0;
+   }
+
+   /**
+    * Indicates if encoded text is padded with =
+    *
+    * @return {@code true} if encoded text is padded with =
+    */
+   public boolean isPadded()
+   {
+      return this.padding;
+   }
+}
@@ -20,7 +20,6 @@
  */
 package jhelp.util.io.json;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
@@ -32,7 +31,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import jhelp.util.HashCode;
-import jhelp.util.list.Pair;
+import jhelp.util.debug.Debug;
 import jhelp.util.text.UtilText;
 
 /**
@@ -44,6 +43,14 @@ import jhelp.util.text.UtilText;
 public class ArrayJSON
         implements Iterable<ValueJSON>
 {
+    /**
+     * Index where read the values in lazy mode. {@code null} if values are read
+     */
+    private       JSONIndex       index;
+    /**
+     * Array entry in {@link #index}
+     */
+    private       int             indexEntry;
     /**
      * List of values
      */
@@ -58,72 +65,89 @@ public class ArrayJSON
     }
 
     /**
-     * Parse array from stream
+     * Create a new instance of ArrayJSON in lazy mode.<br>
+     * Values are read from the index the first time they are accessed
      *
-     * @param inputStream Stream to parse
-     * @return Read array
-     * @throws IOException On reading issue
+     * @param index      Index where read the values
+     * @param indexEntry Array entry in index
      */
-    public static ArrayJSON parse(final InputStream inputStream) throws IOException
+    ArrayJSON(final JSONIndex index, final int indexEntry)
     {
-        final StringBuilder  stringBuilder  = new StringBuilder();
-        final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream));
-        String               line           = bufferedReader.readLine();
+        this.values = new ArrayList<ValueJSON>();
+        this.index = index;
+        this.indexEntry = indexEntry;
+    }
 
-        while (line != null)
+    /**
+     * Parse a UTF-8 document in lazy mode. See {@link ObjectJSON#parseLazy(byte[])}.<br>
+     * It returns {@code null} if the document is not a JSON array
+     *
+     * @param data Document in UTF-8
+     * @return Array read OR {@code null} if document is not a JSON array
+     */
+    public static ArrayJSON parseLazy(final byte[] data)
+    {
+        try
         {
-            stringBuilder.append(line);
-            stringBuilder.append('\n');
-            line = bufferedReader.readLine();
-        }
+            final JSONIndex index = JSONIndex.index(data, data.length);
+            final int       entry = index.rootEntry();
 
-        line = stringBuilder.toString()
-                            .trim();
-        final Pair<ArrayJSON, Integer> pair = ArrayJSON.parse(line, 0, line.length() - 1);
+            if (entry < 0 || index.isObject(entry))
+            {
+                return null;
+            }
 
-        if (pair == null)
+            return new ArrayJSON(index, entry);
+        }
+        catch (final JSONException exception)
         {
+            Debug.printException(exception, "Not a valid JSON array");
             return null;
         }
-
-        return pair.element1;
     }
 
     /**
-     * Parse a part of String to JSON array and next index to read.<br>
-     * It returns {@code null} if String part not a JSON array
+     * Parse array from stream.<br>
+     * It returns {@code null} if stream not contains a JSON array
      *
-     * @param string String to parse
-     * @param first  First index for start parse
-     * @param last   Last index for end parse
-     * @return JSON array and next index OR {@code null} if String part not a JSON array
+     * @param inputStream Stream to parse
+     * @return Read array OR {@code null} if stream not contains a JSON array
+     * @throws IOException On reading issue
      */
-    static Pair<ArrayJSON, Integer> parse(final String string, int first, int last)
+    public static ArrayJSON parse(final InputStream inputStream) throws IOException
     {
-        first = string.indexOf('[', first);
-        last = string.lastIndexOf(']', last);
+        final JSONParser jsonParser = new JSONParser(new InputStreamReader(inputStream));
+
+        try
+        {
+            if (jsonParser.next() != JSONEvent.START_ARRAY)
+            {
+                return null;
+            }
 
-        if ((first < 0) || (last < 0) || (first >= last))
+            return jsonParser.readArray();
+        }
+        catch (final JSONException exception)
         {
+            Debug.printException(exception, "Not a valid JSON array");
             return null;
         }
+    }
 
-        final ArrayJSON arrayJSON = new ArrayJSON();
-
-        while ((first >= 0) && (first < last))
+    /**
+     * Values, read from the index if lazy mode and not already done
+     *
+     * @return Values
+     */
+    private List<ValueJSON> values()
+    {
+        if (this.index != null)
         {
-            final Pair<ValueJSON, Integer> pair = ValueJSON.parse(string, first + 1, last);
-
-            if (pair == null)
-            {
-                break;
-            }
-
-            arrayJSON.addValue(pair.element1);
-            first = string.indexOf(',', pair.element2);
+            this.index.fillArray(this.indexEntry, this.values);
+            this.index = null;
         }
 
-        return new Pair<ArrayJSON, Integer>(arrayJSON, last);
+        return this.values;
     }
 
     /**
@@ -138,7 +162,7 @@ public class ArrayJSON
             throw new NullPointerException("value MUST NOT be null");
         }
 
-        this.values.add(value);
+        this.values().add(value);
     }
 
     /**
@@ -150,11 +174,11 @@ public class ArrayJSON
     {
         if (value)
         {
-            this.values.add(ValueJSON.TRUE);
+            this.values().add(ValueJSON.TRUE);
         }
         else
         {
-            this.values.add(ValueJSON.FALSE);
+            this.values().add(ValueJSON.FALSE);
         }
     }
 
@@ -165,7 +189,7 @@ public class ArrayJSON
      */
     public void addValue(final int value)
     {
-        this.values.add(ValueJSON.newValue(value));
+        this.values().add(ValueJSON.newValue(value));
     }
 
     /**
@@ -175,7 +199,7 @@ public class ArrayJSON
      */
     public void addValue(final long value)
     {
-        this.values.add(ValueJSON.newValue(value));
+        this.values().add(ValueJSON.newValue(value));
     }
 
     /**
@@ -185,7 +209,7 @@ public class ArrayJSON
      */
     public void addValue(final float value)
     {
-        this.values.add(ValueJSON.newValue(value));
+        this.values().add(ValueJSON.newValue(value));
     }
 
     /**
@@ -195,7 +219,7 @@ public class ArrayJSON
      */
     public void addValue(final double value)
     {
-        this.values.add(ValueJSON.newValue(value));
+        this.values().add(ValueJSON.newValue(value));
     }
 
     /**
@@ -207,11 +231,11 @@ public class ArrayJSON
     {
         if (value == null)
         {
-            this.values.add(ValueJSON.NULL);
+            this.values().add(ValueJSON.NULL);
         }
         else
         {
-            this.values.add(ValueJSON.newValue(value));
+            this.values().add(ValueJSON.newValue(value));
         }
     }
 
@@ -224,11 +248,11 @@ public class ArrayJSON
     {
         if (value == null)
         {
-            this.values.add(ValueJSON.NULL);
+            this.values().add(ValueJSON.NULL);
         }
         else
         {
-            this.values.add(ValueJSON.newValue(value));
+            this.values().add(ValueJSON.newValue(value));
         }
     }
 
@@ -241,11 +265,11 @@ public class ArrayJSON
     {
         if (value == null)
         {
-            this.values.add(ValueJSON.NULL);
+            this.values().add(ValueJSON.NULL);
         }
         else
         {
-            this.values.add(ValueJSON.newValue(value));
+            this.values().add(ValueJSON.newValue(value));
         }
     }
 
@@ -254,7 +278,7 @@ public class ArrayJSON
      */
     public void clear()
     {
-        this.values.clear();
+        this.values().clear();
     }
 
     /**
@@ -265,7 +289,7 @@ public class ArrayJSON
      */
     public ValueJSON getValue(final int index)
     {
-        return this.values.get(index);
+        return this.values().get(index);
     }
 
     /**
@@ -276,8 +300,8 @@ public class ArrayJSON
      */
     public boolean getBoolean(int index)
     {
-        return this.values.get(index)
-                          .getBoolean();
+        return this.values().get(index)
+                            .getBoolean();
     }
 
     /**
@@ -288,8 +312,8 @@ public class ArrayJSON
      */
     public int getInt(int index)
     {
-        return (int) this.values.get(index)
-                                .getNumber();
+        return (int) this.values().get(index)
+                                  .getNumber();
     }
 
     /**
@@ -300,8 +324,8 @@ public class ArrayJSON
      */
     public long getLong(int index)
     {
-        return (long) this.values.get(index)
-                                 .getNumber();
+        return (long) this.values().get(index)
+                                   .getNumber();
     }
 
     /**
@@ -312,8 +336,8 @@ public class ArrayJSON
      */
     public float getFloat(int index)
     {
-        return (float) this.values.get(index)
-                                  .getNumber();
+        return (float) this.values().get(index)
+                                    .getNumber();
     }
 
     /**
@@ -324,8 +348,8 @@ public class ArrayJSON
      */
     public double getDouble(int index)
     {
-        return this.values.get(index)
-                          .getNumber();
+        return this.values().get(index)
+                            .getNumber();
     }
 
     /**
@@ -336,7 +360,7 @@ public class ArrayJSON
      */
     public String getString(int index)
     {
-        ValueJSON valueJSON = this.values.get(index);
+        ValueJSON valueJSON = this.values().get(index);
 
         if (valueJSON.isNull())
         {
@@ -354,7 +378,7 @@ public class ArrayJSON
      */
     public ObjectJSON getObject(int index)
     {
-        ValueJSON valueJSON = this.values.get(index);
+        ValueJSON valueJSON = this.values().get(index);
 
         if (valueJSON.isNull())
         {
@@ -372,7 +396,7 @@ public class ArrayJSON
      */
     public ArrayJSON getArray(int index)
     {
-        ValueJSON valueJSON = this.values.get(index);
+        ValueJSON valueJSON = this.values().get(index);
 
         if (valueJSON.isNull())
         {
@@ -390,8 +414,8 @@ public class ArrayJSON
      */
     public boolean isNull(int index)
     {
-        return this.values.get(index)
-                          .isNull();
+        return this.values().get(index)
+                            .isNull();
     }
 
     /**
@@ -406,7 +430,7 @@ public class ArrayJSON
     @Override
     public int hashCode()
     {
-        return HashCode.computeHashCode(this.values);
+        return HashCode.computeHashCode(this.values());
     }
 
     /**
@@ -439,17 +463,17 @@ public class ArrayJSON
 
         final ArrayJSON array = (ArrayJSON) object;
 
-        final int length = this.values.size();
+        final int length = this.values().size();
 
-        if (length != array.values.size())
+        if (length != array.values().size())
         {
             return false;
         }
 
         for (int i = 0; i < length; i++)
         {
-            if (!this.values.get(i)
-                            .equals(array.values.get(i)))
+            if (!this.values().get(i)
+                              .equals(array.values().get(i)))
             {
                 return false;
             }
@@ -474,16 +498,16 @@ public class ArrayJSON
 
         stringBuilder.append('[');
 
-        final int length = this.values.size();
+        final int length = this.values().size();
 
         if (length > 0)
         {
-            stringBuilder.append(this.values.get(0));
+            stringBuilder.append(this.values().get(0));
 
             for (int i = 1; i < length; i++)
             {
                 stringBuilder.append(",");
-                stringBuilder.append(this.values.get(i));
+                stringBuilder.append(this.values().get(i));
             }
         }
 
@@ -501,7 +525,7 @@ public class ArrayJSON
      */
     public int indexOf(final ValueJSON valueJSON)
     {
-        return this.values.indexOf(valueJSON);
+        return this.values().indexOf(valueJSON);
     }
 
     /**
@@ -517,7 +541,7 @@ public class ArrayJSON
             throw new NullPointerException("value MUST NOT be null");
         }
 
-        this.values.add(index, value);
+        this.values().add(index, value);
     }
 
     /**
@@ -532,7 +556,7 @@ public class ArrayJSON
     @Override
     public Iterator<ValueJSON> iterator()
     {
-        return this.values.iterator();
+        return this.values().iterator();
     }
 
     /**
@@ -542,7 +566,7 @@ public class ArrayJSON
      */
     public int numberOfValue()
     {
-        return this.values.size();
+        return this.values().size();
     }
 
     /**
@@ -552,7 +576,7 @@ public class ArrayJSON
      */
     public void removeValue(final int index)
     {
-        this.values.remove(index);
+        this.values().remove(index);
     }
 
     /**
@@ -562,7 +586,7 @@ public class ArrayJSON
      */
     public void removeValue(final ValueJSON value)
     {
-        this.values.remove(value);
+        this.values().remove(value);
     }
 
     /**
@@ -615,11 +639,11 @@ public class ArrayJSON
             head = UtilText.repeat('\t', headerSize);
         }
 
-        final int length = this.values.size();
+        final int length = this.values().size();
 
         if (length > 0)
         {
-            ValueJSON valueJSON = this.values.get(0);
+            ValueJSON valueJSON = this.values().get(0);
             ValueType valueType = valueJSON.getType();
 
             if ((!compact) && (valueType != ValueType.ARRAY) && (valueType != ValueType.OBJECT))
@@ -632,7 +656,7 @@ public class ArrayJSON
             for (int i = 1; i < length; i++)
             {
                 bufferedWriter.write(",");
-                valueJSON = this.values.get(i);
+                valueJSON = this.values().get(i);
                 valueType = valueJSON.getType();
 
                 if (!compact)
@@ -0,0 +1,539 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not
+ * responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that
+ * avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ *
+ * @author JHelp
+ */
+package jhelp.util.io.json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jhelp.util.io.ByteArray;
+
+/**
+ * Binary representation of JSON values, written/read through {@link ByteArray}.<br>
+ * Format :
+ * <ul>
+ * <li>Header : {@link #MAGIC} byte followed by {@link #VERSION} byte</li>
+ * <li>Each value starts with a type tag byte</li>
+ * <li>Numbers with an integer value are written as zig-zag variable length long, others as raw IEEE 754 double</li>
+ * <li>Strings : variable length byte size followed by UTF-8 bytes</li>
+ * <li>Binary (See {@link ValueJSON#newValue(byte[])}) : variable length size followed by the bytes as is, no
+ * Base64</li>
+ * <li>Arrays : variable length number of elements followed by elements</li>
+ * <li>Objects : variable length number of members followed by key/value pairs. Keys use a per document dictionary :
+ * a key is written in full the first time (0 followed by the string), then only by its index in dictionary plus
+ * one</li>
+ * </ul>
+ * Read binary values keep their binary nature, so reading then writing back don't do any Base64 conversion. A binary
+ * value equals the String value of its Base64 representation, so read values are equals to the text form
+ *
+ * @author JHelp
+ */
+public final class JSONBinary
+{
+    /**
+     * Magic byte that starts the document
+     */
+    public static final  int    MAGIC        = 0x4A;
+    /**
+     * Format version
+     */
+    public static final  int    VERSION      = 1;
+    /**
+     * Tag : array
+     */
+    private static final int    TAG_ARRAY    = 7;
+    /**
+     * Tag : binary
+     */
+    private static final int    TAG_BINARY   = 6;
+    /**
+     * Tag : double
+     */
+    private static final int    TAG_DOUBLE   = 3;
+    /**
+     * Tag : false
+     */
+    private static final int    TAG_FALSE    = 1;
+    /**
+     * Tag : integer number
+     */
+    private static final int    TAG_INTEGER  = 4;
+    /**
+     * Tag : null
+     */
+    private static final int    TAG_NULL     = 0;
+    /**
+     * Tag : object
+     */
+    private static final int    TAG_OBJECT   = 8;
+    /**
+     * Tag : String
+     */
+    private static final int    TAG_STRING   = 5;
+    /**
+     * Tag : true
+     */
+    private static final int    TAG_TRUE     = 2;
+    /**
+     * Biggest absolute value of a double that is exactly an integer written as integer (2<sup>53</sup>)
+     */
+    private static final double MAX_EXACT    = 9007199254740992.0;
+
+    /**
+     * Read the header
+     *
+     * @param byteArray Byte array to read
+     * @throws JSONException If header is not valid
+     */
+    private static void readHeader(final ByteArray byteArray) throws JSONException
+    {
+        final int magic   = byteArray.read();
+        final int version = byteArray.read();
+
+        if (magic != JSONBinary.MAGIC)
+        {
+            throw new JSONException("Not a binary JSON, magic=", magic);
+        }
+
+        if (version != JSONBinary.VERSION)
+        {
+            throw new JSONException("Unsupported binary JSON version : ", version);
+        }
+    }
+
+    /**
+     * Read a size
+     *
+     * @param byteArray Byte array to read
+     * @return Read size
+     * @throws JSONException If size is missing
+     */
+    private static int readSize(final ByteArray byteArray) throws JSONException
+    {
+        final int size = byteArray.readUnsignedVarInteger();
+
+        if (size < 0)
+        {
+            throw new JSONException("Unexpected end of binary JSON");
+        }
+
+        return size;
+    }
+
+    /**
+     * Read bytes
+     *
+     * @param byteArray Byte array to read
+     * @return Read bytes
+     * @throws JSONException If not enough bytes
+     */
+    private static byte[] readBytes(final ByteArray byteArray) throws JSONException
+    {
+        final int size = JSONBinary.readSize(byteArray);
+
+        if (size > byteArray.available())
+        {
+            throw new JSONException("Unexpected end of binary JSON, need ", size, " bytes but only ",
+                                    byteArray.available(), " available");
+        }
+
+        final byte[] bytes = new byte[size];
+
+        if (size > 0)
+        {
+            byteArray.read(bytes);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Read a String
+     *
+     * @param byteArray Byte array to read
+     * @return Read String
+     * @throws JSONException If not enough bytes
+     */
+    private static String readString(final ByteArray byteArray) throws JSONException
+    {
+        return new String(JSONBinary.readBytes(byteArray), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a value
+     *
+     * @param byteArray  Byte array to read
+     * @param dictionary Keys dictionary
+     * @return Read value
+     * @throws JSONException If data not valid
+     */
+    private static ValueJSON readValue(final ByteArray byteArray, final List<String> dictionary)
+            throws JSONException
+    {
+        final int tag = byteArray.read();
+
+        switch (tag)
+        {
+            case TAG_NULL:
+                return ValueJSON.NULL;
+            case TAG_FALSE:
+                return ValueJSON.FALSE;
+            case TAG_TRUE:
+                return ValueJSON.TRUE;
+            case TAG_DOUBLE:
+                if (byteArray.available() < 8)
+                {
+                    throw new JSONException("Unexpected end of binary JSON");
+                }
+
+                return ValueJSON.newValue(byteArray.readDouble());
+            case TAG_INTEGER:
+                if (byteArray.available() < 1)
+                {
+                    throw new JSONException("Unexpected end of binary JSON");
+                }
+
+                return ValueJSON.newValue((double) byteArray.readVarLong());
+            case TAG_STRING:
+                return ValueJSON.newValue(JSONBinary.readString(byteArray));
+            case TAG_BINARY:
+                return ValueJSON.newValue(JSONBinary.readBytes(byteArray));
+            case TAG_ARRAY:
+                return ValueJSON.newValue(JSONBinary.readArrayContent(byteArray, dictionary));
+            case TAG_OBJECT:
+                return ValueJSON.newValue(JSONBinary.readObjectContent(byteArray, dictionary));
+            case -1:
+                throw new JSONException("Unexpected end of binary JSON");
+            default:
+                throw new JSONException("Unknown binary JSON tag : ", tag);
+        }
+    }
+
+    /**
+     * Read array elements
+     *
+     * @param byteArray  Byte array to read
+     * @param dictionary Keys dictionary
+     * @return Read array
+     * @throws JSONException If data not valid
+     */
+    private static ArrayJSON readArrayContent(final ByteArray byteArray, final List<String> dictionary)
+            throws JSONException
+    {
+        final int       size      = JSONBinary.readSize(byteArray);
+        final ArrayJSON arrayJSON = new ArrayJSON();
+
+        for (int index = 0; index < size; index++)
+        {
+            arrayJSON.addValue(JSONBinary.readValue(byteArray, dictionary));
+        }
+
+        return arrayJSON;
+    }
+
+    /**
+     * Read object members
+     *
+     * @param byteArray  Byte array to read
+     * @param dictionary Keys dictionary
+     * @return Read object
+     * @throws JSONException If data not valid
+     */
+    private static ObjectJSON readObjectContent(final ByteArray byteArray, final List<String> dictionary)
+            throws JSONException
+    {
+        final int        size       = JSONBinary.readSize(byteArray);
+        final ObjectJSON objectJSON = new ObjectJSON();
+        int              reference;
+        String           key;
+
+        for (int index = 0; index < size; index++)
+        {
+            reference = JSONBinary.readSize(byteArray);
+
+            if (reference == 0)
+            {
+                key = JSONBinary.readString(byteArray);
+                dictionary.add(key);
+            }
+            else if (reference <= dictionary.size())
+            {
+                key = dictionary.get(reference - 1);
+            }
+            else
+            {
+                throw new JSONException("Invalid key reference ", reference, " dictionary size is ",
+                                        dictionary.size());
+            }
+
+            objectJSON.put(key, JSONBinary.readValue(byteArray, dictionary));
+        }
+
+        return objectJSON;
+    }
+
+    /**
+     * Write a String
+     *
+     * @param string    String to write
+     * @param byteArray Byte array where write
+     */
+    private static void writeString(final String string, final ByteArray byteArray)
+    {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        byteArray.writeUnsignedVarInteger(bytes.length);
+        byteArray.write(bytes);
+    }
+
+    /**
+     * Write a value
+     *
+     * @param valueJSON  Value to write
+     * @param byteArray  Byte array where write
+     * @param dictionary Keys dictionary
+     */
+    private static void writeValue(final ValueJSON valueJSON, final ByteArray byteArray,
+                                   final Map<String, Integer> dictionary)
+    {
+        switch (valueJSON.getType())
+        {
+            case NULL:
+                byteArray.write(JSONBinary.TAG_NULL);
+                break;
+            case BOOLEAN:
+                byteArray.write(valueJSON.getBoolean()
+                                ? JSONBinary.TAG_TRUE
+                                : JSONBinary.TAG_FALSE);
+                break;
+            case NUMBER:
+                final double number = valueJSON.getNumber();
+
+                if (number == Math.rint(number) && Math.abs(number) <= JSONBinary.MAX_EXACT
+                    && (number != 0 || 1 / number > 0))
+                {
+                    byteArray.write(JSONBinary.TAG_INTEGER);
+                    byteArray.writeVarLong((long) number);
+                }
+                else
+                {
+                    byteArray.write(JSONBinary.TAG_DOUBLE);
+                    byteArray.writeDouble(number);
+                }
+
+                break;
+            case STRING:
+                if (valueJSON.isBinary())
+                {
+                    try
+                    {
+                        final byte[] binary = valueJSON.getBinary();
+                        byteArray.write(JSONBinary.TAG_BINARY);
+                        byteArray.writeUnsignedVarInteger(binary.length);
+                        byteArray.write(binary);
+                    }
+                    catch (final IOException exception)
+                    {
+                        // Never happen for a binary value
+                        throw new IllegalStateException("Binary value not accessible", exception);
+                    }
+                }
+                else
+                {
+                    byteArray.write(JSONBinary.TAG_STRING);
+                    JSONBinary.writeString(valueJSON.getString(), byteArray);
+                }
+
+                break;
+            case ARRAY:
+                JSONBinary.writeArrayContent(valueJSON.getArray(), byteArray, dictionary);
+                break;
+            case OBJECT:
+                JSONBinary.writeObjectContent(valueJSON.getObject(), byteArray, dictionary);
+                break;
+        }
+    }
+
+    /**
+     * Write an array
+     *
+     * @param arrayJSON  Array to write
+     * @param byteArray  Byte array where write
+     * @param dictionary Keys dictionary
+     */
+    private static void writeArrayContent(final ArrayJSON arrayJSON, final ByteArray byteArray,
+                                          final Map<String, Integer> dictionary)
+    {
+        byteArray.write(JSONBinary.TAG_ARRAY);
+        byteArray.writeUnsignedVarInteger(arrayJSON.numberOfValue());
+
+        for (final ValueJSON valueJSON : arrayJSON)
+        {
+            JSONBinary.writeValue(valueJSON, byteArray, dictionary);
+        }
+    }
+
+    /**
+     * Write an object
+     *
+     * @param objectJSON Object to write
+     * @param byteArray  Byte array where write
+     * @param dictionary Keys dictionary
+     */
+    private static void writeObjectContent(final ObjectJSON objectJSON, final ByteArray byteArray,
+                                           final Map<String, Integer> dictionary)
+    {
+        byteArray.write(JSONBinary.TAG_OBJECT);
+        byteArray.writeUnsignedVarInteger(objectJSON.numberOfValue());
+        Integer reference;
+
+        for (final String key : objectJSON.getKeys())
+        {
+            reference = dictionary.get(key);
+
+            if (reference == null)
+            {
+                dictionary.put(key, dictionary.size() + 1);
+                byteArray.writeUnsignedVarInteger(0);
+                JSONBinary.writeString(key, byteArray);
+            }
+            else
+            {
+                byteArray.writeUnsignedVarInteger(reference);
+            }
+
+            JSONBinary.writeValue(objectJSON.get(key), byteArray, dictionary);
+        }
+    }
+
+    /**
+     * Read a value.<br>
+     * Reading starts at the current read index of the byte array
+     *
+     * @param byteArray Byte array to read
+     * @return Read value
+     * @throws JSONException If data is not a valid binary JSON
+     */
+    public static ValueJSON read(final ByteArray byteArray) throws JSONException
+    {
+        if (byteArray == null)
+        {
+            throw new NullPointerException("byteArray MUST NOT be null");
+        }
+
+        JSONBinary.readHeader(byteArray);
+        return JSONBinary.readValue(byteArray, new ArrayList<String>());
+    }
+
+    /**
+     * Read an object
+     *
+     * @param byteArray Byte array to read
+     * @return Read object
+     * @throws JSONException If data is not a valid binary JSON or not contains an object
+     */
+    public static ObjectJSON readObject(final ByteArray byteArray) throws JSONException
+    {
+        final ValueJSON valueJSON = JSONBinary.read(byteArray);
+
+        if (valueJSON.getType() != ValueType.OBJECT)
+        {
+            throw new JSONException("Binary JSON contains ", valueJSON.getType(), " not an object");
+        }
+
+        return valueJSON.getObject();
+    }
+
+    /**
+     * Read an array
+     *
+     * @param byteArray Byte array to read
+     * @return Read array
+     * @throws JSONException If data is not a valid binary JSON or not contains an array
+     */
+    public static ArrayJSON readArray(final ByteArray byteArray) throws JSONException
+    {
+        final ValueJSON valueJSON = JSONBinary.read(byteArray);
+
+        if (valueJSON.getType() != ValueType.ARRAY)
+        {
+            throw new JSONException("Binary JSON contains ", valueJSON.getType(), " not an array");
+        }
+
+        return valueJSON.getArray();
+    }
+
+    /**
+     * Write a value
+     *
+     * @param valueJSON Value to write
+     * @param byteArray Byte array where write
+     */
+    public static void write(final ValueJSON valueJSON, final ByteArray byteArray)
+    {
+        if (valueJSON == null)
+        {
+            throw new NullPointerException("valueJSON MUST NOT be null");
+        }
+
+        if (byteArray == null)
+        {
+            throw new NullPointerException("byteArray MUST NOT be null");
+        }
+
+        byteArray.write(JSONBinary.MAGIC);
+        byteArray.write(JSONBinary.VERSION);
+        JSONBinary.writeValue(valueJSON, byteArray, new HashMap<String, Integer>());
+    }
+
+    /**
+     * Write an object
+     *
+     * @param objectJSON Object to write
+     * @param byteArray  Byte array where write
+     */
+    public static void write(final ObjectJSON objectJSON, final ByteArray byteArray)
+    {
+        if (objectJSON == null)
+        {
+            throw new NullPointerException("objectJSON MUST NOT be null");
+        }
+
+        JSONBinary.write(ValueJSON.newValue(objectJSON), byteArray);
+    }
+
+    /**
+     * Write an array
+     *
+     * @param arrayJSON Array to write
+     * @param byteArray Byte array where write
+     */
+    public static void write(final ArrayJSON arrayJSON, final ByteArray byteArray)
+    {
+        if (arrayJSON == null)
+        {
+            throw new NullPointerException("arrayJSON MUST NOT be null");
+        }
+
+        JSONBinary.write(ValueJSON.newValue(arrayJSON), byteArray);
+    }
+
+    /**
+     * Utility class, no instance
+     */
+    private JSONBinary()
+    {
+    }
+}
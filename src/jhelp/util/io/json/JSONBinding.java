@@ -0,0 +1,530 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not
+ * responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that
+ * avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ *
+ * @author JHelp
+ */
+package jhelp.util.io.json;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jhelp.util.debug.Debug;
+import jhelp.util.reflection.Reflector;
+
+/**
+ * Binding plan of a class for {@link JSONReader} and {@link JSONWriter}.<br>
+ * The plan is computed once per class, then cached : it holds the ordered list of fields annotated
+ * {@link JSONElement}, their kind and a {@link MethodHandle} getter/setter already adapted to the field type. So
+ * reading/writing an object don't do any reflection lookup
+ *
+ * @author JHelp
+ */
+final class JSONBinding
+{
+    /**
+     * Binding of one field
+     *
+     * @author JHelp
+     */
+    static final class FieldBinding
+    {
+        /**
+         * Indicates if field is annotated {@link JSONElement}
+         */
+        final boolean             annotated;
+        /**
+         * Enum constants by name, {@code null} if field is not an enum
+         */
+        final Map<String, Object> enumConstants;
+        /**
+         * Field getter, type is (Object)fieldType for primitives, (Object)Object for others
+         */
+        final MethodHandle        getter;
+        /**
+         * Field kind
+         */
+        final Kind                kind;
+        /**
+         * Field name
+         */
+        final String              name;
+        /**
+         * Field setter, type is (Object,fieldType)void for primitives, (Object,Object)void for others
+         */
+        final MethodHandle        setter;
+        /**
+         * Field type
+         */
+        final Class<?>            type;
+
+        /**
+         * Create a new instance of FieldBinding
+         *
+         * @param field Field to bind
+         */
+        FieldBinding(final Field field)
+        {
+            this.name = field.getName();
+            this.type = field.getType();
+            this.kind = JSONBinding.kind(this.type);
+            this.annotated = field.getAnnotation(JSONElement.class) != null;
+
+            if (this.kind == Kind.ENUM)
+            {
+                final Map<String, Object> constants = new HashMap<String, Object>();
+
+                for (final Object constant : this.type.getEnumConstants())
+                {
+                    constants.put(((Enum<?>) constant).name(), constant);
+                }
+
+                this.enumConstants = Collections.unmodifiableMap(constants);
+            }
+            else
+            {
+                this.enumConstants = null;
+            }
+
+            final Class<?> handleType = this.type.isPrimitive()
+                                        ? this.type
+                                        : Object.class;
+            this.getter = JSONBinding.getter(field)
+                                     .asType(MethodType.methodType(handleType, Object.class));
+            this.setter = JSONBinding.setter(field)
+                                     .asType(MethodType.methodType(void.class, Object.class, handleType));
+        }
+    }
+
+    /**
+     * Kind of type, decides how a value is read/write
+     *
+     * @author JHelp
+     */
+    enum Kind
+    {
+        /**
+         * boolean
+         */
+        BOOLEAN,
+        /**
+         * char
+         */
+        CHAR,
+        /**
+         * byte
+         */
+        BYTE,
+        /**
+         * short
+         */
+        SHORT,
+        /**
+         * int
+         */
+        INT,
+        /**
+         * long
+         */
+        LONG,
+        /**
+         * float
+         */
+        FLOAT,
+        /**
+         * double
+         */
+        DOUBLE,
+        /**
+         * {@link Boolean}
+         */
+        BOOLEAN_OBJECT,
+        /**
+         * {@link Character}
+         */
+        CHARACTER,
+        /**
+         * {@link Byte}
+         */
+        BYTE_OBJECT,
+        /**
+         * {@link Short}
+         */
+        SHORT_OBJECT,
+        /**
+         * {@link Integer}
+         */
+        INTEGER,
+        /**
+         * {@link Long}
+         */
+        LONG_OBJECT,
+        /**
+         * {@link Float}
+         */
+        FLOAT_OBJECT,
+        /**
+         * {@link Double}
+         */
+        DOUBLE_OBJECT,
+        /**
+         * {@link String}
+         */
+        STRING,
+        /**
+         * enum
+         */
+        ENUM,
+        /**
+         * Any other object
+         */
+        OBJECT
+    }
+
+    /**
+     * Plans cache
+     */
+    private static final ClassValue<JSONBinding> BINDINGS = new ClassValue<JSONBinding>()
+    {
+        /**
+         * Compute the plan of a class <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @param type Class to bind
+         * @return Class plan
+         * @see java.lang.ClassValue#computeValue(java.lang.Class)
+         */
+        @Override
+        protected JSONBinding computeValue(final Class<?> type)
+        {
+            return new JSONBinding(type);
+        }
+    };
+    /**
+     * Lookup used to create handles
+     */
+    private static final MethodHandles.Lookup    LOOKUP   = MethodHandles.lookup();
+
+    /**
+     * Obtain the binding plan of a class
+     *
+     * @param clas Class to bind
+     * @return Class plan
+     */
+    static JSONBinding obtain(final Class<?> clas)
+    {
+        return JSONBinding.BINDINGS.get(clas);
+    }
+
+    /**
+     * Create field getter
+     *
+     * @param field Field
+     * @return Getter with (Object)fieldType signature
+     */
+    private static MethodHandle getter(final Field field)
+    {
+        try
+        {
+            field.setAccessible(true);
+            final MethodHandle getter = JSONBinding.LOOKUP.unreflectGetter(field);
+
+            if (Modifier.isStatic(field.getModifiers()))
+            {
+                return MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+
+            return getter;
+        }
+        catch (final Exception exception)
+        {
+            // Not accessible, let Field reports the issue when used
+            try
+            {
+                return JSONBinding.LOOKUP.findVirtual(Field.class, "get",
+                                                      MethodType.methodType(Object.class, Object.class))
+                                         .bindTo(field);
+            }
+            catch (final NoSuchMethodException | IllegalAccessException impossible)
+            {
+                throw new RuntimeException("Field.get not found !", impossible);
+            }
+        }
+    }
+
+    /**
+     * Compute the kind of a type
+     *
+     * @param type Type
+     * @return Type kind
+     */
+    static Kind kind(final Class<?> type)
+    {
+        if (type.isPrimitive())
+        {
+            if (boolean.class.equals(type))
+            {
+                return Kind.BOOLEAN;
+            }
+
+            if (char.class.equals(type))
+            {
+                return Kind.CHAR;
+            }
+
+            if (byte.class.equals(type))
+            {
+                return Kind.BYTE;
+            }
+
+            if (short.class.equals(type))
+            {
+                return Kind.SHORT;
+            }
+
+            if (int.class.equals(type))
+            {
+                return Kind.INT;
+            }
+
+            if (long.class.equals(type))
+            {
+                return Kind.LONG;
+            }
+
+            if (float.class.equals(type))
+            {
+                return Kind.FLOAT;
+            }
+
+            if (double.class.equals(type))
+            {
+                return Kind.DOUBLE;
+            }
+
+            return Kind.OBJECT;
+        }
+
+        if (Boolean.class.equals(type))
+        {
+            return Kind.BOOLEAN_OBJECT;
+        }
+
+        if (Character.class.equals(type))
+        {
+            return Kind.CHARACTER;
+        }
+
+        if (Byte.class.equals(type))
+        {
+            return Kind.BYTE_OBJECT;
+        }
+
+        if (Short.class.equals(type))
+        {
+            return Kind.SHORT_OBJECT;
+        }
+
+        if (Integer.class.equals(type))
+        {
+            return Kind.INTEGER;
+        }
+
+        if (Long.class.equals(type))
+        {
+            return Kind.LONG_OBJECT;
+        }
+
+        if (Float.class.equals(type))
+        {
+            return Kind.FLOAT_OBJECT;
+        }
+
+        if (Double.class.equals(type))
+        {
+            return Kind.DOUBLE_OBJECT;
+        }
+
+        if (String.class.equals(type))
+        {
+            return Kind.STRING;
+        }
+
+        if (type.isEnum())
+        {
+            return Kind.ENUM;
+        }
+
+        return Kind.OBJECT;
+    }
+
+    /**
+     * Create field setter
+     *
+     * @param field Field
+     * @return Setter with (Object,fieldType)void signature
+     */
+    private static MethodHandle setter(final Field field)
+    {
+        try
+        {
+            field.setAccessible(true);
+            final MethodHandle setter = JSONBinding.LOOKUP.unreflectSetter(field);
+
+            if (Modifier.isStatic(field.getModifiers()))
+            {
+                return MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+
+            return setter;
+        }
+        catch (final Exception exception)
+        {
+            // Final or not accessible field, let Field reports the issue when used
+            try
+            {
+                return JSONBinding.LOOKUP.findVirtual(Field.class, "set",
+                                                      MethodType.methodType(void.class, Object.class, Object.class))
+                                         .bindTo(field);
+            }
+            catch (final NoSuchMethodException | IllegalAccessException impossible)
+            {
+                throw new RuntimeException("Field.set not found !", impossible);
+            }
+        }
+    }
+
+    /**
+     * Bound class
+     */
+    final         Class<?>                  clas;
+    /**
+     * Empty constructor with ()Object signature, {@code null} if not have one
+     */
+    private final MethodHandle              constructor;
+    /**
+     * Fields annotated {@link JSONElement}, in declaration order. Empty if class not annotated {@link JSONObject}
+     */
+    final         FieldBinding[]            elements;
+    /**
+     * All declared fields by name, annotated or not. Empty if class not annotated {@link JSONObject}
+     */
+    private final Map<String, FieldBinding> fields;
+    /**
+     * Indicates if class is annotated {@link JSONObject}
+     */
+    final         boolean                   jsonObject;
+    /**
+     * Class kind
+     */
+    final         Kind                      kind;
+
+    /**
+     * Create a new instance of JSONBinding
+     *
+     * @param clas Class to bind
+     */
+    private JSONBinding(final Class<?> clas)
+    {
+        this.clas = clas;
+        this.kind = JSONBinding.kind(clas);
+        this.jsonObject = clas.getAnnotation(JSONObject.class) != null;
+
+        if (!this.jsonObject)
+        {
+            this.constructor = null;
+            this.elements = new FieldBinding[0];
+            this.fields = Collections.emptyMap();
+            return;
+        }
+
+        MethodHandle constructor = null;
+
+        try
+        {
+            final Constructor<?> emptyConstructor = clas.getDeclaredConstructor();
+            emptyConstructor.setAccessible(true);
+            constructor = JSONBinding.LOOKUP.unreflectConstructor(emptyConstructor)
+                                            .asType(MethodType.methodType(Object.class));
+        }
+        catch (final Exception exception)
+        {
+            // No usable empty constructor, Reflector will be used
+        }
+
+        this.constructor = constructor;
+        final Map<String, FieldBinding> fields   = new HashMap<String, FieldBinding>();
+        final List<FieldBinding>        elements = new ArrayList<FieldBinding>();
+        FieldBinding                    fieldBinding;
+
+        for (final Field field : clas.getDeclaredFields())
+        {
+            fieldBinding = new FieldBinding(field);
+            fields.put(fieldBinding.name, fieldBinding);
+
+            if (fieldBinding.annotated)
+            {
+                elements.add(fieldBinding);
+            }
+        }
+
+        this.fields = fields;
+        this.elements = elements.toArray(new FieldBinding[elements.size()]);
+    }
+
+    /**
+     * Obtain a declared field binding
+     *
+     * @param name Field name
+     * @return Field binding or {@code null} if field not exists
+     */
+    FieldBinding field(final String name)
+    {
+        return this.fields.get(name);
+    }
+
+    /**
+     * Create a new instance of the bound class.<br>
+     * Use the empty constructor if exists, {@link Reflector#newInstance(Class)} otherwise
+     *
+     * @return Created instance or {@code null} if creation failed
+     */
+    Object newInstance()
+    {
+        if (this.constructor == null)
+        {
+            return Reflector.newInstance(this.clas);
+        }
+
+        try
+        {
+            return (Object) this.constructor.invokeExact();
+        }
+        catch (final Error error)
+        {
+            throw error;
+        }
+        catch (final Throwable throwable)
+        {
+            Debug.printException(new Exception(throwable), "Failed to create instance of ", this.clas.getName());
+            return null;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.lang.annotation.Target;
  * <li>{@link String}</li>
  * <li>enum</li>
  * <li>objects annotated {@link JSONObject} and respects the contract</li>
+ * <li>arrays and {@link Iterable} of previous types : only written (as JSON array), ignored by {@link JSONReader}</li>
  * </ul>
  * For convenience, it exits {@link JSONList} and {@link JSONMap} that are valid {@link JSONObject}
  */
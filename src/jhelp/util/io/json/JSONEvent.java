@@ -0,0 +1,38 @@
+package jhelp.util.io.json;
+
+/**
+ * Event reported by {@link JSONParser}
+ *
+ * @author JHelp
+ */
+public enum JSONEvent
+{
+    /**
+     * End of document
+     */
+    END_DOCUMENT,
+    /**
+     * End of array : <b>]</b>
+     */
+    END_ARRAY,
+    /**
+     * End of object : <b>}</b>
+     */
+    END_OBJECT,
+    /**
+     * Object key, see {@link JSONParser#getText()}
+     */
+    KEY,
+    /**
+     * Start of array : <b>[</b>
+     */
+    START_ARRAY,
+    /**
+     * Start of object : <b>{</b>
+     */
+    START_OBJECT,
+    /**
+     * Simple value (String, number, boolean or null), see {@link JSONParser#getValueType()}
+     */
+    VALUE
+}
@@ -0,0 +1,850 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not
+ * responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that
+ * avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ *
+ * @author JHelp
+ */
+package jhelp.util.io.json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Low level streaming JSON writer.<br>
+ * JSON is generated directly in UTF-8 inside a pooled byte buffer, written to the stream each time the buffer is
+ * full. So nothing is kept in memory except the current containers stack, and values don't allocate objects (except
+ * not integer doubles and floats).<br>
+ * Typical usage :
+ * <pre>
+ * generator.beginObject();
+ * generator.name("name");
+ * generator.value("value");
+ * generator.name("list");
+ * generator.beginArray();
+ * generator.value(1);
+ * generator.value(2);
+ * generator.endArray();
+ * generator.endObject();
+ * generator.close();
+ * </pre>
+ * Like {@link ObjectJSON} and {@link JSONWriter}, strings and names are written as is : if they contains special
+ * characters, they must be already escaped.<br>
+ * In not compact mode, each member/element is on its own line, indented with 3 spaces per level.<br>
+ * Generator is not thread safe
+ *
+ * @author JHelp
+ */
+public final class JSONGenerator
+        implements Closeable, Flushable
+{
+    /**
+     * Buffer size
+     */
+    private static final int                        BUFFER_SIZE      = 8192;
+    /**
+     * Buffers pool
+     */
+    private static final ArrayBlockingQueue<byte[]> BUFFERS          = new ArrayBlockingQueue<byte[]>(16);
+    /**
+     * Container type : array
+     */
+    private static final byte                       CONTAINER_ARRAY  = 1;
+    /**
+     * Container type : object
+     */
+    private static final byte                       CONTAINER_OBJECT = 2;
+    /**
+     * Indentation of one level in not compact mode
+     */
+    private static final byte[]                     INDENT           = {' ', ' ', ' '};
+    /**
+     * Bytes of "null"
+     */
+    private static final byte[]                     NULL             = {'n', 'u', 'l', 'l'};
+    /**
+     * Maximum absolute value of double written as integer
+     */
+    private static final double                     PLAIN_LIMIT      = 1e7;
+
+    /**
+     * Obtain a buffer from the pool
+     *
+     * @return Buffer to use
+     */
+    private static byte[] obtainBuffer()
+    {
+        final byte[] buffer = JSONGenerator.BUFFERS.poll();
+
+        if (buffer != null)
+        {
+            return buffer;
+        }
+
+        return new byte[JSONGenerator.BUFFER_SIZE];
+    }
+
+    /**
+     * Indicates if a name was written and wait its value
+     */
+    private       boolean      afterName;
+    /**
+     * Current buffer
+     */
+    private       byte[]       buffer;
+    /**
+     * Indicates if compact mode
+     */
+    private final boolean      compact;
+    /**
+     * Opened containers types
+     */
+    private       byte[]       containers;
+    /**
+     * Number of opened containers
+     */
+    private       int          depth;
+    /**
+     * Scratch for digits
+     */
+    private final byte[]       digits;
+    /**
+     * Indicates, for each opened container, if it already have an element
+     */
+    private       boolean[]    hasElement;
+    /**
+     * Stream where write. {@code null} if {@link #writer} is used
+     */
+    private final OutputStream outputStream;
+    /**
+     * Write position in buffer
+     */
+    private       int          position;
+    /**
+     * Writer where write. {@code null} if {@link #outputStream} is used
+     */
+    private final Writer       writer;
+
+    /**
+     * Create a new instance of JSONGenerator that writes in UTF-8 in a stream.<br>
+     * Stream is not closed by {@link #close()}, it is caller responsibility
+     *
+     * @param outputStream Stream where write
+     * @param compact      Indicates if compact mode
+     */
+    public JSONGenerator(final OutputStream outputStream, final boolean compact)
+    {
+        if (outputStream == null)
+        {
+            throw new NullPointerException("outputStream MUST NOT be null");
+        }
+
+        this.outputStream = outputStream;
+        this.writer = null;
+        this.compact = compact;
+        this.buffer = JSONGenerator.obtainBuffer();
+        this.containers = new byte[16];
+        this.hasElement = new boolean[16];
+        this.digits = new byte[20];
+    }
+
+    /**
+     * Create a new instance of JSONGenerator that writes in a writer.<br>
+     * Writer is not closed by {@link #close()}, it is caller responsibility
+     *
+     * @param writer  Writer where write
+     * @param compact Indicates if compact mode
+     */
+    public JSONGenerator(final Writer writer, final boolean compact)
+    {
+        if (writer == null)
+        {
+            throw new NullPointerException("writer MUST NOT be null");
+        }
+
+        this.outputStream = null;
+        this.writer = writer;
+        this.compact = compact;
+        this.buffer = JSONGenerator.obtainBuffer();
+        this.containers = new byte[16];
+        this.hasElement = new boolean[16];
+        this.digits = new byte[20];
+    }
+
+    /**
+     * Prepare to write a value : write separator, check a name was given inside an object
+     *
+     * @throws IOException On writing issue
+     */
+    private void beforeValue() throws IOException
+    {
+        if (this.depth == 0)
+        {
+            return;
+        }
+
+        if (this.containers[this.depth - 1] == JSONGenerator.CONTAINER_OBJECT)
+        {
+            if (!this.afterName)
+            {
+                throw new IllegalStateException("name(String) MUST be called before write a value inside an object");
+            }
+
+            this.afterName = false;
+            return;
+        }
+
+        this.separator();
+    }
+
+    /**
+     * Close a container
+     *
+     * @param container Container type
+     * @param end       Close character
+     * @throws IOException On writing issue
+     */
+    private void end(final byte container, final byte end) throws IOException
+    {
+        if (this.depth == 0 || this.containers[this.depth - 1] != container || this.afterName)
+        {
+            throw new IllegalStateException("No container to close or a name waits its value");
+        }
+
+        this.depth--;
+
+        if (!this.compact && this.hasElement[this.depth])
+        {
+            this.newLine();
+        }
+
+        this.ensure(1);
+        this.buffer[this.position++] = end;
+
+        if (!this.compact && this.depth == 0)
+        {
+            this.ensure(1);
+            this.buffer[this.position++] = '\n';
+        }
+    }
+
+    /**
+     * Make sure buffer have enough space
+     *
+     * @param size Space need
+     * @throws IOException On writing issue
+     */
+    private void ensure(final int size) throws IOException
+    {
+        if (this.buffer == null)
+        {
+            throw new IllegalStateException("Generator is closed");
+        }
+
+        if (this.position + size > this.buffer.length)
+        {
+            this.flushBuffer();
+        }
+    }
+
+    /**
+     * Write buffer content to the stream
+     *
+     * @throws IOException On writing issue
+     */
+    private void flushBuffer() throws IOException
+    {
+        if (this.position == 0)
+        {
+            return;
+        }
+
+        if (this.outputStream != null)
+        {
+            this.outputStream.write(this.buffer, 0, this.position);
+        }
+        else
+        {
+            // Buffer is always flushed between two characters, so it contains only complete UTF-8 sequences
+            this.writer.write(new String(this.buffer, 0, this.position, StandardCharsets.UTF_8));
+        }
+
+        this.position = 0;
+    }
+
+    /**
+     * Write new line and indentation of current depth
+     *
+     * @throws IOException On writing issue
+     */
+    private void newLine() throws IOException
+    {
+        this.ensure(1);
+        this.buffer[this.position++] = '\n';
+
+        for (int level = 0; level < this.depth; level++)
+        {
+            this.writeBytes(JSONGenerator.INDENT);
+        }
+    }
+
+    /**
+     * Open a container
+     *
+     * @param container Container type
+     * @param start     Open character
+     * @throws IOException On writing issue
+     */
+    private void start(final byte container, final byte start) throws IOException
+    {
+        this.beforeValue();
+
+        if (this.depth == this.containers.length)
+        {
+            final byte[]    containers = new byte[this.depth << 1];
+            final boolean[] hasElement = new boolean[this.depth << 1];
+            System.arraycopy(this.containers, 0, containers, 0, this.depth);
+            System.arraycopy(this.hasElement, 0, hasElement, 0, this.depth);
+            this.containers = containers;
+            this.hasElement = hasElement;
+        }
+
+        this.containers[this.depth] = container;
+        this.hasElement[this.depth] = false;
+        this.depth++;
+        this.ensure(1);
+        this.buffer[this.position++] = start;
+    }
+
+    /**
+     * Write elements separator and new line if need
+     *
+     * @throws IOException On writing issue
+     */
+    private void separator() throws IOException
+    {
+        if (this.hasElement[this.depth - 1])
+        {
+            this.ensure(1);
+            this.buffer[this.position++] = ',';
+        }
+
+        this.hasElement[this.depth - 1] = true;
+
+        if (!this.compact)
+        {
+            this.newLine();
+        }
+    }
+
+    /**
+     * Write ASCII text
+     *
+     * @param text Text to write
+     * @throws IOException On writing issue
+     */
+    private void writeASCII(final String text) throws IOException
+    {
+        final int length = text.length();
+        this.ensure(length);
+
+        for (int index = 0; index < length; index++)
+        {
+            this.buffer[this.position++] = (byte) text.charAt(index);
+        }
+    }
+
+    /**
+     * Write bytes
+     *
+     * @param bytes Bytes to write
+     * @throws IOException On writing issue
+     */
+    private void writeBytes(final byte[] bytes) throws IOException
+    {
+        this.ensure(bytes.length);
+        System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+        this.position += bytes.length;
+    }
+
+    /**
+     * Write a long
+     *
+     * @param value Value to write
+     * @throws IOException On writing issue
+     */
+    private void writeLong(long value) throws IOException
+    {
+        if (value == Long.MIN_VALUE)
+        {
+            this.writeASCII("-9223372036854775808");
+            return;
+        }
+
+        this.ensure(20);
+
+        if (value < 0)
+        {
+            this.buffer[this.position++] = '-';
+            value = -value;
+        }
+
+        int index = this.digits.length;
+
+        do
+        {
+            this.digits[--index] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        while (value != 0);
+
+        final int length = this.digits.length - index;
+        System.arraycopy(this.digits, index, this.buffer, this.position, length);
+        this.position += length;
+    }
+
+    /**
+     * Write text between quotes, encoded in UTF-8
+     *
+     * @param text Text to write
+     * @throws IOException On writing issue
+     */
+    private void writeQuoted(final String text) throws IOException
+    {
+        this.ensure(1);
+        this.buffer[this.position++] = '"';
+        final int length = text.length();
+        char      character;
+        int       codePoint;
+
+        for (int index = 0; index < length; index++)
+        {
+            character = text.charAt(index);
+
+            if (character < 0x80)
+            {
+                this.ensure(1);
+                this.buffer[this.position++] = (byte) character;
+            }
+            else if (character < 0x800)
+            {
+                this.ensure(2);
+                this.buffer[this.position++] = (byte) (0xC0 | (character >> 6));
+                this.buffer[this.position++] = (byte) (0x80 | (character & 0x3F));
+            }
+            else if (Character.isHighSurrogate(character) && index + 1 < length
+                    && Character.isLowSurrogate(text.charAt(index + 1)))
+            {
+                codePoint = Character.toCodePoint(character, text.charAt(++index));
+                this.ensure(4);
+                this.buffer[this.position++] = (byte) (0xF0 | (codePoint >> 18));
+                this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                this.buffer[this.position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                this.buffer[this.position++] = (byte) (0x80 | (codePoint & 0x3F));
+            }
+            else if (Character.isSurrogate(character))
+            {
+                // Lonely surrogate can't be encoded
+                this.ensure(1);
+                this.buffer[this.position++] = '?';
+            }
+            else
+            {
+                this.ensure(3);
+                this.buffer[this.position++] = (byte) (0xE0 | (character >> 12));
+                this.buffer[this.position++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+                this.buffer[this.position++] = (byte) (0x80 | (character & 0x3F));
+            }
+        }
+
+        this.ensure(1);
+        this.buffer[this.position++] = '"';
+    }
+
+    /**
+     * Start an array : <b>[</b>
+     *
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator beginArray() throws IOException
+    {
+        this.start(JSONGenerator.CONTAINER_ARRAY, (byte) '[');
+        return this;
+    }
+
+    /**
+     * Start an object : <b>{</b>
+     *
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator beginObject() throws IOException
+    {
+        this.start(JSONGenerator.CONTAINER_OBJECT, (byte) '{');
+        return this;
+    }
+
+    /**
+     * Flush pending JSON and give back the buffer to the pool.<br>
+     * The underlying stream/writer is not closed <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @throws IOException On writing issue
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (this.buffer == null)
+        {
+            return;
+        }
+
+        try
+        {
+            this.flush();
+        }
+        finally
+        {
+            JSONGenerator.BUFFERS.offer(this.buffer);
+            this.buffer = null;
+        }
+    }
+
+    /**
+     * End current array : <b>]</b>
+     *
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator endArray() throws IOException
+    {
+        this.end(JSONGenerator.CONTAINER_ARRAY, (byte) ']');
+        return this;
+    }
+
+    /**
+     * End current object : <b>}</b>
+     *
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator endObject() throws IOException
+    {
+        this.end(JSONGenerator.CONTAINER_OBJECT, (byte) '}');
+        return this;
+    }
+
+    /**
+     * Write pending JSON to the stream and flush it <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @throws IOException On writing issue
+     * @see java.io.Flushable#flush()
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        this.flushBuffer();
+
+        if (this.outputStream != null)
+        {
+            this.outputStream.flush();
+        }
+        else
+        {
+            this.writer.flush();
+        }
+    }
+
+    /**
+     * Current number of opened containers
+     *
+     * @return Current depth
+     */
+    public int getDepth()
+    {
+        return this.depth;
+    }
+
+    /**
+     * Write a member name inside current object.<br>
+     * MUST be followed by a value, an array or an object
+     *
+     * @param name Member name
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator name(final String name) throws IOException
+    {
+        if (name == null)
+        {
+            throw new NullPointerException("name MUST NOT be null");
+        }
+
+        if (this.depth == 0 || this.containers[this.depth - 1] != JSONGenerator.CONTAINER_OBJECT || this.afterName)
+        {
+            throw new IllegalStateException("Not inside an object or a name already waits its value");
+        }
+
+        this.separator();
+        this.writeQuoted(name);
+        this.ensure(1);
+        this.buffer[this.position++] = ':';
+        this.afterName = true;
+        return this;
+    }
+
+    /**
+     * Write <b>null</b>
+     *
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator nullValue() throws IOException
+    {
+        this.beforeValue();
+        this.writeBytes(JSONGenerator.NULL);
+        return this;
+    }
+
+    /**
+     * Write a JSON array (and all its content)
+     *
+     * @param arrayJSON Array to write
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator value(final ArrayJSON arrayJSON) throws IOException
+    {
+        if (arrayJSON == null)
+        {
+            return this.nullValue();
+        }
+
+        this.beginArray();
+
+        for (final ValueJSON valueJSON : arrayJSON)
+        {
+            this.value(valueJSON);
+        }
+
+        return this.endArray();
+    }
+
+    /**
+     * Write a boolean
+     *
+     * @param value Value to write
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator value(final boolean value) throws IOException
+    {
+        this.beforeValue();
+        this.writeASCII(value
+                        ? "true"
+                        : "false");
+        return this;
+    }
+
+    /**
+     * Write a character as a string
+     *
+     * @param value Value to write
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator value(final char value) throws IOException
+    {
+        this.beforeValue();
+        this.ensure(5);
+        this.buffer[this.position++] = '"';
+
+        if (value < 0x80)
+        {
+            this.buffer[this.position++] = (byte) value;
+        }
+        else if (value < 0x800)
+        {
+            this.buffer[this.position++] = (byte) (0xC0 | (value >> 6));
+            this.buffer[this.position++] = (byte) (0x80 | (value & 0x3F));
+        }
+        else if (Character.isSurrogate(value))
+        {
+            this.buffer[this.position++] = '?';
+        }
+        else
+        {
+            this.buffer[this.position++] = (byte) (0xE0 | (value >> 12));
+            this.buffer[this.position++] = (byte) (0x80 | ((value >> 6) & 0x3F));
+            this.buffer[this.position++] = (byte) (0x80 | (value & 0x3F));
+        }
+
+        this.buffer[this.position++] = '"';
+        return this;
+    }
+
+    /**
+     * Write a double.<br>
+     * Written as {@link Double#toString(double)} does. NaN and infinite are written <b>null</b>, since JSON can't
+     * represents them
+     *
+     * @param value Value to write
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator value(final double value) throws IOException
+    {
+        this.beforeValue();
+
+        if (Double.isNaN(value) || Double.isInfinite(value))
+        {
+            this.writeBytes(JSONGenerator.NULL);
+        }
+        else if (Math.abs(value) < JSONGenerator.PLAIN_LIMIT && value == Math.rint(value)
+                && (value != 0 || 1 / value > 0))
+        {
+            // Integer value : avoid the String creation
+            this.writeLong((long) value);
+            this.ensure(2);
+            this.buffer[this.position++] = '.';
+            this.buffer[this.position++] = '0';
+        }
+        else
+        {
+            this.writeASCII(Double.toString(value));
+        }
+
+        return this;
+    }
+
+    /**
+     * Write a float.<br>
+     * Written as {@link Float#toString(float)} does. NaN and infinite are written <b>null</b>, since JSON can't
+     * represents them
+     *
+     * @param value Value to write
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator value(final float value) throws IOException
+    {
+        if (Float.isNaN(value) || Float.isInfinite(value)
+                || (Math.abs(value) < JSONGenerator.PLAIN_LIMIT && value == Math.rint(value)))
+        {
+            // Same representation as double
+            return this.value((double) value);
+        }
+
+        this.beforeValue();
+        this.writeASCII(Float.toString(value));
+        return this;
+    }
+
+    /**
+     * Write a long
+     *
+     * @param value Value to write
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator value(final long value) throws IOException
+    {
+        this.beforeValue();
+        this.writeLong(value);
+        return this;
+    }
+
+    /**
+     * Write a JSON object (and all its content)
+     *
+     * @param objectJSON Object to write
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator value(final ObjectJSON objectJSON) throws IOException
+    {
+        if (objectJSON == null)
+        {
+            return this.nullValue();
+        }
+
+        this.beginObject();
+
+        for (final String key : objectJSON.getKeys())
+        {
+            this.name(key);
+            this.value(objectJSON.get(key));
+        }
+
+        return this.endObject();
+    }
+
+    /**
+     * Write a string.<br>
+     * String is written as is, so it must be already escaped if it contains special characters
+     *
+     * @param value Value to write. {@code null} for write <b>null</b>
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator value(final String value) throws IOException
+    {
+        if (value == null)
+        {
+            return this.nullValue();
+        }
+
+        this.beforeValue();
+        this.writeQuoted(value);
+        return this;
+    }
+
+    /**
+     * Write a JSON value (and all its content)
+     *
+     * @param valueJSON Value to write
+     * @return This generator, convenient for chaining
+     * @throws IOException On writing issue
+     */
+    public JSONGenerator value(final ValueJSON valueJSON) throws IOException
+    {
+        if (valueJSON == null)
+        {
+            return this.nullValue();
+        }
+
+        switch (valueJSON.getType())
+        {
+            case ARRAY:
+                return this.value(valueJSON.getArray());
+            case BOOLEAN:
+                return this.value(valueJSON.getBoolean());
+            case NUMBER:
+                return this.value(valueJSON.getNumber());
+            case OBJECT:
+                return this.value(valueJSON.getObject());
+            case STRING:
+                return this.value(valueJSON.getString());
+            case NULL:
+            default:
+                return this.nullValue();
+        }
+    }
+}
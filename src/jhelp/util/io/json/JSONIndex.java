@@ -0,0 +1,417 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not
+ * responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that
+ * avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ *
+ * @author JHelp
+ */
+package jhelp.util.io.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Structural index of a JSON document in UTF-8.<br>
+ * Built in one pass, it stores the positions of <b>{ } [ ] : ,</b> outside strings and, for each opening, the index of
+ * its closing. With it, {@link ObjectJSON} and {@link ArrayJSON} created in lazy mode materialize their members only
+ * when they are accessed, and skip a child container in constant time.<br>
+ * Only the structure is validated when the index is built, scalar values are checked when they are read
+ *
+ * @author JHelp
+ */
+final class JSONIndex
+{
+    /**
+     * Build the index of a document
+     *
+     * @param data   Document in UTF-8
+     * @param length Document length
+     * @return Created index
+     * @throws JSONException If document structure is not valid
+     */
+    static JSONIndex index(final byte[] data, final int length) throws JSONException
+    {
+        int[]   positions = new int[Math.max(16, length >> 3)];
+        int[]   matches   = new int[positions.length];
+        int[]   stack     = new int[16];
+        int     depth     = 0;
+        int     count     = 0;
+        boolean inString  = false;
+        byte    character;
+
+        for (int position = 0; position < length; position++)
+        {
+            character = data[position];
+
+            if (inString)
+            {
+                if (character == '\\')
+                {
+                    position++;
+                }
+                else if (character == '"')
+                {
+                    inString = false;
+                }
+
+                continue;
+            }
+
+            switch (character)
+            {
+                case '"':
+                    inString = true;
+                    continue;
+                case '{':
+                case '[':
+                    if (depth == stack.length)
+                    {
+                        final int[] temp = new int[depth << 1];
+                        System.arraycopy(stack, 0, temp, 0, depth);
+                        stack = temp;
+                    }
+
+                    stack[depth++] = count;
+                    break;
+                case '}':
+                case ']':
+                    if (depth == 0 || data[positions[stack[depth - 1]]] != (character == '}'
+                                                                         ? '{'
+                                                                         : '['))
+                    {
+                        throw new JSONException("Unexpected character '", (char) character, "' at ", position);
+                    }
+
+                    depth--;
+                    matches[stack[depth]] = count;
+                    break;
+                case ':':
+                case ',':
+                    break;
+                default:
+                    continue;
+            }
+
+            if (count == positions.length)
+            {
+                final int[] temp = new int[count << 1];
+                System.arraycopy(positions, 0, temp, 0, count);
+                positions = temp;
+                final int[] tempMatches = new int[count << 1];
+                System.arraycopy(matches, 0, tempMatches, 0, count);
+                matches = tempMatches;
+            }
+
+            positions[count++] = position;
+        }
+
+        if (inString || depth > 0)
+        {
+            throw new JSONException("Unexpected end of JSON at ", length);
+        }
+
+        return new JSONIndex(data, length, positions, matches, count);
+    }
+
+    /**
+     * Number of structural characters
+     */
+    private final int    count;
+    /**
+     * Document in UTF-8
+     */
+    private final byte[] data;
+    /**
+     * Document length
+     */
+    private final int    length;
+    /**
+     * For each opening entry, the entry of its closing
+     */
+    private final int[]  matches;
+    /**
+     * Structural characters positions
+     */
+    private final int[]  positions;
+
+    /**
+     * Create a new instance of JSONIndex
+     *
+     * @param data      Document in UTF-8
+     * @param length    Document length
+     * @param positions Structural characters positions
+     * @param matches   For each opening entry, the entry of its closing
+     * @param count     Number of structural characters
+     */
+    private JSONIndex(final byte[] data, final int length, final int[] positions, final int[] matches,
+                      final int count)
+    {
+        this.data = data;
+        this.length = length;
+        this.positions = positions;
+        this.matches = matches;
+        this.count = count;
+    }
+
+    /**
+     * Report an invalid value
+     *
+     * @param position Position in document
+     * @return Exception to throw
+     */
+    private IllegalStateException invalid(final int position)
+    {
+        return new IllegalStateException("Invalid JSON value at " + position);
+    }
+
+    /**
+     * Skip white spaces
+     *
+     * @param start Start position
+     * @param end   End position (exclusive)
+     * @return First not white space position or end
+     */
+    private int skipWhiteSpaces(int start, final int end)
+    {
+        while (start < end && this.data[start] <= ' ')
+        {
+            start++;
+        }
+
+        return start;
+    }
+
+    /**
+     * Read the key that is just before a colon
+     *
+     * @param start      Key region start
+     * @param colonEntry Colon entry
+     * @return Read key
+     */
+    private String readKey(final int start, final int colonEntry)
+    {
+        final int colon = this.positions[colonEntry];
+
+        if (this.data[colon] != ':')
+        {
+            throw this.invalid(colon);
+        }
+
+        int begin = this.skipWhiteSpaces(start, colon);
+        int end   = colon;
+
+        while (end > begin && this.data[end - 1] <= ' ')
+        {
+            end--;
+        }
+
+        if (end - begin < 2 || this.data[begin] != '"' || this.data[end - 1] != '"')
+        {
+            throw this.invalid(begin);
+        }
+
+        return new String(this.data, begin + 1, end - begin - 2, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read the value that starts at given position.<br>
+     * If value is a container, a lazy {@link ObjectJSON} or {@link ArrayJSON} is created
+     *
+     * @param start Value region start
+     * @param entry Next entry after the start
+     * @param value Array where put the read value at index 0
+     * @return Entry of the separator or the closing that follows the value
+     */
+    private int readValue(final int start, final int entry, final ValueJSON[] value)
+    {
+        final int position = this.positions[entry];
+        final int begin    = this.skipWhiteSpaces(start, position);
+
+        if (begin == position)
+        {
+            switch (this.data[position])
+            {
+                case '{':
+                    value[0] = ValueJSON.newValue(new ObjectJSON(this, entry));
+                    return this.matches[entry] + 1;
+                case '[':
+                    value[0] = ValueJSON.newValue(new ArrayJSON(this, entry));
+                    return this.matches[entry] + 1;
+                default:
+                    throw this.invalid(position);
+            }
+        }
+
+        int end = position;
+
+        while (end > begin && this.data[end - 1] <= ' ')
+        {
+            end--;
+        }
+
+        final byte first = this.data[begin];
+
+        if (first == '"')
+        {
+            if (end - begin < 2 || this.data[end - 1] != '"')
+            {
+                throw this.invalid(begin);
+            }
+
+            value[0] = ValueJSON.newValue(new String(this.data, begin + 1, end - begin - 2, StandardCharsets.UTF_8));
+            return entry;
+        }
+
+        final String text = new String(this.data, begin, end - begin, StandardCharsets.ISO_8859_1);
+
+        if ("true".equals(text))
+        {
+            value[0] = ValueJSON.TRUE;
+        }
+        else if ("false".equals(text))
+        {
+            value[0] = ValueJSON.FALSE;
+        }
+        else if ("null".equals(text))
+        {
+            value[0] = ValueJSON.NULL;
+        }
+        else if (JSONParser.isNumber(text))
+        {
+            // Same grammar as the eager parser
+            value[0] = ValueJSON.newValue(Double.parseDouble(text));
+        }
+        else
+        {
+            throw this.invalid(begin);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Fill an array with the elements of an array entry
+     *
+     * @param entry  Array opening entry
+     * @param values Array to fill
+     */
+    void fillArray(final int entry, final List<ValueJSON> values)
+    {
+        final int         close = this.matches[entry];
+        final ValueJSON[] value = new ValueJSON[1];
+        int               start = this.positions[entry] + 1;
+
+        if (close == entry + 1 && this.skipWhiteSpaces(start, this.positions[close]) == this.positions[close])
+        {
+            return;
+        }
+
+        int next = entry + 1;
+
+        while (true)
+        {
+            next = this.readValue(start, next, value);
+            values.add(value[0]);
+
+            if (next == close)
+            {
+                return;
+            }
+
+            if (next > close || this.data[this.positions[next]] != ',')
+            {
+                throw this.invalid(this.positions[Math.min(next, close)]);
+            }
+
+            start = this.positions[next] + 1;
+            next++;
+        }
+    }
+
+    /**
+     * Fill a map with the members of an object entry
+     *
+     * @param entry  Object opening entry
+     * @param values Map to fill
+     */
+    void fillObject(final int entry, final HashMap<String, ValueJSON> values)
+    {
+        final int         close = this.matches[entry];
+        final ValueJSON[] value = new ValueJSON[1];
+        int               start = this.positions[entry] + 1;
+
+        if (close == entry + 1 && this.skipWhiteSpaces(start, this.positions[close]) == this.positions[close])
+        {
+            return;
+        }
+
+        int    next = entry + 1;
+        String key;
+
+        while (true)
+        {
+            if (next >= close)
+            {
+                throw this.invalid(this.positions[close]);
+            }
+
+            key = this.readKey(start, next);
+            next = this.readValue(this.positions[next] + 1, next + 1, value);
+            values.put(key, value[0]);
+
+            if (next == close)
+            {
+                return;
+            }
+
+            if (next > close || this.data[this.positions[next]] != ',')
+            {
+                throw this.invalid(this.positions[Math.min(next, close)]);
+            }
+
+            start = this.positions[next] + 1;
+            next++;
+        }
+    }
+
+    /**
+     * Entry of the root value if it is a container
+     *
+     * @return Root entry or -1 if root is not an object or an array
+     */
+    int rootEntry()
+    {
+        final int start = this.skipWhiteSpaces(0, this.length);
+
+        if (this.count == 0 || this.positions[0] != start)
+        {
+            return -1;
+        }
+
+        final int close = this.matches[0];
+
+        if (this.skipWhiteSpaces(this.positions[close] + 1, this.length) != this.length)
+        {
+            return -1;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Indicates if an entry is an object opening
+     *
+     * @param entry Entry to test
+     * @return {@code true} if entry is an object opening
+     */
+    boolean isObject(final int entry)
+    {
+        return this.data[this.positions[entry]] == '{';
+    }
+}
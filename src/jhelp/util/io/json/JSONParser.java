@@ -0,0 +1,935 @@
+package jhelp.util.io.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+
+/**
+ * Streaming JSON pull parser.<br>
+ * The source is read through a fixed size buffer in one pass, each call of {@link #next()} reports the next
+ * {@link JSONEvent}. Sub-trees can be skipped with {@link #skipChildren()} without building anything, or converted to
+ * {@link ObjectJSON}, {@link ArrayJSON} or {@link ValueJSON} with {@link #readObject()}, {@link #readArray()} or
+ * {@link #readValue()}.<br>
+ * Like the rest of the JSON model, String values and keys are kept as they are written in the source : escape sequences
+ * are not interpreted.<br>
+ * Usage :
+ * <pre>
+ * JSONParser parser = new JSONParser(inputStream);
+ * JSONEvent event = parser.next();
+ *
+ * while(event != JSONEvent.END_DOCUMENT)
+ * {
+ *    ...
+ *    event = parser.next();
+ * }
+ * </pre>
+ *
+ * @author JHelp
+ */
+public final class JSONParser
+        implements Closeable
+{
+    /**
+     * Read buffer size
+     */
+    private static final int  BUFFER_SIZE          = 8192;
+    /**
+     * Container : array
+     */
+    private static final byte CONTAINER_ARRAY      = 1;
+    /**
+     * Container : object
+     */
+    private static final byte CONTAINER_OBJECT     = 0;
+    /**
+     * State : after a value, expect ',' or container end
+     */
+    private static final int  STATE_AFTER_VALUE    = 0;
+    /**
+     * State : document is finished
+     */
+    private static final int  STATE_END            = 1;
+    /**
+     * State : after '[', expect value or ']'
+     */
+    private static final int  STATE_FIRST_ELEMENT  = 2;
+    /**
+     * State : after '{', expect key or '}'
+     */
+    private static final int  STATE_FIRST_KEY      = 3;
+    /**
+     * State : after ',' in object, expect key
+     */
+    private static final int  STATE_KEY            = 4;
+    /**
+     * State : expect a value
+     */
+    private static final int  STATE_VALUE          = 5;
+
+    /**
+     * Read buffer
+     */
+    private final char[]        buffer;
+    /**
+     * Source to read
+     */
+    private final Reader        reader;
+    /**
+     * Current String, key or number text
+     */
+    private final StringBuilder text;
+    /**
+     * Containers stack
+     */
+    private       byte[]        containers;
+    /**
+     * Current event
+     */
+    private       JSONEvent     current;
+    /**
+     * Containers depth
+     */
+    private       int           depth;
+    /**
+     * Number of valid characters in buffer
+     */
+    private       int           limit;
+    /**
+     * Current number value
+     */
+    private       double        number;
+    /**
+     * Number of characters consumed before the buffer start
+     */
+    private       long          offset;
+    /**
+     * Read position in buffer
+     */
+    private       int           position;
+    /**
+     * Parser state
+     */
+    private       int           state;
+    /**
+     * Current value type
+     */
+    private       ValueType     valueType;
+
+    /**
+     * Indicates if a text follows the JSON number grammar : {@code -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?}.<br>
+     * {@link Double#parseDouble(String)} alone accepts more, like {@code 1d}, {@code 0x1p3} or {@code Infinity}
+     *
+     * @param text Text to check
+     * @return {@code true} if text is a valid JSON number
+     */
+    static boolean isNumber(final CharSequence text)
+    {
+        final int length = text.length();
+        int       index  = 0;
+
+        if (index < length && text.charAt(index) == '-')
+        {
+            index++;
+        }
+
+        if (index >= length)
+        {
+            return false;
+        }
+
+        if (text.charAt(index) == '0')
+        {
+            index++;
+        }
+        else
+        {
+            final int start = index;
+            index = JSONParser.skipDigits(text, index);
+
+            if (index == start)
+            {
+                return false;
+            }
+        }
+
+        if (index < length && text.charAt(index) == '.')
+        {
+            index++;
+            final int start = index;
+            index = JSONParser.skipDigits(text, index);
+
+            if (index == start)
+            {
+                return false;
+            }
+        }
+
+        if (index < length && (text.charAt(index) == 'e' || text.charAt(index) == 'E'))
+        {
+            index++;
+
+            if (index < length && (text.charAt(index) == '+' || text.charAt(index) == '-'))
+            {
+                index++;
+            }
+
+            final int start = index;
+            index = JSONParser.skipDigits(text, index);
+
+            if (index == start)
+            {
+                return false;
+            }
+        }
+
+        return index == length;
+    }
+
+    /**
+     * Skip consecutive digits
+     *
+     * @param text  Text to read
+     * @param index Index where start
+     * @return Index of first character that is not a digit
+     */
+    private static int skipDigits(final CharSequence text, int index)
+    {
+        final int length = text.length();
+
+        while (index < length && text.charAt(index) >= '0' && text.charAt(index) <= '9')
+        {
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     * Create a new instance of JSONParser on a UTF-8 stream
+     *
+     * @param inputStream Stream to parse
+     */
+    public JSONParser(final InputStream inputStream)
+    {
+        this(new InputStreamReader(inputStream, Charset.forName("UTF-8")));
+    }
+
+    /**
+     * Create a new instance of JSONParser
+     *
+     * @param reader Source to parse
+     */
+    public JSONParser(final Reader reader)
+    {
+        if (reader == null)
+        {
+            throw new NullPointerException("reader MUST NOT be null");
+        }
+
+        this.reader = reader;
+        this.buffer = new char[JSONParser.BUFFER_SIZE];
+        this.text = new StringBuilder();
+        this.containers = new byte[16];
+        this.depth = 0;
+        this.limit = 0;
+        this.position = 0;
+        this.offset = 0;
+        this.state = JSONParser.STATE_VALUE;
+    }
+
+    /**
+     * Create a new instance of JSONParser on a String
+     *
+     * @param string String to parse
+     */
+    public JSONParser(final String string)
+    {
+        this(new StringReader(string));
+    }
+
+    /**
+     * Read and consume next character
+     *
+     * @return Read character
+     * @throws IOException   On reading issue
+     * @throws JSONException If end of source reached
+     */
+    private char read() throws IOException, JSONException
+    {
+        if (this.position >= this.limit && !this.fill())
+        {
+            throw new JSONException("Unexpected end of JSON at ", this.offset + this.position);
+        }
+
+        return this.buffer[this.position++];
+    }
+
+    /**
+     * Create a syntax exception
+     *
+     * @param character Unexpected character
+     * @return Created exception
+     */
+    private JSONException unexpected(final char character)
+    {
+        return new JSONException("Unexpected character '", character, "' at ", this.offset + this.position - 1);
+    }
+
+    /**
+     * Fill the buffer
+     *
+     * @return {@code false} if end of source reached
+     * @throws IOException On reading issue
+     */
+    private boolean fill() throws IOException
+    {
+        this.offset += this.limit;
+        this.position = 0;
+        this.limit = 0;
+        int read = this.reader.read(this.buffer, 0, this.buffer.length);
+
+        while (read == 0)
+        {
+            read = this.reader.read(this.buffer, 0, this.buffer.length);
+        }
+
+        if (read < 0)
+        {
+            return false;
+        }
+
+        this.limit = read;
+        return true;
+    }
+
+    /**
+     * Skip white spaces and consume next significant character
+     *
+     * @return Significant character or -1 if end of source
+     * @throws IOException On reading issue
+     */
+    private int nextSignificant() throws IOException
+    {
+        char character;
+
+        while (true)
+        {
+            if (this.position >= this.limit && !this.fill())
+            {
+                return -1;
+            }
+
+            character = this.buffer[this.position++];
+
+            if (character > ' ')
+            {
+                return character;
+            }
+        }
+    }
+
+    /**
+     * Push a container
+     *
+     * @param container Container type
+     */
+    private void push(final byte container)
+    {
+        if (this.depth >= this.containers.length)
+        {
+            final byte[] containers = new byte[this.depth << 1];
+            System.arraycopy(this.containers, 0, containers, 0, this.depth);
+            this.containers = containers;
+        }
+
+        this.containers[this.depth++] = container;
+    }
+
+    /**
+     * Pop a container and update state
+     */
+    private void pop()
+    {
+        this.depth--;
+        this.afterValue();
+    }
+
+    /**
+     * Update state after a value
+     */
+    private void afterValue()
+    {
+        this.state = this.depth == 0
+                     ? JSONParser.STATE_END
+                     : JSONParser.STATE_AFTER_VALUE;
+    }
+
+    /**
+     * Read a String, the starting '"' is already consumed.<br>
+     * String is stored in {@link #text}, escape sequences are kept
+     *
+     * @throws IOException   On reading issue
+     * @throws JSONException If end of source reached before String end
+     */
+    private void readString() throws IOException, JSONException
+    {
+        this.text.setLength(0);
+        int  start;
+        char character;
+
+        while (true)
+        {
+            if (this.position >= this.limit && !this.fill())
+            {
+                throw new JSONException("Unterminated String at ", this.offset + this.position);
+            }
+
+            // Copy by blocks until '"' or '\'
+            start = this.position;
+
+            while (this.position < this.limit)
+            {
+                character = this.buffer[this.position];
+
+                if (character == '"')
+                {
+                    this.text.append(this.buffer, start, this.position - start);
+                    this.position++;
+                    return;
+                }
+
+                if (character == '\\')
+                {
+                    break;
+                }
+
+                this.position++;
+            }
+
+            this.text.append(this.buffer, start, this.position - start);
+
+            if (this.position < this.limit)
+            {
+                // Escape : keep it and the escaped character
+                this.position++;
+                this.text.append('\\');
+                this.text.append(this.read());
+            }
+        }
+    }
+
+    /**
+     * Read a number, the first character is already consumed
+     *
+     * @param first First character
+     * @throws IOException   On reading issue
+     * @throws JSONException If not a valid number
+     */
+    private void readNumber(final char first) throws IOException, JSONException
+    {
+        this.text.setLength(0);
+        this.text.append(first);
+        char character;
+
+        while (this.position < this.limit || this.fill())
+        {
+            character = this.buffer[this.position];
+
+            if ((character >= '0' && character <= '9') || character == '.' || character == 'e' || character == 'E'
+                || character == '-' || character == '+')
+            {
+                this.text.append(character);
+                this.position++;
+            }
+            else
+            {
+                break;
+            }
+        }
+
+        if (!JSONParser.isNumber(this.text))
+        {
+            throw new JSONException("Invalid number '", this.text, "' at ", this.offset + this.position);
+        }
+
+        this.number = Double.parseDouble(this.text.toString());
+    }
+
+    /**
+     * Read a key word, the first character is already consumed
+     *
+     * @param keyWord Expected key word
+     * @throws IOException   On reading issue
+     * @throws JSONException If not the key word
+     */
+    private void readKeyWord(final String keyWord) throws IOException, JSONException
+    {
+        char character;
+
+        for (int index = 1; index < keyWord.length(); index++)
+        {
+            character = this.read();
+
+            if (character != keyWord.charAt(index))
+            {
+                throw this.unexpected(character);
+            }
+        }
+    }
+
+    /**
+     * Read a value, its first character is already consumed
+     *
+     * @param character First character
+     * @return Event of the value
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    private JSONEvent readValueStart(final char character) throws IOException, JSONException
+    {
+        switch (character)
+        {
+            case '{':
+                this.push(JSONParser.CONTAINER_OBJECT);
+                this.state = JSONParser.STATE_FIRST_KEY;
+                return JSONEvent.START_OBJECT;
+            case '[':
+                this.push(JSONParser.CONTAINER_ARRAY);
+                this.state = JSONParser.STATE_FIRST_ELEMENT;
+                return JSONEvent.START_ARRAY;
+            case '"':
+                this.readString();
+                this.valueType = ValueType.STRING;
+                break;
+            case 't':
+                this.readKeyWord("true");
+                this.valueType = ValueType.BOOLEAN;
+                this.number = 1;
+                break;
+            case 'f':
+                this.readKeyWord("false");
+                this.valueType = ValueType.BOOLEAN;
+                this.number = 0;
+                break;
+            case 'n':
+                this.readKeyWord("null");
+                this.valueType = ValueType.NULL;
+                break;
+            default:
+                if (character == '-' || (character >= '0' && character <= '9'))
+                {
+                    this.readNumber(character);
+                    this.valueType = ValueType.NUMBER;
+                    break;
+                }
+
+                throw this.unexpected(character);
+        }
+
+        this.afterValue();
+        return JSONEvent.VALUE;
+    }
+
+    /**
+     * Read a key and the following ':', the starting '"' is already consumed
+     *
+     * @return {@link JSONEvent#KEY}
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    private JSONEvent readKey() throws IOException, JSONException
+    {
+        this.readString();
+        final int character = this.nextSignificant();
+
+        if (character != ':')
+        {
+            throw character < 0
+                  ? new JSONException("Unexpected end of JSON at ", this.offset + this.position)
+                  : this.unexpected((char) character);
+        }
+
+        this.state = JSONParser.STATE_VALUE;
+        return JSONEvent.KEY;
+    }
+
+    /**
+     * Close the source <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @throws IOException On closing issue
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.reader.close();
+    }
+
+    /**
+     * Current event
+     *
+     * @return Current event or {@code null} if {@link #next()} never called
+     */
+    public JSONEvent getCurrentEvent()
+    {
+        return this.current;
+    }
+
+    /**
+     * Current containers depth
+     *
+     * @return Current containers depth
+     */
+    public int getDepth()
+    {
+        return this.depth;
+    }
+
+    /**
+     * Boolean value of current {@link JSONEvent#VALUE}
+     *
+     * @return Boolean value
+     */
+    public boolean getBoolean()
+    {
+        if (this.current != JSONEvent.VALUE || this.valueType != ValueType.BOOLEAN)
+        {
+            throw new IllegalStateException("Current event is not a boolean value");
+        }
+
+        return this.number != 0;
+    }
+
+    /**
+     * Number value of current {@link JSONEvent#VALUE}
+     *
+     * @return Number value
+     */
+    public double getNumber()
+    {
+        if (this.current != JSONEvent.VALUE || this.valueType != ValueType.NUMBER)
+        {
+            throw new IllegalStateException("Current event is not a number value");
+        }
+
+        return this.number;
+    }
+
+    /**
+     * Text of current event : key name for {@link JSONEvent#KEY}, String or number text for {@link JSONEvent#VALUE}
+     *
+     * @return Current text
+     */
+    public String getText()
+    {
+        if (this.current == JSONEvent.KEY
+            || (this.current == JSONEvent.VALUE && (this.valueType == ValueType.STRING
+                                                    || this.valueType == ValueType.NUMBER)))
+        {
+            return this.text.toString();
+        }
+
+        if (this.current == JSONEvent.VALUE && this.valueType == ValueType.BOOLEAN)
+        {
+            return this.number != 0
+                   ? "true"
+                   : "false";
+        }
+
+        return null;
+    }
+
+    /**
+     * Current {@link JSONEvent#VALUE} type
+     *
+     * @return Value type or {@code null} if current event is not a value
+     */
+    public ValueType getValueType()
+    {
+        if (this.current != JSONEvent.VALUE)
+        {
+            return null;
+        }
+
+        return this.valueType;
+    }
+
+    /**
+     * Read next event
+     *
+     * @return Next event
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    public JSONEvent next() throws IOException, JSONException
+    {
+        this.current = this.nextEvent();
+        return this.current;
+    }
+
+    /**
+     * Compute next event
+     *
+     * @return Next event
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    private JSONEvent nextEvent() throws IOException, JSONException
+    {
+        if (this.state == JSONParser.STATE_END)
+        {
+            return JSONEvent.END_DOCUMENT;
+        }
+
+        int character = this.nextSignificant();
+
+        if (character < 0)
+        {
+            if (this.depth == 0 && this.current == null)
+            {
+                this.state = JSONParser.STATE_END;
+                return JSONEvent.END_DOCUMENT;
+            }
+
+            throw new JSONException("Unexpected end of JSON at ", this.offset + this.position);
+        }
+
+        switch (this.state)
+        {
+            case STATE_AFTER_VALUE:
+                if (character == ',')
+                {
+                    character = this.nextSignificant();
+
+                    if (character < 0)
+                    {
+                        throw new JSONException("Unexpected end of JSON at ", this.offset + this.position);
+                    }
+
+                    if (this.containers[this.depth - 1] == JSONParser.CONTAINER_OBJECT)
+                    {
+                        if (character != '"')
+                        {
+                            throw this.unexpected((char) character);
+                        }
+
+                        return this.readKey();
+                    }
+
+                    return this.readValueStart((char) character);
+                }
+
+                if (character == '}' && this.containers[this.depth - 1] == JSONParser.CONTAINER_OBJECT)
+                {
+                    this.pop();
+                    return JSONEvent.END_OBJECT;
+                }
+
+                if (character == ']' && this.containers[this.depth - 1] == JSONParser.CONTAINER_ARRAY)
+                {
+                    this.pop();
+                    return JSONEvent.END_ARRAY;
+                }
+
+                throw this.unexpected((char) character);
+            case STATE_FIRST_KEY:
+                if (character == '}')
+                {
+                    this.pop();
+                    return JSONEvent.END_OBJECT;
+                }
+
+                if (character != '"')
+                {
+                    throw this.unexpected((char) character);
+                }
+
+                return this.readKey();
+            case STATE_KEY:
+                if (character != '"')
+                {
+                    throw this.unexpected((char) character);
+                }
+
+                return this.readKey();
+            case STATE_FIRST_ELEMENT:
+                if (character == ']')
+                {
+                    this.pop();
+                    return JSONEvent.END_ARRAY;
+                }
+
+                return this.readValueStart((char) character);
+            default:
+                return this.readValueStart((char) character);
+        }
+    }
+
+    /**
+     * Read the array that starts at current {@link JSONEvent#START_ARRAY}.<br>
+     * After the call, current event is the matching {@link JSONEvent#END_ARRAY}
+     *
+     * @return Read array
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    public ArrayJSON readArray() throws IOException, JSONException
+    {
+        if (this.current != JSONEvent.START_ARRAY)
+        {
+            throw new IllegalStateException("Current event is not START_ARRAY but " + this.current);
+        }
+
+        final ArrayJSON arrayJSON = new ArrayJSON();
+
+        while (this.next() != JSONEvent.END_ARRAY)
+        {
+            arrayJSON.addValue(this.readValue());
+        }
+
+        return arrayJSON;
+    }
+
+    /**
+     * Read the object that starts at current {@link JSONEvent#START_OBJECT}.<br>
+     * After the call, current event is the matching {@link JSONEvent#END_OBJECT}
+     *
+     * @return Read object
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    public ObjectJSON readObject() throws IOException, JSONException
+    {
+        if (this.current != JSONEvent.START_OBJECT)
+        {
+            throw new IllegalStateException("Current event is not START_OBJECT but " + this.current);
+        }
+
+        final ObjectJSON objectJSON = new ObjectJSON();
+        String           key;
+
+        while (this.next() == JSONEvent.KEY)
+        {
+            key = this.text.toString();
+            this.next();
+            objectJSON.put(key, this.readValue());
+        }
+
+        return objectJSON;
+    }
+
+    /**
+     * Read the value that starts at current event ({@link JSONEvent#VALUE}, {@link JSONEvent#START_OBJECT} or
+     * {@link JSONEvent#START_ARRAY})
+     *
+     * @return Read value
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    public ValueJSON readValue() throws IOException, JSONException
+    {
+        if (this.current == null)
+        {
+            throw new IllegalStateException("next() never called");
+        }
+
+        switch (this.current)
+        {
+            case START_OBJECT:
+                return ValueJSON.newValue(this.readObject());
+            case START_ARRAY:
+                return ValueJSON.newValue(this.readArray());
+            case VALUE:
+                switch (this.valueType)
+                {
+                    case STRING:
+                        return ValueJSON.newValue(this.text.toString());
+                    case NUMBER:
+                        return ValueJSON.newValue(this.number);
+                    case BOOLEAN:
+                        return ValueJSON.newValue(this.number != 0);
+                    default:
+                        return ValueJSON.NULL;
+                }
+            default:
+                throw new IllegalStateException("Current event is not a value start but " + this.current);
+        }
+    }
+
+    /**
+     * Skip the content of current {@link JSONEvent#START_OBJECT} or {@link JSONEvent#START_ARRAY}, without creating
+     * any event.<br>
+     * After the call, current event is the matching end. Does nothing for other events
+     *
+     * @throws IOException   On reading issue
+     * @throws JSONException If source ends before the container end
+     */
+    public void skipChildren() throws IOException, JSONException
+    {
+        if (this.current != JSONEvent.START_OBJECT && this.current != JSONEvent.START_ARRAY)
+        {
+            return;
+        }
+
+        int     level    = 1;
+        boolean inString = false;
+        char    character;
+
+        while (level > 0)
+        {
+            character = this.read();
+
+            if (inString)
+            {
+                if (character == '\\')
+                {
+                    this.read();
+                }
+                else if (character == '"')
+                {
+                    inString = false;
+                }
+            }
+            else if (character == '"')
+            {
+                inString = true;
+            }
+            else if (character == '{' || character == '[')
+            {
+                level++;
+            }
+            else if (character == '}' || character == ']')
+            {
+                level--;
+            }
+        }
+
+        this.current = this.containers[this.depth - 1] == JSONParser.CONTAINER_OBJECT
+                       ? JSONEvent.END_OBJECT
+                       : JSONEvent.END_ARRAY;
+        this.pop();
+    }
+
+    /**
+     * Skip the value of current {@link JSONEvent#KEY}, or the current value if current event starts a value
+     *
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    public void skipValue() throws IOException, JSONException
+    {
+        if (this.current == JSONEvent.KEY)
+        {
+            this.next();
+        }
+
+        this.skipChildren();
+    }
+}
@@ -0,0 +1,461 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not
+ * responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that
+ * avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ *
+ * @author JHelp
+ */
+package jhelp.util.io.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled path to select values inside JSON.<br>
+ * Supported syntax (sub set of JSONPath) :
+ * <ul>
+ * <li><b>$</b> : the root, path always starts with it</li>
+ * <li><b>.name</b> or <b>['name']</b> : member of an object</li>
+ * <li><b>[3]</b> : element of an array</li>
+ * <li><b>.*</b> or <b>[*]</b> : all members of an object or all elements of an array</li>
+ * </ul>
+ * Example : <b>$.items[*].id</b><br>
+ * Selection on a stream uses {@link JSONParser} : not selected values are skipped without creating any object and
+ * only selected values are created. Selection on a {@link ValueJSON} only accesses the members on the path, so with a
+ * lazy document (See {@link ObjectJSON#parseLazy(byte[])}) only them are read.<br>
+ * Compiled path is immutable, so can be shared between threads
+ *
+ * @author JHelp
+ */
+public final class JSONPath
+{
+    /**
+     * Step type : array element
+     */
+    private static final int STEP_INDEX    = 1;
+    /**
+     * Step type : object member
+     */
+    private static final int STEP_NAME     = 0;
+    /**
+     * Step type : all members/elements
+     */
+    private static final int STEP_WILDCARD = 2;
+
+    /**
+     * Compile a path
+     *
+     * @param path Path to compile
+     * @return Compiled path
+     * @throws JSONException If path is not valid
+     */
+    public static JSONPath compile(final String path) throws JSONException
+    {
+        if (path == null)
+        {
+            throw new NullPointerException("path MUST NOT be null");
+        }
+
+        final int length = path.length();
+
+        if (length == 0 || path.charAt(0) != '$')
+        {
+            throw new JSONException("Path MUST start with '$' : ", path);
+        }
+
+        final List<Integer> types    = new ArrayList<Integer>();
+        final List<String>  names    = new ArrayList<String>();
+        final List<Integer> indexes  = new ArrayList<Integer>();
+        int                 position = 1;
+        int                 end;
+        char                character;
+
+        while (position < length)
+        {
+            character = path.charAt(position);
+
+            if (character == '.')
+            {
+                position++;
+                end = position;
+
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[')
+                {
+                    end++;
+                }
+
+                if (end == position)
+                {
+                    throw new JSONException("Empty name in path '", path, "' at ", position);
+                }
+
+                if (end == position + 1 && path.charAt(position) == '*')
+                {
+                    types.add(JSONPath.STEP_WILDCARD);
+                    names.add(null);
+                }
+                else
+                {
+                    types.add(JSONPath.STEP_NAME);
+                    names.add(path.substring(position, end));
+                }
+
+                indexes.add(-1);
+                position = end;
+            }
+            else if (character == '[')
+            {
+                end = path.indexOf(']', position);
+
+                if (end < 0)
+                {
+                    throw new JSONException("Missing ']' in path '", path, "' at ", position);
+                }
+
+                final String content = path.substring(position + 1, end)
+                                           .trim();
+
+                if ("*".equals(content))
+                {
+                    types.add(JSONPath.STEP_WILDCARD);
+                    names.add(null);
+                    indexes.add(-1);
+                }
+                else if (content.length() >= 2
+                        && (content.charAt(0) == '\'' || content.charAt(0) == '"')
+                        && content.charAt(content.length() - 1) == content.charAt(0))
+                {
+                    types.add(JSONPath.STEP_NAME);
+                    names.add(content.substring(1, content.length() - 1));
+                    indexes.add(-1);
+                }
+                else
+                {
+                    try
+                    {
+                        final int index = Integer.parseInt(content);
+
+                        if (index < 0)
+                        {
+                            throw new JSONException("Negative index in path '", path, "' at ", position);
+                        }
+
+                        types.add(JSONPath.STEP_INDEX);
+                        names.add(null);
+                        indexes.add(index);
+                    }
+                    catch (final NumberFormatException exception)
+                    {
+                        throw new JSONException(exception, "Invalid index in path '", path, "' at ", position);
+                    }
+                }
+
+                position = end + 1;
+            }
+            else
+            {
+                throw new JSONException("Unexpected character '", character, "' in path '", path, "' at ", position);
+            }
+        }
+
+        final int      size        = types.size();
+        final int[]    stepTypes   = new int[size];
+        final String[] stepNames   = new String[size];
+        final int[]    stepIndexes = new int[size];
+
+        for (int step = 0; step < size; step++)
+        {
+            stepTypes[step] = types.get(step);
+            stepNames[step] = names.get(step);
+            stepIndexes[step] = indexes.get(step);
+        }
+
+        return new JSONPath(path, stepTypes, stepNames, stepIndexes);
+    }
+
+    /**
+     * Steps indexes (for array element step)
+     */
+    private final int[]    indexes;
+    /**
+     * Steps names (for object member step)
+     */
+    private final String[] names;
+    /**
+     * Path source
+     */
+    private final String   path;
+    /**
+     * Steps types
+     */
+    private final int[]    types;
+
+    /**
+     * Create a new instance of JSONPath
+     *
+     * @param path    Path source
+     * @param types   Steps types
+     * @param names   Steps names
+     * @param indexes Steps indexes
+     */
+    private JSONPath(final String path, final int[] types, final String[] names, final int[] indexes)
+    {
+        this.path = path;
+        this.types = types;
+        this.names = names;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Select values inside a value
+     *
+     * @param valueJSON Current value
+     * @param step      Current step
+     * @param listener  Listener to alert
+     * @return {@code true} if selection continue
+     */
+    private boolean select(final ValueJSON valueJSON, final int step, final JSONPathListener listener)
+    {
+        if (step == this.types.length)
+        {
+            return listener.valueSelected(valueJSON);
+        }
+
+        switch (valueJSON.getType())
+        {
+            case OBJECT:
+                final ObjectJSON objectJSON = valueJSON.getObject();
+
+                if (this.types[step] == JSONPath.STEP_NAME)
+                {
+                    final ValueJSON member = objectJSON.get(this.names[step]);
+                    return member == null || this.select(member, step + 1, listener);
+                }
+
+                if (this.types[step] == JSONPath.STEP_WILDCARD)
+                {
+                    for (final String key : objectJSON.getKeys())
+                    {
+                        if (!this.select(objectJSON.get(key), step + 1, listener))
+                        {
+                            return false;
+                        }
+                    }
+                }
+
+                return true;
+            case ARRAY:
+                final ArrayJSON arrayJSON = valueJSON.getArray();
+
+                if (this.types[step] == JSONPath.STEP_INDEX)
+                {
+                    return this.indexes[step] >= arrayJSON.numberOfValue()
+                            || this.select(arrayJSON.getValue(this.indexes[step]), step + 1, listener);
+                }
+
+                if (this.types[step] == JSONPath.STEP_WILDCARD)
+                {
+                    for (final ValueJSON element : arrayJSON)
+                    {
+                        if (!this.select(element, step + 1, listener))
+                        {
+                            return false;
+                        }
+                    }
+                }
+
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Select values from parser current value
+     *
+     * @param jsonParser Parser, current event is the start of current value
+     * @param step       Current step
+     * @param listener   Listener to alert
+     * @return {@code true} if selection continue
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    private boolean select(final JSONParser jsonParser, final int step, final JSONPathListener listener)
+            throws IOException, JSONException
+    {
+        if (step == this.types.length)
+        {
+            return listener.valueSelected(jsonParser.readValue());
+        }
+
+        final int       type    = this.types[step];
+        final JSONEvent current = jsonParser.getCurrentEvent();
+        boolean         match;
+
+        if (current == JSONEvent.START_OBJECT && type != JSONPath.STEP_INDEX)
+        {
+            while (jsonParser.next() == JSONEvent.KEY)
+            {
+                match = type == JSONPath.STEP_WILDCARD || this.names[step].equals(jsonParser.getText());
+                jsonParser.next();
+
+                if (!match)
+                {
+                    jsonParser.skipChildren();
+                }
+                else if (!this.select(jsonParser, step + 1, listener))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        if (current == JSONEvent.START_ARRAY && type != JSONPath.STEP_NAME)
+        {
+            int index = 0;
+
+            while (jsonParser.next() != JSONEvent.END_ARRAY)
+            {
+                match = type == JSONPath.STEP_WILDCARD || index == this.indexes[step];
+                index++;
+
+                if (!match)
+                {
+                    jsonParser.skipChildren();
+                }
+                else if (!this.select(jsonParser, step + 1, listener))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        jsonParser.skipChildren();
+        return true;
+    }
+
+    /**
+     * Select values from a stream (read in UTF-8).<br>
+     * Stream is not closed
+     *
+     * @param inputStream Stream to read
+     * @param listener    Listener alerted for each selected value
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    public void select(final InputStream inputStream, final JSONPathListener listener)
+            throws IOException, JSONException
+    {
+        this.select(new JSONParser(inputStream), listener);
+    }
+
+    /**
+     * Select values from a parser.<br>
+     * The next value of the parser is used as root. After the call, the parser is at the end of the root, or where the
+     * listener stopped the selection
+     *
+     * @param jsonParser Parser to read
+     * @param listener   Listener alerted for each selected value
+     * @throws IOException   On reading issue
+     * @throws JSONException On syntax issue
+     */
+    public void select(final JSONParser jsonParser, final JSONPathListener listener)
+            throws IOException, JSONException
+    {
+        if (listener == null)
+        {
+            throw new NullPointerException("listener MUST NOT be null");
+        }
+
+        if (jsonParser.next() == JSONEvent.END_DOCUMENT)
+        {
+            return;
+        }
+
+        this.select(jsonParser, 0, listener);
+    }
+
+    /**
+     * Select values inside a value
+     *
+     * @param valueJSON Root value
+     * @param listener  Listener alerted for each selected value
+     */
+    public void select(final ValueJSON valueJSON, final JSONPathListener listener)
+    {
+        if (listener == null)
+        {
+            throw new NullPointerException("listener MUST NOT be null");
+        }
+
+        this.select(valueJSON, 0, listener);
+    }
+
+    /**
+     * Select all values matching inside a JSON text
+     *
+     * @param json JSON text
+     * @return Selected values
+     * @throws JSONException On syntax issue
+     */
+    public List<ValueJSON> selectAll(final String json) throws JSONException
+    {
+        final List<ValueJSON> selected = new ArrayList<ValueJSON>();
+
+        try
+        {
+            this.select(new JSONParser(json), new JSONPathListener()
+            {
+                /**
+                 * Collect selected value <br>
+                 * <br>
+                 * <b>Parent documentation:</b><br>
+                 * {@inheritDoc}
+                 *
+                 * @param valueJSON Selected value
+                 * @return {@code true} to continue
+                 * @see jhelp.util.io.json.JSONPathListener#valueSelected(jhelp.util.io.json.ValueJSON)
+                 */
+                @Override
+                public boolean valueSelected(final ValueJSON valueJSON)
+                {
+                    selected.add(valueJSON);
+                    return true;
+                }
+            });
+        }
+        catch (final IOException exception)
+        {
+            // Should never happen with a String
+            throw new JSONException(exception, "Failed to read String");
+        }
+
+        return selected;
+    }
+
+    /**
+     * Path source <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Path source
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return this.path;
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * <h1>License :</h1> <br>
+ * The following code is deliver as is. I take care that code compile and work, but I am not
+ * responsible about any damage it may
+ * cause.<br>
+ * You can use, modify, the code as your need for any usage. But you can't do any action that
+ * avoid me or other person use,
+ * modify this code. The code is free for usage and modification, you can't change that fact.<br>
+ * <br>
+ *
+ * @author JHelp
+ */
+package jhelp.util.io.json;
+
+/**
+ * Receive values selected by a {@link JSONPath}
+ *
+ * @author JHelp
+ */
+public interface JSONPathListener
+{
+    /**
+     * Called each time a value matches the path
+     *
+     * @param valueJSON Selected value
+     * @return {@code true} to continue the selection, {@code false} to stop it
+     */
+    public boolean valueSelected(ValueJSON valueJSON);
+}
@@ -14,13 +14,10 @@ package jhelp.util.io.json;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 
 import jhelp.util.debug.Debug;
 import jhelp.util.debug.DebugLevel;
-import jhelp.util.reflection.Reflector;
+import jhelp.util.io.json.JSONBinding.FieldBinding;
 
 /**
  * Read a JSON, previously wrote by {@link JSONWriter}, and parse it to fill an object.<br>
@@ -51,30 +48,29 @@ public class JSONReader
                                            boolean strict) throws
             IOException, JSONException
     {
-        final JSONObject jsonObject = clas.getAnnotation(JSONObject.class);
+        final JSONBinding jsonBinding = JSONBinding.obtain(clas);
 
-        if (jsonObject == null)
+        if (!jsonBinding.jsonObject)
         {
             throw new JSONException(clas.getName(), " not annotated as JSONObject");
         }
 
         ObjectJSON objectJSON = ObjectJSON.parse(inputStream);
-        OBJECT     object     = (OBJECT) Reflector.newInstance(clas);
-        JSONReader.fillObject(clas, object, objectJSON, strict);
+        OBJECT     object     = (OBJECT) jsonBinding.newInstance();
+        JSONReader.fillObject(jsonBinding, object, objectJSON, strict);
         return object;
     }
 
     /**
      * Fill object fields from JSON object
      *
-     * @param clas       Object class to fill
-     * @param object     Object to fill
-     * @param objectJSON JSON to parse
-     * @param strict     Indicates if strict mode
+     * @param jsonBinding Object class binding plan
+     * @param object      Object to fill
+     * @param objectJSON  JSON to parse
+     * @param strict      Indicates if strict mode
      * @throws JSONException If JSON not valid for object to fill
      */
-    @SuppressWarnings("unchecked")
-    private static void fillObject(Class clas, Object object, ObjectJSON objectJSON, boolean strict)
+    private static void fillObject(JSONBinding jsonBinding, Object object, ObjectJSON objectJSON, boolean strict)
             throws JSONException
     {
         if (object == null)
@@ -82,185 +78,174 @@ public class JSONReader
             return;
         }
 
-        Field       field;
-        JSONElement jsonElement;
-        Class       fieldClass;
+        FieldBinding field;
 
         for (String key : objectJSON.getKeys())
         {
-            try
-            {
-                field = clas.getDeclaredField(key);
-                field.setAccessible(true);
-                jsonElement = field.getAnnotation(JSONElement.class);
+            field = jsonBinding.field(key);
 
-                if (jsonElement == null)
+            if (field == null)
+            {
+                if (strict)
                 {
-                    if (strict)
-                    {
-                        throw new JSONException("The field : ", key, " in ", clas.getName(),
-                                                " is not annotated JSONElement");
-                    }
-
-                    Debug.println(DebugLevel.WARNING, "The field : ", key, " in ", clas.getName(),
-                                  " is not annotated JSONElement");
-                    continue;
+                    throw new JSONException("Not found the field : ", key, " in ", jsonBinding.clas.getName());
                 }
 
-                fieldClass = field.getType();
+                Debug.println(DebugLevel.WARNING, "Not found the field : ", key, " in ", jsonBinding.clas.getName());
+                continue;
+            }
 
-                if (boolean.class.equals(fieldClass))
-                {
-                    field.setBoolean(object, objectJSON.getBoolean(key, false));
-                }
-                else if (char.class.equals(fieldClass))
-                {
-                    field.setChar(object, objectJSON.getString(key, " ")
-                                                    .charAt(0));
-                }
-                else if (byte.class.equals(fieldClass))
-                {
-                    field.setByte(object, (byte) (objectJSON.getInt(key, 0) & 0xFF));
-                }
-                else if (short.class.equals(fieldClass))
-                {
-                    field.setShort(object, (short) (objectJSON.getInt(key, 0) & 0xFFFF));
-                }
-                else if (int.class.equals(fieldClass))
-                {
-                    field.setInt(object, objectJSON.getInt(key, 0));
-                }
-                else if (long.class.equals(fieldClass))
-                {
-                    field.setLong(object, objectJSON.getLong(key, 0));
-                }
-                else if (float.class.equals(fieldClass))
-                {
-                    field.setFloat(object, objectJSON.getFloat(key, 0));
-                }
-                else if (double.class.equals(fieldClass))
-                {
-                    field.setDouble(object, objectJSON.getDouble(key, 0));
-                }
-                else //noinspection StatementWithEmptyBody
-                    if (objectJSON.get(key)
-                                   .getType() == ValueType.NULL)
-                {
-                    //TODO : do something ?
-                    // field.set(object, null);
-                }
-                else if (Boolean.class.equals(fieldClass))
-                {
-                    field.set(object, objectJSON.getBoolean(key, false));
-                }
-                else if (Character.class.equals(fieldClass))
-                {
-                    field.set(object, objectJSON.getString(key, " ")
-                                                .charAt(0));
-                }
-                else if (Byte.class.equals(fieldClass))
-                {
-                    field.set(object, (byte) (objectJSON.getInt(key, 0) & 0xFF));
-                }
-                else if (Short.class.equals(fieldClass))
-                {
-                    field.set(object, (short) (objectJSON.getInt(key, 0) & 0xFFFF));
-                }
-                else if (Integer.class.equals(fieldClass))
-                {
-                    field.set(object, objectJSON.getInt(key, 0));
-                }
-                else if (Long.class.equals(fieldClass))
-                {
-                    field.set(object, objectJSON.getLong(key, 0));
-                }
-                else if (Float.class.equals(fieldClass))
-                {
-                    field.set(object, objectJSON.getFloat(key, 0));
-                }
-                else if (Double.class.equals(fieldClass))
-                {
-                    field.set(object, objectJSON.getDouble(key, 0));
-                }
-                else if (String.class.equals(fieldClass))
-                {
-                    field.set(object, objectJSON.getString(key, ""));
-                }
-                else if (fieldClass.isEnum())
+            if (!field.annotated)
+            {
+                if (strict)
                 {
-                    if (!objectJSON.get(key)
-                                   .isNull())
-                    {
-                        final String name = objectJSON.getString(key, "");
-
-                        try
-                        {
-                            final Method valueOf = fieldClass.getMethod("valueOf", String.class);
-                            valueOf.setAccessible(true);
-                            field.set(object, valueOf.invoke(null, name));
-                        }
-                        catch (NoSuchMethodException | InvocationTargetException exception)
-                        {
-                            //Since it is a enum this exception MUST never happen
-                            throw new RuntimeException(
-                                    "A very strange enum without a valid valueOf : " + fieldClass.getName(),
-                                    exception);
-                        }
-                        catch (Exception exception)
-                        {
-                            throw new JSONException(exception, "Can't set '", name, "' to enum ", fieldClass.getName(),
-                                                    " in ", field, " of ", clas.getName());
-                        }
-                    }
+                    throw new JSONException("The field : ", key, " in ", jsonBinding.clas.getName(),
+                                            " is not annotated JSONElement");
                 }
-                else
-                {
-                    Object    instance;
-                    ValueJSON valueJSON = objectJSON.get(key);
 
-                    switch (valueJSON.getType())
-                    {
-                        case BOOLEAN:
-                            instance = objectJSON.getBoolean(key, false);
-                            break;
-                        case NUMBER:
-                            instance = valueJSON.getNumber();
-                            break;
-                        case ARRAY:
-                        case NULL:
-                            continue;
-                        case STRING:
-                            instance = objectJSON.getString(key, "");
-                            break;
-                        case OBJECT:
-                        default:
-                            instance = Reflector.newInstance(fieldClass);
-                            JSONReader.fillObject(fieldClass, instance, objectJSON.getObject(key),
-                                                  strict);
-                            break;
-                    }
+                Debug.println(DebugLevel.WARNING, "The field : ", key, " in ", jsonBinding.clas.getName(),
+                              " is not annotated JSONElement");
+                continue;
+            }
 
-                    if (instance != null)
-                    {
-                        field.set(object, instance);
-                    }
-                }
+            try
+            {
+                JSONReader.fillField(jsonBinding, field, object, objectJSON, key, strict);
             }
-            catch (NoSuchFieldException e)
+            catch (JSONException | RuntimeException | Error exception)
             {
-                if (strict)
-                {
-                    throw new JSONException(e, "Not found the field : ", key, " in ",
-                                            clas.getName());
-                }
-
-                Debug.printException(e, "Not found the field : ", key, " in ", clas.getName());
+                throw exception;
             }
-            catch (IllegalAccessException e)
+            catch (Throwable throwable)
             {
-                throw new JSONException(e, "Can't write inside the field : ", key, " in ",
-                                        clas.getName());
+                throw new JSONException(throwable, "Can't write inside the field : ", key, " in ",
+                                        jsonBinding.clas.getName());
             }
         }
     }
+
+    /**
+     * Fill one object field from JSON object
+     *
+     * @param jsonBinding Object class binding plan
+     * @param field       Field to fill
+     * @param object      Object to fill
+     * @param objectJSON  JSON to parse
+     * @param key         Field key
+     * @param strict      Indicates if strict mode
+     * @throws Throwable If JSON not valid for the field or field can't be set
+     */
+    private static void fillField(JSONBinding jsonBinding, FieldBinding field, Object object, ObjectJSON objectJSON,
+                                  String key, boolean strict)
+            throws Throwable
+    {
+        switch (field.kind)
+        {
+            case BOOLEAN:
+                field.setter.invokeExact(object, objectJSON.getBoolean(key, false));
+                return;
+            case CHAR:
+                field.setter.invokeExact(object, objectJSON.getString(key, " ")
+                                                           .charAt(0));
+                return;
+            case BYTE:
+                field.setter.invokeExact(object, (byte) (objectJSON.getInt(key, 0) & 0xFF));
+                return;
+            case SHORT:
+                field.setter.invokeExact(object, (short) (objectJSON.getInt(key, 0) & 0xFFFF));
+                return;
+            case INT:
+                field.setter.invokeExact(object, objectJSON.getInt(key, 0));
+                return;
+            case LONG:
+                field.setter.invokeExact(object, objectJSON.getLong(key, 0));
+                return;
+            case FLOAT:
+                field.setter.invokeExact(object, objectJSON.getFloat(key, 0));
+                return;
+            case DOUBLE:
+                field.setter.invokeExact(object, objectJSON.getDouble(key, 0));
+                return;
+        }
+
+        final ValueJSON valueJSON = objectJSON.get(key);
+
+        if (valueJSON.getType() == ValueType.NULL)
+        {
+            // Field keeps the value set by the empty constructor
+            return;
+        }
+
+        Object instance;
+
+        switch (field.kind)
+        {
+            case BOOLEAN_OBJECT:
+                instance = objectJSON.getBoolean(key, false);
+                break;
+            case CHARACTER:
+                instance = objectJSON.getString(key, " ")
+                                     .charAt(0);
+                break;
+            case BYTE_OBJECT:
+                instance = (byte) (objectJSON.getInt(key, 0) & 0xFF);
+                break;
+            case SHORT_OBJECT:
+                instance = (short) (objectJSON.getInt(key, 0) & 0xFFFF);
+                break;
+            case INTEGER:
+                instance = objectJSON.getInt(key, 0);
+                break;
+            case LONG_OBJECT:
+                instance = objectJSON.getLong(key, 0);
+                break;
+            case FLOAT_OBJECT:
+                instance = objectJSON.getFloat(key, 0);
+                break;
+            case DOUBLE_OBJECT:
+                instance = objectJSON.getDouble(key, 0);
+                break;
+            case STRING:
+                instance = objectJSON.getString(key, "");
+                break;
+            case ENUM:
+                final String name = objectJSON.getString(key, "");
+                instance = field.enumConstants.get(name);
+
+                if (instance == null)
+                {
+                    throw new JSONException("Can't set '", name, "' to enum ", field.type.getName(),
+                                            " in ", field.name, " of ", jsonBinding.clas.getName());
+                }
+
+                break;
+            default:
+                switch (valueJSON.getType())
+                {
+                    case BOOLEAN:
+                        instance = objectJSON.getBoolean(key, false);
+                        break;
+                    case NUMBER:
+                        instance = valueJSON.getNumber();
+                        break;
+                    case ARRAY:
+                        return;
+                    case STRING:
+                        instance = objectJSON.getString(key, "");
+                        break;
+                    case OBJECT:
+                    default:
+                        final JSONBinding fieldBinding = JSONBinding.obtain(field.type);
+                        instance = fieldBinding.newInstance();
+                        JSONReader.fillObject(fieldBinding, instance, objectJSON.getObject(key), strict);
+                        break;
+                }
+                break;
+        }
+
+        if (instance != null)
+        {
+            field.setter.invokeExact(object, instance);
+        }
+    }
 }
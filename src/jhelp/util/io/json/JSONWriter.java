@@ -15,15 +15,51 @@ package jhelp.util.io.json;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.lang.reflect.Field;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+
+import jhelp.util.io.json.JSONBinding.FieldBinding;
 
 /**
  * Serialize valid object annotated {@link JSONObject} into JSON. <br>
- * To retrieve the instance just use {@link JSONReader} for parse the JSON.
+ * To retrieve the instance just use {@link JSONReader} for parse the JSON.<br>
+ * Objects are written incrementally through a {@link JSONGenerator}, so even big {@link JSONList}, {@link JSONMap},
+ * arrays or {@link Iterable} are never fully stored in memory as JSON.
  */
 public class JSONWriter
 {
+    /**
+     * Annotated object on writing
+     */
+    private static final class Frame
+    {
+        /**
+         * Object class binding plan
+         */
+        final JSONBinding jsonBinding;
+        /**
+         * Object on writing
+         */
+        final Object      object;
+        /**
+         * Index of next field to write
+         */
+        int               index;
+
+        /**
+         * Create a new instance of Frame
+         *
+         * @param object      Object on writing
+         * @param jsonBinding Object class binding plan
+         */
+        Frame(final Object object, final JSONBinding jsonBinding)
+        {
+            this.object = object;
+            this.jsonBinding = jsonBinding;
+            this.index = 0;
+        }
+    }
+
     /**
      * Write/serialize valid object annotated {@link JSONObject} into JSON
      *
@@ -36,9 +72,10 @@ public class JSONWriter
     public static void writeJSON(Object object, OutputStream outputStream, boolean compressed)
             throws IOException, JSONException
     {
-        JSONWriter.writeJSON(object,
-                             new BufferedWriter(new OutputStreamWriter(outputStream, "UTF-8")),
-                             compressed);
+        try (JSONGenerator jsonGenerator = new JSONGenerator(outputStream, compressed))
+        {
+            JSONWriter.writeJSON(object, jsonGenerator);
+        }
     }
 
     /**
@@ -53,241 +90,219 @@ public class JSONWriter
     public static void writeJSON(Object object, BufferedWriter bufferedWriter, boolean compressed)
             throws IOException, JSONException
     {
-        JSONWriter.writeJSON(compressed
-                             ? Integer.MIN_VALUE
-                             : 0, object, bufferedWriter);
+        try (JSONGenerator jsonGenerator = new JSONGenerator(bufferedWriter, compressed))
+        {
+            JSONWriter.writeJSON(object, jsonGenerator);
+        }
     }
 
     /**
-     * Write/serialize a part of JSON for given object
+     * Write/serialize valid object annotated {@link JSONObject} as next value of a generator.<br>
+     * Can be used to serialize objects inside a bigger JSON
      *
-     * @param header         Header to add
-     * @param object         Object to serialize
-     * @param bufferedWriter
+     * @param object        Object to serialize
+     * @param jsonGenerator Generator where write. Note: generator is not close, it is caller responsibility
      * @throws IOException   On writing issue
      * @throws JSONException If given object class is not a valid annotated {@link JSONObject} AND not a primitive AND
-     * not an object represents a primitive AND not a String AND not an enum
+     * not an object represents a primitive AND not a String AND not an enum AND not an array AND not an {@link Iterable}
      */
-    private static void writeJSON(int header, Object object, BufferedWriter bufferedWriter)
+    public static void writeJSON(Object object, JSONGenerator jsonGenerator)
             throws IOException, JSONException
     {
-        final Class<?>   clas       = object.getClass();
-        final JSONObject jsonObject = clas.getAnnotation(JSONObject.class);
-
-        if (jsonObject == null)
+        if (object == null)
         {
-            if (boolean.class.equals(clas)
-                    || byte.class.equals(clas)
-                    || short.class.equals(clas)
-                    || int.class.equals(clas)
-                    || long.class.equals(clas)
-                    || float.class.equals(clas)
-                    || double.class.equals(clas)
-                    || Boolean.class.equals(clas)
-                    || Byte.class.equals(clas)
-                    || Short.class.equals(clas)
-                    || Integer.class.equals(clas)
-                    || Long.class.equals(clas)
-                    || Float.class.equals(clas)
-                    || Double.class.equals(clas))
-            {
-                bufferedWriter.write(object.toString());
-                return;
-            }
-
-            if (String.class.equals(clas)
-                    || Character.class.equals(clas)
-                    || char.class.equals(clas))
-            {
-                bufferedWriter.write("\"" + object.toString() + "\"");
-                return;
-            }
-
-            if (clas.isEnum())
-            {
-                bufferedWriter.write("\"" + ((Enum) object).name() + "\"");
-                return;
-            }
-
-            throw new JSONException(clas.getName(), " not annotated as JSONObject");
+            jsonGenerator.nullValue();
+            return;
         }
 
-        JSONWriter.writeHeader(header, bufferedWriter);
-        bufferedWriter.write("{");
-        header++;
-        boolean     hasPrevious = false;
-        JSONElement jsonElement;
+        final JSONBinding jsonBinding = JSONBinding.obtain(object.getClass());
 
-        for (Field field : clas.getDeclaredFields())
+        if (!jsonBinding.jsonObject)
         {
-            jsonElement = field.getAnnotation(JSONElement.class);
-
-            if (jsonElement != null)
-            {
-                if (hasPrevious)
-                {
-                    bufferedWriter.write(",");
-                }
-
-                if (header >= 0)
-                {
-                    bufferedWriter.newLine();
-                }
-
-                JSONWriter.writeHeader(header, bufferedWriter);
-                bufferedWriter.write("\"" + field.getName() + "\":");
-                JSONWriter.writeValue(header, bufferedWriter, object, field);
-                hasPrevious = true;
-            }
+            JSONWriter.writeNotAnnotated(jsonBinding, object, jsonGenerator);
+            return;
         }
 
-        header--;
+        // Linked structures like JSONList or JSONMap nest one object per element, so annotated objects are walked with
+        // an explicit stack instead of recursion : the depth is only limited by the memory
+        final ArrayDeque<Frame> frames = new ArrayDeque<Frame>();
+        frames.push(new Frame(object, jsonBinding));
+        jsonGenerator.beginObject();
+        Frame        frame;
+        FieldBinding field;
+        Object       child;
 
-        if (header >= 0)
+        while (!frames.isEmpty())
         {
-            bufferedWriter.newLine();
-        }
-
-        JSONWriter.writeHeader(header, bufferedWriter);
-        bufferedWriter.write("}");
+            frame = frames.peek();
 
-        if (header >= 0)
-        {
-            bufferedWriter.newLine();
-        }
+            if (frame.index >= frame.jsonBinding.elements.length)
+            {
+                jsonGenerator.endObject();
+                frames.pop();
+                continue;
+            }
 
-        bufferedWriter.flush();
-    }
+            field = frame.jsonBinding.elements[frame.index];
+            frame.index++;
+            jsonGenerator.name(field.name);
+            child = JSONWriter.writeValue(jsonGenerator, frame.object, field);
 
-    /**
-     * Write the header
-     *
-     * @param header         Header size
-     * @param bufferedWriter Stream where write
-     * @throws IOException On write issue
-     */
-    private static void writeHeader(int header, BufferedWriter bufferedWriter) throws IOException
-    {
-        for (int i = 0; i < header; i++)
-        {
-            bufferedWriter.write("   ");
+            if (child != null)
+            {
+                frames.push(new Frame(child, JSONBinding.obtain(child.getClass())));
+                jsonGenerator.beginObject();
+            }
         }
     }
 
     /**
-     * Write a JSON value
+     * Write an object not annotated {@link JSONObject}
      *
-     * @param header         Header size
-     * @param bufferedWriter Stream where write
-     * @param object         Object to serialize
-     * @param field          Field to write
-     * @throws IOException   On write issue
-     * @throws JSONException If field class is not a valid annotated {@link JSONObject} AND not a primitive AND not an
-     * object represents a primitive AND not a String AND not an enum
+     * @param jsonBinding   Object class binding plan
+     * @param object        Object to serialize
+     * @param jsonGenerator Generator where write
+     * @throws IOException   On writing issue
+     * @throws JSONException If object is not a primitive AND not an object represents a primitive AND not a String AND
+     * not an enum AND not an array AND not an {@link Iterable}
      */
-    private static void writeValue(int header, BufferedWriter bufferedWriter, Object object,
-                                   Field field)
+    private static void writeNotAnnotated(JSONBinding jsonBinding, Object object, JSONGenerator jsonGenerator)
             throws IOException, JSONException
     {
-        field.setAccessible(true);
-        Class<?> clas = field.getType();
-
-        try
+        switch (jsonBinding.kind)
         {
-            if (boolean.class.equals(clas))
-            {
-                bufferedWriter.write(String.valueOf(field.getBoolean(object)));
+            case BOOLEAN_OBJECT:
+                jsonGenerator.value((boolean) (Boolean) object);
                 return;
-            }
-
-            if (char.class.equals(clas))
-            {
-                bufferedWriter.write("\"" + String.valueOf(field.getChar(object)) + "\"");
+            case BYTE_OBJECT:
+            case SHORT_OBJECT:
+            case INTEGER:
+            case LONG_OBJECT:
+                jsonGenerator.value(((Number) object).longValue());
                 return;
-            }
-
-            if (byte.class.equals(clas))
-            {
-                bufferedWriter.write(String.valueOf(field.getByte(object)));
+            case FLOAT_OBJECT:
+                jsonGenerator.value((float) (Float) object);
                 return;
-            }
-
-            if (short.class.equals(clas))
-            {
-                bufferedWriter.write(String.valueOf(field.getShort(object)));
+            case DOUBLE_OBJECT:
+                jsonGenerator.value((double) (Double) object);
                 return;
-            }
-
-            if (int.class.equals(clas))
-            {
-                bufferedWriter.write(String.valueOf(field.getInt(object)));
+            case CHARACTER:
+                jsonGenerator.value((char) (Character) object);
                 return;
-            }
-
-            if (long.class.equals(clas))
-            {
-                bufferedWriter.write(String.valueOf(field.getLong(object)));
+            case STRING:
+                jsonGenerator.value((String) object);
                 return;
-            }
-
-            if (float.class.equals(clas))
-            {
-                bufferedWriter.write(String.valueOf(field.getFloat(object)));
+            case ENUM:
+                jsonGenerator.value(((Enum) object).name());
                 return;
-            }
+        }
+
+        if (object instanceof Iterable)
+        {
+            jsonGenerator.beginArray();
 
-            if (double.class.equals(clas))
+            for (Object element : (Iterable<?>) object)
             {
-                bufferedWriter.write(String.valueOf(field.getDouble(object)));
-                return;
+                JSONWriter.writeJSON(element, jsonGenerator);
             }
 
-            Object value = field.get(object);
+            jsonGenerator.endArray();
+            return;
+        }
+
+        if (object instanceof Object[])
+        {
+            jsonGenerator.beginArray();
 
-            if (value == null)
+            for (Object element : (Object[]) object)
             {
-                bufferedWriter.write("null");
-                return;
+                JSONWriter.writeJSON(element, jsonGenerator);
             }
 
-            if (Boolean.class.equals(clas)
-                    || Byte.class.equals(clas)
-                    || Short.class.equals(clas)
-                    || Integer.class.equals(clas)
-                    || Long.class.equals(clas)
-                    || Float.class.equals(clas)
-                    || Double.class.equals(clas))
-            {
-                bufferedWriter.write(value.toString());
-                return;
-            }
+            jsonGenerator.endArray();
+            return;
+        }
 
-            if (String.class.equals(clas) || Character.class.equals(clas))
+        if (jsonBinding.clas.isArray())
+        {
+            // Array of primitives
+            jsonGenerator.beginArray();
+            final int length = Array.getLength(object);
+
+            for (int index = 0; index < length; index++)
             {
-                bufferedWriter.write("\"" + value.toString() + "\"");
-                return;
+                JSONWriter.writeJSON(Array.get(object, index), jsonGenerator);
             }
 
-            if (clas.isEnum())
+            jsonGenerator.endArray();
+            return;
+        }
+
+        throw new JSONException(jsonBinding.clas.getName(), " not annotated as JSONObject");
+    }
+
+    /**
+     * Write a JSON value.<br>
+     * Values that are annotated {@link JSONObject} are not written, they are returned so the caller walks inside them
+     *
+     * @param jsonGenerator Generator where write
+     * @param object        Object to serialize
+     * @param field         Field to write
+     * @return Field value if it is an annotated {@link JSONObject} to write, {@code null} if value is written
+     * @throws IOException   On write issue
+     * @throws JSONException If field class is not a valid annotated {@link JSONObject} AND not a primitive AND not an
+     * object represents a primitive AND not a String AND not an enum AND not an array AND not an {@link Iterable}
+     */
+    private static Object writeValue(JSONGenerator jsonGenerator, Object object, FieldBinding field)
+            throws IOException, JSONException
+    {
+        try
+        {
+            switch (field.kind)
             {
-                bufferedWriter.write("\"" + ((Enum) object).name() + "\"");
-                return;
+                case BOOLEAN:
+                    jsonGenerator.value((boolean) field.getter.invokeExact(object));
+                    return null;
+                case CHAR:
+                    jsonGenerator.value((char) field.getter.invokeExact(object));
+                    return null;
+                case BYTE:
+                    jsonGenerator.value((byte) field.getter.invokeExact(object));
+                    return null;
+                case SHORT:
+                    jsonGenerator.value((short) field.getter.invokeExact(object));
+                    return null;
+                case INT:
+                    jsonGenerator.value((int) field.getter.invokeExact(object));
+                    return null;
+                case LONG:
+                    jsonGenerator.value((long) field.getter.invokeExact(object));
+                    return null;
+                case FLOAT:
+                    jsonGenerator.value((float) field.getter.invokeExact(object));
+                    return null;
+                case DOUBLE:
+                    jsonGenerator.value((double) field.getter.invokeExact(object));
+                    return null;
             }
 
-            if (header >= 0)
+            final Object value = (Object) field.getter.invokeExact(object);
+
+            if (value != null && JSONBinding.obtain(value.getClass()).jsonObject)
             {
-                bufferedWriter.newLine();
+                return value;
             }
 
-            JSONWriter.writeJSON(header, value, bufferedWriter);
+            JSONWriter.writeJSON(value, jsonGenerator);
+            return null;
         }
-        catch (IOException | JSONException exception)
+        catch (IOException | JSONException | Error exception)
         {
             throw exception;
         }
-        catch (Exception exception)
+        catch (Throwable throwable)
         {
-            throw new JSONException(exception, "Failed to convert field : '", field,
+            throw new JSONException(throwable, "Failed to convert field : '", field.name,
                                     "' for object ", object);
         }
     }
@@ -19,8 +19,8 @@
 
 package jhelp.util.io.json;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -30,7 +30,8 @@ import java.util.HashMap;
 import java.util.Set;
 
 import jhelp.util.HashCode;
-import jhelp.util.list.Pair;
+import jhelp.util.debug.Debug;
+import jhelp.util.io.UtilIO;
 import jhelp.util.text.UtilText;
 
 /**
@@ -41,6 +42,14 @@ import jhelp.util.text.UtilText;
  */
 public class ObjectJSON
 {
+    /**
+     * Index where read the members in lazy mode. {@code null} if members are read
+     */
+    private       JSONIndex                  index;
+    /**
+     * Object entry in {@link #index}
+     */
+    private       int                        indexEntry;
     /**
      * Couples of key, value
      */
@@ -55,28 +64,78 @@ public class ObjectJSON
     }
 
     /**
-     * Parse stream to read object
+     * Create a new instance of ObjectJSON in lazy mode.<br>
+     * Members are read from the index the first time they are accessed
      *
-     * @param inputStream Stream to parse
-     * @return Object read
-     * @throws IOException On reading issue
+     * @param index      Index where read the members
+     * @param indexEntry Object entry in index
      */
-    public static ObjectJSON parse(final InputStream inputStream) throws IOException
+    ObjectJSON(final JSONIndex index, final int indexEntry)
     {
-        final StringBuilder stringBuilder = new StringBuilder();
-        final BufferedReader bufferedReader = new BufferedReader(
-                new InputStreamReader(inputStream));
-        String line = bufferedReader.readLine();
+        this.values = new HashMap<String, ValueJSON>();
+        this.index = index;
+        this.indexEntry = indexEntry;
+    }
+
+    /**
+     * Parse a UTF-8 document in lazy mode.<br>
+     * Only the document structure is indexed, then each object/array reads its members the first time they are
+     * accessed, so reading few fields of a big document don't create all the tree.<br>
+     * Since scalar values are validated only when read, an invalid value throws an {@link IllegalStateException} on
+     * access.<br>
+     * It returns {@code null} if the document is not a JSON object
+     *
+     * @param data Document in UTF-8
+     * @return Object read OR {@code null} if document is not a JSON object
+     */
+    public static ObjectJSON parseLazy(final byte[] data)
+    {
+        try
+        {
+            final JSONIndex index = JSONIndex.index(data, data.length);
+            final int       entry = index.rootEntry();
+
+            if (entry < 0 || !index.isObject(entry))
+            {
+                return null;
+            }
 
-        while (line != null)
+            return new ObjectJSON(index, entry);
+        }
+        catch (final JSONException exception)
         {
-            stringBuilder.append(line);
-            stringBuilder.append('\n');
-            line = bufferedReader.readLine();
+            Debug.printException(exception, "Not a valid JSON object");
+            return null;
         }
+    }
+
+    /**
+     * Parse stream in lazy mode. See {@link #parseLazy(byte[])}.<br>
+     * The stream is read in UTF-8 until its end, it is not closed.<br>
+     * It returns {@code null} if stream not contains a JSON object
+     *
+     * @param inputStream Stream to parse
+     * @return Object read OR {@code null} if stream not contains a JSON object
+     * @throws IOException On reading issue
+     */
+    public static ObjectJSON parseLazy(final InputStream inputStream) throws IOException
+    {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        UtilIO.write(inputStream, byteArrayOutputStream);
+        return ObjectJSON.parseLazy(byteArrayOutputStream.toByteArray());
+    }
 
-        return ObjectJSON.parse(stringBuilder.toString()
-                                             .trim());
+    /**
+     * Parse stream to read object.<br>
+     * It returns {@code null} if stream not contains a JSON object
+     *
+     * @param inputStream Stream to parse
+     * @return Object read OR {@code null} if stream not contains a JSON object
+     * @throws IOException On reading issue
+     */
+    public static ObjectJSON parse(final InputStream inputStream) throws IOException
+    {
+        return ObjectJSON.parse(new JSONParser(new InputStreamReader(inputStream)));
     }
 
     /**
@@ -88,79 +147,58 @@ public class ObjectJSON
      */
     public static ObjectJSON parse(final String string)
     {
-        final Pair<ObjectJSON, Integer> pair = ObjectJSON.parse(string, 0, string.length() - 1);
-
-        if (pair == null)
+        try
         {
+            return ObjectJSON.parse(new JSONParser(string));
+        }
+        catch (final IOException exception)
+        {
+            // Should never happen with a String
+            Debug.printException(exception, "Failed to read String");
             return null;
         }
-
-        return pair.element1;
     }
 
     /**
-     * Parse String part to get JSON object and the next index to read the rest of the String.<br>
-     * It returns {@code null} if the String part is not a JSON object
+     * Parse the first value of a parser as JSON object.<br>
+     * It returns {@code null} if the value is not a JSON object
      *
-     * @param string String to parse
-     * @param first  First index to start parsing
-     * @param last   Last index to stop parsing
-     * @return JSON object parsed and next index to read String OR {@code null} if String part is
-     * not a JSON object
+     * @param jsonParser Parser to read
+     * @return JSON object parsed OR {@code null} if value is not a JSON object
+     * @throws IOException On reading issue
      */
-    static Pair<ObjectJSON, Integer> parse(final String string, int first, int last)
+    static ObjectJSON parse(final JSONParser jsonParser) throws IOException
     {
-        first = string.indexOf('{', first);
-        last = string.lastIndexOf('}', last);
+        try
+        {
+            if (jsonParser.next() != JSONEvent.START_OBJECT)
+            {
+                return null;
+            }
 
-        if ((first < 0) || (last < 0) || (first >= last))
+            return jsonParser.readObject();
+        }
+        catch (final JSONException exception)
         {
+            Debug.printException(exception, "Not a valid JSON object");
             return null;
         }
+    }
 
-        final ObjectJSON objectJSON = new ObjectJSON();
-
-        while ((first >= 0) && (first < last))
+    /**
+     * Members, read from the index if lazy mode and not already done
+     *
+     * @return Members
+     */
+    private HashMap<String, ValueJSON> values()
+    {
+        if (this.index != null)
         {
-            first = string.indexOf('"', first);
-
-            if (first < 0)
-            {
-                break;
-            }
-
-            int end = string.indexOf('"', first + 1);
-
-            while ((end > 0) && (string.charAt(end - 1) == '\\'))
-            {
-                end = string.indexOf('"', end + 1);
-            }
-
-            if (end < 0)
-            {
-                break;
-            }
-
-            final String name = string.substring(first + 1, end);
-            first = string.indexOf(':', end + 1);
-
-            if (first < 0)
-            {
-                break;
-            }
-
-            final Pair<ValueJSON, Integer> pair = ValueJSON.parse(string, first + 1, last);
-
-            if (pair == null)
-            {
-                break;
-            }
-
-            objectJSON.put(name, pair.element1);
-            first = string.indexOf(',', pair.element2);
+            this.index.fillObject(this.indexEntry, this.values);
+            this.index = null;
         }
 
-        return new Pair<ObjectJSON, Integer>(objectJSON, last);
+        return this.values;
     }
 
     /**
@@ -181,7 +219,7 @@ public class ObjectJSON
             throw new NullPointerException("valueJSON MUST NOT be null");
         }
 
-        this.values.put(key, valueJSON);
+        this.values().put(key, valueJSON);
     }
 
     /**
@@ -193,7 +231,7 @@ public class ObjectJSON
      */
     public ValueJSON get(final String key)
     {
-        return this.values.get(key);
+        return this.values().get(key);
     }
 
     /**
@@ -204,7 +242,7 @@ public class ObjectJSON
      */
     public boolean exists(String key)
     {
-        return this.values.containsKey(key);
+        return this.values().containsKey(key);
     }
 
     /**
@@ -215,8 +253,8 @@ public class ObjectJSON
      */
     public boolean isNull(String key)
     {
-        return this.values.get(key)
-                          .isNull();
+        return this.values().get(key)
+                            .isNull();
     }
 
     /**
@@ -228,7 +266,7 @@ public class ObjectJSON
      */
     public ArrayJSON getArray(final String key)
     {
-        final ValueJSON json = this.values.get(key);
+        final ValueJSON json = this.values().get(key);
 
         if (json == null)
         {
@@ -264,7 +302,7 @@ public class ObjectJSON
      */
     public boolean getBoolean(final String key, final boolean defaultValue)
     {
-        final ValueJSON json = this.values.get(key);
+        final ValueJSON json = this.values().get(key);
 
         if (json == null)
         {
@@ -301,7 +339,7 @@ public class ObjectJSON
      */
     public double getDouble(final String key, final double defaultValue)
     {
-        final ValueJSON json = this.values.get(key);
+        final ValueJSON json = this.values().get(key);
 
         if (json == null)
         {
@@ -331,7 +369,7 @@ public class ObjectJSON
      */
     public float getFloat(final String key, final float defaultValue)
     {
-        final ValueJSON json = this.values.get(key);
+        final ValueJSON json = this.values().get(key);
 
         if (json == null)
         {
@@ -361,7 +399,7 @@ public class ObjectJSON
      */
     public int getInt(final String key, final int defaultValue)
     {
-        final ValueJSON json = this.values.get(key);
+        final ValueJSON json = this.values().get(key);
 
         if (json == null)
         {
@@ -389,12 +427,12 @@ public class ObjectJSON
      */
     public Set<String> getKeys()
     {
-        return this.values.keySet();
+        return this.values().keySet();
     }
 
     public int numberOfValue()
     {
-        return this.values.size();
+        return this.values().size();
     }
 
     /**
@@ -406,7 +444,7 @@ public class ObjectJSON
      */
     public long getLong(final String key, final long defaultValue)
     {
-        final ValueJSON json = this.values.get(key);
+        final ValueJSON json = this.values().get(key);
 
         if (json == null)
         {
@@ -436,7 +474,7 @@ public class ObjectJSON
      */
     public ObjectJSON getObject(final String key)
     {
-        final ValueJSON json = this.values.get(key);
+        final ValueJSON json = this.values().get(key);
 
         if (json == null)
         {
@@ -473,7 +511,7 @@ public class ObjectJSON
      */
     public String getString(final String key, final String defaultValue)
     {
-        final ValueJSON json = this.values.get(key);
+        final ValueJSON json = this.values().get(key);
 
         if (json == null)
         {
@@ -513,7 +551,7 @@ public class ObjectJSON
     @Override
     public int hashCode()
     {
-        return HashCode.computeHashCode(this.values);
+        return HashCode.computeHashCode(this.values());
     }
 
     /**
@@ -546,15 +584,15 @@ public class ObjectJSON
 
         final ObjectJSON objectJSON = (ObjectJSON) object;
 
-        if (this.values.size() != objectJSON.values.size())
+        if (this.values().size() != objectJSON.values().size())
         {
             return false;
         }
 
-        for (final String key : this.values.keySet())
+        for (final String key : this.values().keySet())
         {
-            if (!this.values.get(key)
-                            .equals(objectJSON.values.get(key)))
+            if (!this.values().get(key)
+                            .equals(objectJSON.values().get(key)))
             {
                 return false;
             }
@@ -582,7 +620,7 @@ public class ObjectJSON
 
         boolean first = true;
 
-        for (final String key : this.values.keySet())
+        for (final String key : this.values().keySet())
         {
             if (!first)
             {
@@ -593,7 +631,7 @@ public class ObjectJSON
             stringBuilder.append('"');
             stringBuilder.append(key);
             stringBuilder.append("\":");
-            stringBuilder.append(this.values.get(key));
+            stringBuilder.append(this.values().get(key));
         }
 
         stringBuilder.append('}');
@@ -658,7 +696,7 @@ public class ObjectJSON
         ValueType valueType;
         int       more;
 
-        for (final String key : this.values.keySet())
+        for (final String key : this.values().keySet())
         {
             if (!first)
             {
@@ -680,7 +718,7 @@ public class ObjectJSON
             bufferedWriter.write("\"");
             bufferedWriter.write(key);
             bufferedWriter.write("\":");
-            valueJSON = this.values.get(key);
+            valueJSON = this.values().get(key);
             valueType = valueJSON.getType();
             more = 0;
 
@@ -696,7 +734,7 @@ public class ObjectJSON
 
         if (!compact)
         {
-            if (this.values.size() > 0)
+            if (this.values().size() > 0)
             {
                 bufferedWriter.newLine();
             }
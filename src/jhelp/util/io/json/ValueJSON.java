@@ -11,6 +11,7 @@
 package jhelp.util.io.json;
 
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -18,10 +19,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.util.Arrays;
 
 import jhelp.util.HashCode;
 import jhelp.util.io.UtilIO;
-import jhelp.util.list.Pair;
+import jhelp.util.io.base64.Base64Common;
 import jhelp.util.math.UtilMath;
 import jhelp.util.text.UtilText;
 
@@ -34,248 +36,102 @@ import jhelp.util.text.UtilText;
  */
 public final class ValueJSON
 {
-   /** Key word for <b>false</b> value */
-   private static final String   KEY_FALSE = "false";
-   /** Key word for <b>null</b> value */
-   private static final String   KEY_NULL  = "null";
-   /** Key word for <b>true</b> value */
-   private static final String   KEY_TRUE  = "true";
-   /** False value */
-   public final static ValueJSON FALSE     = new ValueJSON(ValueType.BOOLEAN, false);
-   /** Null value */
-   public static final ValueJSON NULL      = new ValueJSON(ValueType.NULL, null);
-   /** True value */
-   public final static ValueJSON TRUE      = new ValueJSON(ValueType.BOOLEAN, true);
-
    /**
-    * Search the corresponding } OR ] on string.<br>
-    * We count { and [ as +1, } and ] as -1, if we have negative value, we found the corresponding.<br>
-    * It returns -1 if not found
+    * Binary content of a String value.<br>
+    * The String form (Base64) is computed only if need
     *
-    * @param string
-    *           String to parse
-    * @param start
-    *           Index where start the search (Just after the opening [ OR {
-    * @param end
-    *           Last index where search
-    * @return Corresponding index or -1 if not found
+    * @author JHelp
     */
-   private static int serachCorrespondingEnd(final String string, final int start, final int end)
+   static final class Binary
    {
-      final char[] chars = string.toCharArray();
-
-      boolean insideString = false;
-      boolean antiSlash = false;
-      int accolades = 0;
-      int barks = 0;
-
-      for(int i = start; i <= end; i++)
-      {
-         switch(chars[i])
+      /** Base64 representation, computed on demand */
+      private volatile String base64;
+      /** Binary content */
+      final byte[]            data;
+
+      /**
+       * Create a new instance of Binary
+       *
+       * @param data
+       *           Binary content
+       */
+      Binary(final byte[] data)
+      {
+         this.data = data;
+      }
+
+      /**
+       * Hash code, same as the Base64 String one <br>
+       * <br>
+       * <b>Parent documentation:</b><br>
+       * {@inheritDoc}
+       *
+       * @return Hash code
+       * @see java.lang.Object#hashCode()
+       */
+      @Override
+      public int hashCode()
+      {
+         return this.toString()
+                    .hashCode();
+      }
+
+      /**
+       * Indicates if an object is equals, compare Base64 representations <br>
+       * <br>
+       * <b>Parent documentation:</b><br>
+       * {@inheritDoc}
+       *
+       * @param object
+       *           Object to compare
+       * @return {@code true} if equals
+       * @see java.lang.Object#equals(java.lang.Object)
+       */
+      @Override
+      public boolean equals(final Object object)
+      {
+         if(this == object)
          {
-            case '{':
-               if((!insideString) && (!antiSlash))
-               {
-                  accolades++;
-               }
-
-               antiSlash = false;
-            break;
-            case '[':
-               if((!insideString) && (!antiSlash))
-               {
-                  barks++;
-               }
-
-               antiSlash = false;
-            break;
-            case '}':
-               if((!insideString) && (!antiSlash))
-               {
-                  accolades--;
-
-                  if(accolades < 0)
-                  {
-                     return i;
-                  }
-               }
-
-               antiSlash = false;
-            break;
-            case ']':
-               if((!insideString) && (!antiSlash))
-               {
-                  barks--;
-
-                  if(barks < 0)
-                  {
-                     return i;
-                  }
-               }
-
-               antiSlash = false;
-            break;
-            case '\\':
-               antiSlash = !antiSlash;
-            break;
-            case '"':
-               if(!antiSlash)
-               {
-                  insideString = !insideString;
-               }
-
-               antiSlash = false;
-            break;
-            default:
-               antiSlash = false;
-            break;
+            return true;
          }
-      }
-
-      return -1;
-   }
-
-   /**
-    * Parse a part of String to JSON value and next index to read.<br>
-    * It returns {@code null} if part String not a JSON value
-    *
-    * @param string
-    *           String to parse
-    * @param first
-    *           Start index to parse
-    * @param last
-    *           End index to parse
-    * @return JSON value and next index OR {@code null} if part String not a JSON value
-    */
-   static Pair<ValueJSON, Integer> parse(final String string, int first, final int last)
-   {
-      // Search first not white character
-      while((first <= last) && (string.charAt(first) <= 32))
-      {
-         first++;
-      }
-
-      if(first > last)
-      {
-         return null;
-      }
 
-      // Is their, at least, 2 characters
-      if(first < last)
-      {
-         switch(string.charAt(first))
+         if(object instanceof Binary)
          {
-            // Try to parse as String
-            case '"':
-            {
-               int end = first + 1;
-               boolean antiSlash = false;
-               boolean found = false;
-
-               // Search String end
-               for(; (end <= last) && (!found); end++)
-               {
-                  switch(string.charAt(end))
-                  {
-                     case '\\':
-                        antiSlash = !antiSlash;
-                     break;
-                     case '"':
-                        if(!antiSlash)
-                        {
-                           found = true;
-                        }
-
-                        antiSlash = false;
-                     break;
-                     default:
-                        antiSlash = false;
-                     break;
-                  }
-               }
-
-               if(end <= last)
-               {
-                  // Found String
-                  return new Pair<ValueJSON, Integer>(ValueJSON.newValue(string.substring(first + 1, end - 1)), end);
-               }
-            }
-            break;
-            // Try to parse as JSON object
-            case '{':
-            {
-               // Search ending definition
-               final int end = ValueJSON.serachCorrespondingEnd(string, first + 1, last);
-
-               if(end >= 0)
-               {
-                  // Parse the JSON object
-                  final Pair<ObjectJSON, Integer> pair = ObjectJSON.parse(string, first, end);
-
-                  if(pair != null)
-                  {
-                     return new Pair<ValueJSON, Integer>(ValueJSON.newValue(pair.element1), pair.element2);
-                  }
-               }
-            }
-            break;
-            // Try to parse as JSON array
-            case '[':
-            {
-               // Search ending definition
-               final int end = ValueJSON.serachCorrespondingEnd(string, first + 1, last);
-
-               if(end >= 0)
-               {
-                  // Parse the JSON array
-                  final Pair<ArrayJSON, Integer> pair = ArrayJSON.parse(string, first, end);
-
-                  if(pair != null)
-                  {
-                     return new Pair<ValueJSON, Integer>(ValueJSON.newValue(pair.element1), pair.element2);
-                  }
-               }
-            }
-            break;
+            return Arrays.equals(this.data, ((Binary) object).data);
          }
-      }
-
-      // Search key word or number end
-      int end = first + 1;
-      while((end <= last) && (string.charAt(end) > 32) && (string.charAt(end) != ',') && (string.charAt(end) != ']') && (string.charAt(end) != '}'))
-      {
-         end++;
-      }
-
-      // Try to recognize the extracted word
-      final String value = string.substring(first, end);
-
-      if(ValueJSON.KEY_NULL.equals(value))
-      {
-         return new Pair<ValueJSON, Integer>(ValueJSON.NULL, end);
-      }
 
-      if(ValueJSON.KEY_TRUE.equals(value))
-      {
-         return new Pair<ValueJSON, Integer>(ValueJSON.TRUE, end);
+         return object instanceof String && this.toString()
+                                                .equals(object);
       }
 
-      if(ValueJSON.KEY_FALSE.equals(value))
+      /**
+       * Base64 representation <br>
+       * <br>
+       * <b>Parent documentation:</b><br>
+       * {@inheritDoc}
+       *
+       * @return Base64 representation
+       * @see java.lang.Object#toString()
+       */
+      @Override
+      public String toString()
       {
-         return new Pair<ValueJSON, Integer>(ValueJSON.FALSE, end);
-      }
+         if(this.base64 == null)
+         {
+            this.base64 = Base64Common.toBase64(this.data);
+         }
 
-      try
-      {
-         return new Pair<ValueJSON, Integer>(ValueJSON.newValue(Double.parseDouble(value)), end);
+         return this.base64;
       }
-      catch(final Exception ignored)
-      {
-      }
-
-      return null;
    }
 
+   /** False value */
+   public final static ValueJSON FALSE = new ValueJSON(ValueType.BOOLEAN, false);
+   /** Null value */
+   public static final ValueJSON NULL  = new ValueJSON(ValueType.NULL, null);
+   /** True value */
+   public final static ValueJSON TRUE  = new ValueJSON(ValueType.BOOLEAN, true);
+
    /**
     * Create JSON value with a JSON array inside
     *
@@ -376,7 +232,30 @@ public final class ValueJSON
     */
    public static ValueJSON newValue(final InputStream inputStream) throws IOException
    {
-      return ValueJSON.newValue(UtilIO.toBase64(inputStream));
+      final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+      UtilIO.write(inputStream, byteArrayOutputStream);
+      return ValueJSON.newValue(byteArrayOutputStream.toByteArray());
+   }
+
+   /**
+    * Create a JSON value with binary content.<br>
+    * The value is a String (Base64 representation of the binary), but the binary is kept as is : the Base64 is
+    * computed only if the value is written as text. So {@link #getBinary()} and {@link JSONBinary} don't do any
+    * conversion.<br>
+    * The array is not copied, so it MUST NOT be modified after
+    *
+    * @param binary
+    *           Binary content
+    * @return Created JSON value
+    */
+   public static ValueJSON newValue(final byte[] binary)
+   {
+      if(binary == null)
+      {
+         throw new NullPointerException("binary MUST NOT be null");
+      }
+
+      return new ValueJSON(ValueType.STRING, new Binary(binary));
    }
 
    /**
@@ -528,6 +407,16 @@ public final class ValueJSON
          return true;
       }
 
+      if(this.valueType == ValueType.STRING)
+      {
+         if(this.value instanceof Binary)
+         {
+            return this.value.equals(value.value);
+         }
+
+         return value.value.equals(this.value);
+      }
+
       return this.value.equals(value.value);
    }
 
@@ -607,9 +496,46 @@ public final class ValueJSON
     */
    public void getBinary(final OutputStream outputStream) throws IOException
    {
+      if(this.value instanceof Binary)
+      {
+         outputStream.write(((Binary) this.value).data);
+         return;
+      }
+
       UtilIO.fromBase64(this.getString(), outputStream);
    }
 
+   /**
+    * Get JSON value as binary.<br>
+    * If value was created with binary content, the content is returned directly (so it MUST NOT be modified), else
+    * the String is decoded from Base64
+    *
+    * @return Binary content
+    * @throws IOException
+    *            If String is not a valid Base64
+    */
+   public byte[] getBinary() throws IOException
+   {
+      if(this.value instanceof Binary)
+      {
+         return ((Binary) this.value).data;
+      }
+
+      final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+      UtilIO.fromBase64(this.getString(), byteArrayOutputStream);
+      return byteArrayOutputStream.toByteArray();
+   }
+
+   /**
+    * Indicates if value was created with binary content, so {@link #getBinary()} don't do any conversion
+    *
+    * @return {@code true} if value was created with binary content
+    */
+   public boolean isBinary()
+   {
+      return this.value instanceof Binary;
+   }
+
    /**
     * Obtain boolean content.<br>
     * The value type <b>MUST</b> be a boolean<br>
@@ -624,7 +550,8 @@ public final class ValueJSON
          case BOOLEAN:
             return (Boolean) this.value;
          case STRING:
-            final String value = ((String) this.value).trim();
+            final String value = this.value.toString()
+                                           .trim();
 
             if("true".equalsIgnoreCase(value))
             {
@@ -656,7 +583,7 @@ public final class ValueJSON
          case NUMBER:
             return (Double) this.value;
          case STRING:
-            return Double.parseDouble((String) this.value);
+            return Double.parseDouble(this.value.toString());
          default:
             throw new IllegalStateException("Can't see " + this.valueType + " value as number");
       }
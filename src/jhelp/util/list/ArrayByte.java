@@ -0,0 +1,520 @@
+package jhelp.util.list;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Array of byte.<br>
+ * More optimized than {@link ArrayList ArrayList<Byte>}
+ *
+ * @author JHelp
+ */
+public class ArrayByte
+{
+    /**
+     * Array of byte
+     */
+    private byte[]  array;
+    /**
+     * Actual size
+     */
+    private int     size;
+    /**
+     * Indicates if array is sorted
+     */
+    private boolean sorted;
+
+    /**
+     * Create a new instance of ArrayByte
+     */
+    public ArrayByte()
+    {
+        this(128);
+    }
+
+    /**
+     * Create a new instance of ArrayByte
+     *
+     * @param initialSize Initial capacity
+     */
+    public ArrayByte(final int initialSize)
+    {
+        this.array = new byte[Math.max(initialSize, 128)];
+        this.size = 0;
+
+        this.sorted = true;
+    }
+
+    /**
+     * Check if an index is valid
+     *
+     * @param index Index checked
+     * @throws IllegalArgumentException if index not valid
+     */
+    private void checkIndex(final int index)
+    {
+        if ((index < 0) || (index >= this.size))
+        {
+            throw new IllegalArgumentException("index must be in [0, " + this.size + "[ not " + index);
+        }
+    }
+
+    /**
+     * Expand, if need, the capacity
+     *
+     * @param more Number of free space at least need
+     */
+    private void expand(final int more)
+    {
+        if ((this.size + more) > this.array.length)
+        {
+            this.array = Arrays.copyOf(this.array, PrimitiveCollections.grow(this.array.length, this.size + more));
+        }
+    }
+
+    /**
+     * Add a byte in the array
+     *
+     * @param value Byte to add
+     */
+    public void add(final byte value)
+    {
+        this.expand(1);
+
+        this.sorted = (this.size == 0) || ((this.sorted) && (this.array[this.size - 1] <= value));
+
+        this.array[this.size] = value;
+        this.size++;
+    }
+
+    /**
+     * Add all elements of an array
+     *
+     * @param toAdd Array to add its elements
+     */
+    public void addAll(final ArrayByte toAdd)
+    {
+        if (toAdd == null)
+        {
+            return;
+        }
+
+        this.addAll(toAdd.array, 0, toAdd.size);
+    }
+
+    /**
+     * Add all elements of an array
+     *
+     * @param toAdd Array to add its elements
+     */
+    public void addAll(final byte[] toAdd)
+    {
+        if (toAdd == null)
+        {
+            return;
+        }
+
+        this.addAll(toAdd, 0, toAdd.length);
+    }
+
+    /**
+     * Add a part of an array
+     *
+     * @param toAdd  Array to add its elements
+     * @param offset First element to add
+     * @param length Number of elements to add
+     */
+    public void addAll(final byte[] toAdd, final int offset, final int length)
+    {
+        if (length <= 0)
+        {
+            return;
+        }
+
+        this.expand(length);
+        System.arraycopy(toAdd, offset, this.array, this.size, length);
+
+        if (this.sorted)
+        {
+            final int start = Math.max(1, this.size);
+            final int end   = this.size + length;
+
+            for (int index = start; index < end && this.sorted; index++)
+            {
+                this.sorted = this.array[index - 1] <= this.array[index];
+            }
+        }
+
+        this.size += length;
+    }
+
+    /**
+     * Clear the array
+     */
+    public void clear()
+    {
+        this.size = 0;
+        this.sorted = true;
+    }
+
+    /**
+     * Indicates if a byte is in the array.<br>
+     * Search is on O(n)
+     *
+     * @param value Byte search
+     * @return {@code true} if the byte is inside
+     */
+    public boolean contains(final byte value)
+    {
+        return this.getIndex(value) >= 0;
+    }
+
+    /**
+     * Indicates if a byte is in the array.<br>
+     * Search is in O(LN(n)) but work only if the array is sorted
+     *
+     * @param value Byte search
+     * @return {@code true} if the byte is inside
+     */
+    public boolean containsSupposeSorted(final byte value)
+    {
+        return this.getIndexSupposeSorted(value) >= 0;
+    }
+
+    /**
+     * Create a copy of the array
+     *
+     * @return The copy
+     */
+    public ArrayByte createCopy()
+    {
+        final ArrayByte copy = new ArrayByte(this.size);
+        System.arraycopy(this.array, 0, copy.array, 0, this.size);
+        copy.size = this.size;
+        copy.sorted = this.sorted;
+        return copy;
+    }
+
+    /**
+     * Do an action on each element, in array order
+     *
+     * @param action Action to do
+     */
+    public void forEach(final IntConsumer action)
+    {
+        if (action == null)
+        {
+            throw new NullPointerException("action MUST NOT be null");
+        }
+
+        final byte[] array = this.array;
+        final int    size  = this.size;
+
+        for (int index = 0; index < size; index++)
+        {
+            action.accept(array[index]);
+        }
+    }
+
+    /**
+     * Index of a byte or -1 if byte not in the array.<br>
+     * Search is on O(n)
+     *
+     * @param value Byte search
+     * @return Byte index or -1 if byte not in the array
+     */
+    public int getIndex(final byte value)
+    {
+        if (this.sorted)
+        {
+            return this.getIndexSupposeSorted(value);
+        }
+
+        for (int i = 0; i < this.size; i++)
+        {
+            if (this.array[i] == value)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Index of a byte or -1 if byte not in the array.<br>
+     * Search is in O(LN(n)) but work only if the array is sorted
+     *
+     * @param value Byte search
+     * @return Byte index or -1 if byte not in the array
+     */
+    public int getIndexSupposeSorted(final byte value)
+    {
+        final int index = Arrays.binarySearch(this.array, 0, this.size, value);
+
+        if (index < 0)
+        {
+            return -1;
+        }
+
+        return index;
+    }
+
+    /**
+     * Obtain a byte from the array
+     *
+     * @param index Byte index
+     * @return Byte
+     */
+    public byte getByte(final int index)
+    {
+        this.checkIndex(index);
+
+        return this.array[index];
+    }
+
+    /**
+     * Elements inside [minimum, maximum].<br>
+     * Search is in O(LN(n)) but work only if the array is sorted
+     *
+     * @param minimum Minimum value (included)
+     * @param maximum Maximum value (included)
+     * @return Elements in range, in increasing order
+     */
+    public byte[] getRangeSupposeSorted(final byte minimum, final byte maximum)
+    {
+        final int start = this.lowerBoundSupposeSorted(minimum);
+        final int end   = this.upperBoundSupposeSorted(maximum);
+
+        if (start >= end)
+        {
+            return new byte[0];
+        }
+
+        return Arrays.copyOfRange(this.array, start, end);
+    }
+
+    /**
+     * Array size
+     *
+     * @return Array size
+     */
+    public int getSize()
+    {
+        return this.size;
+    }
+
+    /**
+     * Insert a byte to a given index
+     *
+     * @param value Byte to insert
+     * @param index Index where insert
+     */
+    public void insert(final byte value, int index)
+    {
+        if (index < 0)
+        {
+            index = 0;
+        }
+
+        if (index >= this.size)
+        {
+            this.add(value);
+
+            return;
+        }
+
+        this.expand(1);
+        this.sorted = (this.sorted) && ((index == 0) || (value >= this.array[index - 1])) && (value <= this.array[index]);
+
+        System.arraycopy(this.array, index, this.array, index + 1, this.size - index);
+
+        this.array[index] = value;
+        this.size++;
+    }
+
+    /**
+     * Indicates if array is empty
+     *
+     * @return {@code true} if array is empty
+     */
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    /**
+     * Indicates if array is sorted.<br>
+     * But it does it in fast way, so if the answer is {@code true}, its sure that the array is sorted, but if {@code false}
+     * indicates that sorted is unknown
+     *
+     * @return {@code true} if array is sorted. {@code false} if not sure about sorted status
+     */
+    public boolean isSortedFast()
+    {
+        return this.sorted;
+    }
+
+    /**
+     * Index of first element greater or equal to a value, {@link #getSize()} if all elements are lower.<br>
+     * Search is in O(LN(n)) but work only if the array is sorted
+     *
+     * @param value Value search
+     * @return Index of first element greater or equal to the value
+     */
+    public int lowerBoundSupposeSorted(final byte value)
+    {
+        int min = 0;
+        int max = this.size;
+        int mil;
+
+        while (min < max)
+        {
+            mil = (min + max) >>> 1;
+
+            if (this.array[mil] < value)
+            {
+                min = mil + 1;
+            }
+            else
+            {
+                max = mil;
+            }
+        }
+
+        return min;
+    }
+
+    /**
+     * Remove a byte
+     *
+     * @param index Index of byte to remove
+     */
+    public void remove(final int index)
+    {
+        this.checkIndex(index);
+
+        System.arraycopy(this.array, index + 1, this.array, index, this.size - index - 1);
+        this.size--;
+
+        if (this.size < 2)
+        {
+            this.sorted = true;
+        }
+    }
+
+    /**
+     * Change a byte on the array
+     *
+     * @param index Index to change
+     * @param value New value
+     */
+    public void setByte(final int index, final byte value)
+    {
+        this.checkIndex(index);
+
+        this.array[index] = value;
+
+        this.sorted = (this.sorted) && ((index == 0) || (value >= this.array[index - 1]))
+                      && ((index == (this.size - 1)) || (value <= this.array[index + 1]));
+    }
+
+    /**
+     * Sort the array
+     */
+    public void sort()
+    {
+        if (this.sorted)
+        {
+            return;
+        }
+
+        Arrays.sort(this.array, 0, this.size);
+        this.sorted = true;
+    }
+
+    /**
+     * Sort the array, using several threads for big arrays
+     */
+    public void sortParallel()
+    {
+        if (this.sorted)
+        {
+            return;
+        }
+
+        Arrays.parallelSort(this.array, 0, this.size);
+        this.sorted = true;
+    }
+
+    /**
+     * Convert in byte array
+     *
+     * @return Extracted array
+     */
+    public byte[] toArray()
+    {
+        return Arrays.copyOf(this.array, this.size);
+    }
+
+    /**
+     * String representation <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return String representation
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder stringBuilder = new StringBuilder("[");
+
+        if (this.size > 0)
+        {
+            stringBuilder.append(this.array[0]);
+
+            for (int i = 1; i < this.size; i++)
+            {
+                stringBuilder.append(", ");
+                stringBuilder.append(this.array[i]);
+            }
+        }
+
+        stringBuilder.append(']');
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Index after last element lower or equal to a value, 0 if all elements are greater.<br>
+     * Search is in O(LN(n)) but work only if the array is sorted
+     *
+     * @param value Value search
+     * @return Index after last element lower or equal to the value
+     */
+    public int upperBoundSupposeSorted(final byte value)
+    {
+        int min = 0;
+        int max = this.size;
+        int mil;
+
+        while (min < max)
+        {
+            mil = (min + max) >>> 1;
+
+            if (this.array[mil] <= value)
+            {
+                min = mil + 1;
+            }
+            else
+            {
+                max = mil;
+            }
+        }
+
+        return min;
+    }
+}
@@ -2,6 +2,7 @@ package jhelp.util.list;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.function.DoubleConsumer;
 
 import jhelp.util.math.UtilMath;
 
@@ -278,13 +279,7 @@ public class ArrayDouble
     {
         if ((this.size + more) >= this.array.length)
         {
-            int newSize = this.size + more;
-            newSize += (newSize / 10) + 1;
-
-            final double[] temp = new double[newSize];
-            System.arraycopy(this.array, 0, temp, 0, this.size);
-
-            this.array = temp;
+            this.array = Arrays.copyOf(this.array, PrimitiveCollections.grow(this.array.length, this.size + more + 1));
         }
     }
 
@@ -303,6 +298,167 @@ public class ArrayDouble
         this.size++;
     }
 
+    /**
+     * Add all elements of an array
+     *
+     * @param toAdd Array to add its elements
+     */
+    public void addAll(final double[] toAdd)
+    {
+        if (toAdd == null)
+        {
+            return;
+        }
+
+        this.addAll(toAdd, 0, toAdd.length);
+    }
+
+    /**
+     * Add a part of an array
+     *
+     * @param toAdd  Array to add its elements
+     * @param offset First element to add
+     * @param length Number of elements to add
+     */
+    public void addAll(final double[] toAdd, final int offset, final int length)
+    {
+        if (length <= 0)
+        {
+            return;
+        }
+
+        this.expand(length);
+        System.arraycopy(toAdd, offset, this.array, this.size, length);
+
+        if (this.sorted)
+        {
+            final int end = this.size + length;
+
+            for (int index = Math.max(1, this.size); index < end && this.sorted; index++)
+            {
+                this.sorted = this.array[index - 1] <= this.array[index];
+            }
+        }
+
+        this.size += length;
+    }
+
+    /**
+     * Do an action on each element, in array order
+     *
+     * @param action Action to do
+     */
+    public void forEach(final DoubleConsumer action)
+    {
+        if (action == null)
+        {
+            throw new NullPointerException("action MUST NOT be null");
+        }
+
+        final double[] array = this.array;
+        final int      size  = this.size;
+
+        for (int index = 0; index < size; index++)
+        {
+            action.accept(array[index]);
+        }
+    }
+
+    /**
+     * Elements inside [minimum, maximum].<br>
+     * Search is in O(LN(n)) but work only if the array is sorted
+     *
+     * @param minimum Minimum value (included)
+     * @param maximum Maximum value (included)
+     * @return Elements in range, in increasing order
+     */
+    public double[] getRangeSupposeSorted(final double minimum, final double maximum)
+    {
+        final int start = this.lowerBoundSupposeSorted(minimum);
+        final int end   = this.upperBoundSupposeSorted(maximum);
+
+        if (start >= end)
+        {
+            return new double[0];
+        }
+
+        return Arrays.copyOfRange(this.array, start, end);
+    }
+
+    /**
+     * Index of first element greater or equal to a value, {@link #getSize()} if all elements are lower.<br>
+     * Search is in O(LN(n)) but work only if the array is sorted
+     *
+     * @param real Value search
+     * @return Index of first element greater or equal to the value
+     */
+    public int lowerBoundSupposeSorted(final double real)
+    {
+        int min = 0;
+        int max = this.size;
+        int mil;
+
+        while (min < max)
+        {
+            mil = (min + max) >>> 1;
+
+            if (this.array[mil] < real)
+            {
+                min = mil + 1;
+            }
+            else
+            {
+                max = mil;
+            }
+        }
+
+        return min;
+    }
+
+    /**
+     * Sort the array, using several threads for big arrays
+     */
+    public void sortParallel()
+    {
+        if (this.sorted)
+        {
+            return;
+        }
+
+        Arrays.parallelSort(this.array, 0, this.size);
+        this.sorted = true;
+    }
+
+    /**
+     * Index after last element lower or equal to a value, 0 if all elements are greater.<br>
+     * Search is in O(LN(n)) but work only if the array is sorted
+     *
+     * @param real Value search
+     * @return Index after last element lower or equal to the value
+     */
+    public int upperBoundSupposeSorted(final double real)
+    {
+        int min = 0;
+        int max = this.size;
+        int mil;
+
+        while (min < max)
+        {
+            mil = (min + max) >>> 1;
+
+            if (this.array[mil] <= real)
+            {
+                min = mil + 1;
+            }
+            else
+            {
+                max = mil;
+            }
+        }
+
+        return min;
+    }
+
     /**
      * Indicates if array is empty
      *
@@ -2,6 +2,7 @@ package jhelp.util.list;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 /**
  * Array of integer.<br>
@@ -66,13 +67,7 @@ public class ArrayInt
    {
       if((this.size + more) >= this.array.length)
       {
-         int newSize = this.size + more;
-         newSize += (newSize / 10) + 1;
-
-         final int[] temp = new int[newSize];
-         System.arraycopy(this.array, 0, temp, 0, this.size);
-
-         this.array = temp;
+         this.array = Arrays.copyOf(this.array, PrimitiveCollections.grow(this.array.length, this.size + more + 1));
       }
    }
 
@@ -125,10 +120,56 @@ public class ArrayInt
          return;
       }
 
-      for(int i = 0; i < toAdd.size; i++)
+      this.addAll(toAdd.array, 0, toAdd.size);
+   }
+
+   /**
+    * Add all elements of an array
+    *
+    * @param toAdd
+    *           Array to add its elements
+    */
+   public void addAll(final int[] toAdd)
+   {
+      if(toAdd == null)
       {
-         this.add(toAdd.array[i]);
+         return;
       }
+
+      this.addAll(toAdd, 0, toAdd.length);
+   }
+
+   /**
+    * Add a part of an array
+    *
+    * @param toAdd
+    *           Array to add its elements
+    * @param offset
+    *           First element to add
+    * @param length
+    *           Number of elements to add
+    */
+   public void addAll(final int[] toAdd, final int offset, final int length)
+   {
+      if(length <= 0)
+      {
+         return;
+      }
+
+      this.expand(length);
+      System.arraycopy(toAdd, offset, this.array, this.size, length);
+
+      if(this.sorted)
+      {
+         final int end = this.size + length;
+
+         for(int index = Math.max(1, this.size); (index < end) && (this.sorted); index++)
+         {
+            this.sorted = this.array[index - 1] <= this.array[index];
+         }
+      }
+
+      this.size += length;
    }
 
    /**
@@ -195,6 +236,28 @@ public class ArrayInt
       this.sorted = true;
    }
 
+   /**
+    * Do an action on each element, in array order
+    *
+    * @param action
+    *           Action to do
+    */
+   public void forEach(final IntConsumer action)
+   {
+      if(action == null)
+      {
+         throw new NullPointerException("action MUST NOT be null");
+      }
+
+      final int[] array = this.array;
+      final int size = this.size;
+
+      for(int index = 0; index < size; index++)
+      {
+         action.accept(array[index]);
+      }
+   }
+
    /**
     * Index of an integer or -1 if integer not in the array.<br>
     * Search is on O(n)
@@ -301,6 +364,29 @@ public class ArrayInt
       return this.array[index];
    }
 
+   /**
+    * Elements inside [minimum, maximum].<br>
+    * Search is in O(LN(n)) but work only if the array is sorted
+    *
+    * @param minimum
+    *           Minimum value (included)
+    * @param maximum
+    *           Maximum value (included)
+    * @return Elements in range, in increasing order
+    */
+   public int[] getRangeSupposeSorted(final int minimum, final int maximum)
+   {
+      final int start = this.lowerBoundSupposeSorted(minimum);
+      final int end = this.upperBoundSupposeSorted(maximum);
+
+      if(start >= end)
+      {
+         return new int[0];
+      }
+
+      return Arrays.copyOfRange(this.array, start, end);
+   }
+
    /**
     * Array size
     *
@@ -398,6 +484,37 @@ public class ArrayInt
       return true;
    }
 
+   /**
+    * Index of first element greater or equal to a value, {@link #getSize()} if all elements are lower.<br>
+    * Search is in O(LN(n)) but work only if the array is sorted
+    *
+    * @param integer
+    *           Value search
+    * @return Index of first element greater or equal to the value
+    */
+   public int lowerBoundSupposeSorted(final int integer)
+   {
+      int min = 0;
+      int max = this.size;
+      int mil;
+
+      while(min < max)
+      {
+         mil = (min + max) >>> 1;
+
+         if(this.array[mil] < integer)
+         {
+            min = mil + 1;
+         }
+         else
+         {
+            max = mil;
+         }
+      }
+
+      return min;
+   }
+
    /**
     * remove an integer
     *
@@ -450,6 +567,20 @@ public class ArrayInt
       this.sorted = true;
    }
 
+   /**
+    * Sort the array, using several threads for big arrays
+    */
+   public void sortParallel()
+   {
+      if(this.sorted)
+      {
+         return;
+      }
+
+      Arrays.parallelSort(this.array, 0, this.size);
+      this.sorted = true;
+   }
+
    /**
     * Sort array in unique mode.<br>
     * That is to say if tow integer are equals, only one is keep.<br>
@@ -523,4 +654,35 @@ public class ArrayInt
 
       return stringBuilder.toString();
    }
+
+   /**
+    * Index after last element lower or equal to a value, 0 if all elements are greater.<br>
+    * Search is in O(LN(n)) but work only if the array is sorted
+    *
+    * @param integer
+    *           Value search
+    * @return Index after last element lower or equal to the value
+    */
+   public int upperBoundSupposeSorted(final int integer)
+   {
+      int min = 0;
+      int max = this.size;
+      int mil;
+
+      while(min < max)
+      {
+         mil = (min + max) >>> 1;
+
+         if(this.array[mil] <= integer)
+         {
+            min = mil + 1;
+         }
+         else
+         {
+            max = mil;
+         }
+      }
+
+      return min;
+   }
 }
\ No newline at end of file
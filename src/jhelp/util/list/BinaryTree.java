@@ -7,7 +7,9 @@ import java.util.Stack;
 import jhelp.util.list.Tree.TestFoundListener;
 
 /**
- * A binary tree
+ * A binary tree.<br>
+ * The tree is an AVL tree : it stays balanced after each add or remove (Heights of left and right branches differ by
+ * at most 1), so add, remove and search of an element are in O(LN(n))
  *
  * @param <ELEMENT> Element carry type
  * @author JHelp
@@ -15,17 +17,18 @@ import jhelp.util.list.Tree.TestFoundListener;
 public class BinaryTree<ELEMENT>
 {
     /**
-     * Tree content
+     * Comparator used to sort the tree
      */
-    private final SortedArray<ELEMENT> content;
+    private final Comparator<ELEMENT> comparator;
     /**
-     * Main branch
+     * Number of elements
      */
-    private final Branch<ELEMENT>      trunk;
+    private       int                 size;
     /**
-     * Indicates if tree is updated
+     * Main branch (With {@code null} element if tree is empty)
      */
-    private       boolean              isUpdated;
+    private       Branch<ELEMENT>     trunk;
+
     /**
      * Create a new instance of BinaryTree
      *
@@ -39,10 +42,35 @@ public class BinaryTree<ELEMENT>
             throw new NullPointerException("comparator MUST NOT be null");
         }
 
+        this.comparator = comparator;
         this.trunk = new Branch<ELEMENT>();
-        this.content = new SortedArray<ELEMENT>(elementClass, comparator, true);
-        this.isUpdated = false;
-        this.updateTree();
+        this.size = 0;
+    }
+
+    /**
+     * Branch height
+     *
+     * @param branch Branch to measure (May be {@code null})
+     * @return Branch height (0 for {@code null})
+     */
+    private int height(final Branch<ELEMENT> branch)
+    {
+        if (branch == null)
+        {
+            return 0;
+        }
+
+        return branch.height;
+    }
+
+    /**
+     * Update branch height from its children
+     *
+     * @param branch Branch to update
+     */
+    private void updateHeight(final Branch<ELEMENT> branch)
+    {
+        branch.height = 1 + Math.max(this.height(branch.left), this.height(branch.right));
     }
 
     /**
@@ -94,51 +122,151 @@ public class BinaryTree<ELEMENT>
     }
 
     /**
-     * Insert content interval inside a branch
+     * Search the branch that carry an element considers equals to given one
+     *
+     * @param element Element search
+     * @return Branch found or {@code null} if not found
+     */
+    private Branch<ELEMENT> find(final ELEMENT element)
+    {
+        if (this.trunk.element == null)
+        {
+            return null;
+        }
+
+        Branch<ELEMENT> branch = this.trunk;
+        int             comparison;
+
+        while (branch != null)
+        {
+            comparison = this.comparator.compare(element, branch.element);
+
+            if (comparison == 0)
+            {
+                return branch;
+            }
+
+            branch = comparison < 0
+                     ? branch.left
+                     : branch.right;
+        }
+
+        return null;
+    }
+
+    /**
+     * Restore heights and balance from a branch up to the trunk
      *
-     * @param branch Branch where insert interval
-     * @param start  Interval start index
-     * @param end    Interval end index
+     * @param start First branch to balance
      */
-    private void insert(final Branch<ELEMENT> branch, final int start, final int end)
+    private void rebalance(final Branch<ELEMENT> start)
     {
-        final int midle = (start + end) >> 1;
-        branch.element = this.content.getElement(midle);
+        Branch<ELEMENT> branch = start;
+        int             balance;
+
+        while (branch != null)
+        {
+            this.updateHeight(branch);
+            balance = this.height(branch.left) - this.height(branch.right);
+
+            if (balance > 1)
+            {
+                if (this.height(branch.left.left) < this.height(branch.left.right))
+                {
+                    this.rotateLeft(branch.left);
+                }
+
+                branch = this.rotateRight(branch);
+            }
+            else if (balance < -1)
+            {
+                if (this.height(branch.right.right) < this.height(branch.right.left))
+                {
+                    this.rotateRight(branch.right);
+                }
+
+                branch = this.rotateLeft(branch);
+            }
+
+            branch = branch.parent;
+        }
+    }
 
-        if (midle > start)
+    /**
+     * Put a branch at the place of an other one in its parent
+     *
+     * @param old         Branch to replace
+     * @param replacement Branch to put (May be {@code null})
+     */
+    private void replace(final Branch<ELEMENT> old, final Branch<ELEMENT> replacement)
+    {
+        if (replacement != null)
         {
-            branch.left = new Branch<ELEMENT>();
-            this.insert(branch.left, start, midle - 1);
+            replacement.parent = old.parent;
         }
 
-        if (midle < end)
+        if (old.parent == null)
+        {
+            this.trunk = replacement == null
+                         ? new Branch<ELEMENT>()
+                         : replacement;
+        }
+        else if (old.parent.left == old)
+        {
+            old.parent.left = replacement;
+        }
+        else
         {
-            branch.right = new Branch<ELEMENT>();
-            this.insert(branch.right, midle + 1, end);
+            old.parent.right = replacement;
         }
     }
 
     /**
-     * Update the tree
+     * Rotate a branch to the left : its right child takes its place
+     *
+     * @param branch Branch to rotate
+     * @return Branch that takes the place
      */
-    private void updateTree()
+    private Branch<ELEMENT> rotateLeft(final Branch<ELEMENT> branch)
     {
-        if (this.isUpdated)
+        final Branch<ELEMENT> right = branch.right;
+        branch.right = right.left;
+
+        if (right.left != null)
         {
-            return;
+            right.left.parent = branch;
         }
 
-        this.trunk.element = null;
-        this.trunk.left = null;
-        this.trunk.right = null;
-        final int size = this.content.getSize();
+        this.replace(branch, right);
+        right.left = branch;
+        branch.parent = right;
+        this.updateHeight(branch);
+        this.updateHeight(right);
+        return right;
+    }
+
+    /**
+     * Rotate a branch to the right : its left child takes its place
+     *
+     * @param branch Branch to rotate
+     * @return Branch that takes the place
+     */
+    private Branch<ELEMENT> rotateRight(final Branch<ELEMENT> branch)
+    {
+        final Branch<ELEMENT> left = branch.left;
+        branch.left = left.right;
 
-        if (size > 0)
+        if (left.right != null)
         {
-            this.insert(this.trunk, 0, size - 1);
+            left.right.parent = branch;
         }
 
-        this.isUpdated = true;
+        this.replace(branch, left);
+        left.right = branch;
+        branch.parent = left;
+        this.updateHeight(branch);
+        this.updateHeight(left);
+        return left;
     }
 
     /**
@@ -146,11 +274,25 @@ public class BinaryTree<ELEMENT>
      */
     public void clear()
     {
-        this.trunk.element = null;
-        this.trunk.left = null;
-        this.trunk.right = null;
-        this.content.clear();
-        this.isUpdated = true;
+        this.trunk = new Branch<ELEMENT>();
+        this.size = 0;
+    }
+
+    /**
+     * Indicates if an element considers equals (With the given comparator at constructor) is inside the tree.<br>
+     * It is in O(LN(n))
+     *
+     * @param element Element search
+     * @return {@code true} if an equals element is inside the tree
+     */
+    public boolean contains(final ELEMENT element)
+    {
+        if (element == null)
+        {
+            return false;
+        }
+
+        return this.find(element) != null;
     }
 
     /**
@@ -171,8 +313,6 @@ public class BinaryTree<ELEMENT>
             throw new NullPointerException("list MUST NOT be null");
         }
 
-        this.updateTree();
-
         final Stack<Branch<ELEMENT>> stack = new Stack<Branch<ELEMENT>>();
         stack.push(this.trunk);
         Branch<ELEMENT> branch;
@@ -216,8 +356,6 @@ public class BinaryTree<ELEMENT>
             throw new NullPointerException("list MUST NOT be null");
         }
 
-        this.updateTree();
-
         final Queue<Branch<ELEMENT>> queue = new Queue<Branch<ELEMENT>>();
         queue.inQueue(this.trunk);
         Branch<ELEMENT> branch;
@@ -261,8 +399,6 @@ public class BinaryTree<ELEMENT>
             throw new NullPointerException("list MUST NOT be null");
         }
 
-        this.updateTree();
-
         final Stack<Branch<ELEMENT>> stack = new Stack<Branch<ELEMENT>>();
         stack.push(this.trunk);
         Branch<ELEMENT> branch;
@@ -306,8 +442,6 @@ public class BinaryTree<ELEMENT>
             throw new NullPointerException("list MUST NOT be null");
         }
 
-        this.updateTree();
-
         final Queue<Branch<ELEMENT>> queue = new Queue<Branch<ELEMENT>>();
         queue.inQueue(this.trunk);
         Branch<ELEMENT> branch;
@@ -333,6 +467,16 @@ public class BinaryTree<ELEMENT>
         }
     }
 
+    /**
+     * Number of elements in the tree
+     *
+     * @return Number of elements in the tree
+     */
+    public int getSize()
+    {
+        return this.size;
+    }
+
     /**
      * Obtain the tree trunk
      *
@@ -340,7 +484,6 @@ public class BinaryTree<ELEMENT>
      */
     public Branch<ELEMENT> getTrunk()
     {
-        this.updateTree();
         return this.trunk;
     }
 
@@ -351,7 +494,6 @@ public class BinaryTree<ELEMENT>
      */
     public boolean isEmpty()
     {
-        this.updateTree();
         return this.trunk.element == null;
     }
 
@@ -371,13 +513,55 @@ public class BinaryTree<ELEMENT>
             throw new NullPointerException("element MUST NOT be null");
         }
 
-        if (this.content.add(element))
+        if (this.trunk.element == null)
         {
-            this.isUpdated = false;
+            this.trunk.element = element;
+            this.trunk.height = 1;
+            this.size = 1;
             return true;
         }
 
-        return false;
+        Branch<ELEMENT> branch = this.trunk;
+        int             comparison;
+
+        while (true)
+        {
+            comparison = this.comparator.compare(element, branch.element);
+
+            if (comparison == 0)
+            {
+                return false;
+            }
+
+            final Branch<ELEMENT> child = comparison < 0
+                                          ? branch.left
+                                          : branch.right;
+
+            if (child == null)
+            {
+                break;
+            }
+
+            branch = child;
+        }
+
+        final Branch<ELEMENT> created = new Branch<ELEMENT>();
+        created.element = element;
+        created.height = 1;
+        created.parent = branch;
+
+        if (comparison < 0)
+        {
+            branch.left = created;
+        }
+        else
+        {
+            branch.right = created;
+        }
+
+        this.size++;
+        this.rebalance(branch);
+        return true;
     }
 
     /**
@@ -393,13 +577,34 @@ public class BinaryTree<ELEMENT>
             return false;
         }
 
-        if (this.content.remove(element) != null)
+        Branch<ELEMENT> branch = this.find(element);
+
+        if (branch == null)
         {
-            this.isUpdated = false;
-            return true;
+            return false;
+        }
+
+        if ((branch.left != null) && (branch.right != null))
+        {
+            // Replace by the smallest element of right branch, then remove the branch of this element
+            Branch<ELEMENT> next = branch.right;
+
+            while (next.left != null)
+            {
+                next = next.left;
+            }
+
+            branch.element = next.element;
+            branch = next;
         }
 
-        return false;
+        final Branch<ELEMENT> parent = branch.parent;
+        this.replace(branch, branch.left != null
+                             ? branch.left
+                             : branch.right);
+        this.size--;
+        this.rebalance(parent);
+        return true;
     }
 
     /**
@@ -415,8 +620,6 @@ public class BinaryTree<ELEMENT>
             throw new NullPointerException("testFoundListener MUST NOT be null");
         }
 
-        this.updateTree();
-
         final Stack<Branch<ELEMENT>> stack = new Stack<Branch<ELEMENT>>();
         stack.push(this.trunk);
         Branch<ELEMENT> branch;
@@ -457,8 +660,6 @@ public class BinaryTree<ELEMENT>
             throw new NullPointerException("testFoundListener MUST NOT be null");
         }
 
-        this.updateTree();
-
         final Queue<Branch<ELEMENT>> queue = new Queue<Branch<ELEMENT>>();
         queue.inQueue(this.trunk);
         Branch<ELEMENT> branch;
@@ -499,8 +700,6 @@ public class BinaryTree<ELEMENT>
             throw new NullPointerException("testFoundListener MUST NOT be null");
         }
 
-        this.updateTree();
-
         final Stack<Branch<ELEMENT>> stack = new Stack<Branch<ELEMENT>>();
         stack.push(this.trunk);
         Branch<ELEMENT> branch;
@@ -541,8 +740,6 @@ public class BinaryTree<ELEMENT>
             throw new NullPointerException("testFoundListener MUST NOT be null");
         }
 
-        this.updateTree();
-
         final Queue<Branch<ELEMENT>> queue = new Queue<Branch<ELEMENT>>();
         queue.inQueue(this.trunk);
         Branch<ELEMENT> branch;
@@ -577,8 +774,6 @@ public class BinaryTree<ELEMENT>
      */
     public Tree<ELEMENT> toTree()
     {
-        this.updateTree();
-
         if (this.isEmpty())
         {
             return null;
@@ -601,6 +796,10 @@ public class BinaryTree<ELEMENT>
          * Element carry
          */
         TYPE         element;
+        /**
+         * Branch height (1 for a branch without children)
+         */
+        int          height;
         /**
          * Left branch
          */
@@ -676,7 +875,9 @@ public class BinaryTree<ELEMENT>
         {
             return this.element + " [ " + this.left + " | " + this.right + " ]";
         }
-    }    /**
+    }
+
+    /**
      * String representation <br>
      * <br>
      * <b>Parent documentation:</b><br>
@@ -688,8 +889,6 @@ public class BinaryTree<ELEMENT>
     @Override
     public String toString()
     {
-        this.updateTree();
-
         if (this.trunk.element == null)
         {
             return "BinaryTree <EMPTY>";
@@ -700,6 +899,4 @@ public class BinaryTree<ELEMENT>
 
         return stringBuilder.toString();
     }
-
-
 }
\ No newline at end of file
@@ -0,0 +1,842 @@
+package jhelp.util.list;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import jhelp.util.list.LimitedWeightHashMap.Result;
+
+/**
+ * Thread safe map limited in weight (and optionally in number of elements), that removes least recently used elements to
+ * make room.<br>
+ * Reads don't lock : elements are in a {@link ConcurrentHashMap} and each read is recorded in a small buffer (one buffer
+ * by group of threads). Recorded reads are applied to the usage order when a buffer is full or on next write. If a buffer
+ * is full and an other thread applies it, the read is not recorded : usage order is approximate under heavy load, but
+ * readers never wait.<br>
+ * Writes and removes are serialized by one lock. Weight is counted in a {@link LongAdder}, so it can be read without
+ * lock.<br>
+ * Loading is done once : if several threads miss the same key in same time, only one creates the value, others wait
+ * it.<br>
+ * An optional listener is told of each value that leaves the map (removed, evicted or replaced)
+ *
+ * @param <KEY>   Key type
+ * @param <VALUE> Value type
+ * @author JHelp
+ */
+final class ConcurrentLimitedMap<KEY, VALUE>
+{
+    /**
+     * An element
+     *
+     * @param <KEY>   Key type
+     * @param <VALUE> Value type
+     * @author JHelp
+     */
+    static final class Node<KEY, VALUE>
+    {
+        /**
+         * Indicates if element still in map (Modified under lock)
+         */
+        volatile boolean alive;
+        /**
+         * Element key
+         */
+        final    KEY      key;
+        /**
+         * Next element in usage order (Under lock)
+         */
+        Node<KEY, VALUE> next;
+        /**
+         * Previous element in usage order (Under lock)
+         */
+        Node<KEY, VALUE> previous;
+        /**
+         * Element value
+         */
+        volatile VALUE   value;
+        /**
+         * Element weight (Under lock)
+         */
+        long             weight;
+
+        /**
+         * Create a new instance of Node
+         *
+         * @param key    Element key
+         * @param value  Element value
+         * @param weight Element weight
+         */
+        Node(final KEY key, final VALUE value, final long weight)
+        {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.alive = true;
+        }
+    }
+
+    /**
+     * Size of each read buffer
+     */
+    private static final int BUFFER_SIZE = 32;
+
+    /**
+     * Create the read buffers array.<br>
+     * Java can't create generic arrays, the cast is safe since the array is only filled with buffers of nodes
+     *
+     * @param <KEY>   Key type
+     * @param <VALUE> Value type
+     * @param number  Number of buffers
+     * @return Created array, not filled
+     */
+    @SuppressWarnings("unchecked")
+    private static <KEY, VALUE> AtomicReferenceArray<Node<KEY, VALUE>>[] createBuffers(final int number)
+    {
+        return (AtomicReferenceArray<Node<KEY, VALUE>>[]) new AtomicReferenceArray<?>[number];
+    }
+
+    /**
+     * Read buffers
+     */
+    private final AtomicReferenceArray<Node<KEY, VALUE>>[]         buffers;
+    /**
+     * Next write index in each read buffer
+     */
+    private final AtomicInteger[]                                  buffersIndex;
+    /**
+     * Elements
+     */
+    private final ConcurrentHashMap<KEY, Node<KEY, VALUE>>         data;
+    /**
+     * Number of elements removed to make room
+     */
+    private final LongAdder                                        evictionCount;
+    /**
+     * Number of read that found the element
+     */
+    private final LongAdder                                        hitCount;
+    /**
+     * Loading in progress
+     */
+    private final ConcurrentHashMap<KEY, CompletableFuture<VALUE>> loading;
+    /**
+     * Number of values created by loading
+     */
+    private final LongAdder                                        loadCount;
+    /**
+     * Lock for writes and usage order
+     */
+    private final ReentrantLock                                    lock;
+    /**
+     * Buffers mask (Number of buffers - 1)
+     */
+    private final int                                              mask;
+    /**
+     * Maximum number of elements
+     */
+    private final int                                              maximumSize;
+    /**
+     * Maximum weight
+     */
+    private final long                                             maximumWeight;
+    /**
+     * Number of read that not found the element
+     */
+    private final LongAdder                                        missCount;
+    /**
+     * Called, under the lock, with each value that leaves the map. {@code null} if none
+     */
+    private final BiConsumer<KEY, VALUE>                           removalListener;
+    /**
+     * Actual weight
+     */
+    private final LongAdder                                        weight;
+    /**
+     * Least recently used element (Under lock)
+     */
+    private       Node<KEY, VALUE>                                 head;
+    /**
+     * Most recently used element (Under lock)
+     */
+    private       Node<KEY, VALUE>                                 tail;
+
+    /**
+     * Create a new instance of ConcurrentLimitedMap
+     *
+     * @param maximumWeight Maximum weight
+     */
+    ConcurrentLimitedMap(final long maximumWeight)
+    {
+        this(maximumWeight, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Create a new instance of ConcurrentLimitedMap
+     *
+     * @param maximumWeight   Maximum weight
+     * @param maximumSize     Maximum number of elements
+     * @param removalListener Called, under the lock, with each value that leaves the map (removed, evicted or
+     *                        replaced). {@code null} if none
+     */
+    ConcurrentLimitedMap(final long maximumWeight, final int maximumSize, final BiConsumer<KEY, VALUE> removalListener)
+    {
+        this.maximumWeight = maximumWeight;
+        this.maximumSize = maximumSize;
+        this.removalListener = removalListener;
+        this.data = new ConcurrentHashMap<KEY, Node<KEY, VALUE>>();
+        this.loading = new ConcurrentHashMap<KEY, CompletableFuture<VALUE>>();
+        this.lock = new ReentrantLock();
+        this.weight = new LongAdder();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.evictionCount = new LongAdder();
+        this.loadCount = new LongAdder();
+
+        final int number = Integer.highestOneBit(Math.max(1, Runtime.getRuntime()
+                                                                    .availableProcessors()) * 2 - 1);
+        this.mask = number - 1;
+        this.buffers = ConcurrentLimitedMap.createBuffers(number);
+        this.buffersIndex = new AtomicInteger[number];
+
+        for (int index = 0; index < number; index++)
+        {
+            this.buffers[index] = new AtomicReferenceArray<Node<KEY, VALUE>>(ConcurrentLimitedMap.BUFFER_SIZE);
+            this.buffersIndex[index] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Add an element at the end of usage order (Under lock)
+     *
+     * @param node Element to add
+     */
+    private void append(final Node<KEY, VALUE> node)
+    {
+        node.next = null;
+        node.previous = this.tail;
+
+        if (this.tail == null)
+        {
+            this.head = node;
+        }
+        else
+        {
+            this.tail.next = node;
+        }
+
+        this.tail = node;
+    }
+
+    /**
+     * Apply recorded reads to usage order (Under lock)
+     */
+    private void drainBuffers()
+    {
+        AtomicReferenceArray<Node<KEY, VALUE>> buffer;
+        Node<KEY, VALUE>                       node;
+        int                                    count;
+
+        for (int index = 0; index <= this.mask; index++)
+        {
+            buffer = this.buffers[index];
+            count = Math.min(ConcurrentLimitedMap.BUFFER_SIZE, this.buffersIndex[index].get());
+
+            for (int read = 0; read < count; read++)
+            {
+                node = buffer.getAndSet(read, null);
+
+                if (node != null && node.alive)
+                {
+                    this.unlink(node);
+                    this.append(node);
+                }
+            }
+
+            this.buffersIndex[index].set(0);
+        }
+    }
+
+    /**
+     * Remove least recently used elements until there enough free weight and free places (Under lock)
+     *
+     * @param keepIt     Element to keep ({@code null} if none)
+     * @param weightNeed Free weight need
+     * @param placeNeed  Number of free places need
+     */
+    private void evict(final Node<KEY, VALUE> keepIt, final long weightNeed, final int placeNeed)
+    {
+        Node<KEY, VALUE> node = this.head;
+        Node<KEY, VALUE> next;
+
+        while (node != null && (this.maximumWeight - this.weight.sum() < weightNeed
+                                || this.maximumSize - this.data.size() < placeNeed))
+        {
+            next = node.next;
+
+            if (node != keepIt)
+            {
+                this.removeNode(node);
+                this.evictionCount.increment();
+            }
+
+            node = next;
+        }
+    }
+
+    /**
+     * Record a read
+     *
+     * @param node Read element
+     */
+    private void recordRead(final Node<KEY, VALUE> node)
+    {
+        final int index = (int) Thread.currentThread()
+                                      .getId() & this.mask;
+        final int write = this.buffersIndex[index].getAndIncrement();
+
+        if (write < ConcurrentLimitedMap.BUFFER_SIZE)
+        {
+            this.buffers[index].lazySet(write, node);
+        }
+
+        if (write >= ConcurrentLimitedMap.BUFFER_SIZE - 1 && this.lock.tryLock())
+        {
+            try
+            {
+                this.drainBuffers();
+            }
+            finally
+            {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Remove an element (Under lock)
+     *
+     * @param node Element to remove
+     */
+    private void removeNode(final Node<KEY, VALUE> node)
+    {
+        node.alive = false;
+        this.data.remove(node.key, node);
+        this.unlink(node);
+        this.weight.add(-node.weight);
+
+        if (this.removalListener != null)
+        {
+            this.removalListener.accept(node.key, node.value);
+        }
+    }
+
+    /**
+     * Remove an element from usage order (Under lock)
+     *
+     * @param node Element to remove
+     */
+    private void unlink(final Node<KEY, VALUE> node)
+    {
+        if (node.previous == null)
+        {
+            if (this.head == node)
+            {
+                this.head = node.next;
+            }
+        }
+        else
+        {
+            node.previous.next = node.next;
+        }
+
+        if (node.next == null)
+        {
+            if (this.tail == node)
+            {
+                this.tail = node.previous;
+            }
+        }
+        else
+        {
+            node.next.previous = node.previous;
+        }
+
+        node.previous = null;
+        node.next = null;
+    }
+
+    /**
+     * Remove all elements
+     */
+    void clear()
+    {
+        this.lock.lock();
+
+        try
+        {
+            this.drainBuffers();
+
+            while (this.head != null)
+            {
+                this.removeNode(this.head);
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Obtain an element
+     *
+     * @param key Element key
+     * @return Element value or {@code null} if not inside
+     */
+    VALUE get(final KEY key)
+    {
+        final Node<KEY, VALUE> node = this.data.get(key);
+
+        if (node == null)
+        {
+            this.missCount.increment();
+            return null;
+        }
+
+        this.hitCount.increment();
+        this.recordRead(node);
+        return node.value;
+    }
+
+    /**
+     * Number of elements removed to make room
+     *
+     * @return Number of elements removed to make room
+     */
+    long getEvictionCount()
+    {
+        return this.evictionCount.sum();
+    }
+
+    /**
+     * Number of read that found the element
+     *
+     * @return Number of read that found the element
+     */
+    long getHitCount()
+    {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * Number of values created by loading
+     *
+     * @return Number of values created by loading
+     */
+    long getLoadCount()
+    {
+        return this.loadCount.sum();
+    }
+
+    /**
+     * Maximum weight
+     *
+     * @return Maximum weight
+     */
+    long getMaximumWeight()
+    {
+        return this.maximumWeight;
+    }
+
+    /**
+     * Number of read that not found the element
+     *
+     * @return Number of read that not found the element
+     */
+    long getMissCount()
+    {
+        return this.missCount.sum();
+    }
+
+    /**
+     * Obtain an element, create it if not inside.<br>
+     * If several threads ask same missing key in same time, value is created only once
+     *
+     * @param key     Element key
+     * @param weight  Future element weight
+     * @param creator Create the value
+     * @return Element value or {@code null} if value too heavy to be stored
+     */
+    VALUE getOrLoad(final KEY key, final long weight, final Supplier<VALUE> creator)
+    {
+        return this.getOrLoad(key, weight, creator, null);
+    }
+
+    /**
+     * Obtain an element, create it if not inside.<br>
+     * If several threads ask same missing key in same time, value is created only once.<br>
+     * The created value is stored only if {@code stillValid} says yes under the lock. So when the value source changes
+     * then the key is removed (which takes the lock), a load started before the change can't store an old value after
+     * the remove. Threads that waited the load accept the value only if it is still stored, else they load again
+     *
+     * @param key        Element key
+     * @param weight     Future element weight
+     * @param creator    Create the value
+     * @param stillValid Checked under the lock, indicates if created value can be stored. {@code null} for always
+     * @return Element value or {@code null} if value too heavy to be stored
+     */
+    VALUE getOrLoad(final KEY key, final long weight, final Supplier<VALUE> creator, final BooleanSupplier stillValid)
+    {
+        return this.getOrLoad(key, weight, null, creator, stillValid);
+    }
+
+    /**
+     * Obtain an element, create it if not inside.<br>
+     * Same as {@link #getOrLoad(Object, long, Supplier, BooleanSupplier)}, but the weight is measured on the created
+     * value. A value too heavy for the map is given but not stored. If creator returns {@code null}, nothing is
+     * stored
+     *
+     * @param key        Element key
+     * @param weigher    Measure the created value
+     * @param creator    Create the value
+     * @param stillValid Checked under the lock, indicates if created value can be stored. {@code null} for always
+     * @return Element value or {@code null} if creator gave {@code null}
+     */
+    VALUE getOrLoad(final KEY key, final ToLongFunction<VALUE> weigher, final Supplier<VALUE> creator,
+                    final BooleanSupplier stillValid)
+    {
+        return this.getOrLoad(key, 0L, weigher, creator, stillValid);
+    }
+
+    /**
+     * Obtain an element, create it if not inside
+     *
+     * @param key        Element key
+     * @param weight     Future element weight, used if weigher is {@code null}
+     * @param weigher    Measure the created value. {@code null} for use given weight
+     * @param creator    Create the value
+     * @param stillValid Checked under the lock, indicates if created value can be stored. {@code null} for always
+     * @return Element value or {@code null} if no value created
+     */
+    private VALUE getOrLoad(final KEY key, final long weight, final ToLongFunction<VALUE> weigher,
+                            final Supplier<VALUE> creator, final BooleanSupplier stillValid)
+    {
+        VALUE value;
+
+        while (true)
+        {
+            value = this.get(key);
+
+            if (value != null)
+            {
+                return value;
+            }
+
+            final CompletableFuture<VALUE> future = new CompletableFuture<VALUE>();
+            final CompletableFuture<VALUE> other  = this.loading.putIfAbsent(key, future);
+
+            if (other != null)
+            {
+                try
+                {
+                    value = other.join();
+                }
+                catch (final CompletionException exception)
+                {
+                    if (exception.getCause() instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) exception.getCause();
+                    }
+
+                    throw exception;
+                }
+
+                if (value == null || stillValid == null || (weigher == null
+                                                             ? weight
+                                                             : weigher.applyAsLong(value)) > this.maximumWeight)
+                {
+                    return value;
+                }
+
+                final Node<KEY, VALUE> node = this.data.get(key);
+
+                if (node != null && node.value == value)
+                {
+                    return value;
+                }
+
+                // Loaded value not stored since no more valid, or already removed : load again
+                continue;
+            }
+
+            try
+            {
+                final Node<KEY, VALUE> node = this.data.get(key);
+
+                if (node != null)
+                {
+                    value = node.value;
+                }
+                else if (weigher != null || weight <= this.maximumWeight)
+                {
+                    value = creator.get();
+                    this.loadCount.increment();
+
+                    if (value != null)
+                    {
+                        this.store(key, weigher == null
+                                        ? weight
+                                        : weigher.applyAsLong(value), value, stillValid);
+                    }
+                }
+
+                future.complete(value);
+                return value;
+            }
+            catch (final RuntimeException | Error exception)
+            {
+                future.completeExceptionally(exception);
+                throw exception;
+            }
+            finally
+            {
+                this.loading.remove(key, future);
+            }
+        }
+    }
+
+    /**
+     * Actual weight
+     *
+     * @return Actual weight
+     */
+    long getWeight()
+    {
+        return this.weight.sum();
+    }
+
+    /**
+     * Add/modify an element
+     *
+     * @param key                  Element key
+     * @param weight               Element weight
+     * @param value                Element value
+     * @param allowAutomaticRemove Indicates if remove elements to make room is allowed
+     * @return Operation result
+     */
+    Result put(final KEY key, final long weight, final VALUE value, final boolean allowAutomaticRemove)
+    {
+        return this.put(key, weight, new Supplier<VALUE>()
+        {
+            @Override
+            public VALUE get()
+            {
+                return value;
+            }
+        }, allowAutomaticRemove);
+    }
+
+    /**
+     * Add/modify an element.<br>
+     * Value is created only if it will be stored
+     *
+     * @param key                  Element key
+     * @param weight               Element weight
+     * @param creator              Create the value
+     * @param allowAutomaticRemove Indicates if remove elements to make room is allowed
+     * @return Operation result
+     */
+    Result put(final KEY key, final long weight, final Supplier<VALUE> creator, final boolean allowAutomaticRemove)
+    {
+        if (key == null)
+        {
+            throw new NullPointerException("key MUST NOT be null");
+        }
+
+        if (weight > this.maximumWeight)
+        {
+            return Result.TOO_MUCH_HEAVY;
+        }
+
+        this.lock.lock();
+
+        try
+        {
+            this.drainBuffers();
+            final Node<KEY, VALUE> node = this.data.get(key);
+            final long             need = node == null
+                                          ? weight
+                                          : weight - node.weight;
+            final int              place = node == null
+                                           ? 1
+                                           : 0;
+            final boolean          room = need <= this.maximumWeight - this.weight.sum()
+                                          && place <= this.maximumSize - this.data.size();
+
+            if (!room && !allowAutomaticRemove)
+            {
+                return node == null
+                       ? Result.NOT_ADDED
+                       : Result.NOT_UPDATED;
+            }
+
+            final VALUE value = creator.get();
+
+            if (value == null)
+            {
+                throw new NullPointerException("value MUST NOT be null");
+            }
+
+            if (!room)
+            {
+                this.evict(node, need, place);
+            }
+
+            if (node == null)
+            {
+                final Node<KEY, VALUE> created = new Node<KEY, VALUE>(key, value, weight);
+                this.data.put(key, created);
+                this.append(created);
+            }
+            else
+            {
+                final VALUE old = node.value;
+                node.value = value;
+                node.weight = weight;
+                this.unlink(node);
+                this.append(node);
+
+                if (this.removalListener != null && old != value)
+                {
+                    this.removalListener.accept(key, old);
+                }
+            }
+
+            this.weight.add(need);
+
+            if (node == null)
+            {
+                return room
+                       ? Result.ADDED
+                       : Result.ADD_WITH_AT_LEAST_ONE_REMOVED;
+            }
+
+            return room
+                   ? Result.UPDATED
+                   : Result.UPDATED_WITH_AT_LEAST_ONE_REMOVED;
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove an element.<br>
+     * Always takes the lock, even if the key seems absent : a load may be storing it, see
+     * {@link #getOrLoad(Object, long, Supplier, BooleanSupplier)}
+     *
+     * @param key Element key
+     */
+    void remove(final KEY key)
+    {
+        if (key == null)
+        {
+            return;
+        }
+
+        this.lock.lock();
+
+        try
+        {
+            this.drainBuffers();
+            final Node<KEY, VALUE> node = this.data.get(key);
+
+            if (node != null)
+            {
+                this.removeNode(node);
+            }
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove an element only if it has a given value
+     *
+     * @param key   Element key
+     * @param value Value to remove
+     * @return {@code true} if the element was removed
+     */
+    boolean remove(final KEY key, final VALUE value)
+    {
+        if (key == null)
+        {
+            return false;
+        }
+
+        this.lock.lock();
+
+        try
+        {
+            this.drainBuffers();
+            final Node<KEY, VALUE> node = this.data.get(key);
+
+            if (node == null || node.value != value)
+            {
+                return false;
+            }
+
+            this.removeNode(node);
+            return true;
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Number of elements
+     *
+     * @return Number of elements
+     */
+    int size()
+    {
+        return this.data.size();
+    }
+
+    /**
+     * Store a value, if it is still valid
+     *
+     * @param key        Element key
+     * @param weight     Element weight
+     * @param value      Value to store
+     * @param stillValid Checked under the lock, indicates if value can be stored. {@code null} for always store
+     * @return {@code true} if the value is stored
+     */
+    boolean store(final KEY key, final long weight, final VALUE value, final BooleanSupplier stillValid)
+    {
+        this.lock.lock();
+
+        try
+        {
+            return (stillValid == null || stillValid.getAsBoolean())
+                   && this.put(key, weight, value, true) != Result.TOO_MUCH_HEAVY;
+        }
+        finally
+        {
+            this.lock.unlock();
+        }
+    }
+}
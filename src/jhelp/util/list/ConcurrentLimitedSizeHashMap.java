@@ -0,0 +1,223 @@
+package jhelp.util.list;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Thread safe limited map of number of element, if full least recently used elements are removed to make room.<br>
+ * Reads don't lock, so many threads can read in same time. See {@link ConcurrentLimitedMap} for details
+ *
+ * @param <KEY>   Key type
+ * @param <VALUE> Value type
+ * @author JHelp
+ */
+public class ConcurrentLimitedSizeHashMap<KEY, VALUE>
+        implements LimitedSizeHashMap<KEY, VALUE>
+{
+    /**
+     * Map engine
+     */
+    private final ConcurrentLimitedMap<KEY, VALUE> map;
+
+    /**
+     * Create a new instance of ConcurrentLimitedSizeHashMap
+     *
+     * @param limit Size limit
+     */
+    public ConcurrentLimitedSizeHashMap(final int limit)
+    {
+        this.map = new ConcurrentLimitedMap<KEY, VALUE>(Math.max(limit, 128));
+    }
+
+    /**
+     * Remove all elements
+     */
+    public void clear()
+    {
+        this.map.clear();
+    }
+
+    /**
+     * Obtain an element of the map <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param key Element key
+     * @return Element value
+     * @see jhelp.util.list.LimitedSizeHashMap#get(java.lang.Object)
+     */
+    @Override
+    public VALUE get(final KEY key)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        return this.map.get(key);
+    }
+
+    /**
+     * Obtain an element of the map, create it if not inside.<br>
+     * If several threads ask same missing key in same time, the creator is called only once, others threads wait the
+     * result
+     *
+     * @param key     Element key
+     * @param creator Create the value if missing
+     * @return Element value
+     */
+    public VALUE get(final KEY key, final Supplier<VALUE> creator)
+    {
+        if (key == null)
+        {
+            throw new NullPointerException("key MUST NOT be null");
+        }
+
+        if (creator == null)
+        {
+            throw new NullPointerException("creator MUST NOT be null");
+        }
+
+        return this.map.getOrLoad(key, 1L, creator);
+    }
+
+    /**
+     * Obtain an element of the map, create it if not inside.<br>
+     * If several threads ask same missing key in same time, the creator is called only once, others threads wait the
+     * result.<br>
+     * Created value is stored only if {@code stillValid} is still {@code true} when storing, with the map lock taken.
+     * A {@link #remove(Object)} done after the value source changed takes the lock too, so an old value can't be stored
+     * after it
+     *
+     * @param key        Element key
+     * @param creator    Create the value if missing
+     * @param stillValid Indicates if created value can be stored
+     * @return Element value
+     */
+    public VALUE get(final KEY key, final Supplier<VALUE> creator, final BooleanSupplier stillValid)
+    {
+        if (key == null)
+        {
+            throw new NullPointerException("key MUST NOT be null");
+        }
+
+        if (creator == null)
+        {
+            throw new NullPointerException("creator MUST NOT be null");
+        }
+
+        if (stillValid == null)
+        {
+            throw new NullPointerException("stillValid MUST NOT be null");
+        }
+
+        return this.map.getOrLoad(key, 1L, creator, stillValid);
+    }
+
+    /**
+     * Number of elements removed to make room
+     *
+     * @return Number of elements removed to make room
+     */
+    public long getEvictionCount()
+    {
+        return this.map.getEvictionCount();
+    }
+
+    /**
+     * Number of get that found the element
+     *
+     * @return Number of get that found the element
+     */
+    public long getHitCount()
+    {
+        return this.map.getHitCount();
+    }
+
+    /**
+     * Map maximum size <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Map maximum size
+     * @see jhelp.util.list.LimitedSizeHashMap#getLimit()
+     */
+    @Override
+    public int getLimit()
+    {
+        return (int) this.map.getMaximumWeight();
+    }
+
+    /**
+     * Number of values created by {@link #get(Object, Supplier)}
+     *
+     * @return Number of values created
+     */
+    public long getLoadCount()
+    {
+        return this.map.getLoadCount();
+    }
+
+    /**
+     * Number of get that not found the element
+     *
+     * @return Number of get that not found the element
+     */
+    public long getMissCount()
+    {
+        return this.map.getMissCount();
+    }
+
+    /**
+     * Add/update an element <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param key   Key
+     * @param value Value
+     * @see jhelp.util.list.LimitedSizeHashMap#put(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void put(final KEY key, final VALUE value)
+    {
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        this.map.put(key, 1L, value, true);
+    }
+
+    /**
+     * Remove an element of the map <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param key Key of element to remove
+     * @see jhelp.util.list.LimitedSizeHashMap#remove(java.lang.Object)
+     */
+    @Override
+    public void remove(final KEY key)
+    {
+        this.map.remove(key);
+    }
+
+    /**
+     * Number of elements <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Number of elements
+     * @see jhelp.util.list.LimitedSizeHashMap#size()
+     */
+    @Override
+    public int size()
+    {
+        return this.map.size();
+    }
+}
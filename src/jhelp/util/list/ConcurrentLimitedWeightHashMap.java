@@ -0,0 +1,461 @@
+package jhelp.util.list;
+
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread safe hash map with limited weight in memory.<br>
+ * If its allowed, least recently used elements are removed to make enough room to put the new one.<br>
+ * Reads don't lock, so many threads can read in same time. See {@link ConcurrentLimitedMap} for details
+ *
+ * @param <KEY>   Key type
+ * @param <VALUE> Value type
+ * @author JHelp
+ */
+public class ConcurrentLimitedWeightHashMap<KEY, VALUE extends HeavyObject>
+        implements LimitedWeightHashMap<KEY, VALUE>
+{
+    /**
+     * Map engine
+     */
+    private final ConcurrentLimitedMap<KEY, VALUE> map;
+
+    /**
+     * Create a new instance of ConcurrentLimitedWeightHashMap
+     *
+     * @param maximumWeight Maximum weight
+     */
+    public ConcurrentLimitedWeightHashMap(final long maximumWeight)
+    {
+        this.map = new ConcurrentLimitedMap<KEY, VALUE>(Math.max(1024L, maximumWeight));
+    }
+
+    /**
+     * Create a new instance of ConcurrentLimitedWeightHashMap limited in weight and in number of elements.<br>
+     * Limits are used as given
+     *
+     * @param maximumWeight   Maximum weight
+     * @param maximumSize     Maximum number of elements
+     * @param removalListener Called with each value that leaves the map (removed, evicted or replaced). It is called
+     *                        with the map lock taken, so it must be quick. {@code null} if none
+     */
+    public ConcurrentLimitedWeightHashMap(final long maximumWeight, final int maximumSize,
+                                          final BiConsumer<KEY, VALUE> removalListener)
+    {
+        if (maximumWeight <= 0)
+        {
+            throw new IllegalArgumentException("maximumWeight must be > 0 not " + maximumWeight);
+        }
+
+        if (maximumSize <= 0)
+        {
+            throw new IllegalArgumentException("maximumSize must be > 0 not " + maximumSize);
+        }
+
+        this.map = new ConcurrentLimitedMap<KEY, VALUE>(maximumWeight, maximumSize, removalListener);
+    }
+
+    /**
+     * Convert result of put for methods that return a boolean
+     *
+     * @param result Put result
+     * @return {@code true} if value is add or modify without removing any object
+     * @throws IllegalArgumentException If the element weight is bigger than map maximum weight
+     */
+    private static boolean simpleResult(final Result result)
+    {
+        if (result == Result.TOO_MUCH_HEAVY)
+        {
+            throw new IllegalArgumentException("The given object is too heavy for the list");
+        }
+
+        return (result == Result.UPDATED) || (result == Result.ADDED);
+    }
+
+    /**
+     * Adapt a creator to the engine
+     *
+     * @param creator Creator to adapt
+     * @return Adapted creator
+     */
+    private Supplier<VALUE> supplier(final HeavyObjectCreator<VALUE> creator)
+    {
+        return new Supplier<VALUE>()
+        {
+            @Override
+            public VALUE get()
+            {
+                return creator.createHeavyObject();
+            }
+        };
+    }
+
+    /**
+     * Remove all elements
+     */
+    public void clear()
+    {
+        this.map.clear();
+    }
+
+    /**
+     * Obtain an element of the map <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param key Element key
+     * @return Element value
+     * @see jhelp.util.list.LimitedWeightHashMap#get(java.lang.Object)
+     */
+    @Override
+    public VALUE get(final KEY key)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        return this.map.get(key);
+    }
+
+    /**
+     * Obtain an element of the map, create it if not inside.<br>
+     * If several threads ask same missing key in same time, {@link HeavyObjectCreator#createHeavyObject()} is called only
+     * once, others threads wait the result
+     *
+     * @param key     Element key
+     * @param creator Create the value if missing
+     * @return Element value or {@code null} if the value is too heavy for the map
+     */
+    public VALUE get(final KEY key, final HeavyObjectCreator<VALUE> creator)
+    {
+        if (key == null)
+        {
+            throw new NullPointerException("key MUST NOT be null");
+        }
+
+        if (creator == null)
+        {
+            throw new NullPointerException("creator MUST NOT be null");
+        }
+
+        return this.map.getOrLoad(key, creator.getFutureWeight(), this.supplier(creator));
+    }
+
+    /**
+     * Obtain an element of the map, create it if not inside.<br>
+     * If several threads ask same missing key in same time, {@link HeavyObjectCreator#createHeavyObject()} is called only
+     * once, others threads wait the result.<br>
+     * Created value is stored only if {@code stillValid} is still {@code true} when storing, with the map lock taken.
+     * A {@link #remove(Object)} done after the value source changed takes the lock too, so an old value can't be stored
+     * after it
+     *
+     * @param key        Element key
+     * @param creator    Create the value if missing
+     * @param stillValid Indicates if created value can be stored
+     * @return Element value or {@code null} if the value is too heavy for the map
+     */
+    public VALUE get(final KEY key, final HeavyObjectCreator<VALUE> creator, final BooleanSupplier stillValid)
+    {
+        if (key == null)
+        {
+            throw new NullPointerException("key MUST NOT be null");
+        }
+
+        if (creator == null)
+        {
+            throw new NullPointerException("creator MUST NOT be null");
+        }
+
+        if (stillValid == null)
+        {
+            throw new NullPointerException("stillValid MUST NOT be null");
+        }
+
+        return this.map.getOrLoad(key, creator.getFutureWeight(), this.supplier(creator), stillValid);
+    }
+
+    /**
+     * Number of elements removed to make room
+     *
+     * @return Number of elements removed to make room
+     */
+    public long getEvictionCount()
+    {
+        return this.map.getEvictionCount();
+    }
+
+    /**
+     * Free weight left <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Free weight left
+     * @see jhelp.util.list.LimitedWeightHashMap#getFreeWeight()
+     */
+    @Override
+    public long getFreeWeight()
+    {
+        return this.map.getMaximumWeight() - this.map.getWeight();
+    }
+
+    /**
+     * Number of get that found the element
+     *
+     * @return Number of get that found the element
+     */
+    public long getHitCount()
+    {
+        return this.map.getHitCount();
+    }
+
+    /**
+     * Number of values created by {@link #get(Object, HeavyObjectCreator)}
+     *
+     * @return Number of values created
+     */
+    public long getLoadCount()
+    {
+        return this.map.getLoadCount();
+    }
+
+    /**
+     * Obtain an element of the map, create it if not inside.<br>
+     * Unlike {@link #get(Object, HeavyObjectCreator, BooleanSupplier)}, the weight is the one of the created value, so
+     * it don't need to be known before. A value too heavy for the map is given but not stored. If creator gives
+     * {@code null}, nothing is stored.<br>
+     * If several threads ask same missing key in same time, creator is called only once, others threads wait the
+     * result
+     *
+     * @param key        Element key
+     * @param creator    Create the value if missing
+     * @param stillValid Checked with the map lock taken, indicates if created value can be stored
+     * @return Element value or {@code null} if creator gave {@code null}
+     */
+    public VALUE load(final KEY key, final Supplier<VALUE> creator, final BooleanSupplier stillValid)
+    {
+        if (key == null)
+        {
+            throw new NullPointerException("key MUST NOT be null");
+        }
+
+        if (creator == null)
+        {
+            throw new NullPointerException("creator MUST NOT be null");
+        }
+
+        if (stillValid == null)
+        {
+            throw new NullPointerException("stillValid MUST NOT be null");
+        }
+
+        return this.map.getOrLoad(key, new ToLongFunction<VALUE>()
+        {
+            @Override
+            public long applyAsLong(final VALUE value)
+            {
+                return value.getWeight();
+            }
+        }, creator, stillValid);
+    }
+
+    /**
+     * Maximum weight <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Maximum weight
+     * @see jhelp.util.list.LimitedWeightHashMap#getMaximumWeight()
+     */
+    @Override
+    public long getMaximumWeight()
+    {
+        return this.map.getMaximumWeight();
+    }
+
+    /**
+     * Number of get that not found the element
+     *
+     * @return Number of get that not found the element
+     */
+    public long getMissCount()
+    {
+        return this.map.getMissCount();
+    }
+
+    /**
+     * Number of elements inside the map <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Number of elements inside the map
+     * @see jhelp.util.list.LimitedWeightHashMap#getSize()
+     */
+    @Override
+    public int getSize()
+    {
+        return this.map.size();
+    }
+
+    /**
+     * Actual map weight <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Actual map weight
+     * @see jhelp.util.list.HeavyObject#getWeight()
+     */
+    @Override
+    public long getWeight()
+    {
+        return this.map.getWeight();
+    }
+
+    /**
+     * Add/modify element in the map <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param key     Element key
+     * @param creator Describe how to create the element (To be able avoid create object if not add/modify)
+     * @return {@code true} if value is add or modify without removing any object. {@code false} if at least one element is
+     * removes from the map
+     * @throws IllegalArgumentException If the element weight is bigger than map maximum weight
+     * @see jhelp.util.list.LimitedWeightHashMap#put(java.lang.Object, jhelp.util.list.HeavyObjectCreator)
+     */
+    @Override
+    public boolean put(final KEY key, final HeavyObjectCreator<VALUE> creator)
+    {
+        return ConcurrentLimitedWeightHashMap.simpleResult(this.put(key, creator, true));
+    }
+
+    /**
+     * Add/modify element in the map.<br>
+     * The creator is called under the write lock, only if the element will be stored <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param key                  Element key
+     * @param creator              Describe how to create the element (To be able avoid create object if not add/modify)
+     * @param allowAutomaticRemove Indicates if remove elements to make room is allowed
+     * @return The result operation
+     * @see jhelp.util.list.LimitedWeightHashMap#put(java.lang.Object, jhelp.util.list.HeavyObjectCreator, boolean)
+     */
+    @Override
+    public Result put(final KEY key, final HeavyObjectCreator<VALUE> creator, final boolean allowAutomaticRemove)
+    {
+        if (creator == null)
+        {
+            throw new NullPointerException("creator MUST NOT be null");
+        }
+
+        return this.map.put(key, creator.getFutureWeight(), this.supplier(creator), allowAutomaticRemove);
+    }
+
+    /**
+     * Add/modify element in the map <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param key   Element key
+     * @param value Element value
+     * @return {@code true} if value is add or modify without removing any object. {@code false} if at least one element is
+     * removes from the map
+     * @throws IllegalArgumentException If the element weight is bigger than map maximum weight
+     * @see jhelp.util.list.LimitedWeightHashMap#put(java.lang.Object, jhelp.util.list.HeavyObject)
+     */
+    @Override
+    public boolean put(final KEY key, final VALUE value)
+    {
+        return ConcurrentLimitedWeightHashMap.simpleResult(this.put(key, value, true));
+    }
+
+    /**
+     * Add/modify element in the map <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param key                  Element key
+     * @param value                Element value
+     * @param allowAutomaticRemove Indicates if remove elements to make room is allowed
+     * @return The result operation
+     * @see jhelp.util.list.LimitedWeightHashMap#put(java.lang.Object, jhelp.util.list.HeavyObject, boolean)
+     */
+    @Override
+    public Result put(final KEY key, final VALUE value, final boolean allowAutomaticRemove)
+    {
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        return this.map.put(key, value.getWeight(), value, allowAutomaticRemove);
+    }
+
+    /**
+     * Add/modify element in the map, only if {@code stillValid} is {@code true} with the map lock taken.<br>
+     * Elements are removed to make room if need
+     *
+     * @param key        Element key
+     * @param value      Element value
+     * @param stillValid Indicates if value can be stored
+     * @return {@code true} if value is stored. {@code false} if no more valid or too heavy
+     */
+    public boolean put(final KEY key, final VALUE value, final BooleanSupplier stillValid)
+    {
+        if (key == null)
+        {
+            throw new NullPointerException("key MUST NOT be null");
+        }
+
+        if (value == null)
+        {
+            throw new NullPointerException("value MUST NOT be null");
+        }
+
+        if (stillValid == null)
+        {
+            throw new NullPointerException("stillValid MUST NOT be null");
+        }
+
+        return this.map.store(key, value.getWeight(), value, stillValid);
+    }
+
+    /**
+     * Remove an element from the map <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param key Key of element to remove
+     * @see jhelp.util.list.LimitedWeightHashMap#remove(java.lang.Object)
+     */
+    @Override
+    public void remove(final KEY key)
+    {
+        this.map.remove(key);
+    }
+
+    /**
+     * Remove an element only if it is associated to a given value
+     *
+     * @param key   Key of element to remove
+     * @param value Value to remove
+     * @return {@code true} if the element was removed
+     */
+    public boolean remove(final KEY key, final VALUE value)
+    {
+        return this.map.remove(key, value);
+    }
+}
@@ -0,0 +1,751 @@
+package jhelp.util.list;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jhelp.util.reflection.Reflector;
+
+/**
+ * Thread safe sorted elements stored in a skip list.<br>
+ * Same usage as {@link SortedArray}, but several threads can add, remove and read in same time without lock: add,
+ * remove and contains are in O(LN(n)).<br>
+ * A skip list don't know element ranks, so {@link #indexOf(Object)}, {@link #getElement(int)} and
+ * {@link #intervalOf(Object)} walk the list in O(n). Use {@link SortedTree} if those are often used.<br>
+ * Iterator and methods that walk the list see a state between the start and the end of the walk, they never fail
+ * because of concurrent modifications.<br>
+ * The sort is "natural order" (Only possible for {@link Comparable} elements) or as indicates by a {@link Comparator}.
+ * In unique mode, an element that compare equals to one already inside is not added
+ *
+ * @param <TYPE> Type of stored elements
+ * @author JHelp
+ */
+public final class ConcurrentSortedList<TYPE>
+        implements Iterable<TYPE>
+{
+    /**
+     * Stored element.<br>
+     * In not unique mode, the sequence number makes elements that compare equals different
+     *
+     * @param <TYPE> Element type
+     * @author JHelp
+     */
+    static final class Item<TYPE>
+    {
+        /**
+         * Element
+         */
+        final TYPE element;
+        /**
+         * Sequence number (0 in unique mode)
+         */
+        final long sequence;
+
+        /**
+         * Create a new instance of Item
+         *
+         * @param element  Element
+         * @param sequence Sequence number
+         */
+        Item(final TYPE element, final long sequence)
+        {
+            this.element = element;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Iterator over elements
+     *
+     * @author JHelp
+     */
+    final class ListIterator
+            implements Iterator<TYPE>
+    {
+        /**
+         * Items iterator
+         */
+        private final Iterator<Item<TYPE>> iterator;
+        /**
+         * Last given item
+         */
+        private       Item<TYPE>           last;
+
+        /**
+         * Create a new instance of ListIterator
+         */
+        ListIterator()
+        {
+            this.iterator = ConcurrentSortedList.this.items.iterator();
+        }
+
+        /**
+         * Indicates if remain elements <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return {@code true} if remain elements
+         * @see java.util.Iterator#hasNext()
+         */
+        @Override
+        public boolean hasNext()
+        {
+            return this.iterator.hasNext();
+        }
+
+        /**
+         * Next element <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return Next element
+         * @see java.util.Iterator#next()
+         */
+        @Override
+        public TYPE next()
+        {
+            this.last = this.iterator.next();
+            return this.last.element;
+        }
+
+        /**
+         * Remove last given element <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @see java.util.Iterator#remove()
+         */
+        @Override
+        public void remove()
+        {
+            if (this.last == null)
+            {
+                throw new IllegalStateException("next not called or element already removed");
+            }
+
+            ConcurrentSortedList.this.removeItem(this.last);
+            this.last = null;
+        }
+    }
+
+    /**
+     * Comparator to use
+     */
+    @SuppressWarnings("rawtypes")
+    private final Comparator                        comparator;
+    /**
+     * Stored elements
+     */
+    private final ConcurrentSkipListSet<Item<TYPE>> items;
+    /**
+     * Next sequence number
+     */
+    private final AtomicLong                        sequence;
+    /**
+     * Number of elements
+     */
+    private final AtomicInteger                     size;
+    /**
+     * Type of element stored
+     */
+    private final Class<TYPE>                       typeClass;
+    /**
+     * Indicates if we are in unique mode
+     */
+    private final boolean                           unique;
+
+    /**
+     * Create a new instance of ConcurrentSortedList in not unique mode.<br>
+     * The type of class must be a {@link Comparable} to use the "natural order"
+     *
+     * @param typeClass Type of element to store
+     */
+    public ConcurrentSortedList(final Class<TYPE> typeClass)
+    {
+        this(typeClass, null, false);
+    }
+
+    /**
+     * Create a new instance of ConcurrentSortedList.<br>
+     * The type of class must be a {@link Comparable} to use the "natural order"
+     *
+     * @param typeClass Type of element to store
+     * @param unique    Indicates if use unique mode or not
+     */
+    public ConcurrentSortedList(final Class<TYPE> typeClass, final boolean unique)
+    {
+        this(typeClass, null, unique);
+    }
+
+    /**
+     * Create a new instance of ConcurrentSortedList in not unique mode.<br>
+     * If the comparator is {@code null}, the type of class must be a {@link Comparable} to use the "natural order"
+     *
+     * @param typeClass  Type of elements
+     * @param comparator Comparator to use
+     */
+    public ConcurrentSortedList(final Class<TYPE> typeClass, final Comparator<TYPE> comparator)
+    {
+        this(typeClass, comparator, false);
+    }
+
+    /**
+     * Create a new instance of ConcurrentSortedList.<br>
+     * If the comparator is {@code null}, the type of class must be a {@link Comparable} to use the "natural order"
+     *
+     * @param typeClass  Type of element
+     * @param comparator Comparator to use
+     * @param unique     Indicates if the unique mode is activated
+     */
+    public ConcurrentSortedList(final Class<TYPE> typeClass, final Comparator<TYPE> comparator, final boolean unique)
+    {
+        if (typeClass == null)
+        {
+            throw new NullPointerException("typeClass MUST NOT be null");
+        }
+
+        if (comparator != null)
+        {
+            this.comparator = comparator;
+        }
+        else if (Reflector.isSubTypeOf(typeClass, Comparable.class))
+        {
+            this.comparator = new SortedArray.ComparatorNatural<TYPE>();
+        }
+        else
+        {
+            throw new IllegalArgumentException(
+                    "comparator is null and the type class " + typeClass.getName() + " is not comparable");
+        }
+
+        this.typeClass = typeClass;
+        this.unique = unique;
+        this.sequence = new AtomicLong();
+        this.size = new AtomicInteger();
+        this.items = new ConcurrentSkipListSet<Item<TYPE>>(new Comparator<Item<TYPE>>()
+        {
+            @SuppressWarnings("unchecked")
+            @Override
+            public int compare(final Item<TYPE> item1, final Item<TYPE> item2)
+            {
+                final int comparison = ConcurrentSortedList.this.comparator.compare(item1.element, item2.element);
+
+                if (comparison != 0)
+                {
+                    return comparison;
+                }
+
+                return Long.compare(item1.sequence, item2.sequence);
+            }
+        });
+    }
+
+    /**
+     * First item that compare equals to an element
+     *
+     * @param element Element search
+     * @return First equals item or {@code null} if not found
+     */
+    @SuppressWarnings("unchecked")
+    private Item<TYPE> firstEquals(final TYPE element)
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        final Item<TYPE> item = this.items.ceiling(new Item<TYPE>(element, Long.MIN_VALUE));
+
+        if ((item != null) && (this.comparator.compare(item.element, element) == 0))
+        {
+            return item;
+        }
+
+        return null;
+    }
+
+    /**
+     * Remove an item
+     *
+     * @param item Item to remove
+     * @return {@code true} if this call removed the item
+     */
+    private boolean removeItem(final Item<TYPE> item)
+    {
+        if (this.items.remove(item))
+        {
+            this.size.decrementAndGet();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Add an element
+     *
+     * @param element element to add
+     * @return {@code true} if element added. {@code false} if unique mode and already present, so not added
+     * @throws NullPointerException if the element is {@code null}
+     */
+    public boolean add(final TYPE element)
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        final long sequence = this.unique
+                              ? 0L
+                              : this.sequence.incrementAndGet();
+
+        if (this.items.add(new Item<TYPE>(element, sequence)))
+        {
+            this.size.incrementAndGet();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Add several elements
+     *
+     * @param elements Elements to add
+     * @return Number of elements really added (In unique mode, already present elements are not added)
+     * @throws NullPointerException if one element is {@code null}
+     */
+    public int addAll(final Collection<? extends TYPE> elements)
+    {
+        if (elements == null)
+        {
+            throw new NullPointerException("elements MUST NOT be null");
+        }
+
+        int added = 0;
+
+        for (final TYPE element : elements)
+        {
+            if (this.add(element))
+            {
+                added++;
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * Add several elements
+     *
+     * @param elements Elements to add
+     * @return Number of elements really added (In unique mode, already present elements are not added)
+     * @throws NullPointerException if one element is {@code null}
+     */
+    public int addAll(final TYPE[] elements)
+    {
+        if (elements == null)
+        {
+            throw new NullPointerException("elements MUST NOT be null");
+        }
+
+        int added = 0;
+
+        for (final TYPE element : elements)
+        {
+            if (this.add(element))
+            {
+                added++;
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * Clear the list.<br>
+     * Elements added in same time by other threads may stay
+     */
+    public void clear()
+    {
+        for (final Item<TYPE> item : this.items)
+        {
+            this.removeItem(item);
+        }
+    }
+
+    /**
+     * Indicates if an element is inside the list
+     *
+     * @param element Tested element
+     * @return {@code true} if an element is inside the list
+     * @throws NullPointerException if the element is {@code null}
+     */
+    public boolean contains(final TYPE element)
+    {
+        return this.firstEquals(element) != null;
+    }
+
+    /**
+     * Give an element of the list.<br>
+     * Walk the list, so in O(n)
+     *
+     * @param index Element index
+     * @return Element
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    public TYPE getElement(final int index)
+    {
+        if (index >= 0)
+        {
+            int rank = 0;
+
+            for (final Item<TYPE> item : this.items)
+            {
+                if (rank == index)
+                {
+                    return item.element;
+                }
+
+                rank++;
+            }
+        }
+
+        throw new IllegalArgumentException("index must be in [0, " + this.size.get() + "[ not " + index);
+    }
+
+    /**
+     * Actual number of elements
+     *
+     * @return Actual number of elements
+     */
+    public int getSize()
+    {
+        return Math.max(0, this.size.get());
+    }
+
+    /**
+     * Get an element index or -1 if not present.<br>
+     * Walk the list, so in O(n)
+     *
+     * @param element Element tested
+     * @return Element index or -1 if not present
+     * @throws NullPointerException if element is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public int indexOf(final TYPE element)
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        int rank = 0;
+        int comparison;
+
+        for (final Item<TYPE> item : this.items)
+        {
+            comparison = this.comparator.compare(item.element, element);
+
+            if (comparison == 0)
+            {
+                return rank;
+            }
+
+            if (comparison > 0)
+            {
+                return -1;
+            }
+
+            rank++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Compute interval index where should be insert a given element.<br>
+     * Walk the list, so in O(n). See {@link SortedArray#intervalOf(Object)} for result meaning
+     *
+     * @param element Element search
+     * @return Couple (min, max)
+     */
+    @SuppressWarnings("unchecked")
+    public Pair<Integer, Integer> intervalOf(final TYPE element)
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        int rank = 0;
+        int comparison;
+
+        for (final Item<TYPE> item : this.items)
+        {
+            comparison = this.comparator.compare(item.element, element);
+
+            if (comparison == 0)
+            {
+                return new Pair<Integer, Integer>(rank, rank);
+            }
+
+            if (comparison > 0)
+            {
+                return new Pair<Integer, Integer>(rank - 1, rank);
+            }
+
+            rank++;
+        }
+
+        return new Pair<Integer, Integer>(rank, -1);
+    }
+
+    /**
+     * Indicates if list is empty
+     *
+     * @return {@code true} if list is empty
+     */
+    public boolean isEmpty()
+    {
+        return this.items.isEmpty();
+    }
+
+    /**
+     * Indicates if list is in unique mode
+     *
+     * @return {@code true} if list is in unique mode
+     */
+    public boolean isUnique()
+    {
+        return this.unique;
+    }
+
+    /**
+     * Compute iterator over the elements in order.<br>
+     * The iterator never fails because of concurrent modifications <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Iterator
+     * @see java.lang.Iterable#iterator()
+     */
+    @Override
+    public Iterator<TYPE> iterator()
+    {
+        return new ListIterator();
+    }
+
+    /**
+     * Search an element similar to the object. Because it use the comparator, if the comparator say the object is the
+     * same of one element inside the list, they are declared similar
+     *
+     * @param object Object to be similar
+     * @return Element similar to the object, or {@code null} if no element are similar
+     */
+    @SuppressWarnings("unchecked")
+    public TYPE obtainElement(final Object object)
+    {
+        for (final Item<TYPE> item : this.items)
+        {
+            if (this.comparator.compare(item.element, object) == 0)
+            {
+                return item.element;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Search index of similar element. Because it use the comparator, if the comparator say the object is the same of one
+     * element inside the list, they are declared similar
+     *
+     * @param object Object to be similar
+     * @return Index of similar element, or -1 if not found
+     */
+    @SuppressWarnings("unchecked")
+    public int obtainIndex(final Object object)
+    {
+        int rank = 0;
+
+        for (final Item<TYPE> item : this.items)
+        {
+            if (this.comparator.compare(item.element, object) == 0)
+            {
+                return rank;
+            }
+
+            rank++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Remove an element.<br>
+     * Walk the list, so in O(n)
+     *
+     * @param index Element index
+     * @return The removed element
+     * @throws IllegalArgumentException if index is out of bounds
+     */
+    public TYPE remove(final int index)
+    {
+        while (index >= 0)
+        {
+            Item<TYPE> found = null;
+            int        rank  = 0;
+
+            for (final Item<TYPE> item : this.items)
+            {
+                if (rank == index)
+                {
+                    found = item;
+                    break;
+                }
+
+                rank++;
+            }
+
+            if (found == null)
+            {
+                break;
+            }
+
+            if (this.removeItem(found))
+            {
+                return found.element;
+            }
+
+            // Removed by an other thread in same time, try again
+        }
+
+        throw new IllegalArgumentException("index must be in [0, " + this.size.get() + "[ not " + index);
+    }
+
+    /**
+     * Remove an element.<br>
+     * It removes an element equals to the given element, not necessary the element itself
+     *
+     * @param element Element to remove
+     * @return Real element removed or {@code null} if element not found
+     * @throws NullPointerException if element is {@code null}
+     */
+    public TYPE remove(final TYPE element)
+    {
+        Item<TYPE> item = this.firstEquals(element);
+
+        while (item != null)
+        {
+            if (this.removeItem(item))
+            {
+                return item.element;
+            }
+
+            // Removed by an other thread in same time, try again
+            item = this.firstEquals(element);
+        }
+
+        return null;
+    }
+
+    /**
+     * Seek first element that match a test
+     *
+     * @param seekTest Seek test
+     * @return First matches element or {@code null} if none match
+     */
+    public TYPE seekElement(final SeekTest<TYPE> seekTest)
+    {
+        for (final Item<TYPE> item : this.items)
+        {
+            if (seekTest.isElementSeek(item.element))
+            {
+                return item.element;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Collect all matches element in a list with same comparator and same unique mode
+     *
+     * @param seekTest Test of seek elements
+     * @return List of all matches elements
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentSortedList<TYPE> seekElements(final SeekTest<TYPE> seekTest)
+    {
+        final ConcurrentSortedList<TYPE> sortedList = new ConcurrentSortedList<TYPE>(this.typeClass, this.comparator,
+                                                                                     this.unique);
+
+        for (final Item<TYPE> item : this.items)
+        {
+            if (seekTest.isElementSeek(item.element))
+            {
+                sortedList.add(item.element);
+            }
+        }
+
+        return sortedList;
+    }
+
+    /**
+     * Transform the list to an array with same elements in same order
+     *
+     * @return Extracted array
+     */
+    @SuppressWarnings("unchecked")
+    public TYPE[] toArray()
+    {
+        final ArrayList<TYPE> list = new ArrayList<TYPE>(this.getSize());
+
+        for (final Item<TYPE> item : this.items)
+        {
+            list.add(item.element);
+        }
+
+        return list.toArray((TYPE[]) Array.newInstance(this.typeClass, list.size()));
+    }
+
+    /**
+     * String representation <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return String representation
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder stringBuilder = new StringBuilder("[");
+        boolean             first         = true;
+
+        for (final Item<TYPE> item : this.items)
+        {
+            if (!first)
+            {
+                stringBuilder.append(", ");
+            }
+
+            first = false;
+            stringBuilder.append(item.element);
+        }
+
+        stringBuilder.append(']');
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,422 @@
+package jhelp.util.list;
+
+import java.util.HashMap;
+
+/**
+ * Elements sorted by usage frequency, all operations in O(1) (LFU).<br>
+ * Elements with same frequency are in a bucket, buckets are linked in increasing frequency order. Inside a bucket,
+ * elements are in arrival order. So the less used element is the oldest of the first bucket.<br>
+ * Each time the number of usages reach 10 times the number of elements, all frequencies are divided by 2. Old popular
+ * elements don't stay for ever
+ *
+ * @param <KEY>   Key type
+ * @param <VALUE> Value type
+ * @author JHelp
+ */
+final class FrequencyList<KEY, VALUE>
+{
+    /**
+     * Elements with same frequency
+     *
+     * @param <KEY>   Key type
+     * @param <VALUE> Value type
+     * @author JHelp
+     */
+    static final class Bucket<KEY, VALUE>
+    {
+        /**
+         * Elements frequency
+         */
+        long               frequency;
+        /**
+         * Oldest element
+         */
+        Node<KEY, VALUE>   head;
+        /**
+         * Bucket with next bigger frequency
+         */
+        Bucket<KEY, VALUE> next;
+        /**
+         * Bucket with previous smaller frequency
+         */
+        Bucket<KEY, VALUE> previous;
+        /**
+         * Newest element
+         */
+        Node<KEY, VALUE>   tail;
+
+        /**
+         * Create a new instance of Bucket
+         *
+         * @param frequency Elements frequency
+         */
+        Bucket(final long frequency)
+        {
+            this.frequency = frequency;
+        }
+
+        /**
+         * Add an element at the end
+         *
+         * @param node Element to add
+         */
+        void append(final Node<KEY, VALUE> node)
+        {
+            node.bucket = this;
+            node.next = null;
+            node.previous = this.tail;
+
+            if (this.tail == null)
+            {
+                this.head = node;
+            }
+            else
+            {
+                this.tail.next = node;
+            }
+
+            this.tail = node;
+        }
+
+        /**
+         * Remove an element
+         *
+         * @param node Element to remove
+         */
+        void unlink(final Node<KEY, VALUE> node)
+        {
+            if (node.previous == null)
+            {
+                this.head = node.next;
+            }
+            else
+            {
+                node.previous.next = node.next;
+            }
+
+            if (node.next == null)
+            {
+                this.tail = node.previous;
+            }
+            else
+            {
+                node.next.previous = node.previous;
+            }
+
+            node.previous = null;
+            node.next = null;
+            node.bucket = null;
+        }
+    }
+
+    /**
+     * An element
+     *
+     * @param <KEY>   Key type
+     * @param <VALUE> Value type
+     * @author JHelp
+     */
+    static final class Node<KEY, VALUE>
+    {
+        /**
+         * Element key
+         */
+        final KEY          key;
+        /**
+         * Bucket where element is
+         */
+        Bucket<KEY, VALUE> bucket;
+        /**
+         * Next element in bucket
+         */
+        Node<KEY, VALUE>   next;
+        /**
+         * Previous element in bucket
+         */
+        Node<KEY, VALUE>   previous;
+        /**
+         * Element value
+         */
+        VALUE              value;
+
+        /**
+         * Create a new instance of Node
+         *
+         * @param key   Element key
+         * @param value Element value
+         */
+        Node(final KEY key, final VALUE value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Bucket with smallest frequency
+     */
+    private       Bucket<KEY, VALUE>             first;
+    /**
+     * Elements by key
+     */
+    private final HashMap<KEY, Node<KEY, VALUE>> nodes;
+    /**
+     * Number of usages since last aging
+     */
+    private       long                           usages;
+
+    /**
+     * Create a new instance of FrequencyList
+     */
+    FrequencyList()
+    {
+        this.nodes = new HashMap<KEY, Node<KEY, VALUE>>();
+    }
+
+    /**
+     * Divide all frequencies by 2, merging buckets that get same frequency
+     */
+    private void age()
+    {
+        this.usages = 0;
+        Bucket<KEY, VALUE> bucket = this.first;
+        Bucket<KEY, VALUE> last   = null;
+        Bucket<KEY, VALUE> next;
+        Node<KEY, VALUE>   node;
+        long               frequency;
+
+        while (bucket != null)
+        {
+            next = bucket.next;
+            frequency = Math.max(1L, bucket.frequency >>> 1);
+
+            if (last != null && last.frequency == frequency)
+            {
+                // Frequencies stay in same order, so buckets that merge are neighbors
+                node = bucket.head;
+
+                while (node != null)
+                {
+                    node.bucket = last;
+                    node = node.next;
+                }
+
+                last.tail.next = bucket.head;
+                bucket.head.previous = last.tail;
+                last.tail = bucket.tail;
+                last.next = next;
+
+                if (next != null)
+                {
+                    next.previous = last;
+                }
+            }
+            else
+            {
+                bucket.frequency = frequency;
+                last = bucket;
+            }
+
+            bucket = next;
+        }
+    }
+
+    /**
+     * Remove a bucket if it is empty
+     *
+     * @param bucket Bucket to check
+     */
+    private void removeIfEmpty(final Bucket<KEY, VALUE> bucket)
+    {
+        if (bucket.head != null)
+        {
+            return;
+        }
+
+        if (bucket.previous == null)
+        {
+            this.first = bucket.next;
+        }
+        else
+        {
+            bucket.previous.next = bucket.next;
+        }
+
+        if (bucket.next != null)
+        {
+            bucket.next.previous = bucket.previous;
+        }
+    }
+
+    /**
+     * Add a new element with frequency 1
+     *
+     * @param key   Element key
+     * @param value Element value
+     * @return Created element
+     */
+    Node<KEY, VALUE> add(final KEY key, final VALUE value)
+    {
+        final Node<KEY, VALUE> node = new Node<KEY, VALUE>(key, value);
+        this.nodes.put(key, node);
+
+        if (this.first == null || this.first.frequency != 1L)
+        {
+            final Bucket<KEY, VALUE> bucket = new Bucket<KEY, VALUE>(1L);
+            bucket.next = this.first;
+
+            if (this.first != null)
+            {
+                this.first.previous = bucket;
+            }
+
+            this.first = bucket;
+        }
+
+        this.first.append(node);
+        return node;
+    }
+
+    /**
+     * Remove all elements
+     */
+    void clear()
+    {
+        this.nodes.clear();
+        this.first = null;
+        this.usages = 0;
+    }
+
+    /**
+     * Obtain an element, without counting a usage
+     *
+     * @param key Element key
+     * @return The element or {@code null} if not inside
+     */
+    Node<KEY, VALUE> get(final KEY key)
+    {
+        return this.nodes.get(key);
+    }
+
+    /**
+     * Less used element
+     *
+     * @param ignore Key to ignore ({@code null} if no key to ignore)
+     * @return Less used element or {@code null} if no element
+     */
+    Node<KEY, VALUE> leastUsed(final KEY ignore)
+    {
+        for (Bucket<KEY, VALUE> bucket = this.first; bucket != null; bucket = bucket.next)
+        {
+            for (Node<KEY, VALUE> node = bucket.head; node != null; node = node.next)
+            {
+                if (ignore == null || !ignore.equals(node.key))
+                {
+                    return node;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Remove an element
+     *
+     * @param key Element key
+     * @return Removed element or {@code null} if not inside
+     */
+    Node<KEY, VALUE> remove(final KEY key)
+    {
+        final Node<KEY, VALUE> node = this.nodes.remove(key);
+
+        if (node != null)
+        {
+            final Bucket<KEY, VALUE> bucket = node.bucket;
+            bucket.unlink(node);
+            this.removeIfEmpty(bucket);
+        }
+
+        return node;
+    }
+
+    /**
+     * Number of elements
+     *
+     * @return Number of elements
+     */
+    int size()
+    {
+        return this.nodes.size();
+    }
+
+    /**
+     * String representation <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return String representation
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder stringBuilder = new StringBuilder("{");
+        boolean             first         = true;
+
+        for (Bucket<KEY, VALUE> bucket = this.first; bucket != null; bucket = bucket.next)
+        {
+            for (Node<KEY, VALUE> node = bucket.head; node != null; node = node.next)
+            {
+                if (!first)
+                {
+                    stringBuilder.append(", ");
+                }
+
+                first = false;
+                stringBuilder.append(node.key);
+                stringBuilder.append('=');
+                stringBuilder.append(node.value);
+            }
+        }
+
+        stringBuilder.append('}');
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Count one usage of an element : it moves to next frequency bucket
+     *
+     * @param node Used element
+     */
+    void touch(final Node<KEY, VALUE> node)
+    {
+        final Bucket<KEY, VALUE> bucket    = node.bucket;
+        final long               frequency = bucket.frequency + 1L;
+        Bucket<KEY, VALUE>       next      = bucket.next;
+
+        if (next == null || next.frequency != frequency)
+        {
+            next = new Bucket<KEY, VALUE>(frequency);
+            next.previous = bucket;
+            next.next = bucket.next;
+
+            if (bucket.next != null)
+            {
+                bucket.next.previous = next;
+            }
+
+            bucket.next = next;
+        }
+
+        bucket.unlink(node);
+        next.append(node);
+        this.removeIfEmpty(bucket);
+
+        if (++this.usages >= 10L * Math.max(128, this.nodes.size()))
+        {
+            this.age();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package jhelp.util.list;
+
+import java.util.Arrays;
+
+/**
+ * Approximate usage frequency of many keys in small memory (Count-min sketch with 4 bits counters).<br>
+ * Frequencies are in [0, 15]. Each time the number of increments reach 10 times the capacity, all frequencies are
+ * divided by 2, so old popular keys slowly loose their advantage.<br>
+ * Used as TinyLFU admission filter : a new key is admitted only if it is more frequent than the key it replaces
+ *
+ * @author JHelp
+ */
+public final class FrequencySketch
+{
+    /**
+     * Maximum counter value
+     */
+    private static final long   MAXIMUM_COUNT = 15L;
+    /**
+     * Mask to divide 16 counters by 2 in one operation
+     */
+    private static final long   RESET_MASK    = 0x7777777777777777L;
+    /**
+     * Seeds of the 4 hash functions
+     */
+    private static final long[] SEEDS         = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL,
+                                                 0xCBF29CE484222325L};
+
+    /**
+     * Spread a hash code
+     *
+     * @param hash Hash code
+     * @param seed Hash function seed
+     * @return Spread hash
+     */
+    private static int spread(final int hash, final long seed)
+    {
+        long spread = (hash + seed) * seed;
+        spread += spread >>> 32;
+        return (int) spread;
+    }
+
+    /**
+     * Number of increments since last aging
+     */
+    private int    increments;
+    /**
+     * Table mask (length - 1)
+     */
+    private int    mask;
+    /**
+     * Number of increments that triggers aging
+     */
+    private int    sampleSize;
+    /**
+     * Counters, 16 by long
+     */
+    private long[] table;
+
+    /**
+     * Create a new instance of FrequencySketch
+     *
+     * @param capacity Expected number of distinct keys
+     */
+    public FrequencySketch(final int capacity)
+    {
+        this.ensureCapacity(capacity);
+    }
+
+    /**
+     * Increment a counter if not at maximum
+     *
+     * @param index  Table index
+     * @param offset Counter index in [0, 15]
+     * @return {@code true} if counter incremented
+     */
+    private boolean incrementAt(final int index, final int offset)
+    {
+        final int shift = offset << 2;
+
+        if (((this.table[index] >>> shift) & FrequencySketch.MAXIMUM_COUNT) == FrequencySketch.MAXIMUM_COUNT)
+        {
+            return false;
+        }
+
+        this.table[index] += 1L << shift;
+        return true;
+    }
+
+    /**
+     * Divide all frequencies by 2
+     */
+    private void reset()
+    {
+        for (int index = this.table.length - 1; index >= 0; index--)
+        {
+            this.table[index] = (this.table[index] >>> 1) & FrequencySketch.RESET_MASK;
+        }
+
+        this.increments >>>= 1;
+    }
+
+    /**
+     * Clear all frequencies
+     */
+    public void clear()
+    {
+        Arrays.fill(this.table, 0L);
+        this.increments = 0;
+    }
+
+    /**
+     * Make the sketch accurate for a number of distinct keys.<br>
+     * If the sketch has to grow, frequencies are lost
+     *
+     * @param capacity Expected number of distinct keys
+     */
+    public void ensureCapacity(final int capacity)
+    {
+        final int length = Integer.highestOneBit(Math.min(Math.max(capacity, 16), 1 << 26) - 1) << 1;
+
+        if (this.table != null && this.table.length >= length)
+        {
+            return;
+        }
+
+        this.table = new long[length];
+        this.mask = length - 1;
+        this.sampleSize = 10 * length;
+        this.increments = 0;
+    }
+
+    /**
+     * Approximate frequency of a key
+     *
+     * @param key Key
+     * @return Frequency in [0, 15]
+     */
+    public int frequency(final Object key)
+    {
+        final int hash      = key.hashCode();
+        long      frequency = FrequencySketch.MAXIMUM_COUNT;
+        int       spread;
+
+        for (int row = 0; row < 4; row++)
+        {
+            spread = FrequencySketch.spread(hash, FrequencySketch.SEEDS[row]);
+            frequency = Math.min(frequency,
+                                 (this.table[spread & this.mask] >>> (((spread >>> 28) & 15) << 2))
+                                 & FrequencySketch.MAXIMUM_COUNT);
+        }
+
+        return (int) frequency;
+    }
+
+    /**
+     * Record one usage of a key
+     *
+     * @param key Key
+     */
+    public void increment(final Object key)
+    {
+        final int hash        = key.hashCode();
+        boolean   incremented = false;
+        int       spread;
+
+        for (int row = 0; row < 4; row++)
+        {
+            spread = FrequencySketch.spread(hash, FrequencySketch.SEEDS[row]);
+            incremented |= this.incrementAt(spread & this.mask, (spread >>> 28) & 15);
+        }
+
+        if (incremented && ++this.increments >= this.sampleSize)
+        {
+            this.reset();
+        }
+    }
+}
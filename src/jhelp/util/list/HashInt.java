@@ -1,10 +1,16 @@
 package jhelp.util.list;
 
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.TreeSet;
+import java.util.NoSuchElementException;
 
 /**
- * Hash table where keys are integers
+ * Hash table where keys are integers.<br>
+ * Open addressing table with linear probing : keys and values are stored in two parallel arrays, so no wrapper is
+ * created for get/put/contains/remove. Removal shifts back following elements, so there no tombstone.<br>
+ * {@link #iterator()} , {@link #getKeys()} and {@link #toString()} give a sorted view (in key order). The sorted keys
+ * are computed only after keys changed. {@link #unorderedIterator()} and {@link #getKeysUnordered()} give the table
+ * order, faster
  *
  * @param <TYPE> Element stored type
  * @author JHelp
@@ -13,16 +19,341 @@ public class HashInt<TYPE>
         implements Iterable<TYPE>
 {
     /**
-     * Set where stored hash table elements
+     * Default initial capacity
      */
-    private final TreeSet<Element<TYPE>> treeSet;
+    public static final int   DEFAULT_CAPACITY    = 16;
+    /**
+     * Default load factor
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Iterator on values in key order
+     *
+     * @param <ELEMENT> Element type
+     * @author JHelp
+     */
+    static class IteratorElement<ELEMENT>
+            implements Iterator<ELEMENT>
+    {
+        /**
+         * Hash table to iterate
+         */
+        private final HashInt<ELEMENT> hashInt;
+        /**
+         * Sorted keys at iterator creation
+         */
+        private final int[]            keys;
+        /**
+         * Next key index
+         */
+        private       int              index;
+        /**
+         * Key of last returned element, for remove
+         */
+        private       int              lastKey;
+        /**
+         * Next value, {@code null} if not computed yet
+         */
+        private       ELEMENT          next;
+
+        /**
+         * Create a new instance of IteratorElement
+         *
+         * @param hashInt Hash table to iterate
+         */
+        IteratorElement(final HashInt<ELEMENT> hashInt)
+        {
+            this.hashInt = hashInt;
+            this.keys = hashInt.sortedKeys();
+        }
+
+        /**
+         * Indicates if their are on more element in the iterator <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return {@code true} if their are one more element in the iterator
+         * @see java.util.Iterator#hasNext()
+         */
+        @Override
+        public boolean hasNext()
+        {
+            // Keys removed since iterator creation are skipped
+            while (this.next == null && this.index < this.keys.length)
+            {
+                this.next = this.hashInt.get(this.keys[this.index++]);
+            }
+
+            return this.next != null;
+        }
+
+        /**
+         * Next element in iterator <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return Next element in iterator
+         * @see java.util.Iterator#next()
+         */
+        @Override
+        public ELEMENT next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            final ELEMENT element = this.next;
+            this.lastKey = this.keys[this.index - 1];
+            this.next = null;
+            return element;
+        }
+
+        /**
+         * Remove last returned element <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @see java.util.Iterator#remove()
+         */
+        @Override
+        public void remove()
+        {
+            if (this.index > 0)
+            {
+                this.hashInt.remove(this.lastKey);
+            }
+        }
+    }
+
+    /**
+     * Iterator on values in table order
+     *
+     * @param <ELEMENT> Element type
+     * @author JHelp
+     */
+    static class IteratorUnordered<ELEMENT>
+            implements Iterator<ELEMENT>
+    {
+        /**
+         * Table values
+         */
+        private final Object[] values;
+        /**
+         * Next slot to look
+         */
+        private       int      slot;
+
+        /**
+         * Create a new instance of IteratorUnordered
+         *
+         * @param values Table values
+         */
+        IteratorUnordered(final Object[] values)
+        {
+            this.values = values;
+        }
+
+        /**
+         * Indicates if their are on more element in the iterator <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return {@code true} if their are one more element in the iterator
+         * @see java.util.Iterator#hasNext()
+         */
+        @Override
+        public boolean hasNext()
+        {
+            while (this.slot < this.values.length && this.values[this.slot] == null)
+            {
+                this.slot++;
+            }
+
+            return this.slot < this.values.length;
+        }
+
+        /**
+         * Next element in iterator <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return Next element in iterator
+         * @see java.util.Iterator#next()
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public ELEMENT next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            return (ELEMENT) this.values[this.slot++];
+        }
+
+        /**
+         * Not supported : removal moves elements in table <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @see java.util.Iterator#remove()
+         */
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Use HashInt.remove(int) or iterator()");
+        }
+    }
+
+    /**
+     * Table keys
+     */
+    private       int[]    keys;
+    /**
+     * Load factor
+     */
+    private final float    loadFactor;
+    /**
+     * Table mask (length - 1)
+     */
+    private       int      mask;
+    /**
+     * Number of elements
+     */
+    private       int      size;
+    /**
+     * Sorted keys cache, {@code null} if keys changed since last computing
+     */
+    private       int[]    sorted;
+    /**
+     * Number of elements that triggers a table growing
+     */
+    private       int      threshold;
+    /**
+     * Table values, {@code null} for free slots
+     */
+    private       Object[] values;
 
     /**
      * Create a new instance of HashInt
      */
     public HashInt()
     {
-        this.treeSet = new TreeSet<Element<TYPE>>();
+        this(HashInt.DEFAULT_CAPACITY, HashInt.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Create a new instance of HashInt
+     *
+     * @param capacity   Number of elements that can be stored before table grows
+     * @param loadFactor Maximum ratio of used slots, in ]0, 1[. Lower is faster but takes more memory
+     */
+    public HashInt(final int capacity, final float loadFactor)
+    {
+        PrimitiveCollections.checkLoadFactor(loadFactor);
+        this.loadFactor = loadFactor;
+        this.allocate(PrimitiveCollections.tableLength(capacity, loadFactor));
+    }
+
+    /**
+     * Allocate the table
+     *
+     * @param length Table length (power of 2)
+     */
+    private void allocate(final int length)
+    {
+        this.keys = new int[length];
+        this.values = new Object[length];
+        this.mask = length - 1;
+        this.threshold = PrimitiveCollections.threshold(length, this.loadFactor);
+    }
+
+    /**
+     * Search the slot of a key
+     *
+     * @param key Key to search
+     * @return Key slot or -1 if key not in table
+     */
+    private int find(final int key)
+    {
+        final int[]    keys   = this.keys;
+        final Object[] values = this.values;
+        final int      mask   = this.mask;
+        int            slot   = PrimitiveCollections.slot(key, mask);
+
+        while (values[slot] != null)
+        {
+            if (keys[slot] == key)
+            {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Double table length and put back elements
+     */
+    private void grow()
+    {
+        final int[]    oldKeys   = this.keys;
+        final Object[] oldValues = this.values;
+
+        if (oldKeys.length == PrimitiveCollections.MAXIMUM_TABLE_LENGTH)
+        {
+            throw new IllegalStateException("HashInt is full");
+        }
+
+        this.allocate(oldKeys.length << 1);
+        final int[]    keys   = this.keys;
+        final Object[] values = this.values;
+        final int      mask   = this.mask;
+        int            slot;
+
+        for (int index = oldKeys.length - 1; index >= 0; index--)
+        {
+            if (oldValues[index] != null)
+            {
+                slot = PrimitiveCollections.slot(oldKeys[index], mask);
+
+                while (values[slot] != null)
+                {
+                    slot = (slot + 1) & mask;
+                }
+
+                keys[slot] = oldKeys[index];
+                values[slot] = oldValues[index];
+            }
+        }
+    }
+
+    /**
+     * Sorted keys, computed if keys changed. The returned array MUST NOT be modified
+     *
+     * @return Sorted keys
+     */
+    int[] sortedKeys()
+    {
+        if (this.sorted == null)
+        {
+            final int[] sorted = this.getKeysUnordered();
+            Arrays.sort(sorted);
+            this.sorted = sorted;
+        }
+
+        return this.sorted;
     }
 
     /**
@@ -30,7 +361,13 @@ public class HashInt<TYPE>
      */
     public void clear()
     {
-        this.treeSet.clear();
+        if (this.size > 0)
+        {
+            Arrays.fill(this.values, null);
+            this.size = 0;
+        }
+
+        this.sorted = null;
     }
 
     /**
@@ -41,7 +378,7 @@ public class HashInt<TYPE>
      */
     public boolean contains(final int key)
     {
-        return this.treeSet.contains(new Element<TYPE>(key));
+        return this.find(key) >= 0;
     }
 
     /**
@@ -51,41 +388,60 @@ public class HashInt<TYPE>
      * @param key Ket for get the value
      * @return Associated value or {@code null} if the key not associated
      */
+    @SuppressWarnings("unchecked")
     public TYPE get(final int key)
     {
-        final Element<TYPE> element = new Element<TYPE>(key);
-
-        final Element<TYPE> found = this.treeSet.ceiling(element);
+        final int[]    keys   = this.keys;
+        final Object[] values = this.values;
+        final int      mask   = this.mask;
+        int            slot   = PrimitiveCollections.slot(key, mask);
+        Object         value;
 
-        if (found == null)
+        while ((value = values[slot]) != null)
         {
-            return null;
-        }
+            if (keys[slot] == key)
+            {
+                return (TYPE) value;
+            }
 
-        if (found.hash == key)
-        {
-            return found.data;
+            slot = (slot + 1) & mask;
         }
 
         return null;
     }
 
     /**
-     * Hash int keys
+     * Hash int keys in increasing order
      *
      * @return Hash int keys
      */
     public int[] getKeys()
     {
-        final ArrayInt keys = new ArrayInt();
+        return this.sortedKeys()
+                   .clone();
+    }
 
-        for (final Element<TYPE> element : this.treeSet)
+    /**
+     * Hash int keys in table order, faster than {@link #getKeys()}
+     *
+     * @return Hash int keys
+     */
+    public int[] getKeysUnordered()
+    {
+        final int[]    result = new int[this.size];
+        final int[]    keys   = this.keys;
+        final Object[] values = this.values;
+        int            index  = 0;
+
+        for (int slot = 0; slot < values.length; slot++)
         {
-            keys.add(element.hash);
+            if (values[slot] != null)
+            {
+                result[index++] = keys[slot];
+            }
         }
 
-        keys.sort();
-        return keys.toArray();
+        return result;
     }
 
     /**
@@ -95,7 +451,7 @@ public class HashInt<TYPE>
      */
     public int getSize()
     {
-        return this.treeSet.size();
+        return this.size;
     }
 
     /**
@@ -105,11 +461,11 @@ public class HashInt<TYPE>
      */
     public boolean isEmpty()
     {
-        return this.treeSet.isEmpty();
+        return this.size == 0;
     }
 
     /**
-     * Iterator on elements <br>
+     * Iterator on elements, in key order <br>
      * <br>
      * <b>Parent documentation:</b><br>
      * {@inheritDoc}
@@ -120,7 +476,7 @@ public class HashInt<TYPE>
     @Override
     public Iterator<TYPE> iterator()
     {
-        return new IteratorElement<TYPE>(this.treeSet.iterator());
+        return new IteratorElement<TYPE>(this);
     }
 
     /**
@@ -136,228 +492,72 @@ public class HashInt<TYPE>
             throw new NullPointerException("value MUST NOT be null");
         }
 
-        final Element<TYPE> element = new Element<TYPE>(key, value);
-        this.treeSet.remove(element);
-        this.treeSet.add(element);
-    }
+        int slot = PrimitiveCollections.slot(key, this.mask);
 
-    /**
-     * Remove an element
-     *
-     * @param key Key of element to remove
-     */
-    public void remove(final int key)
-    {
-        this.treeSet.remove(new Element<TYPE>(key));
-    }
-
-    /**
-     * Inside element
-     *
-     * @param <DATA> Data type
-     * @author JHelp
-     */
-    static class Element<DATA>
-            implements Comparable<Element<DATA>>
-    {
-        /**
-         * Element's hash
-         */
-        final int hash;
-        /**
-         * Stored data
-         */
-        DATA data;
-
-        /**
-         * Create a new instance of Element
-         *
-         * @param hash Element's hash
-         */
-        Element(final int hash)
+        while (this.values[slot] != null)
         {
-            this.hash = hash;
-        }
-
-        /**
-         * Create a new instance of Element
-         *
-         * @param hash Element's hash
-         * @param data Stored data
-         */
-        Element(final int hash, final DATA data)
-        {
-            this.hash = hash;
-            this.data = data;
-        }
-
-        /**
-         * Compare with an other element.<br>
-         * It returns:
-         * <table border=0>
-         * <tr>
-         * <th>&lt;0</th>
-         * <td>:</td>
-         * <td>If this element is before given one</td>
-         * </tr>
-         * <tr>
-         * <th>0</th>
-         * <td>:</td>
-         * <td>If this element and given one have the same place</td>
-         * </tr>
-         * <tr>
-         * <th>&gt;0</th>
-         * <td>:</td>
-         * <td>If this element is after given one</td>
-         * </tr>
-         * </table>
-         * <br>
-         * <br>
-         * <b>Parent documentation:</b><br>
-         * {@inheritDoc}
-         *
-         * @param element Element to compare with
-         * @return Comparison result
-         * @see java.lang.Comparable#compareTo(java.lang.Object)
-         */
-        @Override
-        public int compareTo(final Element<DATA> element)
-        {
-            return this.hash - element.hash;
-        }
-
-        /**
-         * Element hash code <br>
-         * <br>
-         * <b>Parent documentation:</b><br>
-         * {@inheritDoc}
-         *
-         * @return Element hash code
-         * @see java.lang.Object#hashCode()
-         */
-        @Override
-        public int hashCode()
-        {
-            return this.hash;
-        }
-
-        /**
-         * Indicates if an object is equals to this element <br>
-         * <br>
-         * <b>Parent documentation:</b><br>
-         * {@inheritDoc}
-         *
-         * @param object Object to compare with
-         * @return {@code true} if the object is equals to the element
-         * @see java.lang.Object#equals(java.lang.Object)
-         */
-        @Override
-        public boolean equals(final Object object)
-        {
-            if (object == null)
-            {
-                return false;
-            }
-
-            if (object == this)
+            if (this.keys[slot] == key)
             {
-                return true;
+                this.values[slot] = value;
+                return;
             }
 
-            if (!(object instanceof Element))
-            {
-                return false;
-            }
-
-            return this.hash == ((Element<?>) object).hash;
+            slot = (slot + 1) & this.mask;
         }
 
-        /**
-         * Element string representation <br>
-         * <br>
-         * <b>Parent documentation:</b><br>
-         * {@inheritDoc}
-         *
-         * @return Element string representation
-         * @see java.lang.Object#toString()
-         */
-        @Override
-        public String toString()
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.size++;
+        this.sorted = null;
+
+        if (this.size > this.threshold)
         {
-            return this.hash + ":" + this.data;
+            this.grow();
         }
     }
 
     /**
-     * Iterator on hash table values
+     * Remove an element
      *
-     * @param <ELEMENT> Element type
-     * @author JHelp
+     * @param key Key of element to remove
      */
-    static class IteratorElement<ELEMENT>
-            implements Iterator<ELEMENT>
+    public void remove(final int key)
     {
-        /**
-         * Iterator reference
-         */
-        private final Iterator<Element<ELEMENT>> iteratorBase;
+        int gap = this.find(key);
 
-        /**
-         * Create a new instance of IteratorElement
-         *
-         * @param iteratorBase Iterator reference
-         */
-        IteratorElement(final Iterator<Element<ELEMENT>> iteratorBase)
+        if (gap < 0)
         {
-            this.iteratorBase = iteratorBase;
+            return;
         }
 
-        /**
-         * Indicates if their are on more element in the iterator <br>
-         * <br>
-         * <b>Parent documentation:</b><br>
-         * {@inheritDoc}
-         *
-         * @return {@code true} if their are one more element in the iterator
-         * @see java.util.Iterator#hasNext()
-         */
-        @Override
-        public boolean hasNext()
-        {
-            return this.iteratorBase.hasNext();
-        }
+        final int[]    keys   = this.keys;
+        final Object[] values = this.values;
+        final int      mask   = this.mask;
+        int            next   = (gap + 1) & mask;
+        int            start;
 
-        /**
-         * Next element in iterator <br>
-         * <br>
-         * <b>Parent documentation:</b><br>
-         * {@inheritDoc}
-         *
-         * @return Next element in iterator
-         * @see java.util.Iterator#next()
-         */
-        @Override
-        public ELEMENT next()
+        // Shift back following elements that can't be found anymore because of the gap
+        while (values[next] != null)
         {
-            return this.iteratorBase.next().data;
-        }
+            start = PrimitiveCollections.slot(keys[next], mask);
 
-        /**
-         * Do nothing here <br>
-         * <br>
-         * <b>Parent documentation:</b><br>
-         * {@inheritDoc}
-         *
-         * @see java.util.Iterator#remove()
-         */
-        @Override
-        public void remove()
-        {
+            if (((next - start) & mask) >= ((next - gap) & mask))
+            {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+
+            next = (next + 1) & mask;
         }
+
+        values[gap] = null;
+        this.size--;
+        this.sorted = null;
     }
 
     /**
-     * String representation <br>
+     * String representation, in key order <br>
      * <br>
      * <b>Parent documentation:</b><br>
      * {@inheritDoc}
@@ -372,27 +572,34 @@ public class HashInt<TYPE>
 
         stringBuilder.append('[');
 
-        final Iterator<Element<TYPE>> iterator = this.treeSet.iterator();
+        boolean first = true;
 
-        if (iterator.hasNext())
+        for (final int key : this.sortedKeys())
         {
-            Element<TYPE> element = iterator.next();
-            stringBuilder.append(element.hash);
-            stringBuilder.append("->");
-            stringBuilder.append(element.data);
-
-            while (iterator.hasNext())
+            if (!first)
             {
-                element = iterator.next();
                 stringBuilder.append(" | ");
-                stringBuilder.append(element.hash);
-                stringBuilder.append("->");
-                stringBuilder.append(element.data);
             }
+
+            first = false;
+            stringBuilder.append(key);
+            stringBuilder.append("->");
+            stringBuilder.append(this.get(key));
         }
 
         stringBuilder.append(']');
 
         return stringBuilder.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Iterator on elements in table order, faster than {@link #iterator()}.<br>
+     * The iterator don't support remove
+     *
+     * @return Iterator on elements
+     */
+    public Iterator<TYPE> unorderedIterator()
+    {
+        return new IteratorUnordered<TYPE>(this.values);
+    }
+}
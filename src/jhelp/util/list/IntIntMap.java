@@ -0,0 +1,393 @@
+package jhelp.util.list;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Map int keys to int values.<br>
+ * Open addressing table with linear probing, no wrapper is created. More optimized than {@link java.util.HashMap
+ * HashMap&lt;Integer, Integer&gt;}
+ *
+ * @author JHelp
+ */
+public class IntIntMap
+{
+    /**
+     * Table keys
+     */
+    private       int[]     keys;
+    /**
+     * Load factor
+     */
+    private final float     loadFactor;
+    /**
+     * Table mask (length - 1)
+     */
+    private       int       mask;
+    /**
+     * Number of elements
+     */
+    private       int       size;
+    /**
+     * Number of elements that triggers a table growing
+     */
+    private       int       threshold;
+    /**
+     * Indicates slots in use
+     */
+    private       boolean[] used;
+    /**
+     * Table values
+     */
+    private       int[]     values;
+
+    /**
+     * Create a new instance of IntIntMap
+     */
+    public IntIntMap()
+    {
+        this(HashInt.DEFAULT_CAPACITY, HashInt.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Create a new instance of IntIntMap
+     *
+     * @param capacity Number of elements that can be stored before table grows
+     */
+    public IntIntMap(final int capacity)
+    {
+        this(capacity, HashInt.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Create a new instance of IntIntMap
+     *
+     * @param capacity   Number of elements that can be stored before table grows
+     * @param loadFactor Maximum ratio of used slots, in ]0, 1[. Lower is faster but takes more memory
+     */
+    public IntIntMap(final int capacity, final float loadFactor)
+    {
+        PrimitiveCollections.checkLoadFactor(loadFactor);
+        this.loadFactor = loadFactor;
+        this.allocate(PrimitiveCollections.tableLength(capacity, loadFactor));
+    }
+
+    /**
+     * Allocate the table
+     *
+     * @param length Table length (power of 2)
+     */
+    private void allocate(final int length)
+    {
+        this.keys = new int[length];
+        this.values = new int[length];
+        this.used = new boolean[length];
+        this.mask = length - 1;
+        this.threshold = PrimitiveCollections.threshold(length, this.loadFactor);
+    }
+
+    /**
+     * Search the slot of a key
+     *
+     * @param key Key to search
+     * @return Key slot or -1 if key not in map
+     */
+    private int find(final int key)
+    {
+        final int[]     keys = this.keys;
+        final boolean[] used = this.used;
+        final int       mask = this.mask;
+        int             slot = PrimitiveCollections.slot(key, mask);
+
+        while (used[slot])
+        {
+            if (keys[slot] == key)
+            {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Double table length and put back elements
+     */
+    private void grow()
+    {
+        final int[]     oldKeys   = this.keys;
+        final int[]     oldValues = this.values;
+        final boolean[] oldUsed   = this.used;
+
+        if (oldKeys.length == PrimitiveCollections.MAXIMUM_TABLE_LENGTH)
+        {
+            throw new IllegalStateException("IntIntMap is full");
+        }
+
+        this.allocate(oldKeys.length << 1);
+        int slot;
+
+        for (int index = oldKeys.length - 1; index >= 0; index--)
+        {
+            if (oldUsed[index])
+            {
+                slot = PrimitiveCollections.slot(oldKeys[index], this.mask);
+
+                while (this.used[slot])
+                {
+                    slot = (slot + 1) & this.mask;
+                }
+
+                this.keys[slot] = oldKeys[index];
+                this.values[slot] = oldValues[index];
+                this.used[slot] = true;
+            }
+        }
+    }
+
+    /**
+     * Slot of a key, the key is added with 0 as value if not already inside
+     *
+     * @param key Key
+     * @return Key slot
+     */
+    private int slotOrAdd(final int key)
+    {
+        int slot = PrimitiveCollections.slot(key, this.mask);
+
+        while (this.used[slot])
+        {
+            if (this.keys[slot] == key)
+            {
+                return slot;
+            }
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        if (this.size + 1 > this.threshold)
+        {
+            this.grow();
+            return this.slotOrAdd(key);
+        }
+
+        this.keys[slot] = key;
+        this.values[slot] = 0;
+        this.used[slot] = true;
+        this.size++;
+        return slot;
+    }
+
+    /**
+     * Add a quantity to the value associated to a key. If the key not inside, it is added with the quantity as value.<br>
+     * Useful for counters
+     *
+     * @param key      Key
+     * @param quantity Quantity to add
+     * @return New value
+     */
+    public int addTo(final int key, final int quantity)
+    {
+        final int slot = this.slotOrAdd(key);
+        this.values[slot] += quantity;
+        return this.values[slot];
+    }
+
+    /**
+     * Remove all elements
+     */
+    public void clear()
+    {
+        if (this.size > 0)
+        {
+            Arrays.fill(this.used, false);
+            this.size = 0;
+        }
+    }
+
+    /**
+     * Indicates if a key is inside the map
+     *
+     * @param key Tested key
+     * @return {@code true} if the key is inside
+     */
+    public boolean containsKey(final int key)
+    {
+        return this.find(key) >= 0;
+    }
+
+    /**
+     * Do an action on each key, in table order
+     *
+     * @param action Action to do
+     */
+    public void forEachKey(final IntConsumer action)
+    {
+        if (action == null)
+        {
+            throw new NullPointerException("action MUST NOT be null");
+        }
+
+        final int[]     keys = this.keys;
+        final boolean[] used = this.used;
+
+        for (int slot = 0; slot < used.length; slot++)
+        {
+            if (used[slot])
+            {
+                action.accept(keys[slot]);
+            }
+        }
+    }
+
+    /**
+     * Value associated to a key
+     *
+     * @param key          Key
+     * @param defaultValue Value returned if key not inside
+     * @return Associated value or default value if key not inside
+     */
+    public int get(final int key, final int defaultValue)
+    {
+        final int slot = this.find(key);
+
+        if (slot < 0)
+        {
+            return defaultValue;
+        }
+
+        return this.values[slot];
+    }
+
+    /**
+     * Keys in table order
+     *
+     * @return Keys
+     */
+    public int[] getKeys()
+    {
+        final int[] result = new int[this.size];
+        int index = 0;
+
+        for (int slot = 0; slot < this.used.length; slot++)
+        {
+            if (this.used[slot])
+            {
+                result[index++] = this.keys[slot];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Number of elements
+     *
+     * @return Number of elements
+     */
+    public int getSize()
+    {
+        return this.size;
+    }
+
+    /**
+     * Indicates if map is empty
+     *
+     * @return {@code true} if map is empty
+     */
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    /**
+     * Associate a value to a key
+     *
+     * @param key   Key
+     * @param value Value
+     */
+    public void put(final int key, final int value)
+    {
+        final int slot = this.slotOrAdd(key);
+        this.values[slot] = value;
+    }
+
+    /**
+     * Remove a key
+     *
+     * @param key Key to remove
+     * @return {@code true} if key was inside
+     */
+    public boolean remove(final int key)
+    {
+        int gap = this.find(key);
+
+        if (gap < 0)
+        {
+            return false;
+        }
+
+        final int[]     keys   = this.keys;
+        final int[]     values = this.values;
+        final boolean[] used   = this.used;
+        final int       mask   = this.mask;
+        int             next   = (gap + 1) & mask;
+        int             start;
+
+        // Shift back following elements that can't be found anymore because of the gap
+        while (used[next])
+        {
+            start = PrimitiveCollections.slot(keys[next], mask);
+
+            if (((next - start) & mask) >= ((next - gap) & mask))
+            {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        used[gap] = false;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * String representation, in table order <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return String representation
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder stringBuilder = new StringBuilder("[");
+        boolean             first         = true;
+
+        for (int slot = 0; slot < this.used.length; slot++)
+        {
+            if (this.used[slot])
+            {
+                if (!first)
+                {
+                    stringBuilder.append(" | ");
+                }
+
+                first = false;
+                stringBuilder.append(this.keys[slot]);
+                stringBuilder.append("->");
+                stringBuilder.append(this.values[slot]);
+            }
+        }
+
+        stringBuilder.append(']');
+        return stringBuilder.toString();
+    }
+}
@@ -1,12 +1,12 @@
 package jhelp.util.list;
 
-import java.util.HashMap;
-import java.util.Map.Entry;
-
 /**
  * Limited map of number of element, if full some elements are removed to make room.<br>
- * It removes less use time object first
- * 
+ * It removes less use time object first. Get, put and remove are in O(1). Usage counts are periodically divided by 2,
+ * so old popular elements don't stay for ever.<br>
+ * With admission filter (TinyLFU), a new element is added only if its key is more used than the element it replaces,
+ * so keys used only once don't remove often used ones
+ *
  * @author JHelp
  * @param <KEY>
  *           Key type
@@ -16,46 +16,47 @@ import java.util.Map.Entry;
 public class LimitedSizeHashMapFrequency<KEY, VALUE>
       implements LimitedSizeHashMap<KEY, VALUE>
 {
+   /** Elements sorted by usage */
+   private final FrequencyList<KEY, VALUE> frequencyList;
+   /** Number of elements removed to make room */
+   private long                            evictionCount;
+   /** Number of get that found the element */
+   private long                            hitCount;
+   /** Size limit */
+   private final int                       limit;
+   /** Number of get that not found the element */
+   private long                            missCount;
+   /** Number of put refused by admission filter */
+   private long                            rejectionCount;
+   /** Admission filter, {@code null} if no filter */
+   private final FrequencySketch           sketch;
+
    /**
-    * Element description
-    * 
-    * @author JHelp
+    * Create a new instance of LimitedSizeHashMapFrequency
+    *
+    * @param limit
+    *           Size limit
     */
-   class Element
+   public LimitedSizeHashMapFrequency(final int limit)
    {
-      /** usage frequency */
-      long  frenquency;
-      /** Element value */
-      VALUE value;
-
-      /**
-       * Create a new instance of Element
-       * 
-       * @param value
-       *           Associated value
-       */
-      Element(final VALUE value)
-      {
-         this.frenquency = 1;
-         this.value = value;
-      }
+      this(limit, false);
    }
 
-   /** Hash map */
-   private final HashMap<KEY, Element> hashMap;
-   /** Size limit */
-   private final int                   limit;
-
    /**
     * Create a new instance of LimitedSizeHashMapFrequency
-    * 
+    *
     * @param limit
     *           Size limit
+    * @param admissionFilter
+    *           Indicates if use TinyLFU admission filter
     */
-   public LimitedSizeHashMapFrequency(final int limit)
+   public LimitedSizeHashMapFrequency(final int limit, final boolean admissionFilter)
    {
-      this.hashMap = new HashMap<KEY, Element>();
+      this.frequencyList = new FrequencyList<KEY, VALUE>();
       this.limit = Math.max(limit, 128);
+      this.sketch = admissionFilter
+            ? new FrequencySketch(this.limit)
+            : null;
    }
 
    /**
@@ -63,7 +64,7 @@ public class LimitedSizeHashMapFrequency<KEY, VALUE>
     * <br>
     * <b>Parent documentation:</b><br>
     * {@inheritDoc}
-    * 
+    *
     * @param key
     *           Element key
     * @return Element value
@@ -72,15 +73,59 @@ public class LimitedSizeHashMapFrequency<KEY, VALUE>
    @Override
    public synchronized VALUE get(final KEY key)
    {
-      final Element element = this.hashMap.get(key);
+      if((this.sketch != null) && (key != null))
+      {
+         this.sketch.increment(key);
+      }
 
-      if(element == null)
+      final FrequencyList.Node<KEY, VALUE> node = this.frequencyList.get(key);
+
+      if(node == null)
       {
+         this.missCount++;
          return null;
       }
 
-      element.frenquency++;
-      return element.value;
+      this.hitCount++;
+      this.frequencyList.touch(node);
+      return node.value;
+   }
+
+   /**
+    * Number of elements removed to make room
+    *
+    * @return Number of elements removed to make room
+    */
+   public synchronized long getEvictionCount()
+   {
+      return this.evictionCount;
+   }
+
+   /**
+    * Number of get that found the element
+    *
+    * @return Number of get that found the element
+    */
+   public synchronized long getHitCount()
+   {
+      return this.hitCount;
+   }
+
+   /**
+    * Ratio of get that found the element, in [0, 1]
+    *
+    * @return Hit rate
+    */
+   public synchronized double getHitRate()
+   {
+      final long total = this.hitCount + this.missCount;
+
+      if(total == 0)
+      {
+         return 0;
+      }
+
+      return (double) this.hitCount / (double) total;
    }
 
    /**
@@ -88,7 +133,7 @@ public class LimitedSizeHashMapFrequency<KEY, VALUE>
     * <br>
     * <b>Parent documentation:</b><br>
     * {@inheritDoc}
-    * 
+    *
     * @return Map maximum size
     * @see jhelp.util.list.LimitedSizeHashMap#getLimit()
     */
@@ -99,11 +144,43 @@ public class LimitedSizeHashMapFrequency<KEY, VALUE>
    }
 
    /**
-    * Add/update an element <br>
+    * Number of get that not found the element
+    *
+    * @return Number of get that not found the element
+    */
+   public synchronized long getMissCount()
+   {
+      return this.missCount;
+   }
+
+   /**
+    * Number of put refused by admission filter
+    *
+    * @return Number of put refused by admission filter
+    */
+   public synchronized long getRejectionCount()
+   {
+      return this.rejectionCount;
+   }
+
+   /**
+    * Indicates if TinyLFU admission filter is used
+    *
+    * @return {@code true} if TinyLFU admission filter is used
+    */
+   public boolean isAdmissionFilter()
+   {
+      return this.sketch != null;
+   }
+
+   /**
+    * Add/update an element.<br>
+    * With admission filter, if the map is full and the key less used than the element to remove, the element is not
+    * added <br>
     * <br>
     * <b>Parent documentation:</b><br>
     * {@inheritDoc}
-    * 
+    *
     * @param key
     *           Key
     * @param value
@@ -123,36 +200,36 @@ public class LimitedSizeHashMapFrequency<KEY, VALUE>
          throw new NullPointerException("value musn't be null");
       }
 
-      final Element element = this.hashMap.get(key);
+      if(this.sketch != null)
+      {
+         this.sketch.increment(key);
+      }
+
+      final FrequencyList.Node<KEY, VALUE> node = this.frequencyList.get(key);
 
-      if(element != null)
+      if(node != null)
       {
-         element.frenquency++;
-         element.value = value;
+         node.value = value;
+         this.frequencyList.touch(node);
 
          return;
       }
 
-      final int size = this.hashMap.size();
-
-      if(size >= this.limit)
+      if(this.frequencyList.size() >= this.limit)
       {
-         long min = Long.MAX_VALUE;
-         KEY k = null;
+         final FrequencyList.Node<KEY, VALUE> victim = this.frequencyList.leastUsed(null);
 
-         for(final Entry<KEY, Element> entry : this.hashMap.entrySet())
+         if((this.sketch != null) && (this.sketch.frequency(key) <= this.sketch.frequency(victim.key)))
          {
-            if(entry.getValue().frenquency < min)
-            {
-               k = entry.getKey();
-               min = entry.getValue().frenquency;
-            }
+            this.rejectionCount++;
+            return;
          }
 
-         this.hashMap.remove(k);
+         this.frequencyList.remove(victim.key);
+         this.evictionCount++;
       }
 
-      this.hashMap.put(key, new Element(value));
+      this.frequencyList.add(key, value);
    }
 
    /**
@@ -160,7 +237,7 @@ public class LimitedSizeHashMapFrequency<KEY, VALUE>
     * <br>
     * <b>Parent documentation:</b><br>
     * {@inheritDoc}
-    * 
+    *
     * @param key
     *           Key of element to remove
     * @see jhelp.util.list.LimitedSizeHashMap#remove(java.lang.Object)
@@ -168,7 +245,7 @@ public class LimitedSizeHashMapFrequency<KEY, VALUE>
    @Override
    public synchronized void remove(final KEY key)
    {
-      this.hashMap.remove(key);
+      this.frequencyList.remove(key);
    }
 
    /**
@@ -176,14 +253,14 @@ public class LimitedSizeHashMapFrequency<KEY, VALUE>
     * <br>
     * <b>Parent documentation:</b><br>
     * {@inheritDoc}
-    * 
+    *
     * @return Number of elements
     * @see jhelp.util.list.LimitedSizeHashMap#size()
     */
    @Override
    public synchronized int size()
    {
-      return this.hashMap.size();
+      return this.frequencyList.size();
    }
 
    /**
@@ -191,13 +268,13 @@ public class LimitedSizeHashMapFrequency<KEY, VALUE>
     * <br>
     * <b>Parent documentation:</b><br>
     * {@inheritDoc}
-    * 
+    *
     * @return String representation
     * @see java.lang.Object#toString()
     */
    @Override
-   public String toString()
+   public synchronized String toString()
    {
-      return this.hashMap.toString();
+      return this.frequencyList.toString();
    }
-}
\ No newline at end of file
+}
@@ -1,11 +1,12 @@
 package jhelp.util.list;
 
-import java.util.HashMap;
-import java.util.Map.Entry;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 
 /**
  * Limited map of number of element, if full some elements are removed to make room.<br>
- * It removes long times not use first
+ * It removes long times not use first.<br>
+ * Elements are kept in access order, so get, put and remove of the least recently used are in O(1)
  *
  * @param <KEY>   Key type
  * @param <VALUE> Value type
@@ -15,13 +16,14 @@ public class LimitedSizeHashMapTime<KEY, VALUE>
         implements LimitedSizeHashMap<KEY, VALUE>
 {
     /**
-     * Hash map
+     * Hash map, in access order : least recently used first
      */
-    private final HashMap<KEY, Element> hashMap;
+    private final LinkedHashMap<KEY, VALUE> hashMap;
     /**
      * Size limit
      */
-    private final int                   limit;
+    private final int                       limit;
+
     /**
      * Create a new instance of LimitedSizeHashMapTime
      *
@@ -29,7 +31,7 @@ public class LimitedSizeHashMapTime<KEY, VALUE>
      */
     public LimitedSizeHashMapTime(final int limit)
     {
-        this.hashMap = new HashMap<KEY, Element>();
+        this.hashMap = new LinkedHashMap<KEY, VALUE>(16, 0.75f, true);
         this.limit = Math.max(limit, 128);
     }
 
@@ -46,15 +48,7 @@ public class LimitedSizeHashMapTime<KEY, VALUE>
     @Override
     public synchronized VALUE get(final KEY key)
     {
-        final Element element = this.hashMap.get(key);
-
-        if (element == null)
-        {
-            return null;
-        }
-
-        element.time = System.currentTimeMillis();
-        return element.value;
+        return this.hashMap.get(key);
     }
 
     /**
@@ -95,36 +89,15 @@ public class LimitedSizeHashMapTime<KEY, VALUE>
             throw new NullPointerException("value MUST NOT be null");
         }
 
-        final Element element = this.hashMap.get(key);
-
-        if (element != null)
-        {
-            element.time = System.currentTimeMillis();
-            element.value = value;
-
-            return;
-        }
-
-        final int size = this.hashMap.size();
-
-        if (size >= this.limit)
+        if (this.hashMap.size() >= this.limit && !this.hashMap.containsKey(key))
         {
-            long min = Long.MAX_VALUE;
-            KEY  k   = null;
-
-            for (final Entry<KEY, Element> entry : this.hashMap.entrySet())
-            {
-                if (entry.getValue().time < min)
-                {
-                    k = entry.getKey();
-                    min = entry.getValue().time;
-                }
-            }
-
-            this.hashMap.remove(k);
+            final Iterator<KEY> iterator = this.hashMap.keySet()
+                                                   .iterator();
+            iterator.next();
+            iterator.remove();
         }
 
-        this.hashMap.put(key, new Element(value));
+        this.hashMap.put(key, value);
     }
 
     /**
@@ -167,36 +140,8 @@ public class LimitedSizeHashMapTime<KEY, VALUE>
      * @see java.lang.Object#toString()
      */
     @Override
-    public String toString()
+    public synchronized String toString()
     {
         return this.hashMap.toString();
     }
-
-    /**
-     * Element description
-     *
-     * @author JHelp
-     */
-    class Element
-    {
-        /**
-         * Last usage time
-         */
-        long  time;
-        /**
-         * Element value
-         */
-        VALUE value;
-
-        /**
-         * Create a new instance of Element
-         *
-         * @param value Associated value
-         */
-        Element(final VALUE value)
-        {
-            this.time = System.currentTimeMillis();
-            this.value = value;
-        }
-    }
 }
\ No newline at end of file
@@ -1,8 +1,5 @@
 package jhelp.util.list;
 
-import java.util.HashMap;
-import java.util.Map.Entry;
-
 /**
  * Hash map with limited number of element in memory.<br>
  * Here its limited by "weight", that is to say when element is add :
@@ -10,6 +7,10 @@ import java.util.Map.Entry;
  * <li>If their enough space, the element is add</li>
  * <li>If its allowed, remove less used elements to make enough room to put the new one</li>
  * </ol>
+ * Get, put and remove are in O(1). Usage counts are periodically divided by 2, so old popular elements don't stay for
+ * ever.<br>
+ * With admission filter (TinyLFU), a new element that need room is added only if its key is more used than the less used
+ * element, so keys used only once don't remove often used ones
  *
  * @param <KEY>   Key type
  * @param <VALUE> Value type
@@ -19,17 +20,38 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
         implements LimitedWeightHashMap<KEY, VALUE>
 {
     /**
-     * Map of elements
+     * Elements sorted by usage
      */
-    private final HashMap<KEY, Element> hashMap;
+    private final FrequencyList<KEY, VALUE> frequencyList;
     /**
      * Maximum weight
      */
-    private final long                  maximumWeight;
+    private final long                      maximumWeight;
+    /**
+     * Admission filter, {@code null} if no filter
+     */
+    private final FrequencySketch           sketch;
+    /**
+     * Number of elements removed to make room
+     */
+    private       long                      evictionCount;
     /**
      * Weight free left
      */
-    private       long                  freeWeight;
+    private       long                      freeWeight;
+    /**
+     * Number of get that found the element
+     */
+    private       long                      hitCount;
+    /**
+     * Number of get that not found the element
+     */
+    private       long                      missCount;
+    /**
+     * Number of put refused by admission filter
+     */
+    private       long                      rejectionCount;
+
     /**
      * Create a hash map with limited number of element in memory
      *
@@ -37,9 +59,61 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
      */
     public LimitedWeightHashMapFrequency(final long maximumWeight)
     {
-        this.hashMap = new HashMap<KEY, Element>();
+        this(maximumWeight, false);
+    }
+
+    /**
+     * Create a hash map with limited number of element in memory
+     *
+     * @param maximumWeight   Maximum weight
+     * @param admissionFilter Indicates if use TinyLFU admission filter
+     */
+    public LimitedWeightHashMapFrequency(final long maximumWeight, final boolean admissionFilter)
+    {
+        this.frequencyList = new FrequencyList<KEY, VALUE>();
         this.maximumWeight = Math.max(1024L, maximumWeight);
         this.freeWeight = this.maximumWeight;
+        this.sketch = admissionFilter
+                      ? new FrequencySketch(1024)
+                      : null;
+    }
+
+    /**
+     * Check if admission filter let a key enter, when room is need
+     *
+     * @param key Key to add
+     * @return {@code true} if key can enter
+     */
+    private boolean admit(final KEY key)
+    {
+        if (this.sketch == null)
+        {
+            return true;
+        }
+
+        final FrequencyList.Node<KEY, VALUE> victim = this.frequencyList.leastUsed(null);
+
+        if (victim == null || this.sketch.frequency(key) > this.sketch.frequency(victim.key))
+        {
+            return true;
+        }
+
+        this.rejectionCount++;
+        return false;
+    }
+
+    /**
+     * Record a key usage in admission filter
+     *
+     * @param key Used key
+     */
+    private void record(final KEY key)
+    {
+        if (this.sketch != null && key != null)
+        {
+            this.sketch.ensureCapacity(this.frequencyList.size());
+            this.sketch.increment(key);
+        }
     }
 
     /**
@@ -55,15 +129,18 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
     @Override
     public VALUE get(final KEY key)
     {
-        final Element element = this.hashMap.get(key);
+        this.record(key);
+        final FrequencyList.Node<KEY, VALUE> node = this.frequencyList.get(key);
 
-        if (element == null)
+        if (node == null)
         {
+            this.missCount++;
             return null;
         }
 
-        element.frequency++;
-        return element.value;
+        this.hitCount++;
+        this.frequencyList.touch(node);
+        return node.value;
     }
 
     /**
@@ -108,7 +185,7 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
     @Override
     public int getSize()
     {
-        return this.hashMap.size();
+        return this.frequencyList.size();
     }
 
     /**
@@ -203,16 +280,17 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
             return Result.TOO_MUCH_HEAVY;
         }
 
-        final Element element = this.hashMap.get(key);
+        this.record(key);
+        final FrequencyList.Node<KEY, VALUE> node = this.frequencyList.get(key);
 
-        if (element != null)
+        if (node != null)
         {
-            weight -= element.value.getWeight();
+            weight -= node.value.getWeight();
 
             if (weight <= this.freeWeight)
             {
-                element.frequency++;
-                element.value = creator.createHeavyObject();
+                this.frequencyList.touch(node);
+                node.value = creator.createHeavyObject();
                 this.freeWeight -= weight;
 
                 return Result.UPDATED;
@@ -223,10 +301,10 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
                 return Result.NOT_UPDATED;
             }
 
-            this.automaticRemove(element, weight);
+            this.automaticRemove(key, weight);
 
-            element.frequency++;
-            element.value = creator.createHeavyObject();
+            this.frequencyList.touch(node);
+            node.value = creator.createHeavyObject();
             this.freeWeight -= weight;
 
             return Result.UPDATED_WITH_AT_LEAST_ONE_REMOVED;
@@ -234,20 +312,20 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
 
         if (weight <= this.freeWeight)
         {
-            this.hashMap.put(key, new Element(creator.createHeavyObject()));
+            this.frequencyList.add(key, creator.createHeavyObject());
             this.freeWeight -= weight;
 
             return Result.ADDED;
         }
 
-        if (!allowAutomaticRemove)
+        if (!allowAutomaticRemove || !this.admit(key))
         {
             return Result.NOT_ADDED;
         }
 
         this.automaticRemove(null, weight);
 
-        this.hashMap.put(key, new Element(creator.createHeavyObject()));
+        this.frequencyList.add(key, creator.createHeavyObject());
         this.freeWeight -= weight;
 
         return Result.ADD_WITH_AT_LEAST_ONE_REMOVED;
@@ -256,45 +334,93 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
     /**
      * Automatic remove operation for making room
      *
-     * @param keepIt     Element to keep ({@code null} if no element to keep)
+     * @param keepIt     Key of element to keep ({@code null} if no element to keep)
      * @param weightNeed Minimum free room need
      */
-    private void automaticRemove(final Element keepIt, final long weightNeed)
+    private void automaticRemove(final KEY keepIt, final long weightNeed)
     {
-        Entry<KEY, Element> lessFrequency;
+        FrequencyList.Node<KEY, VALUE> lessFrequency;
 
         while (this.freeWeight < weightNeed)
         {
-            lessFrequency = this.lessFrequencyElement(keepIt);
+            lessFrequency = this.frequencyList.leastUsed(keepIt);
 
-            this.freeWeight += lessFrequency.getValue().value.getWeight();
-            this.hashMap.remove(lessFrequency.getKey());
+            if (lessFrequency == null)
+            {
+                return;
+            }
+
+            this.freeWeight += lessFrequency.value.getWeight();
+            this.frequencyList.remove(lessFrequency.key);
+            this.evictionCount++;
         }
     }
 
     /**
-     * Obtain the less used element in the map
+     * Number of elements removed to make room
      *
-     * @param ignoreIt Element to ignore ({@code null} if no element to ignore)
-     * @return Less used element in the map
+     * @return Number of elements removed to make room
      */
-    private Entry<KEY, Element> lessFrequencyElement(final Element ignoreIt)
+    public long getEvictionCount()
     {
-        long                min           = Long.MAX_VALUE;
-        Entry<KEY, Element> lessFrequency = null;
-        Element             element;
+        return this.evictionCount;
+    }
 
-        for (final Entry<KEY, Element> entry : this.hashMap.entrySet())
+    /**
+     * Number of get that found the element
+     *
+     * @return Number of get that found the element
+     */
+    public long getHitCount()
+    {
+        return this.hitCount;
+    }
+
+    /**
+     * Ratio of get that found the element, in [0, 1]
+     *
+     * @return Hit rate
+     */
+    public double getHitRate()
+    {
+        final long total = this.hitCount + this.missCount;
+
+        if (total == 0)
         {
-            element = entry.getValue();
-            if ((element.value != ignoreIt) && (element.frequency < min))
-            {
-                lessFrequency = entry;
-                min = entry.getValue().frequency;
-            }
+            return 0;
         }
 
-        return lessFrequency;
+        return (double) this.hitCount / (double) total;
+    }
+
+    /**
+     * Number of get that not found the element
+     *
+     * @return Number of get that not found the element
+     */
+    public long getMissCount()
+    {
+        return this.missCount;
+    }
+
+    /**
+     * Number of put refused by admission filter
+     *
+     * @return Number of put refused by admission filter
+     */
+    public long getRejectionCount()
+    {
+        return this.rejectionCount;
+    }
+
+    /**
+     * Indicates if TinyLFU admission filter is used
+     *
+     * @return {@code true} if TinyLFU admission filter is used
+     */
+    public boolean isAdmissionFilter()
+    {
+        return this.sketch != null;
     }
 
     /**
@@ -389,16 +515,17 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
             return Result.TOO_MUCH_HEAVY;
         }
 
-        final Element element = this.hashMap.get(key);
+        this.record(key);
+        final FrequencyList.Node<KEY, VALUE> node = this.frequencyList.get(key);
 
-        if (element != null)
+        if (node != null)
         {
-            weight -= element.value.getWeight();
+            weight -= node.value.getWeight();
 
             if (weight <= this.freeWeight)
             {
-                element.frequency++;
-                element.value = value;
+                this.frequencyList.touch(node);
+                node.value = value;
                 this.freeWeight -= weight;
 
                 return Result.UPDATED;
@@ -409,10 +536,10 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
                 return Result.NOT_UPDATED;
             }
 
-            this.automaticRemove(element, weight);
+            this.automaticRemove(key, weight);
 
-            element.frequency++;
-            element.value = value;
+            this.frequencyList.touch(node);
+            node.value = value;
             this.freeWeight -= weight;
 
             return Result.UPDATED_WITH_AT_LEAST_ONE_REMOVED;
@@ -420,20 +547,20 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
 
         if (weight <= this.freeWeight)
         {
-            this.hashMap.put(key, new Element(value));
+            this.frequencyList.add(key, value);
             this.freeWeight -= weight;
 
             return Result.ADDED;
         }
 
-        if (!allowAutomaticRemove)
+        if (!allowAutomaticRemove || !this.admit(key))
         {
             return Result.NOT_ADDED;
         }
 
         this.automaticRemove(null, weight);
 
-        this.hashMap.put(key, new Element(value));
+        this.frequencyList.add(key, value);
         this.freeWeight -= weight;
 
         return Result.ADD_WITH_AT_LEAST_ONE_REMOVED;
@@ -451,14 +578,14 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
     @Override
     public void remove(final KEY key)
     {
-        final Element element = this.hashMap.remove(key);
+        final FrequencyList.Node<KEY, VALUE> node = this.frequencyList.remove(key);
 
-        if (element == null)
+        if (node == null)
         {
             return;
         }
 
-        this.freeWeight += element.value.getWeight();
+        this.freeWeight += node.value.getWeight();
     }
 
     /**
@@ -475,32 +602,4 @@ public class LimitedWeightHashMapFrequency<KEY, VALUE extends HeavyObject>
     {
         return this.maximumWeight - this.freeWeight;
     }
-
-    /**
-     * Map element
-     *
-     * @author JHelp
-     */
-    class Element
-    {
-        /**
-         * Usage count of element
-         */
-        long  frequency;
-        /**
-         * Element value
-         */
-        VALUE value;
-
-        /**
-         * Create a new instance of Element
-         *
-         * @param value Carry value
-         */
-        Element(final VALUE value)
-        {
-            this.frequency = 1;
-            this.value = value;
-        }
-    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package jhelp.util.list;
 
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map.Entry;
 
 /**
@@ -10,6 +11,7 @@ import java.util.Map.Entry;
  * <li>If their enough space, the element is add</li>
  * <li>If its allowed, remove oldest used elements to make enough room to put the new one</li>
  * </ol>
+ * Elements are kept in access order, so get, put and remove of the oldest used are in O(1)
  *
  * @param <KEY>   Key type
  * @param <VALUE> Value type
@@ -19,17 +21,18 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
         implements LimitedWeightHashMap<KEY, VALUE>
 {
     /**
-     * Map of elements
+     * Map of elements, in access order : oldest used first
      */
-    private final HashMap<KEY, Element> hashMap;
+    private final LinkedHashMap<KEY, VALUE> hashMap;
     /**
      * Maximum weight
      */
-    private final long                  maximumWeight;
+    private final long                      maximumWeight;
     /**
      * Weight free left
      */
-    private       long                  freeWeight;
+    private       long                      freeWeight;
+
     /**
      * Create a hash map with limited number of element in memory
      *
@@ -37,7 +40,7 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
      */
     public LimitedWeightHashMapTime(final long maximumWeight)
     {
-        this.hashMap = new HashMap<KEY, Element>();
+        this.hashMap = new LinkedHashMap<KEY, VALUE>(16, 0.75f, true);
         this.maximumWeight = Math.max(1024L, maximumWeight);
         this.freeWeight = this.maximumWeight;
     }
@@ -55,15 +58,7 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
     @Override
     public VALUE get(final KEY key)
     {
-        final Element element = this.hashMap.get(key);
-
-        if (element == null)
-        {
-            return null;
-        }
-
-        element.time = System.currentTimeMillis();
-        return element.value;
+        return this.hashMap.get(key);
     }
 
     /**
@@ -203,16 +198,15 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
             return Result.TOO_MUCH_HEAVY;
         }
 
-        final Element element = this.hashMap.get(key);
+        final VALUE previous = this.hashMap.get(key);
 
-        if (element != null)
+        if (previous != null)
         {
-            weight -= element.value.getWeight();
+            weight -= previous.getWeight();
 
             if (weight <= this.freeWeight)
             {
-                element.time = System.currentTimeMillis();
-                element.value = creator.createHeavyObject();
+                this.hashMap.put(key, creator.createHeavyObject());
                 this.freeWeight -= weight;
 
                 return Result.UPDATED;
@@ -223,10 +217,9 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
                 return Result.NOT_UPDATED;
             }
 
-            this.automaticRemove(element, weight);
+            this.automaticRemove(key, weight);
 
-            element.time = System.currentTimeMillis();
-            element.value = creator.createHeavyObject();
+            this.hashMap.put(key, creator.createHeavyObject());
             this.freeWeight -= weight;
 
             return Result.UPDATED_WITH_AT_LEAST_ONE_REMOVED;
@@ -234,7 +227,7 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
 
         if (weight <= this.freeWeight)
         {
-            this.hashMap.put(key, new Element(creator.createHeavyObject()));
+            this.hashMap.put(key, creator.createHeavyObject());
             this.freeWeight -= weight;
 
             return Result.ADDED;
@@ -247,54 +240,37 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
 
         this.automaticRemove(null, weight);
 
-        this.hashMap.put(key, new Element(creator.createHeavyObject()));
+        this.hashMap.put(key, creator.createHeavyObject());
         this.freeWeight -= weight;
 
         return Result.ADD_WITH_AT_LEAST_ONE_REMOVED;
     }
 
     /**
-     * Automatic remove operation for making room
+     * Automatic remove operation for making room.<br>
+     * Oldest used elements are at map start, so each remove is in O(1)
      *
-     * @param keepIt     Element to keep ({@code null} if no element to keep)
+     * @param keepIt     Key of element to keep ({@code null} if no element to keep)
      * @param weightNeed Minimum free room need
      */
-    private void automaticRemove(final Element keepIt, final long weightNeed)
+    private void automaticRemove(final KEY keepIt, final long weightNeed)
     {
-        Entry<KEY, Element> oldest;
+        final Iterator<Entry<KEY, VALUE>> iterator = this.hashMap.entrySet()
+                                                                 .iterator();
+        Entry<KEY, VALUE>                 oldest;
 
-        while (this.freeWeight < weightNeed)
+        while (this.freeWeight < weightNeed && iterator.hasNext())
         {
-            oldest = this.oldestElement(keepIt);
-
-            this.freeWeight += oldest.getValue().value.getWeight();
-            this.hashMap.remove(oldest.getKey());
-        }
-    }
+            oldest = iterator.next();
 
-    /**
-     * Obtain the oldest used element in the map
-     *
-     * @param ignoreIt Element to ignore ({@code null} if no element to ignore)
-     * @return Oldest used element in the map
-     */
-    private Entry<KEY, Element> oldestElement(final Element ignoreIt)
-    {
-        long                min    = Long.MAX_VALUE;
-        Entry<KEY, Element> oldest = null;
-        Element             element;
-
-        for (final Entry<KEY, Element> entry : this.hashMap.entrySet())
-        {
-            element = entry.getValue();
-            if ((element.value != ignoreIt) && (element.time < min))
+            if (!oldest.getKey()
+                       .equals(keepIt))
             {
-                oldest = entry;
-                min = entry.getValue().time;
+                this.freeWeight += oldest.getValue()
+                                         .getWeight();
+                iterator.remove();
             }
         }
-
-        return oldest;
     }
 
     /**
@@ -389,16 +365,15 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
             return Result.TOO_MUCH_HEAVY;
         }
 
-        final Element element = this.hashMap.get(key);
+        final VALUE previous = this.hashMap.get(key);
 
-        if (element != null)
+        if (previous != null)
         {
-            weight -= element.value.getWeight();
+            weight -= previous.getWeight();
 
             if (weight <= this.freeWeight)
             {
-                element.time = System.currentTimeMillis();
-                element.value = value;
+                this.hashMap.put(key, value);
                 this.freeWeight -= weight;
 
                 return Result.UPDATED;
@@ -409,10 +384,9 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
                 return Result.NOT_UPDATED;
             }
 
-            this.automaticRemove(element, weight);
+            this.automaticRemove(key, weight);
 
-            element.time = System.currentTimeMillis();
-            element.value = value;
+            this.hashMap.put(key, value);
             this.freeWeight -= weight;
 
             return Result.UPDATED_WITH_AT_LEAST_ONE_REMOVED;
@@ -420,7 +394,7 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
 
         if (weight <= this.freeWeight)
         {
-            this.hashMap.put(key, new Element(value));
+            this.hashMap.put(key, value);
             this.freeWeight -= weight;
 
             return Result.ADDED;
@@ -433,7 +407,7 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
 
         this.automaticRemove(null, weight);
 
-        this.hashMap.put(key, new Element(value));
+        this.hashMap.put(key, value);
         this.freeWeight -= weight;
 
         return Result.ADD_WITH_AT_LEAST_ONE_REMOVED;
@@ -451,14 +425,14 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
     @Override
     public void remove(final KEY key)
     {
-        final Element element = this.hashMap.remove(key);
+        final VALUE value = this.hashMap.remove(key);
 
-        if (element == null)
+        if (value == null)
         {
             return;
         }
 
-        this.freeWeight += element.value.getWeight();
+        this.freeWeight += value.getWeight();
     }
 
     /**
@@ -475,32 +449,4 @@ public class LimitedWeightHashMapTime<KEY, VALUE extends HeavyObject>
     {
         return this.maximumWeight - this.freeWeight;
     }
-
-    /**
-     * Map element
-     *
-     * @author JHelp
-     */
-    class Element
-    {
-        /**
-         * Element last access time
-         */
-        long  time;
-        /**
-         * Element value
-         */
-        VALUE value;
-
-        /**
-         * Create a new instance of Element
-         *
-         * @param value Carry value
-         */
-        Element(final VALUE value)
-        {
-            this.time = System.currentTimeMillis();
-            this.value = value;
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,335 @@
+package jhelp.util.list;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of long.<br>
+ * Open addressing table with linear probing, no wrapper is created. More optimized than {@link java.util.HashSet
+ * HashSet&lt;Long&gt;}
+ *
+ * @author JHelp
+ */
+public class LongHashSet
+{
+    /**
+     * Table keys
+     */
+    private       long[]    keys;
+    /**
+     * Load factor
+     */
+    private final float     loadFactor;
+    /**
+     * Table mask (length - 1)
+     */
+    private       int       mask;
+    /**
+     * Number of elements
+     */
+    private       int       size;
+    /**
+     * Number of elements that triggers a table growing
+     */
+    private       int       threshold;
+    /**
+     * Indicates slots in use
+     */
+    private       boolean[] used;
+
+    /**
+     * Create a new instance of LongHashSet
+     */
+    public LongHashSet()
+    {
+        this(HashInt.DEFAULT_CAPACITY, HashInt.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Create a new instance of LongHashSet
+     *
+     * @param capacity Number of elements that can be stored before table grows
+     */
+    public LongHashSet(final int capacity)
+    {
+        this(capacity, HashInt.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Create a new instance of LongHashSet
+     *
+     * @param capacity   Number of elements that can be stored before table grows
+     * @param loadFactor Maximum ratio of used slots, in ]0, 1[. Lower is faster but takes more memory
+     */
+    public LongHashSet(final int capacity, final float loadFactor)
+    {
+        PrimitiveCollections.checkLoadFactor(loadFactor);
+        this.loadFactor = loadFactor;
+        this.allocate(PrimitiveCollections.tableLength(capacity, loadFactor));
+    }
+
+    /**
+     * Allocate the table
+     *
+     * @param length Table length (power of 2)
+     */
+    private void allocate(final int length)
+    {
+        this.keys = new long[length];
+        this.used = new boolean[length];
+        this.mask = length - 1;
+        this.threshold = PrimitiveCollections.threshold(length, this.loadFactor);
+    }
+
+    /**
+     * Search the slot of a value
+     *
+     * @param value Value to search
+     * @return Value slot or -1 if value not in set
+     */
+    private int find(final long value)
+    {
+        final long[]    keys = this.keys;
+        final boolean[] used = this.used;
+        final int       mask = this.mask;
+        int             slot = PrimitiveCollections.slot(value, mask);
+
+        while (used[slot])
+        {
+            if (keys[slot] == value)
+            {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Double table length and put back elements
+     */
+    private void grow()
+    {
+        final long[]    oldKeys = this.keys;
+        final boolean[] oldUsed = this.used;
+
+        if (oldKeys.length == PrimitiveCollections.MAXIMUM_TABLE_LENGTH)
+        {
+            throw new IllegalStateException("LongHashSet is full");
+        }
+
+        this.allocate(oldKeys.length << 1);
+        int slot;
+
+        for (int index = oldKeys.length - 1; index >= 0; index--)
+        {
+            if (oldUsed[index])
+            {
+                slot = PrimitiveCollections.slot(oldKeys[index], this.mask);
+
+                while (this.used[slot])
+                {
+                    slot = (slot + 1) & this.mask;
+                }
+
+                this.keys[slot] = oldKeys[index];
+                this.used[slot] = true;
+            }
+        }
+    }
+
+    /**
+     * Add a value
+     *
+     * @param value Value to add
+     * @return {@code true} if value added, {@code false} if value was already inside
+     */
+    public boolean add(final long value)
+    {
+        int slot = PrimitiveCollections.slot(value, this.mask);
+
+        while (this.used[slot])
+        {
+            if (this.keys[slot] == value)
+            {
+                return false;
+            }
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        this.keys[slot] = value;
+        this.used[slot] = true;
+        this.size++;
+
+        if (this.size > this.threshold)
+        {
+            this.grow();
+        }
+
+        return true;
+    }
+
+    /**
+     * Add all values of an array
+     *
+     * @param values Values to add
+     */
+    public void addAll(final long... values)
+    {
+        if (values == null)
+        {
+            return;
+        }
+
+        for (final long value : values)
+        {
+            this.add(value);
+        }
+    }
+
+    /**
+     * Remove all values
+     */
+    public void clear()
+    {
+        if (this.size > 0)
+        {
+            Arrays.fill(this.used, false);
+            this.size = 0;
+        }
+    }
+
+    /**
+     * Indicates if a value is inside the set
+     *
+     * @param value Tested value
+     * @return {@code true} if the value is inside
+     */
+    public boolean contains(final long value)
+    {
+        return this.find(value) >= 0;
+    }
+
+    /**
+     * Do an action on each value, in table order
+     *
+     * @param action Action to do
+     */
+    public void forEach(final LongConsumer action)
+    {
+        if (action == null)
+        {
+            throw new NullPointerException("action MUST NOT be null");
+        }
+
+        final long[]    keys = this.keys;
+        final boolean[] used = this.used;
+
+        for (int slot = 0; slot < used.length; slot++)
+        {
+            if (used[slot])
+            {
+                action.accept(keys[slot]);
+            }
+        }
+    }
+
+    /**
+     * Number of values
+     *
+     * @return Number of values
+     */
+    public int getSize()
+    {
+        return this.size;
+    }
+
+    /**
+     * Indicates if set is empty
+     *
+     * @return {@code true} if set is empty
+     */
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    /**
+     * Remove a value
+     *
+     * @param value Value to remove
+     * @return {@code true} if value was inside
+     */
+    public boolean remove(final long value)
+    {
+        int gap = this.find(value);
+
+        if (gap < 0)
+        {
+            return false;
+        }
+
+        final long[]    keys = this.keys;
+        final boolean[] used = this.used;
+        final int       mask = this.mask;
+        int             next = (gap + 1) & mask;
+        int             start;
+
+        // Shift back following values that can't be found anymore because of the gap
+        while (used[next])
+        {
+            start = PrimitiveCollections.slot(keys[next], mask);
+
+            if (((next - start) & mask) >= ((next - gap) & mask))
+            {
+                keys[gap] = keys[next];
+                gap = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        used[gap] = false;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Values in table order
+     *
+     * @return Values
+     */
+    public long[] toArray()
+    {
+        final long[] result = new long[this.size];
+        int index = 0;
+
+        for (int slot = 0; slot < this.used.length; slot++)
+        {
+            if (this.used[slot])
+            {
+                result[index++] = this.keys[slot];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * String representation, in table order <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return String representation
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return Arrays.toString(this.toArray());
+    }
+}
@@ -0,0 +1,120 @@
+package jhelp.util.list;
+
+/**
+ * Tools shared by primitive collections : array growing and open addressing tables
+ *
+ * @author JHelp
+ */
+final class PrimitiveCollections
+{
+    /**
+     * Maximum array length
+     */
+    static final int MAXIMUM_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    /**
+     * Maximum hash table length
+     */
+    static final int MAXIMUM_TABLE_LENGTH = 1 << 30;
+
+    /**
+     * Check a load factor validity
+     *
+     * @param loadFactor Load factor to check
+     * @throws IllegalArgumentException If load factor not in ]0, 1[
+     */
+    static void checkLoadFactor(final float loadFactor)
+    {
+        if (!(loadFactor > 0f && loadFactor < 1f))
+        {
+            throw new IllegalArgumentException("loadFactor MUST be in ]0, 1[, not " + loadFactor);
+        }
+    }
+
+    /**
+     * Compute new array length.<br>
+     * Length is doubled, so adding n elements one by one copy O(n) elements
+     *
+     * @param length Actual length
+     * @param needed Minimum length needed
+     * @return New length
+     */
+    static int grow(final int length, final int needed)
+    {
+        if (needed < 0 || needed > PrimitiveCollections.MAXIMUM_ARRAY_LENGTH)
+        {
+            throw new OutOfMemoryError("Array can't contains more than " + PrimitiveCollections.MAXIMUM_ARRAY_LENGTH +
+                                       " elements");
+        }
+
+        return (int) Math.min(PrimitiveCollections.MAXIMUM_ARRAY_LENGTH, Math.max((long) length << 1, needed));
+    }
+
+    /**
+     * Compute the slot where an int key starts its search
+     *
+     * @param key  Key
+     * @param mask Table mask
+     * @return Start slot
+     */
+    static int slot(final int key, final int mask)
+    {
+        final int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Compute the slot where a long key starts its search
+     *
+     * @param key  Key
+     * @param mask Table mask
+     * @return Start slot
+     */
+    static int slot(final long key, final int mask)
+    {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Compute table length for a capacity
+     *
+     * @param capacity   Number of elements
+     * @param loadFactor Load factor
+     * @return Table length (power of 2)
+     */
+    static int tableLength(final int capacity, final float loadFactor)
+    {
+        if (capacity < 0)
+        {
+            throw new IllegalArgumentException("capacity MUST be positive, not " + capacity);
+        }
+
+        final long needed = Math.max(2L, (long) Math.ceil(capacity / (double) loadFactor) + 1L);
+
+        if (needed >= PrimitiveCollections.MAXIMUM_TABLE_LENGTH)
+        {
+            return PrimitiveCollections.MAXIMUM_TABLE_LENGTH;
+        }
+
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * Compute the number of elements that triggers a table growing
+     *
+     * @param length     Table length
+     * @param loadFactor Load factor
+     * @return Threshold
+     */
+    static int threshold(final int length, final float loadFactor)
+    {
+        return Math.min(length - 1, (int) (length * loadFactor));
+    }
+
+    /**
+     * Utility class
+     */
+    private PrimitiveCollections()
+    {
+    }
+}
@@ -0,0 +1,69 @@
+package jhelp.util.list;
+
+import java.util.function.Consumer;
+
+/**
+ * Queue that several threads can use in same time without lock.<br>
+ * Implementations:
+ * <ul>
+ * <li>{@link QueueConcurrentBounded} : Fixed capacity ring, any number of producers and consumers</li>
+ * <li>{@link QueueConcurrentSingleConsumer} : Unbounded, any number of producers but only one consumer</li>
+ * <li>{@link QueueConcurrentBlocking} : Wrap one of them to wait for an element or for a free place</li>
+ * </ul>
+ * They replace {@link QueueSynchronized} when several threads produce or consume in same time.<br>
+ * {@code null} elements are not allowed, since {@code null} means "queue is empty" for {@link #poll()} and
+ * {@link #peek()}
+ *
+ * @param <TYPE> Element type
+ * @author JHelp
+ */
+public interface QueueConcurrent<TYPE>
+{
+    /**
+     * Remove up to a given number of elements from the queue head and give them, in queue order, to a consumer.<br>
+     * Cheaper than call {@link #poll()} for each element
+     *
+     * @param consumer Consumer that receive the elements
+     * @param maximum  Maximum number of elements to remove
+     * @return Number of elements given to the consumer
+     */
+    int drainTo(Consumer<? super TYPE> consumer, int maximum);
+
+    /**
+     * Indicates if the queue is empty.<br>
+     * The answer may be outdated as soon as returned if other threads use the queue
+     *
+     * @return {@code true} if the queue is empty
+     */
+    boolean isEmpty();
+
+    /**
+     * Add an element at the end of the queue
+     *
+     * @param element Element to add
+     * @return {@code true} if element added. {@code false} if the queue is full
+     */
+    boolean offer(TYPE element);
+
+    /**
+     * Look the queue head without remove it
+     *
+     * @return Queue head or {@code null} if queue is empty
+     */
+    TYPE peek();
+
+    /**
+     * Remove and return the queue head
+     *
+     * @return Queue head or {@code null} if queue is empty
+     */
+    TYPE poll();
+
+    /**
+     * Number of elements in the queue.<br>
+     * The answer may be outdated as soon as returned if other threads use the queue
+     *
+     * @return Number of elements in the queue
+     */
+    int size();
+}
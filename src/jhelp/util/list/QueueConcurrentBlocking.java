@@ -0,0 +1,418 @@
+package jhelp.util.list;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Add waiting to a {@link QueueConcurrent}: consumers can wait for an element and producers can wait for a free
+ * place.<br>
+ * Waiting threads are parked, an add wakes up one waiting consumer and a remove wakes up one waiting producer. When no
+ * thread waits, the cost over the embed queue is only a check that the waiting list is empty, so the queue stay lock
+ * free.<br>
+ * Any {@link QueueConcurrent} can be embed, with the same rules : a {@link QueueConcurrentSingleConsumer} still
+ * accept only one consumer thread
+ *
+ * @param <TYPE> Element type
+ * @author JHelp
+ */
+public final class QueueConcurrentBlocking<TYPE>
+        implements QueueConcurrent<TYPE>
+{
+    /**
+     * Number of times a thread lets others work and tries again before park.<br>
+     * A queue full or empty for a short time is common, park and unpark cost more than those tries
+     */
+    private static final int SPIN_TRIES = 64;
+
+    /**
+     * Wake up one waiting thread, if any
+     *
+     * @param waiting Waiting threads
+     */
+    private static void wakeUp(final ConcurrentLinkedQueue<Thread> waiting)
+    {
+        if (!waiting.isEmpty())
+        {
+            final Thread thread = waiting.poll();
+
+            if (thread != null)
+            {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * Consumers waiting for an element
+     */
+    private final ConcurrentLinkedQueue<Thread> consumers;
+    /**
+     * Producers waiting for a free place
+     */
+    private final ConcurrentLinkedQueue<Thread> producers;
+    /**
+     * Embed queue
+     */
+    private final QueueConcurrent<TYPE>         queue;
+
+    /**
+     * Create a new instance of QueueConcurrentBlocking
+     *
+     * @param queue Queue to embed
+     */
+    public QueueConcurrentBlocking(final QueueConcurrent<TYPE> queue)
+    {
+        if (queue == null)
+        {
+            throw new NullPointerException("queue MUST NOT be null");
+        }
+
+        this.queue = queue;
+        this.consumers = new ConcurrentLinkedQueue<Thread>();
+        this.producers = new ConcurrentLinkedQueue<Thread>();
+    }
+
+    /**
+     * Add an element, waiting for a free place if need
+     *
+     * @param element     Element to add
+     * @param nanoseconds Maximum waiting time in nanoseconds, negative for wait without limit
+     * @return {@code true} if element added. {@code false} if the time is over before a place was free
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    private boolean offerWaiting(final TYPE element, final long nanoseconds) throws InterruptedException
+    {
+        final Thread thread    = Thread.currentThread();
+        final long   deadline  = System.nanoTime() + nanoseconds;
+        long         remaining = nanoseconds;
+        int          spin      = 0;
+        boolean      added;
+
+        while (true)
+        {
+            if (this.queue.offer(element))
+            {
+                QueueConcurrentBlocking.wakeUp(this.consumers);
+                return true;
+            }
+
+            if (Thread.interrupted())
+            {
+                throw new InterruptedException();
+            }
+
+            if (spin < QueueConcurrentBlocking.SPIN_TRIES)
+            {
+                spin++;
+                Thread.yield();
+                continue;
+            }
+
+            if (nanoseconds >= 0)
+            {
+                remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0)
+                {
+                    return false;
+                }
+            }
+
+            // Register before check again, so a remove done between the check and the park wakes up this thread
+            this.producers.offer(thread);
+            added = this.queue.offer(element);
+
+            if (!added)
+            {
+                if (nanoseconds < 0)
+                {
+                    LockSupport.park(this);
+                }
+                else
+                {
+                    LockSupport.parkNanos(this, remaining);
+                }
+            }
+
+            if ((!this.producers.remove(thread)) && (added))
+            {
+                // Woke up but not need it : give the wake up to an other producer
+                QueueConcurrentBlocking.wakeUp(this.producers);
+            }
+
+            if (added)
+            {
+                QueueConcurrentBlocking.wakeUp(this.consumers);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Remove the queue head, waiting for an element if need
+     *
+     * @param nanoseconds Maximum waiting time in nanoseconds, negative for wait without limit
+     * @return Queue head or {@code null} if the time is over before an element comes
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    private TYPE pollWaiting(final long nanoseconds) throws InterruptedException
+    {
+        final Thread thread    = Thread.currentThread();
+        final long   deadline  = System.nanoTime() + nanoseconds;
+        long         remaining = nanoseconds;
+        int          spin      = 0;
+        TYPE         element;
+
+        while (true)
+        {
+            element = this.queue.poll();
+
+            if (element != null)
+            {
+                QueueConcurrentBlocking.wakeUp(this.producers);
+                return element;
+            }
+
+            if (Thread.interrupted())
+            {
+                throw new InterruptedException();
+            }
+
+            if (spin < QueueConcurrentBlocking.SPIN_TRIES)
+            {
+                spin++;
+                Thread.yield();
+                continue;
+            }
+
+            if (nanoseconds >= 0)
+            {
+                remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0)
+                {
+                    return null;
+                }
+            }
+
+            // Register before check again, so an add done between the check and the park wakes up this thread
+            this.consumers.offer(thread);
+            element = this.queue.poll();
+
+            if (element == null)
+            {
+                if (nanoseconds < 0)
+                {
+                    LockSupport.park(this);
+                }
+                else
+                {
+                    LockSupport.parkNanos(this, remaining);
+                }
+            }
+
+            if ((!this.consumers.remove(thread)) && (element != null))
+            {
+                // Woke up but not need it : give the wake up to an other consumer
+                QueueConcurrentBlocking.wakeUp(this.consumers);
+            }
+
+            if (element != null)
+            {
+                QueueConcurrentBlocking.wakeUp(this.producers);
+                return element;
+            }
+        }
+    }
+
+    /**
+     * Remove up to a given number of elements from the queue head and give them, in queue order, to a consumer.<br>
+     * Never wait <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param consumer Consumer that receive the elements
+     * @param maximum  Maximum number of elements to remove
+     * @return Number of elements given to the consumer
+     * @see jhelp.util.list.QueueConcurrent#drainTo(java.util.function.Consumer, int)
+     */
+    @Override
+    public int drainTo(final Consumer<? super TYPE> consumer, final int maximum)
+    {
+        final int count = this.queue.drainTo(consumer, maximum);
+
+        for (int index = 0; (index < count) && (!this.producers.isEmpty()); index++)
+        {
+            QueueConcurrentBlocking.wakeUp(this.producers);
+        }
+
+        return count;
+    }
+
+    /**
+     * Indicates if the queue is empty <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return {@code true} if the queue is empty
+     * @see jhelp.util.list.QueueConcurrent#isEmpty()
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return this.queue.isEmpty();
+    }
+
+    /**
+     * Add an element at the end of the queue.<br>
+     * Never wait <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param element Element to add
+     * @return {@code true} if element added. {@code false} if the queue is full
+     * @see jhelp.util.list.QueueConcurrent#offer(java.lang.Object)
+     */
+    @Override
+    public boolean offer(final TYPE element)
+    {
+        if (this.queue.offer(element))
+        {
+            QueueConcurrentBlocking.wakeUp(this.consumers);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Add an element at the end of the queue, waiting for a free place at most the given time
+     *
+     * @param element             Element to add
+     * @param timeoutMilliseconds Maximum waiting time in milliseconds
+     * @return {@code true} if element added. {@code false} if the queue still full after the time
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public boolean offer(final TYPE element, final long timeoutMilliseconds) throws InterruptedException
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        return this.offerWaiting(element, TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMilliseconds)));
+    }
+
+    /**
+     * Look the queue head without remove it.<br>
+     * Never wait <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Queue head or {@code null} if queue is empty
+     * @see jhelp.util.list.QueueConcurrent#peek()
+     */
+    @Override
+    public TYPE peek()
+    {
+        return this.queue.peek();
+    }
+
+    /**
+     * Remove and return the queue head.<br>
+     * Never wait <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Queue head or {@code null} if queue is empty
+     * @see jhelp.util.list.QueueConcurrent#poll()
+     */
+    @Override
+    public TYPE poll()
+    {
+        final TYPE element = this.queue.poll();
+
+        if (element != null)
+        {
+            QueueConcurrentBlocking.wakeUp(this.producers);
+        }
+
+        return element;
+    }
+
+    /**
+     * Remove and return the queue head, waiting for an element at most the given time
+     *
+     * @param timeoutMilliseconds Maximum waiting time in milliseconds
+     * @return Queue head or {@code null} if the queue still empty after the time
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public TYPE poll(final long timeoutMilliseconds) throws InterruptedException
+    {
+        return this.pollWaiting(TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMilliseconds)));
+    }
+
+    /**
+     * Add an element at the end of the queue, waiting for a free place as long as need
+     *
+     * @param element Element to add
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public void put(final TYPE element) throws InterruptedException
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        this.offerWaiting(element, -1);
+    }
+
+    /**
+     * Number of elements in the queue <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Number of elements in the queue
+     * @see jhelp.util.list.QueueConcurrent#size()
+     */
+    @Override
+    public int size()
+    {
+        return this.queue.size();
+    }
+
+    /**
+     * Remove and return the queue head, waiting for an element as long as need
+     *
+     * @return Queue head
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public TYPE take() throws InterruptedException
+    {
+        return this.pollWaiting(-1);
+    }
+
+    /**
+     * String representation <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return String representation
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "QueueConcurrentBlocking[" + this.queue + "]";
+    }
+}
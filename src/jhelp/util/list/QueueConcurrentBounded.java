@@ -0,0 +1,425 @@
+package jhelp.util.list;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue, any number of threads can add and remove in same time without lock.<br>
+ * Elements are stored in a ring of fixed capacity, each place have a sequence number that says if the place is free
+ * for the producer of a given turn or filled for the consumer of a given turn (D. Vyukov's bounded MPMC queue). A
+ * producer or a consumer only do one compare and set on a shared counter, and no object is allocated per element.<br>
+ * Head and tail counters are padded so producers and consumers not invalidate each other cache line.<br>
+ * {@link #offer(Object)} returns {@code false} if the queue is full, wrap it in {@link QueueConcurrentBlocking} to
+ * wait for a free place
+ *
+ * @param <TYPE> Element type
+ * @author JHelp
+ */
+public final class QueueConcurrentBounded<TYPE>
+        implements QueueConcurrent<TYPE>
+{
+    /**
+     * Counter alone in its cache line
+     *
+     * @author JHelp
+     */
+    static final class PaddedCounter
+            extends AtomicLong
+    {
+        /**
+         * Serial version UID
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * Padding
+         */
+        volatile long p1, p2, p3, p4, p5, p6, p7;
+
+        /**
+         * Create a new instance of PaddedCounter
+         */
+        PaddedCounter()
+        {
+        }
+
+        /**
+         * Read the padding, so it is not considered as unused
+         *
+         * @return Padding sum
+         */
+        long padding()
+        {
+            return this.p1 + this.p2 + this.p3 + this.p4 + this.p5 + this.p6 + this.p7;
+        }
+    }
+
+    /**
+     * Maximum capacity
+     */
+    public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Stored elements
+     */
+    private final Object[]        buffer;
+    /**
+     * Ring capacity (Power of 2)
+     */
+    private final int             capacity;
+    /**
+     * Next position to read
+     */
+    private final PaddedCounter   head;
+    /**
+     * Mask to convert a position to an index in the ring
+     */
+    private final int             mask;
+    /**
+     * Sequence number of each place.<br>
+     * Equals to position : place free for the producer of this position.<br>
+     * Equals to position + 1 : place filled for the consumer of this position
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * Next position to write
+     */
+    private final PaddedCounter   tail;
+
+    /**
+     * Create a new instance of QueueConcurrentBounded.<br>
+     * The capacity is rounded to next power of 2
+     *
+     * @param capacity Minimum number of elements the queue can carry
+     */
+    public QueueConcurrentBounded(final int capacity)
+    {
+        if ((capacity <= 0) || (capacity > QueueConcurrentBounded.MAXIMUM_CAPACITY))
+        {
+            throw new IllegalArgumentException(
+                    "capacity must be in [1, " + QueueConcurrentBounded.MAXIMUM_CAPACITY + "] not " + capacity);
+        }
+
+        this.capacity = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.mask = this.capacity - 1;
+        this.buffer = new Object[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        this.head = new PaddedCounter();
+        this.tail = new PaddedCounter();
+
+        for (int index = 0; index < this.capacity; index++)
+        {
+            this.sequences.lazySet(index, index);
+        }
+    }
+
+    /**
+     * Free a place read by consumer for the producer of next turn
+     *
+     * @param position Place position
+     */
+    private void release(final long position)
+    {
+        final int index = (int) (position & this.mask);
+        this.buffer[index] = null;
+        this.sequences.lazySet(index, position + this.capacity);
+    }
+
+    /**
+     * Remove up to a given number of elements from the queue head and give them, in queue order, to a consumer.<br>
+     * All the available elements are claimed with one compare and set.<br>
+     * If the consumer throws an exception, the claimed elements not given yet are lost <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param consumer Consumer that receive the elements
+     * @param maximum  Maximum number of elements to remove
+     * @return Number of elements given to the consumer
+     * @see jhelp.util.list.QueueConcurrent#drainTo(java.util.function.Consumer, int)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public int drainTo(final Consumer<? super TYPE> consumer, final int maximum)
+    {
+        if (consumer == null)
+        {
+            throw new NullPointerException("consumer MUST NOT be null");
+        }
+
+        if (maximum <= 0)
+        {
+            return 0;
+        }
+
+        final int limit    = Math.min(maximum, this.capacity);
+        long      position = this.head.get();
+        int       count;
+        long      difference;
+
+        while (true)
+        {
+            count = 0;
+
+            while ((count < limit) &&
+                   (this.sequences.get((int) ((position + count) & this.mask)) == position + count + 1))
+            {
+                count++;
+            }
+
+            if (count == 0)
+            {
+                difference = this.sequences.get((int) (position & this.mask)) - (position + 1);
+
+                if (difference < 0)
+                {
+                    // Empty
+                    return 0;
+                }
+
+                // An other consumer took the head
+                position = this.head.get();
+                continue;
+            }
+
+            if (this.head.compareAndSet(position, position + count))
+            {
+                break;
+            }
+
+            position = this.head.get();
+        }
+
+        final long end     = position + count;
+        long       current = position;
+        TYPE       element;
+
+        try
+        {
+            while (current < end)
+            {
+                element = (TYPE) this.buffer[(int) (current & this.mask)];
+                this.release(current);
+                current++;
+                consumer.accept(element);
+            }
+        }
+        finally
+        {
+            // The consumer failed : free the claimed places to keep the queue usable
+            while (current < end)
+            {
+                this.release(current);
+                current++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Number of elements the queue can carry
+     *
+     * @return Number of elements the queue can carry
+     */
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    /**
+     * Indicates if the queue is empty <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return {@code true} if the queue is empty
+     * @see jhelp.util.list.QueueConcurrent#isEmpty()
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    /**
+     * Add an element at the end of the queue <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param element Element to add
+     * @return {@code true} if element added. {@code false} if the queue is full
+     * @see jhelp.util.list.QueueConcurrent#offer(java.lang.Object)
+     */
+    @Override
+    public boolean offer(final TYPE element)
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        long position = this.tail.get();
+        int  index;
+        long difference;
+
+        while (true)
+        {
+            index = (int) (position & this.mask);
+            difference = this.sequences.get(index) - position;
+
+            if (difference == 0)
+            {
+                if (this.tail.compareAndSet(position, position + 1))
+                {
+                    this.buffer[index] = element;
+                    // Publish the element to the consumer of this position
+                    this.sequences.lazySet(index, position + 1);
+                    return true;
+                }
+
+                position = this.tail.get();
+            }
+            else if (difference < 0)
+            {
+                // The place is still used by the previous turn : full
+                return false;
+            }
+            else
+            {
+                // An other producer took the place
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Look the queue head without remove it <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Queue head or {@code null} if queue is empty
+     * @see jhelp.util.list.QueueConcurrent#peek()
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public TYPE peek()
+    {
+        long   position;
+        int    index;
+        Object element;
+
+        while (true)
+        {
+            position = this.head.get();
+            index = (int) (position & this.mask);
+
+            if (this.sequences.get(index) != position + 1)
+            {
+                if (this.head.get() == position)
+                {
+                    return null;
+                }
+
+                continue;
+            }
+
+            element = this.buffer[index];
+
+            // Valid only if no consumer took it meanwhile
+            if ((element != null) && (this.head.get() == position))
+            {
+                return (TYPE) element;
+            }
+        }
+    }
+
+    /**
+     * Remove and return the queue head <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Queue head or {@code null} if queue is empty
+     * @see jhelp.util.list.QueueConcurrent#poll()
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public TYPE poll()
+    {
+        long position = this.head.get();
+        int  index;
+        long difference;
+        TYPE element;
+
+        while (true)
+        {
+            index = (int) (position & this.mask);
+            difference = this.sequences.get(index) - (position + 1);
+
+            if (difference == 0)
+            {
+                if (this.head.compareAndSet(position, position + 1))
+                {
+                    element = (TYPE) this.buffer[index];
+                    this.release(position);
+                    return element;
+                }
+
+                position = this.head.get();
+            }
+            else if (difference < 0)
+            {
+                // The place is not filled yet : empty
+                return null;
+            }
+            else
+            {
+                // An other consumer took the place
+                position = this.head.get();
+            }
+        }
+    }
+
+    /**
+     * Number of elements in the queue <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Number of elements in the queue
+     * @see jhelp.util.list.QueueConcurrent#size()
+     */
+    @Override
+    public int size()
+    {
+        long head;
+        long tail;
+
+        do
+        {
+            head = this.head.get();
+            tail = this.tail.get();
+        }
+        while (head != this.head.get());
+
+        return (int) Math.max(0, Math.min(this.capacity, tail - head));
+    }
+
+    /**
+     * String representation <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return String representation
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "QueueConcurrentBounded[" + this.size() + "/" + this.capacity + "]";
+    }
+}
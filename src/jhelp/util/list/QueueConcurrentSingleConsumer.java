@@ -0,0 +1,258 @@
+package jhelp.util.list;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Unbounded queue, any number of threads can add in same time without lock, but only one thread at a time can remove
+ * ({@link #poll()}, {@link #peek()}, {@link #drainTo(Consumer, int)}).<br>
+ * Made for actors : several producers send messages to one consumer thread.<br>
+ * A producer only do one atomic exchange, the consumer never do atomic operation (D. Vyukov's non intrusive MPSC
+ * queue). One link is allocated per element.<br>
+ * {@link #size()} walk the queue in O(n), it is made for monitoring
+ *
+ * @param <TYPE> Element type
+ * @author JHelp
+ */
+public final class QueueConcurrentSingleConsumer<TYPE>
+        implements QueueConcurrent<TYPE>
+{
+    /**
+     * Link between two elements
+     *
+     * @param <ELEMENT> Element type
+     * @author JHelp
+     */
+    static final class Link<ELEMENT>
+    {
+        /**
+         * Element carry ({@code null} for the head link)
+         */
+        ELEMENT                element;
+        /**
+         * Next link
+         */
+        volatile Link<ELEMENT> next;
+
+        /**
+         * Create a new instance of Link
+         *
+         * @param element Element carry
+         */
+        Link(final ELEMENT element)
+        {
+            this.element = element;
+        }
+    }
+
+    /**
+     * Head link, its element is already consumed. Only the consumer change it
+     */
+    private volatile Link<TYPE>                  head;
+    /**
+     * Last added link
+     */
+    private final    AtomicReference<Link<TYPE>> tail;
+
+    /**
+     * Create a new instance of empty QueueConcurrentSingleConsumer
+     */
+    public QueueConcurrentSingleConsumer()
+    {
+        this.head = new Link<TYPE>(null);
+        this.tail = new AtomicReference<Link<TYPE>>(this.head);
+    }
+
+    /**
+     * Next link to consume.<br>
+     * A producer may have took the tail but not linked it yet, in that case wait the link
+     *
+     * @param head Current head
+     * @return Next link or {@code null} if queue is empty
+     */
+    private Link<TYPE> nextLink(final Link<TYPE> head)
+    {
+        Link<TYPE> next = head.next;
+
+        if ((next == null) && (head != this.tail.get()))
+        {
+            do
+            {
+                Thread.yield();
+                next = head.next;
+            }
+            while (next == null);
+        }
+
+        return next;
+    }
+
+    /**
+     * Remove up to a given number of elements from the queue head and give them, in queue order, to a consumer <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param consumer Consumer that receive the elements
+     * @param maximum  Maximum number of elements to remove
+     * @return Number of elements given to the consumer
+     * @see jhelp.util.list.QueueConcurrent#drainTo(java.util.function.Consumer, int)
+     */
+    @Override
+    public int drainTo(final Consumer<? super TYPE> consumer, final int maximum)
+    {
+        if (consumer == null)
+        {
+            throw new NullPointerException("consumer MUST NOT be null");
+        }
+
+        int        count = 0;
+        Link<TYPE> next;
+        TYPE       element;
+
+        while (count < maximum)
+        {
+            next = this.nextLink(this.head);
+
+            if (next == null)
+            {
+                break;
+            }
+
+            element = next.element;
+            next.element = null;
+            this.head = next;
+            count++;
+            consumer.accept(element);
+        }
+
+        return count;
+    }
+
+    /**
+     * Indicates if the queue is empty <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return {@code true} if the queue is empty
+     * @see jhelp.util.list.QueueConcurrent#isEmpty()
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return this.head == this.tail.get();
+    }
+
+    /**
+     * Add an element at the end of the queue.<br>
+     * Always succeed since the queue is unbounded <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @param element Element to add
+     * @return {@code true}
+     * @see jhelp.util.list.QueueConcurrent#offer(java.lang.Object)
+     */
+    @Override
+    public boolean offer(final TYPE element)
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        final Link<TYPE> link = new Link<TYPE>(element);
+        // Between the exchange and the link, the consumer waits in nextLink
+        this.tail.getAndSet(link).next = link;
+        return true;
+    }
+
+    /**
+     * Look the queue head without remove it <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Queue head or {@code null} if queue is empty
+     * @see jhelp.util.list.QueueConcurrent#peek()
+     */
+    @Override
+    public TYPE peek()
+    {
+        final Link<TYPE> next = this.nextLink(this.head);
+
+        if (next == null)
+        {
+            return null;
+        }
+
+        return next.element;
+    }
+
+    /**
+     * Remove and return the queue head <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Queue head or {@code null} if queue is empty
+     * @see jhelp.util.list.QueueConcurrent#poll()
+     */
+    @Override
+    public TYPE poll()
+    {
+        final Link<TYPE> next = this.nextLink(this.head);
+
+        if (next == null)
+        {
+            return null;
+        }
+
+        final TYPE element = next.element;
+        next.element = null;
+        this.head = next;
+        return element;
+    }
+
+    /**
+     * Number of elements in the queue.<br>
+     * It walks the queue in O(n) <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Number of elements in the queue
+     * @see jhelp.util.list.QueueConcurrent#size()
+     */
+    @Override
+    public int size()
+    {
+        int        size = 0;
+        Link<TYPE> link = this.head.next;
+
+        while ((link != null) && (size < Integer.MAX_VALUE))
+        {
+            size++;
+            link = link.next;
+        }
+
+        return size;
+    }
+
+    /**
+     * String representation <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return String representation
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "QueueConcurrentSingleConsumer[" + this.size() + "]";
+    }
+}
@@ -7,11 +7,6 @@
  */
 package jhelp.util.list;
 
-import java.util.Comparator;
-import java.util.PriorityQueue;
-
-import jhelp.util.text.UtilText;
-
 /**
  * Queue with priority<br>
  * You decide the priority just at the moment of add, the information of priority not link to the element instance, so
@@ -19,6 +14,13 @@ import jhelp.util.text.UtilText;
  * add the same instance two times with a different priority<br>
  * You needn't that element is {@link Comparable}<br>
  * <br>
+ * The queue is an indexed 4-ary heap : priorities and elements are stored in arrays, no object is created by add or
+ * remove. {@link #enqueue(int, Object)} returns a handle that identify the element while it is inside the queue, with
+ * it the priority can be changed with {@link #changePriority(long, int)} or the element removed with
+ * {@link #remove(long)} in O(LN(n)).<br>
+ * A handle is a slot index stamped with the slot generation. Slots are reused, but each release changes the
+ * generation, so a handle kept after its element left the queue is refused instead of acting on an other element<br>
+ * <br>
  * Last modification : 8 mai 2010<br>
  * Version 0.0.0<br>
  *
@@ -28,9 +30,62 @@ import jhelp.util.text.UtilText;
 public class QueuePriority<T>
 {
     /**
-     * Priority queue
+     * Number of children of a node
+     */
+    private static final int  ARITY            = 4;
+    /**
+     * Mask of generation part, keep handles positive
+     */
+    private static final int  GENERATION_MASK  = 0x7FFFFFFF;
+    /**
+     * Initial capacity
      */
-    private final PriorityQueue<Element<T>> queue;
+    private static final int  INITIAL_CAPACITY = 16;
+    /**
+     * Mask of slot part of a handle
+     */
+    private static final long SLOT_MASK        = 0xFFFFFFFFL;
+
+    /**
+     * Elements, indexed by slot
+     */
+    private       Object[] elements;
+    /**
+     * Released slots, ready to reuse
+     */
+    private       int[]    freeSlots;
+    /**
+     * Number of released slots
+     */
+    private       int      freeSize;
+    /**
+     * Generation of each slot, changed each time the slot is released
+     */
+    private       int[]    generations;
+    /**
+     * Heap of slots : children of position p are at ARITY * p + 1 to ARITY * p + ARITY
+     */
+    private       int[]    heap;
+    /**
+     * Indicates if priority are take in increment order
+     */
+    private final boolean  increment;
+    /**
+     * Position in heap, indexed by slot (-1 if slot not in the queue)
+     */
+    private       int[]    positions;
+    /**
+     * Priorities, indexed by heap position, so children of a node are side by side in memory
+     */
+    private       int[]    priorities;
+    /**
+     * Queue size
+     */
+    private       int      size;
+    /**
+     * Number of slots already used at least once
+     */
+    private       int      slotsUsed;
 
     /**
      * Constructs QueuePriority
@@ -39,153 +94,482 @@ public class QueuePriority<T>
      */
     public QueuePriority(final boolean increment)
     {
-        this.queue = new PriorityQueue<Element<T>>(123, new ComparatorElement<T>(increment));
+        this.increment = increment;
+        this.elements = new Object[QueuePriority.INITIAL_CAPACITY];
+        this.freeSlots = new int[QueuePriority.INITIAL_CAPACITY];
+        this.generations = new int[QueuePriority.INITIAL_CAPACITY];
+        this.heap = new int[QueuePriority.INITIAL_CAPACITY];
+        this.positions = new int[QueuePriority.INITIAL_CAPACITY];
+        this.priorities = new int[QueuePriority.INITIAL_CAPACITY];
+        this.freeSize = 0;
+        this.slotsUsed = 0;
+        this.size = 0;
     }
 
     /**
-     * Dequeue an element from queue
+     * Indicates if a priority must go out before an other one
      *
-     * @return Element dequeued
+     * @param priority1 First priority
+     * @param priority2 Second priority
+     * @return {@code true} if first priority goes out before the second
      */
-    public T dequeue()
+    private boolean before(final int priority1, final int priority2)
     {
-        final Element<T> element = this.queue.poll();
-        if (element == null)
+        if (this.increment)
         {
-            return null;
+            return priority1 < priority2;
         }
 
-        return element.element;
+        return priority1 > priority2;
     }
 
     /**
-     * Enqueue an element
+     * Check that a handle is inside the queue
      *
-     * @param priority Priority
-     * @param element  Element
+     * @param handle Handle to check
+     * @return Handle slot
      */
-    public void enqueue(final int priority, final T element)
+    private int checkHandle(final long handle)
     {
-        if (element == null)
+        if (!this.contains(handle))
         {
-            throw new NullPointerException("element MUST NOT be null");
+            throw new IllegalArgumentException("handle " + handle + " is not inside the queue");
         }
 
-        this.queue.add(new Element<T>(priority, element));
+        return (int) (handle & QueuePriority.SLOT_MASK);
     }
 
     /**
-     * Indicates if queue is empty
+     * Ensure enough space for add elements
      *
-     * @return {@code true} if queue is empty
+     * @param needed Number of elements to add
      */
-    public boolean isEmpty()
+    private void ensureCapacity(final int needed)
     {
-        return this.queue.isEmpty();
+        final int length = this.heap.length;
+
+        if (this.size + needed <= length)
+        {
+            return;
+        }
+
+        final int newLength = PrimitiveCollections.grow(length, this.size + needed);
+
+        final Object[] elements = new Object[newLength];
+        System.arraycopy(this.elements, 0, elements, 0, length);
+        this.elements = elements;
+
+        final int[] freeSlots = new int[newLength];
+        System.arraycopy(this.freeSlots, 0, freeSlots, 0, this.freeSize);
+        this.freeSlots = freeSlots;
+
+        final int[] generations = new int[newLength];
+        System.arraycopy(this.generations, 0, generations, 0, length);
+        this.generations = generations;
+
+        final int[] heap = new int[newLength];
+        System.arraycopy(this.heap, 0, heap, 0, this.size);
+        this.heap = heap;
+
+        final int[] positions = new int[newLength];
+        System.arraycopy(this.positions, 0, positions, 0, length);
+        this.positions = positions;
+
+        final int[] priorities = new int[newLength];
+        System.arraycopy(this.priorities, 0, priorities, 0, this.size);
+        this.priorities = priorities;
     }
 
     /**
-     * Queue size
+     * Put an element at the end of the heap, without restore the heap order.<br>
+     * Capacity must be already ensured
      *
-     * @return Queue size
+     * @param priority Priority
+     * @param element  Element
+     * @return Element handle
      */
-    public int size()
+    private long place(final int priority, final T element)
     {
-        return this.queue.size();
+        final int slot;
+
+        if (this.freeSize > 0)
+        {
+            this.freeSize--;
+            slot = this.freeSlots[this.freeSize];
+        }
+        else
+        {
+            slot = this.slotsUsed;
+            this.slotsUsed++;
+        }
+
+        this.elements[slot] = element;
+        this.priorities[this.size] = priority;
+        this.heap[this.size] = slot;
+        this.positions[slot] = this.size;
+        this.size++;
+        return ((long) this.generations[slot] << 32) | slot;
     }
 
     /**
-     * Comparator of {@link QueuePriority.Element} <br>
-     * <br>
-     * Last modification : 19 juin 2010<br>
-     * Version 0.0.0<br>
+     * Remove the element at a heap position
      *
-     * @param <T> Element type
-     * @author JHelp
+     * @param position Heap position
+     * @return Removed element
      */
-    static class ComparatorElement<T>
-            implements Comparator<Element<T>>
+    @SuppressWarnings("unchecked")
+    private T removeAt(final int position)
     {
-        /**
-         * Increment order multiplier
-         */
-        final int increment;
+        final int slot    = this.heap[position];
+        final T   element = (T) this.elements[slot];
+        this.elements[slot] = null;
+        this.positions[slot] = -1;
+        this.generations[slot] = (this.generations[slot] + 1) & QueuePriority.GENERATION_MASK;
+        this.freeSlots[this.freeSize] = slot;
+        this.freeSize++;
+        this.size--;
 
-        /**
-         * Constructs ComparatorElement
-         *
-         * @param increment Indicates if priority are take in increment order
-         */
-        ComparatorElement(final boolean increment)
+        if (position < this.size)
         {
-            if (increment)
+            // Last element fill the hole
+            final int last = this.heap[this.size];
+            this.heap[position] = last;
+            this.priorities[position] = this.priorities[this.size];
+            this.positions[last] = position;
+
+            if ((position > 0) &&
+                (this.before(this.priorities[position], this.priorities[(position - 1) / QueuePriority.ARITY])))
             {
-                this.increment = 1;
+                this.siftUp(position);
             }
             else
             {
-                this.increment = -1;
+                this.siftDown(position);
             }
         }
 
-        /**
-         * Compare two elements
-         *
-         * @param o1 First element
-         * @param o2 Second element
-         * @return Compare result
-         * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
-         */
-        @Override
-        public int compare(final Element<T> o1, final Element<T> o2)
+        return element;
+    }
+
+    /**
+     * Move down the element at a heap position until its children go out after it
+     *
+     * @param start Heap position
+     */
+    private void siftDown(final int start)
+    {
+        final int slot     = this.heap[start];
+        final int priority = this.priorities[start];
+        int       position = start;
+        int       child;
+        int       last;
+        int       best;
+
+        while (true)
+        {
+            child = (position * QueuePriority.ARITY) + 1;
+
+            if (child >= this.size)
+            {
+                break;
+            }
+
+            last = Math.min(child + QueuePriority.ARITY, this.size);
+            best = child;
+
+            for (child++; child < last; child++)
+            {
+                if (this.before(this.priorities[child], this.priorities[best]))
+                {
+                    best = child;
+                }
+            }
+
+            if (!this.before(this.priorities[best], priority))
+            {
+                break;
+            }
+
+            this.heap[position] = this.heap[best];
+            this.priorities[position] = this.priorities[best];
+            this.positions[this.heap[position]] = position;
+            position = best;
+        }
+
+        this.heap[position] = slot;
+        this.priorities[position] = priority;
+        this.positions[slot] = position;
+    }
+
+    /**
+     * Move up the element at a heap position until its parent go out before it
+     *
+     * @param start Heap position
+     */
+    private void siftUp(final int start)
+    {
+        final int slot     = this.heap[start];
+        final int priority = this.priorities[start];
+        int       position = start;
+        int       parent;
+
+        while (position > 0)
+        {
+            parent = (position - 1) / QueuePriority.ARITY;
+
+            if (!this.before(priority, this.priorities[parent]))
+            {
+                break;
+            }
+
+            this.heap[position] = this.heap[parent];
+            this.priorities[position] = this.priorities[parent];
+            this.positions[this.heap[position]] = position;
+            position = parent;
+        }
+
+        this.heap[position] = slot;
+        this.priorities[position] = priority;
+        this.positions[slot] = position;
+    }
+
+    /**
+     * Change the priority of an element inside the queue.<br>
+     * It is in O(LN(n))
+     *
+     * @param handle   Element handle, as given by {@link #enqueue(int, Object)}
+     * @param priority New priority
+     * @throws IllegalArgumentException If the handle is not inside the queue
+     */
+    public void changePriority(final long handle, final int priority)
+    {
+        final int position = this.positions[this.checkHandle(handle)];
+        final int old      = this.priorities[position];
+        this.priorities[position] = priority;
+
+        if (this.before(priority, old))
+        {
+            this.siftUp(position);
+        }
+        else if (this.before(old, priority))
+        {
+            this.siftDown(position);
+        }
+    }
+
+    /**
+     * Remove all elements, all handles become invalid
+     */
+    public void clear()
+    {
+        int slot;
+
+        for (int position = 0; position < this.size; position++)
+        {
+            slot = this.heap[position];
+            this.elements[slot] = null;
+            this.positions[slot] = -1;
+            this.generations[slot] = (this.generations[slot] + 1) & QueuePriority.GENERATION_MASK;
+        }
+
+        // Free slots already have a new generation, so reuse from start is safe
+        this.freeSize = 0;
+        this.slotsUsed = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Indicates if a handle is inside the queue
+     *
+     * @param handle Handle to test
+     * @return {@code true} if the handle is inside the queue
+     */
+    public boolean contains(final long handle)
+    {
+        final long slot = handle & QueuePriority.SLOT_MASK;
+        return (handle >= 0) && (slot < this.slotsUsed) && (this.positions[(int) slot] >= 0) &&
+               (this.generations[(int) slot] == (int) (handle >>> 32));
+    }
+
+    /**
+     * Dequeue an element from queue
+     *
+     * @return Element dequeued
+     */
+    public T dequeue()
+    {
+        if (this.size == 0)
         {
-            return this.increment * (o1.priority - o2.priority);
+            return null;
         }
+
+        return this.removeAt(0);
     }
 
     /**
-     * Element of the queue <br>
-     * <br>
-     * Last modification : 19 juin 2010<br>
-     * Version 0.0.0<br>
+     * Enqueue an element.<br>
+     * It is in O(LN(n))
      *
-     * @param <T> Element type
-     * @author JHelp
+     * @param priority Priority
+     * @param element  Element
+     * @return Element handle, valid until the element leaves the queue
      */
-    static class Element<T>
+    public long enqueue(final int priority, final T element)
     {
-        /**
-         * Element itself
-         */
-        final T   element;
-        /**
-         * Priority link to the element
-         */
-        final int priority;
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        this.ensureCapacity(1);
+        final long handle = this.place(priority, element);
+        this.siftUp(this.size - 1);
+        return handle;
+    }
+
+    /**
+     * Enqueue several elements.<br>
+     * If the batch is at least as big as the queue, the heap is rebuilt in one pass in O(n), else elements are
+     * enqueued one by one
+     *
+     * @param priorities Elements priorities
+     * @param elements   Elements to add
+     * @param handles    Filled with elements handles, in same order as elements. May be {@code null} if handles
+     *                   not need
+     */
+    public void enqueueAll(final int[] priorities, final T[] elements, final long[] handles)
+    {
+        if (priorities == null)
+        {
+            throw new NullPointerException("priorities MUST NOT be null");
+        }
+
+        if (elements == null)
+        {
+            throw new NullPointerException("elements MUST NOT be null");
+        }
+
+        final int count = elements.length;
+
+        if (priorities.length != count)
+        {
+            throw new IllegalArgumentException(
+                    "priorities and elements must have same length, not " + priorities.length + " and " + count);
+        }
+
+        if ((handles != null) && (handles.length < count))
+        {
+            throw new IllegalArgumentException("handles length must be at least " + count + " not " + handles.length);
+        }
+
+        for (int index = 0; index < count; index++)
+        {
+            if (elements[index] == null)
+            {
+                throw new NullPointerException("elements[" + index + "] MUST NOT be null");
+            }
+        }
+
+        this.ensureCapacity(count);
+        final boolean rebuild = count >= this.size;
+        long          handle;
+
+        for (int index = 0; index < count; index++)
+        {
+            handle = this.place(priorities[index], elements[index]);
+
+            if (handles != null)
+            {
+                handles[index] = handle;
+            }
+
+            if (!rebuild)
+            {
+                this.siftUp(this.size - 1);
+            }
+        }
 
-        /**
-         * Constructs Element
-         *
-         * @param priority Priority link to the element
-         * @param element  Element itself
-         */
-        Element(final int priority, final T element)
+        if (rebuild)
         {
-            this.priority = priority;
-            this.element = element;
+            for (int position = (this.size - 2) / QueuePriority.ARITY; position >= 0; position--)
+            {
+                this.siftDown(position);
+            }
         }
+    }
+
+    /**
+     * Element of a handle
+     *
+     * @param handle Element handle
+     * @return The element
+     * @throws IllegalArgumentException If the handle is not inside the queue
+     */
+    @SuppressWarnings("unchecked")
+    public T getElement(final long handle)
+    {
+        return (T) this.elements[this.checkHandle(handle)];
+    }
 
-        /**
-         * String representation
-         *
-         * @return String representation
-         * @see java.lang.Object#toString()
-         */
-        @Override
-        public String toString()
+    /**
+     * Priority of a handle
+     *
+     * @param handle Element handle
+     * @return The priority
+     * @throws IllegalArgumentException If the handle is not inside the queue
+     */
+    public int getPriority(final long handle)
+    {
+        return this.priorities[this.positions[this.checkHandle(handle)]];
+    }
+
+    /**
+     * Indicates if queue is empty
+     *
+     * @return {@code true} if queue is empty
+     */
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    /**
+     * Handle of the next element to dequeue
+     *
+     * @return Handle of the next element to dequeue or -1 if queue is empty
+     */
+    public long peekHandle()
+    {
+        if (this.size == 0)
         {
-            return UtilText.concatenate('[', this.priority, "] : ", this.element);
+            return -1;
         }
+
+        final int slot = this.heap[0];
+        return ((long) this.generations[slot] << 32) | slot;
+    }
+
+    /**
+     * Remove an element from the queue.<br>
+     * It is in O(LN(n))
+     *
+     * @param handle Element handle
+     * @return Removed element
+     * @throws IllegalArgumentException If the handle is not inside the queue
+     */
+    public T remove(final long handle)
+    {
+        return this.removeAt(this.positions[this.checkHandle(handle)]);
+    }
+
+    /**
+     * Queue size
+     *
+     * @return Queue size
+     */
+    public int size()
+    {
+        return this.size;
     }
 
     /**
@@ -197,6 +581,22 @@ public class QueuePriority<T>
     @Override
     public String toString()
     {
-        return this.queue.toString();
+        final StringBuilder stringBuilder = new StringBuilder("[");
+
+        for (int position = 0; position < this.size; position++)
+        {
+            if (position > 0)
+            {
+                stringBuilder.append(", ");
+            }
+
+            stringBuilder.append('[');
+            stringBuilder.append(this.priorities[position]);
+            stringBuilder.append("] : ");
+            stringBuilder.append(this.elements[this.heap[position]]);
+        }
+
+        stringBuilder.append(']');
+        return stringBuilder.toString();
     }
 }
\ No newline at end of file
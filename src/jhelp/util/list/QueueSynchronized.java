@@ -9,6 +9,8 @@ package jhelp.util.list;
 
 /**
  * A queue <br>
+ * Every operation takes the queue monitor, when several threads add or remove in same time prefer
+ * {@link QueueConcurrentBounded}, {@link QueueConcurrentSingleConsumer} or {@link QueueConcurrentBlocking}<br>
  * <br>
  * Last modification : 25 janv. 2009<br>
  * Version 0.0.1<br>
@@ -11,7 +11,9 @@ import jhelp.util.reflection.Reflector;
  * The sort is "natural order" (Only possible for {@link Comparable} elements) or as indicates by a {@link Comparator}.<br>
  * The sort can be unique, that is to say if try to add an element and exists an other inside array that compare equals, in
  * unique mode, the element is not add.<br>
- * The adding, remove are in O(n * LN(n)). The search is in O(LN(n)).
+ * The adding, remove are in O(n * LN(n)). The search is in O(LN(n)).<br>
+ * For big collections that change often, use {@link SortedTree} (Or {@link ConcurrentSortedList} if several threads
+ * modify it)
  *
  * @param <TYPE> Type of stored elements
  * @author JHelp
@@ -587,10 +589,9 @@ public final class SortedArray<TYPE>
     {
         if ((this.size + more) >= this.array.length)
         {
-            int newSize = this.size + more;
-            newSize += (newSize / 10) + 1;
+            final int newSize = PrimitiveCollections.grow(this.array.length, this.size + more);
 
-            final TYPE[] temp = (TYPE[]) Array.newInstance(this.typeClass, Math.max(128, newSize));
+            final TYPE[] temp = (TYPE[]) Array.newInstance(this.typeClass, newSize);
             System.arraycopy(this.array, 0, temp, 0, this.size);
 
             this.array = temp;
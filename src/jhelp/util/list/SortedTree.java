@@ -0,0 +1,1259 @@
+package jhelp.util.list;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import jhelp.util.reflection.Reflector;
+
+/**
+ * Sorted elements stored in a B+tree.<br>
+ * Same usage as {@link SortedArray}, but made for big collections that change often: add and remove are in O(LN(n))
+ * instead of moving the end of the array.<br>
+ * Elements are in leaves of {@link #CAPACITY} elements linked together, so iteration reads contiguous memory. Inner
+ * nodes remember the number of elements of each child, so {@link #getElement(int)} and {@link #indexOf(Object)} are in
+ * O(LN(n)) too.<br>
+ * {@link #addAll(Object[])} sort the batch, merge it with actual elements and rebuild the tree in O(n), faster than
+ * adding elements one by one.<br>
+ * The sort is "natural order" (Only possible for {@link Comparable} elements) or as indicates by a {@link Comparator}.
+ * In unique mode, an element that compare equals to one already inside is not added.<br>
+ * Not thread safe, see {@link ConcurrentSortedList} for multi-writer usage
+ *
+ * @param <TYPE> Type of stored elements
+ * @author JHelp
+ */
+public final class SortedTree<TYPE>
+        implements Iterable<TYPE>
+{
+    /**
+     * Inner node : children and their number of elements
+     *
+     * @author JHelp
+     */
+    static final class Inner
+            extends Node
+    {
+        /**
+         * Children
+         */
+        final Node[]   children;
+        /**
+         * Number of elements of each child
+         */
+        final int[]    counts;
+        /**
+         * Separators : keys[i] is lower or equals to elements of children[i+1] and upper or equals to elements of
+         * children[i]
+         */
+        final Object[] keys;
+
+        /**
+         * Create a new instance of Inner
+         */
+        Inner()
+        {
+            this.children = new Node[SortedTree.CAPACITY];
+            this.counts = new int[SortedTree.CAPACITY];
+            this.keys = new Object[SortedTree.CAPACITY - 1];
+        }
+
+        /**
+         * Insert a child (The node must not be full)
+         *
+         * @param position Child position
+         * @param key      Separator before the child (Ignored if position is 0)
+         * @param child    Child to insert
+         */
+        void insertChild(final int position, final Object key, final Node child)
+        {
+            System.arraycopy(this.children, position, this.children, position + 1, this.length - position);
+            System.arraycopy(this.counts, position, this.counts, position + 1, this.length - position);
+
+            if (position > 0)
+            {
+                System.arraycopy(this.keys, position - 1, this.keys, position, this.length - position);
+                this.keys[position - 1] = key;
+            }
+
+            this.children[position] = child;
+            this.counts[position] = child.count;
+            this.count += child.count;
+            this.length++;
+        }
+
+        /**
+         * Remove a child and its separator
+         *
+         * @param position Child position
+         */
+        void removeChild(final int position)
+        {
+            this.count -= this.counts[position];
+            this.length--;
+            System.arraycopy(this.children, position + 1, this.children, position, this.length - position);
+            System.arraycopy(this.counts, position + 1, this.counts, position, this.length - position);
+            this.children[this.length] = null;
+
+            if (this.length > 0)
+            {
+                final int key = Math.max(0, position - 1);
+                System.arraycopy(this.keys, key + 1, this.keys, key, this.length - 1 - key);
+                this.keys[this.length - 1] = null;
+            }
+            else
+            {
+                this.keys[0] = null;
+            }
+        }
+    }
+
+    /**
+     * Leaf : sorted elements, linked to its neighbors
+     *
+     * @author JHelp
+     */
+    static final class Leaf
+            extends Node
+    {
+        /**
+         * Elements
+         */
+        final Object[] elements;
+        /**
+         * Next leaf
+         */
+        Leaf           next;
+        /**
+         * Previous leaf
+         */
+        Leaf           previous;
+
+        /**
+         * Create a new instance of Leaf
+         */
+        Leaf()
+        {
+            this.elements = new Object[SortedTree.CAPACITY];
+        }
+    }
+
+    /**
+     * Tree node
+     *
+     * @author JHelp
+     */
+    abstract static class Node
+    {
+        /**
+         * Number of elements in the node and its children
+         */
+        int count;
+        /**
+         * Number of elements (For leaf) or children (For inner)
+         */
+        int length;
+    }
+
+    /**
+     * Iterator that walk through leaves
+     *
+     * @author JHelp
+     */
+    final class TreeIterator
+            implements Iterator<TYPE>
+    {
+        /**
+         * Current leaf
+         */
+        private Leaf leaf;
+        /**
+         * Index of next element in current leaf
+         */
+        private int  index;
+
+        /**
+         * Create a new instance of TreeIterator
+         */
+        TreeIterator()
+        {
+            this.leaf = SortedTree.this.first;
+            this.index = 0;
+        }
+
+        /**
+         * Indicates if remain elements <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return {@code true} if remain elements
+         * @see java.util.Iterator#hasNext()
+         */
+        @Override
+        public boolean hasNext()
+        {
+            while ((this.leaf != null) && (this.index >= this.leaf.length))
+            {
+                this.leaf = this.leaf.next;
+                this.index = 0;
+            }
+
+            return this.leaf != null;
+        }
+
+        /**
+         * Next element <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return Next element
+         * @see java.util.Iterator#next()
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public TYPE next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException("No more elements");
+            }
+
+            return (TYPE) this.leaf.elements[this.index++];
+        }
+
+        /**
+         * Not supported, use {@link SortedTree#remove(Object)} <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @see java.util.Iterator#remove()
+         */
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Use SortedTree.remove");
+        }
+    }
+
+    /**
+     * Maximum number of elements in a leaf and children in an inner node
+     */
+    static final  int         CAPACITY = 64;
+    /**
+     * Number of elements in a leaf (Or children in an inner node) when tree is build from sorted elements. Room is let
+     * for next adds
+     */
+    static final  int         FILL     = (SortedTree.CAPACITY * 3) / 4;
+    /**
+     * Comparator to use
+     */
+    @SuppressWarnings("rawtypes")
+    private final Comparator  comparator;
+    /**
+     * First leaf
+     */
+    private       Leaf        first;
+    /**
+     * Tree root
+     */
+    private       Node        root;
+    /**
+     * Separator of last split
+     */
+    private       Object      splitKey;
+    /**
+     * Type of element stored
+     */
+    private final Class<TYPE> typeClass;
+    /**
+     * Indicates if we are in unique mode
+     */
+    private final boolean     unique;
+
+    /**
+     * Create a new instance of SortedTree in not unique mode.<br>
+     * The type of class must be a {@link Comparable} to use the "natural order"
+     *
+     * @param typeClass Type of element to store
+     */
+    public SortedTree(final Class<TYPE> typeClass)
+    {
+        this(typeClass, null, false);
+    }
+
+    /**
+     * Create a new instance of SortedTree.<br>
+     * The type of class must be a {@link Comparable} to use the "natural order"
+     *
+     * @param typeClass Type of element to store
+     * @param unique    Indicates if use unique mode or not
+     */
+    public SortedTree(final Class<TYPE> typeClass, final boolean unique)
+    {
+        this(typeClass, null, unique);
+    }
+
+    /**
+     * Create a new instance of SortedTree in not unique mode.<br>
+     * If the comparator is {@code null}, the type of class must be a {@link Comparable} to use the "natural order"
+     *
+     * @param typeClass  Type of elements
+     * @param comparator Comparator to use
+     */
+    public SortedTree(final Class<TYPE> typeClass, final Comparator<TYPE> comparator)
+    {
+        this(typeClass, comparator, false);
+    }
+
+    /**
+     * Create a new instance of SortedTree.<br>
+     * If the comparator is {@code null}, the type of class must be a {@link Comparable} to use the "natural order"
+     *
+     * @param typeClass  Type of element
+     * @param comparator Comparator to use
+     * @param unique     Indicates if the unique mode is activated
+     */
+    public SortedTree(final Class<TYPE> typeClass, final Comparator<TYPE> comparator, final boolean unique)
+    {
+        if (typeClass == null)
+        {
+            throw new NullPointerException("typeClass MUST NOT be null");
+        }
+
+        if (comparator != null)
+        {
+            this.comparator = comparator;
+        }
+        else if (Reflector.isSubTypeOf(typeClass, Comparable.class))
+        {
+            this.comparator = new SortedArray.ComparatorNatural<TYPE>();
+        }
+        else
+        {
+            throw new IllegalArgumentException(
+                    "comparator is null and the type class " + typeClass.getName() + " is not comparable");
+        }
+
+        this.typeClass = typeClass;
+        this.unique = unique;
+        this.first = new Leaf();
+        this.root = this.first;
+    }
+
+    /**
+     * Build a tree level from nodes of level below
+     *
+     * @param nodes    Nodes of level below
+     * @param minimums Smallest element of each node
+     * @param length   Number of nodes
+     * @return Number of nodes in created level (Stored at start of given arrays)
+     */
+    private static int buildLevel(final Node[] nodes, final Object[] minimums, final int length)
+    {
+        final int parents = (length + SortedTree.FILL - 1) / SortedTree.FILL;
+        int       read    = 0;
+        Inner     inner;
+        int       number;
+
+        for (int parent = 0; parent < parents; parent++)
+        {
+            number = (length - read) / (parents - parent);
+            inner = new Inner();
+            final Object minimum = minimums[read];
+            inner.children[0] = nodes[read];
+            inner.counts[0] = nodes[read].count;
+            inner.count = nodes[read].count;
+            inner.length = 1;
+            read++;
+
+            for (int child = 1; child < number; child++, read++)
+            {
+                inner.insertChild(child, minimums[read], nodes[read]);
+            }
+
+            nodes[parent] = inner;
+            minimums[parent] = minimum;
+        }
+
+        return parents;
+    }
+
+    /**
+     * Add an element in a node.<br>
+     * If the node is split, the new right node is returned and its separator is in {@link #splitKey}
+     *
+     * @param node    Node where add
+     * @param element Element to add
+     * @return Created right node if split happen, {@code null} if no split
+     */
+    @SuppressWarnings("unchecked")
+    private Node insert(final Node node, final Object element)
+    {
+        if (node instanceof Leaf)
+        {
+            final Leaf leaf     = (Leaf) node;
+            final int  position = this.upperBound(leaf.elements, leaf.length, element);
+
+            if (leaf.length < SortedTree.CAPACITY)
+            {
+                System.arraycopy(leaf.elements, position, leaf.elements, position + 1, leaf.length - position);
+                leaf.elements[position] = element;
+                leaf.length++;
+                leaf.count++;
+                return null;
+            }
+
+            final Leaf right = new Leaf();
+            final int  half  = SortedTree.CAPACITY >> 1;
+            System.arraycopy(leaf.elements, half, right.elements, 0, SortedTree.CAPACITY - half);
+            Arrays.fill(leaf.elements, half, SortedTree.CAPACITY, null);
+            leaf.length = leaf.count = half;
+            right.length = right.count = SortedTree.CAPACITY - half;
+            right.next = leaf.next;
+            right.previous = leaf;
+
+            if (leaf.next != null)
+            {
+                leaf.next.previous = right;
+            }
+
+            leaf.next = right;
+            this.insert(position <= half ? leaf : right, element);
+            this.splitKey = right.elements[0];
+            return right;
+        }
+
+        final Inner inner = (Inner) node;
+        final int   index = this.upperBound(inner.keys, inner.length - 1, element);
+        final Node  split = this.insert(inner.children[index], element);
+        inner.counts[index]++;
+        inner.count++;
+
+        if (split == null)
+        {
+            return null;
+        }
+
+        inner.counts[index] = inner.children[index].count;
+        inner.count -= split.count;
+
+        if (inner.length < SortedTree.CAPACITY)
+        {
+            inner.insertChild(index + 1, this.splitKey, split);
+            return null;
+        }
+
+        final Object key   = this.splitKey;
+        final Inner  right = new Inner();
+        final int    half  = SortedTree.CAPACITY >> 1;
+        System.arraycopy(inner.children, half, right.children, 0, SortedTree.CAPACITY - half);
+        System.arraycopy(inner.counts, half, right.counts, 0, SortedTree.CAPACITY - half);
+        System.arraycopy(inner.keys, half, right.keys, 0, SortedTree.CAPACITY - half - 1);
+        final Object separator = inner.keys[half - 1];
+        Arrays.fill(inner.children, half, SortedTree.CAPACITY, null);
+        Arrays.fill(inner.keys, half - 1, SortedTree.CAPACITY - 1, null);
+        inner.length = half;
+        right.length = SortedTree.CAPACITY - half;
+        inner.count = 0;
+
+        for (int child = 0; child < half; child++)
+        {
+            inner.count += inner.counts[child];
+        }
+
+        for (int child = 0; child < right.length; child++)
+        {
+            right.count += right.counts[child];
+        }
+
+        if (index + 1 <= half)
+        {
+            inner.insertChild(index + 1, key, split);
+        }
+        else
+        {
+            right.insertChild(index + 1 - half, key, split);
+        }
+
+        this.splitKey = separator;
+        return right;
+    }
+
+    /**
+     * Index of first element bigger or equals to an element
+     *
+     * @param element Element search
+     * @return Index of first element bigger or equals
+     */
+    @SuppressWarnings("unchecked")
+    private int lowerBound(final Object element)
+    {
+        Node node = this.root;
+        int  rank = 0;
+        int  index;
+
+        while (node instanceof Inner)
+        {
+            final Inner inner = (Inner) node;
+            index = this.lowerBound(inner.keys, inner.length - 1, element);
+
+            for (int child = 0; child < index; child++)
+            {
+                rank += inner.counts[child];
+            }
+
+            node = inner.children[index];
+        }
+
+        final Leaf leaf = (Leaf) node;
+        return rank + this.lowerBound(leaf.elements, leaf.length, element);
+    }
+
+    /**
+     * Index of first element in sorted array bigger or equals to an element
+     *
+     * @param array   Sorted array
+     * @param length  Number of elements in array
+     * @param element Element search
+     * @return Index of first element bigger or equals
+     */
+    @SuppressWarnings("unchecked")
+    private int lowerBound(final Object[] array, final int length, final Object element)
+    {
+        int min = 0;
+        int max = length;
+        int middle;
+
+        while (min < max)
+        {
+            middle = (min + max) >>> 1;
+
+            if (this.comparator.compare(array[middle], element) < 0)
+            {
+                min = middle + 1;
+            }
+            else
+            {
+                max = middle;
+            }
+        }
+
+        return min;
+    }
+
+    /**
+     * Merge a too small child with one of its neighbors, if they fit in one node
+     *
+     * @param parent Parent node
+     * @param index  Child index
+     */
+    private void mergeIfSmall(final Inner parent, final int index)
+    {
+        final Node child = parent.children[index];
+
+        if ((child.length >= (SortedTree.CAPACITY >> 2)) || (parent.length < 2))
+        {
+            return;
+        }
+
+        final int  left      = index > 0 ? index - 1 : index;
+        final Node leftNode  = parent.children[left];
+        final Node rightNode = parent.children[left + 1];
+
+        if ((leftNode.length + rightNode.length) > SortedTree.CAPACITY)
+        {
+            return;
+        }
+
+        if (leftNode instanceof Leaf)
+        {
+            final Leaf leftLeaf  = (Leaf) leftNode;
+            final Leaf rightLeaf = (Leaf) rightNode;
+            System.arraycopy(rightLeaf.elements, 0, leftLeaf.elements, leftLeaf.length, rightLeaf.length);
+            leftLeaf.length += rightLeaf.length;
+            this.unlink(rightLeaf);
+        }
+        else
+        {
+            final Inner leftInner  = (Inner) leftNode;
+            final Inner rightInner = (Inner) rightNode;
+            leftInner.keys[leftInner.length - 1] = parent.keys[left];
+            System.arraycopy(rightInner.keys, 0, leftInner.keys, leftInner.length, rightInner.length - 1);
+            System.arraycopy(rightInner.children, 0, leftInner.children, leftInner.length, rightInner.length);
+            System.arraycopy(rightInner.counts, 0, leftInner.counts, leftInner.length, rightInner.length);
+            leftInner.length += rightInner.length;
+        }
+
+        leftNode.count += rightNode.count;
+        parent.counts[left] = leftNode.count;
+        parent.count += rightNode.count;
+        parent.removeChild(left + 1);
+    }
+
+    /**
+     * Remove element at given rank in a node
+     *
+     * @param node Node where remove
+     * @param rank Element rank inside the node
+     * @return Removed element
+     */
+    private Object removeAt(final Node node, final int rank)
+    {
+        node.count--;
+
+        if (node instanceof Leaf)
+        {
+            final Leaf   leaf    = (Leaf) node;
+            final Object element = leaf.elements[rank];
+            leaf.length--;
+            System.arraycopy(leaf.elements, rank + 1, leaf.elements, rank, leaf.length - rank);
+            leaf.elements[leaf.length] = null;
+            return element;
+        }
+
+        final Inner inner = (Inner) node;
+        int         index = 0;
+        int         start = rank;
+
+        while (start >= inner.counts[index])
+        {
+            start -= inner.counts[index];
+            index++;
+        }
+
+        final Object element = this.removeAt(inner.children[index], start);
+        inner.counts[index]--;
+        final Node child = inner.children[index];
+
+        if (child.length == 0)
+        {
+            if (child instanceof Leaf)
+            {
+                this.unlink((Leaf) child);
+            }
+
+            inner.removeChild(index);
+        }
+        else
+        {
+            this.mergeIfSmall(inner, index);
+        }
+
+        return element;
+    }
+
+    /**
+     * Remove a leaf from leaves list
+     *
+     * @param leaf Leaf to remove
+     */
+    private void unlink(final Leaf leaf)
+    {
+        if (leaf.previous == null)
+        {
+            this.first = leaf.next;
+        }
+        else
+        {
+            leaf.previous.next = leaf.next;
+        }
+
+        if (leaf.next != null)
+        {
+            leaf.next.previous = leaf.previous;
+        }
+
+        leaf.previous = null;
+        leaf.next = null;
+    }
+
+    /**
+     * Index of first element in sorted array strictly bigger than an element
+     *
+     * @param array   Sorted array
+     * @param length  Number of elements in array
+     * @param element Element search
+     * @return Index of first element strictly bigger
+     */
+    @SuppressWarnings("unchecked")
+    private int upperBound(final Object[] array, final int length, final Object element)
+    {
+        int min = 0;
+        int max = length;
+        int middle;
+
+        while (min < max)
+        {
+            middle = (min + max) >>> 1;
+
+            if (this.comparator.compare(array[middle], element) <= 0)
+            {
+                min = middle + 1;
+            }
+            else
+            {
+                max = middle;
+            }
+        }
+
+        return min;
+    }
+
+    /**
+     * Replace tree content by sorted elements
+     *
+     * @param elements Sorted elements
+     * @param length   Number of elements
+     */
+    private void build(final Object[] elements, final int length)
+    {
+        this.first = new Leaf();
+        this.root = this.first;
+
+        if (length == 0)
+        {
+            return;
+        }
+
+        final int      leaves   = (length + SortedTree.FILL - 1) / SortedTree.FILL;
+        final Node[]   nodes    = new Node[leaves];
+        final Object[] minimums = new Object[leaves];
+        Leaf           leaf     = this.first;
+        int            read     = 0;
+        int            number;
+
+        for (int index = 0; index < leaves; index++)
+        {
+            if (index > 0)
+            {
+                final Leaf next = new Leaf();
+                next.previous = leaf;
+                leaf.next = next;
+                leaf = next;
+            }
+
+            number = (length - read) / (leaves - index);
+            System.arraycopy(elements, read, leaf.elements, 0, number);
+            leaf.length = leaf.count = number;
+            nodes[index] = leaf;
+            minimums[index] = elements[read];
+            read += number;
+        }
+
+        int level = leaves;
+
+        while (level > 1)
+        {
+            level = SortedTree.buildLevel(nodes, minimums, level);
+        }
+
+        this.root = nodes[0];
+    }
+
+    /**
+     * Add an element
+     *
+     * @param element element to add
+     * @return {@code true} if element added. {@code false} if unique mode and already present, so not added
+     * @throws NullPointerException if the element is {@code null}
+     */
+    public boolean add(final TYPE element)
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        if ((this.unique) && (this.indexOf(element) >= 0))
+        {
+            return false;
+        }
+
+        final Node split = this.insert(this.root, element);
+
+        if (split != null)
+        {
+            final Inner inner = new Inner();
+            inner.children[0] = this.root;
+            inner.counts[0] = this.root.count;
+            inner.count = this.root.count;
+            inner.length = 1;
+            inner.insertChild(1, this.splitKey, split);
+            this.root = inner;
+        }
+
+        this.splitKey = null;
+        return true;
+    }
+
+    /**
+     * Add several elements.<br>
+     * If the batch is big enough, the batch is sorted, merged with actual elements and the tree is rebuild, else
+     * elements are added one by one
+     *
+     * @param elements Elements to add
+     * @return Number of elements really added (In unique mode, already present elements are not added)
+     * @throws NullPointerException if one element is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public int addAll(final TYPE[] elements)
+    {
+        if (elements == null)
+        {
+            throw new NullPointerException("elements MUST NOT be null");
+        }
+
+        for (final TYPE element : elements)
+        {
+            if (element == null)
+            {
+                throw new NullPointerException("elements MUST NOT contains null");
+            }
+        }
+
+        final int size = this.getSize();
+        int       added;
+
+        if ((elements.length << 3) < size)
+        {
+            added = 0;
+
+            for (final TYPE element : elements)
+            {
+                if (this.add(element))
+                {
+                    added++;
+                }
+            }
+
+            return added;
+        }
+
+        final Object[] batch = elements.clone();
+        Arrays.sort(batch, this.comparator);
+        final Object[] actual = this.toArray();
+        final Object[] merged = new Object[size + batch.length];
+        int            length = 0;
+        int            left   = 0;
+        int            right  = 0;
+        Object         element;
+
+        while ((left < size) || (right < batch.length))
+        {
+            if ((right >= batch.length)
+                    || ((left < size) && (this.comparator.compare(actual[left], batch[right]) <= 0)))
+            {
+                element = actual[left++];
+            }
+            else
+            {
+                element = batch[right++];
+            }
+
+            if ((!this.unique) || (length == 0) || (this.comparator.compare(merged[length - 1], element) != 0))
+            {
+                merged[length++] = element;
+            }
+        }
+
+        this.build(merged, length);
+        return length - size;
+    }
+
+    /**
+     * Add several elements.<br>
+     * If the batch is big enough, the batch is sorted, merged with actual elements and the tree is rebuild, else
+     * elements are added one by one
+     *
+     * @param elements Elements to add
+     * @return Number of elements really added (In unique mode, already present elements are not added)
+     * @throws NullPointerException if one element is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public int addAll(final Collection<? extends TYPE> elements)
+    {
+        if (elements == null)
+        {
+            throw new NullPointerException("elements MUST NOT be null");
+        }
+
+        return this.addAll(elements.toArray((TYPE[]) Array.newInstance(this.typeClass, elements.size())));
+    }
+
+    /**
+     * Clear the tree.<br>
+     * It will be empty after that
+     */
+    public void clear()
+    {
+        this.first = new Leaf();
+        this.root = this.first;
+    }
+
+    /**
+     * Indicates if an element is inside the tree
+     *
+     * @param element Tested element
+     * @return {@code true} if an element is inside the tree
+     * @throws NullPointerException if the element is {@code null}
+     */
+    public boolean contains(final TYPE element)
+    {
+        return this.indexOf(element) >= 0;
+    }
+
+    /**
+     * Give an element of the tree
+     *
+     * @param index Element index
+     * @return Element
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    @SuppressWarnings("unchecked")
+    public TYPE getElement(final int index)
+    {
+        if ((index < 0) || (index >= this.root.count))
+        {
+            throw new IllegalArgumentException("index must be in [0, " + this.root.count + "[ not " + index);
+        }
+
+        Node node = this.root;
+        int  rank = index;
+        int  child;
+
+        while (node instanceof Inner)
+        {
+            final Inner inner = (Inner) node;
+            child = 0;
+
+            while (rank >= inner.counts[child])
+            {
+                rank -= inner.counts[child];
+                child++;
+            }
+
+            node = inner.children[child];
+        }
+
+        return (TYPE) ((Leaf) node).elements[rank];
+    }
+
+    /**
+     * Actual number of elements
+     *
+     * @return Actual number of elements
+     */
+    public int getSize()
+    {
+        return this.root.count;
+    }
+
+    /**
+     * Get an element index or -1 if not present.<br>
+     * If several elements compare equals, the index of the first one is returned
+     *
+     * @param element Element tested
+     * @return Element index or -1 if not present
+     * @throws NullPointerException if element is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public int indexOf(final TYPE element)
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        final int index = this.lowerBound(element);
+
+        if ((index < this.root.count) && (this.comparator.compare(element, this.getElement(index)) == 0))
+        {
+            return index;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Compute interval index where should be insert a given element.<br>
+     * The couple <b>(min, max)</b> returned can be interpreted like that (where <i>size</i> is the size of the list) :
+     * <ul>
+     * <li><b>(-1, 0)</b> means that the element is before the first element of the list</li>
+     * <li><b>(size, -1)</b> means that the element is after the last element of the list</li>
+     * <li><b>(index, index)</b> in other word <b>min==max</b>, means that the element is at exactly the index
+     * <b>min</b></li>
+     * <li><b>Other case (min ,max) min &lt; max </b> means that the element is after the element at <b>min</b> index and
+     * before the element at <b>max</b> index</li>
+     * </ul>
+     *
+     * @param element Element search
+     * @return Couple (min, max)
+     */
+    @SuppressWarnings("unchecked")
+    public Pair<Integer, Integer> intervalOf(final TYPE element)
+    {
+        if (element == null)
+        {
+            throw new NullPointerException("element MUST NOT be null");
+        }
+
+        final int index = this.lowerBound(element);
+
+        if (index >= this.root.count)
+        {
+            return new Pair<Integer, Integer>(this.root.count, -1);
+        }
+
+        if (this.comparator.compare(element, this.getElement(index)) == 0)
+        {
+            return new Pair<Integer, Integer>(index, index);
+        }
+
+        return new Pair<Integer, Integer>(index - 1, index);
+    }
+
+    /**
+     * Indicates if tree is empty
+     *
+     * @return {@code true} if tree is empty
+     */
+    public boolean isEmpty()
+    {
+        return this.root.count == 0;
+    }
+
+    /**
+     * Indicates if tree is in unique mode
+     *
+     * @return {@code true} if tree is in unique mode
+     */
+    public boolean isUnique()
+    {
+        return this.unique;
+    }
+
+    /**
+     * Compute iterator over the elements in order.<br>
+     * Iterator don't support remove and must not be used after the tree is modified <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return Iterator
+     * @see java.lang.Iterable#iterator()
+     */
+    @Override
+    public Iterator<TYPE> iterator()
+    {
+        return new TreeIterator();
+    }
+
+    /**
+     * Search an element similar to the object. Because it use the comparator, if the comparator say the object is the
+     * same of one element inside the tree, they are declared similar
+     *
+     * @param object Object to be similar
+     * @return Element similar to the object, or {@code null} if no element are similar
+     */
+    @SuppressWarnings("unchecked")
+    public TYPE obtainElement(final Object object)
+    {
+        for (Leaf leaf = this.first; leaf != null; leaf = leaf.next)
+        {
+            for (int index = 0; index < leaf.length; index++)
+            {
+                if (this.comparator.compare(leaf.elements[index], object) == 0)
+                {
+                    return (TYPE) leaf.elements[index];
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Search index of similar element. Because it use the comparator, if the comparator say the object is the same of one
+     * element inside the tree, they are declared similar
+     *
+     * @param object Object to be similar
+     * @return Index of similar element, or -1 if not found
+     */
+    @SuppressWarnings("unchecked")
+    public int obtainIndex(final Object object)
+    {
+        int rank = 0;
+
+        for (Leaf leaf = this.first; leaf != null; leaf = leaf.next)
+        {
+            for (int index = 0; index < leaf.length; index++, rank++)
+            {
+                if (this.comparator.compare(leaf.elements[index], object) == 0)
+                {
+                    return rank;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Remove an element
+     *
+     * @param index Element index
+     * @return The removed element
+     * @throws IllegalArgumentException if index is out of bounds
+     */
+    @SuppressWarnings("unchecked")
+    public TYPE remove(final int index)
+    {
+        if ((index < 0) || (index >= this.root.count))
+        {
+            throw new IllegalArgumentException("index must be in [0, " + this.root.count + "[ not " + index);
+        }
+
+        final TYPE element = (TYPE) this.removeAt(this.root, index);
+
+        if (this.root.length == 0)
+        {
+            this.clear();
+        }
+
+        while ((this.root instanceof Inner) && (this.root.length == 1))
+        {
+            this.root = ((Inner) this.root).children[0];
+        }
+
+        return element;
+    }
+
+    /**
+     * Remove an element.<br>
+     * It removes an element equals to the given element, not necessary the element itself
+     *
+     * @param element Element to remove
+     * @return Real element removed or {@code null} if element not found
+     * @throws NullPointerException if element is {@code null}
+     */
+    public TYPE remove(final TYPE element)
+    {
+        final int index = this.indexOf(element);
+
+        if (index < 0)
+        {
+            return null;
+        }
+
+        return this.remove(index);
+    }
+
+    /**
+     * Seek first element that match a test
+     *
+     * @param seekTest Seek test
+     * @return First matches element or {@code null} if none match
+     */
+    @SuppressWarnings("unchecked")
+    public TYPE seekElement(final SeekTest<TYPE> seekTest)
+    {
+        for (Leaf leaf = this.first; leaf != null; leaf = leaf.next)
+        {
+            for (int index = 0; index < leaf.length; index++)
+            {
+                if (seekTest.isElementSeek((TYPE) leaf.elements[index]))
+                {
+                    return (TYPE) leaf.elements[index];
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Collect all matches element in a sorted tree with same comparator and same unique mode
+     *
+     * @param seekTest Test of seek elements
+     * @return Tree of all matches elements
+     */
+    @SuppressWarnings("unchecked")
+    public SortedTree<TYPE> seekElements(final SeekTest<TYPE> seekTest)
+    {
+        final SortedTree<TYPE> sortedTree = new SortedTree<TYPE>(this.typeClass, this.comparator, this.unique);
+        final Object[]         matches    = new Object[this.root.count];
+        int                    length     = 0;
+
+        for (Leaf leaf = this.first; leaf != null; leaf = leaf.next)
+        {
+            for (int index = 0; index < leaf.length; index++)
+            {
+                if (seekTest.isElementSeek((TYPE) leaf.elements[index]))
+                {
+                    matches[length++] = leaf.elements[index];
+                }
+            }
+        }
+
+        sortedTree.build(matches, length);
+        return sortedTree;
+    }
+
+    /**
+     * Transform the tree to an array with same elements in same order
+     *
+     * @return Extracted array
+     */
+    @SuppressWarnings("unchecked")
+    public TYPE[] toArray()
+    {
+        final TYPE[] array = (TYPE[]) Array.newInstance(this.typeClass, this.root.count);
+        int          index = 0;
+
+        for (Leaf leaf = this.first; leaf != null; leaf = leaf.next)
+        {
+            System.arraycopy(leaf.elements, 0, array, index, leaf.length);
+            index += leaf.length;
+        }
+
+        return array;
+    }
+
+    /**
+     * String representation <br>
+     * <br>
+     * <b>Parent documentation:</b><br>
+     * {@inheritDoc}
+     *
+     * @return String representation
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder stringBuilder = new StringBuilder("[");
+        boolean             first         = true;
+
+        for (Leaf leaf = this.first; leaf != null; leaf = leaf.next)
+        {
+            for (int index = 0; index < leaf.length; index++)
+            {
+                if (!first)
+                {
+                    stringBuilder.append(", ");
+                }
+
+                first = false;
+                stringBuilder.append(leaf.elements[index]);
+            }
+        }
+
+        stringBuilder.append(']');
+        return stringBuilder.toString();
+    }
+}
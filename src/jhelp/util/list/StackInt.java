@@ -1,5 +1,7 @@
 package jhelp.util.list;
 
+import java.util.Arrays;
+
 /**
  * Stack of integer.<br>
  * More adapted than use {@link java.util.Stack Stack&lt;Integer&gt;}
@@ -43,11 +45,7 @@ public class StackInt
    {
       if((this.size + more) >= this.stack.length)
       {
-         int s = this.size + more;
-         s += (s / 10) + 1;
-         final int[] temp = new int[s];
-         System.arraycopy(this.stack, 0, temp, 0, this.size);
-         this.stack = temp;
+         this.stack = Arrays.copyOf(this.stack, PrimitiveCollections.grow(this.stack.length, this.size + more + 1));
       }
    }
 
@@ -15,6 +15,8 @@ import java.util.jar.JarFile;
 import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 
+import jhelp.util.cache.Cache;
+import jhelp.util.cache.CacheElement;
 import jhelp.util.debug.Debug;
 import jhelp.util.gui.GIF;
 import jhelp.util.gui.JHelpFont;
@@ -33,6 +35,99 @@ import jhelp.util.io.UtilIO;
  */
 public class Resources
 {
+    /**
+     * Describe how load an image of the images cache
+     *
+     * @author JHelp
+     */
+    private static class ImageCacheElement
+            extends CacheElement<JHelpImage>
+    {
+        /**
+         * Desired height, 0 for image height
+         */
+        private final int       height;
+        /**
+         * Image path
+         */
+        private final String    path;
+        /**
+         * Resources where found the image
+         */
+        private final Resources resources;
+        /**
+         * Desired width, 0 for image width
+         */
+        private final int       width;
+
+        /**
+         * Create a new instance of ImageCacheElement
+         *
+         * @param resources Resources where found the image
+         * @param path      Image path
+         * @param width     Desired width, 0 for image width
+         * @param height    Desired height, 0 for image height
+         */
+        ImageCacheElement(final Resources resources, final String path, final int width, final int height)
+        {
+            this.resources = resources;
+            this.path = path;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Load the image <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @return Loaded image or {@code null} if load failed (So failure are not kept in cache)
+         * @see jhelp.util.cache.CacheElement#createElement()
+         */
+        @Override
+        protected JHelpImage createElement()
+        {
+            final JHelpImage image = this.resources.obtainJHelpImage(this.path);
+
+            if (image == JHelpImage.DUMMY)
+            {
+                return null;
+            }
+
+            if (this.width <= 0 || this.height <= 0)
+            {
+                return image;
+            }
+
+            return JHelpImage.createResizedImage(image, this.width, this.height);
+        }
+
+        /**
+         * Image weight : its number of bytes in memory <br>
+         * <br>
+         * <b>Parent documentation:</b><br>
+         * {@inheritDoc}
+         *
+         * @param element Image to measure
+         * @return Image weight
+         * @see jhelp.util.cache.CacheElement#weight(java.lang.Object)
+         */
+        @Override
+        protected long weight(final JHelpImage element)
+        {
+            return 4L * element.getWidth() * element.getHeight();
+        }
+    }
+
+    /**
+     * Maximum number of images in images cache
+     */
+    public static final int  IMAGES_CACHE_SIZE   = 256;
+    /**
+     * Maximum images cache weight : 64 MB of pixels
+     */
+    public static final long IMAGES_CACHE_WEIGHT = 64L * 1024L * 1024L;
     /**
      * Indicates if resources are outside the jar
      */
@@ -53,6 +148,10 @@ public class Resources
      * Base directory
      */
     private       File                            baseDirectory;
+    /**
+     * Images cache, created on first use
+     */
+    private       Cache<JHelpImage>               imagesCache;
     /**
      * Resources system associated to the resources
      */
@@ -348,6 +447,61 @@ public class Resources
         }
     }
 
+    /**
+     * Obtain a {@link JHelpImage} from the images cache.<br>
+     * The image is loaded on first call, next calls give the same instance while its in the cache, so don't modify it.
+     * If several threads ask the same image in same time, it is loaded only once
+     *
+     * @param path Relative path of the image (Separator is "/")
+     * @return The shared image
+     */
+    public JHelpImage obtainCachedJHelpImage(final String path)
+    {
+        return this.obtainCachedResizedJHelpImage(path, 0, 0);
+    }
+
+    /**
+     * Obtain an image resized to given size from the images cache.<br>
+     * The image is loaded on first call, next calls give the same instance while its in the cache, so don't modify it.
+     * If several threads ask the same image in same time, it is loaded only once
+     *
+     * @param path   Resource path
+     * @param width  Desired width
+     * @param height Desired height
+     * @return The shared resized image
+     */
+    public JHelpImage obtainCachedResizedJHelpImage(final String path, final int width, final int height)
+    {
+        final JHelpImage image = this.obtainImagesCache()
+                                     .get(width + "x" + height + ":" + path,
+                                          new ImageCacheElement(this, path, width, height));
+
+        if (image == null)
+        {
+            return JHelpImage.DUMMY;
+        }
+
+        return image;
+    }
+
+    /**
+     * Images cache used by {@link #obtainCachedJHelpImage(String)} and
+     * {@link #obtainCachedResizedJHelpImage(String, int, int)}.<br>
+     * Limited to {@link #IMAGES_CACHE_SIZE} images and {@link #IMAGES_CACHE_WEIGHT} bytes. Use it to change expiration
+     * or read statistics
+     *
+     * @return Images cache
+     */
+    public synchronized Cache<JHelpImage> obtainImagesCache()
+    {
+        if (this.imagesCache == null)
+        {
+            this.imagesCache = new Cache<JHelpImage>(Resources.IMAGES_CACHE_SIZE, Resources.IMAGES_CACHE_WEIGHT);
+        }
+
+        return this.imagesCache;
+    }
+
     /**
      * Obtain the resources system linked to the resources
      *
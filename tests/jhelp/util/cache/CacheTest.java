@@ -0,0 +1,403 @@
+package jhelp.util.cache;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of Cache
+ *
+ * @author JHelp <br>
+ */
+public class CacheTest
+{
+   /**
+    * Element that count its creations and clears
+    */
+   static class CountElement
+         extends CacheElement<String>
+   {
+      /** Number of clear */
+      final AtomicInteger clears;
+      /** Number of creation */
+      final AtomicInteger creations;
+      /** Element value */
+      final String        value;
+      /** Element weight */
+      final long          weight;
+
+      /**
+       * Create a new instance of CountElement
+       *
+       * @param value
+       *           Element value
+       * @param weight
+       *           Element weight
+       */
+      CountElement(final String value, final long weight)
+      {
+         this.value = value;
+         this.weight = weight;
+         this.clears = new AtomicInteger();
+         this.creations = new AtomicInteger();
+      }
+
+      /**
+       * Count the clear
+       *
+       * @param element
+       *           Cleared element
+       */
+      @Override
+      protected void clearElement(final String element)
+      {
+         this.clears.incrementAndGet();
+      }
+
+      /**
+       * Create the element
+       *
+       * @return Created element
+       */
+      @Override
+      protected String createElement()
+      {
+         return this.value + this.creations.incrementAndGet();
+      }
+
+      /**
+       * Element weight
+       *
+       * @param element
+       *           Element to measure
+       * @return Element weight
+       */
+      @Override
+      protected long weight(final String element)
+      {
+         return this.weight;
+      }
+   }
+
+   /**
+    * Test that elements are kept and statistics
+    */
+   @Test
+   public void testGetAndStatistics()
+   {
+      final Cache<String> cache = new Cache<String>();
+      final CountElement element = new CountElement("a", 1);
+      cache.add("a", element);
+      Assert.assertEquals("a1", cache.get("a"));
+      Assert.assertEquals("a1", cache.get("a"));
+      Assert.assertEquals("a1", cache.get("a", new CountElement("b", 1)));
+      Assert.assertNull(cache.get("unknown"));
+      Assert.assertEquals(1, element.creations.get());
+
+      final CacheStatistics statistics = cache.obtainStatistics();
+      Assert.assertEquals(2, statistics.getHitCount());
+      Assert.assertEquals(1, statistics.getMissCount());
+      Assert.assertEquals(1, statistics.getLoadSuccessCount());
+      Assert.assertEquals(0, statistics.getLoadFailureCount());
+      Assert.assertEquals(2.0 / 3.0, statistics.getHitRate(), 1e-9);
+
+      cache.remove("a");
+      Assert.assertNull(cache.get("a"));
+      Assert.assertEquals(1, element.clears.get());
+      Assert.assertEquals(0, cache.getSize());
+   }
+
+   /**
+    * Test size limit : least recently used are removed and created again on next get
+    */
+   @Test
+   public void testSizeLimit()
+   {
+      final Cache<String> cache = new Cache<String>(3);
+      final CountElement[] elements = new CountElement[4];
+
+      for(int i = 0; i < elements.length; i++)
+      {
+         elements[i] = new CountElement("e" + i, 1);
+         cache.add("e" + i, elements[i]);
+      }
+
+      cache.get("e0");
+      cache.get("e1");
+      cache.get("e2");
+      cache.get("e0");
+      cache.get("e3");
+
+      Assert.assertEquals(3, cache.getSize());
+      Assert.assertEquals(1, elements[1].clears.get());
+      Assert.assertEquals(1, cache.obtainStatistics().getEvictionCount());
+      Assert.assertEquals(4, cache.obtainKeys().size());
+
+      Assert.assertEquals("e12", cache.get("e1"));
+      Assert.assertEquals(2, elements[1].creations.get());
+      Assert.assertEquals(1, elements[0].creations.get());
+   }
+
+   /**
+    * Test weight limit
+    */
+   @Test
+   public void testWeightLimit()
+   {
+      final Cache<String> cache = new Cache<String>(100, 10);
+      Assert.assertEquals("a1", cache.get("a", new CountElement("a", 4)));
+      Assert.assertEquals("b1", cache.get("b", new CountElement("b", 4)));
+      Assert.assertEquals(8, cache.getWeight());
+      Assert.assertEquals("c1", cache.get("c", new CountElement("c", 4)));
+      Assert.assertEquals(8, cache.getWeight());
+      Assert.assertEquals(2, cache.getSize());
+
+      // Too heavy element is given but not kept, and doesn't remove the others
+      Assert.assertEquals("d1", cache.get("d", new CountElement("d", 20)));
+      Assert.assertEquals(8, cache.getWeight());
+      Assert.assertEquals(2, cache.getSize());
+   }
+
+   /**
+    * Read an element until it becomes the expected one.<br>
+    * Until then, the read value must be the previous one
+    *
+    * @param cache
+    *           Cache to read
+    * @param key
+    *           Element key
+    * @param previous
+    *           Value before the expected one
+    * @param expected
+    *           Expected value
+    * @throws InterruptedException
+    *            If sleep interrupted
+    */
+   private static void waitValue(final Cache<String> cache, final String key, final String previous,
+         final String expected) throws InterruptedException
+   {
+      final long end = System.currentTimeMillis() + 10000;
+      String value = cache.get(key);
+
+      while(!expected.equals(value))
+      {
+         Assert.assertEquals(previous, value);
+         Assert.assertTrue("Still not " + expected + " after 10 seconds", System.currentTimeMillis() < end);
+         Thread.sleep(5);
+         value = cache.get(key);
+      }
+   }
+
+   /**
+    * Test expiration after creation
+    *
+    * @throws Exception
+    *            If sleep interrupted
+    */
+   @Test
+   public void testExpireAfterWrite() throws Exception
+   {
+      final Cache<String> cache = new Cache<String>();
+      cache.setExpireAfterWrite(50);
+      final CountElement element = new CountElement("a", 1);
+      cache.add("a", element);
+      Assert.assertEquals("a1", cache.get("a"));
+      CacheTest.waitValue(cache, "a", "a1", "a2");
+      Assert.assertEquals(1, element.clears.get());
+      Assert.assertEquals(2, element.creations.get());
+   }
+
+   /**
+    * Test background refresh : old value is given while the new one is created
+    *
+    * @throws Exception
+    *            If sleep interrupted
+    */
+   @Test
+   public void testRefreshAfterWrite() throws Exception
+   {
+      final Cache<String> cache = new Cache<String>();
+      cache.setRefreshAfterWrite(50);
+      final CountElement element = new CountElement("a", 1);
+      cache.add("a", element);
+      Assert.assertEquals("a1", cache.get("a"));
+      final long end = System.currentTimeMillis() + 10000;
+
+      // Reads trigger the refresh and get the old value, until the new one is created
+      while(element.creations.get() < 2)
+      {
+         final String value = cache.get("a");
+         Assert.assertTrue(value, "a1".equals(value) || "a2".equals(value));
+         Assert.assertTrue("No refresh after 10 seconds", System.currentTimeMillis() < end);
+         Thread.sleep(5);
+      }
+
+      // No more refresh, so the value stays the refreshed one
+      cache.setRefreshAfterWrite(0);
+      CacheTest.waitValue(cache, "a", "a1", "a2");
+      Assert.assertEquals(2, element.creations.get());
+   }
+
+   /**
+    * Test that several threads that miss the same key create the element only once
+    *
+    * @throws Exception
+    *            If threads interrupted
+    */
+   @Test
+   public void testSingleFlight() throws Exception
+   {
+      final Cache<String> cache = new Cache<String>();
+      final CountDownLatch start = new CountDownLatch(1);
+      final AtomicInteger creations = new AtomicInteger();
+      final CacheElement<String> slow = new CacheElement<String>()
+      {
+         @Override
+         protected String createElement()
+         {
+            creations.incrementAndGet();
+
+            try
+            {
+               Thread.sleep(100);
+            }
+            catch(final InterruptedException exception)
+            {
+               Thread.currentThread().interrupt();
+            }
+
+            return "slow";
+         }
+      };
+      cache.add("slow", slow);
+      final Thread[] threads = new Thread[8];
+      final String[] results = new String[threads.length];
+
+      for(int i = 0; i < threads.length; i++)
+      {
+         final int index = i;
+         threads[i] = new Thread()
+         {
+            @Override
+            public void run()
+            {
+               try
+               {
+                  start.await();
+               }
+               catch(final InterruptedException exception)
+               {
+                  return;
+               }
+
+               results[index] = cache.get("slow");
+            }
+         };
+         threads[i].start();
+      }
+
+      start.countDown();
+
+      for(final Thread thread : threads)
+      {
+         thread.join();
+      }
+
+      Assert.assertEquals(1, creations.get());
+
+      for(final String result : results)
+      {
+         Assert.assertEquals("slow", result);
+      }
+   }
+
+   /**
+    * Test that threads arriving just after the creation end don't create the element again
+    *
+    * @throws Exception
+    *            If threads interrupted
+    */
+   @Test
+   public void testSingleFlightLateThreads() throws Exception
+   {
+      final Cache<String> cache = new Cache<String>(10000);
+      final CountElement[] elements = new CountElement[2000];
+      final CyclicBarrier barrier = new CyclicBarrier(8);
+      final AtomicInteger wrongValues = new AtomicInteger();
+      final Thread[] threads = new Thread[8];
+
+      for(int index = 0; index < elements.length; index++)
+      {
+         elements[index] = new CountElement("key" + index, 1);
+         cache.add("key" + index, elements[index]);
+      }
+
+      for(int i = 0; i < threads.length; i++)
+      {
+         threads[i] = new Thread()
+         {
+            @Override
+            public void run()
+            {
+               try
+               {
+                  for(int index = 0; index < elements.length; index++)
+                  {
+                     // All threads miss the same key in same time
+                     barrier.await();
+
+                     if(!("key" + index + "1").equals(cache.get("key" + index)))
+                     {
+                        wrongValues.incrementAndGet();
+                     }
+                  }
+               }
+               catch(final Exception exception)
+               {
+                  wrongValues.incrementAndGet();
+               }
+            }
+         };
+         threads[i].start();
+      }
+
+      for(final Thread thread : threads)
+      {
+         thread.join();
+      }
+
+      Assert.assertEquals(0, wrongValues.get());
+
+      for(final CountElement element : elements)
+      {
+         Assert.assertEquals(element.value, 1, element.creations.get());
+      }
+   }
+
+   /**
+    * Test replace and clear
+    */
+   @Test
+   public void testReplaceAndClear()
+   {
+      final Cache<String> cache = new Cache<String>();
+      final CountElement first = new CountElement("a", 1);
+      cache.add("key", first);
+      Assert.assertEquals("a1", cache.get("key"));
+      cache.add("key", first);
+      Assert.assertEquals(0, first.clears.get());
+
+      final CountElement second = new CountElement("b", 1);
+      cache.add("key", second);
+      Assert.assertEquals(1, first.clears.get());
+      Assert.assertEquals("b1", cache.get("key"));
+
+      cache.clear();
+      Assert.assertEquals(1, second.clears.get());
+      Assert.assertTrue(cache.obtainKeys().isEmpty());
+      Assert.assertEquals(0, cache.getSize());
+   }
+}
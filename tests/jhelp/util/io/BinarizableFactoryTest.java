@@ -0,0 +1,257 @@
+package jhelp.util.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of {@link BinarizableFactory}
+ *
+ * @author JHelp
+ */
+public class BinarizableFactoryTest
+{
+   /**
+    * Class loader that loads itself one class, so that class is not visible from its parent
+    *
+    * @author JHelp
+    */
+   static class ChildClassLoader
+         extends ClassLoader
+   {
+      /** Name of the class loaded by this loader */
+      private final String className;
+
+      /**
+       * Create a new instance of ChildClassLoader
+       *
+       * @param className
+       *           Name of the class loaded by this loader
+       */
+      ChildClassLoader(final String className)
+      {
+         super(BinarizableFactoryTest.class.getClassLoader());
+         this.className = className;
+      }
+
+      /**
+       * Load a class <br>
+       * <br>
+       * <b>Parent documentation:</b><br>
+       * {@inheritDoc}
+       *
+       * @param name
+       *           Class name
+       * @param resolve
+       *           Indicates if class have to be resolved
+       * @return Loaded class
+       * @throws ClassNotFoundException
+       *            If class not found
+       * @see java.lang.ClassLoader#loadClass(java.lang.String, boolean)
+       */
+      @Override
+      protected synchronized Class<?> loadClass(final String name, final boolean resolve)
+            throws ClassNotFoundException
+      {
+         if(!this.className.equals(name))
+         {
+            return super.loadClass(name, resolve);
+         }
+
+         Class<?> clas = this.findLoadedClass(name);
+
+         if(clas == null)
+         {
+            try
+            {
+               final InputStream inputStream = this.getParent().getResourceAsStream(
+                     name.replace('.', '/') + ".class");
+               final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+               final byte[] buffer = new byte[4096];
+               int read = inputStream.read(buffer);
+
+               while(read >= 0)
+               {
+                  byteArrayOutputStream.write(buffer, 0, read);
+                  read = inputStream.read(buffer);
+               }
+
+               inputStream.close();
+               final byte[] bytes = byteArrayOutputStream.toByteArray();
+               clas = this.defineClass(name, bytes, 0, bytes.length);
+            }
+            catch(final Exception exception)
+            {
+               throw new ClassNotFoundException(name, exception);
+            }
+         }
+
+         if(resolve)
+         {
+            this.resolveClass(clas);
+         }
+
+         return clas;
+      }
+   }
+
+   /**
+    * Binarizable without empty constructor
+    *
+    * @author JHelp
+    */
+   public static class NoEmptyConstructor
+         implements Binarizable
+   {
+      /**
+       * Create a new instance of NoEmptyConstructor
+       *
+       * @param value
+       *           Unused value
+       */
+      public NoEmptyConstructor(final int value)
+      {
+      }
+
+      /**
+       * Parse the binary <br>
+       * <br>
+       * <b>Parent documentation:</b><br>
+       * {@inheritDoc}
+       *
+       * @param byteArray
+       *           Byte array to parse
+       * @see jhelp.util.io.Binarizable#parseBinary(jhelp.util.io.ByteArray)
+       */
+      @Override
+      public void parseBinary(final ByteArray byteArray)
+      {
+      }
+
+      /**
+       * Serialize the binary <br>
+       * <br>
+       * <b>Parent documentation:</b><br>
+       * {@inheritDoc}
+       *
+       * @param byteArray
+       *           Byte array where write
+       * @see jhelp.util.io.Binarizable#serializeBinary(jhelp.util.io.ByteArray)
+       */
+      @Override
+      public void serializeBinary(final ByteArray byteArray)
+      {
+      }
+   }
+
+   /**
+    * Simple binarizable
+    *
+    * @author JHelp
+    */
+   public static class Value
+         implements Binarizable
+   {
+      /** Carried value */
+      public int value;
+
+      /**
+       * Create a new instance of Value
+       */
+      public Value()
+      {
+      }
+
+      /**
+       * Parse the binary <br>
+       * <br>
+       * <b>Parent documentation:</b><br>
+       * {@inheritDoc}
+       *
+       * @param byteArray
+       *           Byte array to parse
+       * @see jhelp.util.io.Binarizable#parseBinary(jhelp.util.io.ByteArray)
+       */
+      @Override
+      public void parseBinary(final ByteArray byteArray)
+      {
+         this.value = byteArray.readInteger();
+      }
+
+      /**
+       * Serialize the binary <br>
+       * <br>
+       * <b>Parent documentation:</b><br>
+       * {@inheritDoc}
+       *
+       * @param byteArray
+       *           Byte array where write
+       * @see jhelp.util.io.Binarizable#serializeBinary(jhelp.util.io.ByteArray)
+       */
+      @Override
+      public void serializeBinary(final ByteArray byteArray)
+      {
+         byteArray.writeInteger(this.value);
+      }
+   }
+
+   /**
+    * Visible class with public empty constructor use a generated creator
+    *
+    * @throws Exception
+    *            On creation issue
+    */
+   @Test
+   public void testVisibleClass() throws Exception
+   {
+      Assert.assertTrue(BinarizableFactory.isVisible(Value.class));
+      final BinarizableCreator<Value> creator = BinarizableFactory.buildCreator(Value.class);
+      Assert.assertFalse(creator instanceof BinarizableFactory.MethodHandleCreator);
+      Assert.assertFalse(creator instanceof BinarizableFactory.ReflectorCreator);
+      Assert.assertNotNull(creator.createBinarizable());
+
+      Assert.assertSame(BinarizableFactory.obtainCreator(Value.class), BinarizableFactory.obtainCreator(Value.class));
+
+      final ByteArray byteArray = new ByteArray();
+      final Value value = new Value();
+      value.value = 73;
+      byteArray.writeBinarizable(value);
+      Assert.assertEquals(73, byteArray.readBinarizable(Value.class).value);
+   }
+
+   /**
+    * Class without empty constructor use the reflector
+    */
+   @Test
+   public void testNoEmptyConstructor()
+   {
+      final BinarizableCreator<NoEmptyConstructor> creator = BinarizableFactory.buildCreator(NoEmptyConstructor.class);
+      Assert.assertTrue(creator instanceof BinarizableFactory.ReflectorCreator);
+   }
+
+   /**
+    * Class loaded by a child class loader use a method handle, and can be created several times
+    *
+    * @throws Exception
+    *            On creation issue
+    */
+   @SuppressWarnings("unchecked")
+   @Test
+   public void testChildClassLoader() throws Exception
+   {
+      final String name = Value.class.getName();
+      final Class<? extends Binarizable> clas = (Class<? extends Binarizable>) Class.forName(name, true,
+            new ChildClassLoader(name));
+      Assert.assertNotSame(Value.class, clas);
+      Assert.assertFalse(BinarizableFactory.isVisible(clas));
+      Assert.assertTrue(BinarizableFactory.obtainCreator(clas) instanceof BinarizableFactory.MethodHandleCreator);
+
+      for(int time = 0; time < 3; time++)
+      {
+         final Binarizable binarizable = BinarizableFactory.create(clas);
+         Assert.assertSame(clas, binarizable.getClass());
+      }
+   }
+}
@@ -0,0 +1,356 @@
+package jhelp.util.io;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Binarizable store tests
+ *
+ * @author JHelp <br>
+ */
+public class BinarizableStoreTest
+{
+    /**
+     * Create a point
+     *
+     * @param alpha Point alpha
+     * @return Created point
+     */
+    private static SchemaBinarizableTest.PointVersion2 point(final int alpha)
+    {
+        final SchemaBinarizableTest.PointVersion2 point = new SchemaBinarizableTest.PointVersion2();
+        point.setAlpha(alpha);
+        return point;
+    }
+
+    /**
+     * Superseded records are dropped by compaction
+     *
+     * @throws Exception On issue
+     */
+    @Test
+    public void testCompact() throws Exception
+    {
+        final File directory = UtilIO.createTemporaryDirectory();
+
+        try
+        {
+            final BinarizableStore store = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+
+            for (int round = 0; round < 20; round++)
+            {
+                for (long key = 0; key < 10; key++)
+                {
+                    store.put(key, BinarizableStoreTest.point(round));
+                }
+            }
+
+            store.remove(3);
+            final int segments = directory.list().length;
+            Assert.assertTrue(store.compact() > 0);
+            Assert.assertTrue(directory.list().length < segments);
+            Assert.assertEquals(9, store.size());
+            Assert.assertNull(store.get(3, SchemaBinarizableTest.PointVersion2.class));
+            Assert.assertEquals(19, store.get(7, SchemaBinarizableTest.PointVersion2.class)
+                                         .getAlpha());
+            store.close();
+
+            final BinarizableStore reopened = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+            Assert.assertEquals(9, reopened.size());
+            Assert.assertFalse(reopened.contains(3));
+            Assert.assertEquals(19, reopened.get(0, SchemaBinarizableTest.PointVersion2.class)
+                                            .getAlpha());
+            reopened.close();
+        }
+        finally
+        {
+            UtilIO.delete(directory);
+        }
+    }
+
+    /**
+     * Reads and writes continue while an other thread compacts
+     *
+     * @throws Exception On issue
+     */
+    @Test
+    public void testConcurrentCompact() throws Exception
+    {
+        final File directory = UtilIO.createTemporaryDirectory();
+
+        try
+        {
+            final BinarizableStore store     = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+            final AtomicBoolean    running   = new AtomicBoolean(true);
+            final Exception[]      failure   = new Exception[1];
+            final Thread           compactor = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        while (running.get())
+                        {
+                            store.compact();
+                        }
+                    }
+                    catch (final Exception exception)
+                    {
+                        failure[0] = exception;
+                    }
+                }
+            };
+            compactor.start();
+
+            try
+            {
+                for (int round = 0; round < 200; round++)
+                {
+                    for (long key = 0; key < 10; key++)
+                    {
+                        store.put(key, BinarizableStoreTest.point(round));
+                        Assert.assertEquals(round, store.get(key, SchemaBinarizableTest.PointVersion2.class)
+                                                        .getAlpha());
+                    }
+
+                    store.remove(round % 10);
+                    Assert.assertFalse(store.contains(round % 10));
+                }
+            }
+            finally
+            {
+                running.set(false);
+                compactor.join();
+            }
+
+            Assert.assertNull(failure[0]);
+            store.compact();
+            store.close();
+
+            final BinarizableStore reopened = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+            Assert.assertEquals(9, reopened.size());
+            Assert.assertFalse(reopened.contains(9));
+            Assert.assertEquals(199, reopened.get(0, SchemaBinarizableTest.PointVersion2.class)
+                                             .getAlpha());
+            reopened.close();
+        }
+        finally
+        {
+            UtilIO.delete(directory);
+        }
+    }
+
+    /**
+     * Remove records still needed count as live, so compaction don't copy them again and again
+     *
+     * @throws Exception On issue
+     */
+    @Test
+    public void testCompactRemoved() throws Exception
+    {
+        final File directory = UtilIO.createTemporaryDirectory();
+
+        try
+        {
+            final BinarizableStore store = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+
+            // Oldest segments stay alive, so remove records after them are needed
+            for (long key = 0; key < 30; key++)
+            {
+                store.put(key, BinarizableStoreTest.point((int) key));
+            }
+
+            for (long key = 1000; key < 1100; key++)
+            {
+                store.put(key, BinarizableStoreTest.point((int) key));
+            }
+
+            for (long key = 1000; key < 1100; key++)
+            {
+                store.remove(key);
+            }
+
+            Assert.assertTrue(store.compact() > 0);
+
+            for (long key = 3000; key < 3060; key++)
+            {
+                store.put(key, BinarizableStoreTest.point((int) key));
+            }
+
+            Assert.assertEquals(0, store.compact());
+            Assert.assertEquals(90, store.size());
+            store.close();
+
+            final BinarizableStore reopened = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+            Assert.assertEquals(90, reopened.size());
+            Assert.assertFalse(reopened.contains(1050));
+            Assert.assertEquals(7, reopened.get(7, SchemaBinarizableTest.PointVersion2.class)
+                                           .getAlpha());
+
+            // Once nothing older remains, remove records are dropped
+            for (long key = 0; key < 30; key++)
+            {
+                reopened.remove(key);
+            }
+
+            for (long key = 3000; key < 3060; key++)
+            {
+                reopened.remove(key);
+            }
+
+            for (int round = 0; round < 50; round++)
+            {
+                reopened.put(5000, BinarizableStoreTest.point(round));
+            }
+
+            final int segments  = directory.list().length;
+            int       compacted = 0;
+
+            while (reopened.compact() > 0)
+            {
+                compacted++;
+                Assert.assertTrue(compacted < segments);
+            }
+
+            Assert.assertEquals(1, directory.list().length);
+            Assert.assertEquals(1, reopened.size());
+            reopened.close();
+        }
+        finally
+        {
+            UtilIO.delete(directory);
+        }
+    }
+
+    /**
+     * Replay stops at a corrupted record and keeps the records before it
+     *
+     * @throws Exception On issue
+     */
+    @Test
+    public void testCrashRecovery() throws Exception
+    {
+        for (final boolean truncate : new boolean[]{false, true})
+        {
+            final File directory = UtilIO.createTemporaryDirectory();
+
+            try
+            {
+                final BinarizableStore store = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+
+                for (long key = 0; key < 5; key++)
+                {
+                    store.put(key, BinarizableStoreTest.point((int) key));
+                }
+
+                store.close();
+                final File segment = new File(directory, "00000000.segment");
+
+                try (RandomAccessFile randomAccessFile = new RandomAccessFile(segment, "rw"))
+                {
+                    // Walk records to find the last one : [length][CRC][key][type][payload]
+                    int position = 0;
+                    int last     = 0;
+                    int length;
+                    randomAccessFile.seek(0);
+                    length = randomAccessFile.readInt();
+
+                    while (length > 0)
+                    {
+                        last = position;
+                        position += 17 + length;
+                        randomAccessFile.seek(position);
+                        length = randomAccessFile.readInt();
+                    }
+
+                    if (truncate)
+                    {
+                        // Crash in middle of the write : end of record never reached the disk
+                        randomAccessFile.seek(last + 20);
+
+                        for (int index = last + 20; index < position; index++)
+                        {
+                            randomAccessFile.write(0);
+                        }
+                    }
+                    else
+                    {
+                        randomAccessFile.seek(position - 1);
+                        final int value = randomAccessFile.read();
+                        randomAccessFile.seek(position - 1);
+                        randomAccessFile.write(value ^ 0xFF);
+                    }
+                }
+
+                final BinarizableStore reopened = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+                Assert.assertEquals(4, reopened.size());
+                Assert.assertFalse(reopened.contains(4));
+
+                for (long key = 0; key < 4; key++)
+                {
+                    Assert.assertEquals(key, reopened.get(key, SchemaBinarizableTest.PointVersion2.class)
+                                                     .getAlpha());
+                }
+
+                // Corrupted tail is overwritten by next records
+                reopened.put(10, BinarizableStoreTest.point(10));
+                reopened.close();
+
+                final BinarizableStore again = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+                Assert.assertEquals(5, again.size());
+                Assert.assertEquals(10, again.get(10, SchemaBinarizableTest.PointVersion2.class)
+                                             .getAlpha());
+                again.close();
+            }
+            finally
+            {
+                UtilIO.delete(directory);
+            }
+        }
+    }
+
+    /**
+     * Put, get, remove and reopen
+     *
+     * @throws Exception On issue
+     */
+    @Test
+    public void testPutGet() throws Exception
+    {
+        final File directory = UtilIO.createTemporaryDirectory();
+
+        try
+        {
+            final BinarizableStore store = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+            store.put(1, BinarizableStoreTest.point(10));
+            store.put(2, BinarizableStoreTest.point(20));
+            store.put(1, BinarizableStoreTest.point(11));
+            Assert.assertTrue(store.remove(2));
+            Assert.assertFalse(store.remove(2));
+            Assert.assertEquals(1, store.size());
+            Assert.assertEquals(11, store.get(1, SchemaBinarizableTest.PointVersion2.class)
+                                         .getAlpha());
+            Assert.assertNull(store.get(2, SchemaBinarizableTest.PointVersion2.class));
+            store.close();
+
+            final BinarizableStore reopened = new BinarizableStore(directory, UtilIO.KILO_BYTES);
+            Assert.assertEquals(1, reopened.size());
+            Assert.assertEquals(11, reopened.get(1, SchemaBinarizableTest.PointVersion2.class)
+                                            .getAlpha());
+            Assert.assertFalse(reopened.contains(2));
+            reopened.put(3, BinarizableStoreTest.point(30));
+            Assert.assertEquals(30, reopened.get(3, SchemaBinarizableTest.PointVersion2.class)
+                                            .getAlpha());
+            reopened.close();
+        }
+        finally
+        {
+            UtilIO.delete(directory);
+        }
+    }
+}
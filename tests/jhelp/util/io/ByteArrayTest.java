@@ -1,5 +1,14 @@
 package jhelp.util.io;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -95,4 +104,269 @@ public class ByteArrayTest
       Assert.assertEquals(8, temp[5]);
       Assert.assertEquals(9, temp[6]);
    }
+
+   /**
+    * Compact format round trip and size gain
+    */
+   @Test
+   public void testCompact()
+   {
+      final int[] sorted = {-5, 0, 3, 3, 100, 1000, Integer.MAX_VALUE};
+      final int[] unsorted = {42, -1, Integer.MIN_VALUE, 7};
+      final long[] longs = {Long.MIN_VALUE, -1L, 0L, 123456789012345L, Long.MAX_VALUE};
+
+      final ByteArray fixed = new ByteArray();
+      final ByteArray compact = new ByteArray(true);
+
+      for(final ByteArray byteArray : new ByteArray[]
+      {
+            fixed, compact
+      })
+      {
+         byteArray.writeHeader();
+         byteArray.writeInteger(-3);
+         byteArray.writeLong(300L);
+         byteArray.writeString("Hello");
+         byteArray.writeString(null);
+         byteArray.writeIntegerArray(sorted);
+         byteArray.writeIntegerArray(unsorted);
+         byteArray.writeLongArray(longs);
+         byteArray.writeDouble(Math.PI);
+         byteArray.writeFloat(1.5f);
+      }
+
+      Assert.assertTrue(compact.getSize() < fixed.getSize());
+
+      for(final ByteArray byteArray : new ByteArray[]
+      {
+            fixed, compact
+      })
+      {
+         final ByteArray reader = new ByteArray();
+         reader.write(byteArray.toArray());
+         reader.readHeader();
+         Assert.assertEquals(byteArray.isCompact(), reader.isCompact());
+         Assert.assertEquals(-3, reader.readInteger());
+         Assert.assertEquals(300L, reader.readLong());
+         Assert.assertEquals("Hello", reader.readString());
+         Assert.assertNull(reader.readString());
+         Assert.assertArrayEquals(sorted, reader.readIntegerArray());
+         Assert.assertArrayEquals(unsorted, reader.readIntegerArray());
+         Assert.assertArrayEquals(longs, reader.readLongArray());
+         Assert.assertEquals(Math.PI, reader.readDouble(), 0);
+         Assert.assertEquals(1.5f, reader.readFloat(), 0);
+         Assert.assertEquals(0, reader.available());
+      }
+   }
+
+   /**
+    * Unknown header detection
+    */
+   @Test(expected = IllegalStateException.class)
+   public void testUnknownHeader()
+   {
+      final ByteArray byteArray = new ByteArray();
+      byteArray.write(0x42);
+      byteArray.readHeader();
+   }
+
+   /**
+    * Variable length integers
+    */
+   @Test
+   public void testVarInteger()
+   {
+      final ByteArray byteArray = new ByteArray();
+      byteArray.writeUnsignedVarInteger(127);
+      Assert.assertEquals(1, byteArray.getSize());
+      byteArray.writeVarInteger(-64);
+      Assert.assertEquals(2, byteArray.getSize());
+      byteArray.writeVarInteger(Integer.MIN_VALUE);
+      byteArray.writeVarLong(Long.MAX_VALUE);
+
+      Assert.assertEquals(127, byteArray.readUnsignedVarInteger());
+      Assert.assertEquals(-64, byteArray.readVarInteger());
+      Assert.assertEquals(Integer.MIN_VALUE, byteArray.readVarInteger());
+      Assert.assertEquals(Long.MAX_VALUE, byteArray.readVarLong());
+   }
+
+   /**
+    * Write to and read from channels, streams and buffers
+    *
+    * @throws Exception
+    *            On channel issue
+    */
+   @Test
+   public void testChannels() throws Exception
+   {
+      final ByteArray source = new ByteArray();
+      source.writeInteger(42);
+      source.writeString("Channel");
+      source.writeLong(-7L);
+      final byte[] content = source.toArray();
+
+      // Channel round trip
+      final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+      Assert.assertEquals(content.length, source.writeTo(Channels.newChannel(byteArrayOutputStream)));
+      Assert.assertEquals(0, source.available());
+      Assert.assertArrayEquals(content, byteArrayOutputStream.toByteArray());
+
+      ByteArray reader = new ByteArray();
+      Assert.assertEquals(content.length,
+            reader.readFrom(Channels.newChannel(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))));
+      Assert.assertEquals(42, reader.readInteger());
+      Assert.assertEquals("Channel", reader.readString());
+      Assert.assertEquals(-7L, reader.readLong());
+
+      // Partial read stops at end of stream
+      reader = new ByteArray();
+      Assert.assertEquals(4, reader.readFrom(Channels.newChannel(new ByteArrayInputStream(content)), 4));
+      Assert.assertEquals(42, reader.readInteger());
+      Assert.assertEquals(content.length - 4,
+            reader.readFrom(Channels.newChannel(new ByteArrayInputStream(content, 4, content.length)), 1000));
+      Assert.assertEquals("Channel", reader.readString());
+
+      // Stream
+      source.readFromStart();
+      source.readInteger();
+      byteArrayOutputStream.reset();
+      Assert.assertEquals(content.length - 4, source.writeTo(byteArrayOutputStream));
+      Assert.assertEquals(content.length - 4, byteArrayOutputStream.size());
+
+      // Buffers
+      final ByteBuffer byteBuffer = source.toByteBuffer();
+      Assert.assertTrue(byteBuffer.isReadOnly());
+      Assert.assertEquals(content.length, byteBuffer.remaining());
+      reader = new ByteArray();
+      reader.write(byteBuffer);
+      Assert.assertFalse(byteBuffer.hasRemaining());
+      Assert.assertArrayEquals(content, reader.toArray());
+   }
+
+   /**
+    * Gathering write to a file, then read back from the file channel
+    *
+    * @throws Exception
+    *            On file issue
+    */
+   @Test
+   public void testFileChannel() throws Exception
+   {
+      final File file = File.createTempFile("byteArray", ".bin");
+      file.deleteOnExit();
+
+      final ByteArray first = new ByteArray();
+      first.writeString("first");
+      final ByteArray second = new ByteArray();
+
+      for(int index = 0; index < 10000; index++)
+      {
+         second.writeInteger(index);
+      }
+
+      final long total = first.getSize() + second.getSize();
+      final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+
+      try
+      {
+         final FileChannel fileChannel = randomAccessFile.getChannel();
+         // Skipped header, not written by byte arrays
+         fileChannel.write(ByteBuffer.wrap(new byte[]
+         {
+               9, 9
+         }));
+         Assert.assertEquals(total, ByteArray.writeTo(fileChannel, first, second));
+         Assert.assertEquals(0, first.available());
+         Assert.assertEquals(0, second.available());
+
+         fileChannel.position(2);
+         final ByteArray reader = new ByteArray(fileChannel);
+         Assert.assertEquals(total, reader.getSize());
+         Assert.assertEquals(2 + total, fileChannel.position());
+         Assert.assertEquals("first", reader.readString());
+
+         for(int index = 0; index < 10000; index++)
+         {
+            Assert.assertEquals(index, reader.readInteger());
+         }
+
+         Assert.assertEquals(0, reader.available());
+
+         // Nothing left to read
+         Assert.assertEquals(0, new ByteArray(fileChannel).getSize());
+      }
+      finally
+      {
+         randomAccessFile.close();
+      }
+
+      Assert.assertTrue(file.delete());
+   }
+
+   /**
+    * Non blocking channels are refused, instead of spinning when they transfer nothing
+    *
+    * @throws Exception
+    *            On channel issue
+    */
+   @Test
+   public void testNonBlockingChannels() throws Exception
+   {
+      final Pipe pipe = Pipe.open();
+      pipe.source().configureBlocking(false);
+      pipe.sink().configureBlocking(false);
+      final ByteArray byteArray = new ByteArray();
+      byteArray.writeInteger(42);
+
+      try
+      {
+         byteArray.readFrom(pipe.source());
+         Assert.fail("Non blocking channel must be refused");
+      }
+      catch(final IllegalArgumentException exception)
+      {
+         // That's what we want
+      }
+
+      try
+      {
+         byteArray.readFrom(pipe.source(), 4);
+         Assert.fail("Non blocking channel must be refused");
+      }
+      catch(final IllegalArgumentException exception)
+      {
+         // That's what we want
+      }
+
+      try
+      {
+         byteArray.writeTo(pipe.sink());
+         Assert.fail("Non blocking channel must be refused");
+      }
+      catch(final IllegalArgumentException exception)
+      {
+         // That's what we want
+      }
+
+      try
+      {
+         ByteArray.writeTo(pipe.sink(), byteArray);
+         Assert.fail("Non blocking channel must be refused");
+      }
+      catch(final IllegalArgumentException exception)
+      {
+         // That's what we want
+      }
+
+      // Nothing consumed, and the same channels work once blocking
+      Assert.assertEquals(4, byteArray.available());
+      pipe.sink().configureBlocking(true);
+      pipe.source().configureBlocking(true);
+      Assert.assertEquals(4, byteArray.writeTo(pipe.sink()));
+      final ByteArray reader = new ByteArray();
+      Assert.assertEquals(4, reader.readFrom(pipe.source(), 4));
+      Assert.assertEquals(42, reader.readInteger());
+      pipe.sink().close();
+      pipe.source().close();
+   }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package jhelp.util.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Parallel copy tests
+ *
+ * @author JHelp <br>
+ */
+public class FileCopierTest
+{
+    /**
+     * Copy a tree, copy it again incrementally, then delete it
+     *
+     * @throws IOException On issue
+     */
+    @Test
+    public void testCopyTree() throws IOException
+    {
+        final File source      = UtilIO.createTemporaryDirectory();
+        final File destination = UtilIO.createTemporaryDirectory();
+
+        try
+        {
+            File directory = source;
+
+            for (int depth = 0; depth < 3; depth++)
+            {
+                for (int index = 0; index < 100; index++)
+                {
+                    UtilIO.write(new StringInputStream("content " + depth + " " + index),
+                                 new File(directory, "file" + index + ".txt"));
+                }
+
+                directory = new File(directory, "sub" + depth);
+            }
+
+            final File copy = new File(destination, "copy");
+            Assert.assertEquals(300, UtilIO.copy(source, copy, false, null));
+            final File copied = new File(copy, "sub0/sub1/file42.txt");
+            Assert.assertTrue(copied.isFile());
+            Assert.assertEquals(new File(source, "sub0/sub1/file42.txt").lastModified(), copied.lastModified());
+
+            final AtomicInteger skipped = new AtomicInteger();
+            final int number = UtilIO.copy(source, copy, true, new CopyListener()
+            {
+                @Override
+                public void copyFailed(final File source, final File destination, final IOException exception)
+                {
+                }
+
+                @Override
+                public void fileCopied(final File source, final File destination, final long size)
+                {
+                }
+
+                @Override
+                public void fileSkipped(final File source, final File destination)
+                {
+                    skipped.incrementAndGet();
+                }
+            });
+            Assert.assertEquals(0, number);
+            Assert.assertEquals(300, skipped.get());
+
+            Assert.assertTrue(UtilIO.delete(copy));
+            Assert.assertFalse(copy.exists());
+        }
+        finally
+        {
+            UtilIO.delete(source);
+            UtilIO.delete(destination);
+        }
+    }
+
+    /**
+     * Missing source is reported, not silently ignored
+     *
+     * @throws IOException On issue
+     */
+    @Test
+    public void testMissingSource() throws IOException
+    {
+        final File destination = UtilIO.createTemporaryDirectory();
+
+        try
+        {
+            UtilIO.copy(new File(destination, "missing"), new File(destination, "copy"), false, null);
+            Assert.fail("Missing source must be refused");
+        }
+        catch (final FileNotFoundException exception)
+        {
+            // That's what we want
+        }
+        finally
+        {
+            UtilIO.delete(destination);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package jhelp.util.io;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * File hasher tests
+ *
+ * @author JHelp <br>
+ */
+public class FileHasherTest
+{
+    /**
+     * Digests are same as stream ones, and cache survive a reload
+     *
+     * @throws Exception On issue
+     */
+    @Test
+    public void testCompute() throws Exception
+    {
+        final File directory = UtilIO.createTemporaryDirectory();
+
+        try
+        {
+            final List<File> files = new ArrayList<File>();
+            File             file;
+
+            for (int index = 0; index < 20; index++)
+            {
+                file = new File(directory, "file" + index);
+                UtilIO.write(new StringInputStream("Some content " + index), file);
+                files.add(file);
+            }
+
+            final File       cacheFile  = new File(directory, "cache/digests");
+            final FileHasher fileHasher = new FileHasher(4, cacheFile);
+            final Map<File, String> digests = fileHasher.compute(files, FileHasher.Algorithm.MD5_SHA_ID);
+            Assert.assertEquals(20, digests.size());
+            Assert.assertEquals(UtilIO.computeMD5_SHA_ID(new StringInputStream("Some content 7")),
+                                digests.get(files.get(7)));
+            Assert.assertEquals(UtilIO.computeSHA(new StringInputStream("Some content 3")),
+                                UtilIO.computeSHA(files.get(3)));
+            Assert.assertNull(UtilIO.computeMD5(directory));
+            fileHasher.saveCache();
+
+            final FileHasher reloaded = new FileHasher(1, cacheFile);
+            Assert.assertEquals(20, reloaded.cacheSize());
+            Assert.assertEquals(UtilIO.computeMD5(new StringInputStream("Some content 5")),
+                                reloaded.compute(files.get(5), FileHasher.Algorithm.MD5));
+        }
+        finally
+        {
+            UtilIO.delete(directory);
+        }
+    }
+}
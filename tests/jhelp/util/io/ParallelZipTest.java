@@ -0,0 +1,154 @@
+package jhelp.util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Parallel zip tests
+ *
+ * @author JHelp <br>
+ */
+public class ParallelZipTest
+{
+    /**
+     * Read a file content
+     *
+     * @param file File to read
+     * @return File content
+     * @throws IOException On reading issue
+     */
+    private static byte[] content(final File file) throws IOException
+    {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        UtilIO.write(file, byteArrayOutputStream);
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Write a file
+     *
+     * @param file    File to write
+     * @param content File content
+     * @throws IOException On writing issue
+     */
+    private static void write(final File file, final byte[] content) throws IOException
+    {
+        UtilIO.createFile(file);
+
+        try (FileOutputStream fileOutputStream = new FileOutputStream(file))
+        {
+            fileOutputStream.write(content);
+        }
+    }
+
+    /**
+     * CRC combination is same as CRC of concatenation
+     */
+    @Test
+    public void testCombineCRC()
+    {
+        final byte[] data = new byte[1000];
+        new Random(42).nextBytes(data);
+        final CRC32 crc32 = new CRC32();
+        crc32.update(data, 0, 300);
+        final long crc1 = crc32.getValue();
+        crc32.reset();
+        crc32.update(data, 300, 700);
+        final long crc2 = crc32.getValue();
+        crc32.reset();
+        crc32.update(data);
+        Assert.assertEquals(crc32.getValue(), ParallelZip.combineCRC(crc1, crc2, 700));
+    }
+
+    /**
+     * Zip then read with standard reader and parallel unzip
+     *
+     * @throws IOException On issue
+     */
+    @Test
+    public void testZipUnzip() throws IOException
+    {
+        final File source = UtilIO.createTemporaryDirectory();
+        final File target = UtilIO.createTemporaryDirectory();
+
+        try
+        {
+            final Map<String, byte[]> expected = new HashMap<String, byte[]>();
+            final StringBuilder       text     = new StringBuilder();
+
+            for (int index = 0; text.length() < 3 * ParallelZip.CHUNK_SIZE; index++)
+            {
+                text.append("Line number ")
+                    .append(index)
+                    .append(" of the compressible text\n");
+            }
+
+            final byte[] random = new byte[ParallelZip.CHUNK_SIZE * 5 / 2];
+            new Random(73).nextBytes(random);
+            expected.put("text.txt", text.toString()
+                                         .getBytes("UTF-8"));
+            expected.put("random.bin", random);
+            expected.put("empty", new byte[0]);
+            expected.put("sub/small.txt", "Hello".getBytes("UTF-8"));
+            expected.put("sub/deep/summer.txt", "Summer".getBytes("UTF-8"));
+
+            for (final Map.Entry<String, byte[]> entry : expected.entrySet())
+            {
+                ParallelZipTest.write(new File(source, entry.getKey()), entry.getValue());
+            }
+
+            final ByteArrayOutputStream zip = new ByteArrayOutputStream();
+            new ParallelZip(3).zip(source, zip, true, Deflater.DEFAULT_COMPRESSION);
+            Assert.assertTrue(zip.size() < random.length + text.length() / 2);
+
+            // Standard stream reader
+            final ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()));
+            ZipEntry             zipEntry       = zipInputStream.getNextEntry();
+            int                  count          = 0;
+
+            while (zipEntry != null)
+            {
+                final ByteArrayOutputStream read = new ByteArrayOutputStream();
+                UtilIO.write(zipInputStream, read);
+                Assert.assertTrue(zipEntry.getName(),
+                                  Arrays.equals(expected.get(zipEntry.getName()), read.toByteArray()));
+                count++;
+                zipEntry = zipInputStream.getNextEntry();
+            }
+
+            Assert.assertEquals(expected.size(), count);
+
+            // Parallel unzip, that use central directory
+            final File zipFile = new File(target, "archive.zip");
+            ParallelZipTest.write(zipFile, zip.toByteArray());
+            final File extracted = new File(target, "extracted");
+            UtilIO.unzip(extracted, zipFile);
+
+            for (final Map.Entry<String, byte[]> entry : expected.entrySet())
+            {
+                Assert.assertTrue(entry.getKey(), Arrays.equals(entry.getValue(),
+                                                                ParallelZipTest.content(
+                                                                        new File(extracted, entry.getKey()))));
+            }
+        }
+        finally
+        {
+            UtilIO.delete(source);
+            UtilIO.delete(target);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package jhelp.util.io;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Schema binarizable tests
+ *
+ * @author JHelp <br>
+ */
+public class SchemaBinarizableTest
+{
+    /**
+     * Name key
+     */
+    public static final String NAME       = "name";
+    /**
+     * Visibility key
+     */
+    public static final String VISIBILITY = "visibility";
+    /**
+     * X key
+     */
+    public static final String X          = "x";
+
+    /**
+     * Change version test
+     */
+    @Test
+    public void testConvert()
+    {
+        final ByteArray     byteArray     = new ByteArray();
+        final PointVersion1 pointVersion1 = new PointVersion1();
+        pointVersion1.setX(123);
+        pointVersion1.setVisible(false);
+        pointVersion1.serializeBinary(byteArray);
+
+        final PointVersion2 pointVersion2 = new PointVersion2();
+        pointVersion2.parseBinary(byteArray);
+        Assert.assertEquals(123, pointVersion2.getX());
+        Assert.assertEquals(0, pointVersion2.getAlpha());
+        Assert.assertEquals("point", pointVersion2.getName());
+
+        pointVersion2.setAlpha(128);
+        pointVersion2.setName("moved");
+        byteArray.clear();
+        pointVersion2.serializeBinary(byteArray);
+
+        pointVersion1.parseBinary(byteArray);
+        Assert.assertEquals(123, pointVersion1.getX());
+        Assert.assertTrue(pointVersion1.isVisible());
+    }
+
+    /**
+     * Names are written once per byte array
+     *
+     * @throws Exception On issue
+     */
+    @Test
+    public void testDictionary() throws Exception
+    {
+        final ByteArray byteArray = new ByteArray();
+        final int       count     = 100;
+        PointVersion2   point;
+
+        for (int index = 0; index < count; index++)
+        {
+            point = new PointVersion2();
+            point.setAlpha(index);
+            byteArray.writeBinarizable(point);
+        }
+
+        final int size = byteArray.getSize();
+        point = new PointVersion2();
+        point.setAlpha(count);
+        byteArray.writeBinarizable(point);
+        // Names are not repeated : 1 flag + 4 marker + 1 count + 3 identifiers + 4 x + 4 alpha + 9 name
+        Assert.assertEquals(26, byteArray.getSize() - size);
+
+        for (int index = 0; index <= count; index++)
+        {
+            Assert.assertEquals(index, byteArray.readBinarizable(PointVersion2.class)
+                                                .getAlpha());
+        }
+    }
+
+    /**
+     * Corrupted field type is refused
+     *
+     * @throws Exception On issue
+     */
+    @Test
+    public void testCorruptedType() throws Exception
+    {
+        final ByteArray byteArray = new ByteArray();
+        byteArray.write(3);
+        byteArray.write(200);
+        Assert.assertEquals(3, SchemaBinarizable.readTypeOrdinal(byteArray));
+
+        for (int time = 0; time < 2; time++)
+        {
+            // 200 : unknown type, then -1 : end of stream
+            try
+            {
+                SchemaBinarizable.readTypeOrdinal(byteArray);
+                Assert.fail("Invalid type must be refused");
+            }
+            catch (final IOException exception)
+            {
+                // That's what we want
+            }
+        }
+
+        // Corrupted record not stored
+        byteArray.clear();
+        byteArray.writeInteger(-2);
+        byteArray.writeUnsignedVarInteger(1);
+        byteArray.writeUnsignedVarInteger(1);
+        byteArray.writeString(SchemaBinarizableTest.X);
+        byteArray.write(200);
+        byteArray.writeInteger(5);
+        final PointVersion1 pointVersion1 = new PointVersion1();
+        pointVersion1.setX(7);
+
+        try
+        {
+            pointVersion1.parseBinary(byteArray);
+            Assert.fail("Corrupted stream must be refused");
+        }
+        catch (final IllegalArgumentException exception)
+        {
+            Assert.assertTrue(exception.getCause() instanceof IOException);
+        }
+
+        // Nothing kept from before or from the partial read
+        Assert.assertEquals(0, pointVersion1.getX());
+    }
+
+    /**
+     * Read data written by {@link HashmapedBinarizable}
+     */
+    @Test
+    public void testHashmapedBinarizable()
+    {
+        final ByteArray                              byteArray     = new ByteArray();
+        final HashmapedBinarizableTest.ImageVersion2 imageVersion2 = new HashmapedBinarizableTest.ImageVersion2();
+        imageVersion2.setPosition(42, 24);
+        imageVersion2.setAlpha(12);
+        imageVersion2.serializeBinary(byteArray);
+
+        final PointVersion2 pointVersion2 = new PointVersion2();
+        pointVersion2.parseBinary(byteArray);
+        Assert.assertEquals(42, pointVersion2.getX());
+        Assert.assertEquals(12, pointVersion2.getAlpha());
+        Assert.assertEquals("point", pointVersion2.getName());
+    }
+
+    /**
+     * Point representation version 1
+     *
+     * @author JHelp <br>
+     */
+    public static class PointVersion1
+            extends SchemaBinarizable
+    {
+        /**
+         * Create a new instance of PointVersion1
+         */
+        public PointVersion1()
+        {
+        }
+
+        /**
+         * Convert : nothing to convert in version 1
+         *
+         * @param name      Variable name
+         * @param value     Variable current value
+         * @param actual    Variable current type
+         * @param toConvert Desired type
+         * @return {@code null}
+         */
+        @Override
+        protected Object convert(final String name, final Object value, final HashmapedBinarizable.Type actual,
+                                 final HashmapedBinarizable.Type toConvert)
+        {
+            return null;
+        }
+
+        /**
+         * Initialize point representation
+         */
+        @Override
+        protected void initializeFields()
+        {
+            this.put(SchemaBinarizableTest.X, 0);
+            this.put(SchemaBinarizableTest.VISIBILITY, true);
+        }
+
+        /**
+         * X position
+         *
+         * @return X
+         */
+        public int getX()
+        {
+            return this.forceGet(SchemaBinarizableTest.X, 0);
+        }
+
+        /**
+         * Change X
+         *
+         * @param x New X
+         */
+        public void setX(final int x)
+        {
+            this.forcePut(SchemaBinarizableTest.X, x);
+        }
+
+        /**
+         * Point visibility
+         *
+         * @return Point visibility
+         */
+        public boolean isVisible()
+        {
+            return this.forceGet(SchemaBinarizableTest.VISIBILITY, true);
+        }
+
+        /**
+         * Change visibility
+         *
+         * @param visible Visibility status
+         */
+        public void setVisible(final boolean visible)
+        {
+            this.forcePut(SchemaBinarizableTest.VISIBILITY, visible);
+        }
+    }
+
+    /**
+     * Point representation version 2 : visibility becomes alpha and a name is added
+     *
+     * @author JHelp <br>
+     */
+    public static class PointVersion2
+            extends SchemaBinarizable
+    {
+        /**
+         * Create a new instance of PointVersion2
+         */
+        public PointVersion2()
+        {
+        }
+
+        /**
+         * Convert visibility to alpha
+         *
+         * @param name      Variable name
+         * @param value     Variable current value
+         * @param actual    Variable current type
+         * @param toConvert Desired type
+         * @return Converted value or {@code null} if can't be converted
+         */
+        @Override
+        protected Object convert(final String name, final Object value, final HashmapedBinarizable.Type actual,
+                                 final HashmapedBinarizable.Type toConvert)
+        {
+            if ((SchemaBinarizableTest.VISIBILITY.equals(name)) && (actual == HashmapedBinarizable.Type.BOOLEAN)
+                && (toConvert == HashmapedBinarizable.Type.INT))
+            {
+                if ((Boolean) value)
+                {
+                    return 255;
+                }
+
+                return 0;
+            }
+
+            return null;
+        }
+
+        /**
+         * Initialize point representation
+         */
+        @Override
+        protected void initializeFields()
+        {
+            this.put(SchemaBinarizableTest.X, 0);
+            this.put(SchemaBinarizableTest.VISIBILITY, 255);
+            this.put(SchemaBinarizableTest.NAME, "point");
+        }
+
+        /**
+         * Point alpha
+         *
+         * @return Point alpha
+         */
+        public int getAlpha()
+        {
+            return this.forceGet(SchemaBinarizableTest.VISIBILITY, 255);
+        }
+
+        /**
+         * Change alpha
+         *
+         * @param alpha New alpha
+         */
+        public void setAlpha(final int alpha)
+        {
+            this.forcePut(SchemaBinarizableTest.VISIBILITY, alpha);
+        }
+
+        /**
+         * Point name
+         *
+         * @return Point name
+         */
+        public String getName()
+        {
+            return this.forceGet(SchemaBinarizableTest.NAME, "point");
+        }
+
+        /**
+         * Change name
+         *
+         * @param name New name
+         */
+        public void setName(final String name)
+        {
+            this.forcePut(SchemaBinarizableTest.NAME, name);
+        }
+
+        /**
+         * X position
+         *
+         * @return X
+         */
+        public int getX()
+        {
+            return this.forceGet(SchemaBinarizableTest.X, 0);
+        }
+    }
+}
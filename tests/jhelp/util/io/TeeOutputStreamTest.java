@@ -0,0 +1,281 @@
+package jhelp.util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tee stream tests
+ *
+ * @author JHelp <br>
+ */
+public class TeeOutputStreamTest
+{
+    /**
+     * Mirror that waits at each write, like a slow disk
+     */
+    static class SlowOutputStream
+            extends ByteArrayOutputStream
+    {
+        /**
+         * Number of flushes
+         */
+        int        flushes;
+        /**
+         * Milliseconds to wait at each write
+         */
+        final long pause;
+
+        /**
+         * Create a new instance of SlowOutputStream
+         *
+         * @param pause Milliseconds to wait at each write
+         */
+        SlowOutputStream(final long pause)
+        {
+            this.pause = pause;
+        }
+
+        /**
+         * Count flushes
+         */
+        @Override
+        public void flush()
+        {
+            this.flushes++;
+        }
+
+        /**
+         * Wait then write
+         *
+         * @param b   Bytes
+         * @param off Offset
+         * @param len Length
+         */
+        @Override
+        public synchronized void write(final byte[] b, final int off, final int len)
+        {
+            try
+            {
+                Thread.sleep(this.pause);
+            }
+            catch (final InterruptedException ignored)
+            {
+            }
+
+            super.write(b, off, len);
+        }
+    }
+
+    /**
+     * Create random data
+     *
+     * @param size Data size
+     * @return Random data
+     */
+    private static byte[] data(final int size)
+    {
+        final byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    /**
+     * Block policy : everything arrives in order, flushes are batched
+     *
+     * @throws IOException On issue
+     */
+    @Test
+    public void testBlock() throws IOException
+    {
+        final byte[]           data             = TeeOutputStreamTest.data(100000);
+        final SlowOutputStream slowOutputStream = new SlowOutputStream(1);
+        final TeeOutputStream  teeOutputStream  = new TeeOutputStream(slowOutputStream, 1000, TeeOverflowPolicy.BLOCK);
+
+        for (int offset = 0; offset < data.length; offset += 100)
+        {
+            teeOutputStream.write(data, offset, 100);
+            teeOutputStream.flush();
+        }
+
+        teeOutputStream.drain();
+        Assert.assertEquals(0, teeOutputStream.getLag());
+        Assert.assertEquals(data.length, teeOutputStream.getWrittenBytes());
+        teeOutputStream.close();
+        Assert.assertArrayEquals(data, slowOutputStream.toByteArray());
+        Assert.assertEquals(0, teeOutputStream.getDroppedBytes());
+        Assert.assertTrue("Too many flushes : " + slowOutputStream.flushes, slowOutputStream.flushes < 1000);
+    }
+
+    /**
+     * Drop policy : writer never waits, dropped bytes are counted, kept writes are not cut
+     *
+     * @throws IOException On issue
+     */
+    @Test
+    public void testDrop() throws IOException
+    {
+        final byte[]           data             = new byte[50];
+        final SlowOutputStream slowOutputStream = new SlowOutputStream(20);
+        final TeeOutputStream  teeOutputStream  = new TeeOutputStream(slowOutputStream, 200, TeeOverflowPolicy.DROP);
+        final long             start            = System.currentTimeMillis();
+
+        for (int index = 0; index < 200; index++)
+        {
+            teeOutputStream.write(data);
+        }
+
+        Assert.assertTrue("Writer waited the mirror", System.currentTimeMillis() - start < 1000);
+        teeOutputStream.close();
+        Assert.assertTrue(teeOutputStream.getDroppedBytes() > 0);
+        Assert.assertEquals(200 * 50, teeOutputStream.getDroppedBytes() + teeOutputStream.getWrittenBytes());
+        Assert.assertEquals(0, slowOutputStream.size() % 50);
+        Assert.assertEquals(teeOutputStream.getWrittenBytes(), slowOutputStream.size());
+    }
+
+    /**
+     * Spill policy : writer never waits the mirror, everything arrives in order
+     *
+     * @throws IOException On issue
+     */
+    @Test
+    public void testSpill() throws IOException
+    {
+        final byte[]           data             = TeeOutputStreamTest.data(100000);
+        final SlowOutputStream slowOutputStream = new SlowOutputStream(2);
+        final TeeOutputStream  teeOutputStream  = new TeeOutputStream(slowOutputStream, 1000, TeeOverflowPolicy.SPILL);
+
+        for (int offset = 0; offset < data.length; offset += 700)
+        {
+            teeOutputStream.write(data, offset, Math.min(700, data.length - offset));
+        }
+
+        Assert.assertTrue(teeOutputStream.getSpilledBytes() > 0);
+        Assert.assertTrue(teeOutputStream.getLag() > 0);
+        teeOutputStream.close();
+        Assert.assertArrayEquals(data, slowOutputStream.toByteArray());
+        Assert.assertEquals(0, teeOutputStream.getDroppedBytes());
+    }
+
+    /**
+     * Single byte writes keep the order with all policies, also when mixed with spilled writes
+     *
+     * @throws IOException On issue
+     */
+    @Test
+    public void testSingleBytes() throws IOException
+    {
+        final byte[] data = TeeOutputStreamTest.data(20000);
+
+        for (final TeeOverflowPolicy policy : new TeeOverflowPolicy[]{TeeOverflowPolicy.BLOCK,
+                                                                     TeeOverflowPolicy.SPILL})
+        {
+            final SlowOutputStream slowOutputStream = new SlowOutputStream(1);
+            final TeeOutputStream  teeOutputStream  = new TeeOutputStream(slowOutputStream, 100, policy);
+
+            for (int offset = 0; offset < data.length; offset += 1000)
+            {
+                teeOutputStream.write(data, offset, 500);
+
+                for (int index = offset + 500; index < offset + 1000; index++)
+                {
+                    teeOutputStream.write(data[index]);
+                }
+            }
+
+            teeOutputStream.close();
+            Assert.assertArrayEquals(policy.name(), data, slowOutputStream.toByteArray());
+            Assert.assertEquals(data.length, teeOutputStream.getWrittenBytes());
+        }
+
+        final TeeOutputStream teeOutputStream = new TeeOutputStream(new ByteArrayOutputStream(), 100,
+                                                                    TeeOverflowPolicy.DROP);
+        teeOutputStream.close();
+
+        try
+        {
+            teeOutputStream.write(1);
+            Assert.fail("Closed stream must refuse write");
+        }
+        catch (final IOException exception)
+        {
+            // That's what we want
+        }
+    }
+
+    /**
+     * Copy streams copy everything
+     *
+     * @throws IOException On issue
+     */
+    @Test
+    public void testCopyStreams() throws IOException
+    {
+        final byte[]                data            = TeeOutputStreamTest.data(30000);
+        final ByteArrayOutputStream copy            = new ByteArrayOutputStream();
+        final InputStreamCopy       inputStreamCopy = new InputStreamCopy(new ByteArrayInputStream(data), copy);
+        final ByteArrayOutputStream read            = new ByteArrayOutputStream();
+        Assert.assertEquals(10, inputStreamCopy.skip(10));
+        read.write(data, 0, 10);
+        read.write(inputStreamCopy.read());
+        UtilIO.write(inputStreamCopy, read);
+        inputStreamCopy.close();
+        Assert.assertArrayEquals(data, read.toByteArray());
+        Assert.assertArrayEquals(data, copy.toByteArray());
+
+        final ByteArrayOutputStream destination      = new ByteArrayOutputStream();
+        final ByteArrayOutputStream copy2            = new ByteArrayOutputStream();
+        final OutputStreamCopy      outputStreamCopy = new OutputStreamCopy(destination, copy2);
+        outputStreamCopy.write(data, 0, 100);
+        outputStreamCopy.write(data[100]);
+        outputStreamCopy.write(data, 101, data.length - 101);
+        outputStreamCopy.close();
+        Assert.assertArrayEquals(data, destination.toByteArray());
+        Assert.assertArrayEquals(data, copy2.toByteArray());
+    }
+
+    /**
+     * Copy stream closed even if the input stream fails to close
+     *
+     * @throws IOException On issue
+     */
+    @Test
+    public void testCloseFailure() throws IOException
+    {
+        final boolean[]             closed          = new boolean[1];
+        final ByteArrayOutputStream copy            = new ByteArrayOutputStream()
+        {
+            @Override
+            public void close()
+            {
+                closed[0] = true;
+            }
+        };
+        final InputStreamCopy       inputStreamCopy = new InputStreamCopy(new ByteArrayInputStream(new byte[10])
+        {
+            @Override
+            public void close() throws IOException
+            {
+                throw new IOException("Close failed");
+            }
+        }, copy);
+        Assert.assertEquals(0, inputStreamCopy.read());
+
+        try
+        {
+            inputStreamCopy.close();
+            Assert.fail("Input close failure must be reported");
+        }
+        catch (final IOException exception)
+        {
+            // That's what we want
+        }
+
+        Assert.assertTrue(closed[0]);
+        Assert.assertEquals(1, copy.size());
+    }
+}
@@ -4,6 +4,9 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
 
 /**
  * Base 64 tests
@@ -13,11 +16,11 @@ import java.io.UnsupportedEncodingException;
 public class Base64CommonTest
 {
     /**
-     * Deactivated test
+     * Round trip test
      *
      * @throws UnsupportedEncodingException On issue
      */
-    // @ Test
+    @Test
     public void test() throws UnsupportedEncodingException
     {
         final String[] tests =
@@ -61,4 +64,85 @@ public class Base64CommonTest
         Assert.assertEquals("Char=+", '+', Base64Common.getSymbol(Base64Common.getIndex('+')));
         Assert.assertEquals("Char=/", '/', Base64Common.getSymbol(Base64Common.getIndex('/')));
     }
-}
\ No newline at end of file
+
+    /**
+     * Compare with JDK codec for all variants and many lengths (to cover unrolled loops and tails)
+     */
+    @Test
+    public void testVariants()
+    {
+        final Random random = new Random(42);
+        byte[]       binary;
+        String       base64;
+
+        for (int length = 0; length < 200; length++)
+        {
+            binary = new byte[length];
+            random.nextBytes(binary);
+
+            base64 = Base64Common.toBase64(binary);
+            Assert.assertEquals(java.util.Base64.getEncoder()
+                                                .encodeToString(binary), base64);
+            Assert.assertArrayEquals(binary, Base64Common.fromBase64(base64));
+
+            base64 = Base64Common.toBase64(binary, Base64Variant.URL_SAFE);
+            Assert.assertEquals(java.util.Base64.getUrlEncoder()
+                                                .withoutPadding()
+                                                .encodeToString(binary), base64);
+            Assert.assertArrayEquals(binary, Base64Common.fromBase64(base64, Base64Variant.URL_SAFE));
+            Assert.assertArrayEquals(binary, Base64Common.fromBase64(java.util.Base64.getUrlEncoder()
+                                                                                      .encodeToString(binary),
+                                                                     Base64Variant.URL_SAFE));
+
+            base64 = Base64Common.toBase64(binary, Base64Variant.MIME);
+            Assert.assertEquals(java.util.Base64.getMimeEncoder()
+                                                .encodeToString(binary), base64);
+            Assert.assertArrayEquals(binary, Base64Common.fromBase64(base64, Base64Variant.MIME));
+            Assert.assertEquals(base64.length(), Base64Common.encodedLength(length, Base64Variant.MIME));
+        }
+    }
+
+    /**
+     * Buffers encoding/decoding, heap and direct
+     */
+    @Test
+    public void testByteBuffer()
+    {
+        final byte[] binary = new byte[1000];
+        new Random(7).nextBytes(binary);
+        final int length = Base64Common.encodedLength(binary.length, Base64Variant.STANDARD);
+
+        for (final boolean direct : new boolean[]{false, true})
+        {
+            final ByteBuffer source = direct
+                                      ? ByteBuffer.allocateDirect(binary.length)
+                                      : ByteBuffer.allocate(binary.length);
+            source.put(binary);
+            source.flip();
+            final ByteBuffer encoded = direct
+                                       ? ByteBuffer.allocateDirect(length)
+                                       : ByteBuffer.allocate(length);
+            Base64Common.encode(source, encoded, Base64Variant.STANDARD);
+            Assert.assertFalse(source.hasRemaining());
+            Assert.assertFalse(encoded.hasRemaining());
+            encoded.flip();
+            final ByteBuffer decoded = ByteBuffer.allocate(binary.length);
+            Base64Common.decode(encoded, decoded, Base64Variant.STANDARD);
+            Assert.assertFalse(decoded.hasRemaining());
+            Assert.assertArrayEquals(binary, decoded.array());
+        }
+    }
+
+    /**
+     * Invalid symbols detection
+     */
+    @Test
+    public void testInvalid()
+    {
+        Assert.assertNull(Base64Common.fromBase64("AAAAAAAAAAAAAAAAAAA*AAAAAAAA"));
+        Assert.assertNull(Base64Common.fromBase64("AAAAA"));
+        Assert.assertNull(Base64Common.fromBase64("AA-_"));
+        Assert.assertTrue(Arrays.equals(new byte[]{(byte) 0xFB, (byte) 0xFF},
+                                        Base64Common.fromBase64("-_8", Base64Variant.URL_SAFE)));
+    }
+}
@@ -1,7 +1,9 @@
 package jhelp.util.io.base64;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -37,4 +39,60 @@ public class Base64InputStreamTest
 
       base64InputStream.close();
    }
-}
\ No newline at end of file
+
+   /**
+    * Big stream, bigger than internal block, with MIME lines
+    * 
+    * @throws IOException
+    *            On I/O issue
+    */
+   @Test
+   public void testBig() throws IOException
+   {
+      final byte[] binary = new byte[100000];
+      new Random(3).nextBytes(binary);
+
+      for(final Base64Variant variant : Base64Variant.values())
+      {
+         final byte[] symbols = Base64Common.toBase64(binary, variant)
+                                            .getBytes("ISO-8859-1");
+         final Base64InputStream base64InputStream = new Base64InputStream(new ByteArrayInputStream(symbols),
+               variant);
+         final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+         Assert.assertEquals(binary[0] & 0xFF, base64InputStream.read());
+         Assert.assertEquals(10, base64InputStream.skip(10));
+         byteArrayOutputStream.write(binary, 0, 11);
+         final byte[] buffer = new byte[777];
+         int read = base64InputStream.read(buffer);
+
+         while(read >= 0)
+         {
+            byteArrayOutputStream.write(buffer, 0, read);
+            read = base64InputStream.read(buffer);
+         }
+
+         base64InputStream.close();
+         Assert.assertArrayEquals(variant.name(), binary, byteArrayOutputStream.toByteArray());
+      }
+   }
+
+   /**
+    * Invalid symbol detection
+    */
+   @Test
+   public void testInvalid()
+   {
+      try
+      {
+         final Base64InputStream base64InputStream = new Base64InputStream(new ByteArrayInputStream(
+               "AAAA*AAA".getBytes()));
+         base64InputStream.read();
+         base64InputStream.close();
+         Assert.fail("Invalid symbol not detected");
+      }
+      catch(final IOException exception)
+      {
+         // That what we want
+      }
+   }
+}
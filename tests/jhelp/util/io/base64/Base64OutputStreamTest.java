@@ -2,6 +2,7 @@ package jhelp.util.io.base64;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -39,4 +40,35 @@ public class Base64OutputStreamTest
       Assert.assertEquals((byte) 0x45, array[2]);
       Assert.assertEquals((byte) 0x43, array[3]);
    }
-}
\ No newline at end of file
+
+   /**
+    * Write by pieces and by bytes, flushes in the middle, compare with JDK codec
+    * 
+    * @throws IOException
+    *            On writing issue
+    */
+   @Test
+   public void testPieces() throws IOException
+   {
+      final byte[] binary = new byte[10001];
+      new Random(5).nextBytes(binary);
+
+      for(final Base64Variant variant : Base64Variant.values())
+      {
+         final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+         final Base64OutputStream base64OutputStream = new Base64OutputStream(byteArrayOutputStream, variant);
+         base64OutputStream.write(binary[0]);
+         base64OutputStream.flush();
+         base64OutputStream.write(binary, 1, 4000);
+         base64OutputStream.flush();
+         base64OutputStream.write(binary[4001]);
+         base64OutputStream.write(binary, 4002, binary.length - 4002);
+         base64OutputStream.close();
+         Assert.assertEquals(variant.name(), Base64Common.toBase64(binary, variant),
+               new String(byteArrayOutputStream.toByteArray(), "ISO-8859-1"));
+      }
+
+      Assert.assertEquals(java.util.Base64.getMimeEncoder()
+                                          .encodeToString(binary), Base64Common.toBase64(binary, Base64Variant.MIME));
+   }
+}
@@ -0,0 +1,144 @@
+package jhelp.util.io.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import jhelp.util.io.ByteArray;
+
+/**
+ * Test of {@link JSONBinary}.
+ */
+public class TestJSONBinary
+{
+    /**
+     * Write then read back a text JSON.
+     */
+    @Test
+    public void testRoundTrip() throws JSONException
+    {
+        String json = "{\"name\":\"été 😀\",\"count\":42,\"negative\":-7,\"real\":-2.5,\"big\":1.0E300,"
+                      + "\"flag\":true,\"off\":false,\"nothing\":null,\"empty\":{},\"list\":[1,\"two\",[3.5,{}],null],"
+                      + "\"escaped\":\"a\\\"b\\\\c\"}";
+        ObjectJSON objectJSON = ObjectJSON.parse(json);
+        ByteArray  byteArray  = new ByteArray();
+        JSONBinary.write(objectJSON, byteArray);
+        ObjectJSON read = JSONBinary.readObject(byteArray);
+        Assert.assertEquals(objectJSON, read);
+        Assert.assertEquals(objectJSON.hashCode(), read.hashCode());
+        Assert.assertEquals(ObjectJSON.parse(read.toString()), objectJSON);
+        Assert.assertEquals(42, read.getInt("count", 0));
+        Assert.assertEquals(-2.5, read.getDouble("real", 0), 0);
+        Assert.assertEquals("a\\\"b\\\\c", read.getString("escaped", null));
+
+        ArrayJSON arrayJSON = objectJSON.getArray("list");
+        byteArray = new ByteArray();
+        JSONBinary.write(arrayJSON, byteArray);
+        Assert.assertEquals(arrayJSON, JSONBinary.readArray(byteArray));
+    }
+
+    /**
+     * Repeated keys are written once.
+     */
+    @Test
+    public void testKeyDictionary() throws JSONException
+    {
+        ArrayJSON arrayJSON = new ArrayJSON();
+
+        for (int i = 0; i < 100; i++)
+        {
+            ObjectJSON element = new ObjectJSON();
+            element.put("identifier", i);
+            element.put("description", "d" + i);
+            arrayJSON.addValue(element);
+        }
+
+        ByteArray byteArray = new ByteArray();
+        JSONBinary.write(arrayJSON, byteArray);
+        Assert.assertTrue("Keys not shared, size=" + byteArray.getSize(), byteArray.getSize() < 100 * 15);
+        Assert.assertTrue(byteArray.getSize() * 3 < arrayJSON.toString()
+                                                            .length());
+        Assert.assertEquals(arrayJSON, JSONBinary.readArray(byteArray));
+    }
+
+    /**
+     * Binary content is written as is and equals its Base64 text form.
+     */
+    @Test
+    public void testBinary() throws IOException, JSONException
+    {
+        byte[] data = new byte[1000];
+
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) (i * 31);
+        }
+
+        ObjectJSON objectJSON = new ObjectJSON();
+        objectJSON.put("data", ValueJSON.newValue(new ByteArrayInputStream(data)));
+        Assert.assertTrue(objectJSON.get("data")
+                                    .isBinary());
+
+        ByteArray byteArray = new ByteArray();
+        JSONBinary.write(objectJSON, byteArray);
+        Assert.assertTrue(byteArray.getSize() < data.length + 16);
+        ObjectJSON read = JSONBinary.readObject(byteArray);
+        Assert.assertArrayEquals(data, read.get("data")
+                                           .getBinary());
+
+        ObjectJSON text = ObjectJSON.parse(objectJSON.toString());
+        Assert.assertFalse(text.get("data")
+                               .isBinary());
+        Assert.assertEquals(text, read);
+        Assert.assertEquals(read, text);
+        Assert.assertEquals(text.hashCode(), read.hashCode());
+        Assert.assertArrayEquals(data, text.get("data")
+                                           .getBinary());
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        read.get("data")
+            .getBinary(byteArrayOutputStream);
+        Assert.assertArrayEquals(data, byteArrayOutputStream.toByteArray());
+    }
+
+    /**
+     * Invalid data detection.
+     */
+    @Test
+    public void testInvalid()
+    {
+        ByteArray byteArray = new ByteArray();
+        byteArray.write(new byte[]{0x12, 0x34});
+
+        try
+        {
+            JSONBinary.read(byteArray);
+            Assert.fail("Bad magic not detected");
+        }
+        catch (JSONException exception)
+        {
+            //That what we want
+        }
+
+        ObjectJSON objectJSON = new ObjectJSON();
+        objectJSON.put("key", "value");
+        byteArray = new ByteArray();
+        JSONBinary.write(objectJSON, byteArray);
+        byte[] truncated = byteArray.toArray();
+        byteArray = new ByteArray();
+        byteArray.write(truncated, 0, truncated.length - 2);
+
+        try
+        {
+            JSONBinary.read(byteArray);
+            Assert.fail("Truncated data not detected");
+        }
+        catch (JSONException exception)
+        {
+            //That what we want
+        }
+    }
+}
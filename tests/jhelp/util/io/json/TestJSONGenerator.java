@@ -0,0 +1,271 @@
+package jhelp.util.io.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test of {@link JSONGenerator}.
+ */
+public class TestJSONGenerator
+{
+    /**
+     * Generate with a generator on stream.
+     *
+     * @param compact Indicates if compact mode
+     * @param content Content to generate
+     * @return Generated JSON
+     */
+    private static String generate(boolean compact, Content content) throws IOException
+    {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+
+        try (JSONGenerator jsonGenerator = new JSONGenerator(byteArrayOutputStream, compact))
+        {
+            content.generate(jsonGenerator);
+        }
+
+        String       string       = byteArrayOutputStream.toString("UTF-8");
+        StringWriter stringWriter = new StringWriter();
+
+        try (JSONGenerator jsonGenerator = new JSONGenerator(stringWriter, compact))
+        {
+            content.generate(jsonGenerator);
+        }
+
+        Assert.assertEquals(string, stringWriter.toString());
+        return string;
+    }
+
+    /**
+     * Content to generate.
+     */
+    interface Content
+    {
+        void generate(JSONGenerator jsonGenerator) throws IOException;
+    }
+
+    /**
+     * Compact and pretty output.
+     */
+    @Test
+    public void testFormat() throws IOException
+    {
+        Content content = new Content()
+        {
+            @Override
+            public void generate(JSONGenerator jsonGenerator) throws IOException
+            {
+                jsonGenerator.beginObject()
+                             .name("name").value("été 😀")
+                             .name("list").beginArray().value(1).value(-2.5).value(true).nullValue().endArray()
+                             .name("empty").beginObject().endObject()
+                             .endObject();
+            }
+        };
+
+        Assert.assertEquals("{\"name\":\"été 😀\",\"list\":[1,-2.5,true,null],\"empty\":{}}",
+                            TestJSONGenerator.generate(true, content));
+        Assert.assertEquals("{\n   \"name\":\"été 😀\",\n   \"list\":[\n      1,\n      -2.5,\n      true,\n"
+                                    + "      null\n   ],\n   \"empty\":{}\n}\n",
+                            TestJSONGenerator.generate(false, content));
+    }
+
+    /**
+     * Numbers representation.
+     */
+    @Test
+    public void testNumbers() throws IOException
+    {
+        Content content = new Content()
+        {
+            @Override
+            public void generate(JSONGenerator jsonGenerator) throws IOException
+            {
+                jsonGenerator.beginArray()
+                             .value(Long.MIN_VALUE).value(0L).value(3.0).value(-0.0).value(1e7).value(0.1f)
+                             .value(Double.NaN).value(2f)
+                             .endArray();
+            }
+        };
+
+        Assert.assertEquals("[-9223372036854775808,0,3.0,-0.0,1.0E7,0.1,null,2.0]",
+                            TestJSONGenerator.generate(true, content));
+    }
+
+    /**
+     * Misuse detection.
+     */
+    @Test
+    public void testMisuse() throws IOException
+    {
+        JSONGenerator jsonGenerator = new JSONGenerator(new ByteArrayOutputStream(), true);
+        jsonGenerator.beginObject();
+
+        try
+        {
+            jsonGenerator.value(1);
+            Assert.fail("Value without name not detected");
+        }
+        catch (IllegalStateException exception)
+        {
+            //That what we want
+        }
+
+        try
+        {
+            jsonGenerator.endArray();
+            Assert.fail("Bad container end not detected");
+        }
+        catch (IllegalStateException exception)
+        {
+            //That what we want
+        }
+
+        jsonGenerator.close();
+    }
+
+    /**
+     * Big output, bigger than the buffer, parsed back.
+     */
+    @Test
+    public void testBig() throws IOException
+    {
+        final JSONList<String> jsonList = new JSONList<String>();
+        final List<Integer>    numbers  = new ArrayList<Integer>();
+
+        for (int i = 0; i < 500; i++)
+        {
+            jsonList.add("élément " + i);
+            numbers.add(i);
+        }
+
+        String json = TestJSONGenerator.generate(true, new Content()
+        {
+            @Override
+            public void generate(JSONGenerator jsonGenerator) throws IOException
+            {
+                jsonGenerator.beginObject();
+                jsonGenerator.name("list");
+
+                try
+                {
+                    JSONWriter.writeJSON(jsonList, jsonGenerator);
+                    jsonGenerator.name("numbers");
+                    JSONWriter.writeJSON(numbers, jsonGenerator);
+                }
+                catch (JSONException exception)
+                {
+                    throw new IOException(exception);
+                }
+
+                jsonGenerator.endObject();
+            }
+        });
+
+        Assert.assertTrue(json.length() > 8192);
+        ObjectJSON objectJSON = ObjectJSON.parse(json);
+        Assert.assertEquals(500, objectJSON.getObject("list")
+                                           .getInt("size", 0));
+        Assert.assertEquals("élément 0", objectJSON.getObject("list")
+                                                   .getObject("head")
+                                                   .getString("element", null));
+        Assert.assertEquals(500, objectJSON.getArray("numbers")
+                                           .numberOfValue());
+        Assert.assertEquals(499, objectJSON.getArray("numbers")
+                                           .getInt(499));
+    }
+
+    /**
+     * Count the objects of a JSON.
+     *
+     * @param json JSON to parse
+     * @return Number of objects
+     */
+    private static int countObjects(String json) throws IOException, JSONException
+    {
+        int count = 0;
+
+        try (JSONParser jsonParser = new JSONParser(json))
+        {
+            JSONEvent jsonEvent = jsonParser.next();
+
+            while (jsonEvent != JSONEvent.END_DOCUMENT)
+            {
+                if (jsonEvent == JSONEvent.START_OBJECT)
+                {
+                    count++;
+                }
+
+                jsonEvent = jsonParser.next();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Very long {@link JSONList} and degenerated {@link JSONMap} : one nested object per element, written without
+     * overflow the stack.
+     */
+    @Test
+    public void testDeep() throws Throwable
+    {
+        final Throwable[] error  = new Throwable[1];
+        final String[]    jsons  = new String[2];
+        // Small stack, so a writing by recursion overflow it for sure
+        final Thread      thread = new Thread(null, new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    final JSONList<Integer> jsonList = new JSONList<Integer>();
+
+                    for (int i = 99999; i >= 0; i--)
+                    {
+                        jsonList.add(i, 0);
+                    }
+
+                    // Sorted keys : each node is the lower of the previous one
+                    final JSONMap<Integer, Integer> jsonMap = new JSONMap<Integer, Integer>();
+
+                    for (int i = 0; i < 20000; i++)
+                    {
+                        jsonMap.put(i, i);
+                    }
+
+                    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+                    JSONWriter.writeJSON(jsonList, byteArrayOutputStream, true);
+                    jsons[0] = byteArrayOutputStream.toString("UTF-8");
+                    byteArrayOutputStream = new ByteArrayOutputStream();
+                    JSONWriter.writeJSON(jsonMap, byteArrayOutputStream, true);
+                    jsons[1] = byteArrayOutputStream.toString("UTF-8");
+                }
+                catch (Throwable throwable)
+                {
+                    error[0] = throwable;
+                }
+            }
+        }, "testDeep", 256 * 1024);
+        thread.start();
+        thread.join();
+
+        if (error[0] != null)
+        {
+            throw error[0];
+        }
+
+        Assert.assertTrue(jsons[0].startsWith("{\"size\":100000,\"head\":{\"next\":{\"next\":"));
+        Assert.assertTrue(jsons[0].endsWith("\"element\":1},\"element\":0}}"));
+        Assert.assertEquals(100001, TestJSONGenerator.countObjects(jsons[0]));
+        Assert.assertTrue(jsons[1].endsWith("\"upper\":null,\"value\":1},\"upper\":null,\"value\":0},\"size\":20000}"));
+        Assert.assertEquals(20001, TestJSONGenerator.countObjects(jsons[1]));
+    }
+}
\ No newline at end of file
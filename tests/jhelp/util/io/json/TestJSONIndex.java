@@ -0,0 +1,102 @@
+package jhelp.util.io.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Test of {@link JSONIndex} through lazy {@link ObjectJSON} and {@link ArrayJSON}.
+ */
+public class TestJSONIndex
+{
+    /**
+     * Lazy document is same as eager one.
+     */
+    @Test
+    public void testSameAsParse() throws IOException
+    {
+        String json = "{ \"name\" : \"été \\\"quoted\\\"\", \"count\":-12.5e1, \"ok\":true, \"nothing\" : null,\n"
+                + "  \"list\":[1, [2, 3], {\"a\":{}}, [], \"x,y:{z}\"], \"empty\":{ }, \"sub\":{\"deep\":{\"value\":7}}}";
+        ObjectJSON eager = ObjectJSON.parse(json);
+        ObjectJSON lazy  = ObjectJSON.parseLazy(new ByteArrayInputStream(json.getBytes("UTF-8")));
+        Assert.assertNotNull(eager);
+        Assert.assertNotNull(lazy);
+        Assert.assertEquals(7, lazy.getObject("sub")
+                                   .getObject("deep")
+                                   .getInt("value", 0));
+        Assert.assertEquals("x,y:{z}", lazy.getArray("list")
+                                           .getString(4));
+        Assert.assertEquals(eager, lazy);
+        Assert.assertEquals(eager.toString(), ObjectJSON.parseLazy(json.getBytes("UTF-8"))
+                                                        .toString());
+
+        ArrayJSON array = ArrayJSON.parseLazy("[ {\"a\":1}, 2 ]".getBytes("UTF-8"));
+        Assert.assertEquals(2, array.numberOfValue());
+        Assert.assertEquals(1, array.getObject(0)
+                                    .getInt("a", 0));
+    }
+
+    /**
+     * Invalid documents.
+     */
+    @Test
+    public void testInvalid() throws IOException
+    {
+        Assert.assertNull(ObjectJSON.parseLazy("{\"a\":[1}".getBytes("UTF-8")));
+        Assert.assertNull(ObjectJSON.parseLazy("{\"a\":\"1}".getBytes("UTF-8")));
+        Assert.assertNull(ObjectJSON.parseLazy("[1]".getBytes("UTF-8")));
+        Assert.assertNull(ArrayJSON.parseLazy("{}".getBytes("UTF-8")));
+        Assert.assertNull(ObjectJSON.parseLazy("{} {}".getBytes("UTF-8")));
+
+        // Structure is valid, the value is checked on access
+        ObjectJSON objectJSON = ObjectJSON.parseLazy("{\"a\":{\"b\":nope}, \"c\":1}".getBytes("UTF-8"));
+        Assert.assertEquals(1, objectJSON.getInt("c", 0));
+
+        try
+        {
+            objectJSON.getObject("a")
+                      .get("b");
+            Assert.fail("Invalid value not detected");
+        }
+        catch (IllegalStateException exception)
+        {
+            //That what we want
+        }
+    }
+
+    /**
+     * Lazy and eager parsers accept the same numbers.
+     */
+    @Test
+    public void testNumbers() throws IOException
+    {
+        for (String number : new String[]{"0", "-0", "12", "-12.5", "1e3", "1E+3", "2.5e-2"})
+        {
+            String     json  = "{\"a\":" + number + "}";
+            ObjectJSON eager = ObjectJSON.parse(json);
+            Assert.assertNotNull(number, eager);
+            Assert.assertEquals(number, eager.getDouble("a", Double.NaN),
+                                ObjectJSON.parseLazy(json.getBytes("UTF-8"))
+                                          .getDouble("a", Double.NaN), 0);
+        }
+
+        for (String number : new String[]{"1d", "1f", "0x1p3", "-Infinity", "NaN", "01", "1.", ".5", "-", "1e", "+1"})
+        {
+            String json = "{\"a\":" + number + "}";
+            Assert.assertNull(number, ObjectJSON.parse(json));
+
+            try
+            {
+                ObjectJSON.parseLazy(json.getBytes("UTF-8"))
+                          .get("a");
+                Assert.fail("Invalid number not detected : " + number);
+            }
+            catch (IllegalStateException exception)
+            {
+                //That what we want
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package jhelp.util.io.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Test of {@link JSONParser}.
+ */
+public class TestJSONParser
+{
+    /**
+     * Events sequence.
+     */
+    @Test
+    public void testEvents() throws IOException, JSONException
+    {
+        JSONParser parser = new JSONParser("{\"a\" : [1, -2.5e1, true, null], \"b\":{}, \"c\":\"x\\\"y\"}");
+        Assert.assertEquals(JSONEvent.START_OBJECT, parser.next());
+        Assert.assertEquals(JSONEvent.KEY, parser.next());
+        Assert.assertEquals("a", parser.getText());
+        Assert.assertEquals(JSONEvent.START_ARRAY, parser.next());
+        Assert.assertEquals(JSONEvent.VALUE, parser.next());
+        Assert.assertEquals(1, parser.getNumber(), 0);
+        Assert.assertEquals(JSONEvent.VALUE, parser.next());
+        Assert.assertEquals(-25, parser.getNumber(), 0);
+        Assert.assertEquals(JSONEvent.VALUE, parser.next());
+        Assert.assertTrue(parser.getBoolean());
+        Assert.assertEquals(JSONEvent.VALUE, parser.next());
+        Assert.assertEquals(ValueType.NULL, parser.getValueType());
+        Assert.assertEquals(JSONEvent.END_ARRAY, parser.next());
+        Assert.assertEquals(JSONEvent.KEY, parser.next());
+        Assert.assertEquals(JSONEvent.START_OBJECT, parser.next());
+        Assert.assertEquals(JSONEvent.END_OBJECT, parser.next());
+        Assert.assertEquals(JSONEvent.KEY, parser.next());
+        Assert.assertEquals(JSONEvent.VALUE, parser.next());
+        // Escapes are kept as the JSON model does
+        Assert.assertEquals("x\\\"y", parser.getText());
+        Assert.assertEquals(JSONEvent.END_OBJECT, parser.next());
+        Assert.assertEquals(JSONEvent.END_DOCUMENT, parser.next());
+    }
+
+    /**
+     * Invalid documents.
+     */
+    @Test
+    public void testInvalid() throws IOException
+    {
+        Assert.assertNull(ObjectJSON.parse("{\"a\":1,}"));
+        Assert.assertNull(ObjectJSON.parse("{\"a\":1"));
+        Assert.assertNull(ObjectJSON.parse("[1, 2]"));
+
+        try
+        {
+            JSONParser parser = new JSONParser("{\"a\" 1}");
+            parser.next();
+            parser.next();
+            Assert.fail("Missing ':' not detected");
+        }
+        catch (JSONException e)
+        {
+            //That what we want
+        }
+    }
+
+    /**
+     * Skip sub-trees and build tree.
+     */
+    @Test
+    public void testSkipAndTree() throws IOException, JSONException
+    {
+        StringBuilder big = new StringBuilder("{\"skip\":[");
+
+        for (int i = 0; i < 10000; i++)
+        {
+            big.append("{\"n\":").append(i).append(",\"s\":\"]}\"},");
+        }
+
+        big.append("{}], \"keep\" : {\"name\":\"value\", \"list\":[1,2,3]}}");
+        JSONParser parser = new JSONParser(new StringReader(big.toString()));
+        Assert.assertEquals(JSONEvent.START_OBJECT, parser.next());
+        Assert.assertEquals(JSONEvent.KEY, parser.next());
+        parser.skipValue();
+        Assert.assertEquals(JSONEvent.END_ARRAY, parser.getCurrentEvent());
+        Assert.assertEquals(JSONEvent.KEY, parser.next());
+        Assert.assertEquals("keep", parser.getText());
+        Assert.assertEquals(JSONEvent.START_OBJECT, parser.next());
+        ObjectJSON keep = parser.readObject();
+        Assert.assertEquals("value", keep.getString("name", null));
+        Assert.assertEquals(3, keep.getArray("list").getInt(2));
+        Assert.assertEquals(JSONEvent.END_OBJECT, parser.next());
+
+        ObjectJSON all = ObjectJSON.parse(big.toString());
+        Assert.assertEquals(10001, all.getArray("skip").numberOfValue());
+        Assert.assertEquals(keep, all.getObject("keep"));
+        Assert.assertEquals(all, ObjectJSON.parse(all.toString()));
+    }
+}
@@ -0,0 +1,119 @@
+package jhelp.util.io.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test of {@link JSONPath}.
+ */
+public class TestJSONPath
+{
+    /**
+     * Test document.
+     */
+    private static final String JSON = "{\"total\":3, \"items\":[{\"id\":1,\"tags\":[\"a\",\"b\"]},"
+            + "{\"id\":2,\"tags\":[]},{\"name\":\"no id\"},{\"id\":{\"x\":4}}], \"meta\":{\"id\":\"root\"}}";
+
+    /**
+     * Select on stream and on lazy tree.
+     *
+     * @param path Path to select
+     * @return Selected values, same on stream and on tree
+     */
+    private static List<ValueJSON> select(String path) throws IOException, JSONException
+    {
+        JSONPath              jsonPath = JSONPath.compile(path);
+        final List<ValueJSON> selected = new ArrayList<ValueJSON>();
+        jsonPath.select(ValueJSON.newValue(ObjectJSON.parseLazy(TestJSONPath.JSON.getBytes("UTF-8"))),
+                        new JSONPathListener()
+                        {
+                            @Override
+                            public boolean valueSelected(ValueJSON valueJSON)
+                            {
+                                selected.add(valueJSON);
+                                return true;
+                            }
+                        });
+        // ObjectJSON members order is not the document one
+        List<ValueJSON> streamed = jsonPath.selectAll(TestJSONPath.JSON);
+        Assert.assertEquals(streamed.size(), selected.size());
+        Assert.assertTrue(streamed.containsAll(selected));
+        return streamed;
+    }
+
+    /**
+     * Paths selection.
+     */
+    @Test
+    public void testSelect() throws IOException, JSONException
+    {
+        List<ValueJSON> ids = TestJSONPath.select("$.items[*].id");
+        Assert.assertEquals(3, ids.size());
+        Assert.assertEquals(1, ids.get(0)
+                                  .getNumber(), 0);
+        Assert.assertEquals(2, ids.get(1)
+                                  .getNumber(), 0);
+        Assert.assertEquals(4, ids.get(2)
+                                  .getObject()
+                                  .getInt("x", 0));
+
+        Assert.assertEquals("b", TestJSONPath.select("$.items[0].tags[1]")
+                                             .get(0)
+                                             .getString());
+        Assert.assertEquals("root", TestJSONPath.select("$['meta'].id")
+                                                .get(0)
+                                                .getString());
+        Assert.assertEquals(2, TestJSONPath.select("$.items[*].tags[*]")
+                                           .size());
+        Assert.assertEquals(3, TestJSONPath.select("$.*")
+                                           .size());
+        Assert.assertEquals(1, TestJSONPath.select("$")
+                                           .size());
+        Assert.assertTrue(TestJSONPath.select("$.items[10].id")
+                                      .isEmpty());
+        Assert.assertTrue(TestJSONPath.select("$.total.id")
+                                      .isEmpty());
+    }
+
+    /**
+     * Stop selection and invalid paths.
+     */
+    @Test
+    public void testStopAndInvalid() throws IOException, JSONException
+    {
+        final List<ValueJSON> selected = new ArrayList<ValueJSON>();
+        JSONPath.compile("$.items[*].id")
+                .select(new ByteArrayInputStream(TestJSONPath.JSON.getBytes("UTF-8")), new JSONPathListener()
+                {
+                    @Override
+                    public boolean valueSelected(ValueJSON valueJSON)
+                    {
+                        selected.add(valueJSON);
+                        return false;
+                    }
+                });
+        Assert.assertEquals(1, selected.size());
+
+        for (String invalid : new String[]{"items", "$..id", "$[x]", "$[1", "$.a b[", "$[-1]"})
+        {
+            try
+            {
+                JSONPath.compile(invalid);
+
+                if (!"$.a b[".equals(invalid))
+                {
+                    Assert.fail("Invalid path not detected : " + invalid);
+                }
+            }
+            catch (JSONException exception)
+            {
+                //That what we want
+            }
+        }
+    }
+}
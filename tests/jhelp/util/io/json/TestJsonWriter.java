@@ -3,6 +3,7 @@ package jhelp.util.io.json;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 import jhelp.util.debug.Debug;
@@ -210,6 +211,68 @@ public class TestJsonWriter
         }
     }
 
+    /**
+     * Write then read back with {@link JSONReader}.
+     */
+    @Test
+    public void testReadBack()
+    {
+        try
+        {
+            Boxed boxed = new Boxed();
+            boxed.integer = 42;
+            boxed.number = 2.5;
+            boxed.character = 'Z';
+            boxed.type = ValueType.ARRAY;
+            boxed.allSimpleTypes = new AllSimpleTypes();
+            boxed.allSimpleTypes.bool = true;
+            boxed.allSimpleTypes.character = 'A';
+            boxed.allSimpleTypes.b = (byte) 25;
+            boxed.allSimpleTypes.s = (short) 42;
+            boxed.allSimpleTypes.i = 73;
+            boxed.allSimpleTypes.l = 1234567890123L;
+            boxed.allSimpleTypes.f = 0.5f;
+            boxed.allSimpleTypes.d = 0.25;
+            boxed.allSimpleTypes.string = "Something";
+
+            ByteArray byteArray = new ByteArray();
+            JSONWriter.writeJSON(boxed, byteArray.getOutputStream(), true);
+            Assert.assertEquals("ARRAY", ObjectJSON.parse(byteArray.getInputStream())
+                                                   .getString("type", null));
+            byteArray.readFromStart();
+            Boxed read = JSONReader.readJSON(Boxed.class, byteArray.getInputStream(), true);
+            Assert.assertEquals(boxed.integer, read.integer);
+            Assert.assertEquals(boxed.number, read.number);
+            Assert.assertEquals(boxed.character, read.character);
+            Assert.assertNull(read.missing);
+            Assert.assertEquals(boxed.type, read.type);
+            Assert.assertEquals(boxed.allSimpleTypes.bool, read.allSimpleTypes.bool);
+            Assert.assertEquals(boxed.allSimpleTypes.character, read.allSimpleTypes.character);
+            Assert.assertEquals(boxed.allSimpleTypes.b, read.allSimpleTypes.b);
+            Assert.assertEquals(boxed.allSimpleTypes.s, read.allSimpleTypes.s);
+            Assert.assertEquals(boxed.allSimpleTypes.i, read.allSimpleTypes.i);
+            Assert.assertEquals(boxed.allSimpleTypes.l, read.allSimpleTypes.l);
+            Assert.assertEquals(boxed.allSimpleTypes.f, read.allSimpleTypes.f, 0f);
+            Assert.assertEquals(boxed.allSimpleTypes.d, read.allSimpleTypes.d, 0);
+            Assert.assertEquals(boxed.allSimpleTypes.string, read.allSimpleTypes.string);
+        }
+        catch (IOException | JSONException e)
+        {
+            Debug.printException(e);
+            Assert.fail("Exception happen");
+        }
+
+        try
+        {
+            JSONReader.readJSON(Boxed.class, new ByteArrayInputStream("{\"unknown\":1}".getBytes("UTF-8")), true);
+            Assert.fail("Unknown field not detected");
+        }
+        catch (IOException | JSONException e)
+        {
+            //That what we want
+        }
+    }
+
     @JSONObject
     static class Simple
     {
@@ -293,4 +356,21 @@ public class TestJsonWriter
         @JSONElement
         AllSimpleTypes allSimpleTypes;
     }
-}
\ No newline at end of file
+
+    @JSONObject
+    static class Boxed
+    {
+        @JSONElement
+        Integer        integer;
+        @JSONElement
+        Double         number;
+        @JSONElement
+        Character      character;
+        @JSONElement
+        String         missing;
+        @JSONElement
+        ValueType      type;
+        @JSONElement
+        AllSimpleTypes allSimpleTypes;
+    }
+}
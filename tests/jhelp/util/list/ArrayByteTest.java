@@ -0,0 +1,123 @@
+package jhelp.util.list;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Array byte tests
+ *
+ * @author JHelp <br>
+ */
+public class ArrayByteTest
+{
+   /**
+    * Grow, remove, insert and copy
+    */
+   @Test
+   public void testAddRemove()
+   {
+      final ArrayByte arrayByte = new ArrayByte(2);
+      Assert.assertTrue(arrayByte.isEmpty());
+
+      for(int value = -128; value < 128; value++)
+      {
+         arrayByte.add((byte) value);
+      }
+
+      Assert.assertEquals(256, arrayByte.getSize());
+      Assert.assertTrue(arrayByte.isSortedFast());
+      Assert.assertEquals((byte) 127, arrayByte.getByte(255));
+      Assert.assertEquals(128, arrayByte.getIndex((byte) 0));
+
+      arrayByte.remove(255);
+      arrayByte.remove(128);
+      arrayByte.remove(0);
+      Assert.assertEquals(253, arrayByte.getSize());
+      Assert.assertEquals((byte) -127, arrayByte.getByte(0));
+      Assert.assertEquals((byte) 1, arrayByte.getByte(127));
+      Assert.assertEquals((byte) 126, arrayByte.getByte(252));
+      Assert.assertFalse(arrayByte.contains((byte) 0));
+      Assert.assertFalse(arrayByte.contains((byte) 127));
+
+      arrayByte.insert((byte) 0, 127);
+      Assert.assertTrue(arrayByte.isSortedFast());
+      arrayByte.insert((byte) 127, 10);
+      Assert.assertFalse(arrayByte.isSortedFast());
+      Assert.assertEquals(10, arrayByte.getIndex((byte) 127));
+
+      final ArrayByte copy = arrayByte.createCopy();
+      final byte[] array = arrayByte.toArray();
+      Assert.assertEquals(255, array.length);
+      copy.setByte(0, (byte) 73);
+      Assert.assertEquals((byte) -127, arrayByte.getByte(0));
+
+      final ArrayByte roundTrip = new ArrayByte();
+      roundTrip.addAll(array);
+      Assert.assertArrayEquals(array, roundTrip.toArray());
+
+      try
+      {
+         arrayByte.getByte(255);
+         Assert.fail("Index out of bounds must be refused");
+      }
+      catch(final IllegalArgumentException exception)
+      {
+         // That's what we want
+      }
+
+      arrayByte.clear();
+      Assert.assertTrue(arrayByte.isEmpty());
+      Assert.assertEquals(-1, arrayByte.getIndex((byte) 1));
+   }
+
+   /**
+    * Sort and search in sorted array
+    */
+   @Test
+   public void testSorted()
+   {
+      final Random random = new Random(42);
+      final ArrayByte arrayByte = new ArrayByte();
+      final byte[] reference = new byte[10000];
+      random.nextBytes(reference);
+      arrayByte.addAll(reference);
+
+      Arrays.sort(reference);
+      arrayByte.sort();
+      Assert.assertTrue(arrayByte.isSortedFast());
+      Assert.assertArrayEquals(reference, arrayByte.toArray());
+
+      // Bytes repeat : bounds are the first and after the last of a value
+      final int start = arrayByte.lowerBoundSupposeSorted((byte) -10);
+      final int end = arrayByte.upperBoundSupposeSorted((byte) 10);
+      Assert.assertEquals((byte) -10, arrayByte.getByte(start));
+      Assert.assertTrue(arrayByte.getByte(start - 1) < -10);
+      Assert.assertEquals((byte) 10, arrayByte.getByte(end - 1));
+      Assert.assertTrue(arrayByte.getByte(end) > 10);
+      Assert.assertArrayEquals(Arrays.copyOfRange(reference, start, end),
+            arrayByte.getRangeSupposeSorted((byte) -10, (byte) 10));
+      Assert.assertTrue(arrayByte.containsSupposeSorted((byte) -10));
+
+      final long[] total = new long[1];
+      long expected = 0;
+
+      for(final byte value : reference)
+      {
+         expected += value;
+      }
+
+      arrayByte.forEach(new IntConsumer()
+      {
+         @Override
+         public void accept(final int value)
+         {
+            total[0] += value;
+         }
+      });
+      Assert.assertEquals(expected, total[0]);
+   }
+}
@@ -0,0 +1,125 @@
+package jhelp.util.list;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.DoubleConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Array float tests
+ *
+ * @author JHelp <br>
+ */
+public class ArrayFloatTest
+{
+   /**
+    * Grow, remove, insert and copy
+    */
+   @Test
+   public void testAddRemove()
+   {
+      final ArrayFloat arrayFloat = new ArrayFloat(2);
+      Assert.assertTrue(arrayFloat.isEmpty());
+
+      for(int index = 0; index < 1000; index++)
+      {
+         arrayFloat.add(index * 0.5f);
+      }
+
+      Assert.assertEquals(1000, arrayFloat.getSize());
+      Assert.assertTrue(arrayFloat.isSortedFast());
+      Assert.assertEquals(499.5f, arrayFloat.getFloat(999), 0f);
+      Assert.assertEquals(500, arrayFloat.getIndex(250f));
+      Assert.assertFalse(arrayFloat.contains(250.25f));
+
+      arrayFloat.remove(999);
+      arrayFloat.remove(500);
+      arrayFloat.remove(0);
+      Assert.assertEquals(997, arrayFloat.getSize());
+      Assert.assertEquals(0.5f, arrayFloat.getFloat(0), 0f);
+      Assert.assertEquals(250.5f, arrayFloat.getFloat(499), 0f);
+      Assert.assertEquals(499f, arrayFloat.getFloat(996), 0f);
+      Assert.assertFalse(arrayFloat.contains(250f));
+
+      arrayFloat.insert(250f, 499);
+      Assert.assertTrue(arrayFloat.isSortedFast());
+      arrayFloat.insert(-1f, 10);
+      Assert.assertFalse(arrayFloat.isSortedFast());
+      Assert.assertEquals(10, arrayFloat.getIndex(-1f));
+
+      final ArrayFloat copy = arrayFloat.createCopy();
+      final float[] array = arrayFloat.toArray();
+      Assert.assertEquals(999, array.length);
+      copy.setFloat(0, 73f);
+      Assert.assertEquals(0.5f, arrayFloat.getFloat(0), 0f);
+
+      final ArrayFloat roundTrip = new ArrayFloat();
+      roundTrip.addAll(array);
+      Assert.assertTrue(Arrays.equals(array, roundTrip.toArray()));
+
+      try
+      {
+         arrayFloat.getFloat(999);
+         Assert.fail("Index out of bounds must be refused");
+      }
+      catch(final IllegalArgumentException exception)
+      {
+         // That's what we want
+      }
+
+      arrayFloat.clear();
+      Assert.assertTrue(arrayFloat.isEmpty());
+      Assert.assertEquals(-1, arrayFloat.getIndex(0.5f));
+   }
+
+   /**
+    * Sort and search in sorted array
+    */
+   @Test
+   public void testSorted()
+   {
+      final Random random = new Random(42);
+      final ArrayFloat arrayFloat = new ArrayFloat();
+      final float[] reference = new float[10000];
+
+      for(int index = 0; index < reference.length; index++)
+      {
+         reference[index] = (random.nextFloat() * 1000f) - 500f;
+         arrayFloat.add(reference[index]);
+      }
+
+      Arrays.sort(reference);
+      arrayFloat.sort();
+      Assert.assertTrue(arrayFloat.isSortedFast());
+      Assert.assertTrue(Arrays.equals(reference, arrayFloat.toArray()));
+
+      final float minimum = reference[2000];
+      final float maximum = reference[3000];
+      Assert.assertTrue(arrayFloat.containsSupposeSorted(minimum));
+      Assert.assertEquals(2000, arrayFloat.lowerBoundSupposeSorted(minimum));
+      Assert.assertEquals(3001, arrayFloat.upperBoundSupposeSorted(maximum));
+      Assert.assertTrue(Arrays.equals(Arrays.copyOfRange(reference, 2000, 3001),
+            arrayFloat.getRangeSupposeSorted(minimum, maximum)));
+      Assert.assertEquals(0, arrayFloat.getRangeSupposeSorted(maximum, minimum).length);
+
+      final double[] total = new double[1];
+      double expected = 0;
+
+      for(final float value : reference)
+      {
+         expected += value;
+      }
+
+      arrayFloat.forEach(new DoubleConsumer()
+      {
+         @Override
+         public void accept(final double value)
+         {
+            total[0] += value;
+         }
+      });
+      Assert.assertEquals(expected, total[0], 0);
+   }
+}
@@ -1,5 +1,9 @@
 package jhelp.util.list;
 
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -181,4 +185,70 @@ public class ArrayIntTest
       Assert.assertEquals(-1, arrayInt.getIndex(12));
       Assert.assertEquals(0, arrayInt.getSize());
    }
+
+   /**
+    * Bulk add, growing, parallel sort and range queries
+    */
+   @Test
+   public void bulkTest()
+   {
+      final ArrayInt arrayInt = new ArrayInt();
+      final Random random = new Random(7);
+      final int[] values = new int[100000];
+
+      for(int i = 0; i < values.length; i++)
+      {
+         values[i] = random.nextInt(1000);
+      }
+
+      arrayInt.addAll(values);
+      arrayInt.addAll(new int[]
+      {
+            -5, 2000
+      });
+      Assert.assertEquals(100002, arrayInt.getSize());
+      Assert.assertFalse(arrayInt.isSortedFast());
+
+      arrayInt.sortParallel();
+      Assert.assertTrue(arrayInt.isSortedFast());
+      Assert.assertTrue(arrayInt.isSortedSlow());
+      Assert.assertEquals(-5, arrayInt.getInteger(0));
+      Assert.assertEquals(2000, arrayInt.getInteger(100001));
+
+      int expected = 0;
+
+      for(final int value : values)
+      {
+         if((value >= 10) && (value <= 20))
+         {
+            expected++;
+         }
+      }
+
+      final int[] range = arrayInt.getRangeSupposeSorted(10, 20);
+      Assert.assertEquals(expected, range.length);
+      Assert.assertEquals(10, range[0]);
+      Assert.assertEquals(20, range[range.length - 1]);
+      Assert.assertEquals(0, arrayInt.getRangeSupposeSorted(1500, 1600).length);
+      Assert.assertEquals(0, arrayInt.lowerBoundSupposeSorted(-10));
+      Assert.assertEquals(arrayInt.getSize(), arrayInt.upperBoundSupposeSorted(2000));
+
+      final AtomicLong sum = new AtomicLong();
+      arrayInt.forEach(new IntConsumer()
+      {
+         @Override
+         public void accept(final int value)
+         {
+            sum.addAndGet(value);
+         }
+      });
+      long reference = 1995;
+
+      for(final int value : values)
+      {
+         reference += value;
+      }
+
+      Assert.assertEquals(reference, sum.get());
+   }
 }
@@ -0,0 +1,127 @@
+package jhelp.util.list;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Array long tests
+ *
+ * @author JHelp <br>
+ */
+public class ArrayLongTest
+{
+   /**
+    * Grow, remove, insert and copy
+    */
+   @Test
+   public void testAddRemove()
+   {
+      final ArrayLong arrayLong = new ArrayLong(2);
+      Assert.assertTrue(arrayLong.isEmpty());
+
+      // Values that differ only in high bits
+      for(long value = 0; value < 1000; value++)
+      {
+         arrayLong.add(value << 32);
+      }
+
+      Assert.assertEquals(1000, arrayLong.getSize());
+      Assert.assertTrue(arrayLong.isSortedFast());
+      Assert.assertEquals(999L << 32, arrayLong.getLong(999));
+      Assert.assertEquals(500, arrayLong.getIndex(500L << 32));
+      Assert.assertFalse(arrayLong.contains(500L));
+
+      arrayLong.remove(999);
+      arrayLong.remove(500);
+      arrayLong.remove(0);
+      Assert.assertEquals(997, arrayLong.getSize());
+      Assert.assertEquals(1L << 32, arrayLong.getLong(0));
+      Assert.assertEquals(501L << 32, arrayLong.getLong(499));
+      Assert.assertEquals(998L << 32, arrayLong.getLong(996));
+      Assert.assertFalse(arrayLong.contains(500L << 32));
+
+      arrayLong.insert(500L << 32, 499);
+      Assert.assertTrue(arrayLong.isSortedFast());
+      arrayLong.insert(-1L, 10);
+      Assert.assertFalse(arrayLong.isSortedFast());
+      Assert.assertEquals(10, arrayLong.getIndex(-1L));
+
+      final ArrayLong copy = arrayLong.createCopy();
+      final long[] array = arrayLong.toArray();
+      Assert.assertEquals(999, array.length);
+      copy.setLong(0, 73L);
+      Assert.assertEquals(1L << 32, arrayLong.getLong(0));
+
+      final ArrayLong roundTrip = new ArrayLong();
+      roundTrip.addAll(array);
+      Assert.assertArrayEquals(array, roundTrip.toArray());
+
+      try
+      {
+         arrayLong.getLong(999);
+         Assert.fail("Index out of bounds must be refused");
+      }
+      catch(final IllegalArgumentException exception)
+      {
+         // That's what we want
+      }
+
+      arrayLong.clear();
+      Assert.assertTrue(arrayLong.isEmpty());
+      Assert.assertEquals(-1, arrayLong.getIndex(1L << 32));
+   }
+
+   /**
+    * Sort and search in sorted array
+    */
+   @Test
+   public void testSorted()
+   {
+      final Random random = new Random(42);
+      final ArrayLong arrayLong = new ArrayLong();
+      final long[] reference = new long[10000];
+
+      for(int index = 0; index < reference.length; index++)
+      {
+         reference[index] = random.nextLong() >> 20;
+         arrayLong.add(reference[index]);
+      }
+
+      Arrays.sort(reference);
+      arrayLong.sort();
+      Assert.assertTrue(arrayLong.isSortedFast());
+      Assert.assertArrayEquals(reference, arrayLong.toArray());
+
+      final long minimum = reference[2000];
+      final long maximum = reference[3000];
+      Assert.assertTrue(arrayLong.containsSupposeSorted(minimum));
+      Assert.assertEquals(2000, arrayLong.lowerBoundSupposeSorted(minimum));
+      Assert.assertEquals(3001, arrayLong.upperBoundSupposeSorted(maximum));
+      Assert.assertArrayEquals(Arrays.copyOfRange(reference, 2000, 3001),
+            arrayLong.getRangeSupposeSorted(minimum, maximum));
+      Assert.assertEquals(0, arrayLong.getRangeSupposeSorted(maximum, minimum).length);
+
+      final AtomicLong total = new AtomicLong();
+      long expected = 0;
+
+      for(final long value : reference)
+      {
+         expected += value;
+      }
+
+      arrayLong.forEach(new LongConsumer()
+      {
+         @Override
+         public void accept(final long value)
+         {
+            total.addAndGet(value);
+         }
+      });
+      Assert.assertEquals(expected, total.get());
+   }
+}
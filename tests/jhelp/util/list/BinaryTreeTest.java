@@ -0,0 +1,182 @@
+package jhelp.util.list;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import jhelp.util.list.Tree.TestFoundListener;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of {@link BinaryTree}
+ *
+ * @author JHelp
+ */
+public class BinaryTreeTest
+{
+   /** Compare integers */
+   private static final Comparator<Integer> COMPARATOR = new Comparator<Integer>()
+                                                       {
+                                                          @Override
+                                                          public int compare(final Integer integer1,
+                                                                final Integer integer2)
+                                                          {
+                                                             return integer1.compareTo(integer2);
+                                                          }
+                                                       };
+
+   /**
+    * Check a branch is sorted, balanced and linked to its parent
+    *
+    * @param branch
+    *           Branch to check
+    * @param elements
+    *           Filled with elements in order
+    * @return Branch height
+    */
+   private static int check(final BinaryTree<Integer>.Branch<Integer> branch, final ArrayList<Integer> elements)
+   {
+      if(branch == null)
+      {
+         return 0;
+      }
+
+      if(branch.getLeft() != null)
+      {
+         Assert.assertSame(branch, branch.getLeft().getParent());
+      }
+
+      if(branch.getRight() != null)
+      {
+         Assert.assertSame(branch, branch.getRight().getParent());
+      }
+
+      final int left = BinaryTreeTest.check(branch.getLeft(), elements);
+      elements.add(branch.getElement());
+      final int right = BinaryTreeTest.check(branch.getRight(), elements);
+      Assert.assertTrue("Not balanced at " + branch.getElement(), Math.abs(left - right) <= 1);
+      return 1 + Math.max(left, right);
+   }
+
+   /**
+    * Check the tree is same as reference
+    *
+    * @param reference
+    *           Reference sorted set
+    * @param binaryTree
+    *           Tree to check
+    */
+   private static void check(final TreeSet<Integer> reference, final BinaryTree<Integer> binaryTree)
+   {
+      Assert.assertEquals(reference.size(), binaryTree.getSize());
+      Assert.assertEquals(reference.isEmpty(), binaryTree.isEmpty());
+
+      if(reference.isEmpty())
+      {
+         return;
+      }
+
+      Assert.assertNull(binaryTree.getTrunk().getParent());
+      final ArrayList<Integer> elements = new ArrayList<Integer>();
+      final int height = BinaryTreeTest.check(binaryTree.getTrunk(), elements);
+      Assert.assertEquals(new ArrayList<Integer>(reference), elements);
+      // AVL height is lower than 1.45 * log2(n + 2)
+      Assert.assertTrue(height <= (1.45 * (Math.log(reference.size() + 2) / Math.log(2))));
+   }
+
+   /**
+    * Simple tests
+    */
+   @Test
+   public void simpleTest()
+   {
+      final BinaryTree<Integer> binaryTree = new BinaryTree<Integer>(Integer.class, BinaryTreeTest.COMPARATOR);
+      Assert.assertTrue(binaryTree.isEmpty());
+      Assert.assertNull(binaryTree.toTree());
+
+      for(int value = 1; value <= 7; value++)
+      {
+         Assert.assertTrue(binaryTree.putElement(value));
+      }
+
+      Assert.assertFalse(binaryTree.putElement(4));
+      Assert.assertEquals(Integer.valueOf(4), binaryTree.getTrunk().getElement());
+      Assert.assertEquals(Integer.valueOf(2), binaryTree.getTrunk().getLeft().getElement());
+      Assert.assertEquals(Integer.valueOf(6), binaryTree.getTrunk().getRight().getElement());
+
+      final ArrayList<Integer> list = new ArrayList<Integer>();
+      binaryTree.collectLeftToRightHigh(new TestFoundListener<Integer>()
+      {
+         @Override
+         public boolean isElementSearched(final Integer element)
+         {
+            return true;
+         }
+      }, list);
+      Assert.assertEquals("[4, 2, 6, 1, 3, 5, 7]", list.toString());
+
+      Assert.assertTrue(binaryTree.reomveElement(4));
+      Assert.assertFalse(binaryTree.reomveElement(4));
+      Assert.assertFalse(binaryTree.contains(4));
+      Assert.assertTrue(binaryTree.contains(5));
+      Assert.assertEquals(6, binaryTree.getSize());
+
+      binaryTree.clear();
+      Assert.assertTrue(binaryTree.isEmpty());
+   }
+
+   /**
+    * Mixed adds, removes and searches with several ratios
+    */
+   @Test
+   public void testMixedOperations()
+   {
+      final Random random = new Random(42);
+
+      for(final int addPercent : new int[]
+      {
+            90, 50, 30
+      })
+      {
+         final BinaryTree<Integer> binaryTree = new BinaryTree<Integer>(Integer.class, BinaryTreeTest.COMPARATOR);
+         final TreeSet<Integer> reference = new TreeSet<Integer>();
+
+         for(int step = 0; step < 20000; step++)
+         {
+            final Integer element = random.nextInt(5000);
+            final int operation = random.nextInt(100);
+
+            if(operation < addPercent)
+            {
+               Assert.assertEquals(reference.add(element), binaryTree.putElement(element));
+            }
+            else if(random.nextBoolean())
+            {
+               Assert.assertEquals(reference.remove(element), binaryTree.reomveElement(element));
+            }
+            else
+            {
+               Assert.assertEquals(reference.contains(element), binaryTree.contains(element));
+            }
+
+            if((step % 2000) == 0)
+            {
+               BinaryTreeTest.check(reference, binaryTree);
+            }
+         }
+
+         BinaryTreeTest.check(reference, binaryTree);
+
+         for(final Integer element : new ArrayList<Integer>(reference))
+         {
+            Assert.assertTrue(binaryTree.reomveElement(element));
+            reference.remove(element);
+         }
+
+         BinaryTreeTest.check(reference, binaryTree);
+      }
+   }
+}
@@ -0,0 +1,314 @@
+package jhelp.util.list;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of ConcurrentLimitedSizeHashMap and ConcurrentLimitedWeightHashMap
+ *
+ * @author JHelp <br>
+ */
+public class ConcurrentLimitedHashMapTest
+{
+   /**
+    * Object with a weight
+    */
+   static class Heavy
+         implements HeavyObject
+   {
+      /** Object weight */
+      final long weight;
+
+      /**
+       * Create a new instance of Heavy
+       *
+       * @param weight
+       *           Object weight
+       */
+      Heavy(final long weight)
+      {
+         this.weight = weight;
+      }
+
+      /**
+       * Object weight
+       *
+       * @return Object weight
+       */
+      @Override
+      public long getWeight()
+      {
+         return this.weight;
+      }
+   }
+
+   /**
+    * Least recently used element is removed first
+    */
+   @Test
+   public void testLeastRecentlyUsed()
+   {
+      final ConcurrentLimitedSizeHashMap<Integer, String> map = new ConcurrentLimitedSizeHashMap<Integer, String>(128);
+
+      for(int i = 0; i < 128; i++)
+      {
+         map.put(i, String.valueOf(i));
+      }
+
+      Assert.assertEquals("0", map.get(0));
+      map.put(128, "128");
+      Assert.assertEquals(128, map.size());
+      Assert.assertEquals("0", map.get(0));
+      Assert.assertNull(map.get(1));
+      Assert.assertEquals(1, map.getEvictionCount());
+      Assert.assertEquals(2, map.getHitCount());
+      Assert.assertEquals(1, map.getMissCount());
+   }
+
+   /**
+    * Weight stay coherent when many threads work in same time
+    *
+    * @throws InterruptedException
+    *            If interrupted
+    */
+   @Test
+   public void testWeightConcurrent() throws InterruptedException
+   {
+      final ConcurrentLimitedWeightHashMap<Integer, Heavy> map = new ConcurrentLimitedWeightHashMap<Integer, Heavy>(10000L);
+      final Thread[] threads = new Thread[8];
+      final AtomicInteger errors = new AtomicInteger();
+
+      for(int t = 0; t < threads.length; t++)
+      {
+         final int seed = t;
+         threads[t] = new Thread()
+         {
+            @Override
+            public void run()
+            {
+               final Random random = new Random(seed);
+               int key;
+
+               for(int i = 0; i < 50000; i++)
+               {
+                  key = random.nextInt(500);
+
+                  switch(random.nextInt(4))
+                  {
+                     case 0:
+                        map.put(key, new Heavy(1 + random.nextInt(200)));
+                     break;
+                     case 1:
+                        map.remove(key);
+                     break;
+                     default:
+                        map.get(key);
+                     break;
+                  }
+
+                  if(map.getWeight() > map.getMaximumWeight())
+                  {
+                     errors.incrementAndGet();
+                  }
+               }
+            }
+         };
+         threads[t].start();
+      }
+
+      for(final Thread thread : threads)
+      {
+         thread.join();
+      }
+
+      Assert.assertEquals(0, errors.get());
+      long weight = 0;
+      int size = 0;
+      Heavy heavy;
+
+      for(int key = 0; key < 500; key++)
+      {
+         heavy = map.get(key);
+
+         if(heavy != null)
+         {
+            weight += heavy.getWeight();
+            size++;
+         }
+      }
+
+      Assert.assertEquals(weight, map.getWeight());
+      Assert.assertEquals(size, map.getSize());
+      Assert.assertEquals(map.getMaximumWeight() - weight, map.getFreeWeight());
+   }
+
+   /**
+    * Concurrent misses on same key create the value only once
+    *
+    * @throws InterruptedException
+    *            If interrupted
+    */
+   @Test
+   public void testSingleFlight() throws InterruptedException
+   {
+      final ConcurrentLimitedWeightHashMap<String, Heavy> map = new ConcurrentLimitedWeightHashMap<String, Heavy>(10000L);
+      final AtomicInteger created = new AtomicInteger();
+      final CountDownLatch start = new CountDownLatch(1);
+      final Heavy[] results = new Heavy[16];
+      final HeavyObjectCreator<Heavy> creator = new HeavyObjectCreator<Heavy>()
+      {
+         @Override
+         public Heavy createHeavyObject()
+         {
+            created.incrementAndGet();
+
+            try
+            {
+               Thread.sleep(100);
+            }
+            catch(final InterruptedException ignored)
+            {
+            }
+
+            return new Heavy(10);
+         }
+
+         @Override
+         public long getFutureWeight()
+         {
+            return 10;
+         }
+      };
+      final Thread[] threads = new Thread[results.length];
+
+      for(int t = 0; t < threads.length; t++)
+      {
+         final int index = t;
+         threads[t] = new Thread()
+         {
+            @Override
+            public void run()
+            {
+               try
+               {
+                  start.await();
+               }
+               catch(final InterruptedException ignored)
+               {
+               }
+
+               results[index] = map.get("key", creator);
+            }
+         };
+         threads[t].start();
+      }
+
+      start.countDown();
+
+      for(final Thread thread : threads)
+      {
+         thread.join();
+      }
+
+      Assert.assertEquals(1, created.get());
+      Assert.assertEquals(1, map.getLoadCount());
+
+      for(final Heavy heavy : results)
+      {
+         Assert.assertSame(results[0], heavy);
+      }
+   }
+
+   /**
+    * A value created from a source that changed, then removed, is not stored
+    *
+    * @throws InterruptedException
+    *            If interrupted
+    */
+   @Test
+   public void testObsoleteLoad() throws InterruptedException
+   {
+      final ConcurrentLimitedSizeHashMap<String, String> map = new ConcurrentLimitedSizeHashMap<String, String>(10);
+      final AtomicReference<String> source = new AtomicReference<String>("v1");
+      final CountDownLatch creating = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+      final String[] results = new String[2];
+      final BooleanSupplier stillV1 = new BooleanSupplier()
+      {
+         @Override
+         public boolean getAsBoolean()
+         {
+            return "v1".equals(source.get());
+         }
+      };
+      final Thread loader = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            results[0] = map.get("key", new Supplier<String>()
+            {
+               @Override
+               public String get()
+               {
+                  creating.countDown();
+
+                  try
+                  {
+                     release.await();
+                  }
+                  catch(final InterruptedException ignored)
+                  {
+                  }
+
+                  return "v1";
+               }
+            }, stillV1);
+         }
+      };
+      loader.start();
+      creating.await();
+
+      // Source changes while loading, then the key is removed like a cache put does
+      source.set("v2");
+      map.remove("key");
+      final Thread waiter = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            results[1] = map.get("key", new Supplier<String>()
+            {
+               @Override
+               public String get()
+               {
+                  return source.get();
+               }
+            }, new BooleanSupplier()
+            {
+               @Override
+               public boolean getAsBoolean()
+               {
+                  return true;
+               }
+            });
+         }
+      };
+      waiter.start();
+      release.countDown();
+      loader.join();
+      waiter.join();
+
+      // Loader started before the change, it can see the old value, but the map must not keep it
+      Assert.assertEquals("v1", results[0]);
+      Assert.assertEquals("v2", results[1]);
+      Assert.assertEquals("v2", map.get("key"));
+   }
+}
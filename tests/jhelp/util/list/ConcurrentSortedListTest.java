@@ -0,0 +1,124 @@
+package jhelp.util.list;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of {@link ConcurrentSortedList}
+ *
+ * @author JHelp
+ */
+public class ConcurrentSortedListTest
+{
+   /**
+    * Check an interval
+    *
+    * @param min
+    *           Expected minimum
+    * @param max
+    *           Expected maximum
+    * @param interval
+    *           Interval to check
+    */
+   private static void assertInterval(final int min, final int max, final Pair<Integer, Integer> interval)
+   {
+      Assert.assertEquals(min, interval.element1.intValue());
+      Assert.assertEquals(max, interval.element2.intValue());
+   }
+
+   /**
+    * Simple tests
+    */
+   @Test
+   public void simpleTest()
+   {
+      ConcurrentSortedList<Integer> sortedList = new ConcurrentSortedList<Integer>(Integer.class);
+
+      Assert.assertTrue(sortedList.isEmpty());
+      Assert.assertFalse(sortedList.contains(123));
+      Assert.assertEquals(-1, sortedList.indexOf(123));
+
+      sortedList.add(123);
+      sortedList.add(125);
+      sortedList.add(12);
+      sortedList.add(123);
+      Assert.assertEquals(4, sortedList.getSize());
+      Assert.assertEquals("[12, 123, 123, 125]", sortedList.toString());
+      Assert.assertEquals(1, sortedList.indexOf(123));
+      Assert.assertEquals(Integer.valueOf(125), sortedList.getElement(3));
+      ConcurrentSortedListTest.assertInterval(2, 3, sortedList.intervalOf(124));
+      ConcurrentSortedListTest.assertInterval(4, -1, sortedList.intervalOf(200));
+
+      Assert.assertEquals(Integer.valueOf(123), sortedList.remove(Integer.valueOf(123)));
+      Assert.assertEquals(Integer.valueOf(123), sortedList.remove(Integer.valueOf(123)));
+      Assert.assertNull(sortedList.remove(Integer.valueOf(123)));
+      Assert.assertEquals(Integer.valueOf(12), sortedList.remove(0));
+      Assert.assertEquals(1, sortedList.getSize());
+
+      sortedList = new ConcurrentSortedList<Integer>(Integer.class, true);
+      Assert.assertTrue(sortedList.add(12));
+      Assert.assertFalse(sortedList.add(12));
+      Assert.assertEquals(1, sortedList.getSize());
+      sortedList.clear();
+      Assert.assertTrue(sortedList.isEmpty());
+      Assert.assertEquals(0, sortedList.getSize());
+   }
+
+   /**
+    * Several threads add in same time in unique mode
+    *
+    * @throws Exception
+    *            If threads interrupted
+    */
+   @Test
+   public void testConcurrentAdd() throws Exception
+   {
+      final ConcurrentSortedList<Integer> sortedList = new ConcurrentSortedList<Integer>(Integer.class, true);
+      final CountDownLatch start = new CountDownLatch(1);
+      final Thread[] threads = new Thread[4];
+
+      for(int index = 0; index < threads.length; index++)
+      {
+         final int offset = index;
+         threads[index] = new Thread()
+         {
+            @Override
+            public void run()
+            {
+               try
+               {
+                  start.await();
+               }
+               catch(final InterruptedException exception)
+               {
+                  return;
+               }
+
+               // Each thread adds all values, half of them starting from its own offset
+               for(int value = 0; value < 10000; value++)
+               {
+                  sortedList.add((value + (offset * 2500)) % 10000);
+               }
+            }
+         };
+         threads[index].start();
+      }
+
+      start.countDown();
+
+      for(final Thread thread : threads)
+      {
+         thread.join();
+      }
+
+      Assert.assertEquals(10000, sortedList.getSize());
+      final Integer[] array = sortedList.toArray();
+
+      for(int index = 0; index < array.length; index++)
+      {
+         Assert.assertEquals(Integer.valueOf(index), array[index]);
+      }
+   }
+}
@@ -1,5 +1,10 @@
 package jhelp.util.list;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -72,4 +77,148 @@ public class HashIntTest
       Assert.assertEquals(0, hashInt.getSize());
       Assert.assertTrue(hashInt.isEmpty());
    }
-}
\ No newline at end of file
+
+   /**
+    * Compare with java.util.HashMap on many keys, including negative and extreme keys
+    */
+   @Test
+   public void testManyKeys()
+   {
+      final HashInt<Integer> hashInt = new HashInt<Integer>();
+      final Map<Integer, Integer> reference = new HashMap<Integer, Integer>();
+      final Random random = new Random(42);
+      int key;
+
+      for(int i = 0; i < 100000; i++)
+      {
+         key = random.nextInt(20000) - 10000;
+
+         if(random.nextInt(3) == 0)
+         {
+            hashInt.remove(key);
+            reference.remove(key);
+         }
+         else
+         {
+            hashInt.put(key, i);
+            reference.put(key, i);
+         }
+      }
+
+      hashInt.put(Integer.MIN_VALUE, -1);
+      reference.put(Integer.MIN_VALUE, -1);
+      hashInt.put(Integer.MAX_VALUE, 1);
+      reference.put(Integer.MAX_VALUE, 1);
+
+      Assert.assertEquals(reference.size(), hashInt.getSize());
+
+      for(final Map.Entry<Integer, Integer> entry : reference.entrySet())
+      {
+         Assert.assertEquals(entry.getValue(), hashInt.get(entry.getKey()));
+      }
+
+      for(key = -10000; key < 10000; key++)
+      {
+         Assert.assertEquals(reference.containsKey(key), hashInt.contains(key));
+      }
+
+      final int[] keys = hashInt.getKeys();
+      Assert.assertEquals(reference.size(), keys.length);
+      Assert.assertEquals(Integer.MIN_VALUE, keys[0]);
+      Assert.assertEquals(Integer.MAX_VALUE, keys[keys.length - 1]);
+
+      for(int i = 1; i < keys.length; i++)
+      {
+         Assert.assertTrue(keys[i - 1] < keys[i]);
+      }
+
+      final int[] unordered = hashInt.getKeysUnordered();
+      Assert.assertEquals(keys.length, unordered.length);
+      int count = 0;
+      final Iterator<Integer> iterator = hashInt.unorderedIterator();
+
+      while(iterator.hasNext())
+      {
+         Assert.assertEquals(hashInt.get(unordered[count]), iterator.next());
+         count++;
+      }
+
+      Assert.assertEquals(keys.length, count);
+   }
+
+   /**
+    * Removal of keys that collide keeps others reachable
+    */
+   @Test
+   public void testRemoveCollisions()
+   {
+      final HashInt<String> hashInt = new HashInt<String>(1000, 0.9f);
+
+      for(int i = 0; i < 1000; i++)
+      {
+         hashInt.put(i << 16, String.valueOf(i));
+      }
+
+      for(int i = 0; i < 1000; i += 2)
+      {
+         hashInt.remove(i << 16);
+      }
+
+      Assert.assertEquals(500, hashInt.getSize());
+
+      for(int i = 0; i < 1000; i++)
+      {
+         if((i & 1) == 0)
+         {
+            Assert.assertNull(hashInt.get(i << 16));
+         }
+         else
+         {
+            Assert.assertEquals(String.valueOf(i), hashInt.get(i << 16));
+         }
+      }
+   }
+
+   /**
+    * Sorted iterator supports removal
+    */
+   @Test
+   public void testSortedIteratorRemove()
+   {
+      final HashInt<String> hashInt = new HashInt<String>();
+
+      for(int i = 10; i >= -10; i--)
+      {
+         hashInt.put(i, String.valueOf(i));
+      }
+
+      Assert.assertTrue(hashInt.toString().startsWith("[-10->-10 | -9->-9 | "));
+      final Iterator<String> iterator = hashInt.iterator();
+      int expected = -10;
+
+      while(iterator.hasNext())
+      {
+         Assert.assertEquals(String.valueOf(expected), iterator.next());
+
+         if(expected < 0)
+         {
+            iterator.remove();
+         }
+
+         expected++;
+      }
+
+      Assert.assertEquals(11, expected);
+      Assert.assertEquals(11, hashInt.getSize());
+      Assert.assertEquals(0, hashInt.getKeys()[0]);
+   }
+
+   /**
+    * Invalid load factor
+    */
+   @Test(expected = IllegalArgumentException.class)
+   public void testInvalidLoadFactor()
+   {
+      new HashInt<String>(16, 1f);
+   }
+}
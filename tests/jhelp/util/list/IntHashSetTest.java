@@ -0,0 +1,143 @@
+package jhelp.util.list;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of IntHashSet and LongHashSet
+ *
+ * @author JHelp <br>
+ */
+public class IntHashSetTest
+{
+   /**
+    * Compare with java.util.HashSet
+    */
+   @Test
+   public void testIntHashSet()
+   {
+      final IntHashSet intHashSet = new IntHashSet();
+      final Set<Integer> reference = new HashSet<Integer>();
+      final Random random = new Random(3);
+      int value;
+
+      for(int i = 0; i < 100000; i++)
+      {
+         value = random.nextInt(10000) - 5000;
+
+         if(random.nextBoolean())
+         {
+            Assert.assertEquals(reference.add(value), intHashSet.add(value));
+         }
+         else
+         {
+            Assert.assertEquals(reference.remove(value), intHashSet.remove(value));
+         }
+      }
+
+      Assert.assertEquals(reference.size(), intHashSet.getSize());
+
+      for(value = -5000; value < 5000; value++)
+      {
+         Assert.assertEquals(reference.contains(value), intHashSet.contains(value));
+      }
+
+      final int[] values = intHashSet.toArray();
+      Assert.assertEquals(reference.size(), values.length);
+
+      for(final int element : values)
+      {
+         Assert.assertTrue(reference.contains(element));
+      }
+
+      intHashSet.clear();
+      Assert.assertTrue(intHashSet.isEmpty());
+      Assert.assertFalse(intHashSet.contains(values[0]));
+   }
+
+   /**
+    * Long keys that differ only in high bits
+    */
+   @Test
+   public void testLongHashSet()
+   {
+      final LongHashSet longHashSet = new LongHashSet(4);
+
+      for(long value = 0; value < 1000; value++)
+      {
+         Assert.assertTrue(longHashSet.add(value << 32));
+      }
+
+      Assert.assertFalse(longHashSet.add(5L << 32));
+      Assert.assertEquals(1000, longHashSet.getSize());
+      Assert.assertTrue(longHashSet.contains(999L << 32));
+      Assert.assertFalse(longHashSet.contains(999L));
+
+      for(long value = 0; value < 1000; value += 3)
+      {
+         Assert.assertTrue(longHashSet.remove(value << 32));
+      }
+
+      for(long value = 0; value < 1000; value++)
+      {
+         Assert.assertEquals((value % 3) != 0, longHashSet.contains(value << 32));
+      }
+   }
+
+   /**
+    * Compare LongHashSet with java.util.HashSet, from a small capacity so it grows several times
+    */
+   @Test
+   public void testLongHashSetRandom()
+   {
+      final LongHashSet longHashSet = new LongHashSet(2);
+      final Set<Long> reference = new HashSet<Long>();
+      final Random random = new Random(7);
+      long value;
+
+      for(int i = 0; i < 100000; i++)
+      {
+         value = (random.nextInt(10000) - 5000L) * 0x100000001L;
+
+         if(random.nextInt(3) > 0)
+         {
+            Assert.assertEquals(reference.add(value), longHashSet.add(value));
+         }
+         else
+         {
+            Assert.assertEquals(reference.remove(value), longHashSet.remove(value));
+         }
+      }
+
+      Assert.assertEquals(reference.size(), longHashSet.getSize());
+      final long[] values = longHashSet.toArray();
+      Assert.assertEquals(reference.size(), values.length);
+      final Set<Long> roundTrip = new HashSet<Long>();
+
+      for(final long element : values)
+      {
+         Assert.assertTrue(roundTrip.add(element));
+      }
+
+      Assert.assertEquals(reference, roundTrip);
+
+      final LongHashSet copy = new LongHashSet();
+      copy.addAll(values);
+      Assert.assertEquals(reference.size(), copy.getSize());
+
+      for(final long element : values)
+      {
+         Assert.assertTrue(copy.contains(element));
+         Assert.assertTrue(copy.remove(element));
+      }
+
+      Assert.assertTrue(copy.isEmpty());
+      longHashSet.clear();
+      Assert.assertTrue(longHashSet.isEmpty());
+      Assert.assertFalse(longHashSet.contains(values[0]));
+   }
+}
@@ -0,0 +1,139 @@
+package jhelp.util.list;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of IntIntMap and IntLongMap
+ *
+ * @author JHelp <br>
+ */
+public class IntIntMapTest
+{
+   /**
+    * Compare with java.util.HashMap
+    */
+   @Test
+   public void testIntIntMap()
+   {
+      final IntIntMap intIntMap = new IntIntMap();
+      final Map<Integer, Integer> reference = new HashMap<Integer, Integer>();
+      final Random random = new Random(5);
+      int key;
+
+      for(int i = 0; i < 100000; i++)
+      {
+         key = random.nextInt(10000) - 5000;
+
+         switch(random.nextInt(3))
+         {
+            case 0:
+               intIntMap.put(key, i);
+               reference.put(key, i);
+            break;
+            case 1:
+               Assert.assertEquals(reference.remove(key) != null, intIntMap.remove(key));
+            break;
+            default:
+               final Integer old = reference.get(key);
+               final int value = (old == null ? 0 : old) + 3;
+               reference.put(key, value);
+               Assert.assertEquals(value, intIntMap.addTo(key, 3));
+            break;
+         }
+      }
+
+      Assert.assertEquals(reference.size(), intIntMap.getSize());
+
+      for(key = -5000; key < 5000; key++)
+      {
+         Assert.assertEquals(reference.containsKey(key), intIntMap.containsKey(key));
+
+         if(reference.containsKey(key))
+         {
+            Assert.assertEquals(reference.get(key).intValue(), intIntMap.get(key, -1));
+         }
+         else
+         {
+            Assert.assertEquals(-1, intIntMap.get(key, -1));
+         }
+      }
+
+      Assert.assertEquals(reference.size(), intIntMap.getKeys().length);
+   }
+
+   /**
+    * Counters with long values
+    */
+   @Test
+   public void testIntLongMap()
+   {
+      final IntLongMap intLongMap = new IntLongMap();
+
+      for(int i = 0; i < 1000; i++)
+      {
+         intLongMap.addTo(i % 10, 1L << 40);
+      }
+
+      Assert.assertEquals(10, intLongMap.getSize());
+      Assert.assertEquals(100L << 40, intLongMap.get(7, 0L));
+      Assert.assertEquals(0L, intLongMap.get(10, 0L));
+      intLongMap.put(7, 1L);
+      Assert.assertEquals(1L, intLongMap.get(7, 0L));
+      Assert.assertTrue(intLongMap.remove(7));
+      Assert.assertFalse(intLongMap.containsKey(7));
+      Assert.assertEquals(9, intLongMap.getSize());
+   }
+
+   /**
+    * Compare IntLongMap with java.util.HashMap, from a small capacity so it grows several times
+    */
+   @Test
+   public void testIntLongMapRandom()
+   {
+      final IntLongMap intLongMap = new IntLongMap(2);
+      final Map<Integer, Long> reference = new HashMap<Integer, Long>();
+      final Random random = new Random(11);
+      int key;
+
+      for(int i = 0; i < 100000; i++)
+      {
+         key = random.nextInt(10000) - 5000;
+
+         switch(random.nextInt(3))
+         {
+            case 0:
+               intLongMap.put(key, (long) i << 33);
+               reference.put(key, (long) i << 33);
+            break;
+            case 1:
+               Assert.assertEquals(reference.remove(key) != null, intLongMap.remove(key));
+            break;
+            default:
+               final Long old = reference.get(key);
+               final long value = (old == null ? 0L : old) - 7L;
+               reference.put(key, value);
+               Assert.assertEquals(value, intLongMap.addTo(key, -7L));
+            break;
+         }
+      }
+
+      Assert.assertEquals(reference.size(), intLongMap.getSize());
+      final int[] keys = intLongMap.getKeys();
+      Assert.assertEquals(reference.size(), keys.length);
+
+      for(final int element : keys)
+      {
+         Assert.assertEquals(reference.get(element).longValue(), intLongMap.get(element, 0L));
+         Assert.assertTrue(intLongMap.remove(element));
+      }
+
+      Assert.assertTrue(intLongMap.isEmpty());
+      Assert.assertFalse(intLongMap.containsKey(keys[0]));
+      Assert.assertEquals(-1L, intLongMap.get(keys[0], -1L));
+   }
+}
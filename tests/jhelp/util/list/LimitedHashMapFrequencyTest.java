@@ -0,0 +1,223 @@
+package jhelp.util.list;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of LimitedSizeHashMapFrequency and LimitedWeightHashMapFrequency
+ *
+ * @author JHelp <br>
+ */
+public class LimitedHashMapFrequencyTest
+{
+   /**
+    * Object with a weight
+    */
+   static class Heavy
+         implements HeavyObject
+   {
+      /** Object weight */
+      final long weight;
+
+      /**
+       * Create a new instance of Heavy
+       *
+       * @param weight
+       *           Object weight
+       */
+      Heavy(final long weight)
+      {
+         this.weight = weight;
+      }
+
+      /**
+       * Object weight
+       *
+       * @return Object weight
+       */
+      @Override
+      public long getWeight()
+      {
+         return this.weight;
+      }
+   }
+
+   /**
+    * Less used element is removed first, metrics are counted
+    */
+   @Test
+   public void testLessUsedRemoved()
+   {
+      final LimitedSizeHashMapFrequency<Integer, String> map = new LimitedSizeHashMapFrequency<Integer, String>(128);
+
+      for(int i = 0; i < 128; i++)
+      {
+         map.put(i, String.valueOf(i));
+      }
+
+      for(int i = 0; i < 128; i++)
+      {
+         if(i != 50)
+         {
+            map.get(i);
+         }
+      }
+
+      map.put(128, "128");
+      Assert.assertEquals(128, map.size());
+      Assert.assertNull(map.get(50));
+      Assert.assertEquals("0", map.get(0));
+      Assert.assertEquals(1, map.getEvictionCount());
+      Assert.assertEquals(128, map.getHitCount());
+      Assert.assertEquals(1, map.getMissCount());
+      Assert.assertEquals(128.0 / 129.0, map.getHitRate(), 1e-9);
+   }
+
+   /**
+    * Same content than a map without limit, as long as elements are inside
+    */
+   @Test
+   public void testRandom()
+   {
+      final LimitedSizeHashMapFrequency<Integer, Integer> map = new LimitedSizeHashMapFrequency<Integer, Integer>(200);
+      final Map<Integer, Integer> reference = new HashMap<Integer, Integer>();
+      final Random random = new Random(11);
+      Integer value;
+      int key;
+
+      for(int i = 0; i < 200000; i++)
+      {
+         key = (int) Math.abs(random.nextGaussian() * 300);
+
+         switch(random.nextInt(4))
+         {
+            case 0:
+               map.put(key, i);
+               reference.put(key, i);
+            break;
+            case 1:
+               map.remove(key);
+               reference.remove(key);
+            break;
+            default:
+               value = map.get(key);
+
+               if(value != null)
+               {
+                  Assert.assertEquals(reference.get(key), value);
+               }
+            break;
+         }
+
+         Assert.assertTrue(map.size() <= 200);
+      }
+
+      Assert.assertTrue(map.getHitRate() > 0.3);
+   }
+
+   /**
+    * With admission filter, a scan of keys used once don't remove often used keys
+    */
+   @Test
+   public void testAdmissionFilter()
+   {
+      final LimitedSizeHashMapFrequency<Integer, String> filtered = new LimitedSizeHashMapFrequency<Integer, String>(128,
+            true);
+      final LimitedSizeHashMapFrequency<Integer, String> simple = new LimitedSizeHashMapFrequency<Integer, String>(128);
+      Assert.assertTrue(filtered.isAdmissionFilter());
+      Assert.assertFalse(simple.isAdmissionFilter());
+
+      for(int time = 0; time < 5; time++)
+      {
+         for(int i = 0; i < 128; i++)
+         {
+            filtered.put(i, "hot");
+            simple.put(i, "hot");
+         }
+      }
+
+      for(int i = 1000; i < 11000; i++)
+      {
+         filtered.put(i, "cold");
+         simple.put(i, "cold");
+      }
+
+      int hot = 0;
+
+      for(int i = 0; i < 128; i++)
+      {
+         if(filtered.get(i) != null)
+         {
+            hot++;
+         }
+      }
+
+      // Sketch is approximate : few collisions are allowed
+      Assert.assertTrue("Only " + hot + " hot keys left", hot >= 120);
+      Assert.assertTrue(filtered.getRejectionCount() > 0);
+      Assert.assertEquals(0, simple.getRejectionCount());
+   }
+
+   /**
+    * Old popular element finish to be removed thanks to aging
+    */
+   @Test
+   public void testAging()
+   {
+      final LimitedSizeHashMapFrequency<Integer, String> map = new LimitedSizeHashMapFrequency<Integer, String>(128);
+      map.put(-1, "old");
+
+      for(int i = 0; i < 100; i++)
+      {
+         map.get(-1);
+      }
+
+      for(int round = 0; round < 100; round++)
+      {
+         for(int i = 0; i < 200; i++)
+         {
+            map.put(i, "new");
+            map.get(i);
+            map.get(i);
+         }
+      }
+
+      Assert.assertNull(map.get(-1));
+   }
+
+   /**
+    * Less used elements are removed first and weight is accounted
+    */
+   @Test
+   public void testWeight()
+   {
+      final LimitedWeightHashMapFrequency<Integer, Heavy> map = new LimitedWeightHashMapFrequency<Integer, Heavy>(1024L);
+
+      for(int i = 0; i < 10; i++)
+      {
+         Assert.assertEquals(LimitedWeightHashMap.Result.ADDED, map.put(i, new Heavy(100), false));
+      }
+
+      for(int i = 0; i < 10; i++)
+      {
+         if((i != 3) && (i != 7))
+         {
+            map.get(i);
+         }
+      }
+
+      Assert.assertEquals(LimitedWeightHashMap.Result.ADD_WITH_AT_LEAST_ONE_REMOVED, map.put(10, new Heavy(150), true));
+      Assert.assertNull(map.get(3));
+      Assert.assertNull(map.get(7));
+      Assert.assertEquals(2, map.getEvictionCount());
+      Assert.assertEquals(9, map.getSize());
+      Assert.assertEquals(1024L - 950L, map.getFreeWeight());
+
+      map.remove(10);
+      Assert.assertEquals(1024L - 800L, map.getFreeWeight());
+   }
+}
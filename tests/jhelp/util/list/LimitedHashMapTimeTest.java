@@ -0,0 +1,116 @@
+package jhelp.util.list;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of LimitedSizeHashMapTime and LimitedWeightHashMapTime
+ *
+ * @author JHelp <br>
+ */
+public class LimitedHashMapTimeTest
+{
+   /**
+    * Object with a weight
+    */
+   static class Heavy
+         implements HeavyObject
+   {
+      /** Object weight */
+      final long weight;
+
+      /**
+       * Create a new instance of Heavy
+       *
+       * @param weight
+       *           Object weight
+       */
+      Heavy(final long weight)
+      {
+         this.weight = weight;
+      }
+
+      /**
+       * Object weight
+       *
+       * @return Object weight
+       */
+      @Override
+      public long getWeight()
+      {
+         return this.weight;
+      }
+   }
+
+   /**
+    * Least recently used element is removed first
+    */
+   @Test
+   public void testSize()
+   {
+      final LimitedSizeHashMapTime<Integer, String> map = new LimitedSizeHashMapTime<Integer, String>(128);
+
+      for(int i = 0; i < 128; i++)
+      {
+         map.put(i, String.valueOf(i));
+      }
+
+      Assert.assertEquals("0", map.get(0));
+      map.put(1, "One");
+      map.put(128, "128");
+      Assert.assertEquals(128, map.size());
+      Assert.assertEquals("0", map.get(0));
+      Assert.assertEquals("One", map.get(1));
+      Assert.assertNull(map.get(2));
+
+      for(int i = 129; i < 100000; i++)
+      {
+         map.put(i, String.valueOf(i));
+      }
+
+      Assert.assertEquals(128, map.size());
+      Assert.assertNull(map.get(0));
+      Assert.assertEquals("99999", map.get(99999));
+      Assert.assertEquals("99872", map.get(99872));
+      Assert.assertNull(map.get(99871));
+   }
+
+   /**
+    * Oldest used elements are removed first and weight is accounted
+    */
+   @Test
+   public void testWeight()
+   {
+      final LimitedWeightHashMapTime<Integer, Heavy> map = new LimitedWeightHashMapTime<Integer, Heavy>(1024L);
+
+      for(int i = 0; i < 10; i++)
+      {
+         Assert.assertEquals(LimitedWeightHashMap.Result.ADDED, map.put(i, new Heavy(100), false));
+      }
+
+      Assert.assertEquals(24L, map.getFreeWeight());
+      Assert.assertEquals(LimitedWeightHashMap.Result.NOT_ADDED, map.put(10, new Heavy(100), false));
+      Assert.assertEquals(LimitedWeightHashMap.Result.TOO_MUCH_HEAVY, map.put(10, new Heavy(2000), true));
+      Assert.assertNotNull(map.get(0));
+
+      Assert.assertEquals(LimitedWeightHashMap.Result.ADD_WITH_AT_LEAST_ONE_REMOVED, map.put(10, new Heavy(250), true));
+      Assert.assertNotNull(map.get(0));
+      Assert.assertNull(map.get(1));
+      Assert.assertNull(map.get(2));
+      Assert.assertNull(map.get(3));
+      Assert.assertNotNull(map.get(4));
+      Assert.assertEquals(8, map.getSize());
+      Assert.assertEquals(74L, map.getFreeWeight());
+
+      Assert.assertEquals(LimitedWeightHashMap.Result.UPDATED_WITH_AT_LEAST_ONE_REMOVED, map.put(4, new Heavy(300), true));
+      Assert.assertNotNull(map.get(4));
+      Assert.assertNull(map.get(5));
+      Assert.assertNull(map.get(6));
+      Assert.assertEquals(6, map.getSize());
+      Assert.assertEquals(74L, map.getFreeWeight());
+      Assert.assertEquals(1024L - 74L, map.getWeight());
+
+      map.remove(4);
+      Assert.assertEquals(374L, map.getFreeWeight());
+   }
+}
@@ -0,0 +1,315 @@
+package jhelp.util.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of {@link QueueConcurrentBounded}, {@link QueueConcurrentSingleConsumer} and {@link QueueConcurrentBlocking}
+ *
+ * @author JHelp
+ */
+public class QueueConcurrentTest
+{
+   /** Number of elements each producer sends */
+   private static final int ELEMENTS = 50000;
+
+   /**
+    * Launch producers, each sends values producer * ELEMENTS + [0, ELEMENTS[ in order
+    *
+    * @param queue
+    *           Queue where send
+    * @param count
+    *           Number of producers
+    * @return Producers threads
+    */
+   private static Thread[] startProducers(final QueueConcurrentBlocking<Integer> queue, final int count)
+   {
+      final Thread[] producers = new Thread[count];
+
+      for(int index = 0; index < count; index++)
+      {
+         final int producer = index;
+         producers[index] = new Thread()
+         {
+            @Override
+            public void run()
+            {
+               try
+               {
+                  for(int value = 0; value < QueueConcurrentTest.ELEMENTS; value++)
+                  {
+                     queue.put((producer * QueueConcurrentTest.ELEMENTS) + value);
+                  }
+               }
+               catch(final InterruptedException exception)
+               {
+                  Assert.fail("Producer interrupted");
+               }
+            }
+         };
+         producers[index].start();
+      }
+
+      return producers;
+   }
+
+   /**
+    * Bounded queue in one thread
+    */
+   @Test
+   public void testBounded()
+   {
+      final QueueConcurrentBounded<Integer> queue = new QueueConcurrentBounded<Integer>(5);
+      Assert.assertEquals(8, queue.getCapacity());
+      Assert.assertTrue(queue.isEmpty());
+      Assert.assertNull(queue.poll());
+      Assert.assertNull(queue.peek());
+
+      for(int turn = 0; turn < 3; turn++)
+      {
+         for(int value = 0; value < 8; value++)
+         {
+            Assert.assertTrue(queue.offer(value));
+         }
+
+         Assert.assertFalse(queue.offer(8));
+         Assert.assertEquals(8, queue.size());
+         Assert.assertEquals(Integer.valueOf(0), queue.peek());
+         Assert.assertEquals(Integer.valueOf(0), queue.poll());
+         Assert.assertTrue(queue.offer(8));
+
+         final List<Integer> list = new ArrayList<Integer>();
+         Assert.assertEquals(5, queue.drainTo(new Consumer<Integer>()
+         {
+            @Override
+            public void accept(final Integer element)
+            {
+               list.add(element);
+            }
+         }, 5));
+         Assert.assertEquals("[1, 2, 3, 4, 5]", list.toString());
+         Assert.assertEquals(3, queue.size());
+         Assert.assertEquals(Integer.valueOf(6), queue.poll());
+         Assert.assertEquals(Integer.valueOf(7), queue.poll());
+         Assert.assertEquals(Integer.valueOf(8), queue.poll());
+         Assert.assertNull(queue.poll());
+         Assert.assertTrue(queue.isEmpty());
+      }
+
+      try
+      {
+         new QueueConcurrentBounded<Integer>(0);
+         Assert.fail("Capacity 0 must be refused");
+      }
+      catch(final IllegalArgumentException exception)
+      {
+         // That's what we want
+      }
+   }
+
+   /**
+    * Several producers and consumers on a small bounded queue : each element is received exactly once
+    *
+    * @throws Exception
+    *            If threads interrupted
+    */
+   @Test
+   public void testBoundedConcurrent() throws Exception
+   {
+      final int producersCount = 4;
+      final int consumersCount = 4;
+      final QueueConcurrentBlocking<Integer> queue = new QueueConcurrentBlocking<Integer>(
+            new QueueConcurrentBounded<Integer>(64));
+      final int total = producersCount * QueueConcurrentTest.ELEMENTS;
+      final boolean[] received = new boolean[total];
+      final AtomicLong remaining = new AtomicLong(total);
+      final Thread[] consumers = new Thread[consumersCount];
+
+      for(int index = 0; index < consumersCount; index++)
+      {
+         consumers[index] = new Thread()
+         {
+            @Override
+            public void run()
+            {
+               Integer element;
+
+               try
+               {
+                  while(remaining.get() > 0)
+                  {
+                     element = queue.poll(10);
+
+                     if(element != null)
+                     {
+                        synchronized(received)
+                        {
+                           Assert.assertFalse(received[element]);
+                           received[element] = true;
+                        }
+
+                        remaining.decrementAndGet();
+                     }
+                  }
+               }
+               catch(final InterruptedException exception)
+               {
+                  Assert.fail("Consumer interrupted");
+               }
+            }
+         };
+         consumers[index].start();
+      }
+
+      for(final Thread producer : QueueConcurrentTest.startProducers(queue, producersCount))
+      {
+         producer.join();
+      }
+
+      for(final Thread consumer : consumers)
+      {
+         consumer.join();
+      }
+
+      Assert.assertEquals(0, remaining.get());
+      Assert.assertTrue(queue.isEmpty());
+
+      for(final boolean value : received)
+      {
+         Assert.assertTrue(value);
+      }
+   }
+
+   /**
+    * Blocking wait and time out
+    *
+    * @throws Exception
+    *            If threads interrupted
+    */
+   @Test
+   public void testBlocking() throws Exception
+   {
+      final QueueConcurrentBlocking<String> queue = new QueueConcurrentBlocking<String>(
+            new QueueConcurrentBounded<String>(2));
+      Assert.assertNull(queue.poll(20));
+      queue.put("a");
+      queue.put("b");
+      Assert.assertFalse(queue.offer("c", 20));
+      Assert.assertEquals(2, queue.size());
+
+      final Thread producer = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            try
+            {
+               queue.put("c");
+            }
+            catch(final InterruptedException exception)
+            {
+               Assert.fail("Producer interrupted");
+            }
+         }
+      };
+      producer.start();
+      Assert.assertEquals("a", queue.take());
+      producer.join();
+      Assert.assertEquals("b", queue.take());
+      Assert.assertEquals("c", queue.take());
+
+      final Thread consumer = new Thread()
+      {
+         @Override
+         public void run()
+         {
+            try
+            {
+               queue.take();
+               Assert.fail("Must be interrupted");
+            }
+            catch(final InterruptedException exception)
+            {
+               // That's what we want
+            }
+         }
+      };
+      consumer.start();
+      consumer.interrupt();
+      consumer.join();
+      Assert.assertTrue(queue.isEmpty());
+   }
+
+   /**
+    * Single consumer queue in one thread
+    */
+   @Test
+   public void testSingleConsumer()
+   {
+      final QueueConcurrentSingleConsumer<Integer> queue = new QueueConcurrentSingleConsumer<Integer>();
+      Assert.assertTrue(queue.isEmpty());
+      Assert.assertNull(queue.poll());
+      Assert.assertNull(queue.peek());
+
+      for(int value = 0; value < 10; value++)
+      {
+         Assert.assertTrue(queue.offer(value));
+      }
+
+      Assert.assertEquals(10, queue.size());
+      Assert.assertEquals(Integer.valueOf(0), queue.peek());
+      Assert.assertEquals(Integer.valueOf(0), queue.poll());
+
+      final List<Integer> list = new ArrayList<Integer>();
+      Assert.assertEquals(9, queue.drainTo(new Consumer<Integer>()
+      {
+         @Override
+         public void accept(final Integer element)
+         {
+            list.add(element);
+         }
+      }, 100));
+      Assert.assertEquals("[1, 2, 3, 4, 5, 6, 7, 8, 9]", list.toString());
+      Assert.assertTrue(queue.isEmpty());
+      Assert.assertEquals(0, queue.size());
+   }
+
+   /**
+    * Several producers, one consumer : each producer elements are received in order
+    *
+    * @throws Exception
+    *            If threads interrupted
+    */
+   @Test
+   public void testSingleConsumerConcurrent() throws Exception
+   {
+      final int producersCount = 4;
+      final QueueConcurrentBlocking<Integer> queue = new QueueConcurrentBlocking<Integer>(
+            new QueueConcurrentSingleConsumer<Integer>());
+      final int[] next = new int[producersCount];
+      final Thread[] producers = QueueConcurrentTest.startProducers(queue, producersCount);
+      int producer;
+      Integer element;
+
+      for(int count = producersCount * QueueConcurrentTest.ELEMENTS; count > 0; count--)
+      {
+         element = queue.take();
+         producer = element / QueueConcurrentTest.ELEMENTS;
+         Assert.assertEquals(next[producer], element % QueueConcurrentTest.ELEMENTS);
+         next[producer]++;
+      }
+
+      for(final Thread thread : producers)
+      {
+         thread.join();
+      }
+
+      Assert.assertTrue(queue.isEmpty());
+      Assert.assertNull(queue.poll(10));
+   }
+}
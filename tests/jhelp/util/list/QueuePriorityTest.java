@@ -0,0 +1,289 @@
+package jhelp.util.list;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of {@link QueuePriority}
+ *
+ * @author JHelp
+ */
+public class QueuePriorityTest
+{
+   /**
+    * Dequeue all and check priorities come in right order
+    *
+    * @param queuePriority
+    *           Queue to empty
+    * @param reference
+    *           Handle to priority of elements inside the queue
+    * @param increment
+    *           Indicates if priorities are in increment order
+    */
+   private static void checkDequeueAll(final QueuePriority<Integer> queuePriority,
+         final Map<Long, Integer> reference, final boolean increment)
+   {
+      int previous = increment
+            ? Integer.MIN_VALUE
+            : Integer.MAX_VALUE;
+      long handle;
+      int priority;
+
+      while(!queuePriority.isEmpty())
+      {
+         handle = queuePriority.peekHandle();
+         priority = queuePriority.getPriority(handle);
+         Assert.assertEquals(reference.remove(handle), Integer.valueOf(priority));
+         Assert.assertTrue(increment
+               ? previous <= priority
+               : previous >= priority);
+         // Element is its creation priority, not always the actual one
+         Assert.assertNotNull(queuePriority.dequeue());
+         previous = priority;
+      }
+
+      Assert.assertTrue(reference.isEmpty());
+      Assert.assertEquals(-1, queuePriority.peekHandle());
+      Assert.assertNull(queuePriority.dequeue());
+   }
+
+   /**
+    * Random enqueue, dequeue, change priority and remove
+    *
+    * @param increment
+    *           Indicates if priorities are in increment order
+    */
+   private static void randomOperations(final boolean increment)
+   {
+      final Random random = new Random(42);
+      final QueuePriority<Integer> queuePriority = new QueuePriority<Integer>(increment);
+      final Map<Long, Integer> reference = new HashMap<Long, Integer>();
+      final ArrayList<Long> handles = new ArrayList<Long>();
+      long handle;
+      int priority;
+      int best;
+
+      for(int step = 0; step < 50000; step++)
+      {
+         switch(random.nextInt(5))
+         {
+            case 0:
+            case 1:
+               priority = random.nextInt(1000);
+               handle = queuePriority.enqueue(priority, priority);
+               Assert.assertNull(reference.put(handle, priority));
+               handles.add(handle);
+            break;
+            case 2:
+               if(!handles.isEmpty())
+               {
+                  handle = handles.get(random.nextInt(handles.size()));
+                  priority = random.nextInt(1000);
+                  queuePriority.changePriority(handle, priority);
+                  reference.put(handle, priority);
+               }
+            break;
+            case 3:
+               if(!handles.isEmpty())
+               {
+                  handle = handles.remove(random.nextInt(handles.size()));
+                  Assert.assertNotNull(queuePriority.remove(handle));
+                  reference.remove(handle);
+                  Assert.assertFalse(queuePriority.contains(handle));
+               }
+            break;
+            default:
+               if(!handles.isEmpty())
+               {
+                  best = increment
+                        ? Integer.MAX_VALUE
+                        : Integer.MIN_VALUE;
+
+                  for(final Integer value : reference.values())
+                  {
+                     best = increment
+                           ? Math.min(best, value)
+                           : Math.max(best, value);
+                  }
+
+                  handle = queuePriority.peekHandle();
+                  Assert.assertEquals(best, queuePriority.getPriority(handle));
+                  queuePriority.dequeue();
+                  reference.remove(handle);
+                  handles.remove(Long.valueOf(handle));
+               }
+            break;
+         }
+
+         Assert.assertEquals(reference.size(), queuePriority.size());
+      }
+
+      QueuePriorityTest.checkDequeueAll(queuePriority, reference, increment);
+   }
+
+   /**
+    * Simple tests
+    */
+   @Test
+   public void simpleTest()
+   {
+      final QueuePriority<String> queuePriority = new QueuePriority<String>(true);
+      Assert.assertTrue(queuePriority.isEmpty());
+      Assert.assertNull(queuePriority.dequeue());
+
+      final long handleC = queuePriority.enqueue(3, "C");
+      final long handleA = queuePriority.enqueue(1, "A");
+      final long handleB = queuePriority.enqueue(2, "B");
+      Assert.assertEquals(3, queuePriority.size());
+      Assert.assertEquals(handleA, queuePriority.peekHandle());
+      Assert.assertEquals("C", queuePriority.getElement(handleC));
+
+      queuePriority.changePriority(handleC, 0);
+      Assert.assertEquals(0, queuePriority.getPriority(handleC));
+      Assert.assertEquals("B", queuePriority.remove(handleB));
+      Assert.assertFalse(queuePriority.contains(handleB));
+
+      try
+      {
+         queuePriority.remove(handleB);
+         Assert.fail("Removed handle must be refused");
+      }
+      catch(final IllegalArgumentException exception)
+      {
+         // That's what we want
+      }
+
+      Assert.assertEquals("C", queuePriority.dequeue());
+      Assert.assertEquals("A", queuePriority.dequeue());
+      Assert.assertTrue(queuePriority.isEmpty());
+
+      final QueuePriority<String> decrement = new QueuePriority<String>(false);
+      decrement.enqueue(1, "low");
+      decrement.enqueue(Integer.MAX_VALUE, "max");
+      decrement.enqueue(Integer.MIN_VALUE, "min");
+      Assert.assertEquals("max", decrement.dequeue());
+      Assert.assertEquals("low", decrement.dequeue());
+      Assert.assertEquals("min", decrement.dequeue());
+   }
+
+   /**
+    * Random operations compared to a reference
+    */
+   @Test
+   public void testRandomOperations()
+   {
+      QueuePriorityTest.randomOperations(true);
+      QueuePriorityTest.randomOperations(false);
+   }
+
+   /**
+    * Enqueue by batch
+    */
+   @Test
+   public void testEnqueueAll()
+   {
+      final Random random = new Random(7);
+      final QueuePriority<Integer> queuePriority = new QueuePriority<Integer>(true);
+      final Map<Long, Integer> reference = new HashMap<Long, Integer>();
+
+      // First batch bigger than queue : heap rebuilt, second smaller : added one by one
+      for(final int count : new int[]
+      {
+            10000, 100
+      })
+      {
+         final int[] priorities = new int[count];
+         final Integer[] elements = new Integer[count];
+         final long[] handles = new long[count];
+
+         for(int index = 0; index < count; index++)
+         {
+            priorities[index] = random.nextInt(5000);
+            elements[index] = priorities[index];
+         }
+
+         queuePriority.enqueueAll(priorities, elements, handles);
+
+         for(int index = 0; index < count; index++)
+         {
+            Assert.assertEquals(elements[index], queuePriority.getElement(handles[index]));
+            Assert.assertNull(reference.put(handles[index], priorities[index]));
+         }
+      }
+
+      Assert.assertEquals(10100, queuePriority.size());
+      QueuePriorityTest.checkDequeueAll(queuePriority, reference, true);
+
+      try
+      {
+         queuePriority.enqueueAll(new int[2], new Integer[]
+         {
+               1, null
+         }, null);
+         Assert.fail("null element must be refused");
+      }
+      catch(final NullPointerException exception)
+      {
+         // That's what we want
+      }
+
+      Assert.assertTrue(queuePriority.isEmpty());
+   }
+
+   /**
+    * Handles of elements that left the queue are refused, even when their slot is reused
+    */
+   @Test
+   public void testStaleHandle()
+   {
+      final QueuePriority<String> queuePriority = new QueuePriority<String>(true);
+      final long removed = queuePriority.enqueue(1, "removed");
+      Assert.assertEquals("removed", queuePriority.remove(removed));
+      final long reused = queuePriority.enqueue(2, "reused");
+      Assert.assertNotEquals(removed, reused);
+      Assert.assertFalse(queuePriority.contains(removed));
+      Assert.assertTrue(queuePriority.contains(reused));
+
+      final long dequeued = queuePriority.peekHandle();
+      Assert.assertEquals(reused, dequeued);
+      Assert.assertEquals("reused", queuePriority.dequeue());
+      final long other = queuePriority.enqueue(3, "other");
+
+      for(final long stale : new long[]
+      {
+            removed, dequeued
+      })
+      {
+         try
+         {
+            queuePriority.changePriority(stale, 0);
+            Assert.fail("Stale handle must be refused");
+         }
+         catch(final IllegalArgumentException exception)
+         {
+            // That's what we want
+         }
+
+         try
+         {
+            queuePriority.remove(stale);
+            Assert.fail("Stale handle must be refused");
+         }
+         catch(final IllegalArgumentException exception)
+         {
+            // That's what we want
+         }
+      }
+
+      Assert.assertEquals(3, queuePriority.getPriority(other));
+      queuePriority.clear();
+      queuePriority.enqueue(4, "after clear");
+      Assert.assertFalse(queuePriority.contains(other));
+      Assert.assertEquals(1, queuePriority.size());
+   }
+}
@@ -0,0 +1,220 @@
+package jhelp.util.list;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of {@link SortedTree}
+ *
+ * @author JHelp
+ */
+public class SortedTreeTest
+{
+   /**
+    * Check an interval
+    *
+    * @param min
+    *           Expected minimum
+    * @param max
+    *           Expected maximum
+    * @param interval
+    *           Interval to check
+    */
+   private static void assertInterval(final int min, final int max, final Pair<Integer, Integer> interval)
+   {
+      Assert.assertEquals(min, interval.element1.intValue());
+      Assert.assertEquals(max, interval.element2.intValue());
+   }
+
+   /**
+    * Check tree content is same as reference sorted list
+    *
+    * @param reference
+    *           Reference sorted list
+    * @param sortedTree
+    *           Tree to check
+    */
+   private static void check(final ArrayList<Integer> reference, final SortedTree<Integer> sortedTree)
+   {
+      Assert.assertEquals(reference.size(), sortedTree.getSize());
+      final Integer[] array = sortedTree.toArray();
+      Assert.assertEquals(reference.size(), array.length);
+      final Iterator<Integer> iterator = sortedTree.iterator();
+
+      for(int index = 0; index < array.length; index++)
+      {
+         Assert.assertEquals(reference.get(index), array[index]);
+         Assert.assertEquals(reference.get(index), sortedTree.getElement(index));
+         Assert.assertEquals(reference.get(index), iterator.next());
+      }
+
+      Assert.assertFalse(iterator.hasNext());
+   }
+
+   /**
+    * Simple tests
+    */
+   @Test
+   public void simpleTest()
+   {
+      SortedTree<Integer> sortedTree = new SortedTree<Integer>(Integer.class);
+
+      Assert.assertTrue(sortedTree.isEmpty());
+      Assert.assertFalse(sortedTree.contains(123));
+      Assert.assertEquals(-1, sortedTree.indexOf(123));
+      Assert.assertEquals(0, sortedTree.getSize());
+
+      sortedTree.add(123);
+      sortedTree.add(125);
+      sortedTree.add(12);
+      Assert.assertFalse(sortedTree.isEmpty());
+      Assert.assertEquals(1, sortedTree.indexOf(123));
+      Assert.assertEquals(0, sortedTree.indexOf(12));
+      Assert.assertEquals(3, sortedTree.getSize());
+      Assert.assertEquals("[12, 123, 125]", sortedTree.toString());
+
+      SortedTreeTest.assertInterval(-1, 0, sortedTree.intervalOf(1));
+      SortedTreeTest.assertInterval(1, 1, sortedTree.intervalOf(123));
+      SortedTreeTest.assertInterval(1, 2, sortedTree.intervalOf(124));
+      SortedTreeTest.assertInterval(3, -1, sortedTree.intervalOf(200));
+
+      sortedTree = new SortedTree<Integer>(Integer.class, true);
+      Assert.assertTrue(sortedTree.add(12));
+      Assert.assertTrue(sortedTree.add(123));
+      Assert.assertFalse(sortedTree.add(12));
+      Assert.assertFalse(sortedTree.add(123));
+      Assert.assertTrue(sortedTree.add(125));
+      Assert.assertEquals(3, sortedTree.getSize());
+
+      final SortedTree<Integer> even = sortedTree.seekElements(new SeekTest<Integer>()
+      {
+         @Override
+         public boolean isElementSeek(final Integer element)
+         {
+            return (element & 1) == 0;
+         }
+      });
+      Assert.assertEquals("[12]", even.toString());
+      Assert.assertTrue(even.isUnique());
+
+      Assert.assertEquals(Integer.valueOf(123), sortedTree.remove(Integer.valueOf(123)));
+      Assert.assertNull(sortedTree.remove(Integer.valueOf(123)));
+      sortedTree.clear();
+      Assert.assertTrue(sortedTree.isEmpty());
+   }
+
+   /**
+    * Random adds and removes with duplicates, compared to a sorted list
+    */
+   @Test
+   public void testRandomAddRemove()
+   {
+      final Random random = new Random(42);
+      final SortedTree<Integer> sortedTree = new SortedTree<Integer>(Integer.class);
+      final ArrayList<Integer> reference = new ArrayList<Integer>();
+      Integer element;
+      int index;
+
+      for(int step = 0; step < 20000; step++)
+      {
+         element = random.nextInt(2000);
+
+         if((random.nextInt(3) > 0) || (reference.isEmpty()))
+         {
+            Assert.assertTrue(sortedTree.add(element));
+            index = Collections.binarySearch(reference, element);
+            reference.add(index < 0
+                  ? -index - 1
+                  : index, element);
+         }
+         else if(random.nextBoolean())
+         {
+            index = random.nextInt(reference.size());
+            Assert.assertEquals(reference.remove(index), sortedTree.remove(index));
+         }
+         else
+         {
+            Assert.assertEquals(reference.remove(element)
+                  ? element
+                  : null, sortedTree.remove(element));
+         }
+
+         if((step % 1000) == 0)
+         {
+            SortedTreeTest.check(reference, sortedTree);
+         }
+      }
+
+      SortedTreeTest.check(reference, sortedTree);
+
+      for(int value = 0; value < 2000; value++)
+      {
+         Assert.assertEquals(reference.indexOf(value), sortedTree.indexOf(value));
+      }
+
+      while(!reference.isEmpty())
+      {
+         index = random.nextInt(reference.size());
+         Assert.assertEquals(reference.remove(index), sortedTree.remove(index));
+      }
+
+      Assert.assertTrue(sortedTree.isEmpty());
+      Assert.assertTrue(sortedTree.add(5));
+      Assert.assertEquals("[5]", sortedTree.toString());
+   }
+
+   /**
+    * Bulk add, then normal operations on built tree
+    */
+   @Test
+   public void testAddAll()
+   {
+      final Random random = new Random(7);
+      final SortedTree<Integer> sortedTree = new SortedTree<Integer>(Integer.class, true);
+      final TreeSet<Integer> distinct = new TreeSet<Integer>();
+      final Integer[] batch = new Integer[50000];
+
+      for(int index = 0; index < batch.length; index++)
+      {
+         batch[index] = random.nextInt(100000);
+         distinct.add(batch[index]);
+      }
+
+      final ArrayList<Integer> reference = new ArrayList<Integer>(distinct);
+      Assert.assertEquals(reference.size(), sortedTree.addAll(batch));
+      SortedTreeTest.check(reference, sortedTree);
+
+      // Small batch : added one by one
+      Assert.assertEquals(1, sortedTree.addAll(new Integer[]
+      {
+            -1, -1
+      }));
+      reference.add(0, -1);
+      SortedTreeTest.check(reference, sortedTree);
+
+      for(int index = 0; index < 10000; index++)
+      {
+         final Integer element = random.nextInt(100000);
+         final int position = Collections.binarySearch(reference, element);
+
+         if(position >= 0)
+         {
+            reference.remove(position);
+            Assert.assertEquals(element, sortedTree.remove(element));
+         }
+         else
+         {
+            reference.add(-position - 1, element);
+            Assert.assertTrue(sortedTree.add(element));
+         }
+      }
+
+      SortedTreeTest.check(reference, sortedTree);
+   }
+}